@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -15,6 +15,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendLayout;
 import com.ardor3d.extension.animation.skeletal.clip.AnimationClip;
 import com.ardor3d.extension.animation.skeletal.clip.AnimationClipInstance;
 import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
@@ -98,11 +100,23 @@ public class AnimationManager {
    */
   protected boolean _resetClipsOnStop = false;
 
+  /** Assigns each channel its slot in the blend data passed between the nodes of our blend trees. */
+  protected BlendLayout _blendLayout;
+
+  /** Blend data for intermediate results, free to be reused. */
+  protected final List<BlendData> _freeBlendData = new ArrayList<>();
+
   /**
    * Listeners for changes to this manager's AnimationUpdateState.
    */
   protected final List<AnimationUpdateStateListener> _updateStateListeners = new ArrayList<>();
 
+  /** If true, listener and trigger callbacks are queued rather than run as they happen. */
+  protected boolean _deferCallbacks = false;
+
+  /** Callbacks queued while deferring, in the order they happened. */
+  protected final List<Runnable> _deferredCallbacks = new ArrayList<>();
+
   /**
    * Construct a new AnimationManager.
    *
@@ -566,6 +580,120 @@ public class AnimationManager {
     return _layers.get(_layers.size() - 1).getCurrentSourceData();
   }
 
+  /**
+   * Put the current source data from the layers of this manager into a BlendData. Unlike
+   * {@link #getCurrentSourceData()}, this passes data between blend tree nodes by slot rather than in
+   * maps, and allocates nothing once the blend data involved has seen its channels.
+   *
+   * @param store
+   *          the data to fill, in our blend layout.
+   * @return false if there is no data, where getCurrentSourceData would return null.
+   */
+  public boolean getCurrentSourceData(final BlendData store) {
+    // set up our layer blending.
+    for (int i = 0; i < _layers.size() - 1; i++) {
+      final AnimationLayer layerA = _layers.get(i);
+      final AnimationLayer layerB = _layers.get(i + 1);
+      layerB.updateLayerBlending(layerA);
+    }
+
+    return _layers.get(_layers.size() - 1).getCurrentSourceData(store);
+  }
+
+  /**
+   * @return the layout of the blend data used by this manager. Unless set, made the first time it is
+   *         asked for, sized for the largest skeleton of our poses.
+   */
+  public BlendLayout getBlendLayout() {
+    if (_blendLayout == null) {
+      int jointCount = 0;
+      for (int i = 0; i < _applyToPoses.size(); ++i) {
+        jointCount = Math.max(jointCount, _applyToPoses.get(i).getSkeleton().getJoints().length);
+      }
+      _blendLayout = new BlendLayout(jointCount);
+    }
+    return _blendLayout;
+  }
+
+  /**
+   * @param layout
+   *          the layout of the blend data to use, for example one shared by the managers of all the
+   *          characters with the same skeleton.
+   */
+  public void setBlendLayout(final BlendLayout layout) {
+    _blendLayout = layout;
+    _freeBlendData.clear();
+  }
+
+  /**
+   * @return an empty blend data in our layout, to be given back with
+   *         {@link #releaseBlendData(BlendData)} when done with.
+   */
+  public BlendData acquireBlendData() {
+    if (_freeBlendData.isEmpty()) {
+      return new BlendData(getBlendLayout());
+    }
+    final BlendData data = _freeBlendData.remove(_freeBlendData.size() - 1);
+    data.clear();
+    return data;
+  }
+
+  /**
+   * @param data
+   *          blend data from {@link #acquireBlendData()} that is no longer needed.
+   */
+  public void releaseBlendData(final BlendData data) {
+    if (data.getLayout() == _blendLayout) {
+      _freeBlendData.add(data);
+    }
+  }
+
+  /**
+   * @return true if listener and trigger callbacks are being queued rather than run as they happen.
+   */
+  public boolean isDeferCallbacks() { return _deferCallbacks; }
+
+  /**
+   * Set whether listener and trigger callbacks - animation listeners, trigger callbacks and pose
+   * listeners - are run as they happen or queued until {@link #fireDeferredCallbacks()}. Deferring lets
+   * this manager be updated on a thread other than the one owning the scene, as
+   * {@link CrowdAnimationScheduler} does.
+   *
+   * @param defer
+   *          true to queue callbacks. If false, any already queued are run now.
+   */
+  public void setDeferCallbacks(final boolean defer) {
+    _deferCallbacks = defer;
+    if (!defer) {
+      fireDeferredCallbacks();
+    }
+  }
+
+  /**
+   * Run a listener or trigger callback now, or queue it if we are deferring callbacks.
+   *
+   * @param callback
+   *          the callback to run.
+   */
+  public void runCallback(final Runnable callback) {
+    if (_deferCallbacks) {
+      _deferredCallbacks.add(callback);
+    } else {
+      callback.run();
+    }
+  }
+
+  /**
+   * Run, in order, any callbacks queued while deferring.
+   */
+  public void fireDeferredCallbacks() {
+    // callbacks may queue more, so go by index
+    for (int i = 0; i < _deferredCallbacks.size(); i++) {
+      _deferredCallbacks.get(i).run();
+    }
+    _deferredCallbacks.clear();
+  }
+
   public LoggingMap<String, Double> getValuesStore() { return _valuesStore; }
 
   /**
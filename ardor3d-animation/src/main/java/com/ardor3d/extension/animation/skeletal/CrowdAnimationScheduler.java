@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ardor3d.scenegraph.Spatial;
+
+/**
+ * <p>
+ * Updates the AnimationManagers of a crowd of animated agents in parallel over a
+ * {@link ForkJoinPool}. Each manager is moved forward, applied to its poses and - through
+ * {@link PoseListener#poseUpdatedConcurrently(SkeletonPose)} - used to CPU skin its meshes on a
+ * worker thread, while animation listeners, trigger callbacks and the scene thread part of pose
+ * listeners are queued and run in order on the thread calling {@link #update()} once all managers
+ * are done.
+ * </p>
+ * <p>
+ * A manager must only be in one scheduler, and managers must not share layers, states, blend tree
+ * sources or appliers - appliers such as
+ * {@link com.ardor3d.extension.animation.skeletal.blendtree.SimpleAnimationApplier} keep the data of
+ * their manager's last update. Clips and blend layouts may be shared. An optional
+ * {@link UpdateRateLod} can animate far away agents less often, by setting each manager's update rate
+ * before it is updated.
+ * </p>
+ */
+public class CrowdAnimationScheduler {
+
+  /**
+   * Picks how often an agent is animated, for example from its distance to the camera or its size on
+   * screen.
+   */
+  @FunctionalInterface
+  public interface UpdateRateLod {
+
+    /**
+     * Called from the worker thread updating the manager, so should only read shared state such as
+     * the camera.
+     *
+     * @param manager
+     *          the manager about to be updated.
+     * @param agent
+     *          the spatial the manager was added with, or null.
+     * @return the update rate to give the manager - the seconds between animation updates, or 0 to
+     *         update every time.
+     * @see AnimationManager#setUpdateRate(double)
+     */
+    double getUpdateRate(AnimationManager manager, Spatial agent);
+  }
+
+  private static final class Agent {
+    private final AnimationManager _manager;
+    private final Spatial _spatial;
+
+    Agent(final AnimationManager manager, final Spatial spatial) {
+      _manager = manager;
+      _spatial = spatial;
+    }
+  }
+
+  private final List<Agent> _agents = new ArrayList<>();
+
+  /** The pool to update in, or null to update on the calling thread. */
+  private ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  /** The number of managers below which a task updates them itself rather than splitting. */
+  private int _batchSize = 4;
+
+  private UpdateRateLod _lod;
+
+  /**
+   * Add a manager to be updated by this scheduler.
+   *
+   * @param manager
+   *          the manager.
+   */
+  public void addManager(final AnimationManager manager) {
+    addManager(manager, null);
+  }
+
+  /**
+   * Add a manager to be updated by this scheduler.
+   *
+   * @param manager
+   *          the manager.
+   * @param agent
+   *          the spatial animated by the manager, passed to our update rate LOD. May be null.
+   * @throws IllegalArgumentException
+   *           if the manager was already added.
+   */
+  public void addManager(final AnimationManager manager, final Spatial agent) {
+    if (containsManager(manager)) {
+      throw new IllegalArgumentException("Manager was already added to this scheduler.");
+    }
+    _agents.add(new Agent(manager, agent));
+  }
+
+  /**
+   * @param manager
+   *          the manager to remove.
+   * @return true if the manager was found to be removed.
+   */
+  public boolean removeManager(final AnimationManager manager) {
+    for (int i = 0; i < _agents.size(); i++) {
+      if (_agents.get(i)._manager == manager) {
+        _agents.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param manager
+   *          a manager to look for.
+   * @return true if the manager was found in this scheduler.
+   */
+  public boolean containsManager(final AnimationManager manager) {
+    for (int i = 0; i < _agents.size(); i++) {
+      if (_agents.get(i)._manager == manager) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of managers updated by this scheduler.
+   */
+  public int getManagerCount() { return _agents.size(); }
+
+  /**
+   * @param index
+   *          the index of the manager to get.
+   * @return the manager at the given index.
+   */
+  public AnimationManager getManager(final int index) {
+    return _agents.get(index)._manager;
+  }
+
+  /**
+   * @return the pool managers are updated in, or null if they are updated on the calling thread.
+   */
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool to update managers in, or null to update them on the calling thread. Defaults to
+   *          the common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  /**
+   * @return the number of managers below which a parallel task updates them itself rather than
+   *         splitting them further.
+   */
+  public int getBatchSize() { return _batchSize; }
+
+  /**
+   * @param batchSize
+   *          the number of managers below which a parallel task updates them itself rather than
+   *          splitting them further. Default is 4.
+   */
+  public void setBatchSize(final int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least 1: " + batchSize);
+    }
+    _batchSize = batchSize;
+  }
+
+  /**
+   * @return the logic picking each manager's update rate, or null if their update rates are left
+   *         alone.
+   */
+  public UpdateRateLod getUpdateRateLod() { return _lod; }
+
+  /**
+   * @param lod
+   *          logic picking each manager's update rate before it is updated, or null to leave their
+   *          update rates alone.
+   */
+  public void setUpdateRateLod(final UpdateRateLod lod) { _lod = lod; }
+
+  /**
+   * Update all of our managers, then run their listener and trigger callbacks on this thread, manager
+   * by manager in the order they were added.
+   */
+  public void update() {
+    final int count = _agents.size();
+    try {
+      if (_pool == null || count <= _batchSize) {
+        updateRange(0, count);
+      } else {
+        _pool.invoke(new UpdateTask(0, count));
+      }
+    } finally {
+      // run our queued callbacks - even those of managers updated before any failure
+      for (int i = 0; i < count; i++) {
+        _agents.get(i)._manager.setDeferCallbacks(false);
+      }
+    }
+  }
+
+  private void updateRange(final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      final Agent agent = _agents.get(i);
+      final AnimationManager manager = agent._manager;
+      manager.setDeferCallbacks(true);
+      if (_lod != null) {
+        manager.setUpdateRate(_lod.getUpdateRate(manager, agent._spatial));
+      }
+      manager.update();
+    }
+  }
+
+  private final class UpdateTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int _start, _end;
+
+    UpdateTask(final int start, final int end) {
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start <= _batchSize) {
+        updateRange(_start, _end);
+        return;
+      }
+      final int mid = (_start + _end) >>> 1;
+      invokeAll(new UpdateTask(_start, mid), new UpdateTask(mid, _end));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal;
+
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.scenegraph.Spatial;
+
+/**
+ * Animates agents less often the further they are from a camera: those within the near distance
+ * are updated at the near update rate, and past that the time between updates grows with distance,
+ * up to the max update rate. Agents added to the scheduler without a spatial are always updated at
+ * the near update rate.
+ */
+public class DistanceUpdateRateLod implements CrowdAnimationScheduler.UpdateRateLod {
+
+  private Camera _camera;
+
+  private double _nearDistance;
+
+  private double _nearUpdateRate = 1.0 / 60.0;
+
+  private double _maxUpdateRate = 1.0 / 4.0;
+
+  /**
+   * @param camera
+   *          the camera to measure distance from.
+   * @param nearDistance
+   *          the distance within which agents are updated at the near update rate.
+   */
+  public DistanceUpdateRateLod(final Camera camera, final double nearDistance) {
+    setCamera(camera);
+    setNearDistance(nearDistance);
+  }
+
+  @Override
+  public double getUpdateRate(final AnimationManager manager, final Spatial agent) {
+    if (agent == null) {
+      return _nearUpdateRate;
+    }
+    final double distance = agent.getWorldTranslation().distance(_camera.getLocation());
+    if (distance <= _nearDistance) {
+      return _nearUpdateRate;
+    }
+    return Math.min(_maxUpdateRate, _nearUpdateRate * distance / _nearDistance);
+  }
+
+  public Camera getCamera() { return _camera; }
+
+  public void setCamera(final Camera camera) {
+    if (camera == null) {
+      throw new IllegalArgumentException("camera must not be null");
+    }
+    _camera = camera;
+  }
+
+  public double getNearDistance() { return _nearDistance; }
+
+  /**
+   * @param nearDistance
+   *          the distance within which agents are updated at the near update rate. Must be positive.
+   */
+  public void setNearDistance(final double nearDistance) {
+    if (!(nearDistance > 0)) {
+      throw new IllegalArgumentException("nearDistance must be positive: " + nearDistance);
+    }
+    _nearDistance = nearDistance;
+  }
+
+  public double getNearUpdateRate() { return _nearUpdateRate; }
+
+  /**
+   * @param nearUpdateRate
+   *          the update rate of agents within the near distance. Default is 60fps (1.0/60.0).
+   */
+  public void setNearUpdateRate(final double nearUpdateRate) { _nearUpdateRate = nearUpdateRate; }
+
+  public double getMaxUpdateRate() { return _maxUpdateRate; }
+
+  /**
+   * @param maxUpdateRate
+   *          the most time between updates of far away agents. Default is 4fps (1.0/4.0).
+   */
+  public void setMaxUpdateRate(final double maxUpdateRate) { _maxUpdateRate = maxUpdateRate; }
+}
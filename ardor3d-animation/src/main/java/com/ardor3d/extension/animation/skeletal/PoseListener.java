@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -23,4 +23,16 @@ public interface PoseListener {
    */
   void poseUpdated(SkeletonPose pose);
 
+  /**
+   * Call-back on skeleton pose updates made off the scene thread - for example by a
+   * {@link CrowdAnimationScheduler} - ahead of {@link #poseUpdated(SkeletonPose)} being called for the
+   * same update back on the scene thread. Work done here runs alongside the updates of other poses,
+   * so must only touch this listener's own data. The default does nothing, leaving it all to
+   * poseUpdated.
+   *
+   * @param pose
+   *          the pose that was updated.
+   */
+  default void poseUpdatedConcurrently(final SkeletonPose pose) {}
+
 }
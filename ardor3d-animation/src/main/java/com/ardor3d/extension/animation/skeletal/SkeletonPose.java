@@ -137,6 +137,17 @@ public class SkeletonPose implements Savable {
    * transforms.
    */
   public void updateTransforms() {
+    updateTransforms(true);
+  }
+
+  /**
+   * Update the global and palette transforms of our posed joints based on the current local joint
+   * transforms.
+   *
+   * @param notifyListeners
+   *          if true, tell our pose listeners we have been updated.
+   */
+  public void updateTransforms(final boolean notifyListeners) {
     final Transform temp = Transform.fetchTempInstance();
     // we go in update array order, which ensures parent global transforms are updated before child.
     // final int[] orders = _skeleton.getJointOrders();
@@ -167,7 +178,9 @@ public class SkeletonPose implements Savable {
       temp.getHomogeneousMatrix(_matrixPalette[index]);
     }
     Transform.releaseTempInstance(temp);
-    firePoseUpdated();
+    if (notifyListeners) {
+      firePoseUpdated();
+    }
   }
 
   /**
@@ -208,6 +221,18 @@ public class SkeletonPose implements Savable {
     }
   }
 
+  /**
+   * Tell any registered PoseListeners that this pose has been updated off the scene thread, ahead of
+   * {@link #firePoseUpdated()} being called on it.
+   *
+   * @see PoseListener#poseUpdatedConcurrently(SkeletonPose)
+   */
+  public void firePoseUpdatedConcurrently() {
+    for (int i = _poseListeners.size(); --i >= 0;) {
+      _poseListeners.get(i).poseUpdatedConcurrently(this);
+    }
+  }
+
   public SkeletonPose makeCopy() {
     final SkeletonPose copy = new SkeletonPose(_skeleton);
 
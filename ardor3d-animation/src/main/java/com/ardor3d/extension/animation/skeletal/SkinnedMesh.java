@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -14,17 +14,20 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.FloatBuffer;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 
 import com.ardor3d.bounding.CollisionTreeManager;
 import com.ardor3d.buffer.BufferUtils;
 import com.ardor3d.buffer.FloatBufferData;
 import com.ardor3d.buffer.IndexBufferData;
 import com.ardor3d.extension.animation.skeletal.util.SkinUtils;
+import com.ardor3d.image.util.ParallelRange;
 import com.ardor3d.math.Matrix4;
 import com.ardor3d.renderer.IndexMode;
 import com.ardor3d.renderer.Renderer;
 import com.ardor3d.scenegraph.Mesh;
 import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.event.DirtyType;
 import com.ardor3d.util.export.InputCapsule;
 import com.ardor3d.util.export.OutputCapsule;
 import com.ardor3d.util.export.Savable;
@@ -36,6 +39,12 @@ import com.ardor3d.util.resource.SimpleResourceLocator;
  */
 public class SkinnedMesh extends Mesh implements PoseListener {
 
+  /** The number of vertices CPU skinning reads, skins and writes at a time. */
+  protected static final int SKIN_CHUNK_VERTICES = 512;
+
+  /** The number of vertices from which CPU skinning is split over our skinning pool. */
+  protected static final int PARALLEL_SKINNING_VERTICES = 16 * 1024;
+
   /**
    * Number of weights per vertex.
    */
@@ -97,6 +106,24 @@ public class SkinnedMesh extends Mesh implements PoseListener {
    */
   protected SkinPoseApplyLogic _customApplier = null;
 
+  /**
+   * The pose we were last skinned to in {@link #poseUpdatedConcurrently(SkeletonPose)}, left for
+   * {@link #poseUpdated(SkeletonPose)} to finish, or null.
+   */
+  protected transient SkeletonPose _concurrentlyAppliedPose;
+
+  /**
+   * The pool CPU skinning of large meshes is split over, or null to always skin on the calling
+   * thread.
+   */
+  protected ForkJoinPool _skinningPool = ForkJoinPool.commonPool();
+
+  /** The current pose's matrix palette, packed 12 floats to a joint for CPU skinning. */
+  protected transient float[] _skinPalette;
+
+  /** Scratch space for CPU skinning on the calling thread. */
+  protected transient float[] _skinScratch;
+
   /**
    * Constructs a new SkinnedMesh.
    */
@@ -267,6 +294,19 @@ public class SkinnedMesh extends Mesh implements PoseListener {
    */
   public void setCustomApplier(final SkinPoseApplyLogic customApplier) { _customApplier = customApplier; }
 
+  /**
+   * @return the pool CPU skinning of large meshes is split over, or null if we always skin on the
+   *         calling thread.
+   */
+  public ForkJoinPool getSkinningPool() { return _skinningPool; }
+
+  /**
+   * @param pool
+   *          the pool CPU skinning of large meshes is split over, or null to always skin on the
+   *          calling thread. Defaults to the common pool.
+   */
+  public void setSkinningPool(final ForkJoinPool pool) { _skinningPool = pool; }
+
   /**
    * Apply skinning values
    */
@@ -289,110 +329,180 @@ public class SkinnedMesh extends Mesh implements PoseListener {
     }
 
     // Running skinning on the CPU
-    // Get a handle to the source and dest vertices buffers
+    final int vertexCount = _bindPoseData.getVertexCount();
     final FloatBuffer bindVerts = _bindPoseData.getVertexBuffer();
-    FloatBuffer storeVerts = _meshData.getVertexBuffer();
-    bindVerts.rewind();
-    if (storeVerts == null || storeVerts.capacity() != bindVerts.capacity()) {
-      storeVerts = BufferUtils.createFloatBuffer(bindVerts.capacity());
-      _meshData.setVertexBuffer(storeVerts);
-    } else {
-      storeVerts.rewind();
-    }
-
-    // Get a handle to the source and dest normals buffers
+    final FloatBuffer storeVerts = storeBuffer(bindVerts, _meshData.getVertexCoords(), MeshData.KEY_VertexCoords);
     final FloatBuffer bindNorms = _bindPoseData.getNormalBuffer();
-    FloatBuffer storeNorms = _meshData.getNormalBuffer();
-    if (bindNorms != null) {
-      bindNorms.rewind();
+    final FloatBuffer storeNorms =
+        bindNorms != null ? storeBuffer(bindNorms, _meshData.getNormalCoords(), MeshData.KEY_NormalCoords) : null;
+    final FloatBufferData bindTangentCoords = _bindPoseData.getTangentCoords();
+    // only 3 or 4 component (with handedness) tangents are skinned
+    final boolean skinTangents = bindTangentCoords != null
+        && (bindTangentCoords.getValuesPerTuple() == 3 || bindTangentCoords.getValuesPerTuple() == 4);
+    final FloatBuffer bindTangents = skinTangents ? bindTangentCoords.getBuffer() : null;
+    final FloatBuffer storeTangents = bindTangents != null
+        ? storeBuffer(bindTangents, _meshData.getTangentCoords(), MeshData.KEY_TangentCoords)
+        : null;
+    final int tangentSize = bindTangents != null ? bindTangentCoords.getValuesPerTuple() : 0;
+
+    // pack the rows of our palette for the inner loop
+    final Matrix4[] palette = _currentPose.getMatrixPalette();
+    if (_skinPalette == null || _skinPalette.length != palette.length * 12) {
+      _skinPalette = new float[palette.length * 12];
+    }
+    for (int i = 0; i < palette.length; i++) {
+      final Matrix4 m = palette[i];
+      final int o = i * 12;
+      _skinPalette[o] = (float) m.getM00();
+      _skinPalette[o + 1] = (float) m.getM01();
+      _skinPalette[o + 2] = (float) m.getM02();
+      _skinPalette[o + 3] = (float) m.getM03();
+      _skinPalette[o + 4] = (float) m.getM10();
+      _skinPalette[o + 5] = (float) m.getM11();
+      _skinPalette[o + 6] = (float) m.getM12();
+      _skinPalette[o + 7] = (float) m.getM13();
+      _skinPalette[o + 8] = (float) m.getM20();
+      _skinPalette[o + 9] = (float) m.getM21();
+      _skinPalette[o + 10] = (float) m.getM22();
+      _skinPalette[o + 11] = (float) m.getM23();
+    }
 
-      if (storeNorms == null || storeNorms.capacity() < bindNorms.capacity()) {
-        storeNorms = BufferUtils.createFloatBuffer(bindNorms.capacity());
-        _meshData.setNormalBuffer(storeNorms);
-      } else {
-        storeNorms.rewind();
+    // Cycle through our vertices a chunk at a time, over our pool if there are enough of them. The
+    // buffers are only read and written at absolute indices, as copies of this mesh may share our bind
+    // pose and be skinned on other threads.
+    final int chunks = (vertexCount + SKIN_CHUNK_VERTICES - 1) / SKIN_CHUNK_VERTICES;
+    final ForkJoinPool pool = _skinningPool;
+    if (pool == null || pool.getParallelism() < 2 || vertexCount < PARALLEL_SKINNING_VERTICES) {
+      if (_skinScratch == null) {
+        _skinScratch = new float[SKIN_CHUNK_VERTICES * 10];
       }
+      skinChunks(0, chunks, vertexCount, _skinScratch, bindVerts, storeVerts, bindNorms, storeNorms, bindTangents,
+          storeTangents, tangentSize);
+    } else {
+      // a few runs of chunks per worker, each with its own scratch
+      final int runs = Math.min(chunks, pool.getParallelism() * 4);
+      final int workPerRun = chunks / runs * SKIN_CHUNK_VERTICES * (_weightsPerVert + 3) * 12;
+      ParallelRange.run(pool, runs, workPerRun, (start, end) -> skinChunks(start * chunks / runs, end * chunks / runs,
+          vertexCount, new float[SKIN_CHUNK_VERTICES * 10], bindVerts, storeVerts, bindNorms, storeNorms,
+          bindTangents, storeTangents, tangentSize));
     }
 
-    Matrix4 jntMat;
-    double bindVX, bindVY, bindVZ;
-    double bindNX = 0, bindNY = 0, bindNZ = 0;
-    double vSumX, vSumY, vSumZ;
-    double nSumX = 0, nSumY = 0, nSumZ = 0;
-    double tempX, tempY, tempZ;
-    float weight;
-    int jointIndex;
-
-    // Cycle through each vertex
-    for (int i = 0; i < _bindPoseData.getVertexCount(); i++) {
-      // zero out our sum var
-      vSumX = 0;
-      vSumY = 0;
-      vSumZ = 0;
+    _meshData.markBufferDirty(MeshData.KEY_VertexCoords);
+    if (bindNorms != null) {
+      _meshData.markBufferDirty(MeshData.KEY_NormalCoords);
+    }
+    if (bindTangents != null) {
+      _meshData.markBufferDirty(MeshData.KEY_TangentCoords);
+    }
+  }
 
-      // Grab the bind pose vertex Vbp from _bindPoseData
-      bindVX = bindVerts.get();
-      bindVY = bindVerts.get();
-      bindVZ = bindVerts.get();
+  /**
+   * @return the buffer of our mesh data under the given key, made to match the given bind pose buffer
+   *         if it does not.
+   */
+  private FloatBuffer storeBuffer(final FloatBuffer bindBuffer, final FloatBufferData store, final String key) {
+    if (store != null && store.getBuffer() != null && store.getBuffer().capacity() == bindBuffer.capacity()) {
+      return store.getBuffer();
+    }
+    final FloatBufferData bindData = _bindPoseData.getCoords(key);
+    final FloatBufferData data =
+        new FloatBufferData(BufferUtils.createFloatBuffer(bindBuffer.capacity()), bindData.getValuesPerTuple());
+    _meshData.setCoords(key, data);
+    return data.getBuffer();
+  }
 
-      // See if we should do the corresponding normal as well
+  /**
+   * Skin the vertices of the given chunks: the weighted sum of the palette matrices of each vertex is
+   * applied to its bind pose position, normal and tangent.
+   *
+   * @param scratch
+   *          room for SKIN_CHUNK_VERTICES * 10 floats, owned by the calling thread.
+   */
+  private void skinChunks(final int startChunk, final int endChunk, final int vertexCount, final float[] scratch,
+      final FloatBuffer bindVerts, final FloatBuffer storeVerts, final FloatBuffer bindNorms,
+      final FloatBuffer storeNorms, final FloatBuffer bindTangents, final FloatBuffer storeTangents,
+      final int tangentSize) {
+    final float[] palette = _skinPalette;
+    final float[] weights = _weights;
+    final short[] jointIndices = _jointIndices;
+    final int weightsPerVert = _weightsPerVert;
+    // positions, then normals, then tangents in our scratch
+    final int normalOffset = SKIN_CHUNK_VERTICES * 3;
+    final int tangentOffset = SKIN_CHUNK_VERTICES * 6;
+
+    for (int chunk = startChunk; chunk < endChunk; chunk++) {
+      final int first = chunk * SKIN_CHUNK_VERTICES;
+      final int count = Math.min(SKIN_CHUNK_VERTICES, vertexCount - first);
+      bindVerts.get(first * 3, scratch, 0, count * 3);
       if (bindNorms != null) {
-        // zero out our sum var
-        nSumX = 0;
-        nSumY = 0;
-        nSumZ = 0;
-
-        // Grab the bind pose norm Nbp from _bindPoseData
-        bindNX = bindNorms.get();
-        bindNY = bindNorms.get();
-        bindNZ = bindNorms.get();
+        bindNorms.get(first * 3, scratch, normalOffset, count * 3);
+      }
+      if (bindTangents != null) {
+        bindTangents.get(first * tangentSize, scratch, tangentOffset, count * tangentSize);
       }
 
-      // for each joint where the weight != 0
-      for (int j = 0; j < getWeightsPerVert(); j++) {
-        final int index = i * getWeightsPerVert() + j;
-        if (_weights[index] == 0) {
-          continue;
+      for (int v = 0; v < count; v++) {
+        // sum the weighted joint matrices affecting the vertex
+        float m00 = 0, m01 = 0, m02 = 0, m03 = 0;
+        float m10 = 0, m11 = 0, m12 = 0, m13 = 0;
+        float m20 = 0, m21 = 0, m22 = 0, m23 = 0;
+        final int weightIndex = (first + v) * weightsPerVert;
+        for (int j = 0; j < weightsPerVert; j++) {
+          final float weight = weights[weightIndex + j];
+          if (weight == 0) {
+            continue;
+          }
+          final int o = jointIndices[weightIndex + j] * 12;
+          m00 += palette[o] * weight;
+          m01 += palette[o + 1] * weight;
+          m02 += palette[o + 2] * weight;
+          m03 += palette[o + 3] * weight;
+          m10 += palette[o + 4] * weight;
+          m11 += palette[o + 5] * weight;
+          m12 += palette[o + 6] * weight;
+          m13 += palette[o + 7] * weight;
+          m20 += palette[o + 8] * weight;
+          m21 += palette[o + 9] * weight;
+          m22 += palette[o + 10] * weight;
+          m23 += palette[o + 11] * weight;
         }
 
-        jointIndex = _jointIndices[index];
-        jntMat = _currentPose.getMatrixPalette()[jointIndex];
-        weight = _weights[index];
-
-        // Multiply our vertex by the matrix palette entry
-        tempX = jntMat.getM00() * bindVX + jntMat.getM01() * bindVY + jntMat.getM02() * bindVZ + jntMat.getM03();
-        tempY = jntMat.getM10() * bindVX + jntMat.getM11() * bindVY + jntMat.getM12() * bindVZ + jntMat.getM13();
-        tempZ = jntMat.getM20() * bindVX + jntMat.getM21() * bindVY + jntMat.getM22() * bindVZ + jntMat.getM23();
-
-        // Sum, weighted.
-        vSumX += tempX * weight;
-        vSumY += tempY * weight;
-        vSumZ += tempZ * weight;
+        // and apply it, in place
+        int i = v * 3;
+        float x = scratch[i], y = scratch[i + 1], z = scratch[i + 2];
+        scratch[i] = m00 * x + m01 * y + m02 * z + m03;
+        scratch[i + 1] = m10 * x + m11 * y + m12 * z + m13;
+        scratch[i + 2] = m20 * x + m21 * y + m22 * z + m23;
 
         if (bindNorms != null) {
-          // Multiply our normal by the matrix palette entry
-          tempX = jntMat.getM00() * bindNX + jntMat.getM01() * bindNY + jntMat.getM02() * bindNZ;
-          tempY = jntMat.getM10() * bindNX + jntMat.getM11() * bindNY + jntMat.getM12() * bindNZ;
-          tempZ = jntMat.getM20() * bindNX + jntMat.getM21() * bindNY + jntMat.getM22() * bindNZ;
-
-          // Sum, weighted.
-          nSumX += tempX * weight;
-          nSumY += tempY * weight;
-          nSumZ += tempZ * weight;
+          i = normalOffset + v * 3;
+          x = scratch[i];
+          y = scratch[i + 1];
+          z = scratch[i + 2];
+          scratch[i] = m00 * x + m01 * y + m02 * z;
+          scratch[i + 1] = m10 * x + m11 * y + m12 * z;
+          scratch[i + 2] = m20 * x + m21 * y + m22 * z;
         }
-      }
 
-      // Store sum into _meshData
-      storeVerts.put((float) vSumX).put((float) vSumY).put((float) vSumZ);
+        if (bindTangents != null) {
+          // any w, such as handedness, is left as it is
+          i = tangentOffset + v * tangentSize;
+          x = scratch[i];
+          y = scratch[i + 1];
+          z = scratch[i + 2];
+          scratch[i] = m00 * x + m01 * y + m02 * z;
+          scratch[i + 1] = m10 * x + m11 * y + m12 * z;
+          scratch[i + 2] = m20 * x + m21 * y + m22 * z;
+        }
+      }
 
+      storeVerts.put(first * 3, scratch, 0, count * 3);
       if (bindNorms != null) {
-        storeNorms.put((float) nSumX).put((float) nSumY).put((float) nSumZ);
+        storeNorms.put(first * 3, scratch, normalOffset, count * 3);
+      }
+      if (bindTangents != null) {
+        storeTangents.put(first * tangentSize, scratch, tangentOffset, count * tangentSize);
       }
-    }
-
-    _meshData.markBufferDirty(MeshData.KEY_VertexCoords);
-    if (bindNorms != null) {
-      _meshData.markBufferDirty(MeshData.KEY_NormalCoords);
     }
   }
 
@@ -420,6 +530,17 @@ public class SkinnedMesh extends Mesh implements PoseListener {
       _customApplier.doApply(this, pose);
     }
 
+    // already skinned to this pose off the scene thread?
+    else if (_concurrentlyAppliedPose == pose) {
+      _concurrentlyAppliedPose = null;
+
+      // our model bound was computed there, so just let the scene know
+      if (!isUseGPU() && isAutoUpdateSkinBounds() && _modelBound != null) {
+        markDirty(DirtyType.Bounding);
+        CollisionTreeManager.INSTANCE.removeCollisionTree(this);
+      }
+    }
+
     // Just run our default behavior
     else {
       // update our pose
@@ -432,6 +553,24 @@ public class SkinnedMesh extends Mesh implements PoseListener {
     }
   }
 
+  /**
+   * Does our CPU skinning, and computes our model bound if we update it automatically, leaving
+   * poseUpdated to mark the scene dirty. GPU skinning and custom appliers are left to poseUpdated.
+   */
+  @Override
+  public void poseUpdatedConcurrently(final SkeletonPose pose) {
+    _concurrentlyAppliedPose = null;
+    if (_customApplier != null || isUseGPU() || _currentPose == null) {
+      return;
+    }
+
+    applyPose();
+    if (isAutoUpdateSkinBounds() && _modelBound != null && _meshData.getVertexBuffer() != null) {
+      _modelBound.computeFromPoints(_meshData.getVertexBuffer().duplicate());
+    }
+    _concurrentlyAppliedPose = pose;
+  }
+
   @Override
   public void updateModelBound() {
     super.updateModelBound();
@@ -483,6 +622,7 @@ public class SkinnedMesh extends Mesh implements PoseListener {
     skin._gpuAttributeSize = _gpuAttributeSize;
     skin._autoUpdateSkinBound = _autoUpdateSkinBound;
     skin._customApplier = _customApplier;
+    skin._skinningPool = _skinningPool;
 
     // bring across arrays
     if (shareGeometricData) {
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -58,6 +58,22 @@ public class BinaryLERPSource extends AbstractTwoPartSource {
     return BinaryLERPSource.combineSourceData(sourceAData, sourceBData, manager.getValuesStore().get(getBlendKey()));
   }
 
+  @Override
+  public boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    final BlendData sourceAData = manager.acquireBlendData();
+    final BlendData sourceBData = manager.acquireBlendData();
+    try {
+      final boolean hasA = getSourceA() != null && getSourceA().getSourceData(manager, sourceAData);
+      final boolean hasB = getSourceB() != null && getSourceB().getSourceData(manager, sourceBData);
+      final Double blendWeight = manager.getValuesStore().get(getBlendKey());
+      return store.blend(hasA ? sourceAData : null, hasB ? sourceBData : null,
+          blendWeight != null ? blendWeight.doubleValue() : 0.0);
+    } finally {
+      manager.releaseBlendData(sourceBData);
+      manager.releaseBlendData(sourceAData);
+    }
+  }
+
   @Override
   public boolean setTime(final double globalTime, final AnimationManager manager) {
     // set our time on the two sub sources
@@ -102,6 +118,15 @@ public class BinaryLERPSource extends AbstractTwoPartSource {
         blendWeight != null ? blendWeight.doubleValue() : 0.0, null);
   }
 
+  /**
+   * Combines two sets of source data maps as {@link #combineSourceData(Map, Map, Double)} does, into a
+   * store reused from one call to the next.
+   *
+   * @param store
+   *          the map to combine into, holding the result of an earlier call or null for a new map. Its
+   *          values are reused as blend stores, and keys in neither source are removed.
+   * @return our combined data map, or one of the sources if the other is null.
+   */
   public static Map<String, ? extends Object> combineSourceData(final Map<String, ? extends Object> sourceAData,
       final Map<String, ? extends Object> sourceBData, final double blendWeight, final Map<String, Object> store) {
     // XXX: Should blendWeight of 0 or 1 disable non transform data from B/A respectively? Currently
@@ -144,12 +169,18 @@ public class BinaryLERPSource extends AbstractTwoPartSource {
         rVal.put(key, transformA);
       }
     }
+    int onlyB = 0;
     for (final Entry<String, ? extends Object> entryBData : sourceBData.entrySet()) {
       final String key = entryBData.getKey();
-      if (rVal.containsKey(key)) {
+      if (sourceAData.containsKey(key)) {
         continue;
       }
       rVal.put(key, entryBData.getValue());
+      onlyB++;
+    }
+    if (rVal.size() > sourceAData.size() + onlyB) {
+      // channels left from an earlier call
+      rVal.keySet().removeIf(key -> !sourceAData.containsKey(key) && !sourceBData.containsKey(key));
     }
 
     return rVal;
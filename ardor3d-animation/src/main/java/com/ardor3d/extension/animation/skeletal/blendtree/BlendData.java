@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal.blendtree;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.ardor3d.extension.animation.skeletal.clip.JointData;
+import com.ardor3d.extension.animation.skeletal.clip.TransformData;
+import com.ardor3d.math.util.MathUtils;
+
+/**
+ * The source data of a blend tree node, held by slot index of a {@link BlendLayout} rather than in a
+ * map keyed by channel name. Slots hold the same objects a source data map would - TransformData,
+ * JointData, float[1], double[1], TriggerData, etc. - and are empty where the map would have no
+ * entry.
+ * <p>
+ * Data objects from the sources, such as a clip instance's channel data, are referenced as they are.
+ * Values made by blending are kept in stores owned by this object and reused from one update to the
+ * next, so once it has seen its channels a BlendData does not allocate.
+ */
+public class BlendData {
+
+  private final BlendLayout _layout;
+
+  /** The data in each slot, or null. */
+  private Object[] _values;
+
+  /** Stores we blended or copied values into, by slot. */
+  private Object[] _owned;
+
+  public BlendData(final BlendLayout layout) {
+    _layout = layout;
+    _values = new Object[layout.getSlotCount()];
+    _owned = new Object[_values.length];
+  }
+
+  public BlendLayout getLayout() { return _layout; }
+
+  /**
+   * @return the number of slots this object has room for. Slots past this are empty.
+   */
+  public int getSlotCount() { return _values.length; }
+
+  /**
+   * @param slot
+   *          the slot to get.
+   * @return the data in the slot, or null if there is none.
+   */
+  public Object get(final int slot) {
+    return slot < _values.length ? _values[slot] : null;
+  }
+
+  /**
+   * @param slot
+   *          the slot to set.
+   * @param value
+   *          the data to reference from the slot, or null to empty it.
+   */
+  public void set(final int slot, final Object value) {
+    if (slot >= _values.length) {
+      final int size = Math.max(slot + 1, _layout.getSlotCount());
+      _values = Arrays.copyOf(_values, size);
+      _owned = Arrays.copyOf(_owned, size);
+    }
+    _values[slot] = value;
+  }
+
+  /**
+   * Empty every slot.
+   */
+  public void clear() {
+    Arrays.fill(_values, null);
+  }
+
+  /**
+   * @param slot
+   *          the slot to empty.
+   */
+  public void clear(final int slot) {
+    if (slot < _values.length) {
+      _values[slot] = null;
+    }
+  }
+
+  /**
+   * Make this hold the same data as another.
+   *
+   * @param source
+   *          the data to copy.
+   */
+  public void set(final BlendData source) {
+    clear();
+    for (int slot = source._values.length; --slot >= 0;) {
+      final Object value = source._values[slot];
+      if (value != null) {
+        set(slot, source.share(slot, value, this));
+      }
+    }
+  }
+
+  /**
+   * Make this hold the same data as a source data map.
+   *
+   * @param source
+   *          the map to copy, keyed by channel name. May be null.
+   * @return false if source was null.
+   */
+  public boolean set(final Map<String, ? extends Object> source) {
+    clear();
+    if (source == null) {
+      return false;
+    }
+    for (final Entry<String, ? extends Object> entry : source.entrySet()) {
+      if (entry.getValue() != null) {
+        set(_layout.getSlot(entry.getKey()), entry.getValue());
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Combine two sets of source data, the way
+   * {@link BinaryLERPSource#combineSourceData(Map, Map, double, Map)} combines maps: TransformData,
+   * float[] and double[] values are linearly interpolated, other data is taken from A unless A has
+   * none, and slots that only one side has are kept as they are. If one side is null, this holds the
+   * other.
+   *
+   * @param sourceA
+   *          our first source, or null
+   * @param sourceB
+   *          our second source, or null
+   * @param blendWeight
+   *          the weight of B.
+   * @return false if both sources were null, and so are we.
+   */
+  public boolean blend(final BlendData sourceA, final BlendData sourceB, final double blendWeight) {
+    if (sourceB == null) {
+      if (sourceA == null) {
+        clear();
+        return false;
+      }
+      set(sourceA);
+      return true;
+    } else if (sourceA == null) {
+      set(sourceB);
+      return true;
+    }
+
+    clear();
+    final int count = Math.max(sourceA._values.length, sourceB._values.length);
+    for (int slot = count; --slot >= 0;) {
+      final Object dataA = sourceA.get(slot);
+      final Object dataB = sourceB.get(slot);
+      if (dataA == null) {
+        if (dataB != null) {
+          set(slot, sourceB.share(slot, dataB, this));
+        }
+      } else if (dataB == null) {
+        set(slot, sourceA.share(slot, dataA, this));
+      } else if (dataA instanceof TransformData transformA && dataB instanceof TransformData transformB) {
+        set(slot, transformA.blend(transformB, blendWeight, ownTransform(slot, transformA)));
+      } else if (dataA instanceof float[] floatA && dataB instanceof float[] floatB) {
+        final float[] store = ownFloat(slot);
+        store[0] = MathUtils.lerp((float) blendWeight, floatA[0], floatB[0]);
+        set(slot, store);
+      } else if (dataA instanceof double[] doubleA && dataB instanceof double[] doubleB) {
+        final double[] store = ownDouble(slot);
+        store[0] = MathUtils.lerp(blendWeight, doubleA[0], doubleB[0]);
+        set(slot, store);
+      } else {
+        // A will always override if not null.
+        set(slot, sourceA.share(slot, dataA, this));
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return value, or a copy of it in target's store for the slot if value is one of our own stores
+   *         - which we will overwrite as we are reused.
+   */
+  private Object share(final int slot, final Object value, final BlendData target) {
+    if (value != _owned[slot]) {
+      return value;
+    }
+    if (value instanceof TransformData transform) {
+      final TransformData store = target.ownTransform(slot, transform);
+      if (store instanceof JointData joint) {
+        joint.set((JointData) transform);
+      } else {
+        store.set(transform);
+      }
+      return store;
+    } else if (value instanceof float[] floats) {
+      final float[] store = target.ownFloat(slot);
+      store[0] = floats[0];
+      return store;
+    } else {
+      final double[] store = target.ownDouble(slot);
+      store[0] = ((double[]) value)[0];
+      return store;
+    }
+  }
+
+  private TransformData ownTransform(final int slot, final TransformData like) {
+    set(slot, null);
+    final boolean joint = like instanceof JointData;
+    if (_owned[slot] instanceof TransformData store && store instanceof JointData == joint) {
+      return store;
+    }
+    final TransformData store = joint ? new JointData() : new TransformData();
+    _owned[slot] = store;
+    return store;
+  }
+
+  private float[] ownFloat(final int slot) {
+    set(slot, null);
+    if (!(_owned[slot] instanceof float[])) {
+      _owned[slot] = new float[1];
+    }
+    return (float[]) _owned[slot];
+  }
+
+  private double[] ownDouble(final int slot) {
+    set(slot, null);
+    if (!(_owned[slot] instanceof double[])) {
+      _owned[slot] = new double[1];
+    }
+    return (double[]) _owned[slot];
+  }
+}
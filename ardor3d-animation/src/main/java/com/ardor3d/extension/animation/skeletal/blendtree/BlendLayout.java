@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal.blendtree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ardor3d.extension.animation.skeletal.clip.JointChannel;
+
+/**
+ * Assigns each animation channel name a slot index in {@link BlendData}, so blending can work on
+ * arrays rather than maps keyed by name. Joint channels ("_jnt" + joint index) of joints below the
+ * joint count take the slot of their joint index; any other channel is given the next free slot
+ * after those the first time it is asked for.
+ * <p>
+ * Names are resolved once by the sources of a blend tree and the slots kept, so a layout may be
+ * shared - for example by the animation managers of all the characters using one skeleton - and
+ * used from several threads.
+ */
+public class BlendLayout {
+
+  private final int _jointCount;
+
+  /** Lazily made names of our joint slots. */
+  private final String[] _jointNames;
+
+  private final Map<String, Integer> _namedSlots = new HashMap<>();
+
+  private final List<String> _names = new ArrayList<>();
+
+  /**
+   * @param jointCount
+   *          the number of joints in the skeleton(s) this layout is used with.
+   */
+  public BlendLayout(final int jointCount) {
+    if (jointCount < 0) {
+      throw new IllegalArgumentException("jointCount must not be negative: " + jointCount);
+    }
+    _jointCount = jointCount;
+    _jointNames = new String[jointCount];
+  }
+
+  public int getJointCount() { return _jointCount; }
+
+  /**
+   * @return the number of slots handed out so far.
+   */
+  public synchronized int getSlotCount() { return _jointCount + _names.size(); }
+
+  /**
+   * @param channelName
+   *          a channel name.
+   * @return the slot of the channel with the given name, assigned a new slot if it did not have one.
+   */
+  public int getSlot(final String channelName) {
+    if (channelName.startsWith(JointChannel.JOINT_CHANNEL_NAME)) {
+      try {
+        final int jointIndex = Integer.parseInt(channelName.substring(JointChannel.JOINT_CHANNEL_NAME.length()));
+        if (jointIndex >= 0 && jointIndex < _jointCount) {
+          return jointIndex;
+        }
+      } catch (final NumberFormatException e) {
+        // not a joint after all, so a named slot
+      }
+    }
+    synchronized (this) {
+      Integer slot = _namedSlots.get(channelName);
+      if (slot == null) {
+        slot = _jointCount + _names.size();
+        _namedSlots.put(channelName, slot);
+        _names.add(channelName);
+      }
+      return slot;
+    }
+  }
+
+  /**
+   * @param jointIndex
+   *          a joint index.
+   * @return the slot of the joint channel of the given joint.
+   */
+  public int getJointSlot(final int jointIndex) {
+    if (jointIndex >= 0 && jointIndex < _jointCount) {
+      return jointIndex;
+    }
+    return getSlot(JointChannel.JOINT_CHANNEL_NAME + jointIndex);
+  }
+
+  /**
+   * @param slot
+   *          a slot handed out by this layout.
+   * @return the name of the channel given the slot.
+   */
+  public synchronized String getChannelName(final int slot) {
+    if (slot < _jointCount) {
+      if (_jointNames[slot] == null) {
+        _jointNames[slot] = JointChannel.JOINT_CHANNEL_NAME + slot;
+      }
+      return _jointNames[slot];
+    }
+    return _names.get(slot - _jointCount);
+  }
+
+  /**
+   * @param channelNames
+   *          some channel names.
+   * @return the slot of each name.
+   */
+  public int[] getSlots(final List<String> channelNames) {
+    final int[] slots = new int[channelNames.size()];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = getSlot(channelNames.get(i));
+    }
+    return slots;
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -26,6 +26,21 @@ public interface BlendTreeSource {
    */
   Map<String, ? extends Object> getSourceData(AnimationManager manager);
 
+  /**
+   * Put the source information from this blend tree node into a BlendData, by slot rather than by
+   * channel name. Sources override this to work without maps; by default it copies the map from
+   * {@link #getSourceData(AnimationManager)}.
+   *
+   * @param manager
+   *          the manager this is being called from.
+   * @param store
+   *          the data to fill, in the manager's blend layout. Any previous contents are replaced.
+   * @return false if this node has no data, where getSourceData would return null.
+   */
+  default boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    return store.set(getSourceData(manager));
+  }
+
   /**
    * Move any clips or animation information to the given global time.
    * 
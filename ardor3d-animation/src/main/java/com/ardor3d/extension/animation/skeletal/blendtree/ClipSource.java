@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -13,6 +13,7 @@ package com.ardor3d.extension.animation.skeletal.blendtree;
 import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.clip.AbstractAnimationChannel;
 import com.ardor3d.extension.animation.skeletal.clip.AnimationClip;
 import com.ardor3d.extension.animation.skeletal.clip.AnimationClipInstance;
 import com.ardor3d.math.util.MathUtils;
@@ -25,6 +26,37 @@ public class ClipSource implements BlendTreeSource {
   /** Our clip to sample from. This may be shared with other clip sources, etc. */
   protected AnimationClip _clip;
 
+  /** Where the channels of our clip go in the last blend layout we were used with. */
+  private ChannelSlots _channelSlots;
+
+  private static final class ChannelSlots {
+    final BlendLayout _layout;
+    final AbstractAnimationChannel[] _channels;
+    final int[] _slots;
+
+    ChannelSlots(final BlendLayout layout, final AnimationClip clip) {
+      _layout = layout;
+      _channels = new AbstractAnimationChannel[clip.getChannelCount()];
+      _slots = new int[_channels.length];
+      for (int i = 0; i < _channels.length; i++) {
+        _channels[i] = clip.getChannel(i);
+        _slots[i] = layout.getSlot(_channels[i].getChannelName());
+      }
+    }
+
+    boolean matches(final BlendLayout layout, final AnimationClip clip) {
+      if (_layout != layout || _channels.length != clip.getChannelCount()) {
+        return false;
+      }
+      for (int i = 0; i < _channels.length; i++) {
+        if (_channels[i] != clip.getChannel(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   /**
    * Construct a new ClipSource. Clip and Manager must be set separately before use.
    */
@@ -54,6 +86,26 @@ public class ClipSource implements BlendTreeSource {
     return manager.getClipInstance(getClip()).getChannelData();
   }
 
+  @Override
+  public boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    store.clear();
+    final AnimationClip clip = getClip();
+    final AnimationClipInstance instance = manager.getClipInstance(clip);
+    ChannelSlots channelSlots = _channelSlots;
+    if (channelSlots == null || !channelSlots.matches(store.getLayout(), clip)) {
+      channelSlots = new ChannelSlots(store.getLayout(), clip);
+      _channelSlots = channelSlots;
+    }
+    final AbstractAnimationChannel[] channels = channelSlots._channels;
+    for (int i = 0; i < channels.length; i++) {
+      final Object data = instance.getChannelData(i, channels[i]);
+      if (data != null) {
+        store.set(channelSlots._slots[i], data);
+      }
+    }
+    return true;
+  }
+
   /**
    * Sets the current time on our AnimationClip instance, accounting for looping and time scaling.
    */
@@ -84,7 +136,7 @@ public class ClipSource implements BlendTreeSource {
       if (clockTime > maxTime || clockTime < 0) {
         clockTime = MathUtils.clamp(clockTime, 0, maxTime);
         // signal to any listeners that we have ended our animation.
-        instance.fireAnimationFinished();
+        manager.runCallback(instance::fireAnimationFinished);
         // deactivate this instance of the clip
         instance.setActive(false);
       }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -26,6 +26,9 @@ public class ExclusiveClipSource extends ClipSource {
   /** Our List of channels to exclude by name. */
   private final List<String> _disabledChannels = new ArrayList<>();
 
+  /** The slots of our disabled channels in the last blend layout we were used with. */
+  private ResolvedSlots _disabledSlots;
+
   /**
    * Construct a new source. Clip and Manager must be set separately before use.
    */
@@ -48,6 +51,7 @@ public class ExclusiveClipSource extends ClipSource {
    */
   public void clearDisabled() {
     _disabledChannels.clear();
+    _disabledSlots = null;
   }
 
   /**
@@ -58,6 +62,7 @@ public class ExclusiveClipSource extends ClipSource {
     for (final String channelName : disabledChannels) {
       if (!_disabledChannels.contains(channelName)) {
         _disabledChannels.add(channelName);
+        _disabledSlots = null;
       }
     }
   }
@@ -72,6 +77,7 @@ public class ExclusiveClipSource extends ClipSource {
       final String channelName = JointChannel.JOINT_CHANNEL_NAME + i;
       if (!_disabledChannels.contains(channelName)) {
         _disabledChannels.add(channelName);
+        _disabledSlots = null;
       }
     }
   }
@@ -95,4 +101,15 @@ public class ExclusiveClipSource extends ClipSource {
 
     return data;
   }
+
+  @Override
+  public boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    super.getSourceData(manager, store);
+    final ResolvedSlots disabled = ResolvedSlots.resolve(_disabledSlots, store.getLayout(), _disabledChannels);
+    _disabledSlots = disabled;
+    for (final int slot : disabled.getSlots()) {
+      store.clear(slot);
+    }
+    return true;
+  }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -37,6 +37,11 @@ public class FrozenTreeSource implements BlendTreeSource {
     return _source.getSourceData(manager);
   }
 
+  @Override
+  public boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    return _source.getSourceData(manager, store);
+  }
+
   /**
    * Ignores the command to reset our subtree.
    */
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -26,6 +26,9 @@ public class InclusiveClipSource extends ClipSource {
   /** Our List of channels to include by name. */
   private final List<String> _enabledChannels = new ArrayList<>();
 
+  /** The slots of our enabled channels in the last blend layout we were used with. */
+  private ResolvedSlots _enabledSlots;
+
   /**
    * Construct a new source. Clip and Manager must be set separately before use.
    */
@@ -48,6 +51,7 @@ public class InclusiveClipSource extends ClipSource {
    */
   public void clearEnabled() {
     _enabledChannels.clear();
+    _enabledSlots = null;
   }
 
   /**
@@ -58,6 +62,7 @@ public class InclusiveClipSource extends ClipSource {
     for (final String channelName : enabledChannels) {
       if (!_enabledChannels.contains(channelName)) {
         _enabledChannels.add(channelName);
+        _enabledSlots = null;
       }
     }
   }
@@ -72,6 +77,7 @@ public class InclusiveClipSource extends ClipSource {
       final String channelName = JointChannel.JOINT_CHANNEL_NAME + i;
       if (!_enabledChannels.contains(channelName)) {
         _enabledChannels.add(channelName);
+        _enabledSlots = null;
       }
     }
   }
@@ -97,4 +103,18 @@ public class InclusiveClipSource extends ClipSource {
 
     return data;
   }
+
+  @Override
+  public boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    super.getSourceData(manager, store);
+    final ResolvedSlots enabled = ResolvedSlots.resolve(_enabledSlots, store.getLayout(), _enabledChannels);
+    _enabledSlots = enabled;
+    final boolean[] mask = enabled.getMask();
+    for (int slot = store.getSlotCount(); --slot >= 0;) {
+      if (slot >= mask.length || !mask[slot]) {
+        store.clear(slot);
+      }
+    }
+    return true;
+  }
 }
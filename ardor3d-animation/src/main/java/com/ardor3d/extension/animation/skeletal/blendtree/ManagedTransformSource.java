@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -32,6 +32,26 @@ public class ManagedTransformSource implements BlendTreeSource {
   /** Our local source data. */
   private final Map<String, JointData> data = new HashMap<>();
 
+  /** Our local source data by slot of the last blend layout we were used with. */
+  private JointSlots slots;
+
+  private static final class JointSlots {
+    final BlendLayout layout;
+    final int[] slots;
+    final JointData[] data;
+
+    JointSlots(final BlendLayout layout, final Map<String, JointData> source) {
+      this.layout = layout;
+      slots = new int[source.size()];
+      data = new JointData[source.size()];
+      int i = 0;
+      for (final Map.Entry<String, JointData> entry : source.entrySet()) {
+        slots[i] = layout.getSlot(entry.getKey());
+        data[i++] = entry.getValue();
+      }
+    }
+  }
+
   /** optional: name of source we were initialized from, if given. */
   private String sourceName;
 
@@ -48,6 +68,7 @@ public class ManagedTransformSource implements BlendTreeSource {
     // reuse TransformData object
     if (!data.containsKey(key)) {
       data.put(key, new JointData(jointData));
+      slots = null;
     } else {
       final JointData old = data.get(key);
       old.set(jointData);
@@ -68,6 +89,7 @@ public class ManagedTransformSource implements BlendTreeSource {
     if (tData == null) {
       tData = new JointData(jointIndex);
       data.put(key, tData);
+      slots = null;
     }
 
     tData.setTranslation(translation);
@@ -87,6 +109,7 @@ public class ManagedTransformSource implements BlendTreeSource {
     if (tData == null) {
       tData = new JointData(jointIndex);
       data.put(key, tData);
+      slots = null;
     }
 
     tData.setScale(scale);
@@ -106,6 +129,7 @@ public class ManagedTransformSource implements BlendTreeSource {
     if (tData == null) {
       tData = new JointData(jointIndex);
       data.put(key, tData);
+      slots = null;
     }
 
     tData.setRotation(rotation);
@@ -119,6 +143,20 @@ public class ManagedTransformSource implements BlendTreeSource {
     return Collections.unmodifiableMap(data);
   }
 
+  @Override
+  public boolean getSourceData(final AnimationManager manager, final BlendData store) {
+    store.clear();
+    JointSlots jointSlots = slots;
+    if (jointSlots == null || jointSlots.layout != store.getLayout()) {
+      jointSlots = new JointSlots(store.getLayout(), data);
+      slots = jointSlots;
+    }
+    for (int i = 0; i < jointSlots.slots.length; i++) {
+      store.set(jointSlots.slots[i], jointSlots.data[i]);
+    }
+    return true;
+  }
+
   /**
    * Does nothing.
    */
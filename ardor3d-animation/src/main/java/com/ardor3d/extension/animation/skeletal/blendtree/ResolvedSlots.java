@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal.blendtree;
+
+import java.util.List;
+
+/**
+ * A list of channel names resolved to slots of a blend layout, kept by a source until its names or
+ * the layout it is used with change.
+ */
+final class ResolvedSlots {
+  private final BlendLayout _layout;
+  private final int[] _slots;
+  private final boolean[] _mask;
+
+  private ResolvedSlots(final BlendLayout layout, final List<String> channelNames) {
+    _layout = layout;
+    _slots = layout.getSlots(channelNames);
+    _mask = new boolean[layout.getSlotCount()];
+    for (final int slot : _slots) {
+      _mask[slot] = true;
+    }
+  }
+
+  /**
+   * @return previous if it was resolved against layout, or else the channel names resolved against
+   *         layout.
+   */
+  static ResolvedSlots resolve(final ResolvedSlots previous, final BlendLayout layout,
+      final List<String> channelNames) {
+    if (previous != null && previous._layout == layout) {
+      return previous;
+    }
+    return new ResolvedSlots(layout, channelNames);
+  }
+
+  int[] getSlots() { return _slots; }
+
+  /**
+   * @return true for each slot of our names, false past the end.
+   */
+  boolean[] getMask() { return _mask; }
+}
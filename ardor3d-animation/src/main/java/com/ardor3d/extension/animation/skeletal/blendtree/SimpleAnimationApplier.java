@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -28,6 +28,11 @@ import com.ardor3d.util.collection.SimpleMultimap;
 /**
  * Very simple applier. Just applies joint transform data, calls any callbacks and updates the
  * pose's global transforms.
+ * <p>
+ * An applier keeps the data it reads from its manager between updates, so each manager needs its own
+ * applier - sharing one between managers updated in parallel, for example by a
+ * {@link com.ardor3d.extension.animation.skeletal.CrowdAnimationScheduler}, mixes up their data.
+ * </p>
  */
 public class SimpleAnimationApplier implements AnimationApplier {
 
@@ -35,20 +40,23 @@ public class SimpleAnimationApplier implements AnimationApplier {
 
   private final Map<String, Spatial> _spatialCache = new WeakHashMap<>();
 
+  /** Where we take the manager's current data, reused across updates. */
+  private BlendData _data;
+
   @Override
   public void apply(final Spatial root, final AnimationManager manager) {
     if (root == null) {
       return;
     }
-    final Map<String, ?> data = manager.getCurrentSourceData();
+    final BlendData data = getCurrentData(manager);
 
     // cycle through, pulling out and applying those we know about
     if (data != null) {
-      for (final String key : data.keySet()) {
-        final Object value = data.get(key);
+      for (int slot = 0; slot < data.getSlotCount(); slot++) {
+        final Object value = data.get(slot);
         if (value instanceof JointData) { // ignore
         } else if (value instanceof TransformData transformData) {
-          final Spatial applyTo = findChild(root, key);
+          final Spatial applyTo = findChild(root, data.getLayout().getChannelName(slot));
           if (applyTo != null) {
             transformData.applyTo(applyTo);
           }
@@ -57,6 +65,16 @@ public class SimpleAnimationApplier implements AnimationApplier {
     }
   }
 
+  /**
+   * @return the manager's current source data, or null if there is none.
+   */
+  private BlendData getCurrentData(final AnimationManager manager) {
+    if (_data == null || _data.getLayout() != manager.getBlendLayout()) {
+      _data = new BlendData(manager.getBlendLayout());
+    }
+    return manager.getCurrentSourceData(_data) ? _data : null;
+  }
+
   private Spatial findChild(final Spatial root, final String key) {
     if (_spatialCache.containsKey(key)) {
       return _spatialCache.get(key);
@@ -76,11 +94,12 @@ public class SimpleAnimationApplier implements AnimationApplier {
 
   @Override
   public void applyTo(final SkeletonPose applyToPose, final AnimationManager manager) {
-    final Map<String, ?> data = manager.getCurrentSourceData();
+    final BlendData data = getCurrentData(manager);
 
     // cycle through, pulling out and applying those we know about
     if (data != null) {
-      for (final Object value : data.values()) {
+      for (int slot = 0; slot < data.getSlotCount(); slot++) {
+        final Object value = data.get(slot);
         if (value instanceof JointData jointData) {
           if (jointData.getJointIndex() >= 0) {
             jointData.applyTo(applyToPose.getLocalJointTransforms()[jointData.getJointIndex()]);
@@ -91,7 +110,7 @@ public class SimpleAnimationApplier implements AnimationApplier {
               // pull callback(s) for the current trigger key, if exists, and call.
               for (final String curTrig : trigger.getCurrentTriggers()) {
                 for (final TriggerCallback cb : _triggerCallbacks.values(curTrig)) {
-                  cb.doTrigger(applyToPose, manager);
+                  manager.runCallback(() -> cb.doTrigger(applyToPose, manager));
                 }
               }
             } finally {
@@ -101,7 +120,14 @@ public class SimpleAnimationApplier implements AnimationApplier {
         }
       }
 
-      applyToPose.updateTransforms();
+      if (manager.isDeferCallbacks()) {
+        // let listeners do what they safely can here, the rest once callbacks are run
+        applyToPose.updateTransforms(false);
+        applyToPose.firePoseUpdatedConcurrently();
+        manager.runCallback(applyToPose::firePoseUpdated);
+      } else {
+        applyToPose.updateTransforms();
+      }
     }
   }
 
@@ -67,27 +67,72 @@ public abstract class AbstractAnimationChannel implements Savable {
    *          Channel subclass.
    */
   public void updateSample(final double clockTime, final Object applyTo) {
+    updateSample(clockTime, applyTo, 0);
+  }
+
+  /**
+   * Update the given applyTo object with information from this channel at the given time position,
+   * starting the search for the current sample from where a previous update left off. Playing
+   * forward, that makes finding the sample constant time; other jumps fall back to a binary search.
+   *
+   * @param clockTime
+   *          the current local clip time (where 0 == start of clip)
+   * @param applyTo
+   *          the Object to apply to. The type of the object and what data is set will depend on the
+   *          Channel subclass.
+   * @param hint
+   *          the sample index returned by the previous update of this applyTo object, or 0.
+   * @return the sample index used, to pass as the hint of the next update.
+   */
+  public int updateSample(final double clockTime, final Object applyTo, final int hint) {
     if (_times.length == 0) {
-      return;
+      return 0;
     }
     // figure out what frames we are between and by how much
     final int lastFrame = _times.length - 1;
     if (clockTime < 0 || _times.length == 1) {
       setCurrentSample(0, 0.0, applyTo);
+      return 0;
     } else if (clockTime >= _times[lastFrame]) {
       setCurrentSample(lastFrame, 0.0, applyTo);
+      return lastFrame;
     } else {
-      int startFrame = 0;
+      final int startFrame = findStartFrame(clockTime, hint);
+      final double progressPercent = (clockTime - _times[startFrame]) / (_times[startFrame + 1] - _times[startFrame]);
 
-      for (int i = 0; i < _times.length - 1; i++) {
-        if (_times[i] < clockTime) {
-          startFrame = i;
+      setCurrentSample(startFrame, progressPercent, applyTo);
+      return startFrame;
+    }
+  }
+
+  /**
+   * @return the last frame, short of the final one, whose time is before clockTime - or 0 if there is
+   *         none.
+   */
+  private int findStartFrame(final double clockTime, final int hint) {
+    final int lastFrame = _times.length - 1;
+    // walk forward a few frames from the hint, which covers normal play back at any frame rate
+    if (hint >= 0 && hint < lastFrame && (hint == 0 || _times[hint] < clockTime)) {
+      int frame = hint;
+      for (int steps = 0; steps < 4; steps++) {
+        if (frame + 1 == lastFrame || _times[frame + 1] >= clockTime) {
+          return frame;
         }
+        frame++;
       }
-      final double progressPercent = (clockTime - _times[startFrame]) / (_times[startFrame + 1] - _times[startFrame]);
+    }
 
-      setCurrentSample(startFrame, progressPercent, applyTo);
+    // a seek, loop or reverse: binary search
+    int low = 0, high = lastFrame - 1;
+    while (low < high) {
+      final int mid = low + high + 1 >>> 1;
+      if (_times[mid] < clockTime) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
     }
+    return low;
   }
 
   /**
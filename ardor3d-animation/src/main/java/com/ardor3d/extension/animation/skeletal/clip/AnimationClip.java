@@ -68,11 +68,12 @@ public class AnimationClip implements Savable {
    *          the instance record to update.
    */
   public void update(final double clockTime, final AnimationClipInstance instance) {
-    // Go through each channel and update clipState
+    // Go through each channel and update clipState, each picking up where it left off last time
+    final int[] sampleHints = instance.getSampleHints(_channels.size());
     for (int i = 0; i < _channels.size(); ++i) {
       final AbstractAnimationChannel channel = _channels.get(i);
-      final Object applyTo = instance.getApplyTo(channel);
-      channel.updateSample(clockTime, applyTo);
+      final Object applyTo = instance.getApplyTo(i, channel);
+      sampleHints[i] = channel.updateSample(clockTime, applyTo, sampleHints[i]);
     }
   }
 
@@ -122,6 +123,20 @@ public class AnimationClip implements Savable {
    */
   public List<AbstractAnimationChannel> getChannels() { return List.copyOf(_channels); }
 
+  /**
+   * @return the number of channels in this clip.
+   */
+  public int getChannelCount() { return _channels.size(); }
+
+  /**
+   * @param index
+   *          the index of the channel, in the order they were added.
+   * @return the channel.
+   */
+  public AbstractAnimationChannel getChannel(final int index) {
+    return _channels.get(index);
+  }
+
   /**
    * @return the maximum (local) time value of this clip, as described by the channels it manages.
    */
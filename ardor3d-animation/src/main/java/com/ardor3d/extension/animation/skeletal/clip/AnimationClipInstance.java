@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -11,6 +11,7 @@
 package com.ardor3d.extension.animation.skeletal.clip;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +42,17 @@ public class AnimationClipInstance {
   /** Map of channel name -> state tracking objects. */
   private final Map<String, Object> _clipStateObjects = new HashMap<>();
 
+  /**
+   * The state tracking objects of the channels in {@link #_indexedChannels}, by channel index, so
+   * updates need not look them up by name.
+   */
+  private Object[] _indexedStates = new Object[0];
+
+  private AbstractAnimationChannel[] _indexedChannels = new AbstractAnimationChannel[0];
+
+  /** The sample index each channel of our clip was last updated to, by channel index. */
+  private int[] _sampleHints = new int[0];
+
   /** List of callbacks for animation events. */
   private List<AnimationListener> animationListeners = null;
 
@@ -111,8 +123,67 @@ public class AnimationClipInstance {
     return rVal;
   }
 
+  /**
+   * As {@link #getApplyTo(AbstractAnimationChannel)}, remembering the result by the channel's index
+   * in our clip.
+   *
+   * @param channelIndex
+   *          the index of the channel in our clip.
+   * @param channel
+   *          the channel.
+   * @return the state tracking object of the channel.
+   */
+  public Object getApplyTo(final int channelIndex, final AbstractAnimationChannel channel) {
+    if (channelIndex < _indexedChannels.length && _indexedChannels[channelIndex] == channel) {
+      return _indexedStates[channelIndex];
+    }
+    final Object rVal = getApplyTo(channel);
+    index(channelIndex, channel, rVal);
+    return rVal;
+  }
+
+  /**
+   * @param channelIndex
+   *          the index of the channel in our clip.
+   * @param channel
+   *          the channel.
+   * @return the state tracking object of the channel, or null if it has not been updated yet.
+   */
+  public Object getChannelData(final int channelIndex, final AbstractAnimationChannel channel) {
+    if (channelIndex < _indexedChannels.length && _indexedChannels[channelIndex] == channel) {
+      return _indexedStates[channelIndex];
+    }
+    final Object rVal = _clipStateObjects.get(channel.getChannelName());
+    if (rVal != null) {
+      index(channelIndex, channel, rVal);
+    }
+    return rVal;
+  }
+
+  private void index(final int channelIndex, final AbstractAnimationChannel channel, final Object state) {
+    if (channelIndex >= _indexedChannels.length) {
+      _indexedChannels = Arrays.copyOf(_indexedChannels, channelIndex + 1);
+      _indexedStates = Arrays.copyOf(_indexedStates, channelIndex + 1);
+    }
+    _indexedChannels[channelIndex] = channel;
+    _indexedStates[channelIndex] = state;
+  }
+
   public Map<String, Object> getChannelData() { return _clipStateObjects; }
 
+  /**
+   * @param channelCount
+   *          the number of channels in our clip.
+   * @return where each channel of our clip was last updated to, for the next update to search from.
+   *         Only ever a hint, so any values are safe.
+   */
+  int[] getSampleHints(final int channelCount) {
+    if (_sampleHints.length != channelCount) {
+      _sampleHints = new int[channelCount];
+    }
+    return _sampleHints;
+  }
+
   /**
    * Tell any animation listeners on this instance that the associated clip has finished playing.
    */
@@ -47,10 +47,6 @@ public class TransformChannel extends AbstractAnimationChannel {
   /** Our scale samples. */
   private ReadOnlyVector3[] _scales;
 
-  private final Quaternion _compQuat1 = new Quaternion();
-  private final Quaternion _compQuat2 = new Quaternion();
-  private final Vector3 _compVect1 = new Vector3();
-
   /**
    * Construct a new TransformChannel.
    * 
@@ -141,14 +137,21 @@ public class TransformChannel extends AbstractAnimationChannel {
       return;
     }
 
-    // Apply (s)lerp and set in transform
-    _compQuat1.slerpLocal(_rotations[sampleIndex], _rotations[sampleIndex + 1], progressPercent, _compQuat2);
-    transformData.setRotation(_compQuat1);
-
-    _compVect1.lerpLocal(_translations[sampleIndex], _translations[sampleIndex + 1], progressPercent);
-    transformData.setTranslation(_compVect1);
-    _compVect1.lerpLocal(_scales[sampleIndex], _scales[sampleIndex + 1], progressPercent);
-    transformData.setScale(_compVect1);
+    // Apply (s)lerp and set in transform. Temps are per thread, as clips may be shared between
+    // managers updated in parallel.
+    final Quaternion quat = Quaternion.fetchTempInstance();
+    final Quaternion work = Quaternion.fetchTempInstance();
+    final Vector3 vect = Vector3.fetchTempInstance();
+    quat.slerpLocal(_rotations[sampleIndex], _rotations[sampleIndex + 1], progressPercent, work);
+    transformData.setRotation(quat);
+
+    vect.lerpLocal(_translations[sampleIndex], _translations[sampleIndex + 1], progressPercent);
+    transformData.setTranslation(vect);
+    vect.lerpLocal(_scales[sampleIndex], _scales[sampleIndex + 1], progressPercent);
+    transformData.setScale(vect);
+    Quaternion.releaseTempInstance(quat);
+    Quaternion.releaseTempInstance(work);
+    Vector3.releaseTempInstance(vect);
   }
 
   /**
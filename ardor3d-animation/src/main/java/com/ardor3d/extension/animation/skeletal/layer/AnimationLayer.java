@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -16,6 +16,7 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 import com.ardor3d.extension.animation.skeletal.state.AbstractFiniteState;
 import com.ardor3d.extension.animation.skeletal.state.AbstractTransitionState;
 import com.ardor3d.extension.animation.skeletal.state.StateOwner;
@@ -241,6 +242,26 @@ public class AnimationLayer implements StateOwner {
     }
   }
 
+  /**
+   * Put the source data for the channels involved in the current state/transition of this layer into
+   * a BlendData, by slot rather than by channel name.
+   *
+   * @param store
+   *          the data to fill, in our manager's blend layout. Any previous contents are replaced.
+   * @return false if there is no data, where {@link #getCurrentSourceData()} would return null.
+   */
+  public boolean getCurrentSourceData(final BlendData store) {
+    if (getLayerBlender() != null) {
+      return getLayerBlender().getBlendedSourceData(getManager(), store);
+    }
+    final AbstractFiniteState state = getCurrentState();
+    if (state != null) {
+      return state.getCurrentSourceData(getManager(), store);
+    }
+    store.clear();
+    return false;
+  }
+
   /**
    * Update the layer blender in this animation layer to properly point to the previous layer.
    * 
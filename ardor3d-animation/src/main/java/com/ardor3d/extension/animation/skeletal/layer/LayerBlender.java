@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -13,6 +13,7 @@ package com.ardor3d.extension.animation.skeletal.layer;
 import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 
 /**
  * Describes a class capable of blending together two AnimationLayers in some way.
@@ -49,4 +50,18 @@ public interface LayerBlender {
    */
   Map<String, ? extends Object> getBlendedSourceData(AnimationManager manager);
 
+  /**
+   * Put the blended data from both animation layers into a BlendData, by slot rather than by channel
+   * name. By default this copies the map from {@link #getBlendedSourceData(AnimationManager)}.
+   *
+   * @param manager
+   *          the manager this is being called from
+   * @param store
+   *          the data to fill, in the manager's blend layout. Any previous contents are replaced.
+   * @return false if there is no data, where getBlendedSourceData would return null.
+   */
+  default boolean getBlendedSourceData(final AnimationManager manager, final BlendData store) {
+    return store.set(getBlendedSourceData(manager));
+  }
+
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -14,6 +14,8 @@ import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
 import com.ardor3d.extension.animation.skeletal.blendtree.BinaryLERPSource;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
+import com.ardor3d.extension.animation.skeletal.state.AbstractFiniteState;
 
 /**
  * <p>
@@ -59,4 +61,21 @@ public class LayerLERPBlender implements LayerBlender {
 
     return BinaryLERPSource.combineSourceData(sourceAData, sourceBData, manager.getValuesStore().get(_blendKey));
   }
+
+  @Override
+  public boolean getBlendedSourceData(final AnimationManager manager, final BlendData store) {
+    final BlendData sourceAData = manager.acquireBlendData();
+    final BlendData sourceBData = manager.acquireBlendData();
+    try {
+      final boolean hasA = getLayerA().getCurrentSourceData(sourceAData);
+      final AbstractFiniteState stateB = getLayerB().getCurrentState();
+      final boolean hasB = stateB != null && stateB.getCurrentSourceData(manager, sourceBData);
+      final Double blendWeight = manager.getValuesStore().get(_blendKey);
+      return store.blend(hasA ? sourceAData : null, hasB ? sourceBData : null,
+          blendWeight != null ? blendWeight.doubleValue() : 0.0);
+    } finally {
+      manager.releaseBlendData(sourceBData);
+      manager.releaseBlendData(sourceAData);
+    }
+  }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -13,6 +13,7 @@ package com.ardor3d.extension.animation.skeletal.state;
 import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
 
 /**
@@ -79,6 +80,20 @@ public abstract class AbstractFiniteState {
    */
   public abstract Map<String, ? extends Object> getCurrentSourceData(AnimationManager manager);
 
+  /**
+   * Put the current source channel data for this state into a BlendData, by slot rather than by
+   * channel name. By default this copies the map from {@link #getCurrentSourceData(AnimationManager)}.
+   *
+   * @param manager
+   *          the manager this is being called from.
+   * @param store
+   *          the data to fill, in the manager's blend layout. Any previous contents are replaced.
+   * @return false if there is no data, where getCurrentSourceData would return null.
+   */
+  public boolean getCurrentSourceData(final AnimationManager manager, final BlendData store) {
+    return store.set(getCurrentSourceData(manager));
+  }
+
   /**
    * @param owner
    *          the last holder of this state. Used when we are transitioning and need to ask someone to
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -15,6 +15,7 @@ import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
 import com.ardor3d.extension.animation.skeletal.blendtree.BinaryLERPSource;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
 import com.ardor3d.math.util.MathUtils;
 
@@ -184,6 +185,20 @@ public abstract class AbstractTwoStateLerpTransition extends AbstractTransitionS
     return BinaryLERPSource.combineSourceData(sourceAData, sourceBData, getPercent(), _sourceData);
   }
 
+  @Override
+  public boolean getCurrentSourceData(final AnimationManager manager, final BlendData store) {
+    final BlendData sourceAData = manager.acquireBlendData();
+    final BlendData sourceBData = manager.acquireBlendData();
+    try {
+      final boolean hasA = getStateA() != null && getStateA().getCurrentSourceData(manager, sourceAData);
+      final boolean hasB = getStateB() != null && getStateB().getCurrentSourceData(manager, sourceBData);
+      return store.blend(hasA ? sourceAData : null, hasB ? sourceBData : null, getPercent());
+    } finally {
+      manager.releaseBlendData(sourceBData);
+      manager.releaseBlendData(sourceAData);
+    }
+  }
+
   @Override
   public void replaceState(final AbstractFiniteState currentState, final AbstractFiniteState newState) {
     if (newState != null) {
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -13,6 +13,7 @@ package com.ardor3d.extension.animation.skeletal.state;
 import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
 
 /**
@@ -44,6 +45,15 @@ public class IgnoreTransitionState extends AbstractTransitionState {
     return null;
   }
 
+  /**
+   * Returns false, as there is no data.
+   */
+  @Override
+  public boolean getCurrentSourceData(final AnimationManager manager, final BlendData store) {
+    store.clear();
+    return false;
+  }
+
   /**
    * Ignored.
    */
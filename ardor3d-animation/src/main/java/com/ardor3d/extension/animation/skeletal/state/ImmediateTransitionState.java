@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
 
 /**
@@ -52,6 +53,15 @@ public class ImmediateTransitionState extends AbstractTransitionState {
     return new HashMap<>();
   }
 
+  /**
+   * Empties the store.
+   */
+  @Override
+  public boolean getCurrentSourceData(final AnimationManager manager, final BlendData store) {
+    store.clear();
+    return true;
+  }
+
   /**
    * Ignored.
    */
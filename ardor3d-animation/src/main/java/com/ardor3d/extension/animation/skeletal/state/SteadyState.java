@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Set;
 
 import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.blendtree.BlendData;
 import com.ardor3d.extension.animation.skeletal.blendtree.BlendTreeSource;
 import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
 
@@ -205,6 +206,11 @@ public class SteadyState extends AbstractFiniteState {
     return getSourceTree().getSourceData(manager);
   }
 
+  @Override
+  public boolean getCurrentSourceData(final AnimationManager manager, final BlendData store) {
+    return getSourceTree().getSourceData(manager, store);
+  }
+
   @Override
   public void resetClips(final AnimationManager manager, final double globalStartTime) {
     super.resetClips(manager, globalStartTime);
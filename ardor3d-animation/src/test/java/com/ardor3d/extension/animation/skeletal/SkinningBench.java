@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.ardor3d.scenegraph.MeshData;
+
+/**
+ * Bench for CPU skinning. Not a gate: it prints the time to skin a 100k vertex mesh with 4 weights
+ * per vertex, with and without normals and tangents, on the calling thread and over the common
+ * pool.
+ *
+ * Run explicitly (env vars, not -D: Gradle does not forward system properties to test JVMs):
+ *
+ *   A3D_ANIMATION_BENCH=1 ./gradlew :ardor3d-animation:test --tests '*.SkinningBench'
+ */
+public class SkinningBench {
+
+  private static final int VERTICES = 100_000;
+  private static final int WEIGHTS = 4;
+  private static final int JOINTS = 64;
+  private static final int APPLIES = 100;
+
+  @Test
+  public void bench() {
+    Assume.assumeTrue(System.getenv("A3D_ANIMATION_BENCH") != null);
+
+    System.out.printf("%d vertices, %d weights, %d cores%n", VERTICES, WEIGHTS,
+        Runtime.getRuntime().availableProcessors());
+    System.out.printf("%-26s %12s %12s%n", "attributes", "serial ms", "pool ms");
+    final SkeletonPose pose = TestSkinnedMesh.pose(JOINTS);
+    for (final String attributes : new String[] {"positions", "positions+normals", "positions+normals+tangents"}) {
+      final SkinnedMesh skin = TestSkinnedMesh.skin(VERTICES, WEIGHTS, JOINTS);
+      final MeshData bind = skin.getBindPoseData();
+      if (!attributes.contains("tangents")) {
+        bind.setTangentCoords(null);
+      }
+      if (!attributes.contains("normals")) {
+        bind.setNormalBuffer(null);
+      }
+      skin.setCurrentPose(pose);
+
+      // warm up both paths, then measure
+      double serial = 0, pool = 0;
+      for (int pass = 0; pass < 3; pass++) {
+        skin.setSkinningPool(null);
+        serial = time(skin);
+        skin.setSkinningPool(ForkJoinPool.commonPool());
+        pool = time(skin);
+      }
+      System.out.printf("%-26s %12.2f %12.2f%n", attributes, serial, pool);
+    }
+  }
+
+  private static double time(final SkinnedMesh skin) {
+    final long start = System.nanoTime();
+    for (int i = 0; i < APPLIES; i++) {
+      skin.applyPose();
+    }
+    return (System.nanoTime() - start) / 1e6 / APPLIES;
+  }
+}
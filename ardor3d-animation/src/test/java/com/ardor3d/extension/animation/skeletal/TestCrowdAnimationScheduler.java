@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.ardor3d.bounding.BoundingBox;
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.extension.animation.skeletal.blendtree.ClipSource;
+import com.ardor3d.extension.animation.skeletal.blendtree.SimpleAnimationApplier;
+import com.ardor3d.extension.animation.skeletal.clip.AnimationClip;
+import com.ardor3d.extension.animation.skeletal.clip.JointChannel;
+import com.ardor3d.extension.animation.skeletal.clip.TriggerChannel;
+import com.ardor3d.extension.animation.skeletal.state.SteadyState;
+import com.ardor3d.math.Quaternion;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.math.type.ReadOnlyQuaternion;
+import com.ardor3d.math.type.ReadOnlyVector3;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.util.ReadOnlyTimer;
+
+public class TestCrowdAnimationScheduler {
+
+  private static final int JOINTS = 3;
+
+  private static final class ManualTimer implements ReadOnlyTimer {
+    double _time;
+
+    @Override
+    public double getTimeInSeconds() { return _time; }
+
+    @Override
+    public long getTime() { return (long) (_time * 1e9); }
+
+    @Override
+    public long getResolution() { return 1_000_000_000L; }
+
+    @Override
+    public double getFrameRate() { return 60; }
+
+    @Override
+    public double getTimePerFrame() { return 1 / 60.0; }
+
+    @Override
+    public long getPreviousFrameTime() { return getTime(); }
+  }
+
+  private final ManualTimer _timer = new ManualTimer();
+
+  private final ForkJoinPool _pool = new ForkJoinPool(4);
+
+  private final Skeleton _skeleton = skeleton();
+
+  private final AnimationClip _clip = clip();
+
+  private final SkinnedMesh _skin = skin();
+
+  @After
+  public void shutdown() {
+    _pool.shutdown();
+  }
+
+  private static Skeleton skeleton() {
+    final Joint[] joints = new Joint[JOINTS];
+    for (int j = 0; j < JOINTS; j++) {
+      joints[j] = new Joint("joint" + j);
+      joints[j].setIndex((short) j);
+      joints[j].setParentIndex(j == 0 ? Joint.NO_PARENT : (short) (j - 1));
+    }
+    return new Skeleton("skeleton", joints);
+  }
+
+  private static AnimationClip clip() {
+    final float[] times = {0f, 0.5f, 1f, 1.5f};
+    final AnimationClip clip = new AnimationClip("walk");
+    for (int j = 0; j < JOINTS; j++) {
+      final ReadOnlyQuaternion[] rotations = new ReadOnlyQuaternion[times.length];
+      final ReadOnlyVector3[] translations = new ReadOnlyVector3[times.length];
+      final ReadOnlyVector3[] scales = new ReadOnlyVector3[times.length];
+      for (int i = 0; i < times.length; i++) {
+        rotations[i] = new Quaternion().fromAngleAxis(0.4 * i + j, Vector3.UNIT_Z);
+        translations[i] = new Vector3(j == 0 ? i : 1, 0, 0);
+        scales[i] = Vector3.ONE;
+      }
+      clip.addChannel(new JointChannel("joint" + j, j, times, rotations, translations, scales));
+    }
+    clip.addChannel(new TriggerChannel("steps", times, new String[] {"left", null, "right", null}));
+    return clip;
+  }
+
+  /** A strip of vertices, each weighted to one or two joints. */
+  private static SkinnedMesh skin() {
+    final int vertices = 64;
+    final FloatBuffer positions = BufferUtils.createFloatBuffer(vertices * 3);
+    final FloatBuffer normals = BufferUtils.createFloatBuffer(vertices * 3);
+    final short[] joints = new short[vertices * 2];
+    final float[] weights = new float[vertices * 2];
+    for (int i = 0; i < vertices; i++) {
+      positions.put(i * 0.1f).put(i % 2).put(0);
+      normals.put(0).put(1).put(0);
+      joints[i * 2] = (short) (i % JOINTS);
+      joints[i * 2 + 1] = (short) ((i + 1) % JOINTS);
+      weights[i * 2] = i % 4 == 0 ? 1 : 0.75f;
+      weights[i * 2 + 1] = 1 - weights[i * 2];
+    }
+    final MeshData bindPose = new MeshData();
+    bindPose.setVertexBuffer(positions);
+    bindPose.setNormalBuffer(normals);
+
+    final SkinnedMesh skin = new SkinnedMesh("skin");
+    skin.setBindPoseData(bindPose);
+    skin.setWeightsPerVert(2);
+    skin.setJointIndices(joints);
+    skin.setWeights(weights);
+    skin.setModelBound(new BoundingBox());
+    skin.setAutoUpdateSkinBounds(true);
+    return skin;
+  }
+
+  private AnimationManager manager(final int agent, final boolean looping, final List<SkinnedMesh> skins) {
+    final SkeletonPose pose = new SkeletonPose(_skeleton);
+    final AnimationManager manager = new AnimationManager(_timer, pose);
+    manager.setApplier(new SimpleAnimationApplier());
+    manager.setUpdateRate(0);
+    // start each agent at its own point of the clip
+    manager.getClipInstance(_clip).setStartTime(-0.07 * agent);
+    if (looping) {
+      manager.getClipInstance(_clip).setLoopCount(Integer.MAX_VALUE);
+    }
+    final SteadyState walk = new SteadyState("walk");
+    walk.setSourceTree(new ClipSource(_clip, manager));
+    manager.getBaseAnimationLayer().addSteadyState(walk);
+    manager.getBaseAnimationLayer().setCurrentState("walk", true);
+
+    // copies share our bind pose, as a crowd would
+    final SkinnedMesh skin = _skin.makeCopy(true);
+    skin.setCurrentPose(pose);
+    skins.add(skin);
+    return manager;
+  }
+
+  @Test
+  public void testMatchesSequentialUpdate() {
+    final int agents = 24;
+    final List<AnimationManager> sequential = new ArrayList<>();
+    final List<SkinnedMesh> sequentialSkins = new ArrayList<>();
+    final List<SkinnedMesh> crowdSkins = new ArrayList<>();
+    final CrowdAnimationScheduler scheduler = new CrowdAnimationScheduler();
+    scheduler.setPool(_pool);
+    scheduler.setBatchSize(1);
+    for (int i = 0; i < agents; i++) {
+      sequential.add(manager(i, true, sequentialSkins));
+      scheduler.addManager(manager(i, true, crowdSkins));
+    }
+
+    for (int frame = 0; frame < 30; frame++) {
+      _timer._time = frame * 0.05;
+      for (final AnimationManager manager : sequential) {
+        manager.update();
+      }
+      scheduler.update();
+
+      for (int i = 0; i < agents; i++) {
+        final SkeletonPose expected = sequential.get(i).getSkeletonPose(0);
+        final SkeletonPose actual = scheduler.getManager(i).getSkeletonPose(0);
+        for (int j = 0; j < JOINTS; j++) {
+          assertEquals(expected.getMatrixPalette()[j], actual.getMatrixPalette()[j]);
+        }
+        final MeshData expectedData = sequentialSkins.get(i).getMeshData();
+        final MeshData actualData = crowdSkins.get(i).getMeshData();
+        assertEquals(expectedData.getVertexBuffer().rewind(), actualData.getVertexBuffer().rewind());
+        assertEquals(expectedData.getNormalBuffer().rewind(), actualData.getNormalBuffer().rewind());
+        assertEquals(sequentialSkins.get(i).getModelBound(), crowdSkins.get(i).getModelBound());
+      }
+    }
+  }
+
+  /**
+   * Listen to everything that calls back from a manager's update, noting it in events and failing if
+   * it is not called on the given thread.
+   */
+  private void listen(final AnimationManager manager, final int agent, final List<String> events,
+      final Thread thread) {
+    final Runnable checkThread = () -> assertTrue(Thread.currentThread() == thread);
+    manager.getClipInstance(_clip).addAnimationListener(source -> {
+      checkThread.run();
+      events.add(agent + " finished");
+    });
+    for (final String key : new String[] {"left", "right"}) {
+      manager.getApplier().addTriggerCallback(key, (pose, from) -> {
+        checkThread.run();
+        events.add(agent + " " + key);
+      });
+    }
+    manager.getSkeletonPose(0).addPoseListener(new PoseListener() {
+      private boolean _concurrent;
+
+      @Override
+      public void poseUpdatedConcurrently(final SkeletonPose pose) {
+        _concurrent = true;
+      }
+
+      @Override
+      public void poseUpdated(final SkeletonPose pose) {
+        checkThread.run();
+        events.add(agent + " pose" + (_concurrent ? " concurrent" : ""));
+        _concurrent = false;
+      }
+    });
+  }
+
+  @Test
+  public void testCallbacksRunInOrderOnCallingThread() {
+    final int agents = 12;
+    final List<AnimationManager> sequential = new ArrayList<>();
+    final CrowdAnimationScheduler scheduler = new CrowdAnimationScheduler();
+    scheduler.setPool(_pool);
+    scheduler.setBatchSize(1);
+    final List<String> expected = new ArrayList<>();
+    final List<String> actual = Collections.synchronizedList(new ArrayList<>());
+    final List<SkinnedMesh> skins = new ArrayList<>();
+    for (int i = 0; i < agents; i++) {
+      final AnimationManager manager = manager(i, false, skins);
+      listen(manager, i, expected, Thread.currentThread());
+      sequential.add(manager);
+
+      final AnimationManager crowd = manager(i, false, skins);
+      listen(crowd, i, actual, Thread.currentThread());
+      scheduler.addManager(crowd);
+    }
+
+    for (int frame = 0; frame < 50; frame++) {
+      _timer._time = frame * 0.05;
+      for (final AnimationManager manager : sequential) {
+        manager.update();
+      }
+      scheduler.update();
+    }
+
+    // the same callbacks in the same order, bar the pose listener having been told ahead
+    final List<String> stripped = new ArrayList<>();
+    for (final String event : actual) {
+      assertTrue(!event.endsWith(" pose"));
+      stripped.add(event.replace(" concurrent", ""));
+    }
+    assertEquals(expected, stripped);
+    assertTrue(expected.contains("0 left") && expected.contains("3 right"));
+    for (int i = 0; i < agents; i++) {
+      assertTrue(expected.contains(i + " finished"));
+      assertTrue(!scheduler.getManager(i).isDeferCallbacks());
+    }
+  }
+
+  @Test
+  public void testDistanceUpdateRateLod() {
+    final Camera camera = new Camera(100, 100);
+    camera.setLocation(0, 0, 0);
+    final DistanceUpdateRateLod lod = new DistanceUpdateRateLod(camera, 10);
+    final CrowdAnimationScheduler scheduler = new CrowdAnimationScheduler();
+    scheduler.setUpdateRateLod(lod);
+
+    final double[] distances = {5, 40, 1000};
+    final List<SkinnedMesh> skins = new ArrayList<>();
+    for (int i = 0; i < distances.length; i++) {
+      final Node agent = new Node("agent" + i);
+      agent.setTranslation(0, 0, -distances[i]);
+      agent.updateWorldTransform(false);
+      scheduler.addManager(manager(i, true, skins), agent);
+    }
+    final AnimationManager unplaced = manager(3, true, skins);
+    scheduler.addManager(unplaced);
+
+    scheduler.update();
+    assertEquals(1 / 60.0, scheduler.getManager(0).getUpdateRate(), 1e-9);
+    assertEquals(4 / 60.0, scheduler.getManager(1).getUpdateRate(), 1e-9);
+    assertEquals(1 / 4.0, scheduler.getManager(2).getUpdateRate(), 1e-9);
+    assertEquals(1 / 60.0, unplaced.getUpdateRate(), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddTwice() {
+    final CrowdAnimationScheduler scheduler = new CrowdAnimationScheduler();
+    final AnimationManager manager = manager(0, true, new ArrayList<>());
+    scheduler.addManager(manager);
+    scheduler.addManager(manager);
+  }
+}
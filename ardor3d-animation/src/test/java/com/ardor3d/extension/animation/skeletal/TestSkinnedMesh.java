@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.buffer.FloatBufferData;
+import com.ardor3d.math.Matrix4;
+import com.ardor3d.math.Quaternion;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.scenegraph.MeshData;
+
+public class TestSkinnedMesh {
+
+  private static final int JOINTS = 8;
+  private static final int WEIGHTS = 3;
+
+  static SkeletonPose pose(final int jointCount) {
+    final Joint[] joints = new Joint[jointCount];
+    for (int j = 0; j < jointCount; j++) {
+      joints[j] = new Joint("joint" + j);
+      joints[j].setIndex((short) j);
+      joints[j].setParentIndex(j == 0 ? Joint.NO_PARENT : (short) (j - 1));
+    }
+    final SkeletonPose pose = new SkeletonPose(new Skeleton("skeleton", joints));
+    for (int j = 0; j < jointCount; j++) {
+      pose.getLocalJointTransforms()[j].setRotation(new Quaternion().fromAngleAxis(0.3 + j * 0.1, Vector3.UNIT_Z));
+      pose.getLocalJointTransforms()[j].setTranslation(0, 0.5, j * 0.1);
+    }
+    pose.updateTransforms();
+    return pose;
+  }
+
+  /**
+   * A skin of random vertices with normals and 4 component tangents. Some vertices have weights of
+   * zero, given joints that do not exist to check they are skipped.
+   */
+  static SkinnedMesh skin(final int vertices, final int weightsPerVert, final int jointCount) {
+    final Random random = new Random(5);
+    final FloatBuffer positions = BufferUtils.createFloatBuffer(vertices * 3);
+    final FloatBuffer normals = BufferUtils.createFloatBuffer(vertices * 3);
+    final FloatBuffer tangents = BufferUtils.createFloatBuffer(vertices * 4);
+    final short[] joints = new short[vertices * weightsPerVert];
+    final float[] weights = new float[vertices * weightsPerVert];
+    for (int i = 0; i < vertices; i++) {
+      positions.put(random.nextFloat() * 2 - 1).put(random.nextFloat() * 4).put(random.nextFloat() * 2 - 1);
+      normals.put(random.nextFloat()).put(random.nextFloat()).put(random.nextFloat());
+      tangents.put(random.nextFloat()).put(random.nextFloat()).put(random.nextFloat()).put(i % 2 == 0 ? 1 : -1);
+      float sum = 0;
+      for (int j = 0; j < weightsPerVert; j++) {
+        final int index = i * weightsPerVert + j;
+        if (j > 0 && i % 5 == 0) {
+          joints[index] = Short.MAX_VALUE;
+        } else {
+          joints[index] = (short) random.nextInt(jointCount);
+          weights[index] = random.nextFloat() + 0.1f;
+          sum += weights[index];
+        }
+      }
+      for (int j = 0; j < weightsPerVert; j++) {
+        weights[i * weightsPerVert + j] /= sum;
+      }
+    }
+    final MeshData bindPose = new MeshData();
+    bindPose.setVertexBuffer(positions.flip());
+    bindPose.setNormalBuffer(normals.flip());
+    bindPose.setTangentCoords(new FloatBufferData(tangents.flip(), 4));
+
+    final SkinnedMesh skin = new SkinnedMesh("skin");
+    skin.setBindPoseData(bindPose);
+    skin.setWeightsPerVert(weightsPerVert);
+    skin.setJointIndices(joints);
+    skin.setWeights(weights);
+    return skin;
+  }
+
+  private static void assertSkinned(final SkinnedMesh skin, final FloatBuffer bind, final FloatBuffer skinned,
+      final int size, final boolean translate) {
+    final Matrix4[] palette = skin.getCurrentPose().getMatrixPalette();
+    final int vertices = skin.getBindPoseData().getVertexCount();
+    for (int i = 0; i < vertices; i++) {
+      final double x = bind.get(i * size), y = bind.get(i * size + 1), z = bind.get(i * size + 2);
+      double sx = 0, sy = 0, sz = 0;
+      for (int j = 0; j < skin.getWeightsPerVert(); j++) {
+        final int index = i * skin.getWeightsPerVert() + j;
+        final double weight = skin.getWeights()[index];
+        if (weight == 0) {
+          continue;
+        }
+        final Matrix4 m = palette[skin.getJointIndices()[index]];
+        final double w = translate ? 1 : 0;
+        sx += weight * (m.getM00() * x + m.getM01() * y + m.getM02() * z + m.getM03() * w);
+        sy += weight * (m.getM10() * x + m.getM11() * y + m.getM12() * z + m.getM13() * w);
+        sz += weight * (m.getM20() * x + m.getM21() * y + m.getM22() * z + m.getM23() * w);
+      }
+      assertEquals(sx, skinned.get(i * size), 1e-4);
+      assertEquals(sy, skinned.get(i * size + 1), 1e-4);
+      assertEquals(sz, skinned.get(i * size + 2), 1e-4);
+      if (size == 4) {
+        assertEquals(bind.get(i * size + 3), skinned.get(i * size + 3), 0f);
+      }
+    }
+  }
+
+  @Test
+  public void testSkinsPositionsNormalsAndTangents() {
+    final SkinnedMesh skin = skin(1000, WEIGHTS, JOINTS);
+    skin.setCurrentPose(pose(JOINTS));
+    skin.applyPose();
+
+    final MeshData bind = skin.getBindPoseData();
+    final MeshData skinned = skin.getMeshData();
+    assertSkinned(skin, bind.getVertexBuffer(), skinned.getVertexBuffer(), 3, true);
+    assertSkinned(skin, bind.getNormalBuffer(), skinned.getNormalBuffer(), 3, false);
+    assertEquals(4, skinned.getTangentCoords().getValuesPerTuple());
+    assertSkinned(skin, bind.getTangentBuffer(), skinned.getTangentBuffer(), 4, false);
+  }
+
+  @Test
+  public void testSkipsTangentsOfOtherSizes() {
+    final SkinnedMesh skin = skin(100, WEIGHTS, JOINTS);
+    final FloatBuffer tangents = BufferUtils.createFloatBuffer(100 * 2);
+    for (int i = 0; i < tangents.limit(); i++) {
+      tangents.put(i, i);
+    }
+    skin.getBindPoseData().setTangentCoords(new FloatBufferData(tangents, 2));
+    skin.setCurrentPose(pose(JOINTS));
+    skin.applyPose();
+
+    // positions are skinned, and the 2 component tangents left alone
+    assertSkinned(skin, skin.getBindPoseData().getVertexBuffer(), skin.getMeshData().getVertexBuffer(), 3, true);
+    for (int i = 0; i < tangents.limit(); i++) {
+      assertEquals(i, tangents.get(i), 0f);
+    }
+  }
+
+  @Test
+  public void testParallelMatchesSerial() {
+    final SkeletonPose pose = pose(JOINTS);
+    final SkinnedMesh serial = skin(40_000, WEIGHTS, JOINTS);
+    serial.setSkinningPool(null);
+    serial.setCurrentPose(pose);
+    final SkinnedMesh parallel = serial.makeCopy(true);
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      parallel.setSkinningPool(pool);
+      serial.applyPose();
+      parallel.applyPose();
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(serial.getMeshData().getVertexBuffer(), parallel.getMeshData().getVertexBuffer());
+    assertEquals(serial.getMeshData().getNormalBuffer(), parallel.getMeshData().getNormalBuffer());
+    assertEquals(serial.getMeshData().getTangentBuffer(), parallel.getMeshData().getTangentBuffer());
+    assertSkinned(parallel, parallel.getBindPoseData().getVertexBuffer(), parallel.getMeshData().getVertexBuffer(), 3,
+        true);
+  }
+}
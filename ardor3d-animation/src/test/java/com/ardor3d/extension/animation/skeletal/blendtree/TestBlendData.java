@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal.blendtree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.ardor3d.extension.animation.skeletal.AnimationManager;
+import com.ardor3d.extension.animation.skeletal.Joint;
+import com.ardor3d.extension.animation.skeletal.Skeleton;
+import com.ardor3d.extension.animation.skeletal.SkeletonPose;
+import com.ardor3d.extension.animation.skeletal.clip.AnimationClip;
+import com.ardor3d.extension.animation.skeletal.clip.InterpolatedFloatChannel;
+import com.ardor3d.extension.animation.skeletal.clip.JointChannel;
+import com.ardor3d.extension.animation.skeletal.clip.JointData;
+import com.ardor3d.extension.animation.skeletal.clip.TransformChannel;
+import com.ardor3d.extension.animation.skeletal.clip.TransformData;
+import com.ardor3d.extension.animation.skeletal.layer.AnimationLayer;
+import com.ardor3d.extension.animation.skeletal.layer.LayerLERPBlender;
+import com.ardor3d.extension.animation.skeletal.state.AbstractTwoStateLerpTransition.BlendType;
+import com.ardor3d.extension.animation.skeletal.state.FadeTransitionState;
+import com.ardor3d.extension.animation.skeletal.state.SteadyState;
+import com.ardor3d.math.Quaternion;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.math.type.ReadOnlyQuaternion;
+import com.ardor3d.math.type.ReadOnlyVector3;
+import com.ardor3d.util.ReadOnlyTimer;
+
+/**
+ * Checks that blending by slot gives what blending source data maps by channel name does, and that
+ * a manager update with it allocates nothing.
+ */
+public class TestBlendData {
+
+  private static final int JOINTS = 4;
+
+  private static final class ManualTimer implements ReadOnlyTimer {
+    double _time;
+
+    @Override
+    public double getTimeInSeconds() { return _time; }
+
+    @Override
+    public long getTime() { return (long) (_time * 1e9); }
+
+    @Override
+    public long getResolution() { return 1_000_000_000L; }
+
+    @Override
+    public double getFrameRate() { return 60; }
+
+    @Override
+    public double getTimePerFrame() { return 1 / 60.0; }
+
+    @Override
+    public long getPreviousFrameTime() { return getTime(); }
+  }
+
+  private static float[] times() {
+    return new float[] {0f, 0.5f, 1f, 1.5f};
+  }
+
+  private static JointChannel jointChannel(final int joint, final double angle) {
+    final ReadOnlyQuaternion[] rotations = new ReadOnlyQuaternion[4];
+    final ReadOnlyVector3[] translations = new ReadOnlyVector3[4];
+    final ReadOnlyVector3[] scales = new ReadOnlyVector3[4];
+    for (int i = 0; i < 4; i++) {
+      rotations[i] = new Quaternion().fromAngleAxis(angle * i + joint, Vector3.UNIT_Y);
+      translations[i] = new Vector3(joint, i * angle, 1);
+      scales[i] = new Vector3(1 + i * 0.1, 1, 1);
+    }
+    return new JointChannel("joint" + joint, joint, times(), rotations, translations, scales);
+  }
+
+  private static AnimationClip clip(final String name, final int joints, final double angle) {
+    final AnimationClip clip = new AnimationClip(name);
+    for (int j = 0; j < joints; j++) {
+      clip.addChannel(jointChannel(j, angle));
+    }
+    clip.addChannel(new InterpolatedFloatChannel("float", times(), new float[] {0, (float) angle, 2, 3}));
+    return clip;
+  }
+
+  private static AnimationClip looping(final AnimationClip clip, final AnimationManager manager) {
+    manager.getClipInstance(clip).setLoopCount(Integer.MAX_VALUE);
+    return clip;
+  }
+
+  private final ManualTimer _timer = new ManualTimer();
+
+  private AnimationManager emptyManager() {
+    final Joint[] joints = new Joint[JOINTS];
+    for (int j = 0; j < JOINTS; j++) {
+      joints[j] = new Joint("joint" + j);
+      joints[j].setIndex((short) j);
+      joints[j].setParentIndex(j == 0 ? Joint.NO_PARENT : (short) (j - 1));
+    }
+    final AnimationManager manager =
+        new AnimationManager(_timer, new SkeletonPose(new Skeleton("skeleton", joints)));
+    manager.setApplier(new SimpleAnimationApplier());
+    manager.setUpdateRate(0);
+    return manager;
+  }
+
+  private AnimationManager manager() {
+    final AnimationManager manager = emptyManager();
+
+    // base layer: a full clip blended with a partial one that has a joint disabled, and a prop
+    final AnimationClip walk = clip("walk", JOINTS, 0.5);
+    walk.addChannel(new TransformChannel("prop", times(), new Quaternion[] {new Quaternion(), new Quaternion(),
+        new Quaternion(), new Quaternion()}, new Vector3[] {new Vector3(), new Vector3(1, 0, 0), new Vector3(2, 0, 0),
+        new Vector3(3, 0, 0)}, new Vector3[] {new Vector3(1, 1, 1), new Vector3(1, 1, 1), new Vector3(1, 1, 1),
+        new Vector3(1, 1, 1)}));
+    final ExclusiveClipSource wave = new ExclusiveClipSource(looping(clip("wave", JOINTS - 1, -0.3), manager), manager);
+    wave.addDisabledJoints(1);
+    final BinaryLERPSource lerp = new BinaryLERPSource(new ClipSource(looping(walk, manager), manager), wave);
+    lerp.setBlendKey("weight");
+    manager.getValuesStore().put("weight", 0.3);
+    final SteadyState base = new SteadyState("base");
+    base.setSourceTree(lerp);
+    manager.getBaseAnimationLayer().addSteadyState(base);
+    manager.getBaseAnimationLayer().setCurrentState("base", true);
+
+    // a second layer holding one joint, blended half over the first
+    final ManagedTransformSource managed = new ManagedTransformSource();
+    managed.setJointRotation(2, new Quaternion().fromAngleAxis(1, Vector3.UNIT_X));
+    final InclusiveClipSource only = new InclusiveClipSource(looping(clip("only", JOINTS, 1), manager), manager);
+    only.addEnabledJoints(3);
+    final BinaryLERPSource overlay = new BinaryLERPSource(managed, only);
+    overlay.setBlendKey("overlay");
+    manager.getValuesStore().put("overlay", 0.5);
+    final AnimationLayer layer = new AnimationLayer("overlay");
+    final SteadyState held = new SteadyState("held");
+    held.setSourceTree(overlay);
+    layer.addSteadyState(held);
+    final LayerLERPBlender blender = new LayerLERPBlender();
+    blender.setBlendKey("layer");
+    manager.getValuesStore().put("layer", 0.5);
+    layer.setLayerBlender(blender);
+    manager.addAnimationLayer(layer);
+    layer.setCurrentState("held", true);
+    return manager;
+  }
+
+  private static void assertSame(final TransformData expected, final Object actual) {
+    assertTrue(actual instanceof TransformData);
+    assertEquals(expected instanceof JointData, actual instanceof JointData);
+    final TransformData transform = (TransformData) actual;
+    assertTrue(expected.getRotation().equals(transform.getRotation()));
+    assertTrue(expected.getTranslation().equals(transform.getTranslation()));
+    assertTrue(expected.getScale().equals(transform.getScale()));
+    if (expected instanceof JointData joint) {
+      assertEquals(joint.getJointIndex(), ((JointData) actual).getJointIndex());
+    }
+  }
+
+  private static void assertMatchesMap(final AnimationManager manager, final BlendData data) {
+    final Map<String, ? extends Object> expected = manager.getCurrentSourceData();
+    assertTrue(manager.getCurrentSourceData(data));
+    int count = 0;
+    for (int slot = 0; slot < data.getSlotCount(); slot++) {
+      if (data.get(slot) != null) {
+        count++;
+        final Object value = expected.get(manager.getBlendLayout().getChannelName(slot));
+        assertNotNull(value);
+        if (value instanceof TransformData transform) {
+          assertSame(transform, data.get(slot));
+        } else {
+          assertEquals(((float[]) value)[0], ((float[]) data.get(slot))[0], 0f);
+        }
+      }
+    }
+    assertEquals(expected.size(), count);
+  }
+
+  @Test
+  public void testMatchesMaps() {
+    final AnimationManager manager = manager();
+    final BlendData data = new BlendData(manager.getBlendLayout());
+    for (int frame = 0; frame < 40; frame++) {
+      _timer._time = frame * 0.05;
+      manager.update();
+      assertMatchesMap(manager, data);
+    }
+    // joints take the slot of their index, other channels come after
+    assertEquals(2, manager.getBlendLayout().getSlot(JointChannel.JOINT_CHANNEL_NAME + 2));
+    assertTrue(manager.getBlendLayout().getSlot("prop") >= JOINTS);
+  }
+
+  @Test
+  public void testLerpTransitionMatchesMaps() {
+    final AnimationManager manager = emptyManager();
+    final ExclusiveClipSource all = new ExclusiveClipSource(looping(clip("all", JOINTS, 0.5), manager), manager);
+    final SteadyState a = new SteadyState("a");
+    a.setSourceTree(all);
+    a.addTransition("fade", new FadeTransitionState("b", 1, BlendType.Linear));
+    final SteadyState b = new SteadyState("b");
+    b.setSourceTree(new ClipSource(looping(clip("two", 2, -0.3), manager), manager));
+    manager.getBaseAnimationLayer().addSteadyState(a);
+    manager.getBaseAnimationLayer().addSteadyState(b);
+    manager.getBaseAnimationLayer().setCurrentState("a", true);
+
+    final BlendData data = new BlendData(manager.getBlendLayout());
+    for (int frame = 0; frame < 40; frame++) {
+      _timer._time = frame * 0.05;
+      if (frame == 5) {
+        assertTrue(manager.getBaseAnimationLayer().doTransition("fade"));
+      } else if (frame == 10) {
+        // mid fade, a joint leaves both states, and so must leave the blend
+        all.addDisabledJoints(3);
+      }
+      manager.update();
+      assertMatchesMap(manager, data);
+      if (frame >= 10) {
+        assertNull(manager.getCurrentSourceData().get(JointChannel.JOINT_CHANNEL_NAME + 3));
+      }
+    }
+  }
+
+  @Test
+  public void testBlendMissingSides() {
+    final BlendLayout layout = new BlendLayout(2);
+    final BlendData a = new BlendData(layout), b = new BlendData(layout), store = new BlendData(layout);
+    final JointData joint = new JointData(0);
+    joint.setTranslation(2, 0, 0);
+    a.set(0, joint);
+    a.set(layout.getSlot("trigger"), "A");
+    b.set(layout.getSlot("trigger"), "B");
+    b.set(1, new float[] {4});
+
+    assertTrue(store.blend(a, b, 0.5));
+    // not blended: A's own object, A winning over B for data that is not interpolated
+    assertEquals(joint, store.get(0));
+    assertEquals("A", store.get(layout.getSlot("trigger")));
+    assertEquals(4f, ((float[]) store.get(1))[0], 0f);
+
+    // a blended value is copied on, as its store is reused
+    final BlendData blended = new BlendData(layout);
+    final JointData other = new JointData(0);
+    b.set(0, other);
+    blended.blend(a, b, 0.5);
+    assertEquals(1.0, ((JointData) blended.get(0)).getTranslation().getX(), 0.0);
+    store.set(blended);
+    assertTrue(store.get(0) != blended.get(0));
+    assertSame((JointData) blended.get(0), store.get(0));
+
+    assertTrue(store.blend(null, a, 0.5));
+    assertEquals(joint, store.get(0));
+    assertTrue(!store.blend(null, null, 0.5));
+    assertNull(store.get(0));
+  }
+
+  @Test
+  public void testUpdateAllocatesNothing() {
+    Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+    final AnimationManager manager = manager();
+    for (int frame = 0; frame < 2000; frame++) {
+      _timer._time = frame / 60.0;
+      manager.update();
+    }
+    final long self = Thread.currentThread().getId();
+    final long before = threads.getThreadAllocatedBytes(self);
+    for (int frame = 2000; frame < 3000; frame++) {
+      _timer._time = frame / 60.0;
+      manager.update();
+    }
+    final long allocated = threads.getThreadAllocatedBytes(self) - before;
+    // a little slack for the allocation counter itself
+    assertTrue("allocated " + allocated + " bytes", allocated < 1024);
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal.clip;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Curve bench for keyframe lookup. Not a gate: it prints the time per channel update against clip
+ * length, for play back at 60Hz (where the hint makes the search constant time), for random seeks
+ * (binary search) and for the plain scan the hint replaced, so the curves can be compared.
+ *
+ * Run explicitly (env vars, not -D: Gradle does not forward system properties to test JVMs):
+ *
+ *   A3D_ANIMATION_BENCH=1 ./gradlew :ardor3d-animation:test --tests '*.KeyframeLookupBench'
+ */
+public class KeyframeLookupBench {
+
+  private static final int[] CLIP_LENGTHS = {30, 120, 500, 2000, 8000};
+  private static final int UPDATES = 2_000_000;
+
+  @Test
+  public void bench() {
+    Assume.assumeTrue(System.getenv("A3D_ANIMATION_BENCH") != null);
+
+    System.out.printf("%8s %14s %14s %14s%n", "frames", "playback ns", "seek ns", "scan ns");
+    for (final int frames : CLIP_LENGTHS) {
+      final float[] times = new float[frames];
+      final float[] values = new float[frames];
+      for (int i = 0; i < frames; i++) {
+        // 30 fps motion capture
+        times[i] = i / 30f;
+        values[i] = i;
+      }
+      final InterpolatedFloatChannel channel = new InterpolatedFloatChannel("bench", times, values);
+      final float[] store = new float[1];
+      final double length = times[frames - 1];
+
+      // warm up all paths, then measure
+      for (int pass = 0; pass < 2; pass++) {
+        final long playback = playback(channel, store, length);
+        final long seek = seek(channel, store, length);
+        // the scan is linear in the clip length, so give it fewer updates
+        final int scanUpdates = Math.max(10_000, UPDATES / frames * 30);
+        final long scan = scan(channel, store, length, times, scanUpdates);
+        if (pass == 1) {
+          System.out.printf("%8d %14.1f %14.1f %14.1f%n", frames, (double) playback / UPDATES,
+              (double) seek / UPDATES, (double) scan / scanUpdates);
+        }
+      }
+    }
+  }
+
+  private static long playback(final InterpolatedFloatChannel channel, final float[] store, final double length) {
+    final long start = System.nanoTime();
+    int hint = 0;
+    double t = 0;
+    for (int i = 0; i < UPDATES; i++) {
+      hint = channel.updateSample(t, store, hint);
+      t += 1 / 60.0;
+      if (t > length) {
+        t -= length;
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long seek(final InterpolatedFloatChannel channel, final float[] store, final double length) {
+    final long start = System.nanoTime();
+    long seed = 1;
+    for (int i = 0; i < UPDATES; i++) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      channel.updateSample((seed >>> 11) * 0x1p-53 * length, store, 0);
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long scan(final InterpolatedFloatChannel channel, final float[] store, final double length,
+      final float[] times, final int updates) {
+    final long start = System.nanoTime();
+    double t = 0;
+    for (int i = 0; i < updates; i++) {
+      int startFrame = 0;
+      for (int f = 0; f < times.length - 1; f++) {
+        if (times[f] < t) {
+          startFrame = f;
+        }
+      }
+      channel.setCurrentSample(startFrame, (t - times[startFrame]) / (times[startFrame + 1] - times[startFrame]),
+          store);
+      t += 1 / 60.0;
+      if (t >= length) {
+        t -= length;
+      }
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.animation.skeletal.clip;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the hinted sample search of {@link AbstractAnimationChannel#updateSample(double, Object, int)}
+ * against a plain scan, whatever the hint, for play back, seeks, loops and times on a sample.
+ */
+public class TestAnimationChannelSampleLookup {
+
+  /** Records the sample it is set to instead of applying anything. */
+  private static class RecordingChannel extends AbstractAnimationChannel {
+    int _sample;
+    double _progress;
+
+    RecordingChannel(final float[] times) {
+      super("recording", times);
+    }
+
+    @Override
+    public void setCurrentSample(final int sampleIndex, final double progressPercent, final Object applyTo) {
+      _sample = sampleIndex;
+      _progress = progressPercent;
+    }
+
+    @Override
+    public Object createStateDataObject(final AnimationClipInstance instance) {
+      return null;
+    }
+
+    @Override
+    public AbstractAnimationChannel getSubchannelBySample(final String name, final int startSample,
+        final int endSample) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public AbstractAnimationChannel getSubchannelByTime(final String name, final float startTime,
+        final float endTime) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Class<? extends RecordingChannel> getClassTag() { return this.getClass(); }
+  }
+
+  /** The original linear search. */
+  private static int scan(final float[] times, final double clockTime) {
+    final int lastFrame = times.length - 1;
+    if (clockTime < 0 || times.length == 1) {
+      return 0;
+    } else if (clockTime >= times[lastFrame]) {
+      return lastFrame;
+    }
+    int startFrame = 0;
+    for (int i = 0; i < times.length - 1; i++) {
+      if (times[i] < clockTime) {
+        startFrame = i;
+      }
+    }
+    return startFrame;
+  }
+
+  private static float[] times(final int count, final Random random) {
+    final float[] times = new float[count];
+    float time = random.nextFloat() * 0.1f;
+    for (int i = 0; i < count; i++) {
+      times[i] = time;
+      time += 0.01f + random.nextFloat() * 0.05f;
+    }
+    return times;
+  }
+
+  @Test
+  public void testAnyHintMatchesScan() {
+    final Random random = new Random(47);
+    for (final int count : new int[] {1, 2, 3, 7, 100}) {
+      final float[] times = times(count, random);
+      final RecordingChannel channel = new RecordingChannel(times);
+      for (int i = 0; i < 500; i++) {
+        final double clockTime = random.nextDouble() * (times[count - 1] + 0.2) - 0.1;
+        final int hint = random.nextInt(count + 2) - 1;
+        final int sample = channel.updateSample(clockTime, null, hint);
+        assertEquals("time " + clockTime + " hint " + hint, scan(times, clockTime), sample);
+        assertEquals(sample, channel._sample);
+      }
+    }
+  }
+
+  @Test
+  public void testPlaybackAndLoops() {
+    final float[] times = times(200, new Random(3));
+    final RecordingChannel channel = new RecordingChannel(times);
+    final double length = times[199];
+    int hint = 0;
+    // forward at varying rates, wrapping around a few times, then backwards
+    for (double t = 0; t < length * 3; t += 0.004 + (t % 0.03)) {
+      final double clockTime = t % length;
+      hint = channel.updateSample(clockTime, null, hint);
+      assertEquals(scan(times, clockTime), hint);
+    }
+    for (double t = length; t > -0.1; t -= 0.02) {
+      hint = channel.updateSample(t, null, hint);
+      assertEquals(scan(times, t), hint);
+    }
+  }
+
+  @Test
+  public void testTimeOnASample() {
+    final RecordingChannel channel = new RecordingChannel(new float[] {0f, 1f, 2f, 3f});
+    // lands at the end of the previous span, as before
+    assertEquals(1, channel.updateSample(2.0, null, 0));
+    assertEquals(1.0, channel._progress, 0.0);
+    assertEquals(1, channel.updateSample(2.0, null, 2));
+    assertEquals(0, channel.updateSample(0.0, null, 2));
+    assertEquals(0.0, channel._progress, 0.0);
+    assertEquals(3, channel.updateSample(3.0, null, 0));
+  }
+
+  @Test
+  public void testClipKeepsHintsPerInstance() {
+    final float[] times = times(50, new Random(9));
+    final float[] values = new float[50];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    }
+    final AnimationClip clip = new AnimationClip("clip");
+    clip.addChannel(new InterpolatedFloatChannel("a", times, values));
+    final AnimationClipInstance early = new AnimationClipInstance();
+    final AnimationClipInstance late = new AnimationClipInstance();
+    for (int i = 0; i < 40; i++) {
+      clip.update(times[i], early);
+      clip.update(times[48 - i], late);
+      assertEquals(i, ((float[]) early.getApplyTo(clip.getChannels().get(0)))[0], 1e-4f);
+      assertEquals(48 - i, ((float[]) late.getApplyTo(clip.getChannels().get(0)))[0], 1e-4f);
+    }
+  }
+}
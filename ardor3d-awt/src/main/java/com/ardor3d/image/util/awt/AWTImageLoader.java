@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -10,10 +10,19 @@
 
 package com.ardor3d.image.util.awt;
 
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.ComponentSampleModel;
 import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
 import java.awt.image.DataBufferFloat;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -86,6 +95,11 @@ public class AWTImageLoader implements ImageLoader {
       return convertDataBuffer((DataBufferFloat) dataBuffer, image, flipImage);
     }
 
+    final Image direct = convertRaster(image, flipImage);
+    if (direct != null) {
+      return direct;
+    }
+
     final boolean hasAlpha = colorModel.hasAlpha();
     final boolean grayscale = colorModel.getNumComponents() == 1;
 
@@ -133,6 +147,186 @@ public class AWTImageLoader implements ImageLoader {
     return ardorImage;
   }
 
+  /**
+   * Convert the common kinds of image - 8 bit interleaved or indexed bytes, or 8 bit packed ints, in
+   * sRGB or gray - by reading their raster's data directly, flipping and reordering the channels in a
+   * single pass into the image buffer.
+   *
+   * @return the converted image, or null if the image is of another kind.
+   */
+  protected static Image convertRaster(final BufferedImage image, final boolean flipImage) {
+    final ColorModel colorModel = image.getColorModel();
+    final Raster raster = image.getRaster();
+    final DataBuffer dataBuffer = raster.getDataBuffer();
+    if (colorModel.isAlphaPremultiplied() || dataBuffer.getNumBanks() != 1) {
+      return null;
+    }
+
+    if (dataBuffer instanceof DataBufferByte && raster.getSampleModel() instanceof ComponentSampleModel) {
+      if (colorModel instanceof ComponentColorModel) {
+        return convertComponents(image, ((DataBufferByte) dataBuffer).getData(), flipImage);
+      }
+      if (colorModel instanceof IndexColorModel && raster.getNumBands() == 1) {
+        return convertIndexed(image, ((DataBufferByte) dataBuffer).getData(), flipImage);
+      }
+    } else if (dataBuffer instanceof DataBufferInt && colorModel instanceof DirectColorModel
+        && raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+      return convertPacked(image, ((DataBufferInt) dataBuffer).getData(), flipImage);
+    }
+    return null;
+  }
+
+  private static Image convertComponents(final BufferedImage image, final byte[] data, final boolean flipImage) {
+    final ComponentColorModel colorModel = (ComponentColorModel) image.getColorModel();
+    final Raster raster = image.getRaster();
+    final ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+    final ColorSpace colorSpace = colorModel.getColorSpace();
+    final boolean grayscale = colorSpace.getType() == ColorSpace.TYPE_GRAY;
+    if (!grayscale && !colorSpace.isCS_sRGB() || colorModel.getTransferType() != DataBuffer.TYPE_BYTE) {
+      return null;
+    }
+    for (final int size : colorModel.getComponentSize()) {
+      if (size != 8) {
+        return null;
+      }
+    }
+
+    // which band of the raster to read each of our channels from
+    final boolean hasAlpha = colorModel.hasAlpha();
+    final int[] bands;
+    if (grayscale) {
+      bands = hasAlpha ? new int[] {0, 0, 0, 1} : new int[] {0};
+    } else {
+      bands = hasAlpha ? new int[] {0, 1, 2, 3} : new int[] {0, 1, 2};
+    }
+    final int[] bandOffsets = sampleModel.getBandOffsets();
+    final int[] offsets = new int[bands.length];
+    for (int c = 0; c < bands.length; c++) {
+      offsets[c] = bandOffsets[bands[c]];
+    }
+
+    final int width = image.getWidth(), height = image.getHeight();
+    final int pixelStride = sampleModel.getPixelStride(), scanlineStride = sampleModel.getScanlineStride();
+    final int base = raster.getDataBuffer().getOffset() - raster.getSampleModelTranslateY() * scanlineStride
+        - raster.getSampleModelTranslateX() * pixelStride;
+    final int components = offsets.length;
+    final ByteBuffer store = createBuffer(width * height * components);
+    final byte[] row = new byte[width * components];
+    for (int y = 0; y < height; y++) {
+      final int src = base + (flipImage ? height - 1 - y : y) * scanlineStride;
+      if (components == 1 && pixelStride == 1) {
+        store.put(y * width, data, src + offsets[0], width);
+        continue;
+      }
+      for (int x = 0, i = 0; x < width; x++) {
+        final int pixel = src + x * pixelStride;
+        for (int c = 0; c < components; c++) {
+          row[i++] = data[pixel + offsets[c]];
+        }
+      }
+      store.put(y * row.length, row);
+    }
+    return createImage(components == 1 ? ImageDataFormat.Red : hasAlpha ? ImageDataFormat.RGBA : ImageDataFormat.RGB,
+        width, height, store);
+  }
+
+  private static Image convertIndexed(final BufferedImage image, final byte[] data, final boolean flipImage) {
+    final IndexColorModel colorModel = (IndexColorModel) image.getColorModel();
+    final Raster raster = image.getRaster();
+    final ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+    if (!colorModel.getColorSpace().isCS_sRGB() || colorModel.getPixelSize() != 8
+        || sampleModel.getPixelStride() != 1) {
+      return null;
+    }
+
+    final int[] palette = new int[256];
+    colorModel.getRGBs(palette);
+    final boolean hasAlpha = colorModel.hasAlpha();
+    final int components = hasAlpha ? 4 : 3;
+
+    final int width = image.getWidth(), height = image.getHeight();
+    final int scanlineStride = sampleModel.getScanlineStride();
+    final int base = raster.getDataBuffer().getOffset() - raster.getSampleModelTranslateY() * scanlineStride
+        - raster.getSampleModelTranslateX() + sampleModel.getBandOffsets()[0];
+    final ByteBuffer store = createBuffer(width * height * components);
+    final byte[] row = new byte[width * components];
+    for (int y = 0; y < height; y++) {
+      final int src = base + (flipImage ? height - 1 - y : y) * scanlineStride;
+      for (int x = 0, i = 0; x < width; x++) {
+        i = putArgb(palette[data[src + x] & 0xFF], hasAlpha, row, i);
+      }
+      store.put(y * row.length, row);
+    }
+    return createImage(hasAlpha ? ImageDataFormat.RGBA : ImageDataFormat.RGB, width, height, store);
+  }
+
+  private static Image convertPacked(final BufferedImage image, final int[] data, final boolean flipImage) {
+    final DirectColorModel colorModel = (DirectColorModel) image.getColorModel();
+    final Raster raster = image.getRaster();
+    final SinglePixelPackedSampleModel sampleModel = (SinglePixelPackedSampleModel) raster.getSampleModel();
+    final boolean hasAlpha = colorModel.hasAlpha();
+    if (!colorModel.getColorSpace().isCS_sRGB() || !isByteMask(colorModel.getRedMask())
+        || !isByteMask(colorModel.getGreenMask()) || !isByteMask(colorModel.getBlueMask())
+        || hasAlpha && !isByteMask(colorModel.getAlphaMask())) {
+      return null;
+    }
+    final int redShift = Integer.numberOfTrailingZeros(colorModel.getRedMask());
+    final int greenShift = Integer.numberOfTrailingZeros(colorModel.getGreenMask());
+    final int blueShift = Integer.numberOfTrailingZeros(colorModel.getBlueMask());
+    final int alphaShift = hasAlpha ? Integer.numberOfTrailingZeros(colorModel.getAlphaMask()) : 0;
+    final int components = hasAlpha ? 4 : 3;
+
+    final int width = image.getWidth(), height = image.getHeight();
+    final int scanlineStride = sampleModel.getScanlineStride();
+    final int base = raster.getDataBuffer().getOffset() - raster.getSampleModelTranslateY() * scanlineStride
+        - raster.getSampleModelTranslateX();
+    final ByteBuffer store = createBuffer(width * height * components);
+    final byte[] row = new byte[width * components];
+    for (int y = 0; y < height; y++) {
+      final int src = base + (flipImage ? height - 1 - y : y) * scanlineStride;
+      for (int x = 0, i = 0; x < width; x++) {
+        final int pixel = data[src + x];
+        row[i++] = (byte) (pixel >>> redShift);
+        row[i++] = (byte) (pixel >>> greenShift);
+        row[i++] = (byte) (pixel >>> blueShift);
+        if (hasAlpha) {
+          row[i++] = (byte) (pixel >>> alphaShift);
+        }
+      }
+      store.put(y * row.length, row);
+    }
+    return createImage(hasAlpha ? ImageDataFormat.RGBA : ImageDataFormat.RGB, width, height, store);
+  }
+
+  private static boolean isByteMask(final int mask) {
+    return mask != 0 && mask >>> Integer.numberOfTrailingZeros(mask) == 0xFF;
+  }
+
+  private static int putArgb(final int argb, final boolean hasAlpha, final byte[] row, int index) {
+    row[index++] = (byte) (argb >> 16);
+    row[index++] = (byte) (argb >> 8);
+    row[index++] = (byte) argb;
+    if (hasAlpha) {
+      row[index++] = (byte) (argb >>> 24);
+    }
+    return index;
+  }
+
+  private static ByteBuffer createBuffer(final int size) {
+    return createOnHeap ? BufferUtils.createByteBufferOnHeap(size) : BufferUtils.createByteBuffer(size);
+  }
+
+  private static Image createImage(final ImageDataFormat format, final int width, final int height,
+      final ByteBuffer data) {
+    final Image ardorImage = new Image();
+    ardorImage.setDataFormat(format);
+    ardorImage.setDataType(PixelDataType.UnsignedByte);
+    ardorImage.setWidth(width);
+    ardorImage.setHeight(height);
+    ardorImage.setData(data);
+    return ardorImage;
+  }
+
   protected static Image convertDataBuffer(final DataBufferFloat dataBuffer, final BufferedImage source,
       final boolean flipImage) {
     final var width = source.getWidth();
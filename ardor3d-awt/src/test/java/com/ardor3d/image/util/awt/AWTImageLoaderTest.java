@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util.awt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+
+/**
+ * The direct raster conversion gives the same texels as reading the image through getRGB, for every
+ * image type it takes, flipped or not.
+ */
+public class AWTImageLoaderTest {
+
+  private static BufferedImage testImage(final int type, final int width, final int height) {
+    final BufferedImage image = new BufferedImage(width, height, type);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        final int alpha = (x * 37 + y * 11) & 0xFF;
+        image.setRGB(x, y, alpha << 24 | (x * 29 & 0xFF) << 16 | (y * 53 & 0xFF) << 8 | (x * y & 0xFF));
+      }
+    }
+    return image;
+  }
+
+  /**
+   * Check the converted image against getRGB of the source.
+   */
+  private static void assertConverted(final BufferedImage source, final Image image, final boolean flipped) {
+    final boolean alpha = source.getColorModel().hasAlpha();
+    assertEquals(alpha ? ImageDataFormat.RGBA : ImageDataFormat.RGB, image.getDataFormat());
+    final int components = alpha ? 4 : 3;
+    final ByteBuffer data = image.getData(0);
+    assertEquals(source.getWidth() * source.getHeight() * components, data.limit());
+    for (int y = 0; y < source.getHeight(); y++) {
+      for (int x = 0; x < source.getWidth(); x++) {
+        final int argb = source.getRGB(x, flipped ? source.getHeight() - 1 - y : y);
+        final int i = (y * source.getWidth() + x) * components;
+        assertEquals(argb >> 16 & 0xFF, data.get(i) & 0xFF);
+        assertEquals(argb >> 8 & 0xFF, data.get(i + 1) & 0xFF);
+        assertEquals(argb & 0xFF, data.get(i + 2) & 0xFF);
+        if (alpha) {
+          assertEquals(argb >>> 24, data.get(i + 3) & 0xFF);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testColorTypes() {
+    final int[] types = {BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_INT_RGB,
+        BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_BGR, BufferedImage.TYPE_BYTE_INDEXED};
+    for (final int type : types) {
+      final BufferedImage source = testImage(type, 13, 7);
+      for (final boolean flip : new boolean[] {false, true}) {
+        final Image direct = AWTImageLoader.convertRaster(source, flip);
+        assertNotNull("type " + type, direct);
+        assertConverted(source, direct, flip);
+        assertConverted(source, AWTImageLoader.makeArdor3dImage(source, flip), flip);
+      }
+    }
+  }
+
+  @Test
+  public void testGray() {
+    final BufferedImage source = new BufferedImage(5, 3, BufferedImage.TYPE_BYTE_GRAY);
+    for (int y = 0; y < 3; y++) {
+      for (int x = 0; x < 5; x++) {
+        source.getRaster().setSample(x, y, 0, x * 50 + y);
+      }
+    }
+    final Image image = AWTImageLoader.makeArdor3dImage(source, true);
+    assertEquals(ImageDataFormat.Red, image.getDataFormat());
+    for (int y = 0; y < 3; y++) {
+      for (int x = 0; x < 5; x++) {
+        assertEquals(x * 50 + 2 - y, image.getData(0).get(y * 5 + x) & 0xFF);
+      }
+    }
+  }
+
+  @Test
+  public void testSubimage() {
+    final BufferedImage parent = testImage(BufferedImage.TYPE_4BYTE_ABGR, 20, 16);
+    final BufferedImage child = parent.getSubimage(3, 5, 9, 6);
+    assertConverted(child, AWTImageLoader.convertRaster(child, true), true);
+    final BufferedImage packed = testImage(BufferedImage.TYPE_INT_ARGB, 20, 16).getSubimage(7, 2, 4, 11);
+    assertConverted(packed, AWTImageLoader.convertRaster(packed, false), false);
+  }
+
+  @Test
+  public void testOtherTypesFallBack() {
+    // premultiplied alpha and 16 bit samples go through the general conversion
+    final BufferedImage premultiplied = testImage(BufferedImage.TYPE_INT_ARGB_PRE, 6, 4);
+    assertNull(AWTImageLoader.convertRaster(premultiplied, false));
+    assertConverted(premultiplied, AWTImageLoader.makeArdor3dImage(premultiplied, false), false);
+    assertNull(AWTImageLoader.convertRaster(new BufferedImage(4, 4, BufferedImage.TYPE_USHORT_GRAY), false));
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -27,7 +27,8 @@ public enum ImageDataFormat {
   PrecompressedDXT3(2, true, true), //
   PrecompressedDXT5(2, true, true), //
   PrecompressedLATC_L(1, true, true), //
-  PrecompressedLATC_LA(2, true, true);
+  PrecompressedLATC_LA(2, true, true), //
+  PrecompressedBPTC(2, true, true);
 
   private final int _components;
   private final boolean _compressed;
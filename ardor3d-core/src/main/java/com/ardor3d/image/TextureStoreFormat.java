@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -119,6 +119,10 @@ public enum TextureStoreFormat {
    * Image data already in LATC format - Luminance+Alpha
    */
   NativeLATC_LA,
+  /**
+   * Image data already in BPTC (BC7) format.
+   */
+  NativeBPTC,
   /**
    * depth component format - let card choose bit size
    */
@@ -242,7 +246,7 @@ public enum TextureStoreFormat {
 
   public boolean isCompressed() {
     return switch (this) {
-      case NativeDXT1, NativeDXT1A, NativeDXT3, NativeDXT5, NativeLATC_L, NativeLATC_LA -> true;
+      case NativeDXT1, NativeDXT1A, NativeDXT3, NativeDXT5, NativeLATC_L, NativeLATC_LA, NativeBPTC -> true;
       default -> false;
     };
   }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -10,8 +10,14 @@
 
 package com.ardor3d.image.loader;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -27,6 +33,9 @@ import com.ardor3d.util.resource.ResourceSource;
 public abstract class ImageLoaderUtil {
   private static final Logger logger = Logger.getLogger(ImageLoaderUtil.class.getName());
 
+  /** The most bytes {@link #readFully(ReadableByteChannel)} reads: about the largest array the VM allows. */
+  public static final int MAX_READ_BYTES = Integer.MAX_VALUE - 8;
+
   private static ImageLoader defaultLoader;
   private static Map<String, ImageLoader> loaders = Collections.synchronizedMap(new HashMap<>());
 
@@ -108,4 +117,59 @@ public abstract class ImageLoaderUtil {
   public static void registerDefaultHandler(final ImageLoader handler) {
     ImageLoaderUtil.defaultLoader = handler;
   }
+
+  /**
+   * Read the rest of a stream into a buffer, for loaders decoding from memory. The rest of a file is
+   * memory mapped rather than copied.
+   *
+   * @param stream
+   *          the stream to read.
+   * @return a buffer from the current position of the stream to its end.
+   * @throws IOException
+   *           if the stream can not be read.
+   */
+  public static ByteBuffer readFully(final InputStream stream) throws IOException {
+    if (stream instanceof FileInputStream file) {
+      return readFully(file.getChannel());
+    }
+    return readFully(Channels.newChannel(stream));
+  }
+
+  /**
+   * Read the rest of a channel into a buffer, for loaders decoding from memory. The rest of a file is
+   * memory mapped rather than copied.
+   *
+   * @param channel
+   *          the channel to read.
+   * @return a buffer from the current position of the channel to its end.
+   * @throws IOException
+   *           if the channel can not be read, or holds more than {@link #MAX_READ_BYTES} bytes.
+   */
+  public static ByteBuffer readFully(final ReadableByteChannel channel) throws IOException {
+    if (channel instanceof FileChannel file) {
+      final long position = file.position();
+      final long size = file.size() - position;
+      if (size > MAX_READ_BYTES) {
+        throw new IOException("Too large to read into one buffer: " + size + " bytes");
+      }
+      final ByteBuffer mapped = file.map(MapMode.READ_ONLY, position, size);
+      file.position(file.size());
+      return mapped;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    while (channel.read(buffer) >= 0) {
+      if (!buffer.hasRemaining()) {
+        final int capacity = buffer.capacity();
+        if (capacity >= MAX_READ_BYTES) {
+          if (channel.read(ByteBuffer.allocate(1)) < 0) {
+            break;
+          }
+          throw new IOException("Too large to read into one buffer: more than " + MAX_READ_BYTES + " bytes");
+        }
+        final int grown = Math.max(capacity + 1, (int) Math.min(MAX_READ_BYTES, capacity * 2L));
+        buffer = ByteBuffer.allocate(grown).put(buffer.flip());
+      }
+    }
+    return buffer.flip();
+  }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -10,22 +10,23 @@
 
 package com.ardor3d.image.loader;
 
-import java.io.BufferedInputStream;
-import java.io.DataInputStream;
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ForkJoinPool;
 
 import com.ardor3d.buffer.BufferUtils;
 import com.ardor3d.image.Image;
 import com.ardor3d.image.ImageDataFormat;
 import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.util.ParallelRange;
 import com.ardor3d.util.Ardor3dException;
 
 /**
- * Loads image files in the Targa format. Handles RLE Targa files. Does not handle Targa files in
- * Black-and-White format.
+ * Loads image files in the Targa format. Handles RLE Targa files, and 8 bit Black-and-White ones as
+ * RGB.
  */
 public final class TgaLoader implements ImageLoader {
 
@@ -50,6 +51,8 @@ public final class TgaLoader implements ImageLoader {
   // 11 - run-length encoded, black and white image
   public static final int TYPE_BLACKANDWHITE_RLE = 11;
 
+  private ForkJoinPool _pool = ForkJoinPool.commonPool();
+
   public TgaLoader() {}
 
   /**
@@ -64,65 +67,84 @@ public final class TgaLoader implements ImageLoader {
    *           if an error occurs during read.
    */
   @Override
-  public Image load(final InputStream is, boolean flip) throws IOException {
-    boolean flipH = false;
-    // open a stream to the file
-    final BufferedInputStream bis = new BufferedInputStream(is, 8192);
-    final DataInputStream dis = new DataInputStream(bis);
-    boolean createAlpha = false;
+  public Image load(final InputStream is, final boolean flip) throws IOException {
+    return load(ImageLoaderUtil.readFully(is), flip);
+  }
+
+  /**
+   * Load an image from the rest of a channel in Targa format, memory mapping it if it is a file.
+   * 
+   * @param channel
+   *          the channel delivering the targa data.
+   * @param flip
+   *          if true, we will flip the given targa image on the vertical axis.
+   * @return the new loaded Image.
+   * @throws IOException
+   *           if an error occurs during read.
+   */
+  public Image load(final ReadableByteChannel channel, final boolean flip) throws IOException {
+    return load(ImageLoaderUtil.readFully(channel), flip);
+  }
+
+  /**
+   * Load an image in Targa format from memory. Pixels are decoded straight into the image data;
+   * uncompressed images a row per task in our pool, since only those have rows at known offsets.
+   * 
+   * @param source
+   *          the targa data, from its position to its limit. The position is left alone.
+   * @param flip
+   *          if true, we will flip the given targa image on the vertical axis.
+   * @return the new loaded Image.
+   * @throws IOException
+   *           if the data ends early.
+   */
+  public Image load(final ByteBuffer source, final boolean flip) throws IOException {
+    final ByteBuffer in = source.slice().order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      return decode(in, flip);
+    } catch (final IndexOutOfBoundsException e) {
+      throw new IOException("Unexpected number of bytes in file - too few.", e);
+    }
+  }
 
+  private Image decode(final ByteBuffer in, boolean flip) {
     // ---------- Start Reading the TGA header ---------- //
     // length of the image id (1 byte)
-    final int idLength = dis.readUnsignedByte();
+    final int idLength = in.get(0) & 0xFF;
 
     // Type of color map (if any) included with the image
     // 0 - no color map data is included
     // 1 - a color map is included
-    final int colorMapType = dis.readUnsignedByte();
+    final int colorMapType = in.get(1) & 0xFF;
 
     // Type of image being read:
-    final int imageType = dis.readUnsignedByte();
+    final int imageType = in.get(2) & 0xFF;
 
     // Read Color Map Specification (5 bytes)
-    // Index of first color map entry (if we want to use it, uncomment and remove extra read.)
-    // short cMapStart = flipEndian(dis.readShort());
-    dis.readShort();
+    // Index of first color map entry (at 3) is not used.
     // number of entries in the color map
-    final short cMapLength = flipEndian(dis.readShort());
+    final int cMapLength = in.getShort(5) & 0xFFFF;
     // number of bits per color map entry
-    final int cMapDepth = dis.readUnsignedByte();
+    final int cMapDepth = in.get(7) & 0xFF;
 
     // Read Image Specification (10 bytes)
-    // horizontal coordinate of lower left corner of image. (if we want to use it, uncomment and remove
-    // extra read.)
-    // int xOffset = flipEndian(dis.readShort());
-    dis.readShort();
-    // vertical coordinate of lower left corner of image. (if we want to use it, uncomment and remove
-    // extra read.)
-    // int yOffset = flipEndian(dis.readShort());
-    dis.readShort();
+    // horizontal and vertical coordinates of lower left corner of image (at 8 and 10) are not used.
     // width of image - in pixels
-    final int width = flipEndian(dis.readShort());
+    final int width = in.getShort(12) & 0xFFFF;
     // height of image - in pixels
-    final int height = flipEndian(dis.readShort());
+    final int height = in.getShort(14) & 0xFFFF;
     // bits per pixel in image.
-    final int pixelDepth = dis.readUnsignedByte();
-    final int imageDescriptor = dis.readUnsignedByte();
+    final int pixelDepth = in.get(16) & 0xFF;
+    final int imageDescriptor = in.get(17) & 0xFF;
     if ((imageDescriptor & 32) != 0) {
       flip = !flip;
     }
-    if ((imageDescriptor & 16) != 0) {
-      flipH = !flipH;
-    }
+    final boolean flipH = (imageDescriptor & 16) != 0;
 
     // ---------- Done Reading the TGA header ---------- //
 
     // Skip image ID
-    if (idLength > 0) {
-      if (idLength != bis.skip(idLength)) {
-        throw new IOException("Unexpected number of bytes in file - too few.");
-      }
-    }
+    int offset = 18 + idLength;
 
     ColorMapEntry[] cMapEntries = null;
     if (colorMapType != 0) {
@@ -131,9 +153,8 @@ public final class TgaLoader implements ImageLoader {
       final int bitsPerColor = Math.min(cMapDepth / 3, 8);
 
       final byte[] cMapData = new byte[bytesInColorMap];
-      if (-1 == bis.read(cMapData)) {
-        throw new EOFException();
-      }
+      in.get(offset, cMapData);
+      offset += bytesInColorMap;
 
       // Only go to the trouble of constructing the color map
       // table if this is declared a color mapped image.
@@ -144,14 +165,15 @@ public final class TgaLoader implements ImageLoader {
         final float alphaScalar = 255f / (int) (Math.pow(2, alphaSize) - 1);
         for (int i = 0; i < cMapLength; i++) {
           final ColorMapEntry entry = new ColorMapEntry();
-          final int offset = cMapDepth * i;
-          entry.red = (byte) (int) (getBitsAsByte(cMapData, offset, bitsPerColor) * scalar);
-          entry.green = (byte) (int) (getBitsAsByte(cMapData, offset + bitsPerColor, bitsPerColor) * scalar);
-          entry.blue = (byte) (int) (getBitsAsByte(cMapData, offset + (2 * bitsPerColor), bitsPerColor) * scalar);
+          final int bitOffset = cMapDepth * i;
+          entry.red = (byte) (int) (getBitsAsByte(cMapData, bitOffset, bitsPerColor) * scalar);
+          entry.green = (byte) (int) (getBitsAsByte(cMapData, bitOffset + bitsPerColor, bitsPerColor) * scalar);
+          entry.blue = (byte) (int) (getBitsAsByte(cMapData, bitOffset + (2 * bitsPerColor), bitsPerColor) * scalar);
           if (alphaSize <= 0) {
             entry.alpha = (byte) 255;
           } else {
-            entry.alpha = (byte) (int) (getBitsAsByte(cMapData, offset + (3 * bitsPerColor), alphaSize) * alphaScalar);
+            entry.alpha =
+                (byte) (int) (getBitsAsByte(cMapData, bitOffset + (3 * bitsPerColor), alphaSize) * alphaScalar);
           }
 
           cMapEntries[i] = entry;
@@ -159,278 +181,53 @@ public final class TgaLoader implements ImageLoader {
       }
     }
 
-    // Allocate image data array
-    byte[] rawData = null;
-    int dl;
-    if ((pixelDepth == 32)) {
-      rawData = new byte[width * height * 4];
-      dl = 4;
-      createAlpha = true;
-    } else {
-      rawData = new byte[width * height * 3];
-      dl = 3;
-    }
-    int rawDataIndex = 0;
-
-    if (imageType == TYPE_TRUECOLOR) {
-      byte red = 0;
-      byte green = 0;
-      byte blue = 0;
-      byte alpha = 0;
-
-      // Faster than doing a 16-or-24-or-32 check on each individual pixel,
-      // just make a separate loop for each.
-      if (pixelDepth == 16) {
-        final byte[] data = new byte[2];
-        final float scalar = 255f / 31f;
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; j++) {
-            data[1] = dis.readByte();
-            data[0] = dis.readByte();
-            rawData[rawDataIndex++] = (byte) (int) (getBitsAsByte(data, 1, 5) * scalar);
-            rawData[rawDataIndex++] = (byte) (int) (getBitsAsByte(data, 6, 5) * scalar);
-            rawData[rawDataIndex++] = (byte) (int) (getBitsAsByte(data, 11, 5) * scalar);
-            if (createAlpha) {
-              alpha = getBitsAsByte(data, 0, 1);
-              if (alpha == 1) {
-                alpha = (byte) 255;
-              }
-              rawData[rawDataIndex++] = alpha;
-            }
-          }
-        }
-      } else if (pixelDepth == 24) {
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; j++) {
-            blue = dis.readByte();
-            green = dis.readByte();
-            red = dis.readByte();
-            rawData[rawDataIndex++] = red;
-            rawData[rawDataIndex++] = green;
-            rawData[rawDataIndex++] = blue;
-            if (createAlpha) {
-              rawData[rawDataIndex++] = (byte) 255;
-            }
+    final PixelFormat format = new PixelFormat(imageType, pixelDepth, cMapEntries);
+    final int dl = format._dl;
+    final ByteBuffer scratch = BufferUtils.createByteBuffer(width * height * dl);
+    final boolean topDown = flip;
+    final int pixelsStart = offset;
 
-          }
-        }
-      } else if (pixelDepth == 32) {
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; j++) {
-            blue = dis.readByte();
-            green = dis.readByte();
-            red = dis.readByte();
-            alpha = dis.readByte();
-            rawData[rawDataIndex++] = red;
-            rawData[rawDataIndex++] = green;
-            rawData[rawDataIndex++] = blue;
-            rawData[rawDataIndex++] = alpha;
-          }
-        }
-      } else {
-        throw new Ardor3dException("Unsupported TGA true color depth: " + pixelDepth);
+    if (imageType == TYPE_TRUECOLOR || imageType == TYPE_COLORMAPPED || imageType == TYPE_BLACKANDWHITE) {
+      final int rowBytes = width * format._bytesPerPixel;
+      if (pixelsStart + height * rowBytes > in.limit()) {
+        throw new IndexOutOfBoundsException();
       }
-    } else if (imageType == TYPE_TRUECOLOR_RLE) {
-      byte red = 0;
-      byte green = 0;
-      byte blue = 0;
-      byte alpha = 0;
-
-      // Faster than doing a 16-or-24-or-32 check on each individual pixel,
-      // just make a separate loop for each.
-      if (pixelDepth == 32) {
-        for (int i = 0; i <= (height - 1); ++i) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-
-          for (int j = 0; j < width; ++j) {
-            // Get the number of pixels the next chunk covers (either packed or unpacked)
-            int count = dis.readByte();
-            if ((count & 0x80) != 0) {
-              // Its an RLE packed block - use the following 1 pixel for the next <count> pixels
-              count &= 0x07f;
-              j += count;
-              blue = dis.readByte();
-              green = dis.readByte();
-              red = dis.readByte();
-              alpha = dis.readByte();
-              while (count-- >= 0) {
-                rawData[rawDataIndex++] = red;
-                rawData[rawDataIndex++] = green;
-                rawData[rawDataIndex++] = blue;
-                rawData[rawDataIndex++] = alpha;
-              }
-            } else {
-              // Its not RLE packed, but the next <count> pixels are raw.
-              j += count;
-              while (count-- >= 0) {
-                blue = dis.readByte();
-                green = dis.readByte();
-                red = dis.readByte();
-                alpha = dis.readByte();
-                rawData[rawDataIndex++] = red;
-                rawData[rawDataIndex++] = green;
-                rawData[rawDataIndex++] = blue;
-                rawData[rawDataIndex++] = alpha;
-              }
-            }
-          }
-        }
-
-      } else if (pixelDepth == 24) {
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; ++j) {
-            // Get the number of pixels the next chunk covers (either packed or unpacked)
-            int count = dis.readByte();
-            if ((count & 0x80) != 0) {
-              // Its an RLE packed block - use the following 1 pixel for the next <count> pixels
-              count &= 0x07f;
-              j += count;
-              blue = dis.readByte();
-              green = dis.readByte();
-              red = dis.readByte();
-              while (count-- >= 0) {
-                rawData[rawDataIndex++] = red;
-                rawData[rawDataIndex++] = green;
-                rawData[rawDataIndex++] = blue;
-                if (createAlpha) {
-                  rawData[rawDataIndex++] = (byte) 255;
-                }
-              }
-            } else {
-              // Its not RLE packed, but the next <count> pixels are raw.
-              j += count;
-              while (count-- >= 0) {
-                blue = dis.readByte();
-                green = dis.readByte();
-                red = dis.readByte();
-                rawData[rawDataIndex++] = red;
-                rawData[rawDataIndex++] = green;
-                rawData[rawDataIndex++] = blue;
-                if (createAlpha) {
-                  rawData[rawDataIndex++] = (byte) 255;
-                }
-              }
-            }
+      ParallelRange.run(_pool, height, rowBytes, (start, end) -> {
+        for (int i = start; i < end; i++) {
+          final int row = topDown ? i : height - 1 - i;
+          int src = pixelsStart + i * rowBytes;
+          for (int j = 0; j < width; j++, src += format._bytesPerPixel) {
+            format.copy(in, src, scratch, (row * width + (flipH ? width - 1 - j : j)) * dl);
           }
         }
-
-      } else if (pixelDepth == 16) {
-        final byte[] data = new byte[2];
-        final float scalar = 255f / 31f;
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; j++) {
-            // Get the number of pixels the next chunk covers (either packed or unpacked)
-            int count = dis.readByte();
-            if ((count & 0x80) != 0) {
-              // Its an RLE packed block - use the following 1 pixel for the next <count> pixels
-              count &= 0x07f;
-              j += count;
-              data[1] = dis.readByte();
-              data[0] = dis.readByte();
-              blue = (byte) (int) (getBitsAsByte(data, 1, 5) * scalar);
-              green = (byte) (int) (getBitsAsByte(data, 6, 5) * scalar);
-              red = (byte) (int) (getBitsAsByte(data, 11, 5) * scalar);
-              while (count-- >= 0) {
-                rawData[rawDataIndex++] = red;
-                rawData[rawDataIndex++] = green;
-                rawData[rawDataIndex++] = blue;
-                if (createAlpha) {
-                  rawData[rawDataIndex++] = (byte) 255;
-                }
-              }
-            } else {
-              // Its not RLE packed, but the next <count> pixels are raw.
-              j += count;
-              while (count-- >= 0) {
-                data[1] = dis.readByte();
-                data[0] = dis.readByte();
-                blue = (byte) (int) (getBitsAsByte(data, 1, 5) * scalar);
-                green = (byte) (int) (getBitsAsByte(data, 6, 5) * scalar);
-                red = (byte) (int) (getBitsAsByte(data, 11, 5) * scalar);
-                rawData[rawDataIndex++] = red;
-                rawData[rawDataIndex++] = green;
-                rawData[rawDataIndex++] = blue;
-                if (createAlpha) {
-                  rawData[rawDataIndex++] = (byte) 255;
-                }
-              }
-            }
-          }
-        }
-
-      } else {
-        throw new Ardor3dException("Unsupported TGA true color depth: " + pixelDepth);
-      }
-
-    } else if (imageType == TYPE_COLORMAPPED) {
-      final int bytesPerIndex = pixelDepth / 8;
-
-      if (bytesPerIndex == 1) {
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; j++) {
-            final int index = dis.readUnsignedByte();
-            if (index >= cMapEntries.length || index < 0) {
-              throw new Ardor3dException("TGA: Invalid color map entry referenced: " + index);
-            }
-            final ColorMapEntry entry = cMapEntries[index];
-            rawData[rawDataIndex++] = entry.red;
-            rawData[rawDataIndex++] = entry.green;
-            rawData[rawDataIndex++] = entry.blue;
-            if (dl == 4) {
-              rawData[rawDataIndex++] = entry.alpha;
-            }
-
+      });
+    } else if (imageType == TYPE_TRUECOLOR_RLE || imageType == TYPE_COLORMAPPED_RLE
+        || imageType == TYPE_BLACKANDWHITE_RLE) {
+      // packets may run on from one row into the next, so this is one stream of pixels
+      int src = pixelsStart;
+      final int total = width * height;
+      for (int p = 0; p < total;) {
+        // Get the number of pixels the next chunk covers (either packed or unpacked)
+        final int header = in.get(src++) & 0xFF;
+        final int count = Math.min((header & 0x7F) + 1, total - p);
+        final boolean packed = (header & 0x80) != 0;
+        for (int k = 0; k < count; k++, p++) {
+          final int i = p / width, j = p % width;
+          final int row = topDown ? i : height - 1 - i;
+          format.copy(in, src, scratch, (row * width + (flipH ? width - 1 - j : j)) * dl);
+          if (!packed) {
+            src += format._bytesPerPixel;
           }
         }
-      } else if (bytesPerIndex == 2) {
-        for (int i = 0; i <= (height - 1); i++) {
-          if (!flip) {
-            rawDataIndex = (height - 1 - i) * width * dl;
-          }
-          for (int j = 0; j < width; j++) {
-            final int index = flipEndian(dis.readShort());
-            if (index >= cMapEntries.length || index < 0) {
-              throw new Ardor3dException("TGA: Invalid color map entry referenced: " + index);
-            }
-            final ColorMapEntry entry = cMapEntries[index];
-            rawData[rawDataIndex++] = entry.red;
-            rawData[rawDataIndex++] = entry.green;
-            rawData[rawDataIndex++] = entry.blue;
-            if (dl == 4) {
-              rawData[rawDataIndex++] = entry.alpha;
-            }
-          }
+        if (packed) {
+          // Its an RLE packed block - the one following pixel is used for all <count> pixels
+          src += format._bytesPerPixel;
         }
-      } else {
-        throw new Ardor3dException("TGA: unknown colormap indexing size used: " + bytesPerIndex);
       }
+    } else {
+      throw new Ardor3dException("Unsupported TGA image type: " + imageType);
     }
 
-    // Get a pointer to the image memory
-    final ByteBuffer scratch = BufferUtils.createByteBuffer(rawData.length);
-    scratch.clear();
-    scratch.put(rawData);
-    scratch.rewind();
     // Create the ardor3d.image.Image object
     final com.ardor3d.image.Image textureImage = new com.ardor3d.image.Image();
     if (dl == 4) {
@@ -445,6 +242,96 @@ public final class TgaLoader implements ImageLoader {
     return textureImage;
   }
 
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool rows of uncompressed images are decoded in, or null to decode on the calling
+   *          thread. Defaults to the common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  /**
+   * How one pixel of a given image type and depth is stored, and turned into RGB or RGBA bytes.
+   */
+  private static final class PixelFormat {
+    private static final float SCALAR_5BIT = 255f / 31f;
+
+    final int _kind;
+    final int _bytesPerPixel;
+    final int _dl;
+    final ColorMapEntry[] _cMapEntries;
+
+    PixelFormat(final int imageType, final int pixelDepth, final ColorMapEntry[] cMapEntries) {
+      _cMapEntries = cMapEntries;
+      _bytesPerPixel = pixelDepth / 8;
+      _dl = pixelDepth == 32 ? 4 : 3;
+      if (imageType == TYPE_COLORMAPPED || imageType == TYPE_COLORMAPPED_RLE) {
+        if (_bytesPerPixel != 1 && _bytesPerPixel != 2) {
+          throw new Ardor3dException("TGA: unknown colormap indexing size used: " + _bytesPerPixel);
+        }
+        if (cMapEntries == null) {
+          throw new Ardor3dException("TGA: color mapped image without a color map");
+        }
+        _kind = 0;
+      } else if (imageType == TYPE_BLACKANDWHITE || imageType == TYPE_BLACKANDWHITE_RLE) {
+        if (pixelDepth != 8) {
+          throw new Ardor3dException("Unsupported TGA black and white depth: " + pixelDepth);
+        }
+        _kind = 8;
+      } else {
+        if (pixelDepth != 16 && pixelDepth != 24 && pixelDepth != 32) {
+          throw new Ardor3dException("Unsupported TGA true color depth: " + pixelDepth);
+        }
+        _kind = pixelDepth;
+      }
+    }
+
+    void copy(final ByteBuffer in, final int src, final ByteBuffer out, final int dst) {
+      switch (_kind) {
+        case 32:
+          out.put(dst, in.get(src + 2));
+          out.put(dst + 1, in.get(src + 1));
+          out.put(dst + 2, in.get(src));
+          out.put(dst + 3, in.get(src + 3));
+          break;
+        case 24:
+          out.put(dst, in.get(src + 2));
+          out.put(dst + 1, in.get(src + 1));
+          out.put(dst + 2, in.get(src));
+          break;
+        case 16: {
+          // ARRRRRGG GGGBBBBB, little endian
+          final int value = in.getShort(src) & 0xFFFF;
+          out.put(dst, (byte) (int) ((value >> 10 & 0x1F) * SCALAR_5BIT));
+          out.put(dst + 1, (byte) (int) ((value >> 5 & 0x1F) * SCALAR_5BIT));
+          out.put(dst + 2, (byte) (int) ((value & 0x1F) * SCALAR_5BIT));
+          break;
+        }
+        case 8: {
+          final byte value = in.get(src);
+          out.put(dst, value);
+          out.put(dst + 1, value);
+          out.put(dst + 2, value);
+          break;
+        }
+        default: {
+          final int index = _bytesPerPixel == 1 ? in.get(src) & 0xFF : in.getShort(src) & 0xFFFF;
+          if (index >= _cMapEntries.length) {
+            throw new Ardor3dException("TGA: Invalid color map entry referenced: " + index);
+          }
+          final ColorMapEntry entry = _cMapEntries[index];
+          out.put(dst, entry.red);
+          out.put(dst + 1, entry.green);
+          out.put(dst + 2, entry.blue);
+          if (_dl == 4) {
+            out.put(dst + 3, entry.alpha);
+          }
+        }
+      }
+    }
+  }
+
   private static byte getBitsAsByte(final byte[] data, final int offset, final int length) {
     int offsetBytes = offset / 8;
     int indexBits = offset % 8;
@@ -471,18 +358,6 @@ public final class TgaLoader implements ImageLoader {
     return (byte) rVal;
   }
 
-  /**
-   * <code>flipEndian</code> is used to flip the endian bit of the header file.
-   * 
-   * @param signedShort
-   *          the bit to flip.
-   * @return the flipped bit.
-   */
-  private static short flipEndian(final short signedShort) {
-    final int input = signedShort & 0xFFFF;
-    return (short) (input << 8 | (input & 0xFF00) >>> 8);
-  }
-
   private static class ColorMapEntry {
     byte red, green, blue, alpha;
 
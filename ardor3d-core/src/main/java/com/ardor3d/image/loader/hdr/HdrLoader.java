@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -10,57 +10,150 @@
 
 package com.ardor3d.image.loader.hdr;
 
-import java.io.BufferedInputStream;
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ForkJoinPool;
 
 import com.ardor3d.buffer.BufferUtils;
 import com.ardor3d.image.Image;
 import com.ardor3d.image.ImageDataFormat;
 import com.ardor3d.image.PixelDataType;
 import com.ardor3d.image.loader.ImageLoader;
+import com.ardor3d.image.loader.ImageLoaderUtil;
+import com.ardor3d.image.util.ParallelRange;
 
+/**
+ * Loads Radiance RGBE (.hdr) images, as RGB floats or half floats.
+ * <p>
+ * The file is read into memory whole - memory mapped, if it comes from a file - and its scanlines,
+ * each run length encoded on its own, are decoded in parallel straight into the image data.
+ */
 public class HdrLoader implements ImageLoader {
+  private boolean _halfFloat;
+  private ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  public HdrLoader() {}
+
+  /**
+   * @param halfFloat
+   *          true to load half float images, at half the size of float ones.
+   */
+  public HdrLoader(final boolean halfFloat) {
+    _halfFloat = halfFloat;
+  }
+
   @Override
   public Image load(final InputStream is, final boolean flipped) throws IOException {
-    // open a stream to the file
-    final BufferedInputStream bis = new BufferedInputStream(is, 8192);
-    final DataInputStream dis = new DataInputStream(bis);
+    return load(ImageLoaderUtil.readFully(is), flipped);
+  }
 
-    final RGBE.Header header = RGBE.readHeader(dis);
+  /**
+   * Load an image from the rest of a channel, memory mapping it if it is a file.
+   *
+   * @param channel
+   *          the channel delivering the hdr data.
+   * @param flipped
+   *          if true, the last scanline of the file is the first of the image.
+   * @return the new loaded Image.
+   * @throws IOException
+   *           if an error occurs during read.
+   */
+  public Image load(final ReadableByteChannel channel, final boolean flipped) throws IOException {
+    return load(ImageLoaderUtil.readFully(channel), flipped);
+  }
 
+  /**
+   * Load an image from memory.
+   *
+   * @param source
+   *          the hdr data, from its position to its limit. The position is left alone.
+   * @param flipped
+   *          if true, the last scanline of the file is the first of the image.
+   * @return the new loaded Image.
+   * @throws IOException
+   *           if the data is malformed.
+   */
+  public Image load(final ByteBuffer source, final boolean flipped) throws IOException {
+    final ByteBuffer in = source.duplicate();
+    final RGBE.Header header = RGBE.readHeader(in);
     final int width = header.getWidth();
     final int height = header.getHeight();
 
-    final ByteBuffer imageData = BufferUtils.createByteBuffer(width * height * 3 * 4); // w x h x
-                                                                                       // rgb x 4bytes per float
-    imageData.clear();
-    final FloatBuffer imageDataAsFloat = imageData.asFloatBuffer();
-
-    final byte[] scanline = new byte[width * 4];
-
-    for (int i = 0; i < height; i++) {
-      RGBE.readPixelsRawRLE(dis, scanline, 0, width, 1);
-      if (flipped) {
-        imageDataAsFloat.position((height - i - 1) * width * 3);
+    // where each scanline starts; finding that needs only the run lengths, not the values
+    final int[] offsets = new int[height];
+    try {
+      int offset = in.position();
+      for (int i = 0; i < height; i++) {
+        offsets[i] = offset;
+        offset = RGBE.skipScanline(in, offset, width);
       }
-      RGBE.rgbe2float(imageDataAsFloat, scanline);
+      if (offset > in.limit()) {
+        throw new IOException("Unexpected end of pixel data");
+      }
+    } catch (final IndexOutOfBoundsException e) {
+      throw new IOException("Unexpected end of pixel data", e);
     }
 
-    imageDataAsFloat.rewind();
+    final int components = _halfFloat ? 3 * 2 : 3 * 4;
+    final ByteBuffer imageData = BufferUtils.createByteBuffer(width * height * components);
+    final FloatBuffer floats = _halfFloat ? null : imageData.asFloatBuffer();
+    final ShortBuffer halfs = _halfFloat ? imageData.asShortBuffer() : null;
+    try {
+      ParallelRange.run(_pool, height, width * 4, (start, end) -> {
+        final byte[] planes = new byte[width * 4];
+        final float[] floatRow = _halfFloat ? null : new float[width * 3];
+        final short[] halfRow = _halfFloat ? new short[width * 3] : null;
+        for (int i = start; i < end; i++) {
+          try {
+            RGBE.readScanline(in, offsets[i], width, planes);
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          final int row = flipped ? height - i - 1 : i;
+          if (_halfFloat) {
+            RGBE.planes2half(planes, width, halfRow);
+            halfs.put(row * width * 3, halfRow);
+          } else {
+            RGBE.planes2float(planes, width, floatRow);
+            floats.put(row * width * 3, floatRow);
+          }
+        }
+      });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
 
     // Create the ardor3d.image.Image object
     final com.ardor3d.image.Image textureImage = new com.ardor3d.image.Image();
 
     textureImage.setDataFormat(ImageDataFormat.RGB);
-    textureImage.setDataType(PixelDataType.Float);
+    textureImage.setDataType(_halfFloat ? PixelDataType.HalfFloat : PixelDataType.Float);
     textureImage.setWidth(width);
     textureImage.setHeight(height);
     textureImage.setData(imageData);
 
     return textureImage;
   }
+
+  public boolean isHalfFloat() { return _halfFloat; }
+
+  /**
+   * @param halfFloat
+   *          true to load half float images, at half the size of float ones.
+   */
+  public void setHalfFloat(final boolean halfFloat) { _halfFloat = halfFloat; }
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool scanlines are decoded in, or null to decode on the calling thread. Defaults to
+   *          the common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
 }
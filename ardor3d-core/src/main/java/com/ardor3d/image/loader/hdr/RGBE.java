@@ -3,7 +3,9 @@ package com.ardor3d.image.loader.hdr;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -106,8 +108,39 @@ public class RGBE {
     }
   }
 
+  @FunctionalInterface
+  private interface LineReader {
+    String readLine() throws IOException;
+  }
+
   @SuppressWarnings("deprecation")
   public static Header readHeader(final DataInputStream in) throws IOException {
+    return readHeader(in::readLine);
+  }
+
+  /**
+   * Read a header from memory, leaving the position of the buffer at the pixel data.
+   */
+  public static Header readHeader(final ByteBuffer in) throws IOException {
+    return readHeader(() -> {
+      if (!in.hasRemaining()) {
+        return null;
+      }
+      final int start = in.position();
+      int end = start;
+      while (end < in.limit() && in.get(end) != '\n') {
+        end++;
+      }
+      final byte[] line = new byte[end - start];
+      in.get(line);
+      if (in.hasRemaining()) {
+        in.get(); // the newline
+      }
+      return new String(line, StandardCharsets.ISO_8859_1);
+    });
+  }
+
+  private static Header readHeader(final LineReader in) throws IOException {
     int valid = 0;
     String programType = null;
     float gamma = 1.0f;
@@ -271,6 +304,159 @@ public class RGBE {
     }
   }
 
+  /**
+   * Find where the scanline starting at the given offset ends, without decoding it.
+   *
+   * @param in
+   *          the pixel data.
+   * @param offset
+   *          the start of the scanline in our buffer.
+   * @param scanline_width
+   *          the number of pixels in a scanline.
+   * @return the offset of the next scanline.
+   * @throws IOException
+   *           if the scanline is malformed.
+   */
+  public static int skipScanline(final ByteBuffer in, final int offset, final int scanline_width) throws IOException {
+    if (!isRunLengthEncoded(in, offset, scanline_width)) {
+      return offset + 4 * scanline_width;
+    }
+    int pos = offset + 4;
+    for (int i = 0; i < 4; i++) {
+      int remaining = scanline_width;
+      while (remaining > 0) {
+        final int code = in.get(pos) & 0xFF;
+        final int count = code > 128 ? code - 128 : code;
+        if (count == 0 || count > remaining) {
+          throw new IOException("Bad scanline data");
+        }
+        pos += code > 128 ? 2 : 1 + count;
+        remaining -= count;
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * Decode one scanline, new style run length encoded or flat, into separate planes of red, green,
+   * blue and exponent bytes.
+   *
+   * @param in
+   *          the pixel data.
+   * @param offset
+   *          the start of the scanline in our buffer.
+   * @param scanline_width
+   *          the number of pixels in a scanline.
+   * @param planes
+   *          stores the four planes of the scanline, each scanline_width long.
+   * @throws IOException
+   *           if the scanline is malformed.
+   */
+  public static void readScanline(final ByteBuffer in, final int offset, final int scanline_width, final byte[] planes)
+      throws IOException {
+    if (!isRunLengthEncoded(in, offset, scanline_width)) {
+      for (int i = 0, pos = offset; i < scanline_width; i++, pos += 4) {
+        planes[i] = in.get(pos);
+        planes[i + scanline_width] = in.get(pos + 1);
+        planes[i + 2 * scanline_width] = in.get(pos + 2);
+        planes[i + 3 * scanline_width] = in.get(pos + 3);
+      }
+      return;
+    }
+    int pos = offset + 4;
+    int ptr = 0;
+    for (int i = 0; i < 4; i++) {
+      final int ptr_end = (i + 1) * scanline_width;
+      while (ptr < ptr_end) {
+        final int code = in.get(pos) & 0xFF;
+        if (code > 128) {
+          /* a run of the same value */
+          final int count = code - 128;
+          if (count > ptr_end - ptr) {
+            throw new IOException("Bad scanline data");
+          }
+          final byte value = in.get(pos + 1);
+          for (final int end = ptr + count; ptr < end; ptr++) {
+            planes[ptr] = value;
+          }
+          pos += 2;
+        } else {
+          /* a non-run */
+          if (code == 0 || code > ptr_end - ptr) {
+            throw new IOException("Bad scanline data");
+          }
+          in.get(pos + 1, planes, ptr, code);
+          ptr += code;
+          pos += 1 + code;
+        }
+      }
+    }
+  }
+
+  private static boolean isRunLengthEncoded(final ByteBuffer in, final int offset, final int scanline_width)
+      throws IOException {
+    if (scanline_width < 8 || scanline_width > 0x7fff || in.get(offset) != 2 || in.get(offset + 1) != 2
+        || (in.get(offset + 2) & 0x80) != 0) {
+      return false;
+    }
+    final int width = (in.get(offset + 2) & 0xFF) << 8 | in.get(offset + 3) & 0xFF;
+    if (width != scanline_width) {
+      throw new IOException("Wrong scanline width " + width + ", expected " + scanline_width);
+    }
+    return true;
+  }
+
+  /** 2^(e - 136) for each exponent byte, as in {@link #rgbe2float(float[], byte[], int)}; 0 for 0. */
+  private static final float[] EXPONENT_SCALE = new float[256];
+  static {
+    for (int e = 1; e < 256; e++) {
+      EXPONENT_SCALE[e] = Math.scalb(1f, e - (128 + 8));
+    }
+  }
+
+  /**
+   * Convert the planes of a scanline read by {@link #readScanline(ByteBuffer, int, int, byte[])} to
+   * interleaved RGB floats.
+   */
+  public static void planes2float(final byte[] planes, final int scanline_width, final float[] store) {
+    for (int i = 0; i < scanline_width; i++) {
+      final float f = EXPONENT_SCALE[planes[i + 3 * scanline_width] & 0xFF];
+      store[3 * i] = (planes[i] & 0xFF) * f;
+      store[3 * i + 1] = (planes[i + scanline_width] & 0xFF) * f;
+      store[3 * i + 2] = (planes[i + 2 * scanline_width] & 0xFF) * f;
+    }
+  }
+
+  /**
+   * Convert the planes of a scanline read by {@link #readScanline(ByteBuffer, int, int, byte[])} to
+   * interleaved RGB half floats, rounding to nearest even. Values too large become infinity.
+   */
+  public static void planes2half(final byte[] planes, final int scanline_width, final short[] store) {
+    for (int i = 0; i < scanline_width; i++) {
+      final float f = EXPONENT_SCALE[planes[i + 3 * scanline_width] & 0xFF];
+      store[3 * i] = positiveFloatToHalf((planes[i] & 0xFF) * f);
+      store[3 * i + 1] = positiveFloatToHalf((planes[i + scanline_width] & 0xFF) * f);
+      store[3 * i + 2] = positiveFloatToHalf((planes[i + 2 * scanline_width] & 0xFF) * f);
+    }
+  }
+
+  private static final int HALF_OVERFLOW = 127 + 16 << 23;
+  private static final int HALF_MIN_NORMAL = 127 - 14 << 23;
+  private static final float DENORM_MAGIC = Float.intBitsToFloat(127 - 15 + 23 - 10 + 1 << 23);
+  private static final int DENORM_MAGIC_BITS = Float.floatToRawIntBits(DENORM_MAGIC);
+
+  /**
+   * Without branches, so loops of it can be vectorized: both ways of rounding are computed and one
+   * picked. Only for finite values of 0 or more, which is all RGBE holds.
+   */
+  private static short positiveFloatToHalf(final float value) {
+    final int bits = Float.floatToRawIntBits(value);
+    // adding the magic number lines the mantissa up with a subnormal half and rounds it
+    final int subnormal = Float.floatToRawIntBits(value + DENORM_MAGIC) - DENORM_MAGIC_BITS;
+    final int normal = bits + (15 - 127 << 23) + 0xFFF + (bits >>> 13 & 1) >>> 13;
+    return (short) (bits >= HALF_OVERFLOW ? 0x7C00 : bits < HALF_MIN_NORMAL ? subnormal : normal);
+  }
+
   /** Standard conversion from float pixels to rgbe pixels. */
   public static void float2rgbe(final byte[] rgbe, final float red, final float green, final float blue) {
     float v;
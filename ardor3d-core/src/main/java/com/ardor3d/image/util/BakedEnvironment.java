@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.util.TextureManager;
+import com.ardor3d.util.export.binary.BinaryExporter;
+import com.ardor3d.util.export.binary.BinaryImporter;
+
+/**
+ * The image based lighting data made by {@link EnvironmentBaker}, which can be cached as a directory
+ * of binary Ardor3D images (.abi) and read back without baking again.
+ */
+public class BakedEnvironment {
+  public static final String IRRADIANCE_FILE = "irradiance.abi";
+  public static final String SPECULAR_FILE = "specular.abi";
+  public static final String BRDF_FILE = "brdf.abi";
+  public static final String SPHERICAL_HARMONICS_FILE = "sh.abi";
+
+  private final float[] _sphericalHarmonics;
+  private final Image _irradiance;
+  private final Image _specular;
+  private final Image _brdf;
+
+  public BakedEnvironment(final float[] sphericalHarmonics, final Image irradiance, final Image specular,
+      final Image brdf) {
+    if (sphericalHarmonics.length != EnvironmentBaker.SH_COEFFICIENTS * 3) {
+      throw new IllegalArgumentException("Expected " + EnvironmentBaker.SH_COEFFICIENTS + " RGB coefficients");
+    }
+    _sphericalHarmonics = sphericalHarmonics;
+    _irradiance = irradiance;
+    _specular = specular;
+    _brdf = brdf;
+  }
+
+  /**
+   * @return the irradiance as 9 RGB spherical harmonics coefficients.
+   * @see EnvironmentBaker#evaluateSphericalHarmonics(float[], double, double, double, float[])
+   */
+  public float[] getSphericalHarmonics() { return _sphericalHarmonics; }
+
+  /**
+   * @return the irradiance cube map image.
+   */
+  public Image getIrradiance() { return _irradiance; }
+
+  /**
+   * @return the prefiltered specular cube map image, roughness going up with the mip level.
+   */
+  public Image getSpecular() { return _specular; }
+
+  /**
+   * @return the BRDF lookup table image.
+   */
+  public Image getBrdf() { return _brdf; }
+
+  public Texture createIrradianceTexture() {
+    return texture(_irradiance, Texture.MinificationFilter.BilinearNoMipMaps);
+  }
+
+  public Texture createSpecularTexture() {
+    return texture(_specular, Texture.MinificationFilter.Trilinear);
+  }
+
+  public Texture createBrdfTexture() {
+    return texture(_brdf, Texture.MinificationFilter.BilinearNoMipMaps);
+  }
+
+  private static Texture texture(final Image image, final Texture.MinificationFilter minFilter) {
+    final Texture texture = TextureManager.loadFromImage(image, minFilter);
+    texture.setWrap(Texture.WrapMode.EdgeClamp);
+    return texture;
+  }
+
+  /**
+   * Write our images to a directory, creating it if needed.
+   *
+   * @param directory
+   *          the directory to write to.
+   * @throws IOException
+   *           if the files can not be written.
+   */
+  public void save(final File directory) throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Unable to create directory " + directory);
+    }
+    final ByteBuffer coefficients = BufferUtils.createByteBuffer(_sphericalHarmonics.length * 4);
+    for (final float value : _sphericalHarmonics) {
+      coefficients.putFloat(value);
+    }
+    coefficients.flip();
+
+    final BinaryExporter exporter = new BinaryExporter();
+    exporter.save(new Image(ImageDataFormat.RGB, PixelDataType.Float, EnvironmentBaker.SH_COEFFICIENTS, 1,
+        coefficients, null), new File(directory, SPHERICAL_HARMONICS_FILE));
+    exporter.save(_irradiance, new File(directory, IRRADIANCE_FILE));
+    exporter.save(_specular, new File(directory, SPECULAR_FILE));
+    exporter.save(_brdf, new File(directory, BRDF_FILE));
+  }
+
+  /**
+   * @param directory
+   *          a directory written by {@link #save(File)}.
+   * @return true if the directory holds all the files of a saved environment.
+   */
+  public static boolean exists(final File directory) {
+    for (final String name : new String[] {SPHERICAL_HARMONICS_FILE, IRRADIANCE_FILE, SPECULAR_FILE, BRDF_FILE}) {
+      if (!new File(directory, name).isFile()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Read back an environment written by {@link #save(File)}.
+   *
+   * @param directory
+   *          the directory to read from.
+   * @return the environment.
+   * @throws IOException
+   *           if the files can not be read.
+   */
+  public static BakedEnvironment load(final File directory) throws IOException {
+    final BinaryImporter importer = new BinaryImporter();
+    final ByteBuffer coefficients = read(importer, directory, SPHERICAL_HARMONICS_FILE).getData(0);
+    final float[] sh = new float[EnvironmentBaker.SH_COEFFICIENTS * 3];
+    for (int i = 0; i < sh.length; i++) {
+      sh[i] = coefficients.getFloat(i * 4);
+    }
+    return new BakedEnvironment(sh, read(importer, directory, IRRADIANCE_FILE),
+        read(importer, directory, SPECULAR_FILE), read(importer, directory, BRDF_FILE));
+  }
+
+  private static Image read(final BinaryImporter importer, final File directory, final String name)
+      throws IOException {
+    if (importer.load(new File(directory, name)) instanceof Image image) {
+      return image;
+    }
+    throw new IOException(name + " in " + directory + " is not an image");
+  }
+}
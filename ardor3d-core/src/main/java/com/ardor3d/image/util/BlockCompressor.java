@@ -0,0 +1,423 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.loader.ImageLoaderUtil;
+import com.ardor3d.util.resource.ImportCache;
+import com.ardor3d.util.resource.ResourceSource;
+
+/**
+ * Compresses images into the BC (S3TC / RGTC / BPTC) block formats on the CPU, so textures can be
+ * shipped as plain images and still use compressed formats on the card. For example:
+ *
+ * <pre>
+ * final BlockCompressor compressor = new BlockCompressor();
+ * compressor.setMipMapGenerator(new MipMapGenerator());
+ * final Image compressed = compressor.load(cache, source, true, BlockCompressor.Format.BC7);
+ * </pre>
+ * <p>
+ * Compressing takes a while, so {@link #load(ImportCache, ResourceSource, boolean, Format)} keeps the
+ * result in an {@link ImportCache}, and each source is only compressed once. Rows of blocks are
+ * compressed in parallel in our ForkJoinPool.
+ * </p>
+ * <p>
+ * The source image must hold unsigned bytes in one of the RGBA, BGRA, RGB, BGR, RG, Red, Green, Blue
+ * or Alpha formats. Any mipmaps it has are compressed as well.
+ * </p>
+ */
+public class BlockCompressor {
+
+  /**
+   * The block formats we compress to.
+   */
+  public enum Format {
+    /** Opaque RGB, 4 bits per texel. */
+    BC1(ImageDataFormat.PrecompressedDXT1, 8),
+
+    /** RGB with 1 bit alpha, 4 bits per texel. Texels with alpha below 128 become transparent black. */
+    BC1A(ImageDataFormat.PrecompressedDXT1A, 8),
+
+    /** RGB with smooth alpha, 8 bits per texel. */
+    BC3(ImageDataFormat.PrecompressedDXT5, 16),
+
+    /** One channel, 4 bits per texel: red, or alpha for Alpha images. Decoded as luminance. */
+    BC4(ImageDataFormat.PrecompressedLATC_L, 8),
+
+    /** Two channels, 8 bits per texel: red and green. Decoded as luminance and alpha. */
+    BC5(ImageDataFormat.PrecompressedLATC_LA, 16),
+
+    /** RGBA, 8 bits per texel, at higher quality than BC1 or BC3. */
+    BC7(ImageDataFormat.PrecompressedBPTC, 16);
+
+    private final ImageDataFormat _dataFormat;
+    private final int _blockBytes;
+
+    Format(final ImageDataFormat dataFormat, final int blockBytes) {
+      _dataFormat = dataFormat;
+      _blockBytes = blockBytes;
+    }
+
+    public ImageDataFormat getDataFormat() { return _dataFormat; }
+
+    /**
+     * @return the size in bytes of each 4x4 block.
+     */
+    public int getBlockBytes() { return _blockBytes; }
+  }
+
+  /**
+   * How hard to look for good block endpoints.
+   */
+  public enum Quality {
+    /** A single fit along each block's principal axis. */
+    Fast,
+
+    /** Refine each fit by least squares and try the alternative block modes. Several times slower. */
+    High
+  }
+
+  protected Quality _quality = Quality.High;
+
+  protected MipMapGenerator _mipMapGenerator;
+
+  protected ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  public Quality getQuality() { return _quality; }
+
+  public void setQuality(final Quality quality) {
+    if (quality == null) {
+      throw new IllegalArgumentException("quality must not be null");
+    }
+    _quality = quality;
+  }
+
+  public MipMapGenerator getMipMapGenerator() { return _mipMapGenerator; }
+
+  /**
+   * @param generator
+   *          if not null, used to generate mipmaps for images that have none before compressing them.
+   */
+  public void setMipMapGenerator(final MipMapGenerator generator) { _mipMapGenerator = generator; }
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool to compress in, or null to compress on the calling thread.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  /**
+   * @return the size in bytes of a level of the given dimensions, compressed to the given format.
+   */
+  public static int getCompressedSize(final int width, final int height, final Format format) {
+    return (width + 3 >> 2) * (height + 3 >> 2) * format.getBlockBytes();
+  }
+
+  /**
+   * Compress an image.
+   *
+   * @param image
+   *          the image to compress.
+   * @param format
+   *          the block format to compress to.
+   * @return a new image in the format's data format, with the same number of levels and buffers.
+   * @throws IllegalArgumentException
+   *           if the image's format or data type is not supported.
+   */
+  public Image compress(Image image, final Format format) {
+    final int[] channels = getChannelMap(image);
+    if (_mipMapGenerator != null && !image.hasMipmaps()) {
+      image = _mipMapGenerator.generate(image);
+    }
+
+    final int components = image.getDataFormat().getComponents();
+    final int[] sourceSizes = image.hasMipmaps() ? image.getMipMapByteSizes()
+        : new int[] {image.getWidth() * image.getHeight() * components};
+    final int levels = sourceSizes.length;
+    final int[] sizes = new int[levels];
+    int total = 0;
+    for (int m = 0; m < levels; m++) {
+      sizes[m] = getCompressedSize(Math.max(1, image.getWidth() >> m), Math.max(1, image.getHeight() >> m), format);
+      total += sizes[m];
+    }
+
+    // BC4 takes alpha from alpha images, red otherwise
+    final int singleChannel = image.getDataFormat() == ImageDataFormat.Alpha ? 3 : 0;
+    final boolean high = _quality == Quality.High;
+    final List<ByteBuffer> data = new ArrayList<>(image.getDataSize());
+    for (int i = 0; i < image.getDataSize(); i++) {
+      final ByteBuffer source = image.getData(i);
+      final ByteBuffer store = BufferUtils.createByteBuffer(total);
+      int sourceOffset = 0, storeOffset = 0;
+      for (int m = 0; m < levels; m++) {
+        final int width = Math.max(1, image.getWidth() >> m), height = Math.max(1, image.getHeight() >> m);
+        final int blocksX = width + 3 >> 2, blocksY = height + 3 >> 2;
+        final int levelSource = sourceOffset, levelStore = storeOffset;
+        ParallelRange.run(_pool, blocksY, blocksX * (high ? 4096 : 1024), (start, end) -> {
+          final BlockEncoder encoder = new BlockEncoder(high);
+          final int[] px = new int[16 * 4];
+          final byte[] block = new byte[16];
+          for (int by = start; by < end; by++) {
+            for (int bx = 0; bx < blocksX; bx++) {
+              readBlock(source, levelSource, width, height, components, channels, bx * 4, by * 4, px);
+              switch (format) {
+                case BC1:
+                  encoder.encodeBc1(px, false, false, block, 0);
+                  break;
+                case BC1A:
+                  encoder.encodeBc1(px, true, false, block, 0);
+                  break;
+                case BC3:
+                  encoder.encodeBc4(px, 3, block, 0);
+                  encoder.encodeBc1(px, false, true, block, 8);
+                  break;
+                case BC4:
+                  encoder.encodeBc4(px, singleChannel, block, 0);
+                  break;
+                case BC5:
+                  encoder.encodeBc4(px, 0, block, 0);
+                  encoder.encodeBc4(px, 1, block, 8);
+                  break;
+                case BC7:
+                  encoder.encodeBc7(px, block, 0);
+                  break;
+              }
+              store.put(levelStore + (by * blocksX + bx) * format.getBlockBytes(), block, 0,
+                  format.getBlockBytes());
+            }
+          }
+        });
+        sourceOffset += sourceSizes[m];
+        storeOffset += sizes[m];
+      }
+      data.add(store);
+    }
+
+    final Image result = new Image(format.getDataFormat(), PixelDataType.UnsignedByte, image.getWidth(),
+        image.getHeight(), data, levels > 1 ? sizes : null);
+    result.setDepth(image.getDepth());
+    return result;
+  }
+
+  /**
+   * Load an image and compress it, or read the compressed result of an earlier load from a cache.
+   *
+   * @param cache
+   *          the cache to keep the compressed image in.
+   * @param source
+   *          the image to load.
+   * @param flipped
+   *          whether to flip the image vertically while loading.
+   * @param format
+   *          the block format to compress to.
+   * @return the compressed image.
+   * @throws IOException
+   *           if the source can not be read or decoded.
+   */
+  public Image load(final ImportCache cache, final ResourceSource source, final boolean flipped,
+      final Format format) throws IOException {
+    final String settings = getClass().getName() + " format=" + format + " quality=" + _quality + " flipped="
+        + flipped + " mipmaps=" + (_mipMapGenerator != null ? describe(_mipMapGenerator) : "none");
+    return cache.load(source, settings, s -> {
+      final Image image = ImageLoaderUtil.loadImage(s, flipped);
+      if (image == null) {
+        throw new IOException("Unable to load image: " + s.getName());
+      }
+      return compress(image, format);
+    });
+  }
+
+  private static String describe(final MipMapGenerator generator) {
+    return generator.getFilter() + "/" + generator.isSrgb() + "/" + generator.isWrap() + "/"
+        + (generator.isPreserveAlphaCoverage() ? generator.getAlphaCutoff() : "-");
+  }
+
+  /**
+   * Decode a compressed image back to RGBA bytes, for example to measure the quality of
+   * {@link #compress(Image, Format)}. BC4 and BC5 images decode as luminance and luminance-alpha, as
+   * on the card. Of BC7, only the mode 5 and 6 blocks we write are decoded.
+   *
+   * @return a new RGBA image with the same number of levels and buffers.
+   * @throws IllegalArgumentException
+   *           if the image is not in a format we decode.
+   */
+  public Image decompress(final Image image) {
+    final ImageDataFormat format = image.getDataFormat();
+    final int blockBytes;
+    switch (format) {
+      case PrecompressedDXT1:
+      case PrecompressedDXT1A:
+      case PrecompressedLATC_L:
+        blockBytes = 8;
+        break;
+      case PrecompressedDXT3:
+      case PrecompressedDXT5:
+      case PrecompressedLATC_LA:
+      case PrecompressedBPTC:
+        blockBytes = 16;
+        break;
+      default:
+        throw new IllegalArgumentException("Can not decompress format " + format);
+    }
+
+    final int levels = image.hasMipmaps() ? image.getMipMapByteSizes().length : 1;
+    final int[] sizes = new int[levels];
+    int total = 0;
+    for (int m = 0; m < levels; m++) {
+      sizes[m] = Math.max(1, image.getWidth() >> m) * Math.max(1, image.getHeight() >> m) * 4;
+      total += sizes[m];
+    }
+
+    final List<ByteBuffer> data = new ArrayList<>(image.getDataSize());
+    for (int i = 0; i < image.getDataSize(); i++) {
+      final ByteBuffer source = image.getData(i);
+      final ByteBuffer store = BufferUtils.createByteBuffer(total);
+      int sourceOffset = 0, storeOffset = 0;
+      for (int m = 0; m < levels; m++) {
+        final int width = Math.max(1, image.getWidth() >> m), height = Math.max(1, image.getHeight() >> m);
+        final int blocksX = width + 3 >> 2, blocksY = height + 3 >> 2;
+        final int levelSource = sourceOffset, levelStore = storeOffset;
+        ParallelRange.run(_pool, blocksY, blocksX * 256, (start, end) -> {
+          final BlockDecoder decoder = new BlockDecoder();
+          final int[] px = new int[16 * 4];
+          for (int by = start; by < end; by++) {
+            for (int bx = 0; bx < blocksX; bx++) {
+              final int off = levelSource + (by * blocksX + bx) * blockBytes;
+              decodeBlock(decoder, format, source, off, px);
+              writeBlock(store, levelStore, width, height, bx * 4, by * 4, px);
+            }
+          }
+        });
+        sourceOffset += blocksX * blocksY * blockBytes;
+        storeOffset += sizes[m];
+      }
+      data.add(store);
+    }
+
+    final Image result = new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, image.getWidth(),
+        image.getHeight(), data, levels > 1 ? sizes : null);
+    result.setDepth(image.getDepth());
+    return result;
+  }
+
+  private static void decodeBlock(final BlockDecoder decoder, final ImageDataFormat format, final ByteBuffer source,
+      final int off, final int[] px) {
+    switch (format) {
+      case PrecompressedDXT1:
+        decoder.decodeBc1(source, off, false, px);
+        for (int i = 0; i < 16; i++) {
+          px[i * 4 + 3] = 255;
+        }
+        break;
+      case PrecompressedDXT1A:
+        decoder.decodeBc1(source, off, false, px);
+        break;
+      case PrecompressedDXT3:
+        decoder.decodeBc1(source, off + 8, true, px);
+        decoder.decodeBc2Alpha(source, off, px);
+        break;
+      case PrecompressedDXT5:
+        decoder.decodeBc1(source, off + 8, true, px);
+        decoder.decodeBc4(source, off, 3, px);
+        break;
+      case PrecompressedLATC_L:
+        decoder.decodeBc4(source, off, 0, px);
+        for (int i = 0; i < 16; i++) {
+          px[i * 4 + 1] = px[i * 4 + 2] = px[i * 4];
+          px[i * 4 + 3] = 255;
+        }
+        break;
+      case PrecompressedLATC_LA:
+        decoder.decodeBc4(source, off, 0, px);
+        decoder.decodeBc4(source, off + 8, 3, px);
+        for (int i = 0; i < 16; i++) {
+          px[i * 4 + 1] = px[i * 4 + 2] = px[i * 4];
+        }
+        break;
+      default:
+        decoder.decodeBc7(source, off, px);
+        break;
+    }
+  }
+
+  /**
+   * @return for each of R, G, B and A, the byte of a source texel holding it, or -1 if the source
+   *         has no such channel.
+   */
+  private static int[] getChannelMap(final Image image) {
+    if (image.getDataType() != PixelDataType.UnsignedByte) {
+      throw new IllegalArgumentException("Can only compress unsigned byte images, not " + image.getDataType());
+    }
+    switch (image.getDataFormat()) {
+      case RGBA:
+        return new int[] {0, 1, 2, 3};
+      case BGRA:
+        return new int[] {2, 1, 0, 3};
+      case RGB:
+        return new int[] {0, 1, 2, -1};
+      case BGR:
+        return new int[] {2, 1, 0, -1};
+      case RG:
+        return new int[] {0, 1, -1, -1};
+      case Red:
+        return new int[] {0, -1, -1, -1};
+      case Green:
+        return new int[] {-1, 0, -1, -1};
+      case Blue:
+        return new int[] {-1, -1, 0, -1};
+      case Alpha:
+        return new int[] {-1, -1, -1, 0};
+      default:
+        throw new IllegalArgumentException("Can not compress format " + image.getDataFormat());
+    }
+  }
+
+  /**
+   * Read the 4x4 block at x, y as RGBA, repeating the last row and column where it crosses the edge.
+   */
+  private static void readBlock(final ByteBuffer source, final int offset, final int width, final int height,
+      final int components, final int[] channels, final int x, final int y, final int[] px) {
+    for (int j = 0; j < 4; j++) {
+      final int sy = Math.min(y + j, height - 1);
+      for (int i = 0; i < 4; i++) {
+        final int sx = Math.min(x + i, width - 1);
+        final int texel = offset + (sy * width + sx) * components;
+        for (int c = 0; c < 4; c++) {
+          final int channel = channels[c];
+          px[(j * 4 + i) * 4 + c] = channel >= 0 ? source.get(texel + channel) & 0xFF : c == 3 ? 255 : 0;
+        }
+      }
+    }
+  }
+
+  private static void writeBlock(final ByteBuffer store, final int offset, final int width, final int height,
+      final int x, final int y, final int[] px) {
+    for (int j = 0; j < 4 && y + j < height; j++) {
+      for (int i = 0; i < 4 && x + i < width; i++) {
+        final int texel = offset + ((y + j) * width + x + i) * 4;
+        for (int c = 0; c < 4; c++) {
+          store.put(texel + c, (byte) px[(j * 4 + i) * 4 + c]);
+        }
+      }
+    }
+  }
+}
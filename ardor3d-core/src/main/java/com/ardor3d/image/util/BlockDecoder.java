@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes single 4x4 blocks for {@link BlockCompressor#decompress(com.ardor3d.image.Image)}, into 16
+ * texels of RGBA values from 0 to 255. A decoder holds scratch space, so each thread uses its own.
+ */
+final class BlockDecoder {
+
+  private final int[] _palette = new int[16 * 4];
+  private final int[] _values = new int[16];
+  private final int[] _q0 = new int[4], _q1 = new int[4];
+
+  /**
+   * Decode the color of a BC1 block, or of the color part of a BC2 or BC3 block.
+   *
+   * @param fourColorOnly
+   *          true for BC2 and BC3, which always use four color mode.
+   */
+  void decodeBc1(final ByteBuffer src, final int off, final boolean fourColorOnly, final int[] px) {
+    final int c0 = ushort(src, off), c1 = ushort(src, off + 2);
+    final int bits = uint(src, off + 4);
+    BlockEncoder.bc1Palette(c0, c1, fourColorOnly || c0 > c1, _palette);
+    for (int i = 0; i < 16; i++) {
+      final int k = bits >>> (i * 2) & 3;
+      System.arraycopy(_palette, k * 4, px, i * 4, 4);
+    }
+  }
+
+  /**
+   * Decode a BC4 block into one channel of the texels.
+   */
+  void decodeBc4(final ByteBuffer src, final int off, final int channel, final int[] px) {
+    BlockEncoder.bc4Palette(src.get(off) & 0xFF, src.get(off + 1) & 0xFF, _values);
+    long bits = 0;
+    for (int i = 0; i < 6; i++) {
+      bits |= (long) (src.get(off + 2 + i) & 0xFF) << (i * 8);
+    }
+    for (int i = 0; i < 16; i++) {
+      px[i * 4 + channel] = _values[(int) (bits >>> (i * 3) & 7)];
+    }
+  }
+
+  /**
+   * Decode the explicit 4 bit alpha of a BC2 block.
+   */
+  void decodeBc2Alpha(final ByteBuffer src, final int off, final int[] px) {
+    for (int i = 0; i < 16; i++) {
+      final int a = (src.get(off + i / 2) & 0xFF) >> (i % 2 * 4) & 0xF;
+      px[i * 4 + 3] = a << 4 | a;
+    }
+  }
+
+  /**
+   * Decode a BC7 block.
+   *
+   * @throws IllegalArgumentException
+   *           if the block uses a mode other than 5 or 6.
+   */
+  void decodeBc7(final ByteBuffer src, final int off, final int[] px) {
+    long lo = 0, hi = 0;
+    for (int i = 0; i < 8; i++) {
+      lo |= (long) (src.get(off + i) & 0xFF) << (i * 8);
+      hi |= (long) (src.get(off + 8 + i) & 0xFF) << (i * 8);
+    }
+    if ((lo & 0x7F) == 1 << 6) {
+      int bit = 7;
+      for (int c = 0; c < 4; c++) {
+        _q0[c] = bits(lo, hi, bit, 7);
+        _q1[c] = bits(lo, hi, bit + 7, 7);
+        bit += 14;
+      }
+      final int p0 = bits(lo, hi, bit++, 1), p1 = bits(lo, hi, bit++, 1);
+      BlockEncoder.bc7Palette(_q0, p0, _q1, p1, _palette);
+      for (int i = 0; i < 16; i++) {
+        final int count = i == 0 ? 3 : 4;
+        final int k = bits(lo, hi, bit, count);
+        bit += count;
+        System.arraycopy(_palette, k * 4, px, i * 4, 4);
+      }
+    } else if ((lo & 0x3F) == 1 << 5 && (lo >> 6 & 3) == 0) {
+      int bit = 8;
+      for (int c = 0; c < 3; c++) {
+        _q0[c] = bits(lo, hi, bit, 7);
+        _q1[c] = bits(lo, hi, bit + 7, 7);
+        bit += 14;
+      }
+      final int a0 = bits(lo, hi, bit, 8), a1 = bits(lo, hi, bit + 8, 8);
+      bit += 16;
+      BlockEncoder.mode5ColorPalette(_q0, _q1, _palette);
+      for (int i = 0; i < 16; i++) {
+        final int count = i == 0 ? 1 : 2;
+        final int k = bits(lo, hi, bit, count);
+        bit += count;
+        System.arraycopy(_palette, k * 4, px, i * 4, 3);
+      }
+      for (int i = 0; i < 16; i++) {
+        final int count = i == 0 ? 1 : 2;
+        px[i * 4 + 3] = BlockEncoder.mode5Interpolate(a0, a1, bits(lo, hi, bit, count));
+        bit += count;
+      }
+    } else {
+      throw new IllegalArgumentException("Only BC7 mode 5 blocks without rotation and mode 6 blocks can be decoded.");
+    }
+  }
+
+  private static int bits(final long lo, final long hi, final int start, final int count) {
+    int value = 0;
+    for (int i = 0; i < count; i++) {
+      final int b = start + i;
+      final long bit = b < 64 ? lo >>> b : hi >>> (b - 64);
+      value |= (int) (bit & 1) << i;
+    }
+    return value;
+  }
+
+  private static int ushort(final ByteBuffer src, final int off) {
+    return src.get(off) & 0xFF | (src.get(off + 1) & 0xFF) << 8;
+  }
+
+  private static int uint(final ByteBuffer src, final int off) {
+    return ushort(src, off) | ushort(src, off + 2) << 16;
+  }
+}
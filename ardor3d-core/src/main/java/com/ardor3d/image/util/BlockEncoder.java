@@ -0,0 +1,848 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+/**
+ * Encodes single 4x4 blocks of texels for {@link BlockCompressor}. Blocks are given as 16 texels of
+ * RGBA values from 0 to 255, row by row. An encoder holds scratch space, so each thread uses its own.
+ * <p>
+ * Endpoints are fitted along the principal axis of the block's colors. In high quality mode they are
+ * then refined by least squares against the chosen indices, and the alternative block modes are
+ * tried as well.
+ * </p>
+ */
+final class BlockEncoder {
+
+  /** BC7 interpolation weights for 4 bit indices, out of 64. */
+  static final int[] BC7_WEIGHTS = {0, 4, 9, 13, 17, 21, 26, 30, 34, 38, 43, 47, 51, 55, 60, 64};
+
+  /** BC7 interpolation weights for 2 bit indices, out of 64. */
+  static final int[] MODE5_WEIGHTS = {0, 21, 43, 64};
+
+  /** Position along the endpoint line of each BC1 index, four color mode. NaN means not on the line. */
+  private static final float[] BC1_FOUR_T = {0f, 1f, 1f / 3f, 2f / 3f};
+  private static final float[] BC1_THREE_T = {0f, 1f, 0.5f, Float.NaN};
+  private static final float[] BC4_EIGHT_T = {0f, 1f, 1f / 7f, 2f / 7f, 3f / 7f, 4f / 7f, 5f / 7f, 6f / 7f};
+  private static final float[] BC7_T = new float[16];
+  private static final float[] MODE5_T = new float[4];
+  static {
+    for (int i = 0; i < 16; i++) {
+      BC7_T[i] = BC7_WEIGHTS[i] / 64f;
+    }
+    for (int i = 0; i < 4; i++) {
+      MODE5_T[i] = MODE5_WEIGHTS[i] / 64f;
+    }
+  }
+
+  private final boolean _high;
+
+  // scratch
+  private final boolean[] _transparent = new boolean[16];
+  private final int[] _indices = new int[16];
+  private final int[] _bestIndices = new int[16];
+  private final int[] _alphaIndices = new int[16];
+  private final byte[] _block = new byte[16];
+  private final int[] _palette = new int[16 * 4];
+  private final int[] _values = new int[16];
+  private final float[] _e0 = new float[4], _e1 = new float[4];
+  private final float[] _mean = new float[4], _axis = new float[4];
+  private final float[] _d0 = new float[4], _d1 = new float[4];
+  private final float[] _cov = new float[16];
+  private final int[] _q0 = new int[4], _q1 = new int[4];
+  private final int[] _bestQ0 = new int[4], _bestQ1 = new int[4];
+  private long _lo, _hi;
+  private int _bit;
+
+  BlockEncoder(final boolean high) {
+    _high = high;
+  }
+
+  // ---------------------------------------------------------------- BC1
+
+  /**
+   * Encode the color of a block as an 8 byte BC1 block.
+   *
+   * @param punchThrough
+   *          true to encode texels with alpha below 128 as transparent (BC1 with alpha).
+   * @param fourColorOnly
+   *          true for the color part of BC2 and BC3 blocks, which are always decoded in four color
+   *          mode.
+   */
+  void encodeBc1(final int[] px, final boolean punchThrough, final boolean fourColorOnly, final byte[] out,
+      final int off) {
+    int opaque = 16;
+    for (int i = 0; i < 16; i++) {
+      _transparent[i] = punchThrough && px[i * 4 + 3] < 128;
+      if (_transparent[i]) {
+        opaque--;
+      }
+    }
+    if (opaque == 0) {
+      // three color mode, all transparent
+      writeBc1(0, 0, -1, out, off);
+      return;
+    }
+
+    principalAxisEndpoints(px, 3, _transparent);
+    int best = Integer.MAX_VALUE, bestC0 = 0, bestC1 = 0;
+    final int passes = _high ? 3 : 1;
+    for (int pass = 0; pass < passes; pass++) {
+      final int c0 = to565(_e0), c1 = to565(_e1);
+
+      // four color mode needs c0 > c1, three color mode c0 <= c1
+      if (!punchThrough) {
+        final int hi = Math.max(c0, c1), lo = Math.min(c0, c1);
+        final boolean four = fourColorOnly || hi != lo;
+        final int err = fitBc1(px, hi, lo, four, punchThrough);
+        if (err < best) {
+          best = err;
+          bestC0 = hi;
+          bestC1 = lo;
+          System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+        }
+      }
+      if (punchThrough || _high && !fourColorOnly) {
+        final int hi = Math.max(c0, c1), lo = Math.min(c0, c1);
+        final int err = fitBc1(px, lo, hi, false, punchThrough);
+        if (err < best) {
+          best = err;
+          bestC0 = lo;
+          bestC1 = hi;
+          System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+        }
+      }
+      if (best == 0 || pass == passes - 1) {
+        break;
+      }
+      // refine the endpoints against the best indices so far
+      final boolean four = fourColorOnly || bestC0 > bestC1;
+      if (!leastSquares(px, 3, _bestIndices, four ? BC1_FOUR_T : BC1_THREE_T)) {
+        break;
+      }
+      if (!four && bestC0 < bestC1) {
+        // keep the refined line in the orientation of the three color mode
+        for (int c = 0; c < 3; c++) {
+          final float t = _e0[c];
+          _e0[c] = _e1[c];
+          _e1[c] = t;
+        }
+      }
+    }
+
+    int bits = 0;
+    for (int i = 0; i < 16; i++) {
+      bits |= _bestIndices[i] << (i * 2);
+    }
+    writeBc1(bestC0, bestC1, bits, out, off);
+  }
+
+  private static void writeBc1(final int c0, final int c1, final int bits, final byte[] out, final int off) {
+    out[off] = (byte) c0;
+    out[off + 1] = (byte) (c0 >> 8);
+    out[off + 2] = (byte) c1;
+    out[off + 3] = (byte) (c1 >> 8);
+    out[off + 4] = (byte) bits;
+    out[off + 5] = (byte) (bits >> 8);
+    out[off + 6] = (byte) (bits >> 16);
+    out[off + 7] = (byte) (bits >> 24);
+  }
+
+  /**
+   * Pick the nearest palette entry for each texel.
+   *
+   * @return the squared RGB error.
+   */
+  private int fitBc1(final int[] px, final int c0, final int c1, final boolean four, final boolean punchThrough) {
+    bc1Palette(c0, c1, four, _palette);
+    // in three color mode, index 3 is black, or transparent with punch through alpha
+    final int entries = four || !punchThrough ? 4 : 3;
+    int total = 0;
+    for (int i = 0; i < 16; i++) {
+      if (_transparent[i]) {
+        _indices[i] = 3;
+        continue;
+      }
+      final int r = px[i * 4], g = px[i * 4 + 1], b = px[i * 4 + 2];
+      int best = Integer.MAX_VALUE, bestIndex = 0;
+      for (int k = 0; k < entries; k++) {
+        final int dr = r - _palette[k * 4], dg = g - _palette[k * 4 + 1], db = b - _palette[k * 4 + 2];
+        final int err = dr * dr + dg * dg + db * db;
+        if (err < best) {
+          best = err;
+          bestIndex = k;
+        }
+      }
+      _indices[i] = bestIndex;
+      total += best;
+    }
+    return total;
+  }
+
+  /**
+   * Fill the four RGBA palette entries of a BC1 block.
+   */
+  static void bc1Palette(final int c0, final int c1, final boolean four, final int[] palette) {
+    expand565(c0, palette, 0);
+    expand565(c1, palette, 4);
+    for (int c = 0; c < 3; c++) {
+      final int a = palette[c], b = palette[4 + c];
+      if (four) {
+        palette[8 + c] = (2 * a + b) / 3;
+        palette[12 + c] = (a + 2 * b) / 3;
+      } else {
+        palette[8 + c] = (a + b) / 2;
+        palette[12 + c] = 0;
+      }
+    }
+    palette[3] = palette[7] = palette[11] = 255;
+    palette[15] = four ? 255 : 0;
+  }
+
+  static void expand565(final int color, final int[] store, final int offset) {
+    final int r = color >> 11 & 0x1F, g = color >> 5 & 0x3F, b = color & 0x1F;
+    store[offset] = r << 3 | r >> 2;
+    store[offset + 1] = g << 2 | g >> 4;
+    store[offset + 2] = b << 3 | b >> 2;
+  }
+
+  private static int to565(final float[] color) {
+    final int r = clamp((int) (color[0] * 31f / 255f + 0.5f), 0, 31);
+    final int g = clamp((int) (color[1] * 63f / 255f + 0.5f), 0, 63);
+    final int b = clamp((int) (color[2] * 31f / 255f + 0.5f), 0, 31);
+    return r << 11 | g << 5 | b;
+  }
+
+  // ---------------------------------------------------------------- BC4
+
+  /**
+   * Encode one channel of a block as an 8 byte BC4 block, as also used for the alpha of BC3 and each
+   * channel of BC5.
+   */
+  void encodeBc4(final int[] px, final int channel, final byte[] out, final int off) {
+    int min = 255, max = 0;
+    for (int i = 0; i < 16; i++) {
+      final int v = px[i * 4 + channel];
+      _values[i] = v;
+      min = Math.min(min, v);
+      max = Math.max(max, v);
+    }
+    if (min == max) {
+      writeBc4(max, max, 0L, out, off);
+      return;
+    }
+
+    int best = fitBc4(max, min);
+    int bestA0 = max, bestA1 = min;
+    System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+    if (_high) {
+      // refine the eight value mode endpoints against the chosen indices
+      for (int pass = 0; pass < 2 && best > 0; pass++) {
+        if (!leastSquares(_values, _bestIndices, BC4_EIGHT_T)) {
+          break;
+        }
+        final int a0 = clamp(Math.round(_e0[0]), 0, 255), a1 = clamp(Math.round(_e1[0]), 0, 255);
+        if (a0 == a1) {
+          break;
+        }
+        final int err = fitBc4(Math.max(a0, a1), Math.min(a0, a1));
+        if (err >= best) {
+          break;
+        }
+        best = err;
+        bestA0 = Math.max(a0, a1);
+        bestA1 = Math.min(a0, a1);
+        System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+      }
+
+      // six value mode, with exact 0 and 255 for the extremes
+      int min6 = 255, max6 = 0;
+      for (int i = 0; i < 16; i++) {
+        final int v = _values[i];
+        if (v != 0 && v != 255) {
+          min6 = Math.min(min6, v);
+          max6 = Math.max(max6, v);
+        }
+      }
+      if (min6 > max6) {
+        min6 = max6 = min;
+      }
+      final int err = fitBc4(min6, max6);
+      if (err < best) {
+        best = err;
+        bestA0 = min6;
+        bestA1 = max6;
+        System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+      }
+    }
+
+    long bits = 0;
+    for (int i = 0; i < 16; i++) {
+      bits |= (long) _bestIndices[i] << (i * 3);
+    }
+    writeBc4(bestA0, bestA1, bits, out, off);
+  }
+
+  private static void writeBc4(final int a0, final int a1, final long bits, final byte[] out, final int off) {
+    out[off] = (byte) a0;
+    out[off + 1] = (byte) a1;
+    for (int i = 0; i < 6; i++) {
+      out[off + 2 + i] = (byte) (bits >>> (i * 8));
+    }
+  }
+
+  private int fitBc4(final int a0, final int a1) {
+    bc4Palette(a0, a1, _palette);
+    int total = 0;
+    for (int i = 0; i < 16; i++) {
+      final int v = _values[i];
+      int best = Integer.MAX_VALUE, bestIndex = 0;
+      for (int k = 0; k < 8; k++) {
+        final int d = v - _palette[k];
+        if (d * d < best) {
+          best = d * d;
+          bestIndex = k;
+        }
+      }
+      _indices[i] = bestIndex;
+      total += best;
+    }
+    return total;
+  }
+
+  /**
+   * Fill the eight palette values of a BC4 block.
+   */
+  static void bc4Palette(final int a0, final int a1, final int[] palette) {
+    palette[0] = a0;
+    palette[1] = a1;
+    if (a0 > a1) {
+      for (int k = 1; k < 7; k++) {
+        palette[k + 1] = ((7 - k) * a0 + k * a1 + 3) / 7;
+      }
+    } else {
+      for (int k = 1; k < 5; k++) {
+        palette[k + 1] = ((5 - k) * a0 + k * a1 + 2) / 5;
+      }
+      palette[6] = 0;
+      palette[7] = 255;
+    }
+  }
+
+  // ---------------------------------------------------------------- BC7
+
+  /**
+   * Encode a block as a 16 byte BC7 block. Only two of the eight modes are used. Mode 6 fits a single
+   * RGBA line with 7 bit endpoints, a p-bit each, and 4 bit indices, which handles smooth color and
+   * alpha well. Blocks with alpha also try mode 5, which fits color and alpha separately, for when
+   * they do not change together. Blocks with several distinct colors would do better in the
+   * partitioned modes.
+   */
+  void encodeBc7(final int[] px, final byte[] out, final int off) {
+    final int error = encodeBc7Mode6(px, out, off);
+    boolean opaque = true;
+    for (int i = 0; i < 16; i++) {
+      opaque &= px[i * 4 + 3] == 255;
+    }
+    if (error > 0 && !opaque && encodeBc7Mode5(px, _block, 0) < error) {
+      System.arraycopy(_block, 0, out, off, 16);
+    }
+  }
+
+  /**
+   * @return the squared error of the encoded block.
+   */
+  private int encodeBc7Mode6(final int[] px, final byte[] out, final int off) {
+    principalAxisEndpoints(px, 4, null);
+    int p0 = quantizeBc7(_e0, _q0, -1);
+    int p1 = quantizeBc7(_e1, _q1, -1);
+    int best = fitBc7(px, p0, p1);
+    int bestP0 = p0, bestP1 = p1;
+    System.arraycopy(_q0, 0, _bestQ0, 0, 4);
+    System.arraycopy(_q1, 0, _bestQ1, 0, 4);
+    System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+
+    if (_high) {
+      for (int pass = 0; pass < 2 && best > 0; pass++) {
+        if (!leastSquares(px, 4, _bestIndices, BC7_T)) {
+          break;
+        }
+        boolean improved = false;
+        for (int pbits = 0; pbits < 4; pbits++) {
+          p0 = quantizeBc7(_e0, _q0, pbits & 1);
+          p1 = quantizeBc7(_e1, _q1, pbits >> 1);
+          final int err = fitBc7(px, p0, p1);
+          if (err < best) {
+            best = err;
+            bestP0 = p0;
+            bestP1 = p1;
+            System.arraycopy(_q0, 0, _bestQ0, 0, 4);
+            System.arraycopy(_q1, 0, _bestQ1, 0, 4);
+            System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+            improved = true;
+          }
+        }
+        if (!improved) {
+          break;
+        }
+      }
+    }
+
+    // the anchor texel's index must have its top bit clear, swap the endpoints if it does not
+    if (_bestIndices[0] >= 8) {
+      for (int i = 0; i < 16; i++) {
+        _bestIndices[i] = 15 - _bestIndices[i];
+      }
+      for (int c = 0; c < 4; c++) {
+        final int t = _bestQ0[c];
+        _bestQ0[c] = _bestQ1[c];
+        _bestQ1[c] = t;
+      }
+      final int t = bestP0;
+      bestP0 = bestP1;
+      bestP1 = t;
+    }
+
+    _lo = _hi = 0L;
+    _bit = 0;
+    writeBits(1 << 6, 7);
+    for (int c = 0; c < 4; c++) {
+      writeBits(_bestQ0[c], 7);
+      writeBits(_bestQ1[c], 7);
+    }
+    writeBits(bestP0, 1);
+    writeBits(bestP1, 1);
+    writeBits(_bestIndices[0], 3);
+    for (int i = 1; i < 16; i++) {
+      writeBits(_bestIndices[i], 4);
+    }
+    flushBits(out, off);
+    return best;
+  }
+
+  /**
+   * Mode 5: RGB with 7 bit endpoints and alpha with 8 bit endpoints, each with their own 2 bit
+   * indices.
+   *
+   * @return the squared error of the encoded block.
+   */
+  private int encodeBc7Mode5(final int[] px, final byte[] out, final int off) {
+    // color
+    principalAxisEndpoints(px, 3, null);
+    quantizeMode5(_q0, _q1);
+    int best = fitMode5Color(px);
+    System.arraycopy(_q0, 0, _bestQ0, 0, 3);
+    System.arraycopy(_q1, 0, _bestQ1, 0, 3);
+    System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+    for (int pass = 0; _high && pass < 2 && best > 0; pass++) {
+      if (!leastSquares(px, 3, _bestIndices, MODE5_T)) {
+        break;
+      }
+      quantizeMode5(_q0, _q1);
+      final int err = fitMode5Color(px);
+      if (err >= best) {
+        break;
+      }
+      best = err;
+      System.arraycopy(_q0, 0, _bestQ0, 0, 3);
+      System.arraycopy(_q1, 0, _bestQ1, 0, 3);
+      System.arraycopy(_indices, 0, _bestIndices, 0, 16);
+    }
+
+    // alpha
+    int a0 = 255, a1 = 0;
+    for (int i = 0; i < 16; i++) {
+      _values[i] = px[i * 4 + 3];
+      a0 = Math.min(a0, _values[i]);
+      a1 = Math.max(a1, _values[i]);
+    }
+    int bestAlpha = fitMode5Alpha(a0, a1);
+    System.arraycopy(_indices, 0, _alphaIndices, 0, 16);
+    for (int pass = 0; _high && pass < 2 && bestAlpha > 0; pass++) {
+      if (!leastSquares(_values, _alphaIndices, MODE5_T)) {
+        break;
+      }
+      final int b0 = Math.round(_e0[0]), b1 = Math.round(_e1[0]);
+      final int err = fitMode5Alpha(b0, b1);
+      if (err >= bestAlpha) {
+        break;
+      }
+      bestAlpha = err;
+      a0 = b0;
+      a1 = b1;
+      System.arraycopy(_indices, 0, _alphaIndices, 0, 16);
+    }
+
+    // anchors
+    if (_bestIndices[0] >= 2) {
+      for (int i = 0; i < 16; i++) {
+        _bestIndices[i] = 3 - _bestIndices[i];
+      }
+      for (int c = 0; c < 3; c++) {
+        final int t = _bestQ0[c];
+        _bestQ0[c] = _bestQ1[c];
+        _bestQ1[c] = t;
+      }
+    }
+    if (_alphaIndices[0] >= 2) {
+      for (int i = 0; i < 16; i++) {
+        _alphaIndices[i] = 3 - _alphaIndices[i];
+      }
+      final int t = a0;
+      a0 = a1;
+      a1 = t;
+    }
+
+    _lo = _hi = 0L;
+    _bit = 0;
+    writeBits(1 << 5, 6);
+    // no channel rotation
+    writeBits(0, 2);
+    for (int c = 0; c < 3; c++) {
+      writeBits(_bestQ0[c], 7);
+      writeBits(_bestQ1[c], 7);
+    }
+    writeBits(a0, 8);
+    writeBits(a1, 8);
+    writeBits(_bestIndices[0], 1);
+    for (int i = 1; i < 16; i++) {
+      writeBits(_bestIndices[i], 2);
+    }
+    writeBits(_alphaIndices[0], 1);
+    for (int i = 1; i < 16; i++) {
+      writeBits(_alphaIndices[i], 2);
+    }
+    flushBits(out, off);
+    return best + bestAlpha;
+  }
+
+  private void quantizeMode5(final int[] q0, final int[] q1) {
+    for (int c = 0; c < 3; c++) {
+      q0[c] = clamp(Math.round(_e0[c] * 127f / 255f), 0, 127);
+      q1[c] = clamp(Math.round(_e1[c] * 127f / 255f), 0, 127);
+    }
+  }
+
+  private int fitMode5Color(final int[] px) {
+    mode5ColorPalette(_q0, _q1, _palette);
+    int total = 0;
+    for (int i = 0; i < 16; i++) {
+      final int r = px[i * 4], g = px[i * 4 + 1], b = px[i * 4 + 2];
+      int best = Integer.MAX_VALUE, bestIndex = 0;
+      for (int k = 0; k < 4; k++) {
+        final int dr = r - _palette[k * 4], dg = g - _palette[k * 4 + 1], db = b - _palette[k * 4 + 2];
+        final int err = dr * dr + dg * dg + db * db;
+        if (err < best) {
+          best = err;
+          bestIndex = k;
+        }
+      }
+      _indices[i] = bestIndex;
+      total += best;
+    }
+    return total;
+  }
+
+  private int fitMode5Alpha(final int a0, final int a1) {
+    int total = 0;
+    for (int i = 0; i < 16; i++) {
+      int best = Integer.MAX_VALUE, bestIndex = 0;
+      for (int k = 0; k < 4; k++) {
+        final int d = _values[i] - mode5Interpolate(a0, a1, k);
+        if (d * d < best) {
+          best = d * d;
+          bestIndex = k;
+        }
+      }
+      _indices[i] = bestIndex;
+      total += best;
+    }
+    return total;
+  }
+
+  /**
+   * Fill the 4 RGB palette entries of a BC7 mode 5 block from 7 bit endpoints.
+   */
+  static void mode5ColorPalette(final int[] q0, final int[] q1, final int[] palette) {
+    for (int c = 0; c < 3; c++) {
+      final int e0 = q0[c] << 1 | q0[c] >> 6, e1 = q1[c] << 1 | q1[c] >> 6;
+      for (int k = 0; k < 4; k++) {
+        palette[k * 4 + c] = mode5Interpolate(e0, e1, k);
+      }
+    }
+  }
+
+  static int mode5Interpolate(final int e0, final int e1, final int index) {
+    final int w = MODE5_WEIGHTS[index];
+    return ((64 - w) * e0 + w * e1 + 32) >> 6;
+  }
+
+  private void flushBits(final byte[] out, final int off) {
+    for (int i = 0; i < 8; i++) {
+      out[off + i] = (byte) (_lo >>> (i * 8));
+      out[off + 8 + i] = (byte) (_hi >>> (i * 8));
+    }
+  }
+
+  private void writeBits(final int value, final int count) {
+    for (int i = 0; i < count; i++, _bit++) {
+      if ((value >> i & 1) != 0) {
+        if (_bit < 64) {
+          _lo |= 1L << _bit;
+        } else {
+          _hi |= 1L << (_bit - 64);
+        }
+      }
+    }
+  }
+
+  /**
+   * Quantize an endpoint to 7 bits per channel and a shared p-bit.
+   *
+   * @param pbit
+   *          the p-bit to use, or -1 to pick the one with the lower error.
+   * @return the p-bit.
+   */
+  private static int quantizeBc7(final float[] endpoint, final int[] store, final int pbit) {
+    if (pbit < 0) {
+      float err0 = 0f, err1 = 0f;
+      for (int c = 0; c < 4; c++) {
+        err0 += square(bc7Value(quantize7(endpoint[c], 0), 0) - endpoint[c]);
+        err1 += square(bc7Value(quantize7(endpoint[c], 1), 1) - endpoint[c]);
+      }
+      return quantizeBc7(endpoint, store, err1 < err0 ? 1 : 0);
+    }
+    for (int c = 0; c < 4; c++) {
+      store[c] = quantize7(endpoint[c], pbit);
+    }
+    return pbit;
+  }
+
+  private static int quantize7(final float value, final int pbit) {
+    return clamp(Math.round((value - pbit) * 0.5f), 0, 127);
+  }
+
+  static int bc7Value(final int q, final int pbit) {
+    return q << 1 | pbit;
+  }
+
+  private int fitBc7(final int[] px, final int p0, final int p1) {
+    bc7Palette(_q0, p0, _q1, p1, _palette);
+    int total = 0;
+    for (int i = 0; i < 16; i++) {
+      final int r = px[i * 4], g = px[i * 4 + 1], b = px[i * 4 + 2], a = px[i * 4 + 3];
+      int best = Integer.MAX_VALUE, bestIndex = 0;
+      for (int k = 0; k < 16; k++) {
+        final int dr = r - _palette[k * 4], dg = g - _palette[k * 4 + 1];
+        final int db = b - _palette[k * 4 + 2], da = a - _palette[k * 4 + 3];
+        final int err = dr * dr + dg * dg + db * db + da * da;
+        if (err < best) {
+          best = err;
+          bestIndex = k;
+        }
+      }
+      _indices[i] = bestIndex;
+      total += best;
+    }
+    return total;
+  }
+
+  /**
+   * Fill the 16 RGBA palette entries of a BC7 mode 6 block.
+   */
+  static void bc7Palette(final int[] q0, final int p0, final int[] q1, final int p1, final int[] palette) {
+    for (int c = 0; c < 4; c++) {
+      final int e0 = bc7Value(q0[c], p0), e1 = bc7Value(q1[c], p1);
+      for (int k = 0; k < 16; k++) {
+        final int w = BC7_WEIGHTS[k];
+        palette[k * 4 + c] = ((64 - w) * e0 + w * e1 + 32) >> 6;
+      }
+    }
+  }
+
+  // ---------------------------------------------------------------- fitting
+
+  /**
+   * Set _e0 and _e1 to the extremes of the block's texels along their principal axis.
+   *
+   * @param skip
+   *          texels to leave out, or null.
+   */
+  private void principalAxisEndpoints(final int[] px, final int channels, final boolean[] skip) {
+    int count = 0;
+    for (int c = 0; c < channels; c++) {
+      _mean[c] = 0f;
+    }
+    for (int i = 0; i < 16; i++) {
+      if (skip != null && skip[i]) {
+        continue;
+      }
+      count++;
+      for (int c = 0; c < channels; c++) {
+        _mean[c] += px[i * 4 + c];
+      }
+    }
+    for (int c = 0; c < channels; c++) {
+      _mean[c] /= count;
+    }
+
+    for (int j = 0; j < channels * channels; j++) {
+      _cov[j] = 0f;
+    }
+    for (int i = 0; i < 16; i++) {
+      if (skip != null && skip[i]) {
+        continue;
+      }
+      for (int c = 0; c < channels; c++) {
+        final float dc = px[i * 4 + c] - _mean[c];
+        for (int d = c; d < channels; d++) {
+          _cov[c * channels + d] += dc * (px[i * 4 + d] - _mean[d]);
+        }
+      }
+    }
+    for (int c = 0; c < channels; c++) {
+      for (int d = 0; d < c; d++) {
+        _cov[c * channels + d] = _cov[d * channels + c];
+      }
+    }
+
+    // power iteration, starting from the row of the largest variance
+    int start = 0;
+    for (int c = 1; c < channels; c++) {
+      if (_cov[c * channels + c] > _cov[start * channels + start]) {
+        start = c;
+      }
+    }
+    for (int c = 0; c < channels; c++) {
+      _axis[c] = _cov[start * channels + c];
+    }
+    final float[] next = _d0;
+    for (int iteration = 0; iteration < 8; iteration++) {
+      float norm = 0f;
+      for (int c = 0; c < channels; c++) {
+        float sum = 0f;
+        for (int d = 0; d < channels; d++) {
+          sum += _cov[c * channels + d] * _axis[d];
+        }
+        next[c] = sum;
+        norm = Math.max(norm, Math.abs(sum));
+      }
+      if (norm == 0f) {
+        break;
+      }
+      for (int c = 0; c < channels; c++) {
+        _axis[c] = next[c] / norm;
+      }
+    }
+
+    float length = 0f;
+    for (int c = 0; c < channels; c++) {
+      length += _axis[c] * _axis[c];
+    }
+    if (length == 0f) {
+      // a flat block
+      for (int c = 0; c < channels; c++) {
+        _e0[c] = _e1[c] = _mean[c];
+      }
+      return;
+    }
+    length = (float) Math.sqrt(length);
+    float min = Float.MAX_VALUE, max = -Float.MAX_VALUE;
+    for (int i = 0; i < 16; i++) {
+      if (skip != null && skip[i]) {
+        continue;
+      }
+      float projection = 0f;
+      for (int c = 0; c < channels; c++) {
+        projection += (px[i * 4 + c] - _mean[c]) * _axis[c];
+      }
+      min = Math.min(min, projection);
+      max = Math.max(max, projection);
+    }
+    for (int c = 0; c < channels; c++) {
+      final float a = _axis[c] / (length * length);
+      _e0[c] = clamp(_mean[c] + a * min);
+      _e1[c] = clamp(_mean[c] + a * max);
+    }
+  }
+
+  /**
+   * Least squares fit of _e0 and _e1 to texels of a block, given each texel's position on the line
+   * between them.
+   *
+   * @param t
+   *          the position on the line of each index, NaN for indices to leave out.
+   * @return false if the fit is degenerate.
+   */
+  private boolean leastSquares(final int[] px, final int channels, final int[] indices, final float[] t) {
+    float a = 0f, b = 0f, c = 0f;
+    for (int ch = 0; ch < channels; ch++) {
+      _d0[ch] = _d1[ch] = 0f;
+    }
+    for (int i = 0; i < 16; i++) {
+      final float ti = t[indices[i]];
+      if (Float.isNaN(ti)) {
+        continue;
+      }
+      final float si = 1f - ti;
+      a += si * si;
+      b += si * ti;
+      c += ti * ti;
+      for (int ch = 0; ch < channels; ch++) {
+        _d0[ch] += si * px[i * 4 + ch];
+        _d1[ch] += ti * px[i * 4 + ch];
+      }
+    }
+    final float det = a * c - b * b;
+    if (Math.abs(det) < 1e-4f) {
+      return false;
+    }
+    for (int ch = 0; ch < channels; ch++) {
+      _e0[ch] = clamp((c * _d0[ch] - b * _d1[ch]) / det);
+      _e1[ch] = clamp((a * _d1[ch] - b * _d0[ch]) / det);
+    }
+    return true;
+  }
+
+  /**
+   * Least squares fit of a single channel, for BC4.
+   */
+  private boolean leastSquares(final int[] values, final int[] indices, final float[] t) {
+    float a = 0f, b = 0f, c = 0f, d0 = 0f, d1 = 0f;
+    for (int i = 0; i < 16; i++) {
+      final float ti = t[indices[i]];
+      final float si = 1f - ti;
+      a += si * si;
+      b += si * ti;
+      c += ti * ti;
+      d0 += si * values[i];
+      d1 += ti * values[i];
+    }
+    final float det = a * c - b * b;
+    if (Math.abs(det) < 1e-4f) {
+      return false;
+    }
+    _e0[0] = clamp((c * d0 - b * d1) / det);
+    _e1[0] = clamp((a * d1 - b * d0) / det);
+    return true;
+  }
+
+  private static float clamp(final float v) {
+    return v < 0f ? 0f : v > 255f ? 255f : v;
+  }
+
+  private static int clamp(final int v, final int min, final int max) {
+    return v < min ? min : v > max ? max : v;
+  }
+
+  private static float square(final float v) {
+    return v * v;
+  }
+}
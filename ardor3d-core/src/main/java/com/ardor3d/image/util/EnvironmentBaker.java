@@ -0,0 +1,628 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+
+/**
+ * Bakes the image based lighting data used by the PBR materials on the CPU, without a renderer, so
+ * it can be prepared ahead of time - for example in an asset pipeline - rather than convolved with
+ * {@link com.ardor3d.renderer.texture.CubeMapRenderUtil} at startup. From an environment, given as
+ * an equirectangular image (as from HdrLoader, loaded flipped) or a cube map image, it makes:
+ * <ul>
+ * <li>the diffuse irradiance, as 9 spherical harmonics coefficients per color and as a cube map,</li>
+ * <li>a specular cube map, GGX prefiltered with roughness going from 0 to 1 over its mip levels,</li>
+ * <li>the split sum BRDF lookup table, with NdotV across and roughness up.</li>
+ * </ul>
+ * These match what the {@code pbr/*_ibl} materials sample. The work is split over the baker's pool.
+ */
+public class EnvironmentBaker {
+
+  /** Number of spherical harmonics coefficients per color, for bands 0 to 2. */
+  public static final int SH_COEFFICIENTS = 9;
+
+  private int _sourceSize = 256;
+  private int _irradianceSize = 32;
+  private int _specularSize = 128;
+  private int _specularLevels = 5;
+  private int _brdfSize = 512;
+  private int _sampleCount = 1024;
+  private boolean _halfFloat = true;
+
+  protected ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  /**
+   * Bake everything for an environment.
+   *
+   * @param environment
+   *          an equirectangular image, or a cube map image with 6 square faces.
+   * @return the baked lighting data.
+   */
+  public BakedEnvironment bake(final Image environment) {
+    final Cube cube = toCube(environment);
+    final float[] sh = computeSphericalHarmonics(cube);
+    return new BakedEnvironment(sh, bakeIrradiance(sh), bakeSpecular(cube), bakeBrdf());
+  }
+
+  /**
+   * @param environment
+   *          an equirectangular image, or a cube map image with 6 square faces.
+   * @return the irradiance of the environment as spherical harmonics, 9 RGB triples. Evaluated with
+   *         {@link #evaluateSphericalHarmonics(float[], double, double, double, float[])} they give
+   *         what the irradiance cube map holds: the irradiance divided by pi.
+   */
+  public float[] computeSphericalHarmonics(final Image environment) {
+    return computeSphericalHarmonics(toCube(environment));
+  }
+
+  /**
+   * @param environment
+   *          an equirectangular image, or a cube map image with 6 square faces.
+   * @return a cube map image with mipmaps, level m prefiltered for a roughness of m / (levels - 1).
+   */
+  public Image bakeSpecular(final Image environment) {
+    return bakeSpecular(toCube(environment));
+  }
+
+  /**
+   * @param sh
+   *          irradiance coefficients from {@link #computeSphericalHarmonics(Image)}.
+   * @return an irradiance cube map image.
+   */
+  public Image bakeIrradiance(final float[] sh) {
+    final int size = _irradianceSize;
+    final float[][] faces = new float[6][size * size * 3];
+    ParallelRange.run(_pool, 6 * size, size * 40, (start, end) -> {
+      final double[] dir = new double[3];
+      final float[] rgb = new float[3];
+      for (int r = start; r < end; r++) {
+        final int face = r / size, y = r % size;
+        for (int x = 0; x < size; x++) {
+          texelDirection(face, x, y, size, dir);
+          evaluateSphericalHarmonics(sh, dir[0], dir[1], dir[2], rgb);
+          for (int c = 0; c < 3; c++) {
+            faces[face][(y * size + x) * 3 + c] = Math.max(0f, rgb[c]);
+          }
+        }
+      }
+    });
+    final List<ByteBuffer> data = new ArrayList<>(6);
+    for (final float[] face : faces) {
+      data.add(store(face, null));
+    }
+    return new Image(ImageDataFormat.RGB, dataType(), size, size, data, null);
+  }
+
+  /**
+   * @return the split sum BRDF lookup table: the scale and bias to the Fresnel reflectance at normal
+   *         incidence, as RG, for NdotV going across and roughness going up.
+   */
+  public Image bakeBrdf() {
+    final int size = _brdfSize;
+    final float[] table = new float[size * size * 2];
+    final Samples samples = new Samples(_sampleCount);
+    ParallelRange.run(_pool, size, size * _sampleCount * 20, (start, end) -> {
+      final double[] h = new double[3];
+      for (int y = start; y < end; y++) {
+        final double roughness = (y + 0.5) / size;
+        for (int x = 0; x < size; x++) {
+          final double nDotV = (x + 0.5) / size;
+          final double vx = Math.sqrt(1.0 - nDotV * nDotV), vz = nDotV;
+          double a = 0, b = 0;
+          for (int i = 0; i < _sampleCount; i++) {
+            importanceSampleGgx(samples, i, roughness, h);
+            final double vDotH = vx * h[0] + vz * h[2];
+            final double lz = 2.0 * vDotH * h[2] - vz;
+            if (lz > 0.0) {
+              final double g = geometrySmith(nDotV, lz, roughness);
+              final double gVis = g * Math.max(vDotH, 0.0) / (h[2] * nDotV);
+              final double fc = Math.pow(1.0 - Math.max(vDotH, 0.0), 5.0);
+              a += (1.0 - fc) * gVis;
+              b += fc * gVis;
+            }
+          }
+          table[(y * size + x) * 2] = (float) (a / _sampleCount);
+          table[(y * size + x) * 2 + 1] = (float) (b / _sampleCount);
+        }
+      }
+    });
+    return new Image(ImageDataFormat.RG, dataType(), size, size, store(table, null), null);
+  }
+
+  /**
+   * Evaluate spherical harmonics coefficients in a direction.
+   *
+   * @param sh
+   *          9 RGB triples, as from {@link #computeSphericalHarmonics(Image)}.
+   * @param x
+   *          the unit direction.
+   * @param y
+   *          the unit direction.
+   * @param z
+   *          the unit direction.
+   * @param store
+   *          stores the RGB result.
+   */
+  public static void evaluateSphericalHarmonics(final float[] sh, final double x, final double y, final double z,
+      final float[] store) {
+    final double[] basis = new double[SH_COEFFICIENTS];
+    shBasis(x, y, z, basis);
+    for (int c = 0; c < 3; c++) {
+      double sum = 0;
+      for (int i = 0; i < SH_COEFFICIENTS; i++) {
+        sum += sh[i * 3 + c] * basis[i];
+      }
+      store[c] = (float) sum;
+    }
+  }
+
+  private static void shBasis(final double x, final double y, final double z, final double[] store) {
+    store[0] = 0.282095;
+    store[1] = 0.488603 * y;
+    store[2] = 0.488603 * z;
+    store[3] = 0.488603 * x;
+    store[4] = 1.092548 * x * y;
+    store[5] = 1.092548 * y * z;
+    store[6] = 0.315392 * (3.0 * z * z - 1.0);
+    store[7] = 1.092548 * x * z;
+    store[8] = 0.546274 * (x * x - y * y);
+  }
+
+  private float[] computeSphericalHarmonics(final Cube cube) {
+    final int size = cube._size;
+    final double[] total = new double[SH_COEFFICIENTS * 3 + 1];
+    ParallelRange.run(_pool, 6 * size, size * 30, (start, end) -> {
+      final double[] sums = new double[total.length];
+      final double[] dir = new double[3];
+      final double[] basis = new double[SH_COEFFICIENTS];
+      for (int r = start; r < end; r++) {
+        final int face = r / size, y = r % size;
+        final float[] data = cube._levels[0][face];
+        for (int x = 0; x < size; x++) {
+          final double weight = texelDirection(face, x, y, size, dir);
+          shBasis(dir[0], dir[1], dir[2], basis);
+          final int index = (y * size + x) * 3;
+          for (int i = 0; i < SH_COEFFICIENTS; i++) {
+            final double w = basis[i] * weight;
+            sums[i * 3] += data[index] * w;
+            sums[i * 3 + 1] += data[index + 1] * w;
+            sums[i * 3 + 2] += data[index + 2] * w;
+          }
+          sums[SH_COEFFICIENTS * 3] += weight;
+        }
+      }
+      synchronized (total) {
+        for (int i = 0; i < total.length; i++) {
+          total[i] += sums[i];
+        }
+      }
+    });
+
+    // the texel solid angles, normalized to the whole sphere; then the cosine lobe convolution of
+    // each band (pi, 2pi/3, pi/4) over pi
+    final double norm = 4.0 * Math.PI / total[SH_COEFFICIENTS * 3];
+    final double[] band = {1.0, 2.0 / 3.0, 2.0 / 3.0, 2.0 / 3.0, 0.25, 0.25, 0.25, 0.25, 0.25};
+    final float[] sh = new float[SH_COEFFICIENTS * 3];
+    for (int i = 0; i < sh.length; i++) {
+      sh[i] = (float) (total[i] * norm * band[i / 3]);
+    }
+    return sh;
+  }
+
+  private Image bakeSpecular(final Cube source) {
+    final int levels = Math.max(1, Math.min(_specularLevels, MipMapGenerator.getLevelCount(_specularSize, 1)));
+    final float[][][] out = new float[6][levels][];
+    final int[] mipSizes = new int[levels];
+    final double saTexel = 4.0 * Math.PI / (6.0 * source._size * source._size);
+    final Samples samples = new Samples(_sampleCount);
+
+    for (int level = 0; level < levels; level++) {
+      final int size = Math.max(1, _specularSize >> level);
+      final double roughness = levels == 1 ? 0.0 : (double) level / (levels - 1);
+      mipSizes[level] = size * size * 3 * (_halfFloat ? 2 : 4);
+
+      // with V = R = N, the samples in tangent space are the same for every texel
+      final List<double[]> lobe = new ArrayList<>();
+      if (level == 0) {
+        lobe.add(new double[] {0, 0, 1, 1, 0});
+      } else {
+        final double[] h = new double[3];
+        for (int i = 0; i < _sampleCount; i++) {
+          importanceSampleGgx(samples, i, roughness, h);
+          final double nDotL = 2.0 * h[2] * h[2] - 1.0;
+          if (nDotL > 0.0) {
+            final double pdf = distributionGgx(h[2], roughness) / 4.0 + 0.0001;
+            final double saSample = 1.0 / (_sampleCount * pdf + 0.0001);
+            final double lod = Math.max(0.0, 0.5 * Math.log(saSample / saTexel) / Math.log(2.0));
+            lobe.add(new double[] {2.0 * h[2] * h[0], 2.0 * h[2] * h[1], nDotL, nDotL, lod});
+          }
+        }
+      }
+
+      final int faceLevel = level;
+      ParallelRange.run(_pool, 6 * size, size * lobe.size() * 30, (start, end) -> {
+        final double[] n = new double[3];
+        final float[] rgb = new float[3];
+        for (int r = start; r < end; r++) {
+          final int face = r / size, y = r % size;
+          if (out[face][faceLevel] == null) {
+            synchronized (out) {
+              if (out[face][faceLevel] == null) {
+                out[face][faceLevel] = new float[size * size * 3];
+              }
+            }
+          }
+          final float[] data = out[face][faceLevel];
+          for (int x = 0; x < size; x++) {
+            texelDirection(face, x, y, size, n);
+            // the tangent frame of the prefilter shader
+            final boolean zUp = Math.abs(n[2]) < 0.999;
+            double tx = zUp ? -n[1] : 0, ty = zUp ? n[0] : -n[2], tz = zUp ? 0 : n[1];
+            final double tl = Math.sqrt(tx * tx + ty * ty + tz * tz);
+            tx /= tl;
+            ty /= tl;
+            tz /= tl;
+            final double bx = n[1] * tz - n[2] * ty, by = n[2] * tx - n[0] * tz, bz = n[0] * ty - n[1] * tx;
+
+            double red = 0, green = 0, blue = 0, weight = 0;
+            for (final double[] l : lobe) {
+              source.sample(tx * l[0] + bx * l[1] + n[0] * l[2], ty * l[0] + by * l[1] + n[1] * l[2],
+                  tz * l[0] + bz * l[1] + n[2] * l[2], l[4], rgb);
+              red += rgb[0] * l[3];
+              green += rgb[1] * l[3];
+              blue += rgb[2] * l[3];
+              weight += l[3];
+            }
+            final int index = (y * size + x) * 3;
+            data[index] = (float) (red / weight);
+            data[index + 1] = (float) (green / weight);
+            data[index + 2] = (float) (blue / weight);
+          }
+        }
+      });
+    }
+
+    final List<ByteBuffer> data = new ArrayList<>(6);
+    for (int face = 0; face < 6; face++) {
+      final ByteBuffer buffer = BufferUtils.createByteBuffer(sum(mipSizes));
+      for (int level = 0; level < levels; level++) {
+        store(out[face][level], buffer);
+      }
+      data.add(buffer.flip());
+    }
+    return new Image(ImageDataFormat.RGB, dataType(), _specularSize, _specularSize, data, mipSizes);
+  }
+
+  private static int sum(final int[] values) {
+    int sum = 0;
+    for (final int value : values) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  /** Hammersley points for importance sampling, as in the GPU shaders. */
+  private static final class Samples {
+    final double[] _u, _v;
+
+    Samples(final int count) {
+      _u = new double[count];
+      _v = new double[count];
+      for (int i = 0; i < count; i++) {
+        _u[i] = (double) i / count;
+        _v[i] = (Integer.reverse(i) & 0xFFFFFFFFL) * 0x1p-32;
+      }
+    }
+  }
+
+  /** A GGX distributed half vector in tangent space, z up. */
+  private static void importanceSampleGgx(final Samples samples, final int i, final double roughness,
+      final double[] store) {
+    final double a = roughness * roughness;
+    final double phi = 2.0 * Math.PI * samples._u[i];
+    final double cosTheta = Math.sqrt((1.0 - samples._v[i]) / (1.0 + (a * a - 1.0) * samples._v[i]));
+    final double sinTheta = Math.sqrt(1.0 - cosTheta * cosTheta);
+    store[0] = Math.cos(phi) * sinTheta;
+    store[1] = Math.sin(phi) * sinTheta;
+    store[2] = cosTheta;
+  }
+
+  private static double distributionGgx(final double nDotH, final double roughness) {
+    final double a2 = roughness * roughness * roughness * roughness;
+    final double denom = nDotH * nDotH * (a2 - 1.0) + 1.0;
+    return a2 / (Math.PI * denom * denom);
+  }
+
+  private static double geometrySmith(final double nDotV, final double nDotL, final double roughness) {
+    // the k used for image based lighting
+    final double k = roughness * roughness / 2.0;
+    return nDotV / (nDotV * (1.0 - k) + k) * (nDotL / (nDotL * (1.0 - k) + k));
+  }
+
+  /**
+   * The unit direction through the center of a cube map texel, in the GL layout of the faces in
+   * {@link com.ardor3d.image.TextureCubeMap.Face} order.
+   *
+   * @return the solid angle of the texel, up to a constant.
+   */
+  static double texelDirection(final int face, final int x, final int y, final int size, final double[] store) {
+    final double s = 2.0 * (x + 0.5) / size - 1.0, t = 2.0 * (y + 0.5) / size - 1.0;
+    switch (face) {
+      case 0:
+        store[0] = 1;
+        store[1] = -t;
+        store[2] = -s;
+        break;
+      case 1:
+        store[0] = -1;
+        store[1] = -t;
+        store[2] = s;
+        break;
+      case 2:
+        store[0] = s;
+        store[1] = 1;
+        store[2] = t;
+        break;
+      case 3:
+        store[0] = s;
+        store[1] = -1;
+        store[2] = -t;
+        break;
+      case 4:
+        store[0] = s;
+        store[1] = -t;
+        store[2] = 1;
+        break;
+      default:
+        store[0] = -s;
+        store[1] = -t;
+        store[2] = -1;
+    }
+    final double lengthSquared = 1.0 + s * s + t * t;
+    final double length = Math.sqrt(lengthSquared);
+    store[0] /= length;
+    store[1] /= length;
+    store[2] /= length;
+    return 1.0 / (lengthSquared * length);
+  }
+
+  private Cube toCube(final Image image) {
+    final ImageDataFormat format = image.getDataFormat();
+    if (format != ImageDataFormat.RGB && format != ImageDataFormat.RGBA) {
+      throw new IllegalArgumentException("Unsupported image format " + format + ", must be RGB or RGBA");
+    }
+    final PixelDataType type = image.getDataType();
+    if (type != PixelDataType.Float && type != PixelDataType.HalfFloat && type != PixelDataType.UnsignedByte) {
+      throw new IllegalArgumentException("Unsupported pixel type " + type);
+    }
+    final int components = format.getComponents();
+
+    if (image.getDataSize() == 6) {
+      if (image.getWidth() != image.getHeight()) {
+        throw new IllegalArgumentException("Cube map faces must be square");
+      }
+      final int size = image.getWidth();
+      final float[][] faces = new float[6][];
+      for (int face = 0; face < 6; face++) {
+        final ByteBuffer data = image.getData(face);
+        final float[] rgb = new float[size * size * 3];
+        for (int i = 0; i < size * size; i++) {
+          for (int c = 0; c < 3; c++) {
+            rgb[i * 3 + c] = read(data, type, i * components + c);
+          }
+        }
+        faces[face] = rgb;
+      }
+      return new Cube(faces, size);
+    }
+
+    final int width = image.getWidth(), height = image.getHeight();
+    final ByteBuffer data = image.getData(0);
+    final int size = _sourceSize;
+    final float[][] faces = new float[6][size * size * 3];
+    ParallelRange.run(_pool, 6 * size, size * 40, (start, end) -> {
+      final double[] dir = new double[3];
+      for (int r = start; r < end; r++) {
+        final int face = r / size, y = r % size;
+        for (int x = 0; x < size; x++) {
+          texelDirection(face, x, y, size, dir);
+          // as the equirect_to_cubemap material, bilinear and wrapping across
+          final double u = Math.atan2(dir[2], dir[0]) / (2.0 * Math.PI) + 0.5;
+          final double v = Math.asin(Math.max(-1.0, Math.min(1.0, dir[1]))) / Math.PI + 0.5;
+          final double fx = u * width - 0.5, fy = Math.max(0.0, Math.min(height - 1.0, v * height - 0.5));
+          final int x0 = (int) Math.floor(fx), y0 = (int) fy;
+          final double ax = fx - x0, ay = fy - y0;
+          final int x1 = Math.floorMod(x0 + 1, width), y1 = Math.min(y0 + 1, height - 1);
+          final int xw = Math.floorMod(x0, width);
+          for (int c = 0; c < 3; c++) {
+            final double top = read(data, type, (y0 * width + xw) * components + c) * (1 - ax)
+                + read(data, type, (y0 * width + x1) * components + c) * ax;
+            final double bottom = read(data, type, (y1 * width + xw) * components + c) * (1 - ax)
+                + read(data, type, (y1 * width + x1) * components + c) * ax;
+            faces[face][(y * size + x) * 3 + c] = (float) (top * (1 - ay) + bottom * ay);
+          }
+        }
+      }
+    });
+    return new Cube(faces, size);
+  }
+
+  private static float read(final ByteBuffer data, final PixelDataType type, final int index) {
+    switch (type) {
+      case Float:
+        return data.getFloat(index * 4);
+      case HalfFloat:
+        return ImageUtils.halfToFloat(data.getShort(index * 2));
+      default:
+        return (data.get(index) & 0xFF) / 255f;
+    }
+  }
+
+  private PixelDataType dataType() {
+    return _halfFloat ? PixelDataType.HalfFloat : PixelDataType.Float;
+  }
+
+  private ByteBuffer store(final float[] values, final ByteBuffer target) {
+    final ByteBuffer buffer =
+        target != null ? target : BufferUtils.createByteBuffer(values.length * (_halfFloat ? 2 : 4));
+    for (final float value : values) {
+      if (_halfFloat) {
+        buffer.putShort(ImageUtils.floatToHalf(value));
+      } else {
+        buffer.putFloat(value);
+      }
+    }
+    return target != null ? buffer : buffer.flip();
+  }
+
+  /**
+   * A float RGB cube map with a box filtered mip chain down to 1x1.
+   */
+  private static final class Cube {
+    final int _size;
+    final float[][][] _levels;
+
+    Cube(final float[][] faces, final int size) {
+      _size = size;
+      final int levels = MipMapGenerator.getLevelCount(size, size);
+      _levels = new float[levels][][];
+      _levels[0] = faces;
+      for (int level = 1; level < levels; level++) {
+        final int from = Math.max(1, size >> level - 1), to = Math.max(1, size >> level);
+        _levels[level] = new float[6][to * to * 3];
+        for (int face = 0; face < 6; face++) {
+          final float[] src = _levels[level - 1][face], dst = _levels[level][face];
+          for (int y = 0; y < to; y++) {
+            for (int x = 0; x < to; x++) {
+              for (int c = 0; c < 3; c++) {
+                final int x0 = 2 * x, y0 = 2 * y;
+                final int x1 = Math.min(x0 + 1, from - 1), y1 = Math.min(y0 + 1, from - 1);
+                dst[(y * to + x) * 3 + c] = 0.25f * (src[(y0 * from + x0) * 3 + c] + src[(y0 * from + x1) * 3 + c]
+                    + src[(y1 * from + x0) * 3 + c] + src[(y1 * from + x1) * 3 + c]);
+              }
+            }
+          }
+        }
+      }
+    }
+
+    /** Trilinear sample in a direction, clamped at the face edges. */
+    void sample(final double x, final double y, final double z, final double lod, final float[] store) {
+      final double clamped = Math.min(lod, _levels.length - 1);
+      final int level = (int) clamped;
+      final double blend = clamped - level;
+      sampleLevel(x, y, z, level, store);
+      if (blend > 0 && level + 1 < _levels.length) {
+        final float r = store[0], g = store[1], b = store[2];
+        sampleLevel(x, y, z, level + 1, store);
+        store[0] = (float) (r + (store[0] - r) * blend);
+        store[1] = (float) (g + (store[1] - g) * blend);
+        store[2] = (float) (b + (store[2] - b) * blend);
+      }
+    }
+
+    private void sampleLevel(final double x, final double y, final double z, final int level, final float[] store) {
+      final double ax = Math.abs(x), ay = Math.abs(y), az = Math.abs(z);
+      final int face;
+      final double sc, tc, ma;
+      if (ax >= ay && ax >= az) {
+        face = x > 0 ? 0 : 1;
+        sc = x > 0 ? -z : z;
+        tc = -y;
+        ma = ax;
+      } else if (ay >= az) {
+        face = y > 0 ? 2 : 3;
+        sc = x;
+        tc = y > 0 ? z : -z;
+        ma = ay;
+      } else {
+        face = z > 0 ? 4 : 5;
+        sc = z > 0 ? x : -x;
+        tc = -y;
+        ma = az;
+      }
+      final int size = Math.max(1, _size >> level);
+      final float[] data = _levels[level][face];
+      final double fx = Math.max(0.0, Math.min(size - 1.0, (sc / ma + 1.0) * 0.5 * size - 0.5));
+      final double fy = Math.max(0.0, Math.min(size - 1.0, (tc / ma + 1.0) * 0.5 * size - 0.5));
+      final int x0 = (int) fx, y0 = (int) fy;
+      final int x1 = Math.min(x0 + 1, size - 1), y1 = Math.min(y0 + 1, size - 1);
+      final double bx = fx - x0, by = fy - y0;
+      for (int c = 0; c < 3; c++) {
+        final double top = data[(y0 * size + x0) * 3 + c] * (1 - bx) + data[(y0 * size + x1) * 3 + c] * bx;
+        final double bottom = data[(y1 * size + x0) * 3 + c] * (1 - bx) + data[(y1 * size + x1) * 3 + c] * bx;
+        store[c] = (float) (top * (1 - by) + bottom * by);
+      }
+    }
+  }
+
+  public int getSourceSize() { return _sourceSize; }
+
+  /**
+   * @param size
+   *          the face size equirectangular environments are resampled to as a cube map first.
+   */
+  public void setSourceSize(final int size) { _sourceSize = size; }
+
+  public int getIrradianceSize() { return _irradianceSize; }
+
+  public void setIrradianceSize(final int size) { _irradianceSize = size; }
+
+  public int getSpecularSize() { return _specularSize; }
+
+  public void setSpecularSize(final int size) { _specularSize = size; }
+
+  public int getSpecularLevels() { return _specularLevels; }
+
+  /**
+   * @param levels
+   *          the number of mip levels in the specular cube map, the last being fully rough. The PBR
+   *          shaders expect 5.
+   */
+  public void setSpecularLevels(final int levels) { _specularLevels = levels; }
+
+  public int getBrdfSize() { return _brdfSize; }
+
+  public void setBrdfSize(final int size) { _brdfSize = size; }
+
+  public int getSampleCount() { return _sampleCount; }
+
+  /**
+   * @param count
+   *          the importance samples per texel of the specular map and BRDF table.
+   */
+  public void setSampleCount(final int count) { _sampleCount = count; }
+
+  public boolean isHalfFloat() { return _halfFloat; }
+
+  /**
+   * @param halfFloat
+   *          true (the default) to bake half float images rather than float ones.
+   */
+  public void setHalfFloat(final boolean halfFloat) { _halfFloat = halfFloat; }
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool work is split over, or null to bake on the calling thread. Defaults to the
+   *          common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -164,6 +164,8 @@ public abstract class ImageUtils {
         return TextureStoreFormat.NativeLATC_L;
       case PrecompressedLATC_LA:
         return TextureStoreFormat.NativeLATC_LA;
+      case PrecompressedBPTC:
+        return TextureStoreFormat.NativeBPTC;
     }
 
     throw new Error("Unhandled type / format combination: " + type + " / " + dataFormat);
@@ -253,4 +255,72 @@ public abstract class ImageUtils {
     return rVal;
   }
 
+  /**
+   * Convert an IEEE 754 half precision value, as stored in {@link PixelDataType#HalfFloat} images, to
+   * a float.
+   *
+   * @param half
+   *          the 16 bits of the half precision value.
+   * @return the value as a float. Every half value is exactly representable.
+   */
+  public static float halfToFloat(final short half) {
+    final int bits = half & 0xFFFF;
+    final int sign = (bits & 0x8000) << 16;
+    final int exponent = (bits >>> 10) & 0x1F;
+    final int mantissa = bits & 0x3FF;
+    if (exponent == 0x1F) {
+      // infinity or NaN
+      return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+    }
+    if (exponent == 0) {
+      // zero or subnormal
+      final float value = mantissa * 0x1p-24f;
+      return sign != 0 ? -value : value;
+    }
+    return Float.intBitsToFloat(sign | ((exponent + 112) << 23) | (mantissa << 13));
+  }
+
+  /**
+   * Convert a float to the nearest IEEE 754 half precision value, rounding ties to even. Values too
+   * large for half precision become infinity.
+   *
+   * @param value
+   *          the value to convert.
+   * @return the 16 bits of the half precision value.
+   */
+  public static short floatToHalf(final float value) {
+    final int bits = Float.floatToRawIntBits(value);
+    final int sign = (bits >>> 16) & 0x8000;
+    final int exponent = ((bits >>> 23) & 0xFF) - 127 + 15;
+    int mantissa = bits & 0x7FFFFF;
+    if (exponent == 0xFF - 127 + 15) {
+      // infinity or NaN, keeping NaNs quiet
+      return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 | (mantissa >>> 13) : 0));
+    }
+    if (exponent >= 0x1F) {
+      return (short) (sign | 0x7C00);
+    }
+    if (exponent <= 0) {
+      if (exponent < -10) {
+        return (short) sign;
+      }
+      // subnormal half: shift in the implicit bit
+      mantissa |= 0x800000;
+      final int shift = 14 - exponent;
+      int half = mantissa >>> shift;
+      final int rest = mantissa & ((1 << shift) - 1);
+      final int middle = 1 << (shift - 1);
+      if (rest > middle || (rest == middle && (half & 1) != 0)) {
+        half++;
+      }
+      return (short) (sign | half);
+    }
+    int half = (exponent << 10) | (mantissa >>> 13);
+    final int rest = mantissa & 0x1FFF;
+    // a carry out of the mantissa correctly moves to the next exponent, or to infinity
+    if (rest > 0x1000 || (rest == 0x1000 && (half & 1) != 0)) {
+      half++;
+    }
+    return (short) (sign | half);
+  }
 }
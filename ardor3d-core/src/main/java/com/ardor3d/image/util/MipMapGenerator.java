@@ -0,0 +1,519 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+
+/**
+ * Builds the mipmap chain of an {@link Image} on the CPU, so that textures can be stored and streamed
+ * with their mipmaps instead of having the driver generate them when they are sent to the card.
+ * <p>
+ * Each level is filtered from the one above it in floating point, and only quantized for storage.
+ * Besides a plain box filter, the windowed sinc {@link Filter#Kaiser} and {@link Filter#Lanczos}
+ * filters keep more detail in the smaller levels. For images holding sRGB encoded colors, set
+ * {@link #setSrgb(boolean)} so colors are averaged in linear space. For alpha tested textures such as
+ * foliage, {@link #setPreserveAlphaCoverage(boolean)} scales the alpha of each level so the share of
+ * texels passing the alpha test stays the same, instead of thinning out at a distance.
+ * </p>
+ * <p>
+ * Images of unsigned byte, unsigned short, half float and float components are supported. Each data
+ * buffer of the image, such as a cube map face, is treated as a separate 2D image. Rows are filtered
+ * in parallel in the generator's pool.
+ * </p>
+ */
+public class MipMapGenerator {
+
+  /**
+   * Filters used to compute a texel from the texels of the level above.
+   */
+  public enum Filter {
+    /** Averages the texels a texel covers. Fast, but blurs and aliases. */
+    Box(0.5) {
+      @Override
+      double weight(final double x) {
+        return Math.abs(x) <= 0.5 ? 1.0 : 0.0;
+      }
+    },
+
+    /** A sinc windowed by a Kaiser window with alpha 4 and a radius of 3 texels. */
+    Kaiser(3.0) {
+      private final double _alpha = 4.0;
+      private final double _norm = 1.0 / besselI0(_alpha);
+
+      @Override
+      double weight(final double x) {
+        final double t = x / getRadius();
+        if (t <= -1.0 || t >= 1.0) {
+          return 0.0;
+        }
+        return sinc(x) * besselI0(_alpha * Math.sqrt(1.0 - t * t)) * _norm;
+      }
+    },
+
+    /** A sinc windowed by a sinc, with a radius of 3 texels. Sharpest of the three. */
+    Lanczos(3.0) {
+      @Override
+      double weight(final double x) {
+        if (x <= -getRadius() || x >= getRadius()) {
+          return 0.0;
+        }
+        return sinc(x) * sinc(x / getRadius());
+      }
+    };
+
+    private final double _radius;
+
+    Filter(final double radius) {
+      _radius = radius;
+    }
+
+    /**
+     * @return the support of the filter, in texels of the smaller level.
+     */
+    public double getRadius() { return _radius; }
+
+    /**
+     * @return the weight at the given distance, in texels of the smaller level.
+     */
+    abstract double weight(double x);
+
+    private static double sinc(final double x) {
+      if (x == 0.0) {
+        return 1.0;
+      }
+      final double px = Math.PI * x;
+      return Math.sin(px) / px;
+    }
+
+    private static double besselI0(final double x) {
+      final double q = x * x / 4.0;
+      double sum = 1.0, term = 1.0;
+      for (int k = 1; k < 64; k++) {
+        term *= q / (k * k);
+        sum += term;
+        if (term < sum * 1e-12) {
+          break;
+        }
+      }
+      return sum;
+    }
+  }
+
+  private static final float[] SRGB_BYTE_TO_LINEAR = new float[256];
+  static {
+    for (int i = 0; i < 256; i++) {
+      SRGB_BYTE_TO_LINEAR[i] = srgbToLinear(i / 255f);
+    }
+  }
+
+  private Filter _filter = Filter.Box;
+  private boolean _srgb;
+  private boolean _preserveAlphaCoverage;
+  private float _alphaCutoff = 0.5f;
+  private boolean _wrap;
+
+  protected ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  public Filter getFilter() { return _filter; }
+
+  public void setFilter(final Filter filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("filter must not be null");
+    }
+    _filter = filter;
+  }
+
+  public boolean isSrgb() { return _srgb; }
+
+  /**
+   * @param srgb
+   *          true if the color components hold sRGB encoded values, which are then decoded for
+   *          filtering and encoded again for storage. Alpha is always treated as linear. Only applies to
+   *          unsigned byte and unsigned short images.
+   */
+  public void setSrgb(final boolean srgb) { _srgb = srgb; }
+
+  public boolean isPreserveAlphaCoverage() { return _preserveAlphaCoverage; }
+
+  /**
+   * @param preserve
+   *          true to scale the alpha of each level so the fraction of texels with alpha above
+   *          {@link #getAlphaCutoff()} matches the largest level. Only applies to formats with alpha.
+   */
+  public void setPreserveAlphaCoverage(final boolean preserve) { _preserveAlphaCoverage = preserve; }
+
+  public float getAlphaCutoff() { return _alphaCutoff; }
+
+  /**
+   * @param cutoff
+   *          the alpha test reference value used when preserving alpha coverage.
+   */
+  public void setAlphaCutoff(final float cutoff) { _alphaCutoff = cutoff; }
+
+  public boolean isWrap() { return _wrap; }
+
+  /**
+   * @param wrap
+   *          true if the texture repeats, so filters wrap around the edges instead of clamping.
+   */
+  public void setWrap(final boolean wrap) { _wrap = wrap; }
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool rows are filtered in, or null to filter on the calling thread. Defaults to the
+   *          common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  /**
+   * @return the number of levels in a full mipmap chain for the given size, down to 1x1.
+   */
+  public static int getLevelCount(final int width, final int height) {
+    return 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+  }
+
+  /**
+   * Build the full mipmap chain of an image.
+   *
+   * @param image
+   *          the source image. If it already has mipmaps, only its largest level is used.
+   * @return a new image of the same format, holding all levels.
+   * @throws IllegalArgumentException
+   *           if the image is compressed or its data type is not supported.
+   */
+  public Image generate(final Image image) {
+    final ImageDataFormat format = image.getDataFormat();
+    final PixelDataType type = image.getDataType();
+    if (format.isCompressed()) {
+      throw new IllegalArgumentException("Can not generate mipmaps for compressed format " + format);
+    }
+    switch (type) {
+      case UnsignedByte:
+      case UnsignedShort:
+      case HalfFloat:
+      case Float:
+        break;
+      default:
+        throw new IllegalArgumentException("Can not generate mipmaps for data type " + type);
+    }
+
+    final int width = image.getWidth();
+    final int height = image.getHeight();
+    final int components = format.getComponents();
+    final int bpp = ImageUtils.getPixelByteSize(format, type);
+    final int levels = getLevelCount(width, height);
+    final int[] mipSizes = new int[levels];
+    int total = 0;
+    for (int m = 0; m < levels; m++) {
+      mipSizes[m] = Math.max(1, width >> m) * Math.max(1, height >> m) * bpp;
+      total += mipSizes[m];
+    }
+
+    final Channels channels = new Channels(format, type, _srgb);
+    final List<ByteBuffer> data = new ArrayList<>(image.getDataSize());
+    for (int i = 0; i < image.getDataSize(); i++) {
+      final ByteBuffer source = image.getData(i);
+      final ByteBuffer store = BufferUtils.createByteBuffer(total).order(source.order());
+
+      // the largest level is kept as is
+      store.put(0, source, 0, mipSizes[0]);
+
+      float[] level = decode(source, width * height, components, channels);
+      // nothing to preserve if no texel passes the alpha test
+      final float coverage = channels.alpha >= 0 && _preserveAlphaCoverage
+          ? alphaCoverage(level, components, channels, 1f)
+          : 0f;
+
+      int levelWidth = width, levelHeight = height;
+      for (int m = 1, offset = mipSizes[0]; m < levels; offset += mipSizes[m++]) {
+        final int nextWidth = Math.max(1, levelWidth >> 1);
+        final int nextHeight = Math.max(1, levelHeight >> 1);
+        level = downsample(level, levelWidth, levelHeight, nextWidth, nextHeight, components);
+        levelWidth = nextWidth;
+        levelHeight = nextHeight;
+
+        final float alphaScale = coverage > 0f ? findAlphaScale(level, components, channels, coverage) : 1f;
+        encode(level, levelWidth * levelHeight, components, channels, alphaScale, store, offset);
+      }
+      data.add(store);
+    }
+
+    return new Image(format, type, width, height, data, mipSizes);
+  }
+
+  /**
+   * How to read and write the components of an image.
+   */
+  private static final class Channels {
+    final PixelDataType type;
+    final int alpha;
+    /** Per component: true if it holds an sRGB encoded color. */
+    final boolean[] srgb;
+
+    Channels(final ImageDataFormat format, final PixelDataType type, final boolean srgb) {
+      this.type = type;
+      if (format == ImageDataFormat.RGBA || format == ImageDataFormat.BGRA) {
+        alpha = 3;
+      } else if (format == ImageDataFormat.Alpha) {
+        alpha = 0;
+      } else {
+        alpha = -1;
+      }
+      final boolean colors = srgb && (type == PixelDataType.UnsignedByte || type == PixelDataType.UnsignedShort)
+          && format != ImageDataFormat.Depth && format != ImageDataFormat.StencilIndex;
+      this.srgb = new boolean[format.getComponents()];
+      for (int c = 0; c < this.srgb.length; c++) {
+        this.srgb[c] = colors && c != alpha;
+      }
+    }
+
+    /**
+     * @return the given alpha value as it reads back after storing it.
+     */
+    float storedAlpha(final float value) {
+      final float v = clamp01(value);
+      switch (type) {
+        case UnsignedByte:
+          return (int) (v * 255f + 0.5f) / 255f;
+        case UnsignedShort:
+          return (int) (v * 65535f + 0.5f) / 65535f;
+        case HalfFloat:
+          return ImageUtils.halfToFloat(ImageUtils.floatToHalf(v));
+        default:
+          return v;
+      }
+    }
+  }
+
+  private float[] decode(final ByteBuffer source, final int texels, final int components, final Channels channels) {
+    final float[] values = new float[texels * components];
+    ParallelRange.run(_pool, texels, components, (start, end) -> {
+      for (int i = start * components, n = end * components; i < n; i++) {
+        final boolean srgb = channels.srgb[i % components];
+        switch (channels.type) {
+          case UnsignedByte: {
+            final int v = source.get(i) & 0xFF;
+            values[i] = srgb ? SRGB_BYTE_TO_LINEAR[v] : v / 255f;
+            break;
+          }
+          case UnsignedShort: {
+            final float v = (source.getShort(i * 2) & 0xFFFF) / 65535f;
+            values[i] = srgb ? srgbToLinear(v) : v;
+            break;
+          }
+          case HalfFloat:
+            values[i] = ImageUtils.halfToFloat(source.getShort(i * 2));
+            break;
+          default:
+            values[i] = source.getFloat(i * 4);
+        }
+      }
+    });
+    return values;
+  }
+
+  private void encode(final float[] values, final int texels, final int components, final Channels channels,
+      final float alphaScale, final ByteBuffer store, final int offset) {
+    ParallelRange.run(_pool, texels, components, (start, end) -> {
+      for (int i = start * components, n = end * components; i < n; i++) {
+        final int c = i % components;
+        float v = values[i];
+        if (c == channels.alpha) {
+          v *= alphaScale;
+        }
+        switch (channels.type) {
+          case UnsignedByte: {
+            v = clamp01(v);
+            if (channels.srgb[c]) {
+              v = linearToSrgb(v);
+            }
+            store.put(offset + i, (byte) (v * 255f + 0.5f));
+            break;
+          }
+          case UnsignedShort: {
+            v = clamp01(v);
+            if (channels.srgb[c]) {
+              v = linearToSrgb(v);
+            }
+            store.putShort(offset + i * 2, (short) (v * 65535f + 0.5f));
+            break;
+          }
+          case HalfFloat:
+            store.putShort(offset + i * 2, ImageUtils.floatToHalf(c == channels.alpha ? clamp01(v) : v));
+            break;
+          default:
+            store.putFloat(offset + i * 4, c == channels.alpha ? clamp01(v) : v);
+        }
+      }
+    });
+  }
+
+  /**
+   * Filter a level down to the given size, horizontally then vertically.
+   */
+  private float[] downsample(final float[] source, final int width, final int height, final int newWidth,
+      final int newHeight, final int components) {
+    float[] result = source;
+    if (newWidth != width) {
+      final Taps taps = new Taps(width, newWidth);
+      final float[] in = result;
+      final float[] out = new float[newWidth * height * components];
+      ParallelRange.run(_pool, height, newWidth * components * taps.maxTaps, (start, end) -> {
+        for (int y = start; y < end; y++) {
+          final int inRow = y * width * components;
+          final int outRow = y * newWidth * components;
+          for (int x = 0; x < newWidth; x++) {
+            final int[] index = taps.index[x];
+            final float[] weight = taps.weight[x];
+            for (int c = 0; c < components; c++) {
+              float sum = 0f;
+              for (int t = 0; t < index.length; t++) {
+                sum += weight[t] * in[inRow + index[t] * components + c];
+              }
+              out[outRow + x * components + c] = sum;
+            }
+          }
+        }
+      });
+      result = out;
+    }
+    if (newHeight != height) {
+      final Taps taps = new Taps(height, newHeight);
+      final float[] in = result;
+      final int rowLength = newWidth * components;
+      final float[] out = new float[rowLength * newHeight];
+      ParallelRange.run(_pool, newHeight, rowLength * taps.maxTaps, (start, end) -> {
+        for (int y = start; y < end; y++) {
+          final int[] index = taps.index[y];
+          final float[] weight = taps.weight[y];
+          final int outRow = y * rowLength;
+          for (int t = 0; t < index.length; t++) {
+            final int inRow = index[t] * rowLength;
+            final float w = weight[t];
+            for (int i = 0; i < rowLength; i++) {
+              out[outRow + i] += w * in[inRow + i];
+            }
+          }
+        }
+      });
+      result = out;
+    }
+    return result;
+  }
+
+  /**
+   * The source texels and normalized weights of each texel along one axis of the smaller level.
+   */
+  private final class Taps {
+    final int[][] index;
+    final float[][] weight;
+    int maxTaps;
+
+    Taps(final int size, final int newSize) {
+      index = new int[newSize][];
+      weight = new float[newSize][];
+      final double scale = (double) size / newSize;
+      final double support = _filter.getRadius() * scale;
+      final int[] indices = new int[(int) Math.ceil(2 * support) + 2];
+      final double[] weights = new double[indices.length];
+      for (int i = 0; i < newSize; i++) {
+        final double center = (i + 0.5) * scale;
+        final int first = (int) Math.floor(center - support);
+        final int last = (int) Math.ceil(center + support);
+        int count = 0;
+        double sum = 0.0;
+        for (int s = first; s <= last && count < indices.length; s++) {
+          final double w = _filter.weight((s + 0.5 - center) / scale);
+          if (w == 0.0) {
+            continue;
+          }
+          indices[count] = _wrap ? Math.floorMod(s, size) : Math.min(Math.max(s, 0), size - 1);
+          weights[count++] = w;
+          sum += w;
+        }
+        if (count == 0 || sum == 0.0) {
+          // should not happen, but fall back to the nearest texel
+          indices[0] = Math.min((int) center, size - 1);
+          weights[0] = sum = 1.0;
+          count = 1;
+        }
+        index[i] = new int[count];
+        weight[i] = new float[count];
+        for (int t = 0; t < count; t++) {
+          index[i][t] = indices[t];
+          weight[i][t] = (float) (weights[t] / sum);
+        }
+        maxTaps = Math.max(maxTaps, count);
+      }
+    }
+  }
+
+  /**
+   * @return the fraction of texels whose alpha, times scale and as stored, is above the cutoff.
+   */
+  private float alphaCoverage(final float[] values, final int components, final Channels channels,
+      final float scale) {
+    int covered = 0;
+    final int texels = values.length / components;
+    for (int i = channels.alpha; i < values.length; i += components) {
+      if (channels.storedAlpha(values[i] * scale) > _alphaCutoff) {
+        covered++;
+      }
+    }
+    return (float) covered / texels;
+  }
+
+  /**
+   * @return the alpha scale giving the coverage closest to the given one, found by bisection.
+   */
+  private float findAlphaScale(final float[] values, final int components, final Channels channels,
+      final float coverage) {
+    float low = 0f, high = 1f;
+    while (alphaCoverage(values, components, channels, high) < coverage && high < 1024f) {
+      low = high;
+      high *= 2f;
+    }
+    for (int i = 0; i < 16; i++) {
+      final float middle = (low + high) * 0.5f;
+      if (alphaCoverage(values, components, channels, middle) < coverage) {
+        low = middle;
+      } else {
+        high = middle;
+      }
+    }
+    // coverage moves in steps, take whichever side of the step is closer
+    final float below = coverage - alphaCoverage(values, components, channels, low);
+    final float above = alphaCoverage(values, components, channels, high) - coverage;
+    return below < above ? low : high;
+  }
+
+  private static float clamp01(final float v) {
+    return v < 0f ? 0f : v > 1f ? 1f : v;
+  }
+
+  private static float srgbToLinear(final float v) {
+    return v <= 0.04045f ? v / 12.92f : (float) Math.pow((v + 0.055) / 1.055, 2.4);
+  }
+
+  private static float linearToSrgb(final float v) {
+    return v <= 0.0031308f ? v * 12.92f : (float) (1.055 * Math.pow(v, 1.0 / 2.4) - 0.055);
+  }
+}
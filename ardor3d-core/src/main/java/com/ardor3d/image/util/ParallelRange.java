@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits the rows of an image operation, or any other range of independent work, over a ForkJoinPool.
+ */
+public final class ParallelRange {
+
+  /** Below this much work, a range runs on the calling thread. */
+  static final int MIN_PARALLEL_WORK = 16 * 1024;
+
+  @FunctionalInterface
+  public interface Op {
+    void run(int start, int end);
+  }
+
+  private ParallelRange() {}
+
+  /**
+   * Run op over [0, count), split over the pool if there is enough work.
+   *
+   * @param pool
+   *          the pool to run in, or null to run on the calling thread.
+   * @param workPerItem
+   *          a rough cost of each item, used to size the parallel tasks.
+   */
+  public static void run(final ForkJoinPool pool, final int count, final int workPerItem, final Op op) {
+    final int grain = Math.max(1, MIN_PARALLEL_WORK / Math.max(1, workPerItem));
+    if (pool == null || count <= grain) {
+      op.run(0, count);
+    } else {
+      pool.invoke(new RangeTask(op, 0, count, grain));
+    }
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Op _op;
+    private final int _start, _end, _grain;
+
+    RangeTask(final Op op, final int start, final int end, final int grain) {
+      _op = op;
+      _start = start;
+      _end = end;
+      _grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start <= _grain) {
+        _op.run(_start, _end);
+        return;
+      }
+      final int mid = (_start + _end) >>> 1;
+      invokeAll(new RangeTask(_op, _start, mid, _grain), new RangeTask(_op, mid, _end, _grain));
+    }
+  }
+}
@@ -0,0 +1,691 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.intersection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+import com.ardor3d.bounding.BoundingBox;
+import com.ardor3d.bounding.BoundingVolume;
+import com.ardor3d.math.type.ReadOnlyPlane;
+import com.ardor3d.math.type.ReadOnlyVector3;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.Spatial;
+import com.ardor3d.scenegraph.event.DirtyEventListener;
+import com.ardor3d.scenegraph.event.DirtyType;
+
+/**
+ * <p>
+ * A loose octree over the world bounds of a set of spatials, for fast proximity queries without
+ * walking the scene: spatials within a sphere, overlapping a box, inside a camera frustum, or the
+ * k nearest to a point.
+ * </p>
+ * <p>
+ * Nodes have loose bounds twice the size of their cell, so each spatial lives in exactly one node,
+ * picked from its size and center. Moving a spatial is a constant time removal and insertion.
+ * Spatials centered outside the octree's extent, or larger than it, are kept at the root and are
+ * tested by every query.
+ * </p>
+ * <p>
+ * The octree can keep itself up to date: {@link #watch(Spatial)} registers it as a
+ * {@link DirtyEventListener} on a scene, tracks matching spatials already in that scene, and then
+ * follows attach/detach events and re-inserts spatials whenever their world bound is recomputed
+ * (the {@link DirtyType#Bounding} clean event fired from <code>updateGeometricState</code>).
+ * </p>
+ * <p>
+ * Queries add results to caller supplied collections and do not modify the octree, but the octree
+ * must not be updated while queries are running.
+ * </p>
+ */
+public class LooseOctree implements DirtyEventListener {
+
+  public static final int DEFAULT_MAX_DEPTH = 8;
+
+  private final OctNode _root;
+  private final int _maxDepth;
+  private final Map<Spatial, Entry> _entries = new IdentityHashMap<>();
+
+  private Predicate<Spatial> _trackFilter = spatial -> spatial instanceof Mesh;
+
+  /**
+   * @param center
+   *          the center of the indexed region.
+   * @param halfSize
+   *          half the edge length of the (cubic) indexed region.
+   */
+  public LooseOctree(final ReadOnlyVector3 center, final double halfSize) {
+    this(center, halfSize, DEFAULT_MAX_DEPTH);
+  }
+
+  /**
+   * @param center
+   *          the center of the indexed region.
+   * @param halfSize
+   *          half the edge length of the (cubic) indexed region.
+   * @param maxDepth
+   *          maximum number of subdivisions below the root.
+   */
+  public LooseOctree(final ReadOnlyVector3 center, final double halfSize, final int maxDepth) {
+    if (halfSize <= 0) {
+      throw new IllegalArgumentException("halfSize must be positive: " + halfSize);
+    }
+    if (maxDepth < 0) {
+      throw new IllegalArgumentException("maxDepth must be non-negative: " + maxDepth);
+    }
+    _root = new OctNode(null, 0, center.getX(), center.getY(), center.getZ(), halfSize, 0);
+    _maxDepth = maxDepth;
+  }
+
+  public int getMaxDepth() { return _maxDepth; }
+
+  /**
+   * @return the number of spatials tracked by this octree.
+   */
+  public int size() {
+    return _entries.size();
+  }
+
+  public boolean contains(final Spatial spatial) {
+    return _entries.containsKey(spatial);
+  }
+
+  public Predicate<Spatial> getTrackFilter() { return _trackFilter; }
+
+  /**
+   * @param filter
+   *          decides which spatials are tracked by {@link #watch(Spatial)} and attach events. By
+   *          default, all Meshes are tracked.
+   */
+  public void setTrackFilter(final Predicate<Spatial> filter) { _trackFilter = filter; }
+
+  /**
+   * Track all spatials in the given scene accepted by our track filter and listen for changes to it.
+   *
+   * @param root
+   *          the scene to watch.
+   */
+  public void watch(final Spatial root) {
+    root.addListener(this);
+    addTree(root);
+  }
+
+  /**
+   * Stop listening to the given scene and drop all of its spatials from this octree.
+   *
+   * @param root
+   *          the scene to stop watching.
+   */
+  public void unwatch(final Spatial root) {
+    root.removeListener(this);
+    removeTree(root);
+  }
+
+  /**
+   * Add a spatial to the octree, or update it if already present. If the spatial has no world bound
+   * yet, it is tracked but not findable until its bound is set and {@link #update(Spatial)} is
+   * called.
+   *
+   * @param spatial
+   *          the spatial to add.
+   */
+  public void add(final Spatial spatial) {
+    Entry entry = _entries.get(spatial);
+    if (entry == null) {
+      entry = new Entry(spatial);
+      _entries.put(spatial, entry);
+    }
+    refresh(entry);
+  }
+
+  /**
+   * @param spatial
+   *          the spatial to remove.
+   * @return true if the spatial was tracked by this octree.
+   */
+  public boolean remove(final Spatial spatial) {
+    final Entry entry = _entries.remove(spatial);
+    if (entry == null) {
+      return false;
+    }
+    if (entry._node != null) {
+      entry._node.remove(entry);
+    }
+    return true;
+  }
+
+  /**
+   * Re-read the world bound of the given spatial and move it in the octree if needed.
+   *
+   * @param spatial
+   *          the spatial to update.
+   * @return false if the spatial is not tracked by this octree.
+   */
+  public boolean update(final Spatial spatial) {
+    final Entry entry = _entries.get(spatial);
+    if (entry == null) {
+      return false;
+    }
+    refresh(entry);
+    return true;
+  }
+
+  /**
+   * Remove all spatials from the octree.
+   */
+  public void clear() {
+    _entries.clear();
+    _root.clear();
+  }
+
+  private void addTree(final Spatial spatial) {
+    if (_trackFilter == null || _trackFilter.test(spatial)) {
+      add(spatial);
+    }
+    if (spatial instanceof Node node) {
+      for (int i = node.getNumberOfChildren() - 1; i >= 0; i--) {
+        addTree(node.getChild(i));
+      }
+    }
+  }
+
+  private void removeTree(final Spatial spatial) {
+    remove(spatial);
+    if (spatial instanceof Node node) {
+      for (int i = node.getNumberOfChildren() - 1; i >= 0; i--) {
+        removeTree(node.getChild(i));
+      }
+    }
+  }
+
+  private void refresh(final Entry entry) {
+    if (!entry.readBounds()) {
+      if (entry._node != null) {
+        entry._node.remove(entry);
+      }
+      return;
+    }
+
+    OctNode target = findNode(entry);
+    if (target != entry._node) {
+      if (entry._node != null) {
+        entry._node.remove(entry);
+        // removing may have pruned part of the path to target, so find it again
+        target = findNode(entry);
+      }
+      target.add(entry);
+    }
+  }
+
+  private OctNode findNode(final Entry entry) {
+    final double cx = (entry._minX + entry._maxX) * 0.5;
+    final double cy = (entry._minY + entry._maxY) * 0.5;
+    final double cz = (entry._minZ + entry._maxZ) * 0.5;
+    final double extent =
+        Math.max(entry._maxX - entry._minX, Math.max(entry._maxY - entry._minY, entry._maxZ - entry._minZ)) * 0.5;
+
+    OctNode node = _root;
+    if (!node.containsPoint(cx, cy, cz)) {
+      return node;
+    }
+    while (node._depth < _maxDepth) {
+      final double childHalf = node._half * 0.5;
+      // child loose bounds extend childHalf past the child cell, so that is how far we may poke out.
+      if (extent > childHalf) {
+        break;
+      }
+      node = node.getOrCreateChild((cx >= node._cx ? 1 : 0) | (cy >= node._cy ? 2 : 0) | (cz >= node._cz ? 4 : 0));
+    }
+    return node;
+  }
+
+  // /////////////////
+  // Queries
+  // /////////////////
+
+  /**
+   * Find all spatials whose world bound overlaps the given sphere.
+   *
+   * @param center
+   *          sphere center
+   * @param radius
+   *          sphere radius
+   * @param store
+   *          collection to add results to.
+   * @return the number of spatials added to store.
+   */
+  public int findInSphere(final ReadOnlyVector3 center, final double radius, final Collection<? super Spatial> store) {
+    return findInSphere(_root, center.getX(), center.getY(), center.getZ(), radius * radius, store);
+  }
+
+  private int findInSphere(final OctNode node, final double x, final double y, final double z, final double radiusSq,
+      final Collection<? super Spatial> store) {
+    if (node._count == 0) {
+      return 0;
+    }
+    if (node != _root && node.looseDistanceSquared(x, y, z) > radiusSq) {
+      return 0;
+    }
+    int found = 0;
+    for (int i = 0, max = node.entryCount(); i < max; i++) {
+      final Entry entry = node._entries.get(i);
+      if (entry.distanceSquared(x, y, z) <= radiusSq) {
+        store.add(entry._spatial);
+        found++;
+      }
+    }
+    if (node._children != null) {
+      for (final OctNode child : node._children) {
+        if (child != null) {
+          found += findInSphere(child, x, y, z, radiusSq, store);
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Find all spatials whose world bound overlaps the given axis aligned box.
+   *
+   * @param box
+   *          the box to test.
+   * @param store
+   *          collection to add results to.
+   * @return the number of spatials added to store.
+   */
+  public int findInBox(final BoundingBox box, final Collection<? super Spatial> store) {
+    final ReadOnlyVector3 c = box.getCenter();
+    return findInBox(c.getX() - box.getXExtent(), c.getY() - box.getYExtent(), c.getZ() - box.getZExtent(),
+        c.getX() + box.getXExtent(), c.getY() + box.getYExtent(), c.getZ() + box.getZExtent(), store);
+  }
+
+  /**
+   * Find all spatials whose world bound overlaps the given axis aligned box.
+   *
+   * @return the number of spatials added to store.
+   */
+  public int findInBox(final double minX, final double minY, final double minZ, final double maxX,
+      final double maxY, final double maxZ, final Collection<? super Spatial> store) {
+    return findInBox(_root, minX, minY, minZ, maxX, maxY, maxZ, store);
+  }
+
+  private int findInBox(final OctNode node, final double minX, final double minY, final double minZ,
+      final double maxX, final double maxY, final double maxZ, final Collection<? super Spatial> store) {
+    if (node._count == 0) {
+      return 0;
+    }
+    if (node != _root && !node.looseOverlaps(minX, minY, minZ, maxX, maxY, maxZ)) {
+      return 0;
+    }
+    int found = 0;
+    for (int i = 0, max = node.entryCount(); i < max; i++) {
+      final Entry entry = node._entries.get(i);
+      if (entry._minX <= maxX && entry._maxX >= minX && entry._minY <= maxY && entry._maxY >= minY
+          && entry._minZ <= maxZ && entry._maxZ >= minZ) {
+        store.add(entry._spatial);
+        found++;
+      }
+    }
+    if (node._children != null) {
+      for (final OctNode child : node._children) {
+        if (child != null) {
+          found += findInBox(child, minX, minY, minZ, maxX, maxY, maxZ, store);
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Find all spatials whose world bound is at least partially inside the given camera's frustum. The
+   * camera's frame must be up to date (see {@link Camera#update()}).
+   *
+   * @param camera
+   *          the camera to test against.
+   * @param store
+   *          collection to add results to.
+   * @return the number of spatials added to store.
+   */
+  public int findInFrustum(final Camera camera, final Collection<? super Spatial> store) {
+    final ReadOnlyPlane[] planes = new ReadOnlyPlane[Camera.FRUSTUM_PLANES];
+    for (int i = 0; i < planes.length; i++) {
+      planes[i] = camera.getWorldPlane(i);
+    }
+    return findInFrustum(_root, planes, (1 << planes.length) - 1, store);
+  }
+
+  /**
+   * @param planeMask
+   *          bit set of planes that still need to be tested - cleared bits are planes the current
+   *          node is fully inside of.
+   */
+  private int findInFrustum(final OctNode node, final ReadOnlyPlane[] planes, int planeMask,
+      final Collection<? super Spatial> store) {
+    if (node._count == 0) {
+      return 0;
+    }
+    if (node != _root) {
+      final double h = node._half * 2.0;
+      for (int i = 0; i < planes.length; i++) {
+        if ((planeMask & (1 << i)) == 0) {
+          continue;
+        }
+        final int side = classify(planes[i], node._cx - h, node._cy - h, node._cz - h, node._cx + h, node._cy + h,
+            node._cz + h);
+        if (side < 0) {
+          return 0;
+        } else if (side > 0) {
+          planeMask &= ~(1 << i);
+        }
+      }
+    }
+
+    int found = 0;
+    for (int i = 0, max = node.entryCount(); i < max; i++) {
+      final Entry entry = node._entries.get(i);
+      if (planeMask == 0 || entry.inFrustum(planes, planeMask)) {
+        store.add(entry._spatial);
+        found++;
+      }
+    }
+    if (node._children != null) {
+      for (final OctNode child : node._children) {
+        if (child != null) {
+          found += findInFrustum(child, planes, planeMask, store);
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * @return -1 if the box is fully behind the plane (outside the frustum), 1 if fully in front and 0
+   *         if it straddles the plane.
+   */
+  private static int classify(final ReadOnlyPlane plane, final double minX, final double minY, final double minZ,
+      final double maxX, final double maxY, final double maxZ) {
+    final ReadOnlyVector3 n = plane.getNormal();
+    final double cx = (minX + maxX) * 0.5, cy = (minY + maxY) * 0.5, cz = (minZ + maxZ) * 0.5;
+    final double radius = Math.abs((maxX - cx) * n.getX()) + Math.abs((maxY - cy) * n.getY())
+        + Math.abs((maxZ - cz) * n.getZ());
+    final double distance = n.getX() * cx + n.getY() * cy + n.getZ() * cz - plane.getConstant();
+    if (distance < -radius) {
+      return -1;
+    }
+    return distance > radius ? 1 : 0;
+  }
+
+  /**
+   * Find the k spatials whose world bounds are nearest to the given point, ordered nearest first.
+   * Distance is measured to each spatial's axis aligned world bound, so spatials containing the point
+   * are at distance 0.
+   *
+   * @param point
+   *          the query point
+   * @param k
+   *          the maximum number of spatials to return.
+   * @param store
+   *          list to add results to.
+   * @return the number of spatials added to store.
+   */
+  public int findNearest(final ReadOnlyVector3 point, final int k, final List<? super Spatial> store) {
+    return findNearest(point, k, Double.POSITIVE_INFINITY, store);
+  }
+
+  /**
+   * Find the k spatials whose world bounds are nearest to the given point and no further than
+   * maxDistance, ordered nearest first.
+   *
+   * @return the number of spatials added to store.
+   */
+  public int findNearest(final ReadOnlyVector3 point, final int k, final double maxDistance,
+      final List<? super Spatial> store) {
+    if (k <= 0) {
+      return 0;
+    }
+    final double x = point.getX(), y = point.getY(), z = point.getZ();
+    final double maxSq = maxDistance * maxDistance;
+
+    // best first search - nodes are keyed by the distance to their loose bounds, entries by theirs.
+    final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+    queue.add(new Candidate(0, _root));
+    int found = 0;
+    while (!queue.isEmpty() && found < k) {
+      final Candidate candidate = queue.poll();
+      if (candidate._distanceSq > maxSq) {
+        break;
+      }
+      if (candidate._item instanceof Entry entry) {
+        store.add(entry._spatial);
+        found++;
+        continue;
+      }
+      final OctNode node = (OctNode) candidate._item;
+      for (int i = 0, max = node.entryCount(); i < max; i++) {
+        final Entry entry = node._entries.get(i);
+        final double d = entry.distanceSquared(x, y, z);
+        if (d <= maxSq) {
+          queue.add(new Candidate(d, entry));
+        }
+      }
+      if (node._children != null) {
+        for (final OctNode child : node._children) {
+          if (child != null && child._count > 0) {
+            final double d = child.looseDistanceSquared(x, y, z);
+            if (d <= maxSq) {
+              queue.add(new Candidate(d, child));
+            }
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  // /////////////////
+  // Methods for DirtyEventListener
+  // /////////////////
+
+  @Override
+  public boolean spatialDirty(final Spatial spatial, final DirtyType dirtyType) {
+    switch (dirtyType) {
+      case Attached:
+        addTree(spatial);
+        break;
+      case Detached:
+      case Destroyed:
+        removeTree(spatial);
+        break;
+      default:
+        break;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean spatialClean(final Spatial spatial, final DirtyType dirtyType) {
+    if (dirtyType == DirtyType.Bounding) {
+      update(spatial);
+    }
+    return false;
+  }
+
+  private static class Entry {
+    final Spatial _spatial;
+    OctNode _node;
+    int _index = -1;
+    double _minX, _minY, _minZ, _maxX, _maxY, _maxZ;
+
+    Entry(final Spatial spatial) {
+      _spatial = spatial;
+    }
+
+    /**
+     * @return false if the spatial has no usable world bound.
+     */
+    boolean readBounds() {
+      final BoundingVolume bound = _spatial.getWorldBound();
+      if (bound == null || !bound.isValid()) {
+        return false;
+      }
+      final ReadOnlyVector3 c = bound.getCenter();
+      final double ex, ey, ez;
+      if (bound instanceof BoundingBox box) {
+        ex = box.getXExtent();
+        ey = box.getYExtent();
+        ez = box.getZExtent();
+      } else {
+        ex = ey = ez = bound.getRadius();
+      }
+      _minX = c.getX() - ex;
+      _minY = c.getY() - ey;
+      _minZ = c.getZ() - ez;
+      _maxX = c.getX() + ex;
+      _maxY = c.getY() + ey;
+      _maxZ = c.getZ() + ez;
+      return true;
+    }
+
+    double distanceSquared(final double x, final double y, final double z) {
+      final double dx = x < _minX ? _minX - x : x > _maxX ? x - _maxX : 0;
+      final double dy = y < _minY ? _minY - y : y > _maxY ? y - _maxY : 0;
+      final double dz = z < _minZ ? _minZ - z : z > _maxZ ? z - _maxZ : 0;
+      return dx * dx + dy * dy + dz * dz;
+    }
+
+    boolean inFrustum(final ReadOnlyPlane[] planes, final int planeMask) {
+      for (int i = 0; i < planes.length; i++) {
+        if ((planeMask & (1 << i)) != 0 && classify(planes[i], _minX, _minY, _minZ, _maxX, _maxY, _maxZ) < 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static class OctNode {
+    final OctNode _parent;
+    final int _octant;
+    final double _cx, _cy, _cz, _half;
+    final int _depth;
+
+    OctNode[] _children;
+    List<Entry> _entries;
+    /** number of entries in this node and all of its descendants. */
+    int _count;
+
+    OctNode(final OctNode parent, final int octant, final double cx, final double cy, final double cz,
+      final double half, final int depth) {
+      _parent = parent;
+      _octant = octant;
+      _cx = cx;
+      _cy = cy;
+      _cz = cz;
+      _half = half;
+      _depth = depth;
+    }
+
+    int entryCount() {
+      return _entries == null ? 0 : _entries.size();
+    }
+
+    boolean containsPoint(final double x, final double y, final double z) {
+      return Math.abs(x - _cx) <= _half && Math.abs(y - _cy) <= _half && Math.abs(z - _cz) <= _half;
+    }
+
+    double looseDistanceSquared(final double x, final double y, final double z) {
+      final double h = _half * 2.0;
+      final double dx = Math.max(0, Math.abs(x - _cx) - h);
+      final double dy = Math.max(0, Math.abs(y - _cy) - h);
+      final double dz = Math.max(0, Math.abs(z - _cz) - h);
+      return dx * dx + dy * dy + dz * dz;
+    }
+
+    boolean looseOverlaps(final double minX, final double minY, final double minZ, final double maxX,
+        final double maxY, final double maxZ) {
+      final double h = _half * 2.0;
+      return _cx - h <= maxX && _cx + h >= minX && _cy - h <= maxY && _cy + h >= minY && _cz - h <= maxZ
+          && _cz + h >= minZ;
+    }
+
+    OctNode getOrCreateChild(final int octant) {
+      if (_children == null) {
+        _children = new OctNode[8];
+      }
+      OctNode child = _children[octant];
+      if (child == null) {
+        final double h = _half * 0.5;
+        child = new OctNode(this, octant, _cx + ((octant & 1) != 0 ? h : -h), _cy + ((octant & 2) != 0 ? h : -h),
+            _cz + ((octant & 4) != 0 ? h : -h), h, _depth + 1);
+        _children[octant] = child;
+      }
+      return child;
+    }
+
+    void add(final Entry entry) {
+      if (_entries == null) {
+        _entries = new ArrayList<>(4);
+      }
+      entry._node = this;
+      entry._index = _entries.size();
+      _entries.add(entry);
+      for (OctNode node = this; node != null; node = node._parent) {
+        node._count++;
+      }
+    }
+
+    void remove(final Entry entry) {
+      // swap with last for constant time removal
+      final int last = _entries.size() - 1;
+      final Entry moved = _entries.get(last);
+      _entries.set(entry._index, moved);
+      moved._index = entry._index;
+      _entries.remove(last);
+      entry._node = null;
+      entry._index = -1;
+
+      for (OctNode node = this; node != null; node = node._parent) {
+        node._count--;
+        // prune empty branches
+        if (node._count == 0 && node._parent != null) {
+          node._parent._children[node._octant] = null;
+        }
+      }
+    }
+
+    void clear() {
+      _children = null;
+      _entries = null;
+      _count = 0;
+    }
+  }
+
+  private static class Candidate implements Comparable<Candidate> {
+    final double _distanceSq;
+    final Object _item;
+
+    Candidate(final double distanceSq, final Object item) {
+      _distanceSq = distanceSq;
+      _item = item;
+    }
+
+    @Override
+    public int compareTo(final Candidate o) {
+      return Double.compare(_distanceSq, o._distanceSq);
+    }
+  }
+}
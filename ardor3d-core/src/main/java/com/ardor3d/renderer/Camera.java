@@ -29,6 +29,7 @@ import com.ardor3d.math.Vector3;
 import com.ardor3d.math.Vector4;
 import com.ardor3d.math.type.ReadOnlyMatrix3;
 import com.ardor3d.math.type.ReadOnlyMatrix4;
+import com.ardor3d.math.type.ReadOnlyPlane;
 import com.ardor3d.math.type.ReadOnlyVector2;
 import com.ardor3d.math.type.ReadOnlyVector3;
 import com.ardor3d.math.util.MathUtils;
@@ -818,6 +819,15 @@ public class Camera implements Savable, Externalizable {
    */
   public int getPlaneState() { return _planeState; }
 
+  /**
+   * @param planeId
+   *          the plane to retrieve, for example {@link #LEFT_PLANE}.
+   * @return the world space plane. Normals point into the view volume.
+   */
+  public ReadOnlyPlane getWorldPlane(final int planeId) {
+    return _worldPlane[planeId];
+  }
+
   /**
    * @param planeState
    *          a new value for planeState.
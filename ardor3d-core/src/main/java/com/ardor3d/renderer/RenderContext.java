@@ -16,6 +16,7 @@ import java.util.Stack;
 
 import com.ardor3d.framework.CanvasRenderer;
 import com.ardor3d.renderer.material.RenderMaterial;
+import com.ardor3d.renderer.occlusion.OcclusionCuller;
 import com.ardor3d.renderer.state.RenderState;
 import com.ardor3d.renderer.state.RenderState.StateType;
 import com.ardor3d.renderer.state.record.RendererRecord;
@@ -69,6 +70,8 @@ public class RenderContext {
 
   protected RenderPhase _renderPhase = RenderPhase.Scene;
 
+  protected OcclusionCuller _occlusionCuller = null;
+
   public RenderContext(final Object key) {
     this(key, null);
   }
@@ -211,6 +214,15 @@ public class RenderContext {
 
   public void setRenderPhase(final RenderPhase renderPhase) { _renderPhase = renderPhase; }
 
+  public OcclusionCuller getOcclusionCuller() { return _occlusionCuller; }
+
+  /**
+   * @param culler
+   *          the occlusion culler spatials should be tested against while drawing, or null to only use
+   *          frustum culling.
+   */
+  public void setOcclusionCuller(final OcclusionCuller culler) { _occlusionCuller = culler; }
+
   /**
    * Saves the currently set states to a stack. Does not changes the currently enforced states.
    */
@@ -0,0 +1,594 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.occlusion;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.ardor3d.bounding.BoundingBox;
+import com.ardor3d.bounding.BoundingVolume;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.math.type.ReadOnlyMatrix4;
+import com.ardor3d.math.type.ReadOnlyVector3;
+import com.ardor3d.math.util.MathUtils;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.renderer.IndexMode;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.Spatial;
+import com.ardor3d.scenegraph.hint.CullHint;
+import com.ardor3d.scenegraph.hint.OcclusionHint;
+
+/**
+ * A software occlusion culler. Occluder meshes (those whose scene hints resolve to
+ * {@link OcclusionHint#Occluder}) are rasterized on the CPU into a small depth buffer, which is then
+ * reduced into a hierarchical depth pyramid. During drawing, {@link Spatial#onDraw} tests the screen
+ * space bound of each candidate against the pyramid and skips it if it is fully hidden.
+ * <p>
+ * Rasterization is split into square screen tiles which are processed in parallel on a
+ * {@link ForkJoinPool}. The culler is conservative: occluder triangles crossing the near plane are
+ * dropped and bounds crossing the near plane are never considered hidden.
+ * <p>
+ * Typical usage per frame:
+ *
+ * <pre>
+ * culler.update(camera, root);
+ * ContextManager.getCurrentContext().setOcclusionCuller(culler);
+ * renderer.draw(root);
+ * </pre>
+ */
+public class OcclusionCuller {
+
+  public static final int DEFAULT_WIDTH = 256;
+  public static final int DEFAULT_HEIGHT = 128;
+  public static final int DEFAULT_TILE_SIZE = 32;
+
+  /** Clip space w below which geometry is considered to cross the near plane. */
+  private static final double MIN_W = MathUtils.ZERO_TOLERANCE;
+
+  /** Number of floats stored per projected occluder triangle (x, y, depth for 3 vertices.) */
+  private static final int TRI_STRIDE = 9;
+
+  private final int _width;
+  private final int _height;
+  private final int _tileSize;
+  private final int _tilesX;
+  private final int _tilesY;
+
+  /** Depth pyramid, level 0 is the full resolution buffer. Each texel stores the farthest depth. */
+  private final float[][] _levels;
+  private final int[] _levelWidths;
+  private final int[] _levelHeights;
+
+  /** Number of pyramid levels that can be reduced independently inside each tile. */
+  private final int _tileLevels;
+
+  private final double[] _viewProjection = new double[16];
+
+  private float[] _triangles = new float[TRI_STRIDE * 256];
+  private int _triangleCount;
+
+  private final int[][] _tileBins;
+  private final int[] _tileBinCounts;
+
+  private ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  private boolean _enabled = true;
+  private boolean _ready = false;
+
+  private int _testedCount;
+  private int _culledCount;
+
+  private final Vector3 _compVect = new Vector3();
+  private final double[] _corner = new double[4];
+
+  public OcclusionCuller() {
+    this(DEFAULT_WIDTH, DEFAULT_HEIGHT, DEFAULT_TILE_SIZE);
+  }
+
+  /**
+   * @param width
+   *          width of the occlusion depth buffer in texels.
+   * @param height
+   *          height of the occlusion depth buffer in texels.
+   * @param tileSize
+   *          size of the square tiles rasterized in parallel. Must be a power of two.
+   */
+  public OcclusionCuller(final int width, final int height, final int tileSize) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("width and height must be positive.");
+    }
+    if (!MathUtils.isPowerOfTwo(tileSize)) {
+      throw new IllegalArgumentException("tileSize must be a power of two: " + tileSize);
+    }
+    _width = width;
+    _height = height;
+    _tileSize = tileSize;
+    _tilesX = (width + tileSize - 1) / tileSize;
+    _tilesY = (height + tileSize - 1) / tileSize;
+
+    int levelCount = 1;
+    for (int w = width, h = height; w > 1 || h > 1; w = Math.max(1, (w + 1) >> 1), h = Math.max(1, (h + 1) >> 1)) {
+      levelCount++;
+    }
+    _levels = new float[levelCount][];
+    _levelWidths = new int[levelCount];
+    _levelHeights = new int[levelCount];
+    for (int i = 0, w = width, h = height; i < levelCount; i++, w = Math.max(1, (w + 1) >> 1), h =
+        Math.max(1, (h + 1) >> 1)) {
+      _levelWidths[i] = w;
+      _levelHeights[i] = h;
+      _levels[i] = new float[w * h];
+      Arrays.fill(_levels[i], 1f);
+    }
+    _tileLevels = Math.min(levelCount - 1, Integer.numberOfTrailingZeros(tileSize));
+
+    _tileBins = new int[_tilesX * _tilesY][16];
+    _tileBinCounts = new int[_tilesX * _tilesY];
+  }
+
+  public int getWidth() { return _width; }
+
+  public int getHeight() { return _height; }
+
+  public int getTileSize() { return _tileSize; }
+
+  public int getLevelCount() { return _levels.length; }
+
+  public boolean isEnabled() { return _enabled; }
+
+  /**
+   * @param enabled
+   *          if false, {@link #isOccluded(BoundingVolume)} will always return false.
+   */
+  public void setEnabled(final boolean enabled) { _enabled = enabled; }
+
+  /**
+   * @return true if enabled and the depth pyramid has been built for the current frame.
+   */
+  public boolean isActive() { return _enabled && _ready; }
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool used to rasterize tiles in parallel. Defaults to the common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  /**
+   * @return the number of bounds tested since the last call to {@link #beginFrame(Camera)}.
+   */
+  public int getTestedCount() { return _testedCount; }
+
+  /**
+   * @return the number of bounds found occluded since the last call to {@link #beginFrame(Camera)}.
+   */
+  public int getCulledCount() { return _culledCount; }
+
+  /**
+   * @return the number of occluder triangles submitted this frame.
+   */
+  public int getOccluderTriangleCount() { return _triangleCount; }
+
+  /**
+   * Convenience method that runs a full occlusion frame: {@link #beginFrame(Camera)},
+   * {@link #addOccluders(Spatial, Camera)} and {@link #rasterize()}.
+   *
+   * @param camera
+   *          the camera we are about to render with.
+   * @param root
+   *          the scene to search for occluders.
+   */
+  public void update(final Camera camera, final Spatial root) {
+    beginFrame(camera);
+    addOccluders(root, camera);
+    rasterize();
+  }
+
+  /**
+   * Start a new occlusion frame, clearing the previous occluders and capturing the camera's view
+   * projection matrix.
+   *
+   * @param camera
+   *          the camera we are about to render with.
+   */
+  public void beginFrame(final Camera camera) {
+    final ReadOnlyMatrix4 vp = camera.getViewProjectionMatrix();
+    _viewProjection[0] = vp.getM00();
+    _viewProjection[1] = vp.getM01();
+    _viewProjection[2] = vp.getM02();
+    _viewProjection[3] = vp.getM03();
+    _viewProjection[4] = vp.getM10();
+    _viewProjection[5] = vp.getM11();
+    _viewProjection[6] = vp.getM12();
+    _viewProjection[7] = vp.getM13();
+    _viewProjection[8] = vp.getM20();
+    _viewProjection[9] = vp.getM21();
+    _viewProjection[10] = vp.getM22();
+    _viewProjection[11] = vp.getM23();
+    _viewProjection[12] = vp.getM30();
+    _viewProjection[13] = vp.getM31();
+    _viewProjection[14] = vp.getM32();
+    _viewProjection[15] = vp.getM33();
+
+    _triangleCount = 0;
+    _ready = false;
+    _testedCount = 0;
+    _culledCount = 0;
+  }
+
+  /**
+   * Walk the given scene and add every mesh flagged as an occluder that is not outside the camera
+   * frustum.
+   *
+   * @param spatial
+   *          the scene to search.
+   * @param camera
+   *          the camera used for frustum rejection of occluders. May be null to skip that check.
+   */
+  public void addOccluders(final Spatial spatial, final Camera camera) {
+    if (spatial == null) {
+      return;
+    }
+    final CullHint cullHint = spatial.getSceneHints().getCullHint();
+    if (cullHint == CullHint.Always) {
+      return;
+    }
+    if (camera != null && cullHint == CullHint.Dynamic && spatial.getWorldBound() != null) {
+      final int state = camera.getPlaneState();
+      camera.setPlaneState(0);
+      final boolean outside = camera.contains(spatial.getWorldBound()) == Camera.FrustumIntersect.Outside;
+      camera.setPlaneState(state);
+      if (outside) {
+        return;
+      }
+    }
+
+    if (spatial instanceof Node node) {
+      for (int i = node.getNumberOfChildren() - 1; i >= 0; i--) {
+        addOccluders(node.getChild(i), camera);
+      }
+    } else if (spatial instanceof Mesh mesh
+        && mesh.getSceneHints().getOcclusionHint() == OcclusionHint.Occluder) {
+      addOccluder(mesh);
+    }
+  }
+
+  /**
+   * Add the triangles of the given mesh, in world space, to the set of occluders for this frame.
+   * Non-triangle sections are ignored.
+   *
+   * @param mesh
+   *          the occluder mesh
+   */
+  public void addOccluder(final Mesh mesh) {
+    final MeshData data = mesh.getMeshData();
+    if (data == null || data.getVertexBuffer() == null) {
+      return;
+    }
+
+    final Vector3 a = new Vector3(), b = new Vector3(), c = new Vector3();
+    final int[] indices = new int[3];
+    for (int section = 0, sections = data.getSectionCount(); section < sections; section++) {
+      final IndexMode mode = data.getIndexMode(section);
+      if (mode != IndexMode.Triangles && mode != IndexMode.TriangleStrip && mode != IndexMode.TriangleFan) {
+        continue;
+      }
+      for (int i = 0, count = data.getPrimitiveCount(section); i < count; i++) {
+        data.getPrimitiveIndices(i, section, indices);
+        readVertex(data, indices[0], mesh, a);
+        readVertex(data, indices[1], mesh, b);
+        readVertex(data, indices[2], mesh, c);
+        addOccluderTriangle(a, b, c);
+      }
+    }
+  }
+
+  private static void readVertex(final MeshData data, final int index, final Mesh mesh, final Vector3 store) {
+    final int offset = index * 3;
+    store.set(data.getVertexBuffer().get(offset), data.getVertexBuffer().get(offset + 1),
+        data.getVertexBuffer().get(offset + 2));
+    mesh.getWorldTransform().applyForward(store);
+  }
+
+  /**
+   * Add a single world space triangle to the set of occluders for this frame.
+   *
+   * @param a
+   *          first vertex
+   * @param b
+   *          second vertex
+   * @param c
+   *          third vertex
+   */
+  public void addOccluderTriangle(final ReadOnlyVector3 a, final ReadOnlyVector3 b, final ReadOnlyVector3 c) {
+    if (_triangleCount * TRI_STRIDE + TRI_STRIDE > _triangles.length) {
+      _triangles = Arrays.copyOf(_triangles, _triangles.length * 2);
+    }
+    final int offset = _triangleCount * TRI_STRIDE;
+    // conservative - drop anything touching the near plane rather than clipping it.
+    if (!project(a, offset) || !project(b, offset + 3) || !project(c, offset + 6)) {
+      return;
+    }
+    _triangleCount++;
+  }
+
+  private boolean project(final ReadOnlyVector3 point, final int offset) {
+    if (!projectPoint(point.getX(), point.getY(), point.getZ())) {
+      return false;
+    }
+    _triangles[offset] = (float) _corner[0];
+    _triangles[offset + 1] = (float) _corner[1];
+    _triangles[offset + 2] = (float) _corner[2];
+    return true;
+  }
+
+  /**
+   * Project a world space point into occlusion buffer space, storing x, y (in texels) and depth (0 to
+   * 1) in _corner.
+   *
+   * @return false if the point is at or behind the near plane.
+   */
+  private boolean projectPoint(final double x, final double y, final double z) {
+    final double[] m = _viewProjection;
+    final double w = m[12] * x + m[13] * y + m[14] * z + m[15];
+    if (w < MIN_W) {
+      return false;
+    }
+    final double invW = 1.0 / w;
+    _corner[0] = ((m[0] * x + m[1] * y + m[2] * z + m[3]) * invW * 0.5 + 0.5) * _width;
+    _corner[1] = ((m[4] * x + m[5] * y + m[6] * z + m[7]) * invW * 0.5 + 0.5) * _height;
+    _corner[2] = (m[8] * x + m[9] * y + m[10] * z + m[11]) * invW * 0.5 + 0.5;
+    return true;
+  }
+
+  /**
+   * Rasterize all occluders added since {@link #beginFrame(Camera)} and build the depth pyramid.
+   * After this call, {@link #isOccluded(BoundingVolume)} will test against the new occluders.
+   */
+  public void rasterize() {
+    binTriangles();
+
+    final int tileCount = _tilesX * _tilesY;
+    if (_pool != null && tileCount > 1) {
+      _pool.invoke(new TileTask(0, tileCount));
+    } else {
+      for (int i = 0; i < tileCount; i++) {
+        processTile(i);
+      }
+    }
+
+    // remaining coarse levels span multiple tiles, so reduce them here.
+    for (int level = _tileLevels + 1; level < _levels.length; level++) {
+      reduce(level, 0, 0, _levelWidths[level], _levelHeights[level]);
+    }
+
+    _ready = true;
+  }
+
+  private void binTriangles() {
+    Arrays.fill(_tileBinCounts, 0);
+    for (int t = 0; t < _triangleCount; t++) {
+      final int o = t * TRI_STRIDE;
+      final float minX = Math.min(_triangles[o], Math.min(_triangles[o + 3], _triangles[o + 6]));
+      final float maxX = Math.max(_triangles[o], Math.max(_triangles[o + 3], _triangles[o + 6]));
+      final float minY = Math.min(_triangles[o + 1], Math.min(_triangles[o + 4], _triangles[o + 7]));
+      final float maxY = Math.max(_triangles[o + 1], Math.max(_triangles[o + 4], _triangles[o + 7]));
+      if (maxX < 0 || maxY < 0 || minX >= _width || minY >= _height) {
+        continue;
+      }
+      final int tx0 = Math.max(0, (int) minX / _tileSize), tx1 = Math.min(_tilesX - 1, (int) maxX / _tileSize);
+      final int ty0 = Math.max(0, (int) minY / _tileSize), ty1 = Math.min(_tilesY - 1, (int) maxY / _tileSize);
+      for (int ty = ty0; ty <= ty1; ty++) {
+        for (int tx = tx0; tx <= tx1; tx++) {
+          final int tile = ty * _tilesX + tx;
+          int[] bin = _tileBins[tile];
+          if (_tileBinCounts[tile] == bin.length) {
+            bin = _tileBins[tile] = Arrays.copyOf(bin, bin.length * 2);
+          }
+          bin[_tileBinCounts[tile]++] = t;
+        }
+      }
+    }
+  }
+
+  private void processTile(final int tile) {
+    final int x0 = (tile % _tilesX) * _tileSize, y0 = (tile / _tilesX) * _tileSize;
+    final int x1 = Math.min(_width, x0 + _tileSize), y1 = Math.min(_height, y0 + _tileSize);
+
+    final float[] depth = _levels[0];
+    for (int y = y0; y < y1; y++) {
+      Arrays.fill(depth, y * _width + x0, y * _width + x1, 1f);
+    }
+
+    final int[] bin = _tileBins[tile];
+    for (int i = 0, max = _tileBinCounts[tile]; i < max; i++) {
+      rasterizeTriangle(bin[i] * TRI_STRIDE, x0, y0, x1, y1);
+    }
+
+    // reduce the levels that fall entirely within this tile.
+    for (int level = 1; level <= _tileLevels; level++) {
+      final int lx0 = x0 >> level, ly0 = y0 >> level;
+      final int lx1 = Math.min(_levelWidths[level], ((x1 - 1) >> level) + 1);
+      final int ly1 = Math.min(_levelHeights[level], ((y1 - 1) >> level) + 1);
+      reduce(level, lx0, ly0, lx1, ly1);
+    }
+  }
+
+  private void rasterizeTriangle(final int o, final int tileX0, final int tileY0, final int tileX1,
+      final int tileY1) {
+    final float[] tri = _triangles;
+    final float ax = tri[o], ay = tri[o + 1], az = tri[o + 2];
+    final float bx = tri[o + 3], by = tri[o + 4], bz = tri[o + 5];
+    final float cx = tri[o + 6], cy = tri[o + 7], cz = tri[o + 8];
+
+    final float area = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    if (Math.abs(area) < MathUtils.ZERO_TOLERANCE) {
+      return;
+    }
+    // normalize winding so that inside is always positive
+    final float sign = area > 0 ? 1f : -1f;
+    final float invArea = 1f / (area * sign);
+
+    final int minX = Math.max(tileX0, (int) Math.floor(Math.min(ax, Math.min(bx, cx))));
+    final int maxX = Math.min(tileX1 - 1, (int) Math.ceil(Math.max(ax, Math.max(bx, cx))));
+    final int minY = Math.max(tileY0, (int) Math.floor(Math.min(ay, Math.min(by, cy))));
+    final int maxY = Math.min(tileY1 - 1, (int) Math.ceil(Math.max(ay, Math.max(by, cy))));
+    if (minX > maxX || minY > maxY) {
+      return;
+    }
+
+    // edge function coefficients: e(x,y) = A*x + B*y + C
+    final float a0 = (by - cy) * sign, b0 = (cx - bx) * sign, c0 = (bx * cy - by * cx) * sign;
+    final float a1 = (cy - ay) * sign, b1 = (ax - cx) * sign, c1 = (cx * ay - cy * ax) * sign;
+    final float a2 = (ay - by) * sign, b2 = (bx - ax) * sign, c2 = (ax * by - ay * bx) * sign;
+
+    final float[] depth = _levels[0];
+    for (int y = minY; y <= maxY; y++) {
+      final float py = y + 0.5f;
+      final int row = y * _width;
+      for (int x = minX; x <= maxX; x++) {
+        final float px = x + 0.5f;
+        final float w0 = a0 * px + b0 * py + c0;
+        final float w1 = a1 * px + b1 * py + c1;
+        final float w2 = a2 * px + b2 * py + c2;
+        if (w0 < 0 || w1 < 0 || w2 < 0) {
+          continue;
+        }
+        final float z = (w0 * az + w1 * bz + w2 * cz) * invArea;
+        if (z < depth[row + x]) {
+          depth[row + x] = z;
+        }
+      }
+    }
+  }
+
+  /**
+   * Fill the given region of a pyramid level with the farthest depth of the matching 2x2 texels of
+   * the previous level.
+   */
+  private void reduce(final int level, final int x0, final int y0, final int x1, final int y1) {
+    final float[] src = _levels[level - 1], dst = _levels[level];
+    final int srcWidth = _levelWidths[level - 1], srcHeight = _levelHeights[level - 1];
+    final int dstWidth = _levelWidths[level];
+    for (int y = y0; y < y1; y++) {
+      final int sy0 = y << 1, sy1 = Math.min(sy0 + 1, srcHeight - 1);
+      for (int x = x0; x < x1; x++) {
+        final int sx0 = x << 1, sx1 = Math.min(sx0 + 1, srcWidth - 1);
+        final float d = Math.max(Math.max(src[sy0 * srcWidth + sx0], src[sy0 * srcWidth + sx1]),
+            Math.max(src[sy1 * srcWidth + sx0], src[sy1 * srcWidth + sx1]));
+        dst[y * dstWidth + x] = d;
+      }
+    }
+  }
+
+  /**
+   * Test the given world bound against the depth pyramid.
+   *
+   * @param bound
+   *          the world bound to test.
+   * @return true if the bound is completely hidden behind the current occluders. Always false if this
+   *         culler is not active.
+   */
+  public boolean isOccluded(final BoundingVolume bound) {
+    if (!isActive() || bound == null || !bound.isValid()) {
+      return false;
+    }
+    _testedCount++;
+
+    final ReadOnlyVector3 center = bound.getCenter();
+    final double ex, ey, ez;
+    if (bound instanceof BoundingBox box) {
+      ex = box.getXExtent();
+      ey = box.getYExtent();
+      ez = box.getZExtent();
+    } else {
+      ex = ey = ez = bound.getRadius();
+    }
+
+    double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minDepth = Double.POSITIVE_INFINITY;
+    double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < 8; i++) {
+      _compVect.set(center.getX() + ((i & 1) == 0 ? -ex : ex), center.getY() + ((i & 2) == 0 ? -ey : ey),
+          center.getZ() + ((i & 4) == 0 ? -ez : ez));
+      if (!projectPoint(_compVect.getX(), _compVect.getY(), _compVect.getZ())) {
+        // crosses the near plane - assume visible.
+        return false;
+      }
+      minX = Math.min(minX, _corner[0]);
+      maxX = Math.max(maxX, _corner[0]);
+      minY = Math.min(minY, _corner[1]);
+      maxY = Math.max(maxY, _corner[1]);
+      minDepth = Math.min(minDepth, _corner[2]);
+    }
+
+    if (maxX < 0 || maxY < 0 || minX >= _width || minY >= _height) {
+      // offscreen - leave that decision to frustum culling
+      return false;
+    }
+
+    final int px0 = Math.max(0, (int) Math.floor(minX)), px1 = Math.min(_width - 1, (int) Math.floor(maxX));
+    final int py0 = Math.max(0, (int) Math.floor(minY)), py1 = Math.min(_height - 1, (int) Math.floor(maxY));
+
+    // pick the level at which the bound covers at most 2x2 texels
+    final int size = Math.max(px1 - px0, py1 - py0) + 1;
+    final int level = Math.min(_levels.length - 1, 32 - Integer.numberOfLeadingZeros(size - 1));
+
+    final float[] depth = _levels[level];
+    final int levelWidth = _levelWidths[level];
+    for (int y = py0 >> level, yMax = py1 >> level; y <= yMax; y++) {
+      for (int x = px0 >> level, xMax = px1 >> level; x <= xMax; x++) {
+        if (minDepth <= depth[y * levelWidth + x]) {
+          return false;
+        }
+      }
+    }
+
+    _culledCount++;
+    return true;
+  }
+
+  /**
+   * @param level
+   *          the pyramid level
+   * @param x
+   *          texel x coordinate at that level
+   * @param y
+   *          texel y coordinate at that level
+   * @return the farthest depth (0 to 1) stored at the given texel.
+   */
+  public float getDepth(final int level, final int x, final int y) {
+    return _levels[level][y * _levelWidths[level] + x];
+  }
+
+  @SuppressWarnings("serial")
+  private class TileTask extends RecursiveAction {
+    private final int _start, _end;
+
+    TileTask(final int start, final int end) {
+      _start = start;
+      _end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (_end - _start <= 1) {
+        processTile(_start);
+        return;
+      }
+      final int mid = (_start + _end) >>> 1;
+      invokeAll(new TileTask(_start, mid), new TileTask(mid, _end));
+    }
+  }
+}
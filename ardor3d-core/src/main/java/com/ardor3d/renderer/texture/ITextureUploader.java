@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.texture;
+
+/**
+ * Sends {@link TextureUpload.Slice}s to the card for a {@link TextureUploadScheduler}, typically by
+ * copying them to staging memory the card reads asynchronously. All methods are called on the render
+ * thread of the context the uploads are for.
+ */
+public interface ITextureUploader {
+
+  /**
+   * Called before the slices of a frame are sent.
+   */
+  default void beginFrame() {}
+
+  /**
+   * Called after the slices of a frame were sent.
+   */
+  default void endFrame() {}
+
+  /**
+   * @return the largest slice, in bytes, this uploader can stage at once.
+   */
+  int getMaxSliceBytes();
+
+  /**
+   * @return the number of bytes that can be staged right now without waiting for the card to finish
+   *         reading earlier slices.
+   */
+  long getAvailableBytes();
+
+  /**
+   * Send a slice of an upload. Only called with slices no larger than {@link #getAvailableBytes()}.
+   *
+   * @param upload
+   *          the upload the slice belongs to.
+   * @param slice
+   *          the slice to send.
+   * @return true if the slice was sent, or false if it can not be sent yet - for example because the
+   *         texture is not on the card - in which case nothing may have been staged, and the upload
+   *         is tried again on a later frame.
+   */
+  boolean upload(TextureUpload upload, TextureUpload.Slice slice);
+}
@@ -0,0 +1,433 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.texture;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.ardor3d.annotation.MainThread;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.Texture;
+import com.ardor3d.renderer.ContextManager;
+import com.ardor3d.renderer.RenderContext;
+import com.ardor3d.renderer.RenderContext.RenderContextRef;
+import com.ardor3d.util.TextureKey;
+
+/**
+ * Keeps the estimated card memory used by textures under a budget.
+ * <p>
+ * The renderer reports each texture it binds through {@link #touch(Texture)}, which records the
+ * texture's estimated size on the card and the frame it was last used in. Once per frame,
+ * {@link #update(ITextureUtils)} compares the total against {@link #getBudget()}. When over, it
+ * first deletes textures not used this frame, least recently used first. If that is not enough, it
+ * drops the top mip level of the largest textures in use, which then come back a quarter of the size.
+ * Deleted textures are loaded again from their image the next time they are drawn, and dropped levels
+ * are restored as room frees up.
+ * </p>
+ * <p>
+ * Only textures that can be loaded again are deleted: those holding an image, not made with
+ * {@link TextureKey#getRTTKey}, and not {@link #setPinned pinned}. Textures whose contents were
+ * changed on the card, for example by sub image updates, should be pinned. Levels are only dropped
+ * from two dimensional textures whose image holds its mipmaps, as making them here would stall the
+ * render thread. Generate them when loading, for example with
+ * {@link com.ardor3d.image.util.MipMapGenerator}, to let large textures be reduced.
+ * </p>
+ * <p>
+ * Set with {@link com.ardor3d.util.TextureManager#setResidencyManager} to have the renderer report to
+ * it. A manager handles the textures of a single context, and is used on its render thread. That
+ * context is taken from the first texture touched, unless {@link #setContextRef set}.
+ * </p>
+ */
+public class TextureResidencyManager {
+
+  /** The default budget, in bytes. */
+  public static final long DEFAULT_BUDGET = 512L * 1024 * 1024;
+
+  private final Map<TextureKey, Entry> _entries = new WeakHashMap<>();
+
+  private long _budget;
+  private int _maxDroppedLevels = 2;
+  private int _minDroppedSize = 64;
+  private float _restoreFraction = 0.75f;
+  private long _frame;
+  private RenderContextRef _contextRef;
+
+  private long _residentBytes;
+  private int _evictions;
+  private int _drops;
+
+  private static final class Entry {
+    private WeakReference<Texture> _texture;
+    private WeakReference<Image> _image;
+    private long _lastUsed;
+    private long _bytes;
+    private boolean _resident;
+    private boolean _pinned;
+    /** The number of top mip levels left out of the next upload. */
+    private int _dropped;
+    /** The last reduced image made, and what it was made from. */
+    private Image _reduced;
+    private int _reducedLevels;
+    private WeakReference<Image> _reducedFrom;
+  }
+
+  public TextureResidencyManager() {
+    this(DEFAULT_BUDGET);
+  }
+
+  /**
+   * @param budget
+   *          the most bytes textures should use on the card.
+   */
+  public TextureResidencyManager(final long budget) {
+    setBudget(budget);
+  }
+
+  public long getBudget() { return _budget; }
+
+  public void setBudget(final long budget) {
+    if (budget <= 0) {
+      throw new IllegalArgumentException("budget must be positive: " + budget);
+    }
+    _budget = budget;
+  }
+
+  /**
+   * @return the most top mip levels dropped from a texture. 0 turns mip dropping off.
+   */
+  public int getMaxDroppedLevels() { return _maxDroppedLevels; }
+
+  public void setMaxDroppedLevels(final int levels) { _maxDroppedLevels = levels; }
+
+  /**
+   * @return the smallest width or height a texture is reduced to by dropping levels.
+   */
+  public int getMinDroppedSize() { return _minDroppedSize; }
+
+  public void setMinDroppedSize(final int size) { _minDroppedSize = size; }
+
+  /**
+   * @return the part of the budget dropped levels may be restored into. Kept below 1 so restoring a
+   *         level does not immediately push us over budget again.
+   */
+  public float getRestoreFraction() { return _restoreFraction; }
+
+  public void setRestoreFraction(final float fraction) { _restoreFraction = fraction; }
+
+  /**
+   * @return the context whose textures this manager handles, or null if not known yet.
+   */
+  public RenderContextRef getContextRef() { return _contextRef; }
+
+  /**
+   * @param contextRef
+   *          the context whose textures this manager handles.
+   */
+  public void setContextRef(final RenderContextRef contextRef) { _contextRef = contextRef; }
+
+  /**
+   * @return the current frame, advanced by each {@link #update(ITextureUtils)}.
+   */
+  public long getFrame() { return _frame; }
+
+  /**
+   * @return the estimated bytes of all textures on the card, as of the last touch or update.
+   */
+  public long getResidentBytes() { return _residentBytes; }
+
+  /**
+   * @return the number of textures deleted to stay under budget so far.
+   */
+  public int getEvictionCount() { return _evictions; }
+
+  /**
+   * @return the number of mip levels dropped to stay under budget so far.
+   */
+  public int getDropCount() { return _drops; }
+
+  /**
+   * Record that a texture is on the card and used in the current frame. Called by the renderer when
+   * binding a texture.
+   *
+   * @param texture
+   *          the texture.
+   */
+  @MainThread
+  public void touch(final Texture texture) {
+    final TextureKey key = texture.getTextureKey();
+    if (key == null) {
+      return;
+    }
+    if (_contextRef == null) {
+      final RenderContext context = ContextManager.getCurrentContext();
+      if (context != null) {
+        _contextRef = context.getSharableContextRef();
+      }
+    }
+    final Entry entry = entry(key, texture);
+    entry._lastUsed = _frame;
+    final Image image = texture.getImage();
+    if (!entry._resident || entry._image == null || entry._image.get() != image) {
+      final long bytes = image != null ? estimateBytes(texture, getUploadImage(texture)) : entry._bytes;
+      _residentBytes += bytes - (entry._resident ? entry._bytes : 0);
+      entry._bytes = bytes;
+      entry._image = new WeakReference<>(image);
+      entry._resident = true;
+    }
+  }
+
+  private Entry entry(final TextureKey key, final Texture texture) {
+    Entry entry = _entries.get(key);
+    if (entry == null) {
+      entry = new Entry();
+      entry._texture = new WeakReference<>(texture);
+      _entries.put(key, entry);
+    } else if (entry._texture.get() != texture) {
+      entry._texture = new WeakReference<>(texture);
+    }
+    return entry;
+  }
+
+  /**
+   * Record that a texture was removed from the card by other means, for example by
+   * {@link ITextureUtils#deleteTexture(Texture)}.
+   */
+  @MainThread
+  public void forget(final Texture texture) {
+    final TextureKey key = texture.getTextureKey();
+    final Entry entry = key != null ? _entries.get(key) : null;
+    if (entry != null && entry._resident) {
+      entry._resident = false;
+      _residentBytes -= entry._bytes;
+    }
+  }
+
+  /**
+   * Record that all textures were removed from the card. Pinned textures stay pinned.
+   */
+  @MainThread
+  public void clear() {
+    for (final Entry entry : _entries.values()) {
+      entry._resident = false;
+    }
+    _residentBytes = 0;
+  }
+
+  /**
+   * Record that all textures of a context were removed from the card. Only clears this manager if
+   * that is the context it handles, or if that context is not known.
+   *
+   * @param contextRef
+   *          the context whose textures were removed.
+   */
+  @MainThread
+  public void clear(final RenderContextRef contextRef) {
+    if (_contextRef == null || contextRef == null || _contextRef == contextRef) {
+      clear();
+    }
+  }
+
+  /**
+   * @param texture
+   *          the texture.
+   * @param pinned
+   *          true to never delete the texture or drop its levels.
+   */
+  public void setPinned(final Texture texture, final boolean pinned) {
+    entry(texture.getTextureKey(), texture)._pinned = pinned;
+  }
+
+  public boolean isPinned(final Texture texture) {
+    final Entry entry = _entries.get(texture.getTextureKey());
+    return entry != null && entry._pinned;
+  }
+
+  /**
+   * @return true if the texture is believed to be on the card.
+   */
+  public boolean isResident(final Texture texture) {
+    final Entry entry = _entries.get(texture.getTextureKey());
+    return entry != null && entry._resident;
+  }
+
+  /**
+   * @return the number of top mip levels left out when the texture is next uploaded.
+   */
+  public int getDroppedLevels(final Texture texture) {
+    final Entry entry = _entries.get(texture.getTextureKey());
+    return entry != null ? entry._dropped : 0;
+  }
+
+  /**
+   * @return the image to upload for a texture: its own image, or a copy without the dropped levels.
+   */
+  public Image getUploadImage(final Texture texture) {
+    final Image image = texture.getImage();
+    final Entry entry = texture.getTextureKey() != null ? _entries.get(texture.getTextureKey()) : null;
+    if (entry == null || entry._dropped == 0 || image == null) {
+      return image;
+    }
+    if (entry._reduced == null || entry._reducedLevels != entry._dropped || entry._reducedFrom.get() != image) {
+      entry._reduced = dropLevels(image, entry._dropped);
+      entry._reducedLevels = entry._dropped;
+      entry._reducedFrom = new WeakReference<>(image);
+    }
+    return entry._reduced;
+  }
+
+  /**
+   * Bring the textures on the card under budget, and restore dropped levels if there is room. Call
+   * once per frame, after drawing, in the context the textures were drawn in.
+   *
+   * @param utils
+   *          deletes the textures.
+   * @return the estimated number of bytes freed.
+   */
+  @MainThread
+  public long update(final ITextureUtils utils) {
+    final List<Entry> resident = new ArrayList<>();
+    long total = 0;
+    for (final Entry entry : _entries.values()) {
+      if (entry._resident) {
+        resident.add(entry);
+        total += entry._bytes;
+      }
+    }
+
+    final long before = total;
+    if (total > _budget) {
+      // textures not used this frame, least recently used first
+      resident.sort(Comparator.comparingLong(e -> e._lastUsed));
+      for (final Entry entry : resident) {
+        if (total <= _budget || entry._lastUsed >= _frame) {
+          break;
+        }
+        final Texture texture = entry._texture.get();
+        if (texture != null && isReloadable(entry, texture)) {
+          utils.deleteTexture(texture);
+          entry._resident = false;
+          total -= entry._bytes;
+          _evictions++;
+        }
+      }
+    }
+
+    if (total > _budget) {
+      // still over with just the textures in use, so drop the top level of the largest
+      resident.sort(Comparator.comparingLong(e -> -e._bytes));
+      for (final Entry entry : resident) {
+        if (total <= _budget) {
+          break;
+        }
+        final Texture texture = entry._texture.get();
+        if (entry._resident && texture != null && canDrop(entry, texture)) {
+          entry._dropped++;
+          utils.deleteTexture(texture);
+          entry._resident = false;
+          total -= entry._bytes;
+          _drops++;
+        }
+      }
+    } else {
+      // restore a level of textures in use, as long as the result stays well under budget
+      for (final Entry entry : resident) {
+        final Texture texture = entry._texture.get();
+        if (entry._resident && entry._dropped > 0 && entry._lastUsed == _frame && texture != null) {
+          // a level up holds about four times the texels
+          final long gain = entry._bytes * 3;
+          if (total + gain <= _budget * (double) _restoreFraction) {
+            entry._dropped--;
+            utils.deleteTexture(texture);
+            entry._resident = false;
+            total -= entry._bytes;
+          }
+        }
+      }
+    }
+
+    _residentBytes = total;
+    _frame++;
+    return before - total;
+  }
+
+  private boolean isReloadable(final Entry entry, final Texture texture) {
+    final TextureKey key = texture.getTextureKey();
+    if (entry._pinned || texture.getImage() == null || key == null) {
+      return false;
+    }
+    // render targets and other unique textures can not be made again from their image
+    return key.getSource() != null || key.getId() == null || !key.getId().startsWith("RTT_");
+  }
+
+  private boolean canDrop(final Entry entry, final Texture texture) {
+    if (entry._dropped >= _maxDroppedLevels || texture.getType() != Texture.Type.TwoDimensional
+        || !isReloadable(entry, texture)) {
+      return false;
+    }
+    final Image image = texture.getImage();
+    final int next = entry._dropped + 1;
+    if (Math.min(image.getWidth(), image.getHeight()) >> next < _minDroppedSize) {
+      return false;
+    }
+    // only levels already in the image, the others would have to be generated on this thread
+    return image.hasMipmaps() && image.getMipMapByteSizes().length > next;
+  }
+
+  /**
+   * @return a copy of the image without its top levels, sharing its data. The image must have
+   *         mipmaps.
+   */
+  static Image dropLevels(final Image source, final int levels) {
+    if (!source.hasMipmaps()) {
+      throw new IllegalArgumentException("Image has no mipmaps to drop levels from.");
+    }
+    final int[] sizes = source.getMipMapByteSizes();
+    final int drop = Math.min(levels, sizes.length - 1);
+    int offset = 0;
+    for (int m = 0; m < drop; m++) {
+      offset += sizes[m];
+    }
+    final List<ByteBuffer> data = new ArrayList<>(source.getDataSize());
+    for (final ByteBuffer buffer : source.getData()) {
+      data.add(buffer.duplicate().clear().position(offset).slice().order(buffer.order()));
+    }
+    final Image reduced = new Image(source.getDataFormat(), source.getDataType(),
+        Math.max(1, source.getWidth() >> drop), Math.max(1, source.getHeight() >> drop), data,
+        Arrays.copyOfRange(sizes, drop, sizes.length));
+    reduced.setDepth(source.getDepth());
+    return reduced;
+  }
+
+  /**
+   * @return the estimated bytes a texture takes on the card when uploaded from the given image,
+   *         including mipmaps generated by the card.
+   */
+  public static long estimateBytes(final Texture texture, final Image image) {
+    long bytes = 0;
+    for (final ByteBuffer data : image.getData()) {
+      if (data != null) {
+        bytes += data.limit();
+      }
+    }
+    if (!image.hasMipmaps() && !texture.getTextureStoreFormat().isCompressed()
+        && texture.getMinificationFilter().usesMipMapLevels()) {
+      // a full chain of mipmaps adds a third
+      bytes += bytes / 3;
+    }
+    return bytes;
+  }
+}
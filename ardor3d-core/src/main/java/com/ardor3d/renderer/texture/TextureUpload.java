@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.texture;
+
+import java.nio.ByteBuffer;
+
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.TextureCubeMap;
+import com.ardor3d.image.util.ImageUtils;
+
+/**
+ * An update of a box of texels in a texture already on the card, queued on a
+ * {@link TextureUploadScheduler}. The scheduler sends it in {@link Slice}s, each small enough for the
+ * uploader to stage at once, so a large update is spread over several frames.
+ * <p>
+ * The source data is read starting at its position when the upload is created. It holds rows of
+ * {@link #getSourceRowLength()} pixels and images of {@link #getSourceImageHeight()} rows, like the
+ * GL unpack row length and image height, and must not be changed until the upload is done.
+ * Compressed formats are not supported, as their blocks can not be split into rows and pixels.
+ * </p>
+ */
+public class TextureUpload {
+
+  /**
+   * A box of texels within an upload, given relative to the upload's destination offset.
+   */
+  public static final class Slice {
+    private final int _x, _y, _z;
+    private final int _width, _height, _depth;
+    private final int _byteSize;
+
+    Slice(final int x, final int y, final int z, final int width, final int height, final int depth,
+        final int bytesPerPixel) {
+      _x = x;
+      _y = y;
+      _z = z;
+      _width = width;
+      _height = height;
+      _depth = depth;
+      _byteSize = width * height * depth * bytesPerPixel;
+    }
+
+    public int getX() { return _x; }
+
+    public int getY() { return _y; }
+
+    public int getZ() { return _z; }
+
+    public int getWidth() { return _width; }
+
+    public int getHeight() { return _height; }
+
+    public int getDepth() { return _depth; }
+
+    /**
+     * @return the size of this slice's texels, tightly packed.
+     */
+    public int getByteSize() { return _byteSize; }
+
+    @Override
+    public String toString() {
+      return "Slice [" + _x + ", " + _y + ", " + _z + " : " + _width + "x" + _height + "x" + _depth + "]";
+    }
+  }
+
+  private final Texture _texture;
+  private final TextureCubeMap.Face _face;
+  private final int _level;
+  private final int _offsetX, _offsetY, _offsetZ;
+  private final int _width, _height, _depth;
+  private final ImageDataFormat _dataFormat;
+  private final PixelDataType _dataType;
+  private final ByteBuffer _source;
+  private final int _sourcePosition;
+  private final int _sourceRowLength;
+  private final int _sourceImageHeight;
+  private final int _bytesPerPixel;
+
+  /** Where the next slice starts. */
+  private int _cursorX, _cursorY, _cursorZ;
+  private volatile boolean _done;
+
+  /**
+   * Create an upload of tightly packed source data.
+   *
+   * @see #TextureUpload(Texture, TextureCubeMap.Face, int, int, int, int, int, int, int, ImageDataFormat,
+   *      PixelDataType, ByteBuffer, int, int)
+   */
+  public TextureUpload(final Texture texture, final TextureCubeMap.Face face, final int level, final int offsetX,
+      final int offsetY, final int offsetZ, final int width, final int height, final int depth,
+      final ImageDataFormat dataFormat, final PixelDataType dataType, final ByteBuffer source) {
+    this(texture, face, level, offsetX, offsetY, offsetZ, width, height, depth, dataFormat, dataType, source, width,
+        height);
+  }
+
+  /**
+   * @param texture
+   *          the texture to update. Must be on the card by the time the upload is sent.
+   * @param face
+   *          the cube map face to update, or null for other texture types.
+   * @param level
+   *          the mipmap level to update.
+   * @param offsetX
+   *          the x offset of the updated box in the texture.
+   * @param offsetY
+   *          the y offset of the updated box in the texture, 0 for one dimensional textures.
+   * @param offsetZ
+   *          the z offset or layer of the updated box, 0 for one and two dimensional textures.
+   * @param width
+   *          the width of the updated box.
+   * @param height
+   *          the height of the updated box, 1 for one dimensional textures.
+   * @param depth
+   *          the depth of the updated box, 1 for one and two dimensional textures.
+   * @param dataFormat
+   *          the format of the source pixels.
+   * @param dataType
+   *          the type of the source pixel components.
+   * @param source
+   *          the source pixels, starting at its position.
+   * @param sourceRowLength
+   *          the number of pixels in a source row, at least width.
+   * @param sourceImageHeight
+   *          the number of rows in a source image, at least height.
+   * @throws IllegalArgumentException
+   *           if the box is empty, the source is too small to hold it, or the data format is
+   *           compressed.
+   */
+  public TextureUpload(final Texture texture, final TextureCubeMap.Face face, final int level, final int offsetX,
+      final int offsetY, final int offsetZ, final int width, final int height, final int depth,
+      final ImageDataFormat dataFormat, final PixelDataType dataType, final ByteBuffer source,
+      final int sourceRowLength, final int sourceImageHeight) {
+    if (dataFormat.isCompressed()) {
+      throw new IllegalArgumentException("Compressed data can not be uploaded in slices: " + dataFormat);
+    }
+    if (width < 1 || height < 1 || depth < 1) {
+      throw new IllegalArgumentException("Empty upload: " + width + "x" + height + "x" + depth);
+    }
+    if (sourceRowLength < width || sourceImageHeight < height) {
+      throw new IllegalArgumentException(
+          "Source layout " + sourceRowLength + "x" + sourceImageHeight + " smaller than " + width + "x" + height);
+    }
+    _texture = texture;
+    _face = face;
+    _level = level;
+    _offsetX = offsetX;
+    _offsetY = offsetY;
+    _offsetZ = offsetZ;
+    _width = width;
+    _height = height;
+    _depth = depth;
+    _dataFormat = dataFormat;
+    _dataType = dataType;
+    _source = source;
+    _sourcePosition = source.position();
+    _sourceRowLength = sourceRowLength;
+    _sourceImageHeight = sourceImageHeight;
+    _bytesPerPixel = ImageUtils.getPixelByteSize(dataFormat, dataType);
+
+    final long needed = sourceOffset(width - 1, height - 1, depth - 1) + _bytesPerPixel;
+    if (needed > source.limit()) {
+      throw new IllegalArgumentException("Source holds " + source.remaining() + " bytes, need "
+          + (needed - _sourcePosition));
+    }
+  }
+
+  public Texture getTexture() { return _texture; }
+
+  public TextureCubeMap.Face getFace() { return _face; }
+
+  public int getLevel() { return _level; }
+
+  public int getOffsetX() { return _offsetX; }
+
+  public int getOffsetY() { return _offsetY; }
+
+  public int getOffsetZ() { return _offsetZ; }
+
+  public int getWidth() { return _width; }
+
+  public int getHeight() { return _height; }
+
+  public int getDepth() { return _depth; }
+
+  public ImageDataFormat getDataFormat() { return _dataFormat; }
+
+  public PixelDataType getDataType() { return _dataType; }
+
+  public int getSourceRowLength() { return _sourceRowLength; }
+
+  public int getSourceImageHeight() { return _sourceImageHeight; }
+
+  public int getBytesPerPixel() { return _bytesPerPixel; }
+
+  /**
+   * @return the size of the updated texels, tightly packed.
+   */
+  public long getByteSize() { return (long) _width * _height * _depth * _bytesPerPixel; }
+
+  /**
+   * @return true once all slices were handed to the uploader.
+   */
+  public boolean isDone() { return _done; }
+
+  void setDone() { _done = true; }
+
+  /**
+   * @return the tightly packed size of what is left to send.
+   */
+  long getRemainingBytes() {
+    final long rowBytes = (long) _width * _bytesPerPixel;
+    final long sent = (_cursorZ * (long) _height + _cursorY) * rowBytes + (long) _cursorX * _bytesPerPixel;
+    return getByteSize() - sent;
+  }
+
+  /**
+   * Work out the next slice without consuming it. Whole images are sent together if they fit, then
+   * whole rows, and only rows that do not fit on their own are split.
+   *
+   * @param maxBytes
+   *          the largest slice size allowed. At least one pixel is sent, however small this is.
+   * @return the next slice, or null if all were sent.
+   */
+  Slice peekSlice(final int maxBytes) {
+    if (_cursorZ >= _depth) {
+      return null;
+    }
+    final long rowBytes = (long) _width * _bytesPerPixel;
+    final long imageBytes = rowBytes * _height;
+    if (_cursorX == 0 && _cursorY == 0 && imageBytes <= maxBytes) {
+      final int images = (int) Math.min(_depth - _cursorZ, maxBytes / imageBytes);
+      return new Slice(0, 0, _cursorZ, _width, _height, images, _bytesPerPixel);
+    }
+    if (_cursorX == 0 && rowBytes <= maxBytes) {
+      final int rows = (int) Math.min(_height - _cursorY, maxBytes / rowBytes);
+      return new Slice(0, _cursorY, _cursorZ, _width, rows, 1, _bytesPerPixel);
+    }
+    final int pixels = Math.min(_width - _cursorX, Math.max(1, maxBytes / _bytesPerPixel));
+    return new Slice(_cursorX, _cursorY, _cursorZ, pixels, 1, 1, _bytesPerPixel);
+  }
+
+  /**
+   * Move past the given slice, as returned by the last {@link #peekSlice(int)}.
+   */
+  void advance(final Slice slice) {
+    if (slice.getDepth() > 1 || slice.getHeight() == _height && slice.getWidth() == _width) {
+      _cursorZ += slice.getDepth();
+      return;
+    }
+    if (slice.getWidth() == _width) {
+      _cursorY += slice.getHeight();
+    } else {
+      _cursorX += slice.getWidth();
+      if (_cursorX < _width) {
+        return;
+      }
+      _cursorX = 0;
+      _cursorY++;
+    }
+    if (_cursorY == _height) {
+      _cursorY = 0;
+      _cursorZ++;
+    }
+  }
+
+  /**
+   * Copy the source texels of a slice, tightly packed, to the given buffer at its position, which is
+   * moved past them.
+   *
+   * @param slice
+   *          a slice of this upload.
+   * @param store
+   *          the buffer to copy to, typically mapped staging memory.
+   */
+  public void copySlice(final Slice slice, final ByteBuffer store) {
+    final int rowBytes = slice.getWidth() * _bytesPerPixel;
+    if (slice.getWidth() == _sourceRowLength && slice.getHeight() == _sourceImageHeight) {
+      // whole source images are contiguous
+      final int start = sourceOffset(0, 0, slice.getZ());
+      store.put(store.position(), _source, start, slice.getByteSize());
+      store.position(store.position() + slice.getByteSize());
+      return;
+    }
+    for (int z = 0; z < slice.getDepth(); z++) {
+      if (slice.getWidth() == _sourceRowLength) {
+        // whole source rows are contiguous
+        final int start = sourceOffset(0, slice.getY(), slice.getZ() + z);
+        store.put(store.position(), _source, start, rowBytes * slice.getHeight());
+        store.position(store.position() + rowBytes * slice.getHeight());
+        continue;
+      }
+      for (int y = 0; y < slice.getHeight(); y++) {
+        final int start = sourceOffset(slice.getX(), slice.getY() + y, slice.getZ() + z);
+        store.put(store.position(), _source, start, rowBytes);
+        store.position(store.position() + rowBytes);
+      }
+    }
+  }
+
+  private int sourceOffset(final int x, final int y, final int z) {
+    return _sourcePosition + ((z * _sourceImageHeight + y) * _sourceRowLength + x) * _bytesPerPixel;
+  }
+
+  @Override
+  public String toString() {
+    return "TextureUpload [" + _texture + " level " + _level + " at " + _offsetX + ", " + _offsetY + ", " + _offsetZ
+        + " : " + _width + "x" + _height + "x" + _depth + "]";
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.texture;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ardor3d.annotation.MainThread;
+
+/**
+ * Spreads texture updates over frames, so large images and streamed updates do not stall the render
+ * thread. Uploads may be queued from any thread and are sent in the order they were queued, split into
+ * slices of at most {@link #getMaxSliceBytes()} bytes. Each call to {@link #update(ITextureUploader)}
+ * sends slices until {@link #getFrameBudget()} bytes are sent, or the uploader has no staging space
+ * left.
+ * <p>
+ * An upload the uploader can not send yet, for example because its texture is not on the card, stays
+ * queued and is tried again next frame, while the uploads behind it go ahead. It is only done - see
+ * {@link TextureUpload#isDone()} - once all of it was sent, and can be dropped with
+ * {@link #remove(TextureUpload)} if its texture will never be on the card.
+ * </p>
+ * <p>
+ * This class only does the queueing, slicing and accounting; the {@link ITextureUploader} given to
+ * {@link #update(ITextureUploader)} does the actual sending, for example through a ring of pixel
+ * unpack buffers.
+ * </p>
+ */
+public class TextureUploadScheduler {
+
+  /** The default number of bytes sent per frame. */
+  public static final long DEFAULT_FRAME_BUDGET = 4L * 1024 * 1024;
+
+  /** The default largest slice size. */
+  public static final int DEFAULT_MAX_SLICE_BYTES = 256 * 1024;
+
+  private final ConcurrentLinkedQueue<TextureUpload> _pending = new ConcurrentLinkedQueue<>();
+  private final AtomicLong _pendingBytes = new AtomicLong();
+
+  private volatile long _frameBudget = DEFAULT_FRAME_BUDGET;
+  private volatile int _maxSliceBytes = DEFAULT_MAX_SLICE_BYTES;
+  private long _lastFrameBytes;
+
+  public long getFrameBudget() { return _frameBudget; }
+
+  /**
+   * @param bytes
+   *          the number of bytes to send per frame. At least one slice is sent per frame if the
+   *          uploader has room for it, however small this is.
+   */
+  public void setFrameBudget(final long bytes) {
+    if (bytes <= 0) {
+      throw new IllegalArgumentException("bytes must be positive: " + bytes);
+    }
+    _frameBudget = bytes;
+  }
+
+  public int getMaxSliceBytes() { return _maxSliceBytes; }
+
+  /**
+   * @param bytes
+   *          the largest slice to send. Lowered further to what the uploader can stage at once.
+   */
+  public void setMaxSliceBytes(final int bytes) {
+    if (bytes <= 0) {
+      throw new IllegalArgumentException("bytes must be positive: " + bytes);
+    }
+    _maxSliceBytes = bytes;
+  }
+
+  /**
+   * Queue an upload.
+   *
+   * @param upload
+   *          the upload to queue.
+   * @return the upload, for chaining.
+   */
+  public TextureUpload add(final TextureUpload upload) {
+    if (upload == null) {
+      throw new IllegalArgumentException("upload must not be null");
+    }
+    _pendingBytes.addAndGet(upload.getByteSize());
+    _pending.add(upload);
+    return upload;
+  }
+
+  /**
+   * Drop a queued upload. Slices already sent stay sent.
+   *
+   * @return true if the upload was still queued.
+   */
+  public boolean remove(final TextureUpload upload) {
+    synchronized (upload) {
+      if (upload.isDone() || !_pending.remove(upload)) {
+        return false;
+      }
+      _pendingBytes.addAndGet(-upload.getRemainingBytes());
+      return true;
+    }
+  }
+
+  /**
+   * @return the number of uploads not yet completely sent.
+   */
+  public int getPendingCount() { return _pending.size(); }
+
+  /**
+   * @return the number of bytes not yet sent.
+   */
+  public long getPendingBytes() { return _pendingBytes.get(); }
+
+  /**
+   * @return the number of bytes sent by the last {@link #update(ITextureUploader)}.
+   */
+  public long getLastFrameBytes() { return _lastFrameBytes; }
+
+  /**
+   * Send queued slices until the frame budget is used or the uploader is out of staging space. Uploads
+   * the uploader refuses are skipped and kept for a later frame. Call once per frame on the render
+   * thread.
+   *
+   * @param uploader
+   *          sends the slices.
+   * @return the number of bytes sent.
+   */
+  @MainThread
+  public long update(final ITextureUploader uploader) {
+    long sent = 0;
+    if (_pending.isEmpty()) {
+      _lastFrameBytes = 0;
+      return 0;
+    }
+    final long budget = _frameBudget;
+    final int maxSlice = Math.min(_maxSliceBytes, uploader.getMaxSliceBytes());
+    uploader.beginFrame();
+    try {
+      final Iterator<TextureUpload> it = _pending.iterator();
+      frame: while (it.hasNext()) {
+        final TextureUpload upload = it.next();
+        synchronized (upload) {
+          if (upload.isDone()) {
+            it.remove();
+            continue;
+          }
+          TextureUpload.Slice slice;
+          while ((slice = upload.peekSlice(maxSlice)) != null) {
+            final int size = slice.getByteSize();
+            if (sent > 0 && sent + size > budget || size > uploader.getAvailableBytes()) {
+              break frame;
+            }
+            if (!uploader.upload(upload, slice)) {
+              // keep it queued and try again next frame
+              continue frame;
+            }
+            upload.advance(slice);
+            sent += size;
+            _pendingBytes.addAndGet(-size);
+          }
+          upload.setDone();
+          it.remove();
+        }
+      }
+    } finally {
+      uploader.endFrame();
+      _lastFrameBytes = sent;
+    }
+    return sent;
+  }
+
+  /**
+   * Drop all queued uploads.
+   */
+  public void clear() {
+    TextureUpload upload;
+    while ((upload = _pending.poll()) != null) {
+      synchronized (upload) {
+        if (!upload.isDone()) {
+          _pendingBytes.addAndGet(-upload.getRemainingBytes());
+        }
+      }
+    }
+  }
+}
@@ -35,9 +35,12 @@ import com.ardor3d.math.type.ReadOnlyQuaternion;
 import com.ardor3d.math.type.ReadOnlyTransform;
 import com.ardor3d.math.type.ReadOnlyVector3;
 import com.ardor3d.renderer.Camera;
+import com.ardor3d.renderer.ContextManager;
+import com.ardor3d.renderer.RenderContext;
 import com.ardor3d.renderer.Renderer;
 import com.ardor3d.renderer.material.MaterialManager;
 import com.ardor3d.renderer.material.RenderMaterial;
+import com.ardor3d.renderer.occlusion.OcclusionCuller;
 import com.ardor3d.renderer.state.RenderState;
 import com.ardor3d.renderer.state.RenderState.StateStack;
 import com.ardor3d.renderer.state.RenderState.StateType;
@@ -46,6 +49,7 @@ import com.ardor3d.scenegraph.event.DirtyEventListener;
 import com.ardor3d.scenegraph.event.DirtyType;
 import com.ardor3d.scenegraph.hint.CullHint;
 import com.ardor3d.scenegraph.hint.Hintable;
+import com.ardor3d.scenegraph.hint.OcclusionHint;
 import com.ardor3d.scenegraph.hint.PropertyMode;
 import com.ardor3d.scenegraph.hint.SceneHints;
 import com.ardor3d.scenegraph.visitor.Visitor;
@@ -726,8 +730,8 @@ public abstract class Spatial implements Savable, Hintable {
   public BoundingVolume getWorldBound() { return _worldBound; }
 
   /**
-   * <code>onDraw</code> checks the spatial with the camera to see if it should be culled, if not, the
-   * node's draw method is called.
+   * <code>onDraw</code> checks the spatial with the camera (and the context's occlusion culler, if
+   * any) to see if it should be culled, if not, the node's draw method is called.
    * <p>
    * This method is called by the renderer. Usually it should not be called directly.
    *
@@ -756,12 +760,27 @@ public abstract class Spatial implements Savable, Hintable {
       _frustumIntersects = camera.contains(_worldBound);
     }
 
-    if (_frustumIntersects != Camera.FrustumIntersect.Outside) {
+    if (_frustumIntersects != Camera.FrustumIntersect.Outside && (cm != CullHint.Dynamic || !isOccluded())) {
       draw(r);
     }
     camera.setPlaneState(state);
   }
 
+  /**
+   * Checks this spatial's world bound against the occlusion culler set on the current render context,
+   * if any.
+   *
+   * @return true if this spatial is an occludee and is completely hidden by the current occluders.
+   */
+  protected boolean isOccluded() {
+    final RenderContext context = ContextManager.getCurrentContext();
+    final OcclusionCuller culler = context != null ? context.getOcclusionCuller() : null;
+    if (culler == null || !culler.isActive()) {
+      return false;
+    }
+    return _sceneHints.getOcclusionHint() == OcclusionHint.Occludee && culler.isOccluded(_worldBound);
+  }
+
   /**
    * <code>draw</code> abstract method that handles drawing data to the renderer if it is geometry and
    * passing the call to its children if it is a node.
@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.scenegraph.extension;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.ardor3d.bounding.BoundingVolume;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.renderer.Camera.ProjectionMode;
+import com.ardor3d.renderer.Renderer;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.Spatial;
+import com.ardor3d.util.export.InputCapsule;
+import com.ardor3d.util.export.OutputCapsule;
+
+/**
+ * <p>
+ * <code>LodNode</code> draws exactly one of its children, picked from the projected screen size of
+ * the node's world bound. Children are expected to be ordered from most detailed (index 0) to least
+ * detailed.
+ * </p>
+ * <p>
+ * Each child <i>i</i> has a threshold, in pixels of projected bound diameter. Child <i>i</i> is
+ * used while the projected size is at least <code>thresholds[i]</code>. Thresholds must be in
+ * descending order. If the projected size falls below the last threshold, nothing is drawn - use a
+ * final threshold of 0 to always draw the coarsest child.
+ * </p>
+ * <p>
+ * To stop objects near a threshold from popping back and forth, switches are delayed by a
+ * hysteresis factor: a finer level is only picked once the size exceeds its threshold by that
+ * fraction, and a coarser one only once the size drops below the current threshold by that fraction.
+ * </p>
+ *
+ * @see com.ardor3d.util.geom.MeshSimplifier
+ */
+public class LodNode extends Node {
+
+  /** Value of {@link #getCurrentLevel()} before any level has been picked. */
+  public static final int NO_LEVEL = -1;
+
+  protected double[] _thresholds = new double[0];
+
+  protected double _hysteresis = 0.1;
+
+  protected int _currentLevel = NO_LEVEL;
+
+  public LodNode() {
+    this("LodNode");
+  }
+
+  public LodNode(final String name) {
+    super(name);
+  }
+
+  /**
+   * @param name
+   *          the name of this node.
+   * @param thresholds
+   *          the minimum projected size, in pixels, for each child. Must be descending.
+   */
+  public LodNode(final String name, final double... thresholds) {
+    super(name);
+    setThresholds(thresholds);
+  }
+
+  /**
+   * @return a copy of the per child size thresholds, in pixels.
+   */
+  public double[] getThresholds() { return _thresholds.clone(); }
+
+  /**
+   * @param thresholds
+   *          the minimum projected size, in pixels, for each child. Must be descending.
+   * @throws IllegalArgumentException
+   *           if thresholds is null or not in descending order.
+   */
+  public void setThresholds(final double... thresholds) {
+    if (thresholds == null) {
+      throw new IllegalArgumentException("thresholds can not be null.");
+    }
+    for (int i = 1; i < thresholds.length; i++) {
+      if (thresholds[i] > thresholds[i - 1]) {
+        throw new IllegalArgumentException("thresholds must be in descending order: " + Arrays.toString(thresholds));
+      }
+    }
+    _thresholds = thresholds.clone();
+    _currentLevel = NO_LEVEL;
+  }
+
+  public double getHysteresis() { return _hysteresis; }
+
+  /**
+   * @param hysteresis
+   *          fraction of a threshold the projected size must pass it by before we switch levels. 0
+   *          disables hysteresis. Default is 0.1.
+   */
+  public void setHysteresis(final double hysteresis) {
+    if (hysteresis < 0 || hysteresis >= 1) {
+      throw new IllegalArgumentException("hysteresis must be in [0, 1): " + hysteresis);
+    }
+    _hysteresis = hysteresis;
+  }
+
+  /**
+   * @return the index of the child picked on the last draw, a value &gt;= the number of thresholds if
+   *         nothing was drawn, or {@link #NO_LEVEL} if no level has been picked yet.
+   */
+  public int getCurrentLevel() { return _currentLevel; }
+
+  /**
+   * Force the given level as our current level. The next draw will still apply the normal
+   * hysteresis rules from this level.
+   *
+   * @param level
+   *          the level to use.
+   */
+  public void setCurrentLevel(final int level) { _currentLevel = level; }
+
+  @Override
+  public void draw(final Renderer r) {
+    final Camera camera = Camera.getCurrentCamera();
+    if (camera == null) {
+      return;
+    }
+
+    final int level = selectLevel(getProjectedSize(camera));
+    if (level < getNumberOfChildren()) {
+      final Spatial child = getChild(level);
+      if (child != null) {
+        child.onDraw(r);
+      }
+    }
+  }
+
+  /**
+   * Pick a level for the given projected size, applying hysteresis relative to the current level, and
+   * store it as our current level.
+   *
+   * @param projectedSize
+   *          the projected size of our bound, in pixels.
+   * @return the picked level. A value &gt;= the number of thresholds means nothing should be drawn.
+   */
+  public int selectLevel(final double projectedSize) {
+    final int count = _thresholds.length;
+    int level = _currentLevel;
+    if (level == NO_LEVEL || level > count) {
+      // no history, so just pick straight from the thresholds.
+      level = 0;
+      while (level < count && projectedSize < _thresholds[level]) {
+        level++;
+      }
+    } else {
+      // move to finer levels
+      while (level > 0 && projectedSize >= _thresholds[level - 1] * (1.0 + _hysteresis)) {
+        level--;
+      }
+      // move to coarser levels
+      while (level < count && projectedSize < _thresholds[level] * (1.0 - _hysteresis)) {
+        level++;
+      }
+    }
+
+    _currentLevel = level;
+    return level;
+  }
+
+  /**
+   * @param camera
+   *          the camera we are viewing from.
+   * @return the approximate diameter, in pixels, of our world bound as seen by the given camera.
+   */
+  public double getProjectedSize(final Camera camera) {
+    final BoundingVolume bound = getWorldBound();
+    if (bound == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+
+    final double radius = bound.getRadius();
+    final double frustumHeight = camera.getFrustumTop() - camera.getFrustumBottom();
+    if (frustumHeight <= 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+
+    final double viewHeight;
+    if (camera.getProjectionMode() == ProjectionMode.Orthographic) {
+      viewHeight = frustumHeight;
+    } else {
+      // height of the view volume at the distance of the bound's center
+      final double distance = Math.max(camera.getFrustumNear(),
+          camera.getDirection().dot(bound.getCenter()) - camera.getDirection().dot(camera.getLocation()));
+      viewHeight = frustumHeight * distance / camera.getFrustumNear();
+    }
+
+    return 2.0 * radius / viewHeight * camera.getHeight();
+  }
+
+  @Override
+  public LodNode makeCopy(final boolean shareGeometricData) {
+    final LodNode node = (LodNode) super.makeCopy(shareGeometricData);
+    node._thresholds = _thresholds.clone();
+    node._hysteresis = _hysteresis;
+    return node;
+  }
+
+  // /////////////////
+  // Methods for Savable
+  // /////////////////
+
+  @Override
+  public void write(final OutputCapsule capsule) throws IOException {
+    super.write(capsule);
+    capsule.write(_thresholds, "thresholds", new double[0]);
+    capsule.write(_hysteresis, "hysteresis", 0.1);
+  }
+
+  @Override
+  public void read(final InputCapsule capsule) throws IOException {
+    super.read(capsule);
+    _thresholds = capsule.readDoubleArray("thresholds", new double[0]);
+    _hysteresis = capsule.readDouble("hysteresis", 0.1);
+    _currentLevel = NO_LEVEL;
+  }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.scenegraph.hint;
+
+/**
+ * Describes how a scene object interacts with software occlusion culling.
+ *
+ * @see com.ardor3d.renderer.occlusion.OcclusionCuller
+ */
+public enum OcclusionHint {
+
+  /**
+   * Do whatever our parent does. If no parent, we'll default to Occludee.
+   */
+  Inherit,
+
+  /**
+   * The object is tested against the occlusion buffer and skipped if fully hidden.
+   */
+  Occludee,
+
+  /**
+   * The object's triangles are rasterized into the occlusion buffer. Occluders are never themselves
+   * culled by occlusion.
+   */
+  Occluder,
+
+  /**
+   * The object neither occludes nor is tested for occlusion.
+   */
+  Never;
+}
@@ -73,6 +73,11 @@ public class SceneHints implements Savable {
    */
   private TransparencyType _transpType = TransparencyType.Inherit;
 
+  /**
+   * How this object participates in software occlusion culling.
+   */
+  protected OcclusionHint _occlusionHint = OcclusionHint.Inherit;
+
   public SceneHints(final Hintable source) {
     _source = source;
   }
@@ -87,6 +92,7 @@ public class SceneHints implements Savable {
     _pickingHints.clear();
     _pickingHints.addAll(sceneHints._pickingHints);
     _transpType = sceneHints._transpType;
+    _occlusionHint = sceneHints._occlusionHint;
   }
 
   /**
@@ -365,6 +371,43 @@ public class SceneHints implements Savable {
    */
   public void setTransparencyType(final TransparencyType type) { _transpType = type; }
 
+  /**
+   * Returns the occlusion hint. If the hint is set to inherit, then we get its hint from the given
+   * source's hintable parent. If no parent, we'll default to Occludee.
+   *
+   * @return The occlusion hint to use.
+   */
+  public OcclusionHint getOcclusionHint() {
+    if (_occlusionHint != OcclusionHint.Inherit) {
+      return _occlusionHint;
+    }
+
+    final Hintable parent = _source.getParentHintable();
+    if (parent != null) {
+      return parent.getSceneHints().getOcclusionHint();
+    }
+
+    return OcclusionHint.Occludee;
+  }
+
+  /**
+   * @return the exact occlusion hint set.
+   */
+  public OcclusionHint getLocalOcclusionHint() { return _occlusionHint; }
+
+  /**
+   * @param hint
+   *          the new occlusion hint to set on this SceneHints
+   * @throws IllegalArgumentException
+   *           if hint is null
+   */
+  public void setOcclusionHint(final OcclusionHint hint) {
+    if (hint == null) {
+      throw new IllegalArgumentException("hint can not be null.");
+    }
+    _occlusionHint = hint;
+  }
+
   // /////////////////
   // Methods for Savable
   // /////////////////
@@ -382,6 +425,7 @@ public class SceneHints implements Savable {
     _textureCombineMode = capsule.readEnum("textureCombineMode", TextureCombineMode.class, TextureCombineMode.Inherit);
     _normalsMode = capsule.readEnum("normalsMode", NormalsMode.class, NormalsMode.Inherit);
     _transpType = capsule.readEnum("transpType", TransparencyType.class, TransparencyType.Inherit);
+    _occlusionHint = capsule.readEnum("occlusionHint", OcclusionHint.class, OcclusionHint.Inherit);
     final PickingHint[] pickHints = capsule.readEnumArray("pickingHints", PickingHint.class, null);
     _pickingHints.clear();
     if (pickHints != null) {
@@ -402,5 +446,6 @@ public class SceneHints implements Savable {
     capsule.write(_normalsMode, "normalsMode", NormalsMode.Inherit);
     capsule.write(_pickingHints.toArray(new PickingHint[] {}), "pickingHints");
     capsule.write(_transpType, "transpType", TransparencyType.Inherit);
+    capsule.write(_occlusionHint, "occlusionHint", OcclusionHint.Inherit);
   }
 }
@@ -0,0 +1,332 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.annotation.MainThread;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.TextureStoreFormat;
+import com.ardor3d.image.loader.ImageLoaderUtil;
+import com.ardor3d.image.util.ImageUtils;
+import com.ardor3d.image.util.MipMapGenerator;
+import com.ardor3d.renderer.RendererCallable;
+import com.ardor3d.renderer.state.TextureState;
+import com.ardor3d.renderer.texture.ITextureUtils;
+import com.ardor3d.util.resource.ResourceSource;
+
+/**
+ * Loads 2D textures in the background, so that opening a scene with many textures does not stall on
+ * image decoding and uploads.
+ * <p>
+ * {@link #load(ResourceSource, Texture.MinificationFilter, TextureStoreFormat, boolean, float)}
+ * returns at once with a placeholder texture showing the default texture. The image is decoded on a
+ * bounded pool of worker threads, highest priority first - the priority can be anything that ranks
+ * textures by importance, such as their projected screen coverage or their negated distance to the
+ * camera, and may be changed while the request waits. Decoded images are then applied to their
+ * placeholder and sent to the card on the render thread, through a task on the render queue of the
+ * {@link GameTaskQueueManager} given at construction. Each run of that task uploads at most
+ * {@link #getUploadBudget()} bytes, highest priority first, and queues itself again for the next
+ * render queue execution if more images are waiting.
+ * </p>
+ * <p>
+ * Textures already in the {@link TextureManager} cache are returned directly, and finished textures
+ * are added to it.
+ * </p>
+ */
+public class AsyncTextureLoader {
+  private static final Logger logger = Logger.getLogger(AsyncTextureLoader.class.getName());
+
+  /** The default number of bytes uploaded per run of the upload task. */
+  public static final long DEFAULT_UPLOAD_BUDGET = 8L * 1024 * 1024;
+
+  private final Object _queueManagerKey;
+  private final ThreadPoolExecutor _executor;
+  private final AtomicLong _sequence = new AtomicLong();
+
+  /** Requests waiting for or in decoding, by key. */
+  private final ConcurrentHashMap<TextureKey, Request> _requests = new ConcurrentHashMap<>();
+
+  /** Decoded requests waiting for upload. */
+  private final PriorityBlockingQueue<Request> _decoded = new PriorityBlockingQueue<>();
+
+  private final AtomicBoolean _uploadScheduled = new AtomicBoolean();
+  private volatile long _uploadBudget = DEFAULT_UPLOAD_BUDGET;
+  private volatile MipMapGenerator _mipMapGenerator;
+
+  /**
+   * The state of a single texture load.
+   */
+  public final class Request implements Runnable, Comparable<Request> {
+    private final TextureKey _key;
+    private final Texture _texture;
+    private volatile float _priority;
+    /** Orders requests of equal priority first come, first served. */
+    private final long _order;
+    private volatile Image _image;
+    private volatile boolean _done;
+
+    Request(final TextureKey key, final Texture texture, final float priority) {
+      _key = key;
+      _texture = texture;
+      _priority = priority;
+      _order = _sequence.getAndIncrement();
+    }
+
+    public TextureKey getKey() { return _key; }
+
+    /**
+     * @return the texture, showing the default texture until the image is uploaded.
+     */
+    public Texture getTexture() { return _texture; }
+
+    public float getPriority() { return _priority; }
+
+    /**
+     * Change the priority of this request. Has effect until its image is uploaded.
+     */
+    public synchronized void setPriority(final float priority) {
+      if (priority == _priority) {
+        return;
+      }
+      // reinsert to reorder, if still waiting for decode or upload
+      if (_executor.remove(this)) {
+        _priority = priority;
+        _executor.execute(this);
+      } else if (_decoded.remove(this)) {
+        _priority = priority;
+        _decoded.add(this);
+      } else {
+        _priority = priority;
+      }
+    }
+
+    /**
+     * @return true once the image is uploaded, or could not be loaded.
+     */
+    public boolean isDone() { return _done; }
+
+    @Override
+    public void run() {
+      Image image = null;
+      try {
+        image = decode(_key);
+      } catch (final RuntimeException e) {
+        logger.log(Level.WARNING, "Could not load: " + _key.getSource(), e);
+      }
+      if (image == null || image.getDataSize() > 1) {
+        if (image != null) {
+          logger.warning("Only 2D textures are loaded asynchronously: " + _key.getSource());
+        } else {
+          logger.warning("(image null) Could not load: " + _key.getSource());
+        }
+        _requests.remove(_key, this);
+        _done = true;
+        return;
+      }
+      final MipMapGenerator generator = _mipMapGenerator;
+      if (generator != null && _key.getMinificationFilter().usesMipMapLevels() && !image.hasMipmaps()
+          && !image.getDataFormat().isCompressed()) {
+        try {
+          image = generator.generate(image);
+        } catch (final IllegalArgumentException e) {
+          // unsupported data type, leave mipmaps to the card
+          logger.fine("Not generating mipmaps for " + _key.getSource() + ": " + e.getMessage());
+        }
+      }
+      _image = image;
+      _decoded.add(this);
+      scheduleUpload();
+    }
+
+    @Override
+    public int compareTo(final Request other) {
+      final int byPriority = Float.compare(other._priority, _priority);
+      return byPriority != 0 ? byPriority : Long.compare(_order, other._order);
+    }
+  }
+
+  /**
+   * @param queueManagerKey
+   *          the key of the {@link GameTaskQueueManager} whose render queue uploads run on, usually
+   *          the render context's GL context representation.
+   * @param decodeThreads
+   *          the number of threads decoding images.
+   */
+  public AsyncTextureLoader(final Object queueManagerKey, final int decodeThreads) {
+    if (decodeThreads < 1) {
+      throw new IllegalArgumentException("decodeThreads must be at least 1: " + decodeThreads);
+    }
+    _queueManagerKey = queueManagerKey;
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadFactory threadFactory = runnable -> {
+      final Thread thread = new Thread(runnable, "AsyncTextureLoader-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setPriority(Thread.NORM_PRIORITY - 1);
+      return thread;
+    };
+    // requests are Comparable, so the queue hands them to the workers highest priority first
+    _executor = new ThreadPoolExecutor(decodeThreads, decodeThreads, 30, TimeUnit.SECONDS,
+        new PriorityBlockingQueue<>(), threadFactory);
+    _executor.allowCoreThreadTimeOut(true);
+  }
+
+  public long getUploadBudget() { return _uploadBudget; }
+
+  /**
+   * @param bytes
+   *          the image bytes to upload per run of the upload task. At least one image is uploaded per
+   *          run, however large.
+   */
+  public void setUploadBudget(final long bytes) { _uploadBudget = bytes; }
+
+  public MipMapGenerator getMipMapGenerator() { return _mipMapGenerator; }
+
+  /**
+   * @param generator
+   *          if not null, used on the decode threads to build the mipmaps of images that have none
+   *          when their minification filter uses mipmaps, so they are not generated by the card during
+   *          upload. Defaults to null.
+   */
+  public void setMipMapGenerator(final MipMapGenerator generator) { _mipMapGenerator = generator; }
+
+  /**
+   * @return the number of textures waiting to be decoded or uploaded.
+   */
+  public int getPendingCount() { return _requests.size(); }
+
+  /**
+   * Start loading a texture.
+   *
+   * @param source
+   *          the source of the texture image.
+   * @param minFilter
+   *          the filter for the near values. Used to determine if we should generate mipmaps.
+   * @param format
+   *          the specific format to use when storing this texture on the card.
+   * @param flipVertically
+   *          If true, the image is flipped vertically during image loading.
+   * @param priority
+   *          higher values are decoded and uploaded first.
+   * @return the request, holding the texture to use right away.
+   */
+  public Request load(final ResourceSource source, final Texture.MinificationFilter minFilter,
+      final TextureStoreFormat format, final boolean flipVertically, final float priority) {
+    if (source == null) {
+      throw new IllegalArgumentException("source must not be null");
+    }
+    final TextureKey key = TextureKey.getKey(source, flipVertically, format, minFilter);
+
+    final Texture cached = TextureManager.findCachedTexture(key);
+    if (cached != null) {
+      final Request done = new Request(key, cached.createSimpleClone(), priority);
+      done._done = true;
+      return done;
+    }
+
+    final Request request = new Request(key, TextureState.getDefaultTexture(), priority);
+    final Request existing = _requests.putIfAbsent(key, request);
+    if (existing != null) {
+      if (priority > existing.getPriority()) {
+        existing.setPriority(priority);
+      }
+      return existing;
+    }
+    _executor.execute(request);
+    return request;
+  }
+
+  /**
+   * Decode the image for the given key. Called on a worker thread.
+   *
+   * @return the image, or null if it could not be loaded.
+   */
+  protected Image decode(final TextureKey key) {
+    return ImageLoaderUtil.loadImage(key.getSource(), key.isFlipped());
+  }
+
+  private void scheduleUpload() {
+    if (_uploadScheduled.compareAndSet(false, true)) {
+      GameTaskQueueManager.getManager(_queueManagerKey).render(new RendererCallable<Void>() {
+        @Override
+        public Void call() {
+          _uploadScheduled.set(false);
+          uploadPending(getRenderer().getTextureUtils());
+          if (!_decoded.isEmpty()) {
+            scheduleUpload();
+          }
+          return null;
+        }
+      });
+    }
+  }
+
+  /**
+   * Apply decoded images to their textures and send them to the card, highest priority first, until
+   * the upload budget is used. This is what the upload task runs; it may also be called directly from
+   * the render thread.
+   *
+   * @param utils
+   *          used to upload the textures.
+   * @return the number of bytes uploaded.
+   */
+  @MainThread
+  public long uploadPending(final ITextureUtils utils) {
+    long uploaded = 0;
+    Request request;
+    while ((uploaded == 0 || uploaded < _uploadBudget) && (request = _decoded.poll()) != null) {
+      final Texture texture = request._texture;
+      final Image image = request._image;
+      final TextureKey key = request._key;
+      texture.setTextureKey(key);
+      texture.setImage(image);
+      texture.setMinificationFilter(key.getMinificationFilter());
+      texture.setTextureStoreFormat(ImageUtils.getTextureStoreFormat(key.getFormat(), image));
+      TextureManager.addToCache(texture);
+      utils.loadTexture(texture, 0);
+
+      request._image = null;
+      request._done = true;
+      _requests.remove(key, request);
+      uploaded += byteSize(image);
+    }
+    return uploaded;
+  }
+
+  private static long byteSize(final Image image) {
+    long size = 0;
+    for (final ByteBuffer data : image.getData()) {
+      if (data != null) {
+        size += data.limit();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Stop the decode threads. Requests not yet decoded are dropped.
+   */
+  public void shutdown() {
+    _executor.shutdownNow();
+    _requests.clear();
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2022 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -18,7 +18,6 @@ import java.net.URI;
 import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -29,15 +28,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.ardor3d.image.Image;
 import com.ardor3d.image.loader.ImageLoaderUtil;
 import com.ardor3d.renderer.state.TextureState;
 import com.ardor3d.util.concurrent.StripedLocks;
-import com.ardor3d.util.export.binary.BinaryExporter;
-import com.ardor3d.util.resource.ResourceSource;
+import com.ardor3d.util.export.Savable;
+import com.ardor3d.util.resource.SavableFileStore;
 import com.ardor3d.util.resource.URLResourceSource;
 
 public enum HttpImageCache {
@@ -52,6 +49,7 @@ public enum HttpImageCache {
   long minModCheckSeconds = 24 * 60 * 60;
 
   File cacheDir = new File(System.getProperty("user.dir") + "/cache/image/");
+  volatile SavableFileStore fileStore = new SavableFileStore(cacheDir, ".abi");
 
   /**
    * @return the directory where we will store copies of downloaded images, in .ABI format. If null,
@@ -65,7 +63,10 @@ public enum HttpImageCache {
    *          the directory where we want to store copies of downloaded images, in .ABI format. If
    *          null, file caching will be skipped.
    */
-  public void setCacheDir(final File cacheDir) { this.cacheDir = cacheDir; }
+  public void setCacheDir(final File cacheDir) {
+    this.cacheDir = cacheDir;
+    fileStore = cacheDir != null ? new SavableFileStore(cacheDir, ".abi") : null;
+  }
 
   /**
    * @return true if we should ask if a file we have cached locally has been recently modified. This
@@ -161,29 +162,21 @@ public enum HttpImageCache {
       // Check the memory cache
       ImageCacheItem cacheItem = ignoreCache ? null : MemoryCache.get(key);
 
-      if (!ignoreCache && cacheItem == null && cacheDir != null) {
-        // Check the file cache
-        try {
-          final File f = new File(cacheDir, key);
-          if (f.exists()) {
-            // Load bytes from file
-            final ResourceSource src = new URLResourceSource(f.toURI().toURL(), ".ABI");
-            final Image img = ImageLoaderUtil.loadImage(src, flipped);
-
-            // Make sure the image is reasonably sized before we store it
-            if (img.getWidth() > 8) {
-              // Create a cache item to store in memory
-              cacheItem = new ImageCacheItem(key, ".ABI", flipped, img, Instant.ofEpochMilli(f.lastModified()));
-
-              // Add to our cache
-              MemoryCache.put(key, cacheItem);
-
-              cleanupMemoryCache();
-            }
-          }
-        } catch (final Exception e) {
-          e.printStackTrace();
-          cacheItem = null;
+      final SavableFileStore store = fileStore;
+      if (!ignoreCache && cacheItem == null && store != null) {
+        // Check the file cache - images are stored already flipped as asked
+        final Savable savable = store.read(key);
+
+        // Make sure the image is reasonably sized before we store it
+        if (savable instanceof Image img && img.getWidth() > 8) {
+          // Create a cache item to store in memory
+          cacheItem = new ImageCacheItem(key, ".ABI", flipped, img,
+              Instant.ofEpochMilli(store.getFile(key).lastModified()));
+
+          // Add to our cache
+          MemoryCache.put(key, cacheItem);
+
+          cleanupMemoryCache();
         }
       }
 
@@ -259,36 +252,14 @@ public enum HttpImageCache {
   }
 
   private void updateFileCache(final ImageCacheItem cacheItem) {
-    if (cacheDir == null) {
+    final SavableFileStore store = fileStore;
+    if (store == null) {
       return;
     }
 
-    try {
-      if (!cacheDir.exists()) {
-        cacheDir.mkdirs();
-      }
-
-      // Now cache to file system
-      final File temp = new File(cacheDir, cacheItem.id + ".part");
-      final BinaryExporter exp = new BinaryExporter();
-      exp.save(cacheItem.value, temp);
-
-      // Delete old file if it exists
-      final File finalItem = new File(cacheDir, cacheItem.id);
-      if (finalItem.exists()) {
-        finalItem.delete();
-      }
-
-      // And now that it is written, rename it
-      temp.renameTo(finalItem);
-
-      // Set the last write time on the file - do this last as it seems to fail on Android.
-      if (cacheItem.lastModified != null) {
-        finalItem.setLastModified(cacheItem.lastModified.toEpochMilli());
-      }
-    } catch (final Exception e) {
-      e.printStackTrace();
-    }
+    // the file's modification time is that of the remote image
+    store.write(cacheItem.id, cacheItem.value,
+        cacheItem.lastModified != null ? cacheItem.lastModified.toEpochMilli() : 0L);
   }
 
   public void clearCaches() {
@@ -309,10 +280,9 @@ public enum HttpImageCache {
     MemoryCache.remove(key);
 
     // remove any existing cache file
-    try {
-      new File(cacheDir, key).delete();
-    } catch (final Exception e) {
-      // ignore
+    final SavableFileStore store = fileStore;
+    if (store != null) {
+      store.delete(key);
     }
   }
 
@@ -367,45 +337,23 @@ public enum HttpImageCache {
     return returnList;
   }
 
-  static final Pattern NameRegex = Pattern.compile("[a-z0-9]+", Pattern.CASE_INSENSITIVE);
-
-  private static final char[] HEX_ARRAY = "0123456789ABCDEF".toCharArray();
-
   public static String bytesToHex(final byte[] bytes) {
-    final char[] hexChars = new char[bytes.length * 2];
-    for (int j = 0; j < bytes.length; j++) {
-      final int v = bytes[j] & 0xFF;
-      hexChars[j * 2] = HttpImageCache.HEX_ARRAY[v >>> 4];
-      hexChars[j * 2 + 1] = HttpImageCache.HEX_ARRAY[v & 0x0F];
-    }
-    return new String(hexChars);
+    return SavableFileStore.toHex(bytes);
   }
 
   private static String convertUrlToFileName(final String urlText, final String type, final boolean flipped) {
-    try {
-      // convert our url to a hash - this gives us a reasonably unique, known length string
-      final String key = urlText + "_" + type + "_" + flipped;
-      final MessageDigest md = MessageDigest.getInstance("md5");
-      md.update(key.getBytes());
-      final String part1 = bytesToHex(md.digest());
-      md.reset();
-
-      // the hash is good, but out of concern for the unlikely collision, I'm adding the hash of the url's
-      // reverse as well.
-      final StringBuilder sb = new StringBuilder(key);
-      md.update(sb.reverse().toString().getBytes());
-      final String part2 = bytesToHex(md.digest());
-      return part1 + part2 + ".abi";
-    } catch (final NoSuchAlgorithmException ex) {
-      StringBuilder rt = new StringBuilder();
-      final Matcher matcher = HttpImageCache.NameRegex.matcher(urlText);
-      while (matcher.find()) {
-        rt.append(matcher.group()).append("_");
-      }
-
-      // ugly default...
-      return rt + "_" + type + "_" + flipped;
-    }
+    // convert our url to a hash - this gives us a reasonably unique, known length string
+    final String key = urlText + "_" + type + "_" + flipped;
+    final MessageDigest md = SavableFileStore.newDigest("MD5");
+    md.update(key.getBytes());
+    final String part1 = bytesToHex(md.digest());
+
+    // the hash is good, but out of concern for the unlikely collision, I'm adding the hash of the url's
+    // reverse as well.
+    final StringBuilder sb = new StringBuilder(key);
+    md.update(sb.reverse().toString().getBytes());
+    final String part2 = bytesToHex(md.digest());
+    return part1 + part2 + ".abi";
   }
 
   private static class ImageCacheItem {
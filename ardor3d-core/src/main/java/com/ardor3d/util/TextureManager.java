@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -32,6 +32,7 @@ import com.ardor3d.renderer.RenderContext.RenderContextRef;
 import com.ardor3d.renderer.RendererCallable;
 import com.ardor3d.renderer.state.TextureState;
 import com.ardor3d.renderer.texture.ITextureUtils;
+import com.ardor3d.renderer.texture.TextureResidencyManager;
 import com.ardor3d.util.collection.Multimap;
 import com.ardor3d.util.collection.SimpleMultimap;
 import com.ardor3d.util.collection.WeakKeyWeakValueMap;
@@ -41,7 +42,8 @@ import com.ardor3d.util.resource.ResourceSource;
 
 /**
  * <code>TextureManager</code> provides static methods for building or retrieving a
- * <code>Texture</code> object from cache.
+ * <code>Texture</code> object from cache. Images are decoded on the calling thread; see
+ * {@link AsyncTextureLoader} to load many textures in the background instead.
  */
 final public class TextureManager {
   private static final Logger logger = Logger.getLogger(TextureManager.class.getName());
@@ -50,12 +52,26 @@ final public class TextureManager {
 
   private static final ReferenceQueue<TextureKey> _textureRefQueue = new ReferenceQueue<>();
 
+  private static volatile TextureResidencyManager _residencyManager;
+
   static {
     ContextManager.addContextCleanListener(renderContext -> TextureManager.cleanAllTextures(null, renderContext, null));
   }
 
   private TextureManager() {}
 
+  /**
+   * @return the manager keeping texture memory on the card under budget, or null if none (the
+   *         default.)
+   */
+  public static TextureResidencyManager getResidencyManager() { return _residencyManager; }
+
+  /**
+   * @param manager
+   *          the manager the renderer should report texture use to, or null for none.
+   */
+  public static void setResidencyManager(final TextureResidencyManager manager) { _residencyManager = manager; }
+
   /**
    * Loads a texture by attempting to locate the given name using ResourceLocatorTool.
    *
@@ -317,6 +333,11 @@ final public class TextureManager {
       key.clearIdCache();
     }
 
+    final TextureResidencyManager residency = _residencyManager;
+    if (residency != null) {
+      residency.clear();
+    }
+
     // delete the ids
     if (idMap != null && !idMap.isEmpty()) {
       handleTextureDelete(utils, idMap, futureStore);
@@ -362,6 +383,11 @@ final public class TextureManager {
       }
     }
 
+    final TextureResidencyManager residency = _residencyManager;
+    if (residency != null) {
+      residency.clear(context.getSharableContextRef());
+    }
+
     // delete the ids
     if (!idMap.isEmpty()) {
       handleTextureDelete(utils, idMap, futureStore);
@@ -21,4 +21,56 @@ public class BinaryClassObject {
   public byte[] _alias;
   public String _className;
 
+  /** Import only: fields indexed by (unsigned) alias, built from aliasFields by indexFields. */
+  public BinaryClassField[] _fieldsByAlias;
+
+  private SavableClassInfo _classInfo;
+
+  /**
+   * Build {@link #_fieldsByAlias} from {@link #_aliasFields}.
+   */
+  public void indexFields() {
+    int size = 0;
+    for (final Byte alias : _aliasFields.keySet()) {
+      size = Math.max(size, (alias & 0xFF) + 1);
+    }
+    final BinaryClassField[] fields = new BinaryClassField[size];
+    for (final BinaryClassField field : _aliasFields.values()) {
+      fields[field._alias & 0xFF] = field;
+    }
+    _fieldsByAlias = fields;
+  }
+
+  /**
+   * @return the size of an array indexed by the (unsigned) aliases of our fields.
+   */
+  public int getFieldSlots() {
+    if (_fieldsByAlias == null) {
+      indexFields();
+    }
+    return _fieldsByAlias.length;
+  }
+
+  /**
+   * @return the field with the given alias, or null if there is none.
+   */
+  public BinaryClassField getField(final byte alias) {
+    if (_fieldsByAlias == null) {
+      indexFields();
+    }
+    final int index = alias & 0xFF;
+    return index < _fieldsByAlias.length ? _fieldsByAlias[index] : null;
+  }
+
+  /**
+   * @return how to create instances of our class, looked up on first use.
+   * @throws ReflectiveOperationException
+   *           if the class can not be found or has no usable constructor or factory method.
+   */
+  public SavableClassInfo getClassInfo() throws ReflectiveOperationException {
+    if (_classInfo == null) {
+      _classInfo = SavableClassInfo.forName(_className);
+    }
+    return _classInfo;
+  }
 }
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -10,30 +10,18 @@
 
 package com.ardor3d.util.export.binary;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-
 import com.ardor3d.util.export.Savable;
 
 /**
- * Simple utility class that uses BinaryImporter/Exporter in memory to clone a spatial.
+ * Simple utility class to deep copy a spatial, or any other Savable. Copies are made directly by a
+ * {@link SavableCloner} and give the same graph an in memory BinaryExporter/BinaryImporter round trip
+ * would, without encoding the graph to bytes.
  */
 public class BinaryCloner {
-  @SuppressWarnings("unchecked")
+  private final SavableCloner _cloner = new SavableCloner();
+
   public <T extends Savable> T copy(final T source) {
-    try {
-      final ByteArrayOutputStream bos = new ByteArrayOutputStream();
-      final BinaryExporter exporter = new BinaryExporter();
-      exporter.save(source, bos);
-      bos.flush();
-      final ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
-      final BinaryImporter importer = new BinaryImporter();
-      return (T) importer.load(bis);
-    } catch (final IOException ex) {
-      // should not happen, since we are dealing with only byte array streams.
-      throw new RuntimeException(ex);
-    }
+    return _cloner.copy(source);
   }
 
 }
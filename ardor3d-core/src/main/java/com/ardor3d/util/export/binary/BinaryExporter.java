@@ -152,123 +152,171 @@ public class BinaryExporter implements Ardor3dExporter {
   @Override
   public void save(final Savable object, final OutputStream os) throws IOException {
     try {
-      GZIPOutputStream zos = new GZIPOutputStream(os) {
+      final GZIPOutputStream zos = new GZIPOutputStream(os) {
         {
           def.setLevel(_compression);
         }
       };
-      final int id = processBinarySavable(object);
-
-      // write out tag table
-      int ttbytes = 0;
-      final int classNum = _classes.size();
-      final int aliasWidth = ((int) MathUtils.log(classNum, 256) + 1); // make all
-      // aliases a
-      // fixed width
-      zos.write(ByteUtils.convertToBytes(classNum));
-      for (final String key : _classes.keySet()) {
-        final BinaryClassObject bco = _classes.get(key);
-
-        // write alias
-        final byte[] aliasBytes = fixClassAlias(bco._alias, aliasWidth);
-        zos.write(aliasBytes);
-        ttbytes += aliasWidth;
+      writeContent(object, zos);
+      zos.finish();
+    } finally {
+      reset();
+    }
+  }
 
-        // write classname size & classname
-        final byte[] classBytes = key.getBytes();
-        zos.write(ByteUtils.convertToBytes(classBytes.length));
-        zos.write(classBytes);
-        ttbytes += 4 + classBytes.length;
-
-        zos.write(ByteUtils.convertToBytes(bco._nameFields.size()));
-
-        for (final String fieldName : bco._nameFields.keySet()) {
-          final BinaryClassField bcf = bco._nameFields.get(fieldName);
-          zos.write(bcf._alias);
-          zos.write(bcf._type);
-
-          // write classname size & classname
-          final byte[] fNameBytes = fieldName.getBytes();
-          zos.write(ByteUtils.convertToBytes(fNameBytes.length));
-          zos.write(fNameBytes);
-          ttbytes += 2 + 4 + fNameBytes.length;
-        }
-      }
+  /**
+   * Process the given object graph and write the class table, location table and object data (items
+   * 1 through 18 of the format described above) to the given stream, uncompressed.
+   *
+   * @param object
+   *          the root of the graph to write.
+   * @param os
+   *          the stream to write to.
+   * @return the length in bytes of the object data section, which is written last.
+   * @throws IOException
+   *           if the stream throws an exception.
+   */
+  protected int writeContent(final Savable object, final OutputStream os) throws IOException {
+    final int id = processBinarySavable(object);
 
-      ByteArrayOutputStream out = new ByteArrayOutputStream();
-      // write out data to a seperate stream
-      int location = 0;
-      // keep track of location for each piece
-      final Map<String, List<BinaryIdContentPair>> alreadySaved = new HashMap<>(_contentTable.size());
-      for (final Savable savable : _contentKeys) {
-        // look back at previous written data for matches
-        final String savableName = savable.getClassTag().getName();
-        final BinaryIdContentPair pair = _contentTable.get(savable);
-        List<BinaryIdContentPair> bucket = alreadySaved.get(savableName + getChunk(pair));
-        final int prevLoc = findPrevMatch(pair, bucket);
-        if (prevLoc != -1) {
-          _locationTable.put(pair.getId(), prevLoc);
-          continue;
-        }
+    // make all aliases a fixed width
+    final int aliasWidth = getAliasWidth();
+    final int ttbytes = writeClassTable(os, aliasWidth);
 
-        _locationTable.put(pair.getId(), location);
-        if (bucket == null) {
-          bucket = new ArrayList<>();
-          alreadySaved.put(savableName + getChunk(pair), bucket);
-        }
-        bucket.add(pair);
-        final byte[] aliasBytes = fixClassAlias(_classes.get(savableName)._alias, aliasWidth);
-        out.write(aliasBytes);
-        location += aliasWidth;
-        final BinaryOutputCapsule cap = _contentTable.get(savable).getContent();
-        out.write(ByteUtils.convertToBytes(cap._bytes.length));
-        location += 4; // length of bytes
-        out.write(cap._bytes);
-        location += cap._bytes.length;
-      }
+    // write out data to a seperate stream
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeObjectData(out, aliasWidth);
 
-      // write out location table
-      // tag/location
-      final int locNum = _locationTable.size();
-      zos.write(ByteUtils.convertToBytes(locNum));
-      int locbytes = 0;
-      for (final Integer key : _locationTable.keySet()) {
-        zos.write(ByteUtils.convertToBytes(key));
-        zos.write(ByteUtils.convertToBytes(_locationTable.get(key)));
-        locbytes += 8;
-      }
+    final int locbytes = writeLocationTable(os, id);
 
-      // write out number of root ids - hardcoded 1 for now
-      zos.write(ByteUtils.convertToBytes(1));
+    // append stream to the output stream
+    out.writeTo(os);
 
-      // write out root id
-      zos.write(ByteUtils.convertToBytes(id));
+    if (logger.isLoggable(Level.FINE)) {
+      logger.fine("Stats:");
+      logger.fine("classes: " + _classes.size());
+      logger.fine("class table: " + ttbytes + " bytes");
+      logger.fine("objects: " + _locationTable.size());
+      logger.fine("location table: " + locbytes + " bytes");
+      logger.fine("data: " + out.size() + " bytes");
+    }
+    return out.size();
+  }
 
-      // append stream to the output stream
-      out.writeTo(zos);
+  /**
+   * @return the width in bytes used for every class alias in the file.
+   */
+  protected int getAliasWidth() { return (int) MathUtils.log(_classes.size(), 256) + 1; }
 
-      zos.finish();
+  /**
+   * Write the class table (items 1 through 9).
+   *
+   * @return the number of bytes written after the class count.
+   */
+  protected int writeClassTable(final OutputStream os, final int aliasWidth) throws IOException {
+    int ttbytes = 0;
+    os.write(ByteUtils.convertToBytes(_classes.size()));
+    for (final String key : _classes.keySet()) {
+      final BinaryClassObject bco = _classes.get(key);
+
+      // write alias
+      final byte[] aliasBytes = fixClassAlias(bco._alias, aliasWidth);
+      os.write(aliasBytes);
+      ttbytes += aliasWidth;
+
+      // write classname size & classname
+      final byte[] classBytes = key.getBytes();
+      os.write(ByteUtils.convertToBytes(classBytes.length));
+      os.write(classBytes);
+      ttbytes += 4 + classBytes.length;
+
+      os.write(ByteUtils.convertToBytes(bco._nameFields.size()));
+
+      for (final String fieldName : bco._nameFields.keySet()) {
+        final BinaryClassField bcf = bco._nameFields.get(fieldName);
+        os.write(bcf._alias);
+        os.write(bcf._type);
+
+        // write classname size & classname
+        final byte[] fNameBytes = fieldName.getBytes();
+        os.write(ByteUtils.convertToBytes(fNameBytes.length));
+        os.write(fNameBytes);
+        ttbytes += 2 + 4 + fNameBytes.length;
+      }
+    }
+    return ttbytes;
+  }
 
-      out = null;
-      zos = null;
+  /**
+   * Write the object data section (items 15 through 18) for every processed object, filling in the
+   * location table. Objects with identical content share a single location.
+   */
+  protected void writeObjectData(final OutputStream out, final int aliasWidth) throws IOException {
+    int location = 0;
+    // keep track of location for each piece
+    final Map<String, List<BinaryIdContentPair>> alreadySaved = new HashMap<>(_contentTable.size());
+    for (final Savable savable : _contentKeys) {
+      // look back at previous written data for matches
+      final String savableName = savable.getClassTag().getName();
+      final BinaryIdContentPair pair = _contentTable.get(savable);
+      List<BinaryIdContentPair> bucket = alreadySaved.get(savableName + getChunk(pair));
+      final int prevLoc = findPrevMatch(pair, bucket);
+      if (prevLoc != -1) {
+        _locationTable.put(pair.getId(), prevLoc);
+        continue;
+      }
 
-      if (logger.isLoggable(Level.FINE)) {
-        logger.fine("Stats:");
-        logger.fine("classes: " + classNum);
-        logger.fine("class table: " + ttbytes + " bytes");
-        logger.fine("objects: " + locNum);
-        logger.fine("location table: " + locbytes + " bytes");
-        logger.fine("data: " + location + " bytes");
+      _locationTable.put(pair.getId(), location);
+      if (bucket == null) {
+        bucket = new ArrayList<>();
+        alreadySaved.put(savableName + getChunk(pair), bucket);
       }
-    } finally {
-      _aliasCount = 1;
-      _idCount = 1;
+      bucket.add(pair);
+      final byte[] aliasBytes = fixClassAlias(_classes.get(savableName)._alias, aliasWidth);
+      out.write(aliasBytes);
+      location += aliasWidth;
+      final BinaryOutputCapsule cap = _contentTable.get(savable).getContent();
+      out.write(ByteUtils.convertToBytes(cap._bytes.length));
+      location += 4; // length of bytes
+      out.write(cap._bytes);
+      location += cap._bytes.length;
+    }
+  }
 
-      _contentTable.clear();
-      _locationTable.clear();
-      _classes.clear();
-      _contentKeys.clear();
+  /**
+   * Write the location table and root id (items 10 through 14).
+   *
+   * @return the number of bytes written for the location entries.
+   */
+  protected int writeLocationTable(final OutputStream os, final int rootId) throws IOException {
+    // tag/location
+    os.write(ByteUtils.convertToBytes(_locationTable.size()));
+    int locbytes = 0;
+    for (final Integer key : _locationTable.keySet()) {
+      os.write(ByteUtils.convertToBytes(key));
+      os.write(ByteUtils.convertToBytes(_locationTable.get(key)));
+      locbytes += 8;
     }
+
+    // write out number of root ids - hardcoded 1 for now
+    os.write(ByteUtils.convertToBytes(1));
+
+    // write out root id
+    os.write(ByteUtils.convertToBytes(rootId));
+    return locbytes;
+  }
+
+  /**
+   * Let go of / reset the state built up while saving.
+   */
+  protected void reset() {
+    _aliasCount = 1;
+    _idCount = 1;
+
+    _contentTable.clear();
+    _locationTable.clear();
+    _classes.clear();
+    _contentKeys.clear();
   }
 
   protected String getChunk(final BinaryIdContentPair pair) {
@@ -334,10 +382,24 @@ public class BinaryExporter implements Ardor3dExporter {
     }
     object.write(_contentTable.get(object).getContent());
     newPair.getContent().finish();
+    contentFinished(object, newPair);
     return newPair.getId();
 
   }
 
+  /**
+   * Called once the given object has been fully written to its capsule. Its children (if any) have
+   * already been finished. Does nothing by default, as the content is written out by save.
+   *
+   * @param object
+   *          the object that was written.
+   * @param pair
+   *          the id and capsule of the object.
+   * @throws IOException
+   *           if the content can not be written.
+   */
+  protected void contentFinished(final Savable object, final BinaryIdContentPair pair) throws IOException {}
+
   protected byte[] generateTag() {
     final int width = ((int) MathUtils.log(_aliasCount, 256) + 1);
     int count = _aliasCount;
@@ -66,61 +66,11 @@ public class BinaryImporter implements Ardor3dImporter {
     try {
       final GZIPInputStream zis = new GZIPInputStream(is);
       BufferedInputStream bis = new BufferedInputStream(zis);
-      final int numClasses = ByteUtils.readInt(bis);
-      int bytes = 4;
-      _aliasWidth = ((int) MathUtils.log(numClasses, 256) + 1);
-      for (int i = 0; i < numClasses; i++) {
-        final String alias = readString(bis, _aliasWidth);
-
-        final int classLength = ByteUtils.readInt(bis);
-        final String className = readString(bis, classLength);
-        final BinaryClassObject bco = new BinaryClassObject();
-        bco._alias = alias.getBytes();
-        bco._className = className;
-
-        final int fields = ByteUtils.readInt(bis);
-        bytes += (8 + _aliasWidth + classLength);
-
-        bco._nameFields = new HashMap<>(fields);
-        bco._aliasFields = new HashMap<>(fields);
-        for (int x = 0; x < fields; x++) {
-          final byte fieldAlias = (byte) bis.read();
-          final byte fieldType = (byte) bis.read();
-
-          final int fieldNameLength = ByteUtils.readInt(bis);
-          final String fieldName = readString(bis, fieldNameLength);
-          final BinaryClassField bcf = new BinaryClassField(fieldName, fieldAlias, fieldType);
-          bco._nameFields.put(fieldName, bcf);
-          bco._aliasFields.put(fieldAlias, bcf);
-          bytes += (6 + fieldNameLength);
-        }
-        _classes.put(alias, bco);
-      }
-      if (listener != null) {
-        listener.readBytes(bytes);
-      }
-
-      final int numLocs = ByteUtils.readInt(bis);
-      bytes = 4;
-
-      for (int i = 0; i < numLocs; i++) {
-        final int id = ByteUtils.readInt(bis);
-        final int loc = ByteUtils.readInt(bis);
-        _locationTable.put(id, loc);
-        bytes += 8;
-      }
-
-      @SuppressWarnings("unused")
-      final int numbIDs = ByteUtils.readInt(bis); // XXX: NOT CURRENTLY USED
-      final int id = ByteUtils.readInt(bis);
-      bytes += 8;
-      if (listener != null) {
-        listener.readBytes(bytes);
-      }
+      final int id = readHeader(bis, listener);
 
       ByteArrayOutputStream baos = reuseableStream;
       if (baos == null) {
-        baos = new ByteArrayOutputStream(bytes);
+        baos = new ByteArrayOutputStream();
       } else {
         baos.reset();
       }
@@ -141,23 +91,106 @@ public class BinaryImporter implements Ardor3dImporter {
 
       if (logger.isLoggable(Level.FINE)) {
         logger.fine("Importer Stats: ");
-        logger.fine("Tags: " + numClasses);
-        logger.fine("Objects: " + numLocs);
+        logger.fine("Tags: " + _classes.size());
+        logger.fine("Objects: " + _locationTable.size());
         logger.fine("Data Size: " + _dataArray.length);
       }
       return rVal;
 
     } finally {
-      // Let go of / reset contents.
-      _aliasWidth = 0;
-      _contentTable.clear();
-      _classes.clear();
-      _capsuleTable.clear();
-      _locationTable.clear();
-      _dataArray = null;
+      reset();
     }
   }
 
+  /**
+   * Let go of / reset contents.
+   */
+  protected void reset() {
+    _aliasWidth = 0;
+    _contentTable.clear();
+    _classes.clear();
+    _capsuleTable.clear();
+    _locationTable.clear();
+    _dataArray = null;
+  }
+
+  /**
+   * Read the class table, location table and root id from the start of the given (uncompressed)
+   * stream, filling in our class and location tables.
+   *
+   * @param bis
+   *          the stream to read from.
+   * @param listener
+   *          optional listener to notify of bytes read.
+   * @return the id of the root object.
+   * @throws IOException
+   *           if the stream throws an exception.
+   */
+  protected int readHeader(final InputStream bis, final ReadListener listener) throws IOException {
+    final int numClasses = ByteUtils.readInt(bis);
+    int bytes = 4;
+    _aliasWidth = getAliasWidth(numClasses);
+    for (int i = 0; i < numClasses; i++) {
+      final String alias = readString(bis, _aliasWidth);
+
+      final int classLength = ByteUtils.readInt(bis);
+      final String className = readString(bis, classLength);
+      final BinaryClassObject bco = new BinaryClassObject();
+      bco._alias = alias.getBytes();
+      bco._className = className;
+
+      final int fields = ByteUtils.readInt(bis);
+      bytes += (8 + _aliasWidth + classLength);
+
+      bco._nameFields = new HashMap<>(fields);
+      bco._aliasFields = new HashMap<>(fields);
+      for (int x = 0; x < fields; x++) {
+        final byte fieldAlias = (byte) bis.read();
+        final byte fieldType = (byte) bis.read();
+
+        final int fieldNameLength = ByteUtils.readInt(bis);
+        final String fieldName = readString(bis, fieldNameLength);
+        final BinaryClassField bcf = new BinaryClassField(fieldName, fieldAlias, fieldType);
+        bco._nameFields.put(fieldName, bcf);
+        bco._aliasFields.put(fieldAlias, bcf);
+        bytes += (6 + fieldNameLength);
+      }
+      bco.indexFields();
+      _classes.put(alias, bco);
+    }
+    if (listener != null) {
+      listener.readBytes(bytes);
+    }
+
+    final int numLocs = ByteUtils.readInt(bis);
+    bytes = 4;
+
+    for (int i = 0; i < numLocs; i++) {
+      final int id = ByteUtils.readInt(bis);
+      final int loc = ByteUtils.readInt(bis);
+      _locationTable.put(id, loc);
+      bytes += 8;
+    }
+
+    @SuppressWarnings("unused")
+    final int numbIDs = ByteUtils.readInt(bis); // XXX: NOT CURRENTLY USED
+    final int id = ByteUtils.readInt(bis);
+    bytes += 8;
+    if (listener != null) {
+      listener.readBytes(bytes);
+    }
+    return id;
+  }
+
+  /**
+   * @param numClasses
+   *          the number of entries in the class table.
+   * @return the width in bytes of every class alias in the file.
+   */
+  protected int getAliasWidth(final int numClasses) {
+    return (int) MathUtils.log(numClasses, 256) + 1;
+  }
+
   @Override
   public Savable load(final URL url) throws IOException {
     return load(url, null);
@@ -209,6 +242,15 @@ public class BinaryImporter implements Ardor3dImporter {
     return new String(data, StandardCharsets.UTF_8);
   }
 
+  /**
+   * @param bco
+   *          the class of the object being read.
+   * @return a new capsule to read an object's fields with.
+   */
+  protected BinaryInputCapsule createCapsule(final BinaryClassObject bco) {
+    return new BinaryInputCapsule(this, bco);
+  }
+
   public Savable readObject(final int id) {
 
     if (_contentTable.get(id) != null) {
@@ -216,11 +258,7 @@ public class BinaryImporter implements Ardor3dImporter {
     }
 
     try {
-      int loc = _locationTable.get(id);
-
-      final String alias = readString(_aliasWidth, loc);
-      loc += _aliasWidth;
-
+      final String alias = readString(_aliasWidth, _locationTable.get(id));
       final BinaryClassObject bco = _classes.get(alias);
 
       if (bco == null) {
@@ -228,34 +266,8 @@ public class BinaryImporter implements Ardor3dImporter {
         return null;
       }
 
-      final int dataLength = ByteUtils.convertIntFromBytes(_dataArray, loc);
-      loc += 4;
-
-      final BinaryInputCapsule cap = new BinaryInputCapsule(this, bco);
-      cap.setContent(_dataArray, loc, loc + dataLength);
-
-      final Savable out;
-
-      try {
-        @SuppressWarnings("unchecked")
-        final Class<? extends Savable> clazz = (Class<? extends Savable>) Class.forName(bco._className);
-        final SavableFactory ann = clazz.getAnnotation(SavableFactory.class);
-        if (ann == null) {
-          out = clazz.getDeclaredConstructor().newInstance();
-        } else {
-          out = (Savable) clazz.getMethod(ann.factoryMethod(), (Class<?>[]) null).invoke(null, (Object[]) null);
-        }
-      } catch (final InstantiationException e) {
-        logger.logp(Level.SEVERE, this.getClass().toString(), "readObject(int)",
-            "Could not access constructor of class '" + bco._className + "'! \n"
-                + "Some types may require the annotation SavableFactory.  Please double check.",
-            e);
-        throw new Ardor3dException(e);
-      } catch (final NoSuchMethodException e) {
-        logger.logp(Level.SEVERE, this.getClass().toString(), "readObject(int)", e.getMessage() + " \n"
-            + "Method specified in annotation does not appear to exist or has an invalid method signature.", e);
-        throw new Ardor3dException(e);
-      }
+      final BinaryInputCapsule cap = getCapsule(id, bco);
+      final Savable out = createSavable(bco);
 
       _capsuleTable.put(out, cap);
       _contentTable.put(id, out);
@@ -274,4 +286,46 @@ public class BinaryImporter implements Ardor3dImporter {
       throw new Ardor3dException(e);
     }
   }
+
+  /**
+   * @param id
+   *          the id of an object.
+   * @param bco
+   *          the class of the object.
+   * @return a capsule holding the decoded fields of the object.
+   */
+  protected BinaryInputCapsule getCapsule(final int id, final BinaryClassObject bco) {
+    final int loc = _locationTable.get(id) + _aliasWidth;
+    final int dataLength = ByteUtils.convertIntFromBytes(_dataArray, loc);
+
+    final BinaryInputCapsule cap = createCapsule(bco);
+    cap.setContent(_dataArray, loc + 4, loc + 4 + dataLength);
+    return cap;
+  }
+
+  /**
+   * @param bco
+   *          the class to create an instance of.
+   * @return a new, empty instance of the given class, created with its {@link SavableFactory} method if
+   *         it has one.
+   * @throws Ardor3dException
+   *           if the class has no usable constructor or factory method.
+   * @throws ReflectiveOperationException
+   *           if the class can not be found or the constructor or factory fails.
+   */
+  protected Savable createSavable(final BinaryClassObject bco) throws ReflectiveOperationException {
+    try {
+      return bco.getClassInfo().newInstance();
+    } catch (final InstantiationException e) {
+      logger.logp(Level.SEVERE, this.getClass().toString(), "readObject(int)",
+          "Could not access constructor of class '" + bco._className + "'! \n"
+              + "Some types may require the annotation SavableFactory.  Please double check.",
+          e);
+      throw new Ardor3dException(e);
+    } catch (final NoSuchMethodException e) {
+      logger.logp(Level.SEVERE, this.getClass().toString(), "readObject(int)", e.getMessage() + " \n"
+          + "Method specified in annotation does not appear to exist or has an invalid method signature.", e);
+      throw new Ardor3dException(e);
+    }
+  }
 }
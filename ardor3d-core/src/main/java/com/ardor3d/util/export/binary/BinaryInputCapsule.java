@@ -31,9 +31,13 @@ import com.ardor3d.util.export.Savable;
 public class BinaryInputCapsule implements InputCapsule {
   private static final Logger logger = Logger.getLogger(BinaryInputCapsule.class.getName());
 
+  /** Marks fields present with a null value in {@link #_fieldData}. */
+  protected static final Object NULL_VALUE = new Object();
+
   protected BinaryImporter _importer;
   protected BinaryClassObject _cObj;
-  protected HashMap<Byte, Object> _fieldData;
+  /** Decoded field values, indexed by unsigned field alias. Null if absent, NULL_VALUE if null. */
+  protected Object[] _fieldData;
 
   protected int _index = 0;
 
@@ -43,20 +47,21 @@ public class BinaryInputCapsule implements InputCapsule {
   }
 
   public void setContent(final byte[] content, final int start, final int limit) {
-    _fieldData = new HashMap<>();
+    _fieldData = new Object[_cObj.getFieldSlots()];
     for (_index = start; _index < limit;) {
       final byte alias = content[_index];
 
       _index++;
 
       try {
-        final byte type = _cObj._aliasFields.get(alias)._type;
+        final byte type = _cObj.getField(alias)._type;
         final AtomicReference<Object> reference = new AtomicReference<>(null);
         if (!readContentOfType(content, type, reference)) {
           continue;
         }
 
-        _fieldData.put(alias, reference.get());
+        final Object value = reference.get();
+        _fieldData[alias & 0xFF] = value != null ? value : NULL_VALUE;
 
       } catch (final IOException e) {
         logger.logp(Level.SEVERE, this.getClass().toString(), "setContent(byte[] content)", "Exception", e);
@@ -64,237 +69,259 @@ public class BinaryInputCapsule implements InputCapsule {
     }
   }
 
+  /**
+   * @return true if the given field was present in our content.
+   */
+  protected boolean hasField(final BinaryClassField field) {
+    return field != null && _fieldData[field._alias & 0xFF] != null;
+  }
+
+  /**
+   * @return the decoded value of the given field, which must be present.
+   */
+  protected Object getFieldValue(final BinaryClassField field) {
+    final Object value = _fieldData[field._alias & 0xFF];
+    return value != NULL_VALUE ? value : null;
+  }
+
+  /**
+   * Replace the decoded value of the given field, such as ids with the objects they refer to.
+   */
+  protected void setFieldValue(final BinaryClassField field, final Object value) {
+    _fieldData[field._alias & 0xFF] = value != null ? value : NULL_VALUE;
+  }
+
   @Override
   public BitSet readBitSet(final String name, final BitSet defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (BitSet) _fieldData.get(field._alias);
+    return (BitSet) getFieldValue(field);
   }
 
   @Override
   public boolean readBoolean(final String name, final boolean defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return ((Boolean) _fieldData.get(field._alias));
+    return ((Boolean) getFieldValue(field));
   }
 
   @Override
   public boolean[] readBooleanArray(final String name, final boolean[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (boolean[]) _fieldData.get(field._alias);
+    return (boolean[]) getFieldValue(field);
   }
 
   @Override
   public boolean[][] readBooleanArray2D(final String name, final boolean[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (boolean[][]) _fieldData.get(field._alias);
+    return (boolean[][]) getFieldValue(field);
   }
 
   @Override
   public byte readByte(final String name, final byte defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (Byte) _fieldData.get(field._alias);
+    return (Byte) getFieldValue(field);
   }
 
   @Override
   public byte[] readByteArray(final String name, final byte[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (byte[]) _fieldData.get(field._alias);
+    return (byte[]) getFieldValue(field);
   }
 
   @Override
   public byte[][] readByteArray2D(final String name, final byte[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (byte[][]) _fieldData.get(field._alias);
+    return (byte[][]) getFieldValue(field);
   }
 
   @Override
   public ByteBuffer readByteBuffer(final String name, final ByteBuffer defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (ByteBuffer) _fieldData.get(field._alias);
+    return (ByteBuffer) getFieldValue(field);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public List<ByteBuffer> readByteBufferList(final String name, final List<ByteBuffer> defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (List<ByteBuffer>) _fieldData.get(field._alias);
+    return (List<ByteBuffer>) getFieldValue(field);
   }
 
   @Override
   public double readDouble(final String name, final double defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (Double) _fieldData.get(field._alias);
+    return (Double) getFieldValue(field);
   }
 
   @Override
   public double[] readDoubleArray(final String name, final double[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (double[]) _fieldData.get(field._alias);
+    return (double[]) getFieldValue(field);
   }
 
   @Override
   public double[][] readDoubleArray2D(final String name, final double[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (double[][]) _fieldData.get(field._alias);
+    return (double[][]) getFieldValue(field);
   }
 
   @Override
   public float readFloat(final String name, final float defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (Float) _fieldData.get(field._alias);
+    return (Float) getFieldValue(field);
   }
 
   @Override
   public float[] readFloatArray(final String name, final float[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (float[]) _fieldData.get(field._alias);
+    return (float[]) getFieldValue(field);
   }
 
   @Override
   public float[][] readFloatArray2D(final String name, final float[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (float[][]) _fieldData.get(field._alias);
+    return (float[][]) getFieldValue(field);
   }
 
   @Override
   public FloatBuffer readFloatBuffer(final String name, final FloatBuffer defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (FloatBuffer) _fieldData.get(field._alias);
+    return (FloatBuffer) getFieldValue(field);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public List<FloatBuffer> readFloatBufferList(final String name, final List<FloatBuffer> defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (List<FloatBuffer>) _fieldData.get(field._alias);
+    return (List<FloatBuffer>) getFieldValue(field);
   }
 
   @Override
   public int readInt(final String name, final int defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (Integer) _fieldData.get(field._alias);
+    return (Integer) getFieldValue(field);
   }
 
   @Override
   public int[] readIntArray(final String name, final int[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (int[]) _fieldData.get(field._alias);
+    return (int[]) getFieldValue(field);
   }
 
   @Override
   public int[][] readIntArray2D(final String name, final int[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (int[][]) _fieldData.get(field._alias);
+    return (int[][]) getFieldValue(field);
   }
 
   @Override
   public IntBuffer readIntBuffer(final String name, final IntBuffer defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (IntBuffer) _fieldData.get(field._alias);
+    return (IntBuffer) getFieldValue(field);
   }
 
   @Override
   public long readLong(final String name, final long defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (Long) _fieldData.get(field._alias);
+    return (Long) getFieldValue(field);
   }
 
   @Override
   public long[] readLongArray(final String name, final long[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (long[]) _fieldData.get(field._alias);
+    return (long[]) getFieldValue(field);
   }
 
   @Override
   public long[][] readLongArray2D(final String name, final long[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (long[][]) _fieldData.get(field._alias);
+    return (long[][]) getFieldValue(field);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public <E extends Savable> E readSavable(final String name, final E defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value == null) {
       return null;
     } else if (value instanceof ID) {
       value = _importer.readObject(((ID) value).id);
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
       return (E) value;
     } else {
       return defVal;
@@ -305,13 +332,13 @@ public class BinaryInputCapsule implements InputCapsule {
   @SuppressWarnings("unchecked")
   public <E extends Savable> E[] readSavableArray(final String name, final E[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object[] values = (Object[]) _fieldData.get(field._alias);
+    Object[] values = (Object[]) getFieldValue(field);
     if (values instanceof ID[]) {
       values = resolveIDs(values);
-      _fieldData.put(field._alias, values);
+      setFieldValue(field, values);
       return (E[]) values;
     } else {
       return defVal;
@@ -335,10 +362,10 @@ public class BinaryInputCapsule implements InputCapsule {
   @SuppressWarnings("unchecked")
   public <E extends Savable> E[][] readSavableArray2D(final String name, final E[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object[][] values = (Object[][]) _fieldData.get(field._alias);
+    Object[][] values = (Object[][]) getFieldValue(field);
     if (values instanceof ID[][]) {
       final Savable[][] savables = new Savable[values.length][];
       for (int i = 0; i < values.length; i++) {
@@ -349,17 +376,17 @@ public class BinaryInputCapsule implements InputCapsule {
         }
       }
       values = savables;
-      _fieldData.put(field._alias, values);
+      setFieldValue(field, values);
     }
     return (E[][]) values;
   }
 
   public Savable[][][] readSavableArray3D(final String name, final Savable[][][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    final Object[][][] values = (Object[][][]) _fieldData.get(field._alias);
+    final Object[][][] values = (Object[][][]) getFieldValue(field);
     if (values instanceof ID[][][]) {
       final Savable[][][] savables = new Savable[values.length][][];
       for (int i = 0; i < values.length; i++) {
@@ -372,7 +399,7 @@ public class BinaryInputCapsule implements InputCapsule {
           savables[i] = null;
         }
       }
-      _fieldData.put(field._alias, savables);
+      setFieldValue(field, savables);
       return savables;
     } else {
       return defVal;
@@ -436,15 +463,15 @@ public class BinaryInputCapsule implements InputCapsule {
   @SuppressWarnings("unchecked")
   public <E extends Savable> List<E> readSavableList(final String name, final List<E> defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value instanceof ID[]) {
       // read Savable array and convert to ArrayList
       final Savable[] savables = readSavableArray(name, null);
       value = savableArrayListFromArray(savables);
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
     }
     return (List<E>) value;
   }
@@ -454,10 +481,10 @@ public class BinaryInputCapsule implements InputCapsule {
   public <E extends Savable> List<E>[] readSavableListArray(final String name, final List<E>[] defVal)
       throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value instanceof ID[][]) {
       // read 2D Savable array and convert to ArrayList array
       final Savable[][] savables = readSavableArray2D(name, null);
@@ -470,7 +497,7 @@ public class BinaryInputCapsule implements InputCapsule {
       } else {
         value = defVal;
       }
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
     }
     return (List<E>[]) value;
   }
@@ -480,10 +507,10 @@ public class BinaryInputCapsule implements InputCapsule {
   public <E extends Savable> List<E>[][] readSavableListArray2D(final String name, final List<E>[][] defVal)
       throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value instanceof ID[][][]) {
       // read 3D Savable array and convert to 2D ArrayList array
       final Savable[][][] savables = readSavableArray3D(name, null);
@@ -499,7 +526,7 @@ public class BinaryInputCapsule implements InputCapsule {
       } else {
         value = defVal;
       }
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
     }
     return (List<E>[][]) value;
   }
@@ -509,15 +536,15 @@ public class BinaryInputCapsule implements InputCapsule {
   public <K extends Savable, V extends Savable> Map<K, V> readSavableMap(final String name, final Map<K, V> defVal)
       throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value instanceof ID[][]) {
       // read Savable array and convert to Map
       final Savable[][] savables = readSavableArray2D(name, null);
       value = savableMapFrom2DArray(savables);
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
     }
     return (Map<K, V>) value;
   }
@@ -527,15 +554,15 @@ public class BinaryInputCapsule implements InputCapsule {
   public <V extends Savable> Map<String, V> readStringSavableMap(final String name, final Map<String, V> defVal)
       throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value instanceof StringIDMap in) {
       // read Savable array and convert to Map values
       final Savable[] values = resolveIDs(in.values);
       value = stringSavableMapFromKV(in.keys, values);
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
     }
     return (Map<String, V>) value;
   }
@@ -545,14 +572,14 @@ public class BinaryInputCapsule implements InputCapsule {
   public Map<String, Object> readStringObjectMap(final String name, final Map<String, Object> defVal)
       throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    Object value = _fieldData.get(field._alias);
+    Object value = getFieldValue(field);
     if (value instanceof StringObjectMap) {
       // read and convert to Map values
       value = stringObjectMapFromKV((StringObjectMap) value);
-      _fieldData.put(field._alias, value);
+      setFieldValue(field, value);
     }
     return (Map<String, Object>) value;
   }
@@ -560,64 +587,64 @@ public class BinaryInputCapsule implements InputCapsule {
   @Override
   public short readShort(final String name, final short defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (Short) _fieldData.get(field._alias);
+    return (Short) getFieldValue(field);
   }
 
   @Override
   public short[] readShortArray(final String name, final short[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (short[]) _fieldData.get(field._alias);
+    return (short[]) getFieldValue(field);
   }
 
   @Override
   public short[][] readShortArray2D(final String name, final short[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (short[][]) _fieldData.get(field._alias);
+    return (short[][]) getFieldValue(field);
   }
 
   @Override
   public ShortBuffer readShortBuffer(final String name, final ShortBuffer defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (ShortBuffer) _fieldData.get(field._alias);
+    return (ShortBuffer) getFieldValue(field);
   }
 
   @Override
   public String readString(final String name, final String defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (String) _fieldData.get(field._alias);
+    return (String) getFieldValue(field);
   }
 
   @Override
   public String[] readStringArray(final String name, final String[] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (String[]) _fieldData.get(field._alias);
+    return (String[]) getFieldValue(field);
   }
 
   @Override
   public String[][] readStringArray2D(final String name, final String[][] defVal) throws IOException {
     final BinaryClassField field = _cObj._nameFields.get(name);
-    if (field == null || !_fieldData.containsKey(field._alias)) {
+    if (!hasField(field)) {
       return defVal;
     }
-    return (String[][]) _fieldData.get(field._alias);
+    return (String[][]) getFieldValue(field);
   }
 
   // byte primitive
@@ -1364,7 +1391,53 @@ public class BinaryInputCapsule implements InputCapsule {
     return value;
   }
 
-  static private class ID {
+  /**
+   * @return true if any of the fields read by {@link #setContent(byte[], int, int)} refers to another
+   *         Savable. Objects without references can be read without resolving other objects.
+   */
+  public boolean hasReferences() {
+    for (final Object value : _fieldData) {
+      if (containsIds(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Add the ids of the Savables referred to by the given undecoded field value to the given
+   * collection.
+   */
+  static void collectIds(final Object value, final Collection<Integer> ids) {
+    if (value instanceof ID id) {
+      ids.add(id.id);
+    } else if (value instanceof Object[] array) {
+      for (final Object element : array) {
+        collectIds(element, ids);
+      }
+    } else if (value instanceof StringIDMap map) {
+      collectIds(map.values, ids);
+    } else if (value instanceof StringObjectMap map) {
+      collectIds(map.values, ids);
+    }
+  }
+
+  private static boolean containsIds(final Object value) {
+    if (value instanceof ID || value instanceof StringIDMap) {
+      return true;
+    } else if (value instanceof Object[] array) {
+      for (final Object element : array) {
+        if (containsIds(element)) {
+          return true;
+        }
+      }
+    } else if (value instanceof StringObjectMap map) {
+      return containsIds(map.values);
+    }
+    return false;
+  }
+
+  static class ID {
     public int id;
 
     public ID(final int id) {
@@ -1372,12 +1445,12 @@ public class BinaryInputCapsule implements InputCapsule {
     }
   }
 
-  static private class StringIDMap {
+  static class StringIDMap {
     public String[] keys;
     public ID[] values;
   }
 
-  static private class StringObjectMap {
+  static class StringObjectMap {
     public String[] keys;
     public Object[] values;
   }
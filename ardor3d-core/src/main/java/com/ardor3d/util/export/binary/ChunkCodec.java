@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression used for the chunks of a {@link ChunkedBinaryExporter} file. Each chunk is compressed
+ * independently, so chunks can be compressed and decompressed in parallel.
+ */
+public enum ChunkCodec {
+
+  /** Chunks are stored uncompressed. */
+  NONE(0) {
+    @Override
+    byte[] compress(final byte[] src, final int offset, final int length, final int level) {
+      return Arrays.copyOfRange(src, offset, offset + length);
+    }
+
+    @Override
+    void decompress(final byte[] src, final int srcOffset, final int srcLength, final byte[] dst, final int dstOffset,
+        final int dstLength) throws IOException {
+      if (srcLength != dstLength) {
+        throw new IOException("Stored chunk length " + srcLength + " does not match expected " + dstLength);
+      }
+      System.arraycopy(src, srcOffset, dst, dstOffset, dstLength);
+    }
+  },
+
+  /** Raw deflate, at the exporter's compression level. Smaller, but slower to read and write. */
+  DEFLATE(1) {
+    @Override
+    byte[] compress(final byte[] src, final int offset, final int length, final int level) {
+      final Deflater deflater = new Deflater(level, true);
+      try {
+        deflater.setInput(src, offset, length);
+        deflater.finish();
+        byte[] out = new byte[length + (length >> 8) + 64];
+        int size = 0;
+        while (!deflater.finished()) {
+          if (size == out.length) {
+            out = Arrays.copyOf(out, out.length * 2);
+          }
+          size += deflater.deflate(out, size, out.length - size);
+        }
+        return Arrays.copyOf(out, size);
+      } finally {
+        deflater.end();
+      }
+    }
+
+    @Override
+    void decompress(final byte[] src, final int srcOffset, final int srcLength, final byte[] dst, final int dstOffset,
+        final int dstLength) throws IOException {
+      final Inflater inflater = new Inflater(true);
+      try {
+        inflater.setInput(src, srcOffset, srcLength);
+        int size = 0;
+        while (size < dstLength) {
+          final int read = inflater.inflate(dst, dstOffset + size, dstLength - size);
+          if (read == 0) {
+            // finished, or out of input
+            break;
+          }
+          size += read;
+        }
+        if (size != dstLength) {
+          throw new IOException("Deflated chunk holds " + size + " bytes, expected " + dstLength);
+        }
+      } catch (final DataFormatException e) {
+        throw new IOException("Corrupt deflated chunk", e);
+      } finally {
+        inflater.end();
+      }
+    }
+  },
+
+  /**
+   * LZ4 block format. Compresses less than deflate, but decompresses several times faster, so it is
+   * the better choice when loading is CPU bound.
+   */
+  LZ4(2) {
+    @Override
+    byte[] compress(final byte[] src, final int offset, final int length, final int level) {
+      final byte[] out = new byte[Lz4Block.maxCompressedLength(length)];
+      return Arrays.copyOf(out, Lz4Block.compress(src, offset, length, out, 0));
+    }
+
+    @Override
+    void decompress(final byte[] src, final int srcOffset, final int srcLength, final byte[] dst, final int dstOffset,
+        final int dstLength) throws IOException {
+      Lz4Block.decompress(src, srcOffset, srcLength, dst, dstOffset, dstLength);
+    }
+  };
+
+  private final int _id;
+
+  ChunkCodec(final int id) {
+    _id = id;
+  }
+
+  /**
+   * @return the id written to files for this codec.
+   */
+  public int getId() { return _id; }
+
+  /**
+   * @return the codec with the given id.
+   * @throws IOException
+   *           if there is no such codec.
+   */
+  public static ChunkCodec fromId(final int id) throws IOException {
+    for (final ChunkCodec codec : values()) {
+      if (codec._id == id) {
+        return codec;
+      }
+    }
+    throw new IOException("Unknown chunk codec: " + id);
+  }
+
+  /**
+   * @param level
+   *          a {@link Deflater} compression level, used by codecs that support levels.
+   * @return the compressed bytes of the given range.
+   */
+  abstract byte[] compress(byte[] src, int offset, int length, int level);
+
+  /**
+   * Decompress the given compressed chunk into exactly dstLength bytes of dst.
+   *
+   * @throws IOException
+   *           if the chunk is corrupt or does not hold dstLength bytes.
+   */
+  abstract void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength)
+      throws IOException;
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.ardor3d.util.export.ByteUtils;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Exports the same content as {@link BinaryExporter}, but as a sequence of independently compressed
+ * chunks rather than a single GZIP stream, so that {@link ChunkedBinaryImporter} can decompress them
+ * in parallel. Chunks are also compressed in parallel.
+ * <p>
+ * Format (big endian ints): magic "A3DC", version, {@link ChunkCodec} id, chunk size, total
+ * uncompressed length, chunk count, the compressed length of each chunk, then the chunks. Every chunk
+ * but the last holds chunk size bytes when decompressed.
+ * </p>
+ */
+public class ChunkedBinaryExporter extends BinaryExporter {
+
+  public static final int MAGIC = 0x41334443; // "A3DC"
+  public static final int VERSION = 1;
+
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+  protected ChunkCodec _codec = ChunkCodec.LZ4;
+  protected int _chunkSize = DEFAULT_CHUNK_SIZE;
+  protected ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  public ChunkedBinaryExporter() {
+    super();
+  }
+
+  /**
+   * @param codec
+   *          the codec to compress chunks with.
+   */
+  public ChunkedBinaryExporter(final ChunkCodec codec) {
+    super();
+    setCodec(codec);
+  }
+
+  /**
+   * @param codec
+   *          the codec to compress chunks with.
+   * @param compression
+   *          the compression level to use with {@link ChunkCodec#DEFLATE}. One of the constants from
+   *          {@link java.util.zip.Deflater}
+   */
+  public ChunkedBinaryExporter(final ChunkCodec codec, final int compression) {
+    super(compression);
+    setCodec(codec);
+  }
+
+  public ChunkCodec getCodec() { return _codec; }
+
+  public void setCodec(final ChunkCodec codec) {
+    if (codec == null) {
+      throw new IllegalArgumentException("codec may not be null");
+    }
+    _codec = codec;
+  }
+
+  public int getChunkSize() { return _chunkSize; }
+
+  /**
+   * @param chunkSize
+   *          uncompressed size of each chunk in bytes. Smaller chunks spread better over more threads;
+   *          larger chunks compress a little better. Defaults to 1MB.
+   */
+  public void setChunkSize(final int chunkSize) {
+    if (chunkSize < 1024) {
+      throw new IllegalArgumentException("chunkSize must be at least 1024: " + chunkSize);
+    }
+    _chunkSize = chunkSize;
+  }
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool used to compress chunks in parallel. Defaults to the common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  @Override
+  public void save(final Savable object, final OutputStream os) throws IOException {
+    final byte[] content;
+    try {
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      writeContent(object, out);
+      content = out.toByteArray();
+    } finally {
+      reset();
+    }
+
+    final int chunkCount = (content.length + _chunkSize - 1) / _chunkSize;
+    final List<Callable<byte[]>> tasks = new ArrayList<>(chunkCount);
+    for (int i = 0; i < chunkCount; i++) {
+      final int offset = i * _chunkSize;
+      final int length = Math.min(_chunkSize, content.length - offset);
+      tasks.add(() -> _codec.compress(content, offset, length, _compression));
+    }
+    final List<byte[]> chunks = invokeAll(_pool, tasks);
+
+    ByteUtils.writeInt(os, MAGIC);
+    ByteUtils.writeInt(os, VERSION);
+    ByteUtils.writeInt(os, _codec.getId());
+    ByteUtils.writeInt(os, _chunkSize);
+    ByteUtils.writeInt(os, content.length);
+    ByteUtils.writeInt(os, chunkCount);
+    for (final byte[] chunk : chunks) {
+      ByteUtils.writeInt(os, chunk.length);
+    }
+    for (final byte[] chunk : chunks) {
+      os.write(chunk);
+    }
+    os.flush();
+  }
+
+  /**
+   * Run the given tasks on the given pool and wait for all of them.
+   *
+   * @return the results of the tasks, in order.
+   * @throws IOException
+   *           if a task threw one, or was interrupted.
+   */
+  static <T> List<T> invokeAll(final ForkJoinPool pool, final List<? extends Callable<T>> tasks) throws IOException {
+    final List<Future<T>> futures = new ArrayList<>(tasks.size());
+    for (final Callable<T> task : tasks) {
+      futures.add(pool.submit(() -> {
+        try {
+          return task.call();
+        } catch (final IOException e) {
+          // the pool wraps checked exceptions in its own runtime exception
+          throw new UncheckedIOException(e);
+        }
+      }));
+    }
+    final List<T> results = new ArrayList<>(tasks.size());
+    try {
+      for (final Future<T> future : futures) {
+        results.add(future.get());
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted", e);
+    } catch (final ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof UncheckedIOException uioe) {
+        throw uioe.getCause();
+      } else if (cause instanceof RuntimeException re) {
+        throw re;
+      } else if (cause instanceof Error err) {
+        throw err;
+      }
+      throw new IOException(cause);
+    } finally {
+      for (final Future<T> future : futures) {
+        future.cancel(false);
+      }
+    }
+    return results;
+  }
+}
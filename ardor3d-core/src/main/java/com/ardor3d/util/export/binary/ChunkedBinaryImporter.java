@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.annotation.SavableFactory;
+import com.ardor3d.util.export.ByteUtils;
+import com.ardor3d.util.export.ReadListener;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Imports files written by {@link ChunkedBinaryExporter}, using a pool of threads for most of the
+ * work:
+ * <ol>
+ * <li>all chunks are decompressed in parallel.</li>
+ * <li>the fields of every object are decoded into capsules in parallel. This includes copying buffer
+ * contents, which is most of the work for buffer heavy objects such as MeshData buffers and Image.</li>
+ * <li>objects that do not reference other objects (leaves) are created and read in parallel.</li>
+ * <li>the rest of the graph is then read on the calling thread, as {@link BinaryImporter} does,
+ * reusing the decoded capsules and leaf objects.</li>
+ * </ol>
+ * <p>
+ * Parallel leaf reads assume that {@link Savable#read} of an object without references only touches
+ * that object, which is true of the Savables in Ardor3D. Classes created through a
+ * {@link SavableFactory} are always read on the calling thread, as factories may share state. Use
+ * {@link #setParallelLeafReads(boolean)} to turn leaf reads off for Savables that do not allow this.
+ * </p>
+ */
+public class ChunkedBinaryImporter extends BinaryImporter {
+  private static final Logger logger = Logger.getLogger(ChunkedBinaryImporter.class.getName());
+
+  /** Objects are decoded in batches of this many per task. */
+  private static final int OBJECTS_PER_TASK = 64;
+
+  protected ForkJoinPool _pool = ForkJoinPool.commonPool();
+  protected boolean _parallelLeafReads = true;
+
+  /** Capsules decoded ahead of time, keyed on object id. */
+  protected final Map<Integer, BinaryInputCapsule> _preparedCapsules = new ConcurrentHashMap<>();
+
+  public ForkJoinPool getPool() { return _pool; }
+
+  /**
+   * @param pool
+   *          the pool used to decompress and decode in parallel. Defaults to the common pool.
+   */
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  public boolean isParallelLeafReads() { return _parallelLeafReads; }
+
+  /**
+   * @param parallelLeafReads
+   *          true (the default) to create and read objects without references on the pool.
+   */
+  public void setParallelLeafReads(final boolean parallelLeafReads) { _parallelLeafReads = parallelLeafReads; }
+
+  @Override
+  public Savable load(final InputStream is, final ReadListener listener, final ByteArrayOutputStream reuseableStream)
+      throws IOException {
+    try {
+      final byte[] content = readChunks(is, listener);
+
+      final ByteArrayInputStream bis = new ByteArrayInputStream(content);
+      final int id = readHeader(bis, listener);
+
+      // point our locations past the tables rather than copying the data out.
+      final int dataOffset = content.length - bis.available();
+      _locationTable.replaceAll((key, location) -> location + dataOffset);
+      _dataArray = content;
+
+      prepareObjects();
+      final Savable rVal = readObject(id);
+
+      if (logger.isLoggable(Level.FINE)) {
+        logger.fine("Importer Stats: ");
+        logger.fine("Tags: " + _classes.size());
+        logger.fine("Objects: " + _locationTable.size());
+        logger.fine("Data Size: " + (content.length - dataOffset));
+      }
+      return rVal;
+    } finally {
+      reset();
+    }
+  }
+
+  /**
+   * Read the chunk table and chunks from the given stream and decompress them in parallel.
+   *
+   * @return the uncompressed content.
+   * @throws IOException
+   *           if the stream is not a valid chunked file.
+   */
+  protected byte[] readChunks(final InputStream is, final ReadListener listener) throws IOException {
+    final int magic = ByteUtils.readInt(is);
+    if (magic != ChunkedBinaryExporter.MAGIC) {
+      throw new IOException(
+          "Not an ardor3d chunked binary file (bad magic number: " + Integer.toHexString(magic) + ")");
+    }
+    final int version = ByteUtils.readInt(is);
+    if (version != ChunkedBinaryExporter.VERSION) {
+      throw new IOException("Unsupported ardor3d chunked binary version: " + version);
+    }
+    final ChunkCodec codec = ChunkCodec.fromId(ByteUtils.readInt(is));
+    final int chunkSize = ByteUtils.readInt(is);
+    final int contentLength = ByteUtils.readInt(is);
+    final int chunkCount = ByteUtils.readInt(is);
+    if (chunkSize <= 0 || contentLength < 0
+        || chunkCount != (int) ((contentLength + (long) chunkSize - 1) / chunkSize)) {
+      throw new IOException("Invalid chunk table: " + chunkCount + " chunks of " + chunkSize + " for " + contentLength);
+    }
+
+    final int[] compressedOffsets = new int[chunkCount + 1];
+    for (int i = 0; i < chunkCount; i++) {
+      final int length = ByteUtils.readInt(is);
+      if (length < 0 || (long) compressedOffsets[i] + length > Integer.MAX_VALUE) {
+        throw new IOException("Invalid chunk length: " + length);
+      }
+      compressedOffsets[i + 1] = compressedOffsets[i] + length;
+    }
+    final byte[] compressed = is.readNBytes(compressedOffsets[chunkCount]);
+    if (compressed.length != compressedOffsets[chunkCount]) {
+      throw new EOFException("Expected " + compressedOffsets[chunkCount]
+          + " bytes of chunks but reached end of stream after " + compressed.length);
+    }
+    if (listener != null) {
+      listener.readBytes(24 + 4 * chunkCount + compressed.length);
+    }
+
+    final byte[] content = new byte[contentLength];
+    final List<Callable<Void>> tasks = new ArrayList<>(chunkCount);
+    for (int i = 0; i < chunkCount; i++) {
+      final int chunk = i;
+      tasks.add(() -> {
+        final int offset = chunk * chunkSize;
+        codec.decompress(compressed, compressedOffsets[chunk], compressedOffsets[chunk + 1] - compressedOffsets[chunk],
+            content, offset, Math.min(chunkSize, contentLength - offset));
+        return null;
+      });
+    }
+    ChunkedBinaryExporter.invokeAll(_pool, tasks);
+    return content;
+  }
+
+  /**
+   * Decode the fields of every object into capsules in parallel, then create and read the objects
+   * that have no references, if enabled.
+   */
+  protected void prepareObjects() throws IOException {
+    final List<Integer> ids = new ArrayList<>(_locationTable.keySet());
+    final Map<Integer, Savable> leaves = new ConcurrentHashMap<>();
+    final List<Callable<Void>> tasks = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i += OBJECTS_PER_TASK) {
+      final List<Integer> batch = ids.subList(i, Math.min(ids.size(), i + OBJECTS_PER_TASK));
+      tasks.add(() -> {
+        for (final Integer id : batch) {
+          final BinaryClassObject bco = _classes.get(readString(_aliasWidth, _locationTable.get(id)));
+          if (bco == null) {
+            // left for readObject to report
+            continue;
+          }
+          final BinaryInputCapsule capsule = super.getCapsule(id, bco);
+          if (_parallelLeafReads && !capsule.hasReferences()) {
+            try {
+              if (!bco.getClassInfo().isFactoryCreated()) {
+                final Savable leaf = createSavable(bco);
+                leaf.read(capsule);
+                leaves.put(id, leaf);
+                continue;
+              }
+            } catch (final ReflectiveOperationException e) {
+              throw new IOException("Could not create " + bco._className, e);
+            }
+          }
+          _preparedCapsules.put(id, capsule);
+        }
+        return null;
+      });
+    }
+    ChunkedBinaryExporter.invokeAll(_pool, tasks);
+    _contentTable.putAll(leaves);
+  }
+
+  @Override
+  protected BinaryInputCapsule getCapsule(final int id, final BinaryClassObject bco) {
+    final BinaryInputCapsule capsule = _preparedCapsules.remove(id);
+    return capsule != null ? capsule : super.getCapsule(id, bco);
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    _preparedCapsules.clear();
+  }
+}
@@ -0,0 +1,346 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import com.ardor3d.util.export.InputCapsule;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Serves the fields recorded by a {@link CloneOutputCapsule} to the {@link Savable#read} of a clone,
+ * copying each value through the {@link SavableCloner.Session} as it is read. Fields that were not
+ * recorded return the given default.
+ * <p>
+ * The conversions {@link BinaryInputCapsule} allows are kept: Savable arrays and lists may be read as
+ * each other, and enums may be read as their names and back.
+ * </p>
+ */
+final class CloneInputCapsule implements InputCapsule {
+
+  private static final Object ABSENT = new Object();
+
+  private final Map<String, Object> _fields;
+  private final SavableCloner.Session _session;
+
+  CloneInputCapsule(final Map<String, Object> fields, final SavableCloner.Session session) {
+    _fields = fields;
+    _session = session;
+  }
+
+  private Object raw(final String name) {
+    return _fields.getOrDefault(name, ABSENT);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T read(final String name, final T defVal) throws IOException {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : (T) _session.copy(value);
+  }
+
+  // byte primitive
+
+  @Override
+  public byte readByte(final String name, final byte defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : ((Number) value).byteValue();
+  }
+
+  @Override
+  public byte[] readByteArray(final String name, final byte[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public byte[][] readByteArray2D(final String name, final byte[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // int primitive
+
+  @Override
+  public int readInt(final String name, final int defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : ((Number) value).intValue();
+  }
+
+  @Override
+  public int[] readIntArray(final String name, final int[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public int[][] readIntArray2D(final String name, final int[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // float primitive
+
+  @Override
+  public float readFloat(final String name, final float defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : ((Number) value).floatValue();
+  }
+
+  @Override
+  public float[] readFloatArray(final String name, final float[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public float[][] readFloatArray2D(final String name, final float[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // double primitive
+
+  @Override
+  public double readDouble(final String name, final double defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : ((Number) value).doubleValue();
+  }
+
+  @Override
+  public double[] readDoubleArray(final String name, final double[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public double[][] readDoubleArray2D(final String name, final double[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // long primitive
+
+  @Override
+  public long readLong(final String name, final long defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : ((Number) value).longValue();
+  }
+
+  @Override
+  public long[] readLongArray(final String name, final long[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public long[][] readLongArray2D(final String name, final long[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // short primitive
+
+  @Override
+  public short readShort(final String name, final short defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : ((Number) value).shortValue();
+  }
+
+  @Override
+  public short[] readShortArray(final String name, final short[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public short[][] readShortArray2D(final String name, final short[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // boolean primitive
+
+  @Override
+  public boolean readBoolean(final String name, final boolean defVal) {
+    final Object value = raw(name);
+    return value == ABSENT ? defVal : (Boolean) value;
+  }
+
+  @Override
+  public boolean[] readBooleanArray(final String name, final boolean[] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public boolean[][] readBooleanArray2D(final String name, final boolean[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // String
+
+  @Override
+  public String readString(final String name, final String defVal) {
+    final Object value = raw(name);
+    if (value == ABSENT) {
+      return defVal;
+    }
+    return value instanceof Enum<?> e ? e.name() : (String) value;
+  }
+
+  @Override
+  public String[] readStringArray(final String name, final String[] defVal) throws IOException {
+    final Object value = raw(name);
+    if (value instanceof Enum<?>[] enums) {
+      final String[] names = new String[enums.length];
+      for (int i = 0; i < enums.length; i++) {
+        names[i] = enums[i].name();
+      }
+      return names;
+    }
+    return read(name, defVal);
+  }
+
+  @Override
+  public String[][] readStringArray2D(final String name, final String[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // BitSet
+
+  @Override
+  public BitSet readBitSet(final String name, final BitSet defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // BinarySavable
+
+  @Override
+  public <E extends Savable> E readSavable(final String name, final E defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <E extends Savable> E[] readSavableArray(final String name, final E[] defVal) throws IOException {
+    final Object value = raw(name);
+    if (value instanceof List<?> list) {
+      return (E[]) _session.copy(list.toArray(new Savable[list.size()]));
+    }
+    return read(name, defVal);
+  }
+
+  @Override
+  public <E extends Savable> E[][] readSavableArray2D(final String name, final E[][] defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // ArrayLists
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <E extends Savable> List<E> readSavableList(final String name, final List<E> defVal) throws IOException {
+    final Object value = raw(name);
+    if (value instanceof Savable[] array) {
+      return (List<E>) _session.copy(Arrays.asList(array));
+    }
+    return read(name, defVal);
+  }
+
+  @Override
+  public <E extends Savable> List<E>[] readSavableListArray(final String name, final List<E>[] defVal)
+      throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public <E extends Savable> List<E>[][] readSavableListArray2D(final String name, final List<E>[][] defVal)
+      throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public List<FloatBuffer> readFloatBufferList(final String name, final List<FloatBuffer> defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public List<ByteBuffer> readByteBufferList(final String name, final List<ByteBuffer> defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // Maps
+
+  @Override
+  public <K extends Savable, V extends Savable> Map<K, V> readSavableMap(final String name, final Map<K, V> defVal)
+      throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public <V extends Savable> Map<String, V> readStringSavableMap(final String name, final Map<String, V> defVal)
+      throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public Map<String, Object> readStringObjectMap(final String name, final Map<String, Object> defVal)
+      throws IOException {
+    return read(name, defVal);
+  }
+
+  // NIO BUFFERS
+
+  @Override
+  public FloatBuffer readFloatBuffer(final String name, final FloatBuffer defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public IntBuffer readIntBuffer(final String name, final IntBuffer defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public ByteBuffer readByteBuffer(final String name, final ByteBuffer defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  @Override
+  public ShortBuffer readShortBuffer(final String name, final ShortBuffer defVal) throws IOException {
+    return read(name, defVal);
+  }
+
+  // enums
+
+  @Override
+  public <T extends Enum<T>> T readEnum(final String name, final Class<T> enumType, final T defVal) {
+    final Object value = raw(name);
+    if (value == ABSENT) {
+      return defVal;
+    } else if (value instanceof String s) {
+      return Enum.valueOf(enumType, s);
+    }
+    return enumType.cast(value);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends Enum<T>> T[] readEnumArray(final String name, final Class<T> enumType, final T[] defVal) {
+    final Object value = raw(name);
+    if (value == ABSENT || value == null) {
+      return defVal;
+    }
+    final Object[] source = (Object[]) value;
+    final T[] rVal = (T[]) Array.newInstance(enumType, source.length);
+    for (int i = 0; i < source.length; i++) {
+      rVal[i] = source[i] instanceof String s ? Enum.valueOf(enumType, s) : enumType.cast(source[i]);
+    }
+    return rVal;
+  }
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ardor3d.util.export.OutputCapsule;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Records the fields written by {@link Savable#write} as plain object references, keyed on field
+ * name, for {@link SavableCloner}. Nothing is converted or copied here; values are copied as the
+ * clone reads them back through a {@link CloneInputCapsule}.
+ * <p>
+ * As with {@link BinaryOutputCapsule}, a value that is the default value is not recorded, so the
+ * reader gets its own default back.
+ * </p>
+ */
+final class CloneOutputCapsule implements OutputCapsule {
+
+  final Map<String, Object> _fields = new HashMap<>();
+
+  private void put(final Object value, final String name, final Object defVal) {
+    if (value != defVal) {
+      _fields.put(name, value);
+    }
+  }
+
+  // byte primitive
+
+  @Override
+  public void write(final byte value, final String name, final byte defVal) {
+    if (value != defVal) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final byte[] value, final String name, final byte[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final byte[][] value, final String name, final byte[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // int primitive
+
+  @Override
+  public void write(final int value, final String name, final int defVal) {
+    if (value != defVal) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final int[] value, final String name, final int[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final int[][] value, final String name, final int[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // float primitive
+
+  @Override
+  public void write(final float value, final String name, final float defVal) {
+    if (Float.compare(value, defVal) != 0) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final float[] value, final String name, final float[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final float[][] value, final String name, final float[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // double primitive
+
+  @Override
+  public void write(final double value, final String name, final double defVal) {
+    if (Double.compare(value, defVal) != 0) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final double[] value, final String name, final double[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final double[][] value, final String name, final double[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // long primitive
+
+  @Override
+  public void write(final long value, final String name, final long defVal) {
+    if (value != defVal) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final long[] value, final String name, final long[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final long[][] value, final String name, final long[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // short primitive
+
+  @Override
+  public void write(final short value, final String name, final short defVal) {
+    if (value != defVal) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final short[] value, final String name, final short[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final short[][] value, final String name, final short[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // boolean primitive
+
+  @Override
+  public void write(final boolean value, final String name, final boolean defVal) {
+    if (value != defVal) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final boolean[] value, final String name, final boolean[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final boolean[][] value, final String name, final boolean[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // String
+
+  @Override
+  public void write(final String value, final String name, final String defVal) {
+    if (value == null ? defVal != null : !value.equals(defVal)) {
+      _fields.put(name, value);
+    }
+  }
+
+  @Override
+  public void write(final String[] value, final String name, final String[] defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final String[][] value, final String name, final String[][] defVal) {
+    put(value, name, defVal);
+  }
+
+  // BitSet
+
+  @Override
+  public void write(final BitSet value, final String name, final BitSet defVal) {
+    put(value, name, defVal);
+  }
+
+  // BinarySavable
+
+  @Override
+  public void write(final Savable object, final String name, final Savable defVal) {
+    put(object, name, defVal);
+  }
+
+  @Override
+  public void write(final Savable[] objects, final String name, final Savable[] defVal) {
+    put(objects, name, defVal);
+  }
+
+  @Override
+  public void write(final Savable[][] objects, final String name, final Savable[][] defVal) {
+    put(objects, name, defVal);
+  }
+
+  // Lists
+
+  @Override
+  public void writeSavableList(final List<? extends Savable> array, final String name,
+      final List<? extends Savable> defVal) {
+    put(array, name, defVal);
+  }
+
+  @Override
+  public void writeSavableListArray(final List<? extends Savable>[] array, final String name,
+      final List<? extends Savable>[] defVal) {
+    put(array, name, defVal);
+  }
+
+  @Override
+  public void writeSavableListArray2D(final List<? extends Savable>[][] array, final String name,
+      final List<? extends Savable>[][] defVal) {
+    put(array, name, defVal);
+  }
+
+  @Override
+  public void writeFloatBufferList(final List<FloatBuffer> array, final String name, final List<FloatBuffer> defVal) {
+    put(array, name, defVal);
+  }
+
+  @Override
+  public void writeByteBufferList(final List<ByteBuffer> array, final String name, final List<ByteBuffer> defVal) {
+    put(array, name, defVal);
+  }
+
+  // Maps
+
+  @Override
+  public void writeSavableMap(final Map<? extends Savable, ? extends Savable> map, final String name,
+      final Map<? extends Savable, ? extends Savable> defVal) {
+    put(map, name, defVal);
+  }
+
+  @Override
+  public void writeStringSavableMap(final Map<String, ? extends Savable> map, final String name,
+      final Map<String, ? extends Savable> defVal) {
+    put(map, name, defVal);
+  }
+
+  @Override
+  public void writeStringObjectMap(final Map<String, Object> map, final String name,
+      final Map<String, Object> defVal) {
+    put(map, name, defVal);
+  }
+
+  // NIO BUFFERS
+
+  @Override
+  public void write(final FloatBuffer value, final String name, final FloatBuffer defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final IntBuffer value, final String name, final IntBuffer defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final ByteBuffer value, final String name, final ByteBuffer defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final ShortBuffer value, final String name, final ShortBuffer defVal) {
+    put(value, name, defVal);
+  }
+
+  // enums
+
+  @Override
+  public void write(final Enum<?> value, final String name, final Enum<?> defVal) {
+    put(value, name, defVal);
+  }
+
+  @Override
+  public void write(final Enum<?>[] value, final String name) {
+    _fields.put(name, value);
+  }
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.ardor3d.util.export.ByteUtils;
+import com.ardor3d.util.export.ReadListener;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Opens files written by {@link MappedBinaryExporter} or {@link StreamingBinaryExporter} without
+ * creating any objects. {@link #open(File)} reads only the class and location tables and the non
+ * buffer object data, maps the buffer section, and returns a {@link SavableHandle} for the root.
+ * Handles can list an object's fields, references and buffer sizes, and create the object and
+ * anything it references only when asked. Buffer contents are never read until an object holding
+ * them is loaded and the buffer is used, as they are views of the mapped file.
+ * <p>
+ * For example, to show the top level of a scene and load only the part being inspected:
+ * </p>
+ *
+ * <pre>
+ * try (LazyBinaryImporter importer = new LazyBinaryImporter()) {
+ *   final SavableHandle root = importer.open(file);
+ *   for (final SavableHandle child : root.getChildren()) {
+ *     System.out.println(child.getName() + ": " + child.getTotalBufferBytes() + " bytes");
+ *   }
+ *   final Spatial selected = (Spatial) root.getChildren().get(2).load();
+ * }
+ * </pre>
+ * <p>
+ * Objects loaded through different handles of the same open file share the objects they reference,
+ * as they would in a single eager load. The opened file stays open until {@link #close()} is called;
+ * the eager load methods may not be used while a file is open. This class is not thread safe.
+ * </p>
+ */
+public class LazyBinaryImporter extends MappedBinaryImporter implements Closeable {
+
+  protected final Map<Integer, SavableHandle> _handles = new HashMap<>();
+  protected FileChannel _openChannel;
+  protected SavableHandle _root;
+
+  /**
+   * Open the given file, reading its tables but no objects. Any previously opened file is closed.
+   *
+   * @param file
+   *          a version 2 binary file.
+   * @return a handle for the root object.
+   * @throws IOException
+   *           if the file is not a valid version 2 file or can not be read.
+   */
+  public SavableHandle open(final File file) throws IOException {
+    close();
+    final FileChannel channel = openChannel(file);
+    try {
+      _openChannel = channel;
+      _root = getHandle(readTables(channel, null));
+      return _root;
+    } catch (final IOException | RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Open the given file contents, reading their tables but no objects. Any previously opened file is
+   * closed.
+   *
+   * @param data
+   *          the contents of a version 2 binary file.
+   * @return a handle for the root object.
+   * @throws IOException
+   *           if the data is not a valid version 2 file.
+   */
+  public SavableHandle open(final byte[] data) throws IOException {
+    close();
+    try {
+      _root = getHandle(readTables(data, null));
+      return _root;
+    } catch (final IOException | RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  public boolean isOpen() { return _root != null; }
+
+  /**
+   * @return a handle for the root object of the open file.
+   * @throws IllegalStateException
+   *           if no file is open.
+   */
+  public SavableHandle getRoot() {
+    checkOpen();
+    return _root;
+  }
+
+  /**
+   * @return the number of objects in the open file.
+   */
+  public int getObjectCount() {
+    checkOpen();
+    return _locationTable.size();
+  }
+
+  /**
+   * @param id
+   *          the id of an object in the open file.
+   * @return the handle for that object. Handles are created once per id.
+   * @throws IllegalArgumentException
+   *           if there is no object with the given id.
+   */
+  public SavableHandle getHandle(final int id) {
+    SavableHandle handle = _handles.get(id);
+    if (handle == null) {
+      final Integer location = _locationTable.get(id);
+      if (location == null) {
+        throw new IllegalArgumentException("No object with id: " + id);
+      }
+      final String alias = new String(_dataArray, location, _aliasWidth, StandardCharsets.UTF_8);
+      final BinaryClassObject bco = _classes.get(alias);
+      if (bco == null) {
+        throw new IllegalArgumentException("Unknown class alias for object: " + id);
+      }
+      handle = new SavableHandle(this, id, bco);
+      _handles.put(id, handle);
+    }
+    return handle;
+  }
+
+  /**
+   * @return true if the object with the given id has been created.
+   */
+  public boolean isLoaded(final int id) {
+    return _contentTable.get(id) != null;
+  }
+
+  /**
+   * Read the fields of the object with the given id into the given capsule.
+   */
+  protected void setContent(final BinaryInputCapsule capsule, final int id) {
+    final int loc = _locationTable.get(id) + _aliasWidth;
+    final int dataLength = ByteUtils.convertIntFromBytes(_dataArray, loc);
+    capsule.setContent(_dataArray, loc + 4, loc + 4 + dataLength);
+  }
+
+  @Override
+  public Savable load(final File file, final ReadListener listener) throws IOException {
+    checkClosed();
+    return super.load(file, listener);
+  }
+
+  @Override
+  public Savable load(final byte[] data, final ReadListener listener) throws IOException {
+    checkClosed();
+    return super.load(data, listener);
+  }
+
+  /**
+   * Close the open file, if any. Objects already loaded remain valid.
+   */
+  @Override
+  public void close() throws IOException {
+    final FileChannel channel = _openChannel;
+    reset();
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    _handles.clear();
+    _openChannel = null;
+    _root = null;
+  }
+
+  private void checkOpen() {
+    if (_root == null) {
+      throw new IllegalStateException("No file is open.");
+    }
+  }
+
+  private void checkClosed() {
+    if (_root != null) {
+      throw new IllegalStateException("A file is open for lazy loading; close it first.");
+    }
+  }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+
+/**
+ * A small implementation of the LZ4 block format: a greedy single hash table compressor and a bounds
+ * checked decompressor. Blocks are unframed; the caller records their lengths.
+ */
+final class Lz4Block {
+
+  private static final int MIN_MATCH = 4;
+  /** The last match must start at least this many bytes before the end of the block. */
+  private static final int MF_LIMIT = 12;
+  /** The last bytes of a block are always literals. */
+  private static final int LAST_LITERALS = 5;
+  private static final int MAX_OFFSET = 65535;
+  private static final int HASH_LOG = 14;
+  private static final int SKIP_STRENGTH = 6;
+
+  private Lz4Block() {}
+
+  static int maxCompressedLength(final int length) {
+    return length + length / 255 + 16;
+  }
+
+  /**
+   * @return the number of bytes written to dst, which must hold at least
+   *         {@link #maxCompressedLength(int)} bytes from dstOffset.
+   */
+  static int compress(final byte[] src, final int srcOffset, final int length, final byte[] dst,
+      final int dstOffset) {
+    final int end = srcOffset + length;
+    int anchor = srcOffset;
+    int op = dstOffset;
+
+    if (length >= MF_LIMIT + 1) {
+      // positions are stored + 1, so that 0 marks an empty slot.
+      final int[] table = new int[1 << HASH_LOG];
+      final int matchLimit = end - LAST_LITERALS;
+      final int mfLimit = end - MF_LIMIT;
+      int ip = srcOffset;
+      int searches = 1 << SKIP_STRENGTH;
+
+      while (ip < mfLimit) {
+        final int sequence = readInt(src, ip);
+        final int h = hash(sequence);
+        final int ref = table[h] - 1;
+        table[h] = ip + 1;
+        if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+          // step further ahead the longer we go without a match, to get through incompressible data
+          ip += searches++ >>> SKIP_STRENGTH;
+          continue;
+        }
+        searches = 1 << SKIP_STRENGTH;
+
+        int start = ip;
+        int matchStart = ref;
+        while (start > anchor && matchStart > srcOffset && src[start - 1] == src[matchStart - 1]) {
+          start--;
+          matchStart--;
+        }
+        int matchLength = MIN_MATCH + (ip - start);
+        while (start + matchLength < matchLimit && src[start + matchLength] == src[matchStart + matchLength]) {
+          matchLength++;
+        }
+
+        op = writeSequence(src, anchor, start - anchor, start - matchStart, matchLength, dst, op);
+        ip = start + matchLength;
+        anchor = ip;
+        if (ip - 2 > srcOffset && ip < mfLimit) {
+          table[hash(readInt(src, ip - 2))] = ip - 2 + 1;
+        }
+      }
+    }
+
+    // last literals
+    final int literals = end - anchor;
+    op = writeToken(dst, op, literals, 0);
+    System.arraycopy(src, anchor, dst, op, literals);
+    return op + literals - dstOffset;
+  }
+
+  /**
+   * Decompress a block into exactly dstLength bytes of dst.
+   *
+   * @throws IOException
+   *           if the block is corrupt, or decompresses to a different length.
+   */
+  static void decompress(final byte[] src, final int srcOffset, final int srcLength, final byte[] dst,
+      final int dstOffset, final int dstLength) throws IOException {
+    final int end = srcOffset + srcLength;
+    final int outEnd = dstOffset + dstLength;
+    int ip = srcOffset;
+    int op = dstOffset;
+
+    while (ip < end) {
+      final int token = src[ip++] & 0xFF;
+
+      int literals = token >>> 4;
+      if (literals == 15) {
+        int b;
+        do {
+          if (ip >= end) {
+            throw corrupt();
+          }
+          b = src[ip++] & 0xFF;
+          literals += b;
+        } while (b == 255);
+      }
+      if (literals > end - ip || literals > outEnd - op) {
+        throw corrupt();
+      }
+      System.arraycopy(src, ip, dst, op, literals);
+      ip += literals;
+      op += literals;
+      if (ip == end) {
+        // the last sequence has no match
+        break;
+      }
+
+      if (end - ip < 2) {
+        throw corrupt();
+      }
+      final int offset = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+      ip += 2;
+      if (offset == 0 || offset > op - dstOffset) {
+        throw corrupt();
+      }
+
+      int matchLength = token & 0x0F;
+      if (matchLength == 15) {
+        int b;
+        do {
+          if (ip >= end) {
+            throw corrupt();
+          }
+          b = src[ip++] & 0xFF;
+          matchLength += b;
+        } while (b == 255);
+      }
+      matchLength += MIN_MATCH;
+      if (matchLength > outEnd - op) {
+        throw corrupt();
+      }
+
+      final int ref = op - offset;
+      if (offset >= matchLength) {
+        System.arraycopy(dst, ref, dst, op, matchLength);
+      } else {
+        // overlapping copy repeats the last offset bytes
+        for (int i = 0; i < matchLength; i++) {
+          dst[op + i] = dst[ref + i];
+        }
+      }
+      op += matchLength;
+    }
+
+    if (op != outEnd) {
+      throw new IOException("LZ4 block holds " + (op - dstOffset) + " bytes, expected " + dstLength);
+    }
+  }
+
+  private static int writeSequence(final byte[] src, final int literalStart, final int literals, final int offset,
+      final int matchLength, final byte[] dst, int op) {
+    op = writeToken(dst, op, literals, matchLength - MIN_MATCH);
+    System.arraycopy(src, literalStart, dst, op, literals);
+    op += literals;
+    dst[op++] = (byte) offset;
+    dst[op++] = (byte) (offset >>> 8);
+    if (matchLength - MIN_MATCH >= 15) {
+      op = writeLength(dst, op, matchLength - MIN_MATCH - 15);
+    }
+    return op;
+  }
+
+  private static int writeToken(final byte[] dst, int op, final int literals, final int matchCode) {
+    dst[op++] = (byte) (Math.min(literals, 15) << 4 | Math.min(matchCode, 15));
+    if (literals >= 15) {
+      op = writeLength(dst, op, literals - 15);
+    }
+    return op;
+  }
+
+  private static int writeLength(final byte[] dst, int op, int length) {
+    while (length >= 255) {
+      dst[op++] = (byte) 255;
+      length -= 255;
+    }
+    dst[op++] = (byte) length;
+    return op;
+  }
+
+  private static int hash(final int sequence) {
+    return (sequence * -1640531535) >>> (32 - HASH_LOG);
+  }
+
+  private static int readInt(final byte[] b, final int i) {
+    return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | (b[i + 3] & 0xFF) << 24;
+  }
+
+  private static IOException corrupt() {
+    return new IOException("Corrupt LZ4 block");
+  }
+}
@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Exports to version 2 of the ardor3d Binary Format: an uncompressed container whose NIO buffer
+ * contents are stored out of line in an aligned buffer section, so that {@link MappedBinaryImporter}
+ * can memory map the file and hand out buffers that view the mapped region directly instead of
+ * copying them. The file starts with a fixed header:
+ * <p>
+ * 1. "magic" - four bytes - the ASCII characters "A3DB".
+ * </p>
+ * <p>
+ * 2. "version" - four bytes - int value, currently 2.
+ * </p>
+ * <p>
+ * 3. "flags" - four bytes - bit set of FLAG_* values.
+ * </p>
+ * <p>
+ * 4. "alias width" - four bytes - int value representing the width in bytes of every class alias.
+ * </p>
+ * <p>
+ * 5. "table section offset" and "table section length" - eight bytes each - long values locating
+ * the class table, location table and root id, exactly as described in {@link BinaryExporter}
+ * (items 1 through 14).
+ * </p>
+ * <p>
+ * 6. "data section offset" and "data section length" - eight bytes each - long values locating the
+ * object data (items 15 through 18 of {@link BinaryExporter}). Object locations are relative to the
+ * start of this section. Buffer fields in the object data hold their length, directness and offset
+ * into the buffer section (written as a long) instead of their contents.
+ * </p>
+ * <p>
+ * 7. "buffer section offset" and "buffer section length" - eight bytes each - long values locating
+ * the contents of each unique buffer, in little endian byte order. The section and each buffer in it
+ * start at a multiple of {@link #BUFFER_ALIGNMENT} bytes from the start of the file.
+ * </p>
+ * <p>
+ * Offsets are from the start of the file and all header values are big endian, as in version 1. If
+ * {@link #FLAG_HEADER_AT_END} is set, the header values other than magic, version and flags are not
+ * filled in, and a complete copy of the header instead makes up the last {@link #HEADER_SIZE} bytes
+ * of the file.
+ * </p>
+ * <p>
+ * This exporter writes the sections in table, data, buffer order. A buffer instance referenced by
+ * several objects is only stored once. Buffer contents are not copied when the graph is processed -
+ * they are read from the original buffers as the file is written.
+ * </p>
+ *
+ * @see StreamingBinaryExporter
+ */
+public class MappedBinaryExporter extends BinaryExporter {
+  private static final Logger logger = Logger.getLogger(MappedBinaryExporter.class.getName());
+
+  /** "A3DB" */
+  public static final int MAGIC = 0x41334442;
+
+  public static final int VERSION = 2;
+
+  /** The real header is at the end of the file. */
+  public static final int FLAG_HEADER_AT_END = 1;
+
+  /** Size in bytes of the fixed header. */
+  public static final int HEADER_SIZE = 64;
+
+  /** Alignment in bytes of the buffer section and of each buffer within it. */
+  public static final int BUFFER_ALIGNMENT = 64;
+
+  /** Size of the staging buffer used to coalesce small buffers and convert byte order. */
+  protected static final int STAGING_BUFFER_SIZE = 256 * 1024;
+
+  private static final byte[] PADDING = new byte[BUFFER_ALIGNMENT];
+
+  protected final Map<Buffer, BufferEntry> _bufferTable = new IdentityHashMap<>();
+  protected final List<BufferEntry> _bufferEntries = new ArrayList<>();
+  protected long _bufferSectionLength = 0;
+
+  @Override
+  public void save(final Savable object, final OutputStream os) throws IOException {
+    save(object, Channels.newChannel(os));
+  }
+
+  @Override
+  public void save(final Savable object, final File file) throws IOException {
+    final File parentDirectory = file.getParentFile();
+    if (parentDirectory != null && !parentDirectory.exists()) {
+      parentDirectory.mkdirs();
+    }
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      save(object, channel);
+    }
+  }
+
+  /**
+   * Save the given object graph to the given channel.
+   *
+   * @param object
+   *          the root of the graph to write.
+   * @param channel
+   *          the channel to write to. It is not closed by this method.
+   * @throws IOException
+   *           if the channel throws an exception.
+   */
+  public void save(final Savable object, final WritableByteChannel channel) throws IOException {
+    try {
+      // buffers are pulled out of line as the capsules are written, so tables and data stay small.
+      final int id = processBinarySavable(object);
+      final int aliasWidth = getAliasWidth();
+      final ByteArrayOutputStream tables = new ByteArrayOutputStream();
+      writeClassTable(tables, aliasWidth);
+      final ByteArrayOutputStream data = new ByteArrayOutputStream();
+      writeObjectData(data, aliasWidth);
+      writeLocationTable(tables, id);
+
+      final long tablesOffset = HEADER_SIZE;
+      final long dataOffset = tablesOffset + tables.size();
+      final long sectionOffset = align(dataOffset + data.size());
+      writeFully(channel, createHeader(0, aliasWidth, tablesOffset, tables.size(), dataOffset, data.size(),
+          sectionOffset, _bufferSectionLength));
+      writeFully(channel, ByteBuffer.wrap(tables.toByteArray()));
+      writeFully(channel, ByteBuffer.wrap(data.toByteArray()));
+      writePadding(channel, sectionOffset - dataOffset - data.size());
+      writeBufferSection(channel);
+
+      if (logger.isLoggable(Level.FINE)) {
+        logger.fine("tables: " + tables.size() + " bytes");
+        logger.fine("data: " + data.size() + " bytes");
+        logger.fine("buffers: " + _bufferEntries.size() + " (" + _bufferSectionLength + " bytes)");
+      }
+    } finally {
+      reset();
+    }
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    _bufferTable.clear();
+    _bufferEntries.clear();
+    _bufferSectionLength = 0;
+  }
+
+  @Override
+  protected BinaryIdContentPair generateIdContentPair(final BinaryClassObject bco) {
+    return new BinaryIdContentPair(_idCount++, new MappedBinaryOutputCapsule(this, bco));
+  }
+
+  /**
+   * Reserve space in the buffer section for the contents of the given buffer, from 0 to its limit.
+   * The contents are not copied until the buffer section is written.
+   *
+   * @param buffer
+   *          the buffer to store.
+   * @param bytesPerElement
+   *          the size of one element of the buffer.
+   * @return the offset of the buffer contents in the buffer section.
+   */
+  protected long addBuffer(final Buffer buffer, final int bytesPerElement) {
+    final BufferEntry existing = _bufferTable.get(buffer);
+    if (existing != null && existing._buffer.limit() == buffer.limit()) {
+      return existing._offset;
+    }
+
+    final Buffer copy = buffer.duplicate().rewind();
+    final long offset = align(_bufferSectionLength);
+    final BufferEntry entry = new BufferEntry(copy, offset, (long) buffer.limit() * bytesPerElement);
+    _bufferSectionLength = offset + entry._bytes;
+    _bufferEntries.add(entry);
+    _bufferTable.put(buffer, entry);
+    return offset;
+  }
+
+  /**
+   * Write the contents of all reserved buffers, starting at an aligned position. Small buffers and
+   * byte order conversions are coalesced in a staging buffer; large byte buffers are handed to the
+   * channel as is, in a gathering write with whatever is staged.
+   */
+  protected void writeBufferSection(final WritableByteChannel channel) throws IOException {
+    final ByteBuffer staging = ByteBuffer.allocateDirect(STAGING_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    long position = 0;
+    for (final BufferEntry entry : _bufferEntries) {
+      final int padding = (int) (entry._offset - position);
+      if (staging.remaining() < padding) {
+        flush(channel, staging);
+      }
+      staging.put(PADDING, 0, padding);
+
+      final Buffer buffer = entry._buffer;
+      if (buffer instanceof ByteBuffer bytes && bytes.remaining() > staging.remaining()) {
+        staging.flip();
+        writeFully(channel, staging, bytes);
+        staging.clear();
+      } else {
+        while (buffer.hasRemaining()) {
+          if (!stage(buffer, staging)) {
+            flush(channel, staging);
+          }
+        }
+      }
+      position = entry._offset + entry._bytes;
+    }
+    flush(channel, staging);
+  }
+
+  /**
+   * Copy as much of the given buffer as fits into staging, in little endian order.
+   *
+   * @return false if nothing fit.
+   */
+  private static boolean stage(final Buffer buffer, final ByteBuffer staging) throws IOException {
+    final int start = buffer.position();
+    final int count;
+    if (buffer instanceof ByteBuffer bytes) {
+      count = Math.min(bytes.remaining(), staging.remaining());
+      staging.put(staging.position(), bytes, start, count);
+      staging.position(staging.position() + count);
+    } else if (buffer instanceof FloatBuffer floats) {
+      count = Math.min(floats.remaining(), staging.remaining() / 4);
+      staging.asFloatBuffer().put(floats.slice(start, count));
+      staging.position(staging.position() + count * 4);
+    } else if (buffer instanceof IntBuffer ints) {
+      count = Math.min(ints.remaining(), staging.remaining() / 4);
+      staging.asIntBuffer().put(ints.slice(start, count));
+      staging.position(staging.position() + count * 4);
+    } else if (buffer instanceof ShortBuffer shorts) {
+      count = Math.min(shorts.remaining(), staging.remaining() / 2);
+      staging.asShortBuffer().put(shorts.slice(start, count));
+      staging.position(staging.position() + count * 2);
+    } else {
+      throw new IOException("Unhandled buffer type: " + buffer.getClass().getName());
+    }
+    buffer.position(start + count);
+    return count > 0;
+  }
+
+  private static void flush(final WritableByteChannel channel, final ByteBuffer staging) throws IOException {
+    staging.flip();
+    writeFully(channel, staging);
+    staging.clear();
+  }
+
+  /**
+   * @return a header (ready to write) holding the given values.
+   */
+  protected static ByteBuffer createHeader(final int flags, final int aliasWidth, final long tablesOffset,
+      final long tablesLength, final long dataOffset, final long dataLength, final long sectionOffset,
+      final long sectionLength) {
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+    header.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(aliasWidth);
+    header.putLong(tablesOffset).putLong(tablesLength);
+    header.putLong(dataOffset).putLong(dataLength);
+    header.putLong(sectionOffset).putLong(sectionLength);
+    return header.flip();
+  }
+
+  protected static long align(final long value) {
+    return (value + BUFFER_ALIGNMENT - 1) / BUFFER_ALIGNMENT * BUFFER_ALIGNMENT;
+  }
+
+  protected static void writePadding(final WritableByteChannel channel, final long bytes) throws IOException {
+    if (bytes > 0) {
+      writeFully(channel, ByteBuffer.allocate((int) bytes));
+    }
+  }
+
+  /**
+   * Write all remaining content of the given buffers, using gathering writes where the channel
+   * supports them.
+   */
+  protected static void writeFully(final WritableByteChannel channel, final ByteBuffer... buffers)
+      throws IOException {
+    if (channel instanceof GatheringByteChannel gathering && buffers.length > 1) {
+      long remaining = 0;
+      for (final ByteBuffer buffer : buffers) {
+        remaining += buffer.remaining();
+      }
+      while (remaining > 0) {
+        remaining -= gathering.write(buffers);
+      }
+      return;
+    }
+    for (final ByteBuffer buffer : buffers) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  protected static class BufferEntry {
+    final Buffer _buffer;
+    final long _offset;
+    final long _bytes;
+
+    BufferEntry(final Buffer buffer, final long offset, final long bytes) {
+      _buffer = buffer;
+      _offset = offset;
+      _bytes = bytes;
+    }
+  }
+}
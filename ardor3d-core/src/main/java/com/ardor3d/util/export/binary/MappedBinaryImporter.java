@@ -0,0 +1,348 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.FileSystemException;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.util.export.ReadListener;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Imports files written by {@link MappedBinaryExporter} or {@link StreamingBinaryExporter}. When
+ * loading from a file, the buffer section is memory mapped and buffers that were direct when saved
+ * are returned as views of the mapping (on little endian platforms), so their contents are never
+ * copied onto the Java heap and are paged in by the OS as they are used. Only the table and data
+ * sections - class and location tables and the non buffer fields - are read into memory.
+ * <p>
+ * By default the file is mapped {@link MapMode#PRIVATE copy on write}, so the returned buffers may be
+ * modified - for example by skinning or {@link com.ardor3d.scenegraph.MeshData#translatePoints} -
+ * without ever changing the file. Mapping copy on write needs the file to be opened for writing, so
+ * files we may not write to are mapped read only and their buffers copied out instead. Use
+ * {@link #setMapMode(MapMode)} with {@link MapMode#READ_ONLY} to always hand out views of a read only
+ * mapping, never copying, if the loaded buffers will not be modified.
+ * </p>
+ * <p>
+ * Streams, URLs that are not files and byte arrays are read fully into memory, and buffers are
+ * copied out of that as {@link BinaryImporter} does.
+ * </p>
+ */
+public class MappedBinaryImporter extends BinaryImporter {
+  private static final Logger logger = Logger.getLogger(MappedBinaryImporter.class.getName());
+
+  protected MapMode _mapMode = MapMode.PRIVATE;
+
+  /** The mode the file being loaded was actually mapped with. */
+  protected MapMode _fileMapMode;
+
+  /** The header of the file being loaded. */
+  protected Header _header;
+
+  /** The whole buffer section, if it could be mapped or read as one buffer. */
+  protected ByteBuffer _bufferSection;
+
+  /** Used to map individual buffers when the buffer section is too large to map at once. */
+  protected FileChannel _channel;
+  protected long _bufferSectionOffset;
+
+  public MapMode getMapMode() { return _mapMode; }
+
+  /**
+   * @param mapMode
+   *          {@link MapMode#PRIVATE} (the default) for writable buffers, or {@link MapMode#READ_ONLY}
+   *          for read only views of the file.
+   */
+  public void setMapMode(final MapMode mapMode) {
+    if (mapMode != MapMode.READ_ONLY && mapMode != MapMode.PRIVATE) {
+      throw new IllegalArgumentException("Unsupported map mode: " + mapMode);
+    }
+    _mapMode = mapMode;
+  }
+
+  @Override
+  public Savable load(final File file, final ReadListener listener) throws IOException {
+    try (FileChannel channel = openChannel(file)) {
+      return readRoot(readTables(channel, listener));
+    } finally {
+      reset();
+    }
+  }
+
+  /**
+   * Open the given file for our map mode, noting the mode it will actually be mapped with.
+   *
+   * @param file
+   *          the file to open.
+   * @return the opened channel. If we map copy on write but the file may not be written to, it is
+   *         opened read only and buffers are copied out of it.
+   * @throws IOException
+   *           if the file can not be opened.
+   */
+  protected FileChannel openChannel(final File file) throws IOException {
+    if (_mapMode == MapMode.PRIVATE) {
+      try {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        _fileMapMode = MapMode.PRIVATE;
+        return channel;
+      } catch (final FileSystemException | UnsupportedOperationException e) {
+        logger.fine("Mapping read only and copying buffers, as the file can not be written to: " + file);
+      }
+    }
+    final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    _fileMapMode = MapMode.READ_ONLY;
+    return channel;
+  }
+
+  /**
+   * @param contents
+   *          buffer contents from {@link #getBufferContents(long, int)}.
+   * @return true if the contents may be handed out as is rather than copied: if they are direct and
+   *         either writable or we were asked for read only buffers.
+   */
+  protected boolean canView(final ByteBuffer contents) {
+    return contents.isDirect() && (!contents.isReadOnly() || _mapMode == MapMode.READ_ONLY);
+  }
+
+  /**
+   * Read the header, tables and data section of the given file and map its buffer section, without
+   * reading any objects.
+   *
+   * @param channel
+   *          the file to read, from {@link #openChannel(File)}. It must stay open while objects are
+   *          read if the buffer section is too large to map at once.
+   * @param listener
+   *          optional listener to notify of bytes read.
+   * @return the id of the root object.
+   * @throws IOException
+   *           if the file is not a valid version 2 file or can not be read.
+   */
+  protected int readTables(final FileChannel channel, final ReadListener listener) throws IOException {
+    final long size = channel.size();
+    ByteBuffer header = readFully(channel, 0, Math.min(size, MappedBinaryExporter.HEADER_SIZE));
+    if (isHeaderAtEnd(header) && size >= 2 * MappedBinaryExporter.HEADER_SIZE) {
+      header = readFully(channel, size - MappedBinaryExporter.HEADER_SIZE, MappedBinaryExporter.HEADER_SIZE);
+    }
+    final Header h = new Header(header, size);
+
+    final byte[] tables = readFully(channel, h._tablesOffset, h._tablesLength).array();
+    final byte[] data = readFully(channel, h._dataOffset, h._dataLength).array();
+    if (h._sectionLength <= Integer.MAX_VALUE) {
+      _bufferSection = channel.map(_fileMapMode, h._sectionOffset, h._sectionLength).order(ByteOrder.LITTLE_ENDIAN);
+    } else {
+      _channel = channel;
+      _bufferSectionOffset = h._sectionOffset;
+    }
+    return readTables(h, tables, 0, data, 0, listener);
+  }
+
+  @Override
+  public Savable load(final URL url, final ReadListener listener) throws IOException {
+    if ("file".equals(url.getProtocol())) {
+      try {
+        return load(new File(url.toURI()), listener);
+      } catch (final URISyntaxException | IllegalArgumentException e) {
+        // fall through to reading the stream
+      }
+    }
+    return super.load(url, listener);
+  }
+
+  @Override
+  public Savable load(final InputStream is, final ReadListener listener, final ByteArrayOutputStream reuseableStream)
+      throws IOException {
+    return load(is.readAllBytes(), listener);
+  }
+
+  @Override
+  public Savable load(final byte[] data) throws IOException {
+    return load(data, null);
+  }
+
+  public Savable load(final byte[] data, final ReadListener listener) throws IOException {
+    try {
+      return readRoot(readTables(data, listener));
+    } finally {
+      reset();
+    }
+  }
+
+  /**
+   * Read the header and tables of the given file contents, without reading any objects.
+   *
+   * @param data
+   *          the whole file.
+   * @param listener
+   *          optional listener to notify of bytes read.
+   * @return the id of the root object.
+   * @throws IOException
+   *           if the data is not a valid version 2 file.
+   */
+  protected int readTables(final byte[] data, final ReadListener listener) throws IOException {
+    ByteBuffer header = ByteBuffer.wrap(data, 0, Math.min(data.length, MappedBinaryExporter.HEADER_SIZE));
+    if (isHeaderAtEnd(header) && data.length >= 2 * MappedBinaryExporter.HEADER_SIZE) {
+      header = ByteBuffer.wrap(data, data.length - MappedBinaryExporter.HEADER_SIZE, MappedBinaryExporter.HEADER_SIZE);
+    }
+    final Header h = new Header(header, data.length);
+
+    _bufferSection = ByteBuffer.wrap(data).slice((int) h._sectionOffset, (int) h._sectionLength)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    return readTables(h, data, (int) h._tablesOffset, data, (int) h._dataOffset, listener);
+  }
+
+  protected int readTables(final Header header, final byte[] tables, final int tablesOffset, final byte[] data,
+      final int dataOffset, final ReadListener listener) throws IOException {
+    _header = header;
+    final int id = readHeader(new ByteArrayInputStream(tables, tablesOffset, header._tablesLength), listener);
+
+    // point our locations at the data section rather than copying it out.
+    if (dataOffset != 0) {
+      _locationTable.replaceAll((key, location) -> location + dataOffset);
+    }
+    _dataArray = data;
+    if (listener != null) {
+      listener.readBytes(header._dataLength);
+    }
+    return id;
+  }
+
+  protected Savable readRoot(final int id) {
+    final Savable rVal = readObject(id);
+
+    if (logger.isLoggable(Level.FINE)) {
+      logger.fine("Importer Stats: ");
+      logger.fine("Tags: " + _classes.size());
+      logger.fine("Objects: " + _locationTable.size());
+      logger.fine("Data Size: " + _header._dataLength);
+      logger.fine("Buffer Section Size: " + _header._sectionLength);
+    }
+    return rVal;
+  }
+
+  @Override
+  protected int getAliasWidth(final int numClasses) {
+    return _header._aliasWidth;
+  }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    _header = null;
+    _bufferSection = null;
+    _channel = null;
+    _bufferSectionOffset = 0;
+    _fileMapMode = null;
+  }
+
+  @Override
+  protected BinaryInputCapsule createCapsule(final BinaryClassObject bco) {
+    return new MappedBinaryInputCapsule(this, bco);
+  }
+
+  /**
+   * @param offset
+   *          offset of the contents in the buffer section.
+   * @param bytes
+   *          length of the contents in bytes.
+   * @return a little endian view of the given range of the buffer section.
+   * @throws IOException
+   *           if the range is outside of the buffer section or can not be mapped.
+   */
+  protected ByteBuffer getBufferContents(final long offset, final int bytes) throws IOException {
+    if (_bufferSection != null) {
+      if (offset < 0 || offset + bytes > _bufferSection.capacity()) {
+        throw new IOException("Buffer contents out of range: " + offset + " + " + bytes);
+      }
+      return _bufferSection.slice((int) offset, bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    if (_channel != null) {
+      return _channel.map(_fileMapMode, _bufferSectionOffset + offset, bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    throw new IOException("No buffer section available.");
+  }
+
+  private static boolean isHeaderAtEnd(final ByteBuffer header) {
+    return header.remaining() >= 12
+        && (header.order(ByteOrder.BIG_ENDIAN).getInt(header.position() + 8)
+            & MappedBinaryExporter.FLAG_HEADER_AT_END) != 0;
+  }
+
+  /**
+   * The values of a file header, checked against the size of the file.
+   */
+  protected static class Header {
+    final int _aliasWidth;
+    final int _tablesLength, _dataLength;
+    final long _tablesOffset, _dataOffset, _sectionOffset, _sectionLength;
+
+    Header(final ByteBuffer header, final long fileSize) throws IOException {
+      if (header.remaining() < MappedBinaryExporter.HEADER_SIZE) {
+        throw new EOFException("Data is too short to hold a header: " + header.remaining());
+      }
+      header.order(ByteOrder.BIG_ENDIAN);
+      final int magic = header.getInt();
+      if (magic != MappedBinaryExporter.MAGIC) {
+        throw new IOException("Not an ardor3d binary v2 file (bad magic number: " + Integer.toHexString(magic) + ")");
+      }
+      final int version = header.getInt();
+      if (version != MappedBinaryExporter.VERSION) {
+        throw new IOException("Unsupported ardor3d binary version: " + version);
+      }
+      header.getInt(); // flags
+      _aliasWidth = header.getInt();
+      _tablesOffset = header.getLong();
+      _tablesLength = checkSection("table", _tablesOffset, header.getLong(), fileSize, Integer.MAX_VALUE);
+      _dataOffset = header.getLong();
+      _dataLength = checkSection("data", _dataOffset, header.getLong(), fileSize, Integer.MAX_VALUE);
+      _sectionOffset = header.getLong();
+      _sectionLength = checkSection("buffer", _sectionOffset, header.getLong(), fileSize, Long.MAX_VALUE);
+      if (_aliasWidth <= 0 || _aliasWidth > 4) {
+        throw new IOException("Invalid class alias width: " + _aliasWidth);
+      }
+    }
+
+    private static int checkSection(final String name, final long offset, final long length, final long fileSize,
+        final long maxLength) throws IOException {
+      if (offset < 0 || length < 0 || length > maxLength) {
+        throw new IOException("Invalid " + name + " section: " + offset + " + " + length);
+      }
+      if (offset + length > fileSize) {
+        throw new EOFException("The " + name + " section extends past the end of the data.");
+      }
+      return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+  }
+
+  private static ByteBuffer readFully(final FileChannel channel, final long position, final long length)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate((int) length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Expected " + length + " bytes but reached end of file after " + buffer.position());
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+}
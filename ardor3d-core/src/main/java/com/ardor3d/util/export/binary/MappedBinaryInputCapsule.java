@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import com.ardor3d.buffer.BufferUtils;
+
+/**
+ * Input capsule for {@link MappedBinaryImporter}. Buffers written as direct are returned as views of
+ * the importer's buffer section when it is direct (memory mapped), mapped with the importer's map
+ * mode and the platform is little endian; otherwise their contents are copied, as
+ * {@link BinaryInputCapsule} does.
+ */
+public class MappedBinaryInputCapsule extends BinaryInputCapsule {
+
+  public MappedBinaryInputCapsule(final MappedBinaryImporter importer, final BinaryClassObject bco) {
+    super(importer, bco);
+  }
+
+  @Override
+  protected FloatBuffer readFloatBuffer(final byte[] content) throws IOException {
+    final int length = readInt(content);
+    if (length == BinaryOutputCapsule.NULL_OBJECT) {
+      return null;
+    }
+    final boolean direct = readBoolean(content);
+    final ByteBuffer buf = getContents(readLong(content), length * 4);
+
+    if (direct && canView(buf)) {
+      return buf.asFloatBuffer();
+    }
+    final FloatBuffer value = direct ? BufferUtils.createFloatBuffer(length)
+        : BufferUtils.createFloatBufferOnHeap(length);
+    value.put(buf.asFloatBuffer());
+    value.rewind();
+    return value;
+  }
+
+  @Override
+  protected IntBuffer readIntBuffer(final byte[] content) throws IOException {
+    final int length = readInt(content);
+    if (length == BinaryOutputCapsule.NULL_OBJECT) {
+      return null;
+    }
+    final boolean direct = readBoolean(content);
+    final ByteBuffer buf = getContents(readLong(content), length * 4);
+
+    if (direct && canView(buf)) {
+      return buf.asIntBuffer();
+    }
+    final IntBuffer value = direct ? BufferUtils.createIntBuffer(length) : BufferUtils.createIntBufferOnHeap(length);
+    value.put(buf.asIntBuffer());
+    value.rewind();
+    return value;
+  }
+
+  @Override
+  protected ShortBuffer readShortBuffer(final byte[] content) throws IOException {
+    final int length = readInt(content);
+    if (length == BinaryOutputCapsule.NULL_OBJECT) {
+      return null;
+    }
+    final boolean direct = readBoolean(content);
+    final ByteBuffer buf = getContents(readLong(content), length * 2);
+
+    if (direct && canView(buf)) {
+      return buf.asShortBuffer();
+    }
+    final ShortBuffer value = direct ? BufferUtils.createShortBuffer(length)
+        : BufferUtils.createShortBufferOnHeap(length);
+    value.put(buf.asShortBuffer());
+    value.rewind();
+    return value;
+  }
+
+  @Override
+  protected ByteBuffer readByteBuffer(final byte[] content) throws IOException {
+    final int length = readInt(content);
+    if (length == BinaryOutputCapsule.NULL_OBJECT) {
+      return null;
+    }
+    final boolean direct = readBoolean(content);
+    final ByteBuffer buf = getContents(readLong(content), length);
+
+    if (direct && canView(buf)) {
+      return buf;
+    }
+    final ByteBuffer value = direct ? BufferUtils.createByteBuffer(length) : BufferUtils.createByteBufferOnHeap(length);
+    value.put(buf);
+    value.rewind();
+    return value;
+  }
+
+  protected ByteBuffer getContents(final long offset, final int bytes) throws IOException {
+    return ((MappedBinaryImporter) _importer).getBufferContents(offset, bytes);
+  }
+
+  /**
+   * @return true if the given little endian contents can be handed out as is.
+   */
+  protected boolean canView(final ByteBuffer contents) {
+    return ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN && ((MappedBinaryImporter) _importer).canView(contents);
+  }
+}
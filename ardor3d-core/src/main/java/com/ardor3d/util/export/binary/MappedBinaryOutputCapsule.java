@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Output capsule for {@link MappedBinaryExporter}. NIO buffers are written as a reference into the
+ * exporter's buffer section rather than inline.
+ */
+public class MappedBinaryOutputCapsule extends BinaryOutputCapsule {
+
+  public MappedBinaryOutputCapsule(final MappedBinaryExporter exporter, final BinaryClassObject bco) {
+    super(exporter, bco);
+  }
+
+  @Override
+  protected void write(final FloatBuffer source) throws IOException {
+    writeBufferReference(source, 4);
+  }
+
+  @Override
+  protected void write(final IntBuffer source) throws IOException {
+    writeBufferReference(source, 4);
+  }
+
+  @Override
+  protected void write(final ShortBuffer source) throws IOException {
+    writeBufferReference(source, 2);
+  }
+
+  @Override
+  protected void write(final ByteBuffer source) throws IOException {
+    writeBufferReference(source, 1);
+  }
+
+  protected void writeBufferReference(final Buffer source, final int bytesPerElement) throws IOException {
+    if (source == null) {
+      write(NULL_OBJECT);
+      return;
+    }
+
+    // write length
+    write(source.limit());
+
+    // write boolean for directness
+    write(_forceDirectNioBuffers || source.isDirect());
+
+    // write location of the contents in the buffer section
+    write(((MappedBinaryExporter) _exporter).addBuffer(source, bytesPerElement));
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.ardor3d.annotation.SavableFactory;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * How to create instances of a Savable class: its public no argument constructor, or the static
+ * method named by its {@link SavableFactory} annotation. The method handle is resolved once per class
+ * and shared by all importers and threads, so creating an instance is a single method handle call
+ * rather than a reflective call per object. Infos are held by their class, so they do not keep its
+ * class loader alive, and same named classes of different loaders each get their own.
+ */
+public final class SavableClassInfo {
+
+  private static final ClassValue<SavableClassInfo> _cache = new ClassValue<>() {
+    @Override
+    protected SavableClassInfo computeValue(final Class<?> type) {
+      try {
+        return create(type);
+      } catch (final ReflectiveOperationException e) {
+        // not cached: thrown on from forClass
+        throw new ResolveException(e);
+      }
+    }
+  };
+
+  /** Carries a checked resolve failure out of our class value. */
+  private static final class ResolveException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    ResolveException(final ReflectiveOperationException cause) {
+      super(cause);
+    }
+  }
+
+  private static final MethodType CREATOR_TYPE = MethodType.methodType(Savable.class);
+
+  private final Class<? extends Savable> _type;
+  private final MethodHandle _creator;
+  private final boolean _factoryCreated;
+
+  private SavableClassInfo(final Class<? extends Savable> type, final MethodHandle creator,
+      final boolean factoryCreated) {
+    _type = type;
+    _creator = creator;
+    _factoryCreated = factoryCreated;
+  }
+
+  /**
+   * @param className
+   *          the fully qualified name of a Savable class.
+   * @return the info for the given class, resolved on first use.
+   * @throws ClassNotFoundException
+   *           if the class can not be found.
+   * @throws InstantiationException
+   *           if the class is abstract or an interface.
+   * @throws NoSuchMethodException
+   *           if the class has no no argument constructor, or its factory method does not exist.
+   * @throws IllegalAccessException
+   *           if the constructor or factory method is not public.
+   */
+  public static SavableClassInfo forName(final String className) throws ReflectiveOperationException {
+    return forClass(Class.forName(className));
+  }
+
+  /**
+   * @param clazz
+   *          a Savable class.
+   * @return the info for the given class, resolved on first use.
+   * @throws InstantiationException
+   *           if the class is abstract or an interface.
+   * @throws NoSuchMethodException
+   *           if the class has no no argument constructor, or its factory method does not exist.
+   * @throws IllegalAccessException
+   *           if the constructor or factory method is not public.
+   */
+  public static SavableClassInfo forClass(final Class<?> clazz) throws ReflectiveOperationException {
+    try {
+      return _cache.get(clazz);
+    } catch (final ResolveException e) {
+      throw (ReflectiveOperationException) e.getCause();
+    }
+  }
+
+  private static SavableClassInfo create(final Class<?> clazz) throws ReflectiveOperationException {
+    final String className = clazz.getName();
+    if (!Savable.class.isAssignableFrom(clazz)) {
+      throw new ClassCastException(className + " is not a Savable");
+    }
+    @SuppressWarnings("unchecked")
+    final Class<? extends Savable> type = (Class<? extends Savable>) clazz;
+
+    final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    final SavableFactory ann = type.getAnnotation(SavableFactory.class);
+    final MethodHandle creator;
+    if (ann == null) {
+      if (Modifier.isAbstract(type.getModifiers())) {
+        throw new InstantiationException(className);
+      }
+      creator = lookup.unreflectConstructor(type.getDeclaredConstructor());
+    } else {
+      final Method method = type.getMethod(ann.factoryMethod(), (Class<?>[]) null);
+      if (!Modifier.isStatic(method.getModifiers()) || !Savable.class.isAssignableFrom(method.getReturnType())) {
+        throw new NoSuchMethodException(
+            "Factory method " + ann.factoryMethod() + " of " + className + " must be static and return a Savable");
+      }
+      creator = lookup.unreflect(method);
+    }
+    return new SavableClassInfo(type, creator.asType(CREATOR_TYPE), ann != null);
+  }
+
+  public Class<? extends Savable> getType() { return _type; }
+
+  /**
+   * @return true if instances are created by a {@link SavableFactory} method.
+   */
+  public boolean isFactoryCreated() { return _factoryCreated; }
+
+  /**
+   * @return a new instance of our class.
+   * @throws InvocationTargetException
+   *           if the constructor or factory method throws a checked exception.
+   */
+  public Savable newInstance() throws InvocationTargetException {
+    try {
+      return (Savable) _creator.invokeExact();
+    } catch (final RuntimeException | Error e) {
+      throw e;
+    } catch (final Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.util.Ardor3dException;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Deep copies Savable object graphs without serializing them. Each object writes its fields to a
+ * capsule that simply records them, a new instance of its class is created through
+ * {@link SavableClassInfo} and the copy reads the recorded values back, copied as they are read:
+ * arrays, lists, maps and buffers are duplicated, immutable values such as Strings are passed through
+ * and referenced Savables are copied in turn.
+ * <p>
+ * The result is the same graph {@link BinaryExporter} followed by {@link BinaryImporter} would give:
+ * objects referenced more than once are copied once and cycles are preserved, through an identity map
+ * kept for the duration of a single {@link #copy(Savable)} call. There is however no byte conversion,
+ * compression or class lookup per object.
+ * </p>
+ * <p>
+ * Like {@link com.ardor3d.util.geom.SharedCopyLogic} does for meshes, buffers can be shared rather
+ * than copied with {@link #setShareBuffers(boolean)}, which is useful when buffer contents are never
+ * modified after creation.
+ * </p>
+ */
+public class SavableCloner {
+
+  protected boolean _shareBuffers = false;
+
+  public boolean isShareBuffers() { return _shareBuffers; }
+
+  /**
+   * @param shareBuffers
+   *          true if copies should use the same nio buffer instances as the source. Defaults to false,
+   *          where each distinct buffer is copied once.
+   */
+  public void setShareBuffers(final boolean shareBuffers) { _shareBuffers = shareBuffers; }
+
+  /**
+   * @param source
+   *          the Savable to copy.
+   * @return a deep copy of the source.
+   * @throws Ardor3dException
+   *           if an object in the graph can not be copied, for example because its class has no public
+   *           no argument constructor.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Savable> T copy(final T source) {
+    if (source == null) {
+      return null;
+    }
+    try {
+      return (T) new Session(_shareBuffers).copySavable(source);
+    } catch (final IOException ex) {
+      throw new Ardor3dException("Unable to copy " + source.getClassTag().getName(), ex);
+    }
+  }
+
+  /**
+   * The state of a single copy: the copies made so far, keyed on source identity.
+   */
+  static final class Session {
+    private final boolean _shareBuffers;
+    private final Map<Object, Object> _copies = new IdentityHashMap<>();
+
+    Session(final boolean shareBuffers) {
+      _shareBuffers = shareBuffers;
+    }
+
+    Savable copySavable(final Savable source) throws IOException {
+      final Savable existing = (Savable) _copies.get(source);
+      if (existing != null) {
+        return existing;
+      }
+
+      final CloneOutputCapsule out = new CloneOutputCapsule();
+      source.write(out);
+
+      final String className = source.getClassTag().getName();
+      final Savable copy;
+      try {
+        copy = SavableClassInfo.forName(className).newInstance();
+      } catch (final ReflectiveOperationException e) {
+        throw new IOException("Could not create " + className, e);
+      }
+      // register before reading so references back to the source (cycles) resolve to the copy
+      _copies.put(source, copy);
+      copy.read(new CloneInputCapsule(out._fields, this));
+      return copy;
+    }
+
+    /**
+     * @return a copy of the given recorded field value.
+     * @throws IOException
+     *           if the value is not of a type a capsule can hold, or a Savable in it can not be copied.
+     */
+    Object copy(final Object value) throws IOException {
+      if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+          || value instanceof Enum<?>) {
+        return value;
+      } else if (value instanceof Savable savable) {
+        return copySavable(savable);
+      } else if (value instanceof Buffer buffer) {
+        return copyBuffer(buffer);
+      } else if (value instanceof float[] array) {
+        return array.clone();
+      } else if (value instanceof int[] array) {
+        return array.clone();
+      } else if (value instanceof byte[] array) {
+        return array.clone();
+      } else if (value instanceof short[] array) {
+        return array.clone();
+      } else if (value instanceof double[] array) {
+        return array.clone();
+      } else if (value instanceof long[] array) {
+        return array.clone();
+      } else if (value instanceof boolean[] array) {
+        return array.clone();
+      } else if (value instanceof Object[] array) {
+        // keeps the component type: 2D primitive arrays, String[], Savable subclass arrays and List[]
+        final Object[] rVal = array.clone();
+        for (int i = 0; i < rVal.length; i++) {
+          rVal[i] = copy(rVal[i]);
+        }
+        return rVal;
+      } else if (value instanceof List<?> list) {
+        final List<Object> rVal = new ArrayList<>(list.size());
+        for (final Object item : list) {
+          rVal.add(copy(item));
+        }
+        return rVal;
+      } else if (value instanceof Map<?, ?> map) {
+        final Map<Object, Object> rVal = new HashMap<>(map.size());
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+          rVal.put(copy(entry.getKey()), copy(entry.getValue()));
+        }
+        return rVal;
+      } else if (value instanceof BitSet bitSet) {
+        return bitSet.clone();
+      }
+      throw new IOException("Can not copy a value of type " + value.getClass().getName());
+    }
+
+    /**
+     * Copy elements 0 to limit of the given buffer into a new buffer of the same directness,
+     * positioned at 0, as {@link BinaryImporter} would read it back.
+     */
+    private Buffer copyBuffer(final Buffer source) throws IOException {
+      if (_shareBuffers) {
+        return source;
+      }
+      Buffer copy = (Buffer) _copies.get(source);
+      if (copy != null) {
+        return copy;
+      }
+
+      final int length = source.limit();
+      final boolean direct = source.isDirect();
+      if (source instanceof FloatBuffer src) {
+        final FloatBuffer dst =
+            direct ? BufferUtils.createFloatBuffer(length) : BufferUtils.createFloatBufferOnHeap(length);
+        copy = dst.put(0, src, 0, length);
+      } else if (source instanceof IntBuffer src) {
+        final IntBuffer dst = direct ? BufferUtils.createIntBuffer(length) : BufferUtils.createIntBufferOnHeap(length);
+        copy = dst.put(0, src, 0, length);
+      } else if (source instanceof ShortBuffer src) {
+        final ShortBuffer dst =
+            direct ? BufferUtils.createShortBuffer(length) : BufferUtils.createShortBufferOnHeap(length);
+        copy = dst.put(0, src, 0, length);
+      } else if (source instanceof ByteBuffer src) {
+        final ByteBuffer dst =
+            direct ? BufferUtils.createByteBuffer(length) : BufferUtils.createByteBufferOnHeap(length);
+        copy = dst.order(src.order()).put(0, src, 0, length);
+      } else {
+        throw new IOException("Can not copy a buffer of type " + source.getClass().getName());
+      }
+      _copies.put(source, copy);
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.ardor3d.util.Ardor3dException;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * A deferred reference to an object in a file opened with {@link LazyBinaryImporter}. A handle can
+ * describe its object - class, simple fields, references to other objects and buffer sizes - without
+ * creating it or anything it references. {@link #load()} creates the object and everything it
+ * references on demand.
+ */
+public class SavableHandle {
+
+  /**
+   * Describes a buffer field of an object without reading the buffer.
+   *
+   * @param field
+   *          the name of the field, or null for buffers in lists and maps.
+   * @param elements
+   *          the number of elements (the limit of the buffer when it was saved).
+   * @param bytesPerElement
+   *          size of each element in bytes.
+   * @param direct
+   *          whether the buffer was direct when saved.
+   * @param offset
+   *          offset of the contents in the file's buffer section.
+   */
+  public record BufferInfo(String field, int elements, int bytesPerElement, boolean direct, long offset) {
+    public long getBytes() { return (long) elements * bytesPerElement; }
+  }
+
+  protected final LazyBinaryImporter _importer;
+  protected final int _id;
+  protected final BinaryClassObject _cObj;
+
+  /** Fields of our object, read on first use. Keyed on field name, in field alias order. */
+  protected Map<String, Object> _fields;
+
+  protected SavableHandle(final LazyBinaryImporter importer, final int id, final BinaryClassObject bco) {
+    _importer = importer;
+    _id = id;
+    _cObj = bco;
+  }
+
+  public int getId() { return _id; }
+
+  public String getClassName() { return _cObj._className; }
+
+  /**
+   * @param type
+   *          a class or interface.
+   * @return true if our object's class is assignable to the given type. Our class is loaded, but not
+   *         initialized.
+   */
+  public boolean isInstanceOf(final Class<?> type) {
+    try {
+      return type.isAssignableFrom(Class.forName(_cObj._className, false, type.getClassLoader()));
+    } catch (final ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the names of the fields written for our object, in file order.
+   */
+  public Set<String> getFieldNames() { return Collections.unmodifiableSet(getFields().keySet()); }
+
+  /**
+   * @return the value of the given field if it holds a String, int, float, etc. or an array of those;
+   *         otherwise null.
+   */
+  public Object getValue(final String field) {
+    final Object value = getFields().get(field);
+    return isResolved(value) ? value : null;
+  }
+
+  public String getString(final String field) {
+    return getValue(field) instanceof String s ? s : null;
+  }
+
+  /**
+   * @return the name of our object if it is a Spatial, or anything else with a "name" string field.
+   */
+  public String getName() { return getString("name"); }
+
+  /**
+   * @return handles for the objects referenced by the given field, in order, skipping null entries.
+   */
+  public List<SavableHandle> getReferences(final String field) {
+    final Set<Integer> ids = new LinkedHashSet<>();
+    BinaryInputCapsule.collectIds(getFields().get(field), ids);
+    return toHandles(ids);
+  }
+
+  /**
+   * @return handles for all objects referenced directly by our object.
+   */
+  public List<SavableHandle> getReferences() {
+    final Set<Integer> ids = new LinkedHashSet<>();
+    for (final Object value : getFields().values()) {
+      BinaryInputCapsule.collectIds(value, ids);
+    }
+    return toHandles(ids);
+  }
+
+  /**
+   * @return the children of our object if it is a Node; otherwise an empty list.
+   */
+  public List<SavableHandle> getChildren() { return getReferences("children"); }
+
+  /**
+   * @return the buffers held directly by our object.
+   */
+  public List<BufferInfo> getBuffers() {
+    final List<BufferInfo> rVal = new ArrayList<>();
+    for (final Map.Entry<String, Object> entry : getFields().entrySet()) {
+      collectBuffers(entry.getKey(), entry.getValue(), rVal);
+    }
+    return rVal;
+  }
+
+  /**
+   * @return the total size in bytes of the buffers held by our object and everything it references.
+   *         Buffers shared by several objects are only counted once.
+   */
+  public long getTotalBufferBytes() {
+    final Set<Integer> visited = new HashSet<>();
+    final Set<Long> offsets = new HashSet<>();
+    final List<SavableHandle> stack = new ArrayList<>();
+    stack.add(this);
+    visited.add(_id);
+    long total = 0;
+    while (!stack.isEmpty()) {
+      final SavableHandle handle = stack.remove(stack.size() - 1);
+      for (final BufferInfo buffer : handle.getBuffers()) {
+        if (offsets.add(buffer.offset())) {
+          total += buffer.getBytes();
+        }
+      }
+      for (final SavableHandle ref : handle.getReferences()) {
+        if (visited.add(ref._id)) {
+          stack.add(ref);
+        }
+      }
+    }
+    return total;
+  }
+
+  /**
+   * @return the contents of the given buffer as a little endian view, without loading any object.
+   * @throws IOException
+   *           if the contents can not be read.
+   */
+  public ByteBuffer getBufferContents(final BufferInfo buffer) throws IOException {
+    return _importer.getBufferContents(buffer.offset(), (int) buffer.getBytes());
+  }
+
+  /**
+   * @return true if our object has already been created, by {@link #load()} or by loading an object
+   *         that references it.
+   */
+  public boolean isLoaded() { return _importer.isLoaded(_id); }
+
+  /**
+   * Create our object, and everything it references that has not been created yet. Objects are only
+   * created once, so loading a parent after its children reuses the children.
+   *
+   * @return our object.
+   * @throws Ardor3dException
+   *           if the object can not be created.
+   */
+  public Savable load() {
+    return _importer.readObject(_id);
+  }
+
+  protected Map<String, Object> getFields() {
+    if (_fields == null) {
+      final HandleCapsule capsule = new HandleCapsule(_importer, _cObj);
+      _importer.setContent(capsule, _id);
+      final Map<String, Object> fields = new LinkedHashMap<>();
+      for (final BinaryClassField field : _cObj._fieldsByAlias) {
+        if (capsule.hasField(field)) {
+          fields.put(field._name, capsule.getFieldValue(field));
+        }
+      }
+      _fields = fields;
+    }
+    return _fields;
+  }
+
+  private List<SavableHandle> toHandles(final Set<Integer> ids) {
+    final List<SavableHandle> rVal = new ArrayList<>(ids.size());
+    for (final Integer id : ids) {
+      rVal.add(_importer.getHandle(id));
+    }
+    return rVal;
+  }
+
+  private static boolean isResolved(final Object value) {
+    if (value instanceof Object[] array) {
+      for (final Object element : array) {
+        if (!isResolved(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return !(value instanceof List || value instanceof BinaryInputCapsule.ID
+        || value instanceof BinaryInputCapsule.StringIDMap || value instanceof BinaryInputCapsule.StringObjectMap
+        || value instanceof BufferInfo);
+  }
+
+  private static void collectBuffers(final String field, final Object value, final List<BufferInfo> store) {
+    if (value instanceof BufferInfo info) {
+      store.add(field != null ? new BufferInfo(field, info.elements(), info.bytesPerElement(), info.direct(),
+          info.offset()) : info);
+    } else if (value instanceof List<?> list) {
+      for (final Object element : list) {
+        collectBuffers(null, element, store);
+      }
+    } else if (value instanceof BinaryInputCapsule.StringObjectMap map) {
+      for (final Object element : map.values) {
+        collectBuffers(null, element, store);
+      }
+    }
+  }
+
+  /**
+   * Reads an object's fields, leaving references as ids and buffers as {@link BufferInfo}s.
+   */
+  static class HandleCapsule extends MappedBinaryInputCapsule {
+
+    HandleCapsule(final MappedBinaryImporter importer, final BinaryClassObject bco) {
+      super(importer, bco);
+    }
+
+    @Override
+    protected boolean readContentOfType(final byte[] content, final byte type,
+        final AtomicReference<Object> reference) throws IOException {
+      switch (type) {
+        case BinaryClassField.FLOATBUFFER, BinaryClassField.INTBUFFER -> reference.set(readBufferInfo(content, 4));
+        case BinaryClassField.SHORTBUFFER -> reference.set(readBufferInfo(content, 2));
+        case BinaryClassField.BYTEBUFFER -> reference.set(readBufferInfo(content, 1));
+        case BinaryClassField.FLOATBUFFER_ARRAYLIST -> reference.set(readBufferInfoList(content, 4));
+        case BinaryClassField.BYTEBUFFER_ARRAYLIST -> reference.set(readBufferInfoList(content, 1));
+        default -> {
+          return super.readContentOfType(content, type, reference);
+        }
+      }
+      return true;
+    }
+
+    protected BufferInfo readBufferInfo(final byte[] content, final int bytesPerElement) throws IOException {
+      final int length = readInt(content);
+      if (length == BinaryOutputCapsule.NULL_OBJECT) {
+        return null;
+      }
+      final boolean direct = readBoolean(content);
+      return new BufferInfo(null, length, bytesPerElement, direct, readLong(content));
+    }
+
+    protected List<BufferInfo> readBufferInfoList(final byte[] content, final int bytesPerElement)
+        throws IOException {
+      final int length = readInt(content);
+      if (length == BinaryOutputCapsule.NULL_OBJECT) {
+        return null;
+      }
+      final List<BufferInfo> rVal = new ArrayList<>(length);
+      for (int x = 0; x < length; x++) {
+        rVal.add(readBufferInfo(content, bytesPerElement));
+      }
+      return rVal;
+    }
+  }
+
+  @Override
+  public String toString() {
+    final String name = getName();
+    return getClassName() + (name != null ? " [" + name + "]" : "") + " #" + _id;
+  }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Writes the same version 2 format as {@link MappedBinaryExporter}, in a single pass. Each object is
+ * written to the channel as soon as its capsule is complete, and its capsule is then released, so
+ * only the capsules of the objects currently being written are held in memory. Buffer contents are
+ * written after the object data, and the class and location tables last.
+ * <p>
+ * If the channel is a {@link SeekableByteChannel} (such as a FileChannel), the header at its start is
+ * patched once everything is written. Otherwise the header is flagged with
+ * {@link MappedBinaryExporter#FLAG_HEADER_AT_END} and the real header is appended to the end of the
+ * output.
+ * </p>
+ * <p>
+ * Unlike the other exporters, objects with identical content are not merged, as that would require
+ * keeping every capsule. Identical references are still written once.
+ * </p>
+ */
+public class StreamingBinaryExporter extends MappedBinaryExporter {
+  private static final Logger logger = Logger.getLogger(StreamingBinaryExporter.class.getName());
+
+  /**
+   * Width in bytes of every class alias. This has to be fixed up front since objects are written
+   * before all classes are known; it allows for 65535 classes.
+   */
+  public static final int ALIAS_WIDTH = 2;
+
+  protected WritableByteChannel _channel;
+  protected long _dataLength = 0;
+
+  @Override
+  public void save(final Savable object, final WritableByteChannel channel) throws IOException {
+    try {
+      _channel = channel;
+      final SeekableByteChannel seekable = channel instanceof SeekableByteChannel s ? s : null;
+      final long start = seekable != null ? seekable.position() : 0;
+      final int flags = seekable != null ? 0 : FLAG_HEADER_AT_END;
+      writeFully(channel, createHeader(flags, 0, 0, 0, 0, 0, 0, 0));
+
+      // objects are written to the channel as they are finished
+      final int id = processBinarySavable(object);
+
+      final long dataOffset = HEADER_SIZE;
+      final long sectionOffset = align(dataOffset + _dataLength);
+      writePadding(channel, sectionOffset - dataOffset - _dataLength);
+      writeBufferSection(channel);
+
+      final long tablesOffset = sectionOffset + _bufferSectionLength;
+      final ByteArrayOutputStream tables = new ByteArrayOutputStream();
+      writeClassTable(tables, ALIAS_WIDTH);
+      writeLocationTable(tables, id);
+      writeFully(channel, ByteBuffer.wrap(tables.toByteArray()));
+
+      final ByteBuffer header = createHeader(flags, ALIAS_WIDTH, tablesOffset, tables.size(), dataOffset, _dataLength,
+          sectionOffset, _bufferSectionLength);
+      if (seekable != null) {
+        final long end = seekable.position();
+        seekable.position(start);
+        writeFully(channel, header);
+        seekable.position(end);
+      } else {
+        writeFully(channel, header);
+      }
+
+      if (logger.isLoggable(Level.FINE)) {
+        logger.fine("objects: " + _locationTable.size());
+        logger.fine("data: " + _dataLength + " bytes");
+        logger.fine("buffers: " + _bufferEntries.size() + " (" + _bufferSectionLength + " bytes)");
+        logger.fine("tables: " + tables.size() + " bytes");
+      }
+    } finally {
+      reset();
+    }
+  }
+
+  @Override
+  protected void contentFinished(final Savable object, final BinaryIdContentPair pair) throws IOException {
+    final byte[] alias = fixClassAlias(_classes.get(object.getClassTag().getName())._alias, ALIAS_WIDTH);
+    if (alias.length != ALIAS_WIDTH) {
+      throw new IOException("Too many classes to stream: " + _classes.size());
+    }
+    final byte[] content = pair.getContent()._bytes;
+    final long length = ALIAS_WIDTH + 4 + content.length;
+    if (_dataLength + length > Integer.MAX_VALUE) {
+      throw new IOException("Object data is too large for the location table: " + (_dataLength + length));
+    }
+
+    final ByteBuffer record = ByteBuffer.allocate(ALIAS_WIDTH + 4);
+    record.put(alias).putInt(content.length).flip();
+    writeFully(_channel, record, ByteBuffer.wrap(content));
+    _locationTable.put(pair.getId(), (int) _dataLength);
+    _dataLength += length;
+
+    // only the id is needed from here on
+    pair.setContent(null);
+  }
+
+  @Override
+  protected int getAliasWidth() { return ALIAS_WIDTH; }
+
+  @Override
+  protected void reset() {
+    super.reset();
+    _channel = null;
+    _dataLength = 0;
+  }
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.xml;
+
+import java.io.IOException;
+
+/**
+ * Reads whitespace separated numbers from a String in place, without splitting it into token
+ * Strings.
+ * <p>
+ * Decimal values with up to 18 significant digits and a small decimal exponent, which covers what
+ * Float.toString and Double.toString write for most values, are converted with a single correctly
+ * rounded multiply or divide of two exactly representable doubles. Anything else, such as NaN,
+ * Infinity or very large exponents, falls back to Float.parseFloat/Double.parseDouble on that token.
+ * </p>
+ */
+final class NumberTokenizer {
+
+  private static final double[] POWERS_OF_TEN = new double[23];
+  static {
+    POWERS_OF_TEN[0] = 1.0;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+    }
+  }
+
+  /** Largest mantissa whose conversion to double is exact. */
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+  private final String _text;
+  private int _position;
+
+  private int _tokenStart;
+  private int _tokenEnd;
+
+  NumberTokenizer(final String text) {
+    _text = text == null ? "" : text;
+  }
+
+  /**
+   * @return true if there is another token.
+   */
+  boolean hasNext() {
+    skipWhitespace();
+    return _position < _text.length();
+  }
+
+  private void skipWhitespace() {
+    final int length = _text.length();
+    while (_position < length && Character.isWhitespace(_text.charAt(_position))) {
+      _position++;
+    }
+  }
+
+  private void nextToken() throws IOException {
+    skipWhitespace();
+    final int length = _text.length();
+    if (_position >= length) {
+      throw new IOException("Expected more values in: " + abbreviate());
+    }
+    _tokenStart = _position;
+    while (_position < length && !Character.isWhitespace(_text.charAt(_position))) {
+      _position++;
+    }
+    _tokenEnd = _position;
+  }
+
+  private String token() {
+    return _text.substring(_tokenStart, _tokenEnd);
+  }
+
+  private String abbreviate() {
+    return _text.length() > 64 ? _text.substring(0, 64) + "..." : _text;
+  }
+
+  long nextLong() throws IOException {
+    nextToken();
+    int i = _tokenStart;
+    final boolean negative = _text.charAt(i) == '-';
+    if (negative || _text.charAt(i) == '+') {
+      i++;
+    }
+    // 18 digits can not overflow a long
+    if (i == _tokenEnd || _tokenEnd - i > 18) {
+      try {
+        return Long.parseLong(token());
+      } catch (final NumberFormatException e) {
+        throw new IOException("Not an integer: " + token(), e);
+      }
+    }
+    long value = 0;
+    for (; i < _tokenEnd; i++) {
+      final int digit = _text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IOException("Not an integer: " + token());
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  int nextInt() throws IOException {
+    final long value = nextLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw new IOException("Value out of range for int: " + token());
+    }
+    return (int) value;
+  }
+
+  short nextShort() throws IOException {
+    final long value = nextLong();
+    if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+      throw new IOException("Value out of range for short: " + token());
+    }
+    return (short) value;
+  }
+
+  byte nextByte() throws IOException {
+    final long value = nextLong();
+    if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+      throw new IOException("Value out of range for byte: " + token());
+    }
+    return (byte) value;
+  }
+
+  boolean nextBoolean() throws IOException {
+    nextToken();
+    return _text.regionMatches(true, _tokenStart, "true", 0, 4) && _tokenEnd - _tokenStart == 4;
+  }
+
+  double nextDouble() throws IOException {
+    nextToken();
+    final double value = parseFast();
+    return Double.isNaN(value) ? parseDoubleToken() : value;
+  }
+
+  float nextFloat() throws IOException {
+    nextToken();
+    final double value = parseFast();
+    if (Double.isNaN(value)) {
+      return parseFloatToken();
+    }
+    final float rVal = (float) value;
+    // value is the correctly rounded double of the token, so rounding it again to float gives the
+    // correctly rounded float, unless it landed exactly halfway between two floats.
+    if (rVal != value && !Float.isInfinite(rVal)) {
+      final float other = value > rVal ? Math.nextUp(rVal) : Math.nextDown(rVal);
+      if (((double) rVal + (double) other) / 2.0 == value) {
+        return parseFloatToken();
+      }
+    }
+    return rVal;
+  }
+
+  private double parseDoubleToken() throws IOException {
+    try {
+      return Double.parseDouble(token());
+    } catch (final NumberFormatException e) {
+      throw new IOException("Not a number: " + token(), e);
+    }
+  }
+
+  private float parseFloatToken() throws IOException {
+    try {
+      return Float.parseFloat(token());
+    } catch (final NumberFormatException e) {
+      throw new IOException("Not a number: " + token(), e);
+    }
+  }
+
+  /**
+   * @return the current token as a correctly rounded double, or NaN if it is not in the simple form
+   *         this method handles.
+   */
+  private double parseFast() {
+    int i = _tokenStart;
+    final boolean negative = _text.charAt(i) == '-';
+    if (negative || _text.charAt(i) == '+') {
+      i++;
+    }
+
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean anyDigits = false;
+    boolean point = false;
+    for (; i < _tokenEnd; i++) {
+      final char c = _text.charAt(i);
+      if (c >= '0' && c <= '9') {
+        anyDigits = true;
+        if (mantissa == 0 && c == '0') {
+          // leading zeros are not significant
+          if (point) {
+            exponent--;
+          }
+          continue;
+        }
+        if (++digits > 18) {
+          return Double.NaN;
+        }
+        mantissa = mantissa * 10 + (c - '0');
+        if (point) {
+          exponent--;
+        }
+      } else if (c == '.' && !point) {
+        point = true;
+      } else if ((c == 'e' || c == 'E') && anyDigits) {
+        i++;
+        final boolean negativeExponent = i < _tokenEnd && _text.charAt(i) == '-';
+        if (i < _tokenEnd && (negativeExponent || _text.charAt(i) == '+')) {
+          i++;
+        }
+        if (i == _tokenEnd || _tokenEnd - i > 4) {
+          return Double.NaN;
+        }
+        int value = 0;
+        for (; i < _tokenEnd; i++) {
+          final int digit = _text.charAt(i) - '0';
+          if (digit < 0 || digit > 9) {
+            return Double.NaN;
+          }
+          value = value * 10 + digit;
+        }
+        exponent += negativeExponent ? -value : value;
+        break;
+      } else {
+        return Double.NaN;
+      }
+    }
+
+    if (!anyDigits) {
+      return Double.NaN;
+    }
+    if (mantissa == 0) {
+      return negative ? -0.0 : 0.0;
+    }
+    if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+      return Double.NaN;
+    }
+    final double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+    return negative ? -value : value;
+  }
+}
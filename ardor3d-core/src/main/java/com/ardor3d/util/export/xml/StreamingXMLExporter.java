@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.xml;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.ardor3d.util.export.Ardor3dExporter;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Writes the same documents as {@link XMLExporter} through a {@link StreamingXMLOutputCapsule}, without
+ * holding a DOM of the whole document in memory.
+ */
+public class StreamingXMLExporter implements Ardor3dExporter {
+
+  public StreamingXMLExporter() {}
+
+  @Override
+  public void save(final Savable object, final OutputStream os) throws IOException {
+    final Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+    writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+    new StreamingXMLOutputCapsule(writer).write(object, object.getClass().getName(), null);
+    writer.flush();
+  }
+
+  @Override
+  public void save(final Savable object, final File f) throws IOException {
+    try (OutputStream os = new FileOutputStream(f)) {
+      save(object, os);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.xml;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ardor3d.util.export.Ardor3dImporter;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Reads documents written by {@link XMLExporter} or {@link StreamingXMLExporter} with a StAX parser and
+ * a {@link StreamingXMLInputCapsule}, instead of parsing the whole document into a DOM first.
+ */
+public class StreamingXMLImporter implements Ardor3dImporter {
+
+  private final XMLInputFactory _factory;
+
+  public StreamingXMLImporter() {
+    _factory = XMLInputFactory.newInstance();
+    _factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    _factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+    _factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+  }
+
+  @Override
+  public Savable load(final InputStream is) throws IOException {
+    XMLStreamReader reader = null;
+    try {
+      reader = _factory.createXMLStreamReader(is);
+      return new StreamingXMLInputCapsule(reader).readSavable(null, null);
+    } catch (final XMLStreamException e) {
+      throw new IOException(e);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (final XMLStreamException e) {
+          // ignore, the reader does not own the stream
+        }
+      }
+    }
+  }
+
+  @Override
+  public Savable load(final URL url) throws IOException {
+    try (InputStream is = new BufferedInputStream(url.openStream())) {
+      return load(is);
+    }
+  }
+
+  @Override
+  public Savable load(final File f) throws IOException {
+    try (InputStream is = new BufferedInputStream(new FileInputStream(f))) {
+      return load(is);
+    }
+  }
+
+  @Override
+  public Savable load(final byte[] data) throws IOException {
+    return load(new ByteArrayInputStream(data));
+  }
+}
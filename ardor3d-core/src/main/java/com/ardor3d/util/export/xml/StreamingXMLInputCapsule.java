@@ -0,0 +1,980 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.xml;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.util.export.InputCapsule;
+import com.ardor3d.util.export.Savable;
+import com.ardor3d.util.export.binary.BinaryClassField;
+import com.ardor3d.util.export.binary.SavableClassInfo;
+
+/**
+ * Reads the format written by {@link DOMOutputCapsule} and {@link StreamingXMLOutputCapsule} from a
+ * StAX stream, without building a DOM of the document.
+ * <p>
+ * Each Savable is created and read as soon as its element is reached, so references (ref /
+ * reference_ID) are resolved in the same pass. A Savable normally reads its fields in the order it
+ * wrote them; when it asks for a field further ahead, the elements in between are read ahead and kept
+ * until asked for, with any Savables in them already created. At any point, only the elements
+ * read ahead inside the Savables currently being read are held in memory. Numeric arrays and buffers
+ * are parsed straight from their data attribute into arrays and nio buffers.
+ * </p>
+ * <p>
+ * Fields are read once: asking for the same field twice gives the default value the second time.
+ * </p>
+ */
+public class StreamingXMLInputCapsule implements InputCapsule {
+  private static final Logger logger = Logger.getLogger(StreamingXMLInputCapsule.class.getName());
+
+  private final XMLStreamReader _reader;
+  private final Map<String, Savable> _referencedSavables = new HashMap<>();
+
+  /** Where fields are currently read from, or null before the root element is read. */
+  private Scope _scope;
+
+  public StreamingXMLInputCapsule(final XMLStreamReader reader) {
+    _reader = reader;
+  }
+
+  /**
+   * An element and its attributes. Elements of Savables are read as soon as they are reached, so they
+   * keep the resulting Savable rather than their children.
+   */
+  static final class XmlElement {
+    final String _name;
+    final Map<String, String> _attributes;
+    final List<XmlElement> _children = new ArrayList<>();
+    boolean _isSavable;
+    Savable _savable;
+
+    XmlElement(final String name, final Map<String, String> attributes) {
+      _name = name;
+      _attributes = attributes;
+    }
+
+    int size(final String attribute) throws IOException {
+      final String value = _attributes.get(attribute);
+      if (value == null) {
+        throw new IOException("Element " + _name + " is missing its " + attribute + " attribute");
+      }
+      return new NumberTokenizer(value).nextInt();
+    }
+
+    NumberTokenizer data() {
+      return new NumberTokenizer(_attributes.get("data"));
+    }
+
+    Savable savable() throws IOException {
+      if (!_isSavable) {
+        throw new IOException("Element " + _name + " is not a Savable");
+      }
+      return _savable;
+    }
+
+    XmlElement child(final String name) {
+      for (final XmlElement child : _children) {
+        if (name == null || child._name.equals(name)) {
+          return child;
+        }
+      }
+      return null;
+    }
+  }
+
+  /** Attributes and child elements of the element fields are read from. */
+  private interface Scope {
+    String attribute(String name);
+
+    /**
+     * @return the child element with the given name, or the next child element if name is null.
+     */
+    XmlElement child(String name) throws IOException;
+  }
+
+  /** A Savable element being read from the stream. */
+  private final class StreamScope implements Scope {
+    private final Map<String, String> _attributes;
+    private final List<XmlElement> _readAhead = new ArrayList<>();
+    private boolean _ended;
+
+    StreamScope(final Map<String, String> attributes) {
+      _attributes = attributes;
+    }
+
+    @Override
+    public String attribute(final String name) {
+      return _attributes.get(name);
+    }
+
+    @Override
+    public XmlElement child(final String name) throws IOException {
+      for (final Iterator<XmlElement> it = _readAhead.iterator(); it.hasNext();) {
+        final XmlElement element = it.next();
+        if (name == null || element._name.equals(name)) {
+          it.remove();
+          return element;
+        }
+      }
+      XmlElement element;
+      while ((element = nextChild()) != null) {
+        if (name == null || element._name.equals(name)) {
+          return element;
+        }
+        _readAhead.add(element);
+      }
+      return null;
+    }
+
+    private XmlElement nextChild() throws IOException {
+      while (!_ended) {
+        final int event = next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          return readElement();
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          _ended = true;
+        }
+      }
+      return null;
+    }
+
+    /** Skip past the rest of our element, still creating any Savables so later references resolve. */
+    void finish() throws IOException {
+      while (nextChild() != null) {
+        // discard
+      }
+      _readAhead.clear();
+    }
+  }
+
+  /** An element that was read ahead. */
+  private static final class ElementScope implements Scope {
+    private final XmlElement _element;
+
+    ElementScope(final XmlElement element) {
+      _element = element;
+    }
+
+    @Override
+    public String attribute(final String name) {
+      return _element._attributes.get(name);
+    }
+
+    @Override
+    public XmlElement child(final String name) {
+      return _element.child(name);
+    }
+  }
+
+  private int next() throws IOException {
+    try {
+      return _reader.next();
+    } catch (final XMLStreamException e) {
+      throw new IOException(e);
+    }
+  }
+
+  private Map<String, String> readAttributes() {
+    final int count = _reader.getAttributeCount();
+    final Map<String, String> attributes = new HashMap<>(Math.max(4, count * 2));
+    for (int i = 0; i < count; i++) {
+      attributes.put(_reader.getAttributeLocalName(i), _reader.getAttributeValue(i));
+    }
+    return attributes;
+  }
+
+  private static boolean isSavableElement(final String name, final Map<String, String> attributes) {
+    // Savable elements carry their class, a reference, or are named after their class in lists.
+    return attributes.containsKey("class") || attributes.containsKey("ref") || "null".equals(name)
+        || name.indexOf('.') >= 0;
+  }
+
+  /**
+   * Read the element the stream is at the start of, up to and including its end.
+   */
+  private XmlElement readElement() throws IOException {
+    final String name = _reader.getLocalName();
+    final XmlElement element = new XmlElement(name, readAttributes());
+    if (isSavableElement(name, element._attributes)) {
+      element._isSavable = true;
+      element._savable = readSavableElement(element);
+      return element;
+    }
+    while (true) {
+      final int event = next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        element._children.add(readElement());
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        return element;
+      }
+    }
+  }
+
+  private void skipElement() throws IOException {
+    int depth = 1;
+    while (depth > 0) {
+      final int event = next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private Savable readSavableElement(final XmlElement element) throws IOException {
+    if ("null".equals(element._name)) {
+      skipElement();
+      return null;
+    }
+
+    final String reference = element._attributes.get("ref");
+    if (reference != null && !reference.isEmpty()) {
+      skipElement();
+      final Savable savable = _referencedSavables.get(reference);
+      if (savable == null) {
+        throw new IOException("Reference to unknown object: " + reference);
+      }
+      return savable;
+    }
+
+    final String className = element._attributes.getOrDefault("class", element._name);
+    final Savable savable;
+    try {
+      savable = SavableClassInfo.forName(className).newInstance();
+    } catch (final ClassNotFoundException e) {
+      logger.log(Level.SEVERE, "Could not find class " + className + ", skipping it.", e);
+      skipElement();
+      return null;
+    } catch (final ReflectiveOperationException e) {
+      throw new IOException("Could not create " + className
+          + ". Some types may require the annotation SavableFactory. Please double check.", e);
+    }
+
+    final String referenceId = element._attributes.get("reference_ID");
+    if (referenceId != null && !referenceId.isEmpty()) {
+      _referencedSavables.put(referenceId, savable);
+    }
+
+    final Scope outer = _scope;
+    final StreamScope scope = new StreamScope(element._attributes);
+    _scope = scope;
+    try {
+      savable.read(this);
+      scope.finish();
+    } finally {
+      _scope = outer;
+    }
+    return savable;
+  }
+
+  private Savable readRoot() throws IOException {
+    try {
+      while (_reader.hasNext()) {
+        if (_reader.next() == XMLStreamConstants.START_ELEMENT) {
+          final XmlElement root = new XmlElement(_reader.getLocalName(), readAttributes());
+          return readSavableElement(root);
+        }
+      }
+    } catch (final XMLStreamException e) {
+      throw new IOException(e);
+    }
+    throw new IOException("Document has no root element");
+  }
+
+  private String attribute(final String name) {
+    final String value = _scope.attribute(name);
+    return value == null || value.isEmpty() ? null : value;
+  }
+
+  private static String decodeString(final String s) {
+    if (s == null || s.indexOf('&') < 0) {
+      return s;
+    }
+    return s.replace("&quot;", "\"").replace("&lt;", "<").replace("&amp;", "&");
+  }
+
+  /** Child elements named prefix + index, by index. */
+  private static XmlElement[] indexed(final XmlElement element, final String prefix, final int size)
+      throws IOException {
+    final XmlElement[] rVal = new XmlElement[size];
+    for (final XmlElement child : element._children) {
+      if (child._name.startsWith(prefix)) {
+        final int index = new NumberTokenizer(child._name.substring(prefix.length())).nextInt();
+        if (index < 0 || index >= size) {
+          throw new IOException(element._name + " contains more elements than specified!");
+        }
+        rVal[index] = child;
+      }
+    }
+    return rVal;
+  }
+
+  // byte primitive
+
+  @Override
+  public byte readByte(final String name, final byte defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : new NumberTokenizer(value).nextByte();
+  }
+
+  private static byte[] bytes(final XmlElement element) throws IOException {
+    final byte[] rVal = new byte[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextByte();
+    }
+    return rVal;
+  }
+
+  @Override
+  public byte[] readByteArray(final String name, final byte[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : bytes(element);
+  }
+
+  @Override
+  public byte[][] readByteArray2D(final String name, final byte[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final byte[][] rVal = new byte[element.size("size_outer")][element.size("size_inner")];
+    final NumberTokenizer data = element.data();
+    for (final byte[] inner : rVal) {
+      for (int i = 0; i < inner.length; i++) {
+        inner[i] = data.nextByte();
+      }
+    }
+    return rVal;
+  }
+
+  // int primitive
+
+  @Override
+  public int readInt(final String name, final int defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : new NumberTokenizer(value).nextInt();
+  }
+
+  private static int[] ints(final XmlElement element) throws IOException {
+    final int[] rVal = new int[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextInt();
+    }
+    return rVal;
+  }
+
+  @Override
+  public int[] readIntArray(final String name, final int[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : ints(element);
+  }
+
+  @Override
+  public int[][] readIntArray2D(final String name, final int[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "array_", element.size("size"));
+    final int[][] rVal = new int[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : ints(arrays[i]);
+    }
+    return rVal;
+  }
+
+  // float primitive
+
+  @Override
+  public float readFloat(final String name, final float defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : new NumberTokenizer(value).nextFloat();
+  }
+
+  private static float[] floats(final XmlElement element) throws IOException {
+    final float[] rVal = new float[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextFloat();
+    }
+    return rVal;
+  }
+
+  @Override
+  public float[] readFloatArray(final String name, final float[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : floats(element);
+  }
+
+  @Override
+  public float[][] readFloatArray2D(final String name, final float[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final float[][] rVal = new float[element.size("size_outer")][element.size("size_inner")];
+    final NumberTokenizer data = element.data();
+    for (final float[] inner : rVal) {
+      for (int i = 0; i < inner.length; i++) {
+        inner[i] = data.nextFloat();
+      }
+    }
+    return rVal;
+  }
+
+  // double primitive
+
+  @Override
+  public double readDouble(final String name, final double defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : new NumberTokenizer(value).nextDouble();
+  }
+
+  private static double[] doubles(final XmlElement element) throws IOException {
+    final double[] rVal = new double[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextDouble();
+    }
+    return rVal;
+  }
+
+  @Override
+  public double[] readDoubleArray(final String name, final double[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : doubles(element);
+  }
+
+  @Override
+  public double[][] readDoubleArray2D(final String name, final double[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "array_", element.size("size"));
+    final double[][] rVal = new double[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : doubles(arrays[i]);
+    }
+    return rVal;
+  }
+
+  // long primitive
+
+  @Override
+  public long readLong(final String name, final long defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : new NumberTokenizer(value).nextLong();
+  }
+
+  private static long[] longs(final XmlElement element) throws IOException {
+    final long[] rVal = new long[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextLong();
+    }
+    return rVal;
+  }
+
+  @Override
+  public long[] readLongArray(final String name, final long[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : longs(element);
+  }
+
+  @Override
+  public long[][] readLongArray2D(final String name, final long[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "array_", element.size("size"));
+    final long[][] rVal = new long[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : longs(arrays[i]);
+    }
+    return rVal;
+  }
+
+  // short primitive
+
+  @Override
+  public short readShort(final String name, final short defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : new NumberTokenizer(value).nextShort();
+  }
+
+  private static short[] shorts(final XmlElement element) throws IOException {
+    final short[] rVal = new short[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextShort();
+    }
+    return rVal;
+  }
+
+  @Override
+  public short[] readShortArray(final String name, final short[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : shorts(element);
+  }
+
+  @Override
+  public short[][] readShortArray2D(final String name, final short[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "array_", element.size("size"));
+    final short[][] rVal = new short[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : shorts(arrays[i]);
+    }
+    return rVal;
+  }
+
+  // boolean primitive
+
+  @Override
+  public boolean readBoolean(final String name, final boolean defVal) throws IOException {
+    final String value = attribute(name);
+    return value == null ? defVal : Boolean.parseBoolean(value);
+  }
+
+  private static boolean[] booleans(final XmlElement element) throws IOException {
+    final boolean[] rVal = new boolean[element.size("size")];
+    final NumberTokenizer data = element.data();
+    for (int i = 0; i < rVal.length; i++) {
+      rVal[i] = data.nextBoolean();
+    }
+    return rVal;
+  }
+
+  @Override
+  public boolean[] readBooleanArray(final String name, final boolean[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : booleans(element);
+  }
+
+  @Override
+  public boolean[][] readBooleanArray2D(final String name, final boolean[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "array_", element.size("size"));
+    final boolean[][] rVal = new boolean[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : booleans(arrays[i]);
+    }
+    return rVal;
+  }
+
+  // String
+
+  @Override
+  public String readString(final String name, final String defVal) throws IOException {
+    final String value = _scope.attribute(name);
+    return value == null ? defVal : decodeString(value);
+  }
+
+  private static String[] strings(final XmlElement element) throws IOException {
+    final XmlElement[] values = indexed(element, "String_", element.size("size"));
+    final String[] rVal = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      rVal[i] = values[i] == null ? null : decodeString(values[i]._attributes.get("value"));
+    }
+    return rVal;
+  }
+
+  @Override
+  public String[] readStringArray(final String name, final String[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : strings(element);
+  }
+
+  @Override
+  public String[][] readStringArray2D(final String name, final String[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "array_", element.size("size"));
+    final String[][] rVal = new String[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : strings(arrays[i]);
+    }
+    return rVal;
+  }
+
+  // BitSet
+
+  @Override
+  public BitSet readBitSet(final String name, final BitSet defVal) throws IOException {
+    final String value = _scope.attribute(name);
+    if (value == null) {
+      return defVal;
+    }
+    final BitSet rVal = new BitSet();
+    final NumberTokenizer bits = new NumberTokenizer(value);
+    while (bits.hasNext()) {
+      rVal.set(bits.nextInt());
+    }
+    return rVal;
+  }
+
+  // BinarySavable
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <E extends Savable> E readSavable(final String name, final E defVal) throws IOException {
+    if (_scope == null) {
+      return (E) readRoot();
+    }
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : (E) element.savable();
+  }
+
+  private static Savable[] savables(final XmlElement element, final int size) throws IOException {
+    final Savable[] rVal = new Savable[size];
+    int count = 0;
+    for (final XmlElement child : element._children) {
+      if (count == size) {
+        throw new IOException(element._name + " contains more elements than specified!");
+      }
+      rVal[count++] = child.savable();
+    }
+    // the renderStateList of a DOMOutputCapsule leaves out null entries
+    return count < size ? Arrays.copyOf(rVal, count) : rVal;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <E extends Savable> E[] readSavableArray(final String name, final E[] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : (E[]) savables(element, element.size("size"));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <E extends Savable> E[][] readSavableArray2D(final String name, final E[][] defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final int outer = element.size("size_outer");
+    final int inner = element.size("size_inner");
+    final Savable[] all = savables(element, outer * inner);
+    if (all.length != outer * inner) {
+      throw new IOException(element._name + " contains fewer elements than specified!");
+    }
+    final Savable[][] rVal = new Savable[outer][];
+    for (int i = 0; i < outer; i++) {
+      rVal[i] = Arrays.copyOfRange(all, i * inner, (i + 1) * inner);
+    }
+    return (E[][]) rVal;
+  }
+
+  // ArrayLists
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Savable> List<E> savableList(final XmlElement element) throws IOException {
+    final List<E> rVal = new ArrayList<>(element._children.size());
+    for (final XmlElement child : element._children) {
+      rVal.add((E) child.savable());
+    }
+    return rVal;
+  }
+
+  private static <E extends Savable> List<E>[] savableListArray(final XmlElement element) throws IOException {
+    final XmlElement[] lists = indexed(element, "SavableArrayList_", element.size("size"));
+    @SuppressWarnings("unchecked")
+    final List<E>[] rVal = (List<E>[]) new List<?>[lists.length];
+    for (int i = 0; i < lists.length; i++) {
+      rVal[i] = lists[i] == null ? null : savableList(lists[i]);
+    }
+    return rVal;
+  }
+
+  @Override
+  public <E extends Savable> List<E> readSavableList(final String name, final List<E> defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : savableList(element);
+  }
+
+  @Override
+  public <E extends Savable> List<E>[] readSavableListArray(final String name, final List<E>[] defVal)
+      throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : savableListArray(element);
+  }
+
+  @Override
+  public <E extends Savable> List<E>[][] readSavableListArray2D(final String name, final List<E>[][] defVal)
+      throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final XmlElement[] arrays = indexed(element, "SavableArrayListArray_", element.size("size"));
+    @SuppressWarnings("unchecked")
+    final List<E>[][] rVal = (List<E>[][]) new List<?>[arrays.length][];
+    for (int i = 0; i < arrays.length; i++) {
+      rVal[i] = arrays[i] == null ? null : savableListArray(arrays[i]);
+    }
+    return rVal;
+  }
+
+  @Override
+  public List<FloatBuffer> readFloatBufferList(final String name, final List<FloatBuffer> defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final List<FloatBuffer> rVal = new ArrayList<>(element._children.size());
+    for (final XmlElement child : element._children) {
+      rVal.add(floatBuffer(child));
+    }
+    return rVal;
+  }
+
+  @Override
+  public List<ByteBuffer> readByteBufferList(final String name, final List<ByteBuffer> defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final List<ByteBuffer> rVal = new ArrayList<>(element._children.size());
+    for (final XmlElement child : element._children) {
+      rVal.add(byteBuffer(child));
+    }
+    return rVal;
+  }
+
+  // Maps
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K extends Savable, V extends Savable> Map<K, V> readSavableMap(final String name, final Map<K, V> defVal)
+      throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final Map<K, V> rVal = new HashMap<>();
+    for (final XmlElement entry : element._children) {
+      if (XMLExporter.ELEMENT_MAPENTRY.equals(entry._name)) {
+        final XmlElement key = entry.child(XMLExporter.ELEMENT_KEY);
+        final XmlElement value = entry.child(XMLExporter.ELEMENT_VALUE);
+        rVal.put(key == null ? null : (K) key.savable(), value == null ? null : (V) value.savable());
+      }
+    }
+    return rVal;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <V extends Savable> Map<String, V> readStringSavableMap(final String name, final Map<String, V> defVal)
+      throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final Map<String, V> rVal = new HashMap<>();
+    for (final XmlElement entry : element._children) {
+      if (XMLExporter.ELEMENT_MAPENTRY.equals(entry._name)) {
+        final XmlElement value = entry.child("Savable");
+        rVal.put(entry._attributes.get("key"), value == null ? null : (V) value.savable());
+      }
+    }
+    return rVal;
+  }
+
+  @Override
+  public Map<String, Object> readStringObjectMap(final String name, final Map<String, Object> defVal)
+      throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final Map<String, Object> rVal = new HashMap<>();
+    final Scope outer = _scope;
+    try {
+      for (final XmlElement entry : element._children) {
+        if (XMLExporter.ELEMENT_MAPENTRY.equals(entry._name)) {
+          _scope = new ElementScope(entry);
+          rVal.put(entry._attributes.get("key"), readValue());
+        }
+      }
+    } finally {
+      _scope = outer;
+    }
+    return rVal;
+  }
+
+  private Object readValue() throws IOException {
+    final byte type = readByte("type", (byte) -1);
+    return switch (type) {
+      case BinaryClassField.BITSET -> readBitSet("value", null);
+      case BinaryClassField.BOOLEAN -> readBoolean("value", false);
+      case BinaryClassField.BOOLEAN_1D -> readBooleanArray("value", null);
+      case BinaryClassField.BOOLEAN_2D -> readBooleanArray2D("value", null);
+      case BinaryClassField.BYTE -> readByte("value", (byte) 0);
+      case BinaryClassField.BYTE_1D -> readByteArray("value", null);
+      case BinaryClassField.BYTE_2D -> readByteArray2D("value", null);
+      case BinaryClassField.BYTEBUFFER -> readByteBuffer("value", null);
+      case BinaryClassField.DOUBLE -> readDouble("value", 0.0);
+      case BinaryClassField.DOUBLE_1D -> readDoubleArray("value", null);
+      case BinaryClassField.DOUBLE_2D -> readDoubleArray2D("value", null);
+      case BinaryClassField.FLOAT -> readFloat("value", 0f);
+      case BinaryClassField.FLOAT_1D -> readFloatArray("value", null);
+      case BinaryClassField.FLOAT_2D -> readFloatArray2D("value", null);
+      case BinaryClassField.FLOATBUFFER -> readFloatBuffer("value", null);
+      case BinaryClassField.FLOATBUFFER_ARRAYLIST -> readFloatBufferList("value", null);
+      case BinaryClassField.BYTEBUFFER_ARRAYLIST -> readByteBufferList("value", null);
+      case BinaryClassField.INT -> readInt("value", 0);
+      case BinaryClassField.INT_1D -> readIntArray("value", null);
+      case BinaryClassField.INT_2D -> readIntArray2D("value", null);
+      case BinaryClassField.INTBUFFER -> readIntBuffer("value", null);
+      case BinaryClassField.LONG -> readLong("value", 0L);
+      case BinaryClassField.LONG_1D -> readLongArray("value", null);
+      case BinaryClassField.LONG_2D -> readLongArray2D("value", null);
+      case BinaryClassField.SAVABLE -> readSavable("value", null);
+      case BinaryClassField.SAVABLE_1D, BinaryClassField.SAVABLE_ARRAYLIST_1D -> readSavableArray("value", null);
+      case BinaryClassField.SAVABLE_2D, BinaryClassField.SAVABLE_ARRAYLIST_2D -> readSavableArray2D("value", null);
+      case BinaryClassField.SAVABLE_ARRAYLIST -> readSavableList("value", null);
+      case BinaryClassField.SAVABLE_MAP -> readSavableMap("value", null);
+      case BinaryClassField.STRING_SAVABLE_MAP -> readStringSavableMap("value", null);
+      case BinaryClassField.STRING_OBJECT_MAP -> readStringObjectMap("value", null);
+      case BinaryClassField.SHORT -> readShort("value", (short) 0);
+      case BinaryClassField.SHORT_1D -> readShortArray("value", null);
+      case BinaryClassField.SHORT_2D -> readShortArray2D("value", null);
+      case BinaryClassField.SHORTBUFFER -> readShortBuffer("value", null);
+      case BinaryClassField.STRING -> readString("value", null);
+      case BinaryClassField.STRING_1D -> readStringArray("value", null);
+      case BinaryClassField.STRING_2D -> readStringArray2D("value", null);
+      default -> null;
+    };
+  }
+
+  // NIO BUFFERS
+
+  private static FloatBuffer floatBuffer(final XmlElement element) throws IOException {
+    final FloatBuffer rVal = BufferUtils.createFloatBuffer(element.size("size"));
+    final NumberTokenizer data = element.data();
+    for (int i = 0, size = rVal.limit(); i < size; i++) {
+      rVal.put(i, data.nextFloat());
+    }
+    return rVal;
+  }
+
+  private static ByteBuffer byteBuffer(final XmlElement element) throws IOException {
+    final ByteBuffer rVal = BufferUtils.createByteBuffer(element.size("size"));
+    final NumberTokenizer data = element.data();
+    for (int i = 0, size = rVal.limit(); i < size; i++) {
+      rVal.put(i, data.nextByte());
+    }
+    return rVal;
+  }
+
+  @Override
+  public FloatBuffer readFloatBuffer(final String name, final FloatBuffer defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : floatBuffer(element);
+  }
+
+  @Override
+  public IntBuffer readIntBuffer(final String name, final IntBuffer defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final IntBuffer rVal = BufferUtils.createIntBuffer(element.size("size"));
+    final NumberTokenizer data = element.data();
+    for (int i = 0, size = rVal.limit(); i < size; i++) {
+      rVal.put(i, data.nextInt());
+    }
+    return rVal;
+  }
+
+  @Override
+  public ByteBuffer readByteBuffer(final String name, final ByteBuffer defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    return element == null ? defVal : byteBuffer(element);
+  }
+
+  @Override
+  public ShortBuffer readShortBuffer(final String name, final ShortBuffer defVal) throws IOException {
+    final XmlElement element = _scope.child(name);
+    if (element == null) {
+      return defVal;
+    }
+    final ShortBuffer rVal = BufferUtils.createShortBuffer(element.size("size"));
+    final NumberTokenizer data = element.data();
+    for (int i = 0, size = rVal.limit(); i < size; i++) {
+      rVal.put(i, data.nextShort());
+    }
+    return rVal;
+  }
+
+  // enums
+
+  @Override
+  public <T extends Enum<T>> T readEnum(final String name, final Class<T> enumType, final T defVal) throws IOException {
+    final String value = attribute(name);
+    try {
+      return value == null ? defVal : Enum.valueOf(enumType, value);
+    } catch (final IllegalArgumentException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends Enum<T>> T[] readEnumArray(final String name, final Class<T> enumType, final T[] defVal)
+      throws IOException {
+    final String[] names = readStringArray(name, null);
+    if (names == null) {
+      return defVal;
+    }
+    final T[] rVal = (T[]) Array.newInstance(enumType, names.length);
+    try {
+      for (int i = 0; i < names.length; i++) {
+        rVal[i] = Enum.valueOf(enumType, names[i]);
+      }
+    } catch (final IllegalArgumentException e) {
+      throw new IOException(e);
+    }
+    return rVal;
+  }
+}
@@ -0,0 +1,1006 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ardor3d.util.export.OutputCapsule;
+import com.ardor3d.util.export.Savable;
+import com.ardor3d.util.export.binary.BinaryClassField;
+
+/**
+ * Writes the same XML as {@link DOMOutputCapsule} straight to a Writer, without building a DOM of the
+ * document first.
+ * <p>
+ * XML needs all attributes of an element before its children, while a Savable mixes the two as it
+ * writes its fields. Each Savable's attributes are therefore collected while it writes, and its child
+ * elements are written right after its write method returns, from the values it passed in. Arrays,
+ * buffers and other Savables given to this capsule must so not be changed until the export is done.
+ * Numbers are formatted straight into the output buffer rather than into intermediate Strings.
+ * </p>
+ * <p>
+ * The first element of an object referenced more than once has to carry its reference_ID before
+ * anything refers to it. The graph is therefore walked once without output to count references before
+ * the document is written.
+ * </p>
+ */
+public class StreamingXMLOutputCapsule implements OutputCapsule {
+
+  private static final int FLUSH_SIZE = 8192;
+
+  private final Writer _writer;
+  private final StringBuilder _text = new StringBuilder(FLUSH_SIZE + 512);
+  private char[] _chars = new char[FLUSH_SIZE + 512];
+
+  private final Map<Savable, Integer> _useCounts = new IdentityHashMap<>();
+  private final Map<Savable, String> _referenceIds = new IdentityHashMap<>();
+
+  /** True while references are counted and nothing is output. */
+  private boolean _counting;
+  private boolean _inDocument;
+  private int _depth;
+  private int _nextId;
+
+  /** The element attributes and child elements are currently added to. */
+  private Scope _scope;
+
+  public StreamingXMLOutputCapsule(final Writer writer) {
+    _writer = writer;
+  }
+
+  /** Something that adds to the element being written. */
+  private interface Content {
+    void write() throws IOException;
+  }
+
+  private static final class Scope {
+    /** Attribute values, as a String to escape or as Content that formats numbers. */
+    final Map<String, Object> _attributes = new LinkedHashMap<>();
+    final List<Content> _children = new ArrayList<>();
+  }
+
+  private void attribute(final String name, final String value) {
+    if (!_counting) {
+      _scope._attributes.put(name, value);
+    }
+  }
+
+  private void data(final String name, final Content data) {
+    if (!_counting) {
+      _scope._attributes.put(name, data);
+    }
+  }
+
+  private void child(final Content content) {
+    _scope._children.add(content);
+  }
+
+  /**
+   * Write an element: fill adds its attributes and children, which are written after it returns.
+   */
+  private void element(final String name, final Content fill) throws IOException {
+    final Scope outer = _scope;
+    final Scope scope = new Scope();
+    _scope = scope;
+    try {
+      fill.write();
+    } finally {
+      _scope = outer;
+    }
+
+    if (!_counting) {
+      indent();
+      _text.append('<').append(name);
+      for (final Map.Entry<String, Object> attribute : scope._attributes.entrySet()) {
+        _text.append(' ').append(attribute.getKey()).append("=\"");
+        if (attribute.getValue() instanceof Content data) {
+          data.write();
+        } else {
+          escape((String) attribute.getValue());
+        }
+        _text.append('"');
+      }
+      _text.append(scope._children.isEmpty() ? "/>\n" : ">\n");
+      checkFlush();
+    }
+    if (!scope._children.isEmpty()) {
+      _depth++;
+      for (final Content child : scope._children) {
+        child.write();
+      }
+      _depth--;
+      if (!_counting) {
+        indent();
+        _text.append("</").append(name).append(">\n");
+      }
+    }
+  }
+
+  private void indent() {
+    for (int i = 0; i < _depth; i++) {
+      _text.append("  ");
+    }
+  }
+
+  private void checkFlush() throws IOException {
+    if (_text.length() >= FLUSH_SIZE) {
+      flushText();
+    }
+  }
+
+  private void flushText() throws IOException {
+    final int length = _text.length();
+    if (_chars.length < length) {
+      _chars = new char[length];
+    }
+    _text.getChars(0, length, _chars, 0);
+    _writer.write(_chars, 0, length);
+    _text.setLength(0);
+  }
+
+  private void escape(final String s) {
+    for (int i = 0, length = s.length(); i < length; i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+        case '&' -> _text.append("&amp;");
+        case '<' -> _text.append("&lt;");
+        case '>' -> _text.append("&gt;");
+        case '"' -> _text.append("&quot;");
+        case '\n' -> _text.append("&#10;");
+        case '\r' -> _text.append("&#13;");
+        case '\t' -> _text.append("&#9;");
+        default -> _text.append(c);
+      }
+    }
+  }
+
+  private static String encodeString(final String s) {
+    if (s == null) {
+      return null;
+    }
+    return s.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;");
+  }
+
+  /**
+   * @return true if the given name can be used as an element name.
+   */
+  static boolean isXmlName(final String name) {
+    if (name == null || name.isEmpty()) {
+      return false;
+    }
+    final char first = name.charAt(0);
+    if (!Character.isLetter(first) && first != '_' && first != ':') {
+      return false;
+    }
+    for (int i = 1; i < name.length(); i++) {
+      final char c = name.charAt(i);
+      if (!Character.isLetterOrDigit(c) && c != '_' && c != ':' && c != '.' && c != '-') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** An element with only a size and a data attribute. */
+  private void dataElement(final String name, final int size, final Content data) throws IOException {
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(size));
+      data("data", data);
+    }));
+  }
+
+  private void nullElement() {
+    child(() -> element("null", () -> {}));
+  }
+
+  // byte primitive
+
+  @Override
+  public void write(final byte value, final String name, final byte defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  private void appendBytes(final byte[] value) throws IOException {
+    for (int i = 0; i < value.length; i++) {
+      if (i > 0) {
+        _text.append(' ');
+      }
+      _text.append(value[i]);
+      checkFlush();
+    }
+  }
+
+  @Override
+  public void write(final byte[] value, final String name, final byte[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.length, () -> appendBytes(value));
+  }
+
+  @Override
+  public void write(final byte[][] value, final String name, final byte[][] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size_outer", String.valueOf(value.length));
+      attribute("size_inner", String.valueOf(value.length == 0 ? 0 : value[0].length));
+      data("data", () -> {
+        for (int i = 0; i < value.length; i++) {
+          if (i > 0) {
+            // rows are separated by two spaces
+            _text.append("  ");
+          }
+          appendBytes(value[i]);
+        }
+      });
+    }));
+  }
+
+  // int primitive
+
+  @Override
+  public void write(final int value, final String name, final int defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  @Override
+  public void write(final int[] value, final String name, final int[] defVal) throws IOException {
+    if (value == null || Arrays.equals(value, defVal)) {
+      return;
+    }
+    dataElement(name, value.length, () -> {
+      for (int i = 0; i < value.length; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value[i]);
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final int[][] value, final String name, final int[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        write(value[i], "array_" + i, defVal == null ? null : defVal[i]);
+      }
+    }));
+  }
+
+  // float primitive
+
+  @Override
+  public void write(final float value, final String name, final float defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  private void appendFloats(final float[] value) throws IOException {
+    for (int i = 0; i < value.length; i++) {
+      if (i > 0) {
+        _text.append(' ');
+      }
+      _text.append(value[i]);
+      checkFlush();
+    }
+  }
+
+  @Override
+  public void write(final float[] value, final String name, final float[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.length, () -> appendFloats(value));
+  }
+
+  @Override
+  public void write(final float[][] value, final String name, final float[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size_outer", String.valueOf(value.length));
+      attribute("size_inner", String.valueOf(value.length == 0 ? 0 : value[0].length));
+      data("data", () -> {
+        for (int i = 0; i < value.length; i++) {
+          if (i > 0) {
+            _text.append(' ');
+          }
+          appendFloats(value[i]);
+        }
+      });
+    }));
+  }
+
+  // double primitive
+
+  @Override
+  public void write(final double value, final String name, final double defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  @Override
+  public void write(final double[] value, final String name, final double[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.length, () -> {
+      for (int i = 0; i < value.length; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value[i]);
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final double[][] value, final String name, final double[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        write(value[i], "array_" + i, defVal == null ? null : defVal[i]);
+      }
+    }));
+  }
+
+  // long primitive
+
+  @Override
+  public void write(final long value, final String name, final long defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  @Override
+  public void write(final long[] value, final String name, final long[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.length, () -> {
+      for (int i = 0; i < value.length; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value[i]);
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final long[][] value, final String name, final long[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        write(value[i], "array_" + i, defVal == null ? null : defVal[i]);
+      }
+    }));
+  }
+
+  // short primitive
+
+  @Override
+  public void write(final short value, final String name, final short defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  @Override
+  public void write(final short[] value, final String name, final short[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.length, () -> {
+      for (int i = 0; i < value.length; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value[i]);
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final short[][] value, final String name, final short[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        write(value[i], "array_" + i, defVal == null ? null : defVal[i]);
+      }
+    }));
+  }
+
+  // boolean primitive
+
+  @Override
+  public void write(final boolean value, final String name, final boolean defVal) throws IOException {
+    if (value == defVal) {
+      return;
+    }
+    attribute(name, String.valueOf(value));
+  }
+
+  @Override
+  public void write(final boolean[] value, final String name, final boolean[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.length, () -> {
+      for (int i = 0; i < value.length; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value[i]);
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final boolean[][] value, final String name, final boolean[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        write(value[i], "array_" + i, defVal == null ? null : defVal[i]);
+      }
+    }));
+  }
+
+  // String
+
+  @Override
+  public void write(final String value, final String name, final String defVal) throws IOException {
+    if (value == null || value.equals(defVal)) {
+      return;
+    }
+    attribute(name, encodeString(value));
+  }
+
+  @Override
+  public void write(final String[] value, final String name, final String[] defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        final String string = value[i];
+        final String elementName = "String_" + i;
+        child(() -> element(elementName, () -> {
+          if (string != null) {
+            attribute("value", encodeString(string));
+          }
+        }));
+      }
+    }));
+  }
+
+  @Override
+  public void write(final String[][] value, final String name, final String[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        write(value[i], "array_" + i, defVal == null ? null : defVal[i]);
+      }
+    }));
+  }
+
+  // BitSet
+
+  @Override
+  public void write(final BitSet value, final String name, final BitSet defVal) throws IOException {
+    if (value == null || value.equals(defVal)) {
+      return;
+    }
+    data(name, () -> {
+      for (int i = value.nextSetBit(0); i >= 0; i = value.nextSetBit(i + 1)) {
+        if (i > value.nextSetBit(0)) {
+          _text.append(' ');
+        }
+        _text.append(i);
+        checkFlush();
+      }
+    });
+  }
+
+  // BinarySavable
+
+  @Override
+  public void write(final Savable object, final String name, final Savable defVal) throws IOException {
+    if (object == null || object.equals(defVal)) {
+      return;
+    }
+    if (!_inDocument) {
+      writeDocument(object, name);
+    } else {
+      child(() -> savableElement(object, name));
+    }
+  }
+
+  private void writeDocument(final Savable object, final String name) throws IOException {
+    _inDocument = true;
+    try {
+      _counting = true;
+      savableElement(object, name);
+      _counting = false;
+      // only objects used more than once need a reference_ID
+      _useCounts.values().removeIf(count -> count < 2);
+      savableElement(object, name);
+      flushText();
+    } finally {
+      _inDocument = false;
+      _counting = false;
+      _depth = 0;
+      _useCounts.clear();
+      _referenceIds.clear();
+    }
+  }
+
+  private void savableElement(final Savable object, final String name) throws IOException {
+    final String className = object.getClass().getName();
+    final String elementName = isXmlName(name) ? name : "Object";
+    final String classAttribute = className.equals(elementName) ? null : className;
+
+    if (_counting) {
+      if (_useCounts.merge(object, 1, Integer::sum) == 1) {
+        element(elementName, () -> object.write(this));
+      }
+      return;
+    }
+
+    final String existingId = _referenceIds.get(object);
+    if (existingId != null) {
+      element(elementName, () -> {
+        attribute("ref", existingId);
+        if (classAttribute != null) {
+          attribute("class", classAttribute);
+        }
+      });
+      return;
+    }
+
+    element(elementName, () -> {
+      if (_useCounts.containsKey(object)) {
+        final String id = object.getClassTag().getName() + "@" + _nextId++;
+        _referenceIds.put(object, id);
+        attribute("reference_ID", id);
+      }
+      object.write(this);
+      if (classAttribute != null) {
+        attribute("class", classAttribute);
+      }
+    });
+  }
+
+  @Override
+  public void write(final Savable[] objects, final String name, final Savable[] defVal) throws IOException {
+    if (objects == null || Arrays.equals(objects, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(objects.length));
+      for (final Savable o : objects) {
+        if (o == null) {
+          // renderStateList has special loading code, so we can leave out the null values
+          if (!name.equals("renderStateList")) {
+            nullElement();
+          }
+        } else {
+          write(o, o.getClassTag().getName(), null);
+        }
+      }
+    }));
+  }
+
+  @Override
+  public void write(final Savable[][] value, final String name, final Savable[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size_outer", String.valueOf(value.length));
+      attribute("size_inner", String.valueOf(value.length == 0 ? 0 : value[0].length));
+      for (final Savable[] inner : value) {
+        for (final Savable o : inner) {
+          if (o == null) {
+            nullElement();
+          } else {
+            write(o, o.getClassTag().getSimpleName(), null);
+          }
+        }
+      }
+    }));
+  }
+
+  @Override
+  public void writeSavableList(final List<? extends Savable> array, final String name,
+      final List<? extends Savable> defVal) throws IOException {
+    if (array == null || array.equals(defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute(XMLExporter.ATTRIBUTE_SIZE, String.valueOf(array.size()));
+      for (final Object o : array) {
+        if (o == null) {
+          nullElement();
+        } else if (o instanceof Savable s) {
+          write(s, s.getClassTag().getName(), null);
+        } else {
+          throw new ClassCastException("Not a Savable instance: " + o);
+        }
+      }
+    }));
+  }
+
+  @Override
+  public void writeSavableListArray(final List<? extends Savable>[] objects, final String name,
+      final List<? extends Savable>[] defVal) throws IOException {
+    if (objects == null || Arrays.equals(objects, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute(XMLExporter.ATTRIBUTE_SIZE, String.valueOf(objects.length));
+      for (int i = 0; i < objects.length; i++) {
+        if (objects[i] == null) {
+          nullElement();
+        } else {
+          writeSavableList(objects[i], "SavableArrayList_" + i, null);
+        }
+      }
+    }));
+  }
+
+  @Override
+  public void writeSavableListArray2D(final List<? extends Savable>[][] value, final String name,
+      final List<? extends Savable>[][] defVal) throws IOException {
+    if (value == null || Arrays.deepEquals(value, defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute(XMLExporter.ATTRIBUTE_SIZE, String.valueOf(value.length));
+      for (int i = 0; i < value.length; i++) {
+        writeSavableListArray(value[i], "SavableArrayListArray_" + i, null);
+      }
+    }));
+  }
+
+  @Override
+  public void writeFloatBufferList(final List<FloatBuffer> array, final String name, final List<FloatBuffer> defVal)
+      throws IOException {
+    if (array == null || array.equals(defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute(XMLExporter.ATTRIBUTE_SIZE, String.valueOf(array.size()));
+      for (final FloatBuffer buffer : array) {
+        write(buffer, XMLExporter.ELEMENT_FLOATBUFFER, null);
+      }
+    }));
+  }
+
+  @Override
+  public void writeByteBufferList(final List<ByteBuffer> array, final String name, final List<ByteBuffer> defVal)
+      throws IOException {
+    if (array == null || array.equals(defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      attribute("size", String.valueOf(array.size()));
+      for (final ByteBuffer buffer : array) {
+        write(buffer, "ByteBuffer", null);
+      }
+    }));
+  }
+
+  // Maps
+
+  @Override
+  public void writeSavableMap(final Map<? extends Savable, ? extends Savable> map, final String name,
+      final Map<? extends Savable, ? extends Savable> defVal) throws IOException {
+    if (map == null || map.equals(defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      for (final Map.Entry<? extends Savable, ? extends Savable> entry : map.entrySet()) {
+        child(() -> element(XMLExporter.ELEMENT_MAPENTRY, () -> {
+          write(entry.getKey(), XMLExporter.ELEMENT_KEY, null);
+          write(entry.getValue(), XMLExporter.ELEMENT_VALUE, null);
+        }));
+      }
+    }));
+  }
+
+  @Override
+  public void writeStringSavableMap(final Map<String, ? extends Savable> map, final String name,
+      final Map<String, ? extends Savable> defVal) throws IOException {
+    if (map == null || map.equals(defVal)) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      for (final Map.Entry<String, ? extends Savable> entry : map.entrySet()) {
+        child(() -> element(XMLExporter.ELEMENT_MAPENTRY, () -> {
+          attribute("key", entry.getKey());
+          write(entry.getValue(), "Savable", null);
+        }));
+      }
+    }));
+  }
+
+  @Override
+  public void writeStringObjectMap(final Map<String, Object> map, final String name, final Map<String, Object> defVal)
+      throws IOException {
+    if (map == null || map == defVal) {
+      return;
+    }
+    child(() -> element(name, () -> {
+      for (final Map.Entry<String, Object> entry : map.entrySet()) {
+        child(() -> element(XMLExporter.ELEMENT_MAPENTRY, () -> {
+          attribute("key", entry.getKey());
+          writeValue(entry.getValue());
+        }));
+      }
+    }));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeValue(final Object value) throws IOException {
+    final byte type;
+    if (value instanceof BitSet v) {
+      type = BinaryClassField.BITSET;
+      write(v, "value", null);
+    } else if (value instanceof Boolean v) {
+      type = BinaryClassField.BOOLEAN;
+      write(v.booleanValue(), "value", false);
+    } else if (value instanceof boolean[] v) {
+      type = BinaryClassField.BOOLEAN_1D;
+      write(v, "value", null);
+    } else if (value instanceof boolean[][] v) {
+      type = BinaryClassField.BOOLEAN_2D;
+      write(v, "value", null);
+    } else if (value instanceof Byte v) {
+      type = BinaryClassField.BYTE;
+      write(v.byteValue(), "value", (byte) 0);
+    } else if (value instanceof byte[] v) {
+      type = BinaryClassField.BYTE_1D;
+      write(v, "value", null);
+    } else if (value instanceof byte[][] v) {
+      type = BinaryClassField.BYTE_2D;
+      write(v, "value", null);
+    } else if (value instanceof ByteBuffer v) {
+      type = BinaryClassField.BYTEBUFFER;
+      write(v, "value", null);
+    } else if (value instanceof Double v) {
+      type = BinaryClassField.DOUBLE;
+      write(v.doubleValue(), "value", 0.0);
+    } else if (value instanceof double[] v) {
+      type = BinaryClassField.DOUBLE_1D;
+      write(v, "value", null);
+    } else if (value instanceof double[][] v) {
+      type = BinaryClassField.DOUBLE_2D;
+      write(v, "value", null);
+    } else if (value instanceof Float v) {
+      type = BinaryClassField.FLOAT;
+      write(v.floatValue(), "value", 0f);
+    } else if (value instanceof float[] v) {
+      type = BinaryClassField.FLOAT_1D;
+      write(v, "value", null);
+    } else if (value instanceof float[][] v) {
+      type = BinaryClassField.FLOAT_2D;
+      write(v, "value", null);
+    } else if (value instanceof FloatBuffer v) {
+      type = BinaryClassField.FLOATBUFFER;
+      write(v, "value", null);
+    } else if (value instanceof Integer v) {
+      type = BinaryClassField.INT;
+      write(v.intValue(), "value", 0);
+    } else if (value instanceof int[] v) {
+      type = BinaryClassField.INT_1D;
+      write(v, "value", null);
+    } else if (value instanceof int[][] v) {
+      type = BinaryClassField.INT_2D;
+      write(v, "value", null);
+    } else if (value instanceof IntBuffer v) {
+      type = BinaryClassField.INTBUFFER;
+      write(v, "value", null);
+    } else if (value instanceof Long v) {
+      type = BinaryClassField.LONG;
+      write(v.longValue(), "value", 0L);
+    } else if (value instanceof long[] v) {
+      type = BinaryClassField.LONG_1D;
+      write(v, "value", null);
+    } else if (value instanceof long[][] v) {
+      type = BinaryClassField.LONG_2D;
+      write(v, "value", null);
+    } else if (value instanceof Savable v) {
+      type = BinaryClassField.SAVABLE;
+      write(v, "value", null);
+    } else if (value instanceof Savable[] v) {
+      type = BinaryClassField.SAVABLE_1D;
+      write(v, "value", null);
+    } else if (value instanceof Savable[][] v) {
+      type = BinaryClassField.SAVABLE_2D;
+      write(v, "value", null);
+    } else if (value instanceof Short v) {
+      type = BinaryClassField.SHORT;
+      write(v.shortValue(), "value", (short) 0);
+    } else if (value instanceof short[] v) {
+      type = BinaryClassField.SHORT_1D;
+      write(v, "value", null);
+    } else if (value instanceof short[][] v) {
+      type = BinaryClassField.SHORT_2D;
+      write(v, "value", null);
+    } else if (value instanceof ShortBuffer v) {
+      type = BinaryClassField.SHORTBUFFER;
+      write(v, "value", null);
+    } else if (value instanceof String v) {
+      type = BinaryClassField.STRING;
+      write(v, "value", null);
+    } else if (value instanceof String[] v) {
+      type = BinaryClassField.STRING_1D;
+      write(v, "value", null);
+    } else if (value instanceof String[][] v) {
+      type = BinaryClassField.STRING_2D;
+      write(v, "value", null);
+    } else if (value instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof ByteBuffer) {
+      type = BinaryClassField.BYTEBUFFER_ARRAYLIST;
+      writeByteBufferList((List<ByteBuffer>) list, "value", null);
+    } else if (value instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof FloatBuffer) {
+      type = BinaryClassField.FLOATBUFFER_ARRAYLIST;
+      writeFloatBufferList((List<FloatBuffer>) list, "value", null);
+    } else if (value instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof Savable) {
+      type = BinaryClassField.SAVABLE_ARRAYLIST;
+      writeSavableList((List<Savable>) list, "value", null);
+    } else {
+      type = BinaryClassField.UNHANDLED;
+    }
+    write(type, "type", (byte) -1);
+  }
+
+  // NIO BUFFERS
+
+  @Override
+  public void write(final FloatBuffer value, final String name, final FloatBuffer defVal) throws IOException {
+    if (value == null) {
+      return;
+    }
+    dataElement(name, value.limit(), () -> {
+      for (int i = 0, limit = value.limit(); i < limit; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value.get(i));
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final IntBuffer value, final String name, final IntBuffer defVal) throws IOException {
+    if (value == null || value.equals(defVal)) {
+      return;
+    }
+    dataElement(name, value.limit(), () -> {
+      for (int i = 0, limit = value.limit(); i < limit; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value.get(i));
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final ByteBuffer value, final String name, final ByteBuffer defVal) throws IOException {
+    if (value == null || value.equals(defVal)) {
+      return;
+    }
+    dataElement(name, value.limit(), () -> {
+      for (int i = 0, limit = value.limit(); i < limit; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value.get(i));
+        checkFlush();
+      }
+    });
+  }
+
+  @Override
+  public void write(final ShortBuffer value, final String name, final ShortBuffer defVal) throws IOException {
+    if (value == null || value.equals(defVal)) {
+      return;
+    }
+    dataElement(name, value.limit(), () -> {
+      for (int i = 0, limit = value.limit(); i < limit; i++) {
+        if (i > 0) {
+          _text.append(' ');
+        }
+        _text.append(value.get(i));
+        checkFlush();
+      }
+    });
+  }
+
+  // enums
+
+  @Override
+  public void write(final Enum<?> value, final String name, final Enum<?> defVal) throws IOException {
+    if (value == defVal || value == null) {
+      return;
+    }
+    attribute(name, value.name());
+  }
+
+  @Override
+  public void write(final Enum<?>[] value, final String name) throws IOException {
+    if (value == null) {
+      return;
+    }
+    final String[] toWrite = new String[value.length];
+    for (int i = 0; i < value.length; i++) {
+      toWrite[i] = value[i] == null ? null : value[i].name();
+    }
+    write(toWrite, name, null);
+  }
+}
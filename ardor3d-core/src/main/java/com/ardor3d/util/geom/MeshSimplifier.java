@@ -0,0 +1,648 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.geom;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+import com.ardor3d.buffer.AbstractBufferData;
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.buffer.FloatBufferData;
+import com.ardor3d.math.Transform;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.renderer.IndexMode;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.extension.LodNode;
+import com.ardor3d.util.geom.GeometryTool.MatchCondition;
+
+/**
+ * <p>
+ * Simplifies triangle meshes using quadric error metrics (Garland &amp; Heckbert). Edges are
+ * collapsed, cheapest first, until a target triangle count or maximum error is reached.
+ * </p>
+ * <p>
+ * Collapses are half-edge collapses: one endpoint is removed and the other is kept unchanged, so all
+ * vertex attributes (normals, colors, texture coordinates, tangents, etc.) of the surviving vertices
+ * are preserved exactly. Vertices that share their position with another vertex (seams in normals or
+ * texture coordinates) are never removed, open boundaries are held in place by penalty planes, and
+ * collapses that would flip a triangle are rejected.
+ * </p>
+ * <p>
+ * The result is always a new, single section MeshData of {@link IndexMode#Triangles}. Non triangle
+ * sections of the source are dropped.
+ * </p>
+ */
+public class MeshSimplifier {
+  private static final Logger logger = Logger.getLogger(MeshSimplifier.class.getName());
+
+  private double _maxError = Double.MAX_VALUE;
+  private double _boundaryWeight = 1000.0;
+  private boolean _weldVertices = true;
+
+  public double getMaxError() { return _maxError; }
+
+  /**
+   * @param maxError
+   *          stop collapsing once the cheapest collapse would exceed this quadric error, even if the
+   *          target triangle count has not been reached. Default is unlimited.
+   */
+  public void setMaxError(final double maxError) { _maxError = maxError; }
+
+  public double getBoundaryWeight() { return _boundaryWeight; }
+
+  /**
+   * @param boundaryWeight
+   *          weight of the penalty planes used to keep open mesh boundaries in place. Default is 1000.
+   */
+  public void setBoundaryWeight(final double boundaryWeight) { _boundaryWeight = boundaryWeight; }
+
+  public boolean isWeldVertices() { return _weldVertices; }
+
+  /**
+   * @param weldVertices
+   *          if true (the default), exact duplicate vertices are first merged using
+   *          {@link GeometryTool#minimizeVerts(Mesh, EnumSet)} so that unindexed or loosely indexed
+   *          meshes become connected and can be simplified.
+   */
+  public void setWeldVertices(final boolean weldVertices) { _weldVertices = weldVertices; }
+
+  /**
+   * Simplify the given mesh data down to a fraction of its triangle count.
+   *
+   * @param source
+   *          the mesh data to simplify. Not modified.
+   * @param ratio
+   *          the fraction of triangles to keep, in [0, 1].
+   * @return the new, simplified mesh data.
+   */
+  public MeshData simplify(final MeshData source, final double ratio) {
+    if (ratio < 0 || ratio > 1) {
+      throw new IllegalArgumentException("ratio must be in [0, 1]: " + ratio);
+    }
+    return simplify(source, (int) Math.round(countTriangles(source) * ratio));
+  }
+
+  /**
+   * Simplify the given mesh data down to the given number of triangles.
+   *
+   * @param source
+   *          the mesh data to simplify. Not modified.
+   * @param targetTriangles
+   *          the number of triangles to aim for.
+   * @return the new, simplified mesh data.
+   */
+  public MeshData simplify(final MeshData source, final int targetTriangles) {
+    final long start = System.currentTimeMillis();
+
+    MeshData data = source;
+    if (_weldVertices && canWeld(source)) {
+      data = source.makeCopy();
+      final Mesh tmp = new Mesh();
+      tmp.setMeshData(data);
+      GeometryTool.minimizeVerts(tmp, EnumSet.of(MatchCondition.Normal, MatchCondition.UVs, MatchCondition.Color));
+    }
+
+    final Simplification work = new Simplification(data, _boundaryWeight);
+    work.run(targetTriangles, _maxError);
+    final MeshData result = work.buildResult();
+
+    logger.fine("Simplified " + countTriangles(source) + " triangles to " + result.getTotalPrimitiveCount() + " (in "
+        + (System.currentTimeMillis() - start) + " ms)");
+    return result;
+  }
+
+  /**
+   * Build a chain of progressively simplified versions of the given mesh data. Each level is
+   * simplified from the previous one, so the ratios should be descending.
+   *
+   * @param source
+   *          the mesh data to simplify. Not modified.
+   * @param ratios
+   *          the fraction of the source triangles to keep for each level.
+   * @return one simplified mesh data per ratio.
+   */
+  public MeshData[] createLodChain(final MeshData source, final double... ratios) {
+    final int sourceCount = countTriangles(source);
+    final MeshData[] chain = new MeshData[ratios.length];
+    MeshData previous = source;
+    for (int i = 0; i < ratios.length; i++) {
+      if (ratios[i] < 0 || ratios[i] > 1) {
+        throw new IllegalArgumentException("ratio must be in [0, 1]: " + ratios[i]);
+      }
+      chain[i] = simplify(previous, (int) Math.round(sourceCount * ratios[i]));
+      previous = chain[i];
+    }
+    return chain;
+  }
+
+  /**
+   * Create a LodNode whose first child is a copy of the given mesh (sharing its data) followed by one
+   * simplified copy per given ratio.
+   *
+   * @param mesh
+   *          the full detail mesh.
+   * @param ratios
+   *          the fraction of triangles to keep for each simplified level.
+   * @param thresholds
+   *          projected size thresholds, in pixels, for the LodNode. Must have one more entry than
+   *          ratios.
+   * @return the new LodNode.
+   */
+  public LodNode createLodNode(final Mesh mesh, final double[] ratios, final double[] thresholds) {
+    if (thresholds.length != ratios.length + 1) {
+      throw new IllegalArgumentException("Need exactly one threshold per level: " + (ratios.length + 1));
+    }
+    final LodNode node = new LodNode(mesh.getName() + "_lod", thresholds);
+    node.setTransform(mesh.getTransform());
+
+    final Mesh full = mesh.makeCopy(true);
+    full.setTransform(new Transform());
+    node.attachChild(full);
+
+    final MeshData[] chain = createLodChain(mesh.getMeshData(), ratios);
+    for (int i = 0; i < chain.length; i++) {
+      final Mesh level = mesh.makeCopy(true);
+      level.setName(mesh.getName() + "_lod" + (i + 1));
+      level.setTransform(new Transform());
+      level.setMeshData(chain[i]);
+      level.updateModelBound();
+      node.attachChild(level);
+    }
+    return node;
+  }
+
+  private static int countTriangles(final MeshData data) {
+    int count = 0;
+    for (int i = 0; i < data.getSectionCount(); i++) {
+      if (isTriangleMode(data.getIndexMode(i))) {
+        count += data.getPrimitiveCount(i);
+      }
+    }
+    return count;
+  }
+
+  private static boolean isTriangleMode(final IndexMode mode) {
+    return mode == IndexMode.Triangles || mode == IndexMode.TriangleStrip || mode == IndexMode.TriangleFan;
+  }
+
+  /**
+   * minimizeVerts only knows how to rewrite vertex, normal, color and texture buffers.
+   */
+  private static boolean canWeld(final MeshData data) {
+    for (final Entry<String, AbstractBufferData<? extends Buffer>> entry : data.listDataItems()) {
+      final String key = entry.getKey();
+      if (!key.equals(MeshData.KEY_VertexCoords) && !key.equals(MeshData.KEY_NormalCoords)
+          && !key.equals(MeshData.KEY_ColorCoords) && !key.startsWith(MeshData.KEY_TextureCoordsPrefix)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * State for a single simplification run.
+   */
+  private static class Simplification {
+    private final MeshData _data;
+    private final int _vertexCount;
+    private final double[] _positions;
+    private final double[] _quadrics;
+    private final boolean[] _locked;
+    private final boolean[] _removed;
+    private final int[] _stamps;
+
+    private int[] _triangles;
+    private boolean[] _deadTriangles;
+    private int _triangleCount;
+    private int _liveTriangles;
+
+    private final int[][] _vertTris;
+    private final int[] _vertTriCounts;
+
+    private final PriorityQueue<Candidate> _heap = new PriorityQueue<>();
+
+    Simplification(final MeshData data, final double boundaryWeight) {
+      _data = data;
+      _vertexCount = data.getVertexCount();
+
+      final FloatBuffer verts = data.getVertexBuffer();
+      _positions = new double[_vertexCount * 3];
+      for (int i = 0; i < _positions.length; i++) {
+        _positions[i] = verts.get(i);
+      }
+      _quadrics = new double[_vertexCount * 10];
+      _locked = new boolean[_vertexCount];
+      _removed = new boolean[_vertexCount];
+      _stamps = new int[_vertexCount];
+      _vertTriCounts = new int[_vertexCount];
+      _vertTris = new int[_vertexCount][];
+
+      gatherTriangles();
+      lockSeams();
+      buildQuadrics(boundaryWeight);
+      buildAdjacency();
+    }
+
+    private void gatherTriangles() {
+      _triangles = new int[countTriangles(_data) * 3];
+      final int[] store = new int[3];
+      for (int section = 0; section < _data.getSectionCount(); section++) {
+        if (!isTriangleMode(_data.getIndexMode(section))) {
+          continue;
+        }
+        for (int i = 0, max = _data.getPrimitiveCount(section); i < max; i++) {
+          _data.getPrimitiveIndices(i, section, store);
+          if (store[0] == store[1] || store[1] == store[2] || store[0] == store[2]) {
+            continue;
+          }
+          System.arraycopy(store, 0, _triangles, _triangleCount * 3, 3);
+          _triangleCount++;
+        }
+      }
+      _deadTriangles = new boolean[_triangleCount];
+      _liveTriangles = _triangleCount;
+    }
+
+    /**
+     * Lock any referenced vertex sharing its position with another referenced vertex.
+     */
+    private void lockSeams() {
+      final Map<Vector3, Integer> firstAtPosition = new HashMap<>();
+      final boolean[] used = new boolean[_vertexCount];
+      for (int i = 0; i < _triangleCount * 3; i++) {
+        used[_triangles[i]] = true;
+      }
+      for (int v = 0; v < _vertexCount; v++) {
+        if (!used[v]) {
+          continue;
+        }
+        final Vector3 key = new Vector3(_positions[v * 3], _positions[v * 3 + 1], _positions[v * 3 + 2]);
+        final Integer other = firstAtPosition.putIfAbsent(key, v);
+        if (other != null) {
+          _locked[v] = true;
+          _locked[other] = true;
+        }
+      }
+    }
+
+    private void buildQuadrics(final double boundaryWeight) {
+      final Map<Long, Integer> edgeUse = new HashMap<>();
+      final double[] n = new double[3];
+      for (int t = 0; t < _triangleCount; t++) {
+        final int a = _triangles[t * 3], b = _triangles[t * 3 + 1], c = _triangles[t * 3 + 2];
+        final double area = faceNormal(a, b, c, n);
+        if (area > 0) {
+          final double d = -(n[0] * _positions[a * 3] + n[1] * _positions[a * 3 + 1] + n[2] * _positions[a * 3 + 2]);
+          addPlane(a, n[0], n[1], n[2], d, area);
+          addPlane(b, n[0], n[1], n[2], d, area);
+          addPlane(c, n[0], n[1], n[2], d, area);
+        }
+        edgeUse.merge(edgeKey(a, b), 1, Integer::sum);
+        edgeUse.merge(edgeKey(b, c), 1, Integer::sum);
+        edgeUse.merge(edgeKey(c, a), 1, Integer::sum);
+      }
+
+      // constrain open boundaries with planes perpendicular to their face
+      for (int t = 0; t < _triangleCount; t++) {
+        final int a = _triangles[t * 3], b = _triangles[t * 3 + 1], c = _triangles[t * 3 + 2];
+        if (faceNormal(a, b, c, n) <= 0) {
+          continue;
+        }
+        for (int e = 0; e < 3; e++) {
+          final int v0 = _triangles[t * 3 + e], v1 = _triangles[t * 3 + (e + 1) % 3];
+          if (edgeUse.get(edgeKey(v0, v1)) != 1) {
+            continue;
+          }
+          final double ex = _positions[v1 * 3] - _positions[v0 * 3];
+          final double ey = _positions[v1 * 3 + 1] - _positions[v0 * 3 + 1];
+          final double ez = _positions[v1 * 3 + 2] - _positions[v0 * 3 + 2];
+          double px = ey * n[2] - ez * n[1], py = ez * n[0] - ex * n[2], pz = ex * n[1] - ey * n[0];
+          final double len = Math.sqrt(px * px + py * py + pz * pz);
+          if (len == 0) {
+            continue;
+          }
+          px /= len;
+          py /= len;
+          pz /= len;
+          final double d = -(px * _positions[v0 * 3] + py * _positions[v0 * 3 + 1] + pz * _positions[v0 * 3 + 2]);
+          final double weight = boundaryWeight * (ex * ex + ey * ey + ez * ez);
+          addPlane(v0, px, py, pz, d, weight);
+          addPlane(v1, px, py, pz, d, weight);
+        }
+      }
+    }
+
+    private void buildAdjacency() {
+      for (int i = 0; i < _triangleCount * 3; i++) {
+        _vertTriCounts[_triangles[i]]++;
+      }
+      for (int v = 0; v < _vertexCount; v++) {
+        _vertTris[v] = new int[Math.max(4, _vertTriCounts[v])];
+        _vertTriCounts[v] = 0;
+      }
+      for (int t = 0; t < _triangleCount; t++) {
+        for (int i = 0; i < 3; i++) {
+          final int v = _triangles[t * 3 + i];
+          _vertTris[v][_vertTriCounts[v]++] = t;
+        }
+      }
+      for (int t = 0; t < _triangleCount; t++) {
+        for (int i = 0; i < 3; i++) {
+          final int v0 = _triangles[t * 3 + i], v1 = _triangles[t * 3 + (i + 1) % 3];
+          pushCandidate(v0, v1);
+          pushCandidate(v1, v0);
+        }
+      }
+    }
+
+    void run(final int targetTriangles, final double maxError) {
+      while (_liveTriangles > targetTriangles && !_heap.isEmpty()) {
+        final Candidate candidate = _heap.poll();
+        final int from = candidate._from, to = candidate._to;
+        if (_removed[from] || _removed[to] || candidate._fromStamp != _stamps[from]
+            || candidate._toStamp != _stamps[to]) {
+          continue;
+        }
+        if (candidate._cost > maxError) {
+          break;
+        }
+        if (!isCollapseValid(from, to)) {
+          continue;
+        }
+        collapse(from, to);
+      }
+    }
+
+    private boolean isCollapseValid(final int from, final int to) {
+      if (!isNeighbor(from, to)) {
+        return false;
+      }
+
+      // link condition: an interior edge may share at most two neighbors.
+      int shared = 0;
+      final int[] fromTris = _vertTris[from];
+      final int[] seen = new int[_vertTriCounts[from] * 2];
+      int seenCount = 0;
+      for (int i = 0; i < _vertTriCounts[from]; i++) {
+        final int t = fromTris[i];
+        if (_deadTriangles[t]) {
+          continue;
+        }
+        for (int j = 0; j < 3; j++) {
+          final int w = _triangles[t * 3 + j];
+          if (w == from || w == to || contains(seen, seenCount, w)) {
+            continue;
+          }
+          seen[seenCount++] = w;
+          if (isNeighbor(to, w)) {
+            shared++;
+          }
+        }
+      }
+      if (shared > 2) {
+        return false;
+      }
+
+      // reject collapses that flip or degenerate a triangle
+      final double[] before = new double[3], after = new double[3];
+      for (int i = 0; i < _vertTriCounts[from]; i++) {
+        final int t = fromTris[i];
+        if (_deadTriangles[t]) {
+          continue;
+        }
+        final int a = _triangles[t * 3], b = _triangles[t * 3 + 1], c = _triangles[t * 3 + 2];
+        if (a == to || b == to || c == to) {
+          continue;
+        }
+        faceNormal(a, b, c, before);
+        final double area = faceNormal(a == from ? to : a, b == from ? to : b, c == from ? to : c, after);
+        if (area <= 0 || before[0] * after[0] + before[1] * after[1] + before[2] * after[2] < 0.2) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean isNeighbor(final int v, final int w) {
+      for (int i = 0; i < _vertTriCounts[v]; i++) {
+        final int t = _vertTris[v][i];
+        if (!_deadTriangles[t]
+            && (_triangles[t * 3] == w || _triangles[t * 3 + 1] == w || _triangles[t * 3 + 2] == w)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static boolean contains(final int[] values, final int count, final int value) {
+      for (int i = 0; i < count; i++) {
+        if (values[i] == value) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void collapse(final int from, final int to) {
+      for (int i = 0; i < _vertTriCounts[from]; i++) {
+        final int t = _vertTris[from][i];
+        if (_deadTriangles[t]) {
+          continue;
+        }
+        final int o = t * 3;
+        if (_triangles[o] == to || _triangles[o + 1] == to || _triangles[o + 2] == to) {
+          _deadTriangles[t] = true;
+          _liveTriangles--;
+          continue;
+        }
+        for (int j = 0; j < 3; j++) {
+          if (_triangles[o + j] == from) {
+            _triangles[o + j] = to;
+          }
+        }
+        addTriangle(to, t);
+      }
+      _removed[from] = true;
+      _vertTriCounts[from] = 0;
+      for (int i = 0; i < 10; i++) {
+        _quadrics[to * 10 + i] += _quadrics[from * 10 + i];
+      }
+      _stamps[to]++;
+      compactTriangles(to);
+
+      // refresh candidates around the surviving vertex
+      for (int i = 0; i < _vertTriCounts[to]; i++) {
+        final int t = _vertTris[to][i];
+        for (int j = 0; j < 3; j++) {
+          final int w = _triangles[t * 3 + j];
+          if (w != to) {
+            pushCandidate(to, w);
+            pushCandidate(w, to);
+          }
+        }
+      }
+    }
+
+    private void addTriangle(final int v, final int t) {
+      if (_vertTriCounts[v] == _vertTris[v].length) {
+        _vertTris[v] = Arrays.copyOf(_vertTris[v], _vertTris[v].length * 2);
+      }
+      _vertTris[v][_vertTriCounts[v]++] = t;
+    }
+
+    private void compactTriangles(final int v) {
+      final int[] tris = _vertTris[v];
+      int count = 0;
+      for (int i = 0; i < _vertTriCounts[v]; i++) {
+        final int t = tris[i];
+        if (!_deadTriangles[t] && !contains(tris, count, t)) {
+          tris[count++] = t;
+        }
+      }
+      _vertTriCounts[v] = count;
+    }
+
+    private void pushCandidate(final int from, final int to) {
+      if (_locked[from]) {
+        return;
+      }
+      final double x = _positions[to * 3], y = _positions[to * 3 + 1], z = _positions[to * 3 + 2];
+      final double cost = evaluate(from, x, y, z) + evaluate(to, x, y, z);
+      _heap.add(new Candidate(from, to, _stamps[from], _stamps[to], Math.max(0, cost)));
+    }
+
+    private double evaluate(final int v, final double x, final double y, final double z) {
+      final int o = v * 10;
+      final double[] q = _quadrics;
+      return q[o] * x * x + 2 * q[o + 1] * x * y + 2 * q[o + 2] * x * z + 2 * q[o + 3] * x + q[o + 4] * y * y
+          + 2 * q[o + 5] * y * z + 2 * q[o + 6] * y + q[o + 7] * z * z + 2 * q[o + 8] * z + q[o + 9];
+    }
+
+    private void addPlane(final int v, final double a, final double b, final double c, final double d,
+        final double weight) {
+      final int o = v * 10;
+      final double[] q = _quadrics;
+      q[o] += weight * a * a;
+      q[o + 1] += weight * a * b;
+      q[o + 2] += weight * a * c;
+      q[o + 3] += weight * a * d;
+      q[o + 4] += weight * b * b;
+      q[o + 5] += weight * b * c;
+      q[o + 6] += weight * b * d;
+      q[o + 7] += weight * c * c;
+      q[o + 8] += weight * c * d;
+      q[o + 9] += weight * d * d;
+    }
+
+    /**
+     * Compute the unit normal of the given triangle into store.
+     *
+     * @return the triangle's area, or 0 if degenerate.
+     */
+    private double faceNormal(final int a, final int b, final int c, final double[] store) {
+      final double[] p = _positions;
+      final double e1x = p[b * 3] - p[a * 3], e1y = p[b * 3 + 1] - p[a * 3 + 1], e1z = p[b * 3 + 2] - p[a * 3 + 2];
+      final double e2x = p[c * 3] - p[a * 3], e2y = p[c * 3 + 1] - p[a * 3 + 1], e2z = p[c * 3 + 2] - p[a * 3 + 2];
+      final double nx = e1y * e2z - e1z * e2y, ny = e1z * e2x - e1x * e2z, nz = e1x * e2y - e1y * e2x;
+      final double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+      if (len == 0) {
+        store[0] = store[1] = store[2] = 0;
+        return 0;
+      }
+      store[0] = nx / len;
+      store[1] = ny / len;
+      store[2] = nz / len;
+      return len * 0.5;
+    }
+
+    private static long edgeKey(final int a, final int b) {
+      return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    MeshData buildResult() {
+      // compact the surviving, referenced vertices
+      final int[] remap = new int[_vertexCount];
+      Arrays.fill(remap, -1);
+      int newVertexCount = 0;
+      final int[] indices = new int[_liveTriangles * 3];
+      int index = 0;
+      for (int t = 0; t < _triangleCount; t++) {
+        if (_deadTriangles[t]) {
+          continue;
+        }
+        for (int j = 0; j < 3; j++) {
+          final int v = _triangles[t * 3 + j];
+          if (remap[v] == -1) {
+            remap[v] = newVertexCount++;
+          }
+          indices[index++] = remap[v];
+        }
+      }
+
+      final MeshData result = new MeshData();
+      for (final Entry<String, AbstractBufferData<? extends Buffer>> entry : _data.listDataItems()) {
+        if (!(entry.getValue() instanceof FloatBufferData)) {
+          continue;
+        }
+        final FloatBufferData source = (FloatBufferData) entry.getValue();
+        final int tuple = source.getValuesPerTuple();
+        if (source.getTupleCount() != _vertexCount) {
+          logger.fine("Skipping non per-vertex buffer: " + entry.getKey());
+          continue;
+        }
+        final FloatBuffer src = source.getBuffer();
+        final FloatBuffer dst = BufferUtils.createFloatBuffer(newVertexCount * tuple);
+        for (int v = 0; v < _vertexCount; v++) {
+          final int target = remap[v];
+          if (target != -1) {
+            for (int k = 0; k < tuple; k++) {
+              dst.put(target * tuple + k, src.get(v * tuple + k));
+            }
+          }
+        }
+        if (MeshData.KEY_VertexCoords.equals(entry.getKey())) {
+          result.setVertexCoords(new FloatBufferData(dst, tuple));
+        } else {
+          result.setCoords(entry.getKey(), new FloatBufferData(dst, tuple));
+        }
+      }
+      result.setIndices(BufferUtils.createIndexBufferData(indices, Math.max(0, newVertexCount - 1)));
+      result.setIndexMode(IndexMode.Triangles);
+      return result;
+    }
+  }
+
+  private static class Candidate implements Comparable<Candidate> {
+    final int _from, _to, _fromStamp, _toStamp;
+    final double _cost;
+
+    Candidate(final int from, final int to, final int fromStamp, final int toStamp, final double cost) {
+      _from = from;
+      _to = to;
+      _fromStamp = fromStamp;
+      _toStamp = toStamp;
+      _cost = cost;
+    }
+
+    @Override
+    public int compareTo(final Candidate o) {
+      return Double.compare(_cost, o._cost);
+    }
+  }
+}
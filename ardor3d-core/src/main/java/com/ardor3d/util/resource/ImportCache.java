@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+
+import com.ardor3d.util.concurrent.StripedLocks;
+import com.ardor3d.util.export.Savable;
+import com.ardor3d.util.export.binary.BinaryImporter;
+
+/**
+ * A disk cache for the results of model importers, so that a source file is only parsed again when
+ * its contents change. For example:
+ *
+ * <pre>
+ * final ImportCache cache = new ImportCache(new File("cache"), 512L * 1024 * 1024);
+ * final Node scene = cache.load(source, "obj flip=true", s -&gt; objImporter.load(s).getScene());
+ * </pre>
+ * <p>
+ * Entries are keyed on a SHA-256 hash of the source contents, its type and a settings string
+ * describing anything else that changes the import result, such as importer options. They are stored
+ * in the binary format through a {@link SavableFileStore}, so later loads only need a
+ * {@link BinaryImporter} read. A source whose
+ * contents changed no longer matches its old entry and is imported again. The total size of the
+ * entries is kept under a limit by removing the least recently used ones, which is also how entries
+ * for old contents go away.
+ * </p>
+ * <p>
+ * Loads may run concurrently, from any thread or through {@link #loadAsync(ResourceSource, String, Loader)}.
+ * Each entry is guarded by a lock stripe, so when several threads ask for the same entry at once,
+ * only one of them runs the importer and the others read the entry it stored. Each call returns its
+ * own copy of the cached graph.
+ * </p>
+ */
+public class ImportCache {
+
+  /** Extension of the cache entry files. */
+  public static final String ENTRY_EXTENSION = ".a3c";
+
+  /** Part of every key, to be changed if the way entries are stored ever changes. */
+  private static final String FORMAT_VERSION = "1";
+
+  /** The number of locks entries are spread over. */
+  private static final int LOCK_STRIPES = 64;
+
+  /**
+   * Imports a source when it is not in the cache.
+   */
+  @FunctionalInterface
+  public interface Loader<T extends Savable> {
+    T load(ResourceSource source) throws IOException;
+  }
+
+  private final SavableFileStore _store;
+  private volatile long _maxSize;
+
+  protected ForkJoinPool _pool = ForkJoinPool.commonPool();
+
+  /** Held while an entry is read or imported, by file name. */
+  private final StripedLocks _locks = new StripedLocks(LOCK_STRIPES);
+
+  /**
+   * @param directory
+   *          the directory to keep entries in. Created if it does not exist.
+   * @param maxSize
+   *          the size in bytes the entries together may take.
+   * @throws IllegalArgumentException
+   *           if directory is not a directory and can not be created, or maxSize is not positive.
+   */
+  public ImportCache(final File directory, final long maxSize) {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IllegalArgumentException("Can not create cache directory: " + directory);
+    }
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    _store = new SavableFileStore(directory, ENTRY_EXTENSION);
+    _maxSize = maxSize;
+  }
+
+  public File getDirectory() { return _store.getDirectory(); }
+
+  public long getMaxSize() { return _maxSize; }
+
+  /**
+   * @param maxSize
+   *          the size in bytes the entries together may take. Applied on the next store or
+   *          {@link #trim()}.
+   */
+  public void setMaxSize(final long maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    _maxSize = maxSize;
+  }
+
+  /**
+   * @return the pool {@link #loadAsync(ResourceSource, String, Loader)} runs loads in. Defaults to the
+   *         common pool.
+   */
+  public ForkJoinPool getPool() { return _pool; }
+
+  public void setPool(final ForkJoinPool pool) { _pool = pool; }
+
+  /**
+   * Load the cached import result for the given source, or import it and store the result.
+   *
+   * @param source
+   *          the source to import.
+   * @param settings
+   *          anything, besides the source contents and type, that changes what loader returns for it -
+   *          typically the importer class and its options. May be null.
+   * @param loader
+   *          imports the source if it is not cached.
+   * @return the cached or imported Savable.
+   * @throws IOException
+   *           if the source can not be read or the loader fails. Failing to read or write a cache
+   *           entry is only logged, the source is then imported as if it was not cached.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Savable> T load(final ResourceSource source, final String settings, final Loader<T> loader)
+      throws IOException {
+    final String fileName = entryName(source, settings);
+
+    // whoever else is importing this entry holds the lock, and we then read what they stored
+    final Lock lock = _locks.getLock(fileName);
+    lock.lock();
+    try {
+      final T cached = (T) readEntry(fileName);
+      if (cached != null) {
+        return cached;
+      }
+      final T imported = loader.load(source);
+      if (imported != null && _store.write(fileName, imported, 0)) {
+        trim();
+      }
+      return imported;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Run {@link #load(ResourceSource, String, Loader)} in our pool, so many sources can be loaded at once.
+   *
+   * @return a future giving the cached or imported Savable. An IOException is reported wrapped in a
+   *         CompletionException.
+   */
+  public <T extends Savable> CompletableFuture<T> loadAsync(final ResourceSource source, final String settings,
+      final Loader<T> loader) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return load(source, settings, loader);
+      } catch (final IOException e) {
+        throw new CompletionException(e);
+      }
+    }, _pool);
+  }
+
+  /**
+   * @return the file name of the entry for the given source: a hash of its contents, type and the
+   *         settings.
+   */
+  protected String entryName(final ResourceSource source, final String settings) throws IOException {
+    final MessageDigest digest = SavableFileStore.newDigest("SHA-256");
+    digest.update((FORMAT_VERSION + '\0' + source.getType() + '\0' + settings + '\0').getBytes(StandardCharsets.UTF_8));
+    final byte[] buffer = new byte[64 * 1024];
+    try (InputStream in = source.openStream()) {
+      if (in == null) {
+        throw new IOException("Unable to open " + source.getName());
+      }
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return SavableFileStore.toHex(digest.digest()) + ENTRY_EXTENSION;
+  }
+
+  private Savable readEntry(final String fileName) {
+    final Savable savable = _store.read(fileName);
+    if (savable != null) {
+      // the modification time is the last use for trim()
+      _store.setLastModified(fileName, System.currentTimeMillis());
+    }
+    return savable;
+  }
+
+  /**
+   * Remove the least recently used entries until the cache is no larger than its maximum size.
+   */
+  public synchronized void trim() {
+    _store.trim(_maxSize);
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public synchronized void clear() {
+    _store.clear();
+  }
+
+  /**
+   * @return the combined size in bytes of all entries.
+   */
+  public long getSize() { return _store.getSize(); }
+}
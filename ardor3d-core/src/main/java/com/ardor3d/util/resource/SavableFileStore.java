@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.util.export.Savable;
+import com.ardor3d.util.export.binary.BinaryExporter;
+import com.ardor3d.util.export.binary.BinaryImporter;
+
+/**
+ * A directory of Savables stored in the binary format, one file per entry, as used by disk caches
+ * such as {@link ImportCache} and {@link com.ardor3d.util.HttpImageCache}. Entries are named by the
+ * caller, typically with a hash made through {@link #newDigest(String)} and {@link #toHex(byte[])},
+ * and end in the store's extension.
+ * <p>
+ * Entries are written to a temporary file and then moved into place, so readers never see a partly
+ * written entry. Unreadable entries are deleted when read. The store does no locking of its own -
+ * callers serialize work on the same entry, for example with
+ * {@link com.ardor3d.util.concurrent.StripedLocks}.
+ * </p>
+ */
+public class SavableFileStore {
+  private static final Logger logger = Logger.getLogger(SavableFileStore.class.getName());
+
+  private final File _directory;
+  private final String _extension;
+
+  /**
+   * @param directory
+   *          the directory to keep entries in. Created when the first entry is written.
+   * @param extension
+   *          the extension ending the name of every entry, such as ".abi".
+   */
+  public SavableFileStore(final File directory, final String extension) {
+    _directory = directory;
+    _extension = extension;
+  }
+
+  public File getDirectory() { return _directory; }
+
+  public String getExtension() { return _extension; }
+
+  /**
+   * @param name
+   *          the file name of an entry.
+   * @return the file the entry is kept in.
+   */
+  public File getFile(final String name) {
+    return new File(_directory, name);
+  }
+
+  /**
+   * @param name
+   *          the file name of the entry.
+   * @return the entry, or null if there is none. An entry that can not be read is logged and
+   *         deleted.
+   */
+  public Savable read(final String name) {
+    final File file = getFile(name);
+    if (!file.isFile()) {
+      return null;
+    }
+    try {
+      return new BinaryImporter().load(file);
+    } catch (final IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Discarding unreadable cache entry " + file, e);
+      delete(file);
+      return null;
+    }
+  }
+
+  /**
+   * Store an entry, replacing any entry of the same name.
+   *
+   * @param name
+   *          the file name of the entry.
+   * @param savable
+   *          the value to store.
+   * @param lastModified
+   *          the modification time to give the entry file, in milliseconds since the epoch, or 0 to
+   *          leave it at the time of writing.
+   * @return true if the entry was stored. Failures are logged.
+   */
+  public boolean write(final String name, final Savable savable, final long lastModified) {
+    final File file = getFile(name);
+    File temp = null;
+    try {
+      if (!_directory.isDirectory() && !_directory.mkdirs()) {
+        throw new IOException("Can not create cache directory: " + _directory);
+      }
+      temp = File.createTempFile("entry", ".tmp", _directory);
+      new BinaryExporter().save(savable, temp);
+      try {
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      temp = null;
+    } catch (final IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Unable to store cache entry " + file, e);
+      return false;
+    } finally {
+      if (temp != null) {
+        delete(temp);
+      }
+    }
+    if (lastModified > 0) {
+      setLastModified(name, lastModified);
+    }
+    return true;
+  }
+
+  /**
+   * @param name
+   *          the file name of the entry.
+   * @param time
+   *          the modification time to give the entry file, in milliseconds since the epoch.
+   */
+  public void setLastModified(final String name, final long time) {
+    final File file = getFile(name);
+    // this fails on some platforms, such as Android
+    if (!file.setLastModified(time)) {
+      logger.fine("Could not set the modification time of " + file);
+    }
+  }
+
+  /**
+   * @param name
+   *          the file name of the entry.
+   * @return true if the entry was found and deleted.
+   */
+  public boolean delete(final String name) {
+    return delete(getFile(name));
+  }
+
+  /**
+   * Remove all entries.
+   */
+  public void clear() {
+    for (final File entry : listEntries()) {
+      delete(entry);
+    }
+  }
+
+  /**
+   * @return the combined size in bytes of all entries.
+   */
+  public long getSize() {
+    long size = 0;
+    for (final File entry : listEntries()) {
+      size += entry.length();
+    }
+    return size;
+  }
+
+  /**
+   * Remove the entries modified least recently until the entries are no larger than the given size.
+   *
+   * @param maxSize
+   *          the size in bytes the entries together may take.
+   */
+  public void trim(final long maxSize) {
+    final File[] entries = listEntries();
+    long size = 0;
+    for (final File entry : entries) {
+      size += entry.length();
+    }
+    if (size <= maxSize) {
+      return;
+    }
+
+    final long[] lastUse = new long[entries.length];
+    final Integer[] order = new Integer[entries.length];
+    for (int i = 0; i < entries.length; i++) {
+      lastUse[i] = entries[i].lastModified();
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> lastUse[i]));
+    for (int i = 0; i < order.length && size > maxSize; i++) {
+      final File entry = entries[order[i]];
+      final long length = entry.length();
+      if (delete(entry)) {
+        size -= length;
+      }
+    }
+  }
+
+  private File[] listEntries() {
+    final File[] entries = _directory.listFiles((dir, name) -> name.endsWith(_extension));
+    return entries != null ? entries : new File[0];
+  }
+
+  private static boolean delete(final File file) {
+    try {
+      return Files.deleteIfExists(file.toPath());
+    } catch (final IOException e) {
+      logger.log(Level.FINE, "Could not delete " + file, e);
+      return false;
+    }
+  }
+
+  /**
+   * @param algorithm
+   *          a digest algorithm every Java platform supports, such as "MD5" or "SHA-256".
+   * @return a new digest for hashing entry names.
+   */
+  public static MessageDigest newDigest(final String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the bytes as upper case hex digits, for use in entry names.
+   */
+  public static String toHex(final byte[] bytes) {
+    return HexFormat.of().withUpperCase().formatHex(bytes);
+  }
+}
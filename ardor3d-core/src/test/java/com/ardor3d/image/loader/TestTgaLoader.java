@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.junit.Test;
+
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+
+public class TestTgaLoader {
+
+  private static void header(final ByteArrayOutputStream out, final int type, final int width, final int height,
+      final int depth, final int descriptor) {
+    out.writeBytes(new byte[] {0, 0, (byte) type, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) width, (byte) (width >> 8),
+        (byte) height, (byte) (height >> 8), (byte) depth, (byte) descriptor});
+  }
+
+  /** The red of each pixel is its index in file order, so where each went is easy to check. */
+  private static void assertReds(final Image image, final int width, final int height, final boolean topDown) {
+    final int dl = image.getDataFormat() == ImageDataFormat.RGBA ? 4 : 3;
+    for (int p = 0; p < width * height; p++) {
+      final int row = topDown ? p / width : height - 1 - p / width;
+      assertEquals("pixel " + p, p, image.getData(0).get((row * width + p % width) * dl) & 0xFF);
+    }
+  }
+
+  @Test
+  public void testTrueColor() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    header(out, TgaLoader.TYPE_TRUECOLOR, 3, 2, 24, 0);
+    for (int p = 0; p < 6; p++) {
+      // BGR
+      out.writeBytes(new byte[] {(byte) 200, 100, (byte) p});
+    }
+    final Image image = new TgaLoader().load(new ByteArrayInputStream(out.toByteArray()), false);
+    assertEquals(ImageDataFormat.RGB, image.getDataFormat());
+    assertEquals(3, image.getWidth());
+    assertEquals(2, image.getHeight());
+    // stored bottom up, so the first row of the file is the last of the image
+    assertReds(image, 3, 2, false);
+    assertEquals(100, image.getData(0).get(1));
+    assertEquals(200, image.getData(0).get(2) & 0xFF);
+
+    assertReds(new TgaLoader().load(ByteBuffer.wrap(out.toByteArray()), true), 3, 2, true);
+  }
+
+  @Test
+  public void testRunLengthEncodedAcrossRows() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // top down
+    header(out, TgaLoader.TYPE_TRUECOLOR_RLE, 4, 3, 32, 32);
+    // 3 raw pixels
+    out.write(2);
+    for (int p = 0; p < 3; p++) {
+      out.writeBytes(new byte[] {0, 0, (byte) p, (byte) 255});
+    }
+    // a run of 6 running on into the last row
+    out.write(0x80 | 5);
+    out.writeBytes(new byte[] {0, 0, 3, 7});
+    // the last 3 raw
+    out.write(2);
+    for (int p = 9; p < 12; p++) {
+      out.writeBytes(new byte[] {0, 0, (byte) p, (byte) 255});
+    }
+    final TgaLoader loader = new TgaLoader();
+    final Image image = loader.load(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), false);
+    assertEquals(ImageDataFormat.RGBA, image.getDataFormat());
+    for (int p = 0; p < 12; p++) {
+      final int expected = p < 3 || p >= 9 ? p : 3;
+      assertEquals("pixel " + p, expected, image.getData(0).get(p * 4));
+    }
+    assertEquals(7, image.getData(0).get(4 * 4 + 3));
+  }
+
+  @Test
+  public void testSixteenBitInParallel() throws IOException {
+    final int width = 16, height = 600;
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    header(out, TgaLoader.TYPE_TRUECOLOR, width, height, 16, 0);
+    for (int p = 0; p < width * height; p++) {
+      // ARRRRRGG GGGBBBBB with all of red, little endian
+      out.writeBytes(new byte[] {0, 0x7C});
+    }
+    final Image image = new TgaLoader().load(ByteBuffer.wrap(out.toByteArray()), false);
+    assertEquals(ImageDataFormat.RGB, image.getDataFormat());
+    for (int i = 0; i < width * height; i++) {
+      assertEquals(255, image.getData(0).get(i * 3) & 0xFF);
+      assertEquals(0, image.getData(0).get(i * 3 + 2));
+    }
+  }
+
+  @Test
+  public void testColorMappedAndBlackAndWhite() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // 2 entries of 24 bits
+    out.writeBytes(new byte[] {0, 1, (byte) TgaLoader.TYPE_COLORMAPPED, 0, 0, 2, 0, 24, 0, 0, 0, 0, 2, 0, 1, 0, 8, 0});
+    out.writeBytes(new byte[] {10, 20, 30, 40, 50, 60});
+    out.writeBytes(new byte[] {1, 0});
+    final Image mapped = new TgaLoader().load(ByteBuffer.wrap(out.toByteArray()), false);
+    assertEquals(40, mapped.getData(0).get(0));
+    assertEquals(10, mapped.getData(0).get(3));
+
+    out.reset();
+    header(out, TgaLoader.TYPE_BLACKANDWHITE_RLE, 2, 1, 8, 0);
+    out.writeBytes(new byte[] {(byte) 0x81, 90});
+    final Image gray = new TgaLoader().load(ByteBuffer.wrap(out.toByteArray()), false);
+    assertEquals(ImageDataFormat.RGB, gray.getDataFormat());
+    for (int i = 0; i < 6; i++) {
+      assertEquals(90, gray.getData(0).get(i));
+    }
+  }
+
+  @Test
+  public void testTruncatedFile() {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    header(out, TgaLoader.TYPE_TRUECOLOR, 3, 2, 24, 0);
+    out.writeBytes(new byte[10]);
+    try {
+      new TgaLoader().load(ByteBuffer.wrap(out.toByteArray()), false);
+      fail("expected an IOException");
+    } catch (final IOException expected) {}
+  }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.loader.hdr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ardor3d.image.Image;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.util.ImageUtils;
+
+public class TestHdrLoader {
+
+  /** Random pixels with some runs in them, 4 RGBE bytes each. */
+  private static byte[] pixels(final int width, final int height) {
+    final Random random = new Random(width * 31 + height);
+    final byte[] pixels = new byte[width * height * 4];
+    for (int i = 0; i < pixels.length; i += 4) {
+      if (i >= 4 && random.nextInt(3) == 0) {
+        System.arraycopy(pixels, i - 4, pixels, i, 4);
+      } else {
+        for (int c = 0; c < 4; c++) {
+          pixels[i + c] = (byte) random.nextInt(256);
+        }
+        if (random.nextInt(10) == 0) {
+          pixels[i + 3] = 0;
+        }
+      }
+    }
+    return pixels;
+  }
+
+  private static byte[] file(final byte[] pixels, final int width, final int height, final boolean rle) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.writeBytes(("#?RADIANCE\nFORMAT=32-bit_rle_rgbe\n\n-Y " + height + " +X " + width + "\n")
+        .getBytes(StandardCharsets.ISO_8859_1));
+    for (int y = 0; y < height; y++) {
+      if (!rle) {
+        out.write(pixels, y * width * 4, width * 4);
+        continue;
+      }
+      out.write(2);
+      out.write(2);
+      out.write(width >> 8);
+      out.write(width & 0xFF);
+      for (int c = 0; c < 4; c++) {
+        int x = 0;
+        while (x < width) {
+          final byte value = pixels[(y * width + x) * 4 + c];
+          int run = 1;
+          while (x + run < width && run < 127 && pixels[(y * width + x + run) * 4 + c] == value) {
+            run++;
+          }
+          if (run >= 3) {
+            out.write(128 + run);
+            out.write(value);
+            x += run;
+          } else {
+            final int count = Math.min(width - x, 2);
+            out.write(count);
+            for (int k = 0; k < count; k++) {
+              out.write(pixels[(y * width + x + k) * 4 + c]);
+            }
+            x += count;
+          }
+        }
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static void assertPixels(final byte[] pixels, final int width, final int height, final boolean flipped,
+      final Image image) {
+    final float[] rgb = new float[3];
+    final boolean half = image.getDataType() == PixelDataType.HalfFloat;
+    final FloatBuffer floats = image.getData(0).asFloatBuffer();
+    final ShortBuffer halfs = image.getData(0).asShortBuffer();
+    for (int y = 0; y < height; y++) {
+      final int row = flipped ? height - 1 - y : y;
+      for (int x = 0; x < width; x++) {
+        RGBE.rgbe2float(rgb, pixels, (y * width + x) * 4);
+        for (int c = 0; c < 3; c++) {
+          final int index = (row * width + x) * 3 + c;
+          if (half) {
+            assertEquals(ImageUtils.floatToHalf(rgb[c]), halfs.get(index));
+          } else {
+            assertEquals(rgb[c], floats.get(index), 0f);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLoadRunLengthEncoded() throws IOException {
+    final byte[] pixels = pixels(20, 7);
+    final Image image = new HdrLoader().load(new ByteArrayInputStream(file(pixels, 20, 7, true)), false);
+    assertEquals(20, image.getWidth());
+    assertEquals(7, image.getHeight());
+    assertEquals(PixelDataType.Float, image.getDataType());
+    assertPixels(pixels, 20, 7, false, image);
+  }
+
+  @Test
+  public void testLoadFlatAndFlipped() throws IOException {
+    // too narrow to be run length encoded
+    final byte[] pixels = pixels(5, 6);
+    final Image image = new HdrLoader().load(ByteBuffer.wrap(file(pixels, 5, 6, false)), true);
+    assertPixels(pixels, 5, 6, true, image);
+  }
+
+  @Test
+  public void testLoadHalfFloatInParallel() throws IOException {
+    final byte[] pixels = pixels(64, 300);
+    final HdrLoader loader = new HdrLoader(true);
+    final Image image = loader.load(ByteBuffer.wrap(file(pixels, 64, 300, true)), true);
+    assertEquals(PixelDataType.HalfFloat, image.getDataType());
+    assertEquals(64 * 300 * 3 * 2, image.getData(0).capacity());
+    assertPixels(pixels, 64, 300, true, image);
+
+    loader.setPool(null);
+    loader.setHalfFloat(false);
+    assertPixels(pixels, 64, 300, false, loader.load(ByteBuffer.wrap(file(pixels, 64, 300, true)), false));
+  }
+
+  @Test
+  public void testHalfConversionMatchesImageUtils() {
+    // every exponent, with mantissas at and around the rounding points
+    final byte[] planes = new byte[256 * 4];
+    final short[] halfs = new short[256 * 3];
+    final float[] rgb = new float[3];
+    for (final int m : new int[] {1, 3, 128, 255}) {
+      for (int e = 0; e < 256; e++) {
+        planes[e] = (byte) m;
+        planes[e + 256] = (byte) (m + 1);
+        planes[e + 512] = (byte) (m * 7);
+        planes[e + 768] = (byte) e;
+      }
+      RGBE.planes2half(planes, 256, halfs);
+      for (int e = 0; e < 256; e++) {
+        RGBE.rgbe2float(rgb, new byte[] {planes[e], planes[e + 256], planes[e + 512], (byte) e}, 0);
+        for (int c = 0; c < 3; c++) {
+          assertEquals("m " + m + " e " + e, ImageUtils.floatToHalf(rgb[c]), halfs[e * 3 + c]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTruncatedFile() {
+    final byte[] file = file(pixels(20, 7), 20, 7, true);
+    try {
+      new HdrLoader().load(ByteBuffer.wrap(file, 0, file.length - 10), false);
+      fail("expected an IOException");
+    } catch (final IOException expected) {}
+  }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.loader.ImageLoaderUtil;
+import com.ardor3d.util.resource.ImportCache;
+import com.ardor3d.util.resource.StringResourceSource;
+
+public class TestBlockCompressor {
+
+  /** Smooth gradients with some noise and a few hard edges, like a typical photo texture. */
+  private static Image testImage(final int width, final int height) {
+    return testImage(width, height, false);
+  }
+
+  private static Image testImage(final int width, final int height, final boolean opaque) {
+    final ByteBuffer data = BufferUtils.createByteBuffer(width * height * 4);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        final int noise = (int) ((x * 73856093L ^ y * 19349663L) & 7);
+        final int i = (y * width + x) * 4;
+        data.put(i, (byte) (x * 255 / width + noise));
+        data.put(i + 1, (byte) (y * 255 / height));
+        data.put(i + 2, (byte) ((x / 8 + y / 8) % 2 == 0 ? 40 : 200));
+        data.put(i + 3, (byte) (opaque ? 255 : 128 + 127 * Math.sin(x * 0.2) * Math.cos(y * 0.15)));
+      }
+    }
+    return new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, width, height, data, null);
+  }
+
+  /**
+   * @return the peak signal to noise ratio in dB between the given channels of two RGBA images.
+   */
+  private static double psnr(final Image a, final Image b, final int firstChannel, final int channels) {
+    final ByteBuffer da = a.getData(0), db = b.getData(0);
+    final int texels = a.getWidth() * a.getHeight();
+    double sum = 0;
+    for (int i = 0; i < texels; i++) {
+      for (int c = firstChannel; c < firstChannel + channels; c++) {
+        final int d = (da.get(i * 4 + c) & 0xFF) - (db.get(i * 4 + c) & 0xFF);
+        sum += d * d;
+      }
+    }
+    final double mse = sum / (texels * channels);
+    return mse == 0 ? Double.POSITIVE_INFINITY : 10 * Math.log10(255 * 255 / mse);
+  }
+
+  private static double roundTrip(final BlockCompressor compressor, final Image image,
+      final BlockCompressor.Format format, final int firstChannel, final int channels) {
+    final Image compressed = compressor.compress(image, format);
+    assertEquals(format.getDataFormat(), compressed.getDataFormat());
+    return psnr(image, compressor.decompress(compressed), firstChannel, channels);
+  }
+
+  @Test
+  public void testSizes() {
+    assertEquals(8, BlockCompressor.getCompressedSize(1, 1, BlockCompressor.Format.BC1));
+    assertEquals(16 * 16, BlockCompressor.getCompressedSize(13, 16, BlockCompressor.Format.BC7));
+
+    final Image image = testImage(20, 9);
+    final Image compressed = new BlockCompressor().compress(image, BlockCompressor.Format.BC1);
+    assertEquals(20, compressed.getWidth());
+    assertEquals(9, compressed.getHeight());
+    assertEquals(5 * 3 * 8, compressed.getData(0).capacity());
+    assertNull(compressed.getMipMapByteSizes());
+  }
+
+  @Test
+  public void testMipmaps() {
+    final BlockCompressor compressor = new BlockCompressor();
+    compressor.setMipMapGenerator(new MipMapGenerator());
+    final Image compressed = compressor.compress(testImage(16, 8), BlockCompressor.Format.BC3);
+    // 16x8, 8x4, 4x2, 2x1 and 1x1 levels, the last three a single block each
+    assertArrayEquals(new int[] {8 * 16, 2 * 16, 16, 16, 16}, compressed.getMipMapByteSizes());
+    assertEquals(208, compressed.getData(0).capacity());
+    assertEquals(5, compressor.decompress(compressed).getMipMapByteSizes().length);
+  }
+
+  @Test
+  public void testQuality() {
+    final Image image = testImage(64, 64);
+    final BlockCompressor fast = new BlockCompressor();
+    fast.setQuality(BlockCompressor.Quality.Fast);
+    final BlockCompressor high = new BlockCompressor();
+
+    final double bc1Fast = roundTrip(fast, image, BlockCompressor.Format.BC1, 0, 3);
+    final double bc1High = roundTrip(high, image, BlockCompressor.Format.BC1, 0, 3);
+    assertTrue("BC1 fast " + bc1Fast, bc1Fast > 36);
+    assertTrue("BC1 high " + bc1High, bc1High >= bc1Fast);
+
+    final double bc7Fast = roundTrip(fast, image, BlockCompressor.Format.BC7, 0, 4);
+    final double bc7High = roundTrip(high, image, BlockCompressor.Format.BC7, 0, 4);
+    assertTrue("BC7 fast " + bc7Fast, bc7Fast > 38);
+    assertTrue("BC7 high " + bc7High, bc7High >= bc7Fast);
+
+    // on opaque images, BC7 spends the same bits on color alone
+    final Image opaque = testImage(64, 64, true);
+    assertTrue(roundTrip(high, opaque, BlockCompressor.Format.BC7, 0, 3) > bc1High + 1);
+
+    assertTrue(roundTrip(high, image, BlockCompressor.Format.BC3, 3, 1) > 38);
+    assertTrue(roundTrip(high, image, BlockCompressor.Format.BC3, 0, 3) > 30);
+    // BC4 and BC5 decode as luminance, red ends up in all three color channels
+    assertTrue(roundTrip(high, image, BlockCompressor.Format.BC4, 0, 1) > 38);
+    assertTrue(roundTrip(high, image, BlockCompressor.Format.BC5, 0, 1) > 38);
+  }
+
+  @Test
+  public void testBc5Channels() {
+    final Image image = testImage(16, 16);
+    final BlockCompressor compressor = new BlockCompressor();
+    final Image decoded = compressor.decompress(compressor.compress(image, BlockCompressor.Format.BC5));
+    // green comes back in alpha
+    final ByteBuffer original = image.getData(0), result = decoded.getData(0);
+    for (int i = 0; i < 256; i++) {
+      assertTrue(Math.abs((original.get(i * 4 + 1) & 0xFF) - (result.get(i * 4 + 3) & 0xFF)) <= 6);
+    }
+  }
+
+  @Test
+  public void testExactBlocks() {
+    // blocks of two colors on a 565 grid, or of one grey, compress without loss
+    final ByteBuffer data = BufferUtils.createByteBuffer(8 * 4 * 3);
+    for (int i = 0; i < 32; i++) {
+      final boolean left = i % 8 < 4;
+      data.put(i * 3, (byte) (left ? 0xFF : 0x84));
+      data.put(i * 3 + 1, (byte) (left ? 0x00 : 0x82));
+      data.put(i * 3 + 2, (byte) (left ? (i % 2 == 0 ? 0x00 : 0xFF) : 0x84));
+    }
+    final Image image = new Image(ImageDataFormat.RGB, PixelDataType.UnsignedByte, 8, 4, data, null);
+    final BlockCompressor compressor = new BlockCompressor();
+    final Image decoded = compressor.decompress(compressor.compress(image, BlockCompressor.Format.BC1));
+    for (int i = 0; i < 32; i++) {
+      for (int c = 0; c < 3; c++) {
+        assertEquals(data.get(i * 3 + c), decoded.getData(0).get(i * 4 + c));
+      }
+    }
+  }
+
+  @Test
+  public void testPunchThroughAlpha() {
+    final Image image = testImage(8, 8);
+    final BlockCompressor compressor = new BlockCompressor();
+    final Image decoded = compressor.decompress(compressor.compress(image, BlockCompressor.Format.BC1A));
+    for (int i = 0; i < 64; i++) {
+      final boolean opaque = (image.getData(0).get(i * 4 + 3) & 0xFF) >= 128;
+      assertEquals(opaque ? 255 : 0, decoded.getData(0).get(i * 4 + 3) & 0xFF);
+    }
+  }
+
+  @Test
+  public void testParallelMatchesSequential() {
+    final Image image = testImage(256, 128);
+    final BlockCompressor compressor = new BlockCompressor();
+    for (final BlockCompressor.Format format : BlockCompressor.Format.values()) {
+      compressor.setPool(new ForkJoinPool(4));
+      final Image parallel = compressor.compress(image, format);
+      compressor.setPool(null);
+      final Image sequential = compressor.compress(image, format);
+      final byte[] a = new byte[parallel.getData(0).capacity()], b = new byte[a.length];
+      parallel.getData(0).get(0, a);
+      sequential.getData(0).get(0, b);
+      assertArrayEquals(format.toString(), b, a);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedType() {
+    new BlockCompressor().compress(new Image(ImageDataFormat.RGBA, PixelDataType.Float, 4, 4,
+        BufferUtils.createByteBuffer(64 * 4), null), BlockCompressor.Format.BC1);
+  }
+
+  @Test
+  public void testCachedLoad() throws IOException {
+    // "images" of 16 characters, each a grey texel of a 4x4 Red image
+    final AtomicInteger loads = new AtomicInteger();
+    ImageLoaderUtil.registerHandler((is, flipped) -> {
+      loads.incrementAndGet();
+      final byte[] bytes = is.readAllBytes();
+      return new Image(ImageDataFormat.Red, PixelDataType.UnsignedByte, 4, 4,
+          BufferUtils.createByteBuffer(16).put(bytes, 0, 16).flip(), null);
+    }, ".grey16");
+
+    final File directory = Files.createTempDirectory("ardor3d-block-cache").toFile();
+    try {
+      final ImportCache cache = new ImportCache(directory, 1024 * 1024);
+      final BlockCompressor compressor = new BlockCompressor();
+      final Image first = compressor.load(cache, new StringResourceSource("ABCDEFGHIJKLMNOP", ".grey16"), false,
+          BlockCompressor.Format.BC4);
+      final Image second = compressor.load(cache, new StringResourceSource("ABCDEFGHIJKLMNOP", ".grey16"), false,
+          BlockCompressor.Format.BC4);
+      assertEquals(1, loads.get());
+      assertEquals(ImageDataFormat.PrecompressedLATC_L, second.getDataFormat());
+      final byte[] a = new byte[8], b = new byte[8];
+      first.getData(0).get(0, a);
+      second.getData(0).get(0, b);
+      assertArrayEquals(a, b);
+
+      // a different format is compressed again
+      compressor.load(cache, new StringResourceSource("ABCDEFGHIJKLMNOP", ".grey16"), false,
+          BlockCompressor.Format.BC1);
+      assertEquals(2, loads.get());
+    } finally {
+      ImageLoaderUtil.unregisterHandler(".grey16");
+      for (final File file : directory.listFiles()) {
+        file.delete();
+      }
+      directory.delete();
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+
+public class TestEnvironmentBaker {
+
+  private static EnvironmentBaker smallBaker() {
+    final EnvironmentBaker baker = new EnvironmentBaker();
+    baker.setSourceSize(16);
+    baker.setIrradianceSize(4);
+    baker.setSpecularSize(16);
+    baker.setBrdfSize(8);
+    baker.setSampleCount(64);
+    baker.setHalfFloat(false);
+    return baker;
+  }
+
+  private static Image equirect(final int width, final int height, final float r, final float g, final float b) {
+    final ByteBuffer data = BufferUtils.createByteBuffer(width * height * 3 * 4);
+    for (int i = 0; i < width * height; i++) {
+      data.putFloat(r).putFloat(g).putFloat(b);
+    }
+    return new Image(ImageDataFormat.RGB, PixelDataType.Float, width, height, data.flip(), null);
+  }
+
+  private static void assertConstant(final ByteBuffer data, final int offset, final int texels, final float[] rgb,
+      final float delta) {
+    for (int i = 0; i < texels; i++) {
+      for (int c = 0; c < 3; c++) {
+        assertEquals("texel " + i, rgb[c], data.getFloat(offset + (i * 3 + c) * 4), delta);
+      }
+    }
+  }
+
+  @Test
+  public void testConstantEnvironment() {
+    final float[] radiance = {0.5f, 1f, 2f};
+    final BakedEnvironment baked = smallBaker().bake(equirect(32, 16, radiance[0], radiance[1], radiance[2]));
+
+    // only the constant band, and the irradiance over pi is the radiance
+    final float[] sh = baked.getSphericalHarmonics();
+    for (int c = 0; c < 3; c++) {
+      assertEquals(radiance[c], sh[c] * 0.282095f, 1e-3f);
+      for (int i = 1; i < EnvironmentBaker.SH_COEFFICIENTS; i++) {
+        assertEquals(0f, sh[i * 3 + c], 1e-3f);
+      }
+    }
+
+    final Image irradiance = baked.getIrradiance();
+    assertEquals(6, irradiance.getDataSize());
+    for (int face = 0; face < 6; face++) {
+      assertConstant(irradiance.getData(face), 0, 16, radiance, 1e-3f);
+    }
+
+    // every roughness of a constant environment is the same constant
+    final Image specular = baked.getSpecular();
+    assertEquals(5, specular.getMipMapByteSizes().length);
+    for (int face = 0; face < 6; face++) {
+      int offset = 0;
+      for (final int size : specular.getMipMapByteSizes()) {
+        assertConstant(specular.getData(face), offset, size / 12, radiance, 1e-4f);
+        offset += size;
+      }
+    }
+  }
+
+  @Test
+  public void testDirectionalSphericalHarmonics() {
+    // a cube lit only on +Y
+    final int size = 8;
+    final List<ByteBuffer> faces = new ArrayList<>();
+    for (int face = 0; face < 6; face++) {
+      final ByteBuffer data = BufferUtils.createByteBuffer(size * size * 3 * 2);
+      for (int i = 0; i < size * size * 3; i++) {
+        data.putShort(ImageUtils.floatToHalf(face == 2 ? 1f : 0f));
+      }
+      faces.add(data.flip());
+    }
+    final Image cube = new Image(ImageDataFormat.RGB, PixelDataType.HalfFloat, size, size, faces, null);
+    final float[] sh = smallBaker().computeSphericalHarmonics(cube);
+
+    final float[] up = new float[3], down = new float[3], side = new float[3];
+    EnvironmentBaker.evaluateSphericalHarmonics(sh, 0, 1, 0, up);
+    EnvironmentBaker.evaluateSphericalHarmonics(sh, 0, -1, 0, down);
+    EnvironmentBaker.evaluateSphericalHarmonics(sh, 1, 0, 0, side);
+    assertTrue(up[0] > side[0] && side[0] > down[0]);
+    // the +Y face covers about a sixth of the sphere, seen nearly head on from straight up
+    assertTrue(up[0] > 0.4f && up[0] < 0.8f);
+    assertEquals(0f, down[0], 0.1f);
+    assertEquals(up[0], up[1], 1e-6f);
+  }
+
+  @Test
+  public void testBrdf() {
+    final EnvironmentBaker baker = smallBaker();
+    baker.setSampleCount(256);
+    final Image brdf = baker.bakeBrdf();
+    assertEquals(ImageDataFormat.RG, brdf.getDataFormat());
+    final ByteBuffer data = brdf.getData(0);
+    for (int i = 0; i < 8 * 8; i++) {
+      final float scale = data.getFloat(i * 8), bias = data.getFloat(i * 8 + 4);
+      assertTrue(scale >= 0 && bias >= 0 && scale + bias <= 1.001f);
+    }
+    // smooth and head on reflects everything, through the scale
+    assertEquals(1f, data.getFloat((0 * 8 + 7) * 8), 0.05f);
+    // rough loses much of it to masking
+    assertTrue(data.getFloat((7 * 8 + 7) * 8) + data.getFloat((7 * 8 + 7) * 8 + 4) < 0.5f);
+    // smooth and grazing goes to the bias, the Fresnel term tending to 1
+    assertTrue(data.getFloat(4) > data.getFloat(0));
+  }
+
+  @Test
+  public void testHalfFloatSaveAndLoad() throws IOException {
+    final EnvironmentBaker baker = smallBaker();
+    baker.setHalfFloat(true);
+    baker.setPool(null);
+    final BakedEnvironment baked = baker.bake(equirect(32, 16, 1f, 0.25f, 0f));
+    assertEquals(PixelDataType.HalfFloat, baked.getSpecular().getDataType());
+
+    final File directory = Files.createTempDirectory("env").toFile();
+    try {
+      baked.save(directory);
+      assertTrue(BakedEnvironment.exists(directory));
+      final BakedEnvironment loaded = BakedEnvironment.load(directory);
+      assertArrayEquals(baked.getSphericalHarmonics(), loaded.getSphericalHarmonics(), 0f);
+      assertEquals(6, loaded.getSpecular().getDataSize());
+      assertArrayEquals(baked.getSpecular().getMipMapByteSizes(), loaded.getSpecular().getMipMapByteSizes());
+      assertEquals(baked.getSpecular().getData(3), loaded.getSpecular().getData(3));
+      assertEquals(baked.getBrdf().getData(0), loaded.getBrdf().getData(0));
+    } finally {
+      for (final File file : directory.listFiles()) {
+        file.delete();
+      }
+      directory.delete();
+    }
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.image.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+
+public class TestMipMapGenerator {
+
+  private static Image rgbaImage(final int width, final int height, final int seed) {
+    final ByteBuffer data = BufferUtils.createByteBuffer(width * height * 4);
+    for (int i = 0; i < data.capacity(); i++) {
+      data.put(i, (byte) ((i * 7 + seed) * 13));
+    }
+    return new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, width, height, data, null);
+  }
+
+  private static byte[] level(final Image image, final int face, final int level) {
+    final int[] sizes = image.getMipMapByteSizes();
+    int offset = 0;
+    for (int m = 0; m < level; m++) {
+      offset += sizes[m];
+    }
+    final byte[] bytes = new byte[sizes[level]];
+    image.getData(face).get(offset, bytes);
+    return bytes;
+  }
+
+  @Test
+  public void testLevelSizes() {
+    assertEquals(1, MipMapGenerator.getLevelCount(1, 1));
+    assertEquals(9, MipMapGenerator.getLevelCount(256, 256));
+    assertEquals(9, MipMapGenerator.getLevelCount(256, 16));
+    assertEquals(7, MipMapGenerator.getLevelCount(100, 60));
+
+    final Image mipped = new MipMapGenerator().generate(rgbaImage(16, 4, 1));
+    assertArrayEquals(new int[] {256, 64, 16, 8, 4}, mipped.getMipMapByteSizes());
+    assertEquals(16, mipped.getWidth());
+    assertEquals(4, mipped.getHeight());
+    assertEquals(348, mipped.getData(0).capacity());
+  }
+
+  @Test
+  public void testBoxAverages() {
+    final Image image = rgbaImage(8, 6, 3);
+    final Image mipped = new MipMapGenerator().generate(image);
+    final byte[] base = level(mipped, 0, 0);
+    final byte[] original = new byte[base.length];
+    image.getData(0).get(0, original);
+    assertArrayEquals(original, base);
+
+    // each texel of level 1 is the rounded average of a 2x2 block
+    final byte[] half = level(mipped, 0, 1);
+    for (int y = 0; y < 3; y++) {
+      for (int x = 0; x < 4; x++) {
+        for (int c = 0; c < 4; c++) {
+          int sum = 0;
+          for (int dy = 0; dy < 2; dy++) {
+            for (int dx = 0; dx < 2; dx++) {
+              sum += original[((y * 2 + dy) * 8 + x * 2 + dx) * 4 + c] & 0xFF;
+            }
+          }
+          final int expected = Math.round(sum / 4f);
+          assertTrue(Math.abs(expected - (half[(y * 4 + x) * 4 + c] & 0xFF)) <= 1);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testConstantStaysConstant() {
+    for (final MipMapGenerator.Filter filter : MipMapGenerator.Filter.values()) {
+      for (final boolean srgb : new boolean[] {false, true}) {
+        final ByteBuffer data = BufferUtils.createByteBuffer(37 * 23 * 3);
+        for (int i = 0; i < data.capacity(); i++) {
+          data.put(i, (byte) (i % 3 == 0 ? 200 : i % 3 == 1 ? 17 : 99));
+        }
+        final MipMapGenerator generator = new MipMapGenerator();
+        generator.setFilter(filter);
+        generator.setSrgb(srgb);
+        final Image mipped = generator
+            .generate(new Image(ImageDataFormat.RGB, PixelDataType.UnsignedByte, 37, 23, data, null));
+        final int levels = mipped.getMipMapByteSizes().length;
+        assertEquals(6, levels);
+        for (int m = 1; m < levels; m++) {
+          final byte[] bytes = level(mipped, 0, m);
+          for (int i = 0; i < bytes.length; i++) {
+            final int expected = i % 3 == 0 ? 200 : i % 3 == 1 ? 17 : 99;
+            assertEquals(filter + " " + srgb + " level " + m, expected, bytes[i] & 0xFF);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSrgbAveragesInLinearSpace() {
+    // a black and white checker averages to linear 0.5, which is about 188 in sRGB
+    final ByteBuffer data = BufferUtils.createByteBuffer(4 * 4);
+    for (int i = 0; i < 16; i++) {
+      data.put(i, (byte) (((i & 1) ^ (i >> 2 & 1)) == 0 ? 0 : 255));
+    }
+    final Image image = new Image(ImageDataFormat.Red, PixelDataType.UnsignedByte, 4, 4, data, null);
+
+    final MipMapGenerator generator = new MipMapGenerator();
+    assertEquals(128, level(generator.generate(image), 0, 1)[0] & 0xFF);
+    generator.setSrgb(true);
+    assertEquals(188, level(generator.generate(image), 0, 1)[0] & 0xFF);
+  }
+
+  @Test
+  public void testAlphaCoverage() {
+    // sparse opaque texels: box filtering drops most of them below the cutoff
+    final int size = 64;
+    final ByteBuffer data = BufferUtils.createByteBuffer(size * size * 4);
+    int covered = 0;
+    for (int i = 0; i < size * size; i++) {
+      final boolean opaque = (i * 2654435761L >>> 7) % 5 == 0;
+      data.put(i * 4 + 3, (byte) (opaque ? 255 : 0));
+      covered += opaque ? 1 : 0;
+    }
+    final float coverage = (float) covered / (size * size);
+    final Image image = new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, size, size, data, null);
+
+    final MipMapGenerator generator = new MipMapGenerator();
+    final float plain = alphaCoverage(level(generator.generate(image), 0, 2), 0.5f);
+    generator.setPreserveAlphaCoverage(true);
+    final float preserved = alphaCoverage(level(generator.generate(image), 0, 2), 0.5f);
+    assertTrue(plain < coverage * 0.5f);
+    assertEquals(coverage, preserved, 0.05f);
+  }
+
+  private static float alphaCoverage(final byte[] rgba, final float cutoff) {
+    int covered = 0;
+    for (int i = 3; i < rgba.length; i += 4) {
+      if ((rgba[i] & 0xFF) / 255f > cutoff) {
+        covered++;
+      }
+    }
+    return covered / (rgba.length / 4f);
+  }
+
+  @Test
+  public void testParallelMatchesSequential() {
+    final Image image = rgbaImage(300, 200, 5);
+    image.setData(new ArrayList<>(List.of(image.getData(0), rgbaImage(300, 200, 9).getData(0))));
+    final MipMapGenerator generator = new MipMapGenerator();
+    generator.setFilter(MipMapGenerator.Filter.Lanczos);
+    generator.setWrap(true);
+    generator.setPool(new ForkJoinPool(4));
+    final Image parallel = generator.generate(image);
+    generator.setPool(null);
+    final Image sequential = generator.generate(image);
+    assertEquals(2, parallel.getDataSize());
+    for (int face = 0; face < 2; face++) {
+      for (int m = 0; m < parallel.getMipMapByteSizes().length; m++) {
+        assertArrayEquals(level(sequential, face, m), level(parallel, face, m));
+      }
+    }
+  }
+
+  @Test
+  public void testFloatAndHalf() {
+    final ByteBuffer floats = BufferUtils.createByteBuffer(4 * 2 * 4);
+    final ByteBuffer halves = BufferUtils.createByteBuffer(4 * 2 * 2);
+    for (int i = 0; i < 8; i++) {
+      floats.putFloat(i * 4, i * 10f);
+      halves.putShort(i * 2, ImageUtils.floatToHalf(i * 10f));
+    }
+    final MipMapGenerator generator = new MipMapGenerator();
+    final Image mippedFloats = generator
+        .generate(new Image(ImageDataFormat.Red, PixelDataType.Float, 4, 2, floats, null));
+    final Image mippedHalves = generator
+        .generate(new Image(ImageDataFormat.Red, PixelDataType.HalfFloat, 4, 2, halves, null));
+    // level 1 is 2x1: averages of 0, 10, 40, 50 and of 20, 30, 60, 70
+    assertEquals(25f, mippedFloats.getData(0).getFloat(32), 1e-5f);
+    assertEquals(45f, mippedFloats.getData(0).getFloat(36), 1e-5f);
+    assertEquals(25f, ImageUtils.halfToFloat(mippedHalves.getData(0).getShort(16)), 1e-5f);
+    // level 2 is 1x1
+    assertEquals(35f, mippedFloats.getData(0).getFloat(40), 1e-5f);
+  }
+
+  @Test
+  public void testHalfConversion() {
+    final float[] values = {0f, -0f, 1f, -2.5f, 65504f, 6.1035156e-5f, 5.9604645e-8f, 0.333f, 1000.1f};
+    for (final float value : values) {
+      final float back = ImageUtils.halfToFloat(ImageUtils.floatToHalf(value));
+      assertEquals(value, back, Math.abs(value) / 1024f);
+    }
+    assertEquals((short) 0x3C00, ImageUtils.floatToHalf(1f));
+    assertEquals((short) 0x7C00, ImageUtils.floatToHalf(1e6f));
+    assertEquals((short) 0x0001, ImageUtils.floatToHalf(5.9604645e-8f));
+    assertTrue(Float.isNaN(ImageUtils.halfToFloat(ImageUtils.floatToHalf(Float.NaN))));
+    // ties round to even: 2049 lies halfway between 2048 and 2050
+    assertEquals(2048f, ImageUtils.halfToFloat(ImageUtils.floatToHalf(2049f)), 0f);
+    assertEquals(2052f, ImageUtils.halfToFloat(ImageUtils.floatToHalf(2051f)), 0f);
+    for (int bits = 0; bits < 0x7C00; bits++) {
+      assertEquals(bits, ImageUtils.floatToHalf(ImageUtils.halfToFloat((short) bits)));
+    }
+  }
+}
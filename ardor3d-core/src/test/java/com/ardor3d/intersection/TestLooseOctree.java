@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.intersection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ardor3d.bounding.BoundingBox;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.Spatial;
+import com.ardor3d.scenegraph.shape.Box;
+
+public class TestLooseOctree {
+
+  private Node _root;
+  private List<Box> _boxes;
+  private LooseOctree _octree;
+
+  @Before
+  public void setup() {
+    _root = new Node("root");
+    _boxes = new ArrayList<>();
+    final Random rand = new Random(1234);
+    for (int i = 0; i < 200; i++) {
+      final double size = 0.1 + rand.nextDouble() * (i % 10 == 0 ? 20 : 2);
+      final Box box = new Box("box" + i, Vector3.ZERO, size, size, size);
+      box.setModelBound(new BoundingBox());
+      box.setTranslation(rand.nextDouble() * 200 - 100, rand.nextDouble() * 200 - 100, rand.nextDouble() * 200 - 100);
+      _root.attachChild(box);
+      _boxes.add(box);
+    }
+    _root.updateGeometricState(0);
+
+    _octree = new LooseOctree(Vector3.ZERO, 100);
+    _octree.watch(_root);
+  }
+
+  @Test
+  public void testSphereMatchesBruteForce() {
+    final Vector3 center = new Vector3(10, -5, 20);
+    final double radius = 40;
+    final Set<Spatial> found = new HashSet<>();
+    final int count = _octree.findInSphere(center, radius, found);
+    assertEquals(found.size(), count);
+
+    final Set<Spatial> expected = new HashSet<>();
+    for (final Box box : _boxes) {
+      if (distanceSquared(box, center) <= radius * radius) {
+        expected.add(box);
+      }
+    }
+    assertEquals(expected, found);
+  }
+
+  @Test
+  public void testNearestMatchesBruteForce() {
+    final Vector3 point = new Vector3(-30, 12, 4);
+    final List<Spatial> found = new ArrayList<>();
+    assertEquals(5, _octree.findNearest(point, 5, found));
+
+    final List<Box> sorted = new ArrayList<>(_boxes);
+    sorted.sort((a, b) -> Double.compare(distanceSquared(a, point), distanceSquared(b, point)));
+    for (int i = 0; i < 5; i++) {
+      assertEquals(distanceSquared(sorted.get(i), point), distanceSquared((Box) found.get(i), point), 1e-9);
+    }
+  }
+
+  @Test
+  public void testFrustum() {
+    final Camera camera = new Camera(800, 600);
+    camera.setFrustumPerspective(60, 800 / 600.0, 1, 1000);
+    camera.setLocation(0, 0, 150);
+    camera.lookAt(Vector3.ZERO, Vector3.UNIT_Y);
+    camera.update();
+
+    final Set<Spatial> found = new HashSet<>();
+    _octree.findInFrustum(camera, found);
+    for (final Box box : _boxes) {
+      camera.setPlaneState(0);
+      final boolean visible = camera.contains(box.getWorldBound()) != Camera.FrustumIntersect.Outside;
+      assertEquals(box.getName(), visible, found.contains(box));
+    }
+    assertFalse(found.isEmpty());
+    assertTrue(found.size() < _boxes.size());
+  }
+
+  @Test
+  public void testFollowsScene() {
+    assertEquals(_boxes.size(), _octree.size());
+
+    // move a box far away and check it is found at its new location
+    final Box box = _boxes.get(1);
+    box.setTranslation(500, 500, 500);
+    _root.updateGeometricState(0);
+    final List<Spatial> found = new ArrayList<>();
+    _octree.findInSphere(new Vector3(500, 500, 500), 1, found);
+    assertEquals(1, found.size());
+    assertSame(box, found.get(0));
+
+    // detach it
+    _root.detachChild(box);
+    assertFalse(_octree.contains(box));
+    found.clear();
+    assertEquals(0, _octree.findInSphere(new Vector3(500, 500, 500), 1, found));
+
+    // attach a subtree with a new mesh
+    final Node sub = new Node("sub");
+    final Mesh mesh = new Box("new", Vector3.ZERO, 1, 1, 1);
+    mesh.setModelBound(new BoundingBox());
+    mesh.setTranslation(50, 50, 50);
+    sub.attachChild(mesh);
+    _root.attachChild(sub);
+    _root.updateGeometricState(0);
+    assertTrue(_octree.contains(mesh));
+    assertFalse(_octree.contains(sub));
+    found.clear();
+    _octree.findNearest(new Vector3(50, 50, 50), 1, found);
+    assertSame(mesh, found.get(0));
+
+    _octree.unwatch(_root);
+    assertEquals(0, _octree.size());
+  }
+
+  @Test
+  public void testMoveWithinSharedBranch() {
+    // the old and new nodes share an ancestor that empties when the box leaves its old node
+    final LooseOctree octree = new LooseOctree(Vector3.ZERO, 100, 4);
+    final Box box = new Box("moving", Vector3.ZERO, 1, 1, 1);
+    box.setModelBound(new BoundingBox());
+    box.setTranslation(50, 50, 50);
+    box.updateGeometricState(0);
+    octree.add(box);
+
+    box.setTranslation(90, 90, 90);
+    box.updateGeometricState(0);
+    assertTrue(octree.update(box));
+    assertEquals(1, octree.size());
+
+    final List<Spatial> found = new ArrayList<>();
+    assertEquals(1, octree.findInSphere(new Vector3(90, 90, 90), 1, found));
+    assertSame(box, found.get(0));
+    found.clear();
+    assertEquals(1, octree.findNearest(new Vector3(80, 80, 80), 1, found));
+    assertSame(box, found.get(0));
+    found.clear();
+    assertEquals(0, octree.findInSphere(new Vector3(50, 50, 50), 1, found));
+  }
+
+  private static double distanceSquared(final Box box, final Vector3 point) {
+    final BoundingBox bound = (BoundingBox) box.getWorldBound();
+    final double dx = Math.max(0, Math.abs(point.getX() - bound.getCenter().getX()) - bound.getXExtent());
+    final double dy = Math.max(0, Math.abs(point.getY() - bound.getCenter().getY()) - bound.getYExtent());
+    final double dz = Math.max(0, Math.abs(point.getZ() - bound.getCenter().getZ()) - bound.getZExtent());
+    return dx * dx + dy * dy + dz * dz;
+  }
+}
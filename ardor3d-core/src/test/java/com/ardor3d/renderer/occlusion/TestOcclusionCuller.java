@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.occlusion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ardor3d.bounding.BoundingBox;
+import com.ardor3d.bounding.BoundingSphere;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.hint.OcclusionHint;
+import com.ardor3d.scenegraph.shape.Quad;
+
+public class TestOcclusionCuller {
+
+  private Camera _camera;
+  private Node _root;
+  private OcclusionCuller _culler;
+
+  @Before
+  public void setup() {
+    _camera = new Camera(800, 400);
+    _camera.setFrustumPerspective(60, 2, 1, 1000);
+    _camera.setLocation(0, 0, 0);
+    _camera.lookAt(new Vector3(0, 0, -1), Vector3.UNIT_Y);
+    _camera.update();
+
+    // a 10x20 wall, 10 units in front of the camera
+    final Quad wall = new Quad("wall", 10, 20);
+    wall.setTranslation(0, 0, -10);
+    wall.getSceneHints().setOcclusionHint(OcclusionHint.Occluder);
+
+    _root = new Node("root");
+    _root.attachChild(wall);
+    _root.updateGeometricState(0);
+
+    _culler = new OcclusionCuller(128, 64, 16);
+  }
+
+  @Test
+  public void testBehindWall() {
+    _culler.update(_camera, _root);
+    assertEquals(2, _culler.getOccluderTriangleCount());
+
+    assertTrue(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, -30), 2, 2, 2)));
+    assertTrue(_culler.isOccluded(new BoundingSphere(2, new Vector3(1, -1, -50))));
+  }
+
+  @Test
+  public void testNotOccluded() {
+    _culler.update(_camera, _root);
+
+    // in front of the wall
+    assertFalse(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, -5), 1, 1, 1)));
+    // behind the wall, but poking out past its edge
+    assertFalse(_culler.isOccluded(new BoundingBox(new Vector3(10, 0, -20), 2, 1, 1)));
+    // straddling the near plane
+    assertFalse(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, 0), 1, 1, 1)));
+    assertEquals(0, _culler.getCulledCount());
+  }
+
+  @Test
+  public void testHintsAndState() {
+    // not active before rasterizing
+    assertFalse(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, -30), 2, 2, 2)));
+
+    _root.getChild(0).getSceneHints().setOcclusionHint(OcclusionHint.Inherit);
+    _culler.update(_camera, _root);
+    assertEquals(0, _culler.getOccluderTriangleCount());
+    assertFalse(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, -30), 2, 2, 2)));
+
+    // occluder hint inherited from the parent
+    _root.getSceneHints().setOcclusionHint(OcclusionHint.Occluder);
+    _culler.update(_camera, _root);
+    assertEquals(2, _culler.getOccluderTriangleCount());
+    assertTrue(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, -30), 2, 2, 2)));
+
+    _culler.setEnabled(false);
+    assertFalse(_culler.isOccluded(new BoundingBox(new Vector3(0, 0, -30), 2, 2, 2)));
+  }
+
+  @Test
+  public void testSerialMatchesParallel() {
+    _culler.setPool(null);
+    _culler.update(_camera, _root);
+    final float[] serial = new float[_culler.getLevelCount()];
+    for (int i = 0; i < serial.length; i++) {
+      serial[i] = _culler.getDepth(i, 0, 0);
+    }
+
+    _culler.setPool(ForkJoinPool.commonPool());
+    _culler.update(_camera, _root);
+    for (int i = 0; i < serial.length; i++) {
+      assertEquals(serial[i], _culler.getDepth(i, 0, 0), 0f);
+    }
+
+    // the wall covers the center of the buffer, and the pyramid top sees the empty background
+    assertTrue(_culler.getDepth(0, 64, 32) < 1f);
+    assertEquals(1f, _culler.getDepth(_culler.getLevelCount() - 1, 0, 0), 0f);
+  }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.texture;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.Texture.MinificationFilter;
+import com.ardor3d.image.Texture2D;
+import com.ardor3d.image.TextureStoreFormat;
+import com.ardor3d.image.util.MipMapGenerator;
+import com.ardor3d.renderer.RenderContext.RenderContextRef;
+import com.ardor3d.util.TextureKey;
+
+public class TestTextureResidencyManager {
+
+  /** Textures deleted through the fake texture utils. */
+  private final List<Texture> _deleted = new ArrayList<>();
+
+  private final ITextureUtils _utils = (ITextureUtils) Proxy.newProxyInstance(ITextureUtils.class.getClassLoader(),
+      new Class<?>[] {ITextureUtils.class}, (proxy, method, args) -> {
+        if (method.getName().equals("deleteTexture")) {
+          _deleted.add((Texture) args[0]);
+        }
+        return null;
+      });
+
+  private static Texture2D texture(final String id, final int size, final MinificationFilter filter) {
+    final Texture2D texture = new Texture2D();
+    texture.setTextureKey(TextureKey.getKey(null, false, TextureStoreFormat.RGBA8, id, filter));
+    texture.setMinificationFilter(filter);
+    texture.setTextureStoreFormat(TextureStoreFormat.RGBA8);
+    texture.setImage(new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, size, size,
+        BufferUtils.createByteBuffer(size * size * 4), null));
+    return texture;
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    // 64x64 RGBA without mipmaps is 16384 bytes, so 2 fit
+    final TextureResidencyManager manager = new TextureResidencyManager(40000);
+    final Texture2D a = texture("a", 64, MinificationFilter.BilinearNoMipMaps);
+    final Texture2D b = texture("b", 64, MinificationFilter.BilinearNoMipMaps);
+    final Texture2D c = texture("c", 64, MinificationFilter.BilinearNoMipMaps);
+
+    manager.touch(a);
+    manager.update(_utils);
+    manager.touch(b);
+    manager.update(_utils);
+    assertEquals(2 * 16384, manager.getResidentBytes());
+    assertTrue(_deleted.isEmpty());
+
+    manager.touch(c);
+    assertEquals(3 * 16384, manager.getResidentBytes());
+    assertEquals(16384, manager.update(_utils));
+    assertEquals(List.of(a), _deleted);
+    assertFalse(manager.isResident(a));
+    assertTrue(manager.isResident(b));
+    assertEquals(2 * 16384, manager.getResidentBytes());
+
+    // drawing a again loads it again, and now b is the oldest
+    manager.touch(a);
+    manager.touch(c);
+    manager.update(_utils);
+    assertEquals(List.of(a, b), _deleted);
+    assertEquals(2, manager.getEvictionCount());
+  }
+
+  @Test
+  public void testTexturesInUseAreKept() {
+    final TextureResidencyManager manager = new TextureResidencyManager(20000);
+    final Texture2D a = texture("a", 64, MinificationFilter.BilinearNoMipMaps);
+    final Texture2D b = texture("b", 64, MinificationFilter.BilinearNoMipMaps);
+    manager.touch(a);
+    manager.touch(b);
+    // too small to drop levels from, so both stay though over budget
+    manager.update(_utils);
+    assertTrue(_deleted.isEmpty());
+    assertEquals(2 * 16384, manager.getResidentBytes());
+  }
+
+  @Test
+  public void testPinnedAndRenderTargetsKept() {
+    final TextureResidencyManager manager = new TextureResidencyManager(1);
+    final Texture2D pinned = texture("pinned", 64, MinificationFilter.BilinearNoMipMaps);
+    final Texture2D target = texture("unused", 64, MinificationFilter.BilinearNoMipMaps);
+    target.setTextureKey(TextureKey.getRTTKey(MinificationFilter.BilinearNoMipMaps));
+    final Texture2D imageless = new Texture2D();
+    imageless.setTextureKey(TextureKey.getKey(null, false, TextureStoreFormat.RGBA8, "imageless",
+        MinificationFilter.BilinearNoMipMaps));
+    manager.setPinned(pinned, true);
+    manager.touch(pinned);
+    manager.touch(target);
+    manager.touch(imageless);
+    manager.update(_utils);
+    manager.update(_utils);
+    assertTrue(_deleted.isEmpty());
+    assertTrue(manager.isPinned(pinned));
+    assertTrue(manager.isResident(target));
+  }
+
+  @Test
+  public void testDropAndRestoreLevels() {
+    // 256x256 with its mipmaps is 349524 bytes
+    final TextureResidencyManager manager = new TextureResidencyManager(200000);
+    final Texture2D big = texture("big", 256, MinificationFilter.Trilinear);
+    big.setImage(new MipMapGenerator().generate(big.getImage()));
+    final Texture2D small = texture("small", 64, MinificationFilter.Trilinear);
+    assertEquals(349524, TextureResidencyManager.estimateBytes(big, big.getImage()));
+
+    manager.touch(big);
+    manager.touch(small);
+    manager.update(_utils);
+    assertEquals(List.of(big), _deleted);
+    assertEquals(1, manager.getDroppedLevels(big));
+    assertEquals(1, manager.getDropCount());
+
+    // reloaded at half the size, from the levels in its image
+    final Image reduced = manager.getUploadImage(big);
+    assertEquals(128, reduced.getWidth());
+    assertEquals(8, reduced.getMipMapByteSizes().length);
+    assertSame(reduced, manager.getUploadImage(big));
+    manager.touch(big);
+    manager.touch(small);
+    assertEquals(87380 + 21845, manager.getResidentBytes());
+
+    // not restored while that would come close to the budget again
+    manager.update(_utils);
+    assertEquals(1, manager.getDroppedLevels(big));
+
+    manager.setBudget(1000000);
+    manager.touch(big);
+    manager.touch(small);
+    manager.update(_utils);
+    assertEquals(0, manager.getDroppedLevels(big));
+    assertEquals(List.of(big, big), _deleted);
+    assertSame(big.getImage(), manager.getUploadImage(big));
+  }
+
+  @Test
+  public void testNoLevelsDroppedWithoutMipmaps() {
+    // the driver generates the mipmaps of this one, so it can only be deleted
+    final TextureResidencyManager manager = new TextureResidencyManager(200000);
+    final Texture2D big = texture("big", 256, MinificationFilter.Trilinear);
+    manager.touch(big);
+    manager.update(_utils);
+    assertTrue(_deleted.isEmpty());
+    assertEquals(0, manager.getDroppedLevels(big));
+    assertSame(big.getImage(), manager.getUploadImage(big));
+  }
+
+  @Test
+  public void testClearOnlyOwnContext() {
+    final TextureResidencyManager manager = new TextureResidencyManager();
+    final RenderContextRef own = new RenderContextRef();
+    manager.setContextRef(own);
+    final Texture2D a = texture("a", 64, MinificationFilter.BilinearNoMipMaps);
+    manager.touch(a);
+
+    manager.clear(new RenderContextRef());
+    assertTrue(manager.isResident(a));
+    assertEquals(16384, manager.getResidentBytes());
+
+    manager.clear(own);
+    assertFalse(manager.isResident(a));
+    assertEquals(0, manager.getResidentBytes());
+  }
+
+  @Test
+  public void testDropLevels() {
+    // an 8x8 image with its mipmaps, each texel holding its level
+    final int[] sizes = {256, 64, 16, 4};
+    final ByteBuffer data = BufferUtils.createByteBuffer(340);
+    for (int m = 0, pos = 0; m < sizes.length; pos += sizes[m++]) {
+      for (int i = 0; i < sizes[m]; i++) {
+        data.put(pos + i, (byte) m);
+      }
+    }
+    final Image image = new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, 8, 8, data, sizes);
+
+    final Image reduced = TextureResidencyManager.dropLevels(image, 2);
+    assertEquals(2, reduced.getWidth());
+    assertEquals(2, reduced.getHeight());
+    assertArrayEquals(new int[] {16, 4}, reduced.getMipMapByteSizes());
+    assertEquals(20, reduced.getData(0).limit());
+    assertEquals(2, reduced.getData(0).get(0));
+    assertEquals(3, reduced.getData(0).get(16));
+
+    // never past the last level
+    assertEquals(1, TextureResidencyManager.dropLevels(image, 10).getWidth());
+  }
+}
@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.renderer.texture;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.Texture2D;
+
+public class TestTextureUploadScheduler {
+
+  /**
+   * Records slices into a tightly packed copy of the destination texture.
+   */
+  private static class RecordingUploader implements ITextureUploader {
+    final List<TextureUpload.Slice> _slices = new ArrayList<>();
+    final byte[] _texels;
+    final int _width, _height, _bpp;
+    int _maxSliceBytes = Integer.MAX_VALUE;
+    long _available = Long.MAX_VALUE;
+    /** A texture that is not on the card, so its slices are refused. */
+    Texture _missing;
+
+    RecordingUploader(final int width, final int height, final int depth, final int bpp) {
+      _texels = new byte[width * height * depth * bpp];
+      _width = width;
+      _height = height;
+      _bpp = bpp;
+    }
+
+    @Override
+    public int getMaxSliceBytes() { return _maxSliceBytes; }
+
+    @Override
+    public long getAvailableBytes() { return _available; }
+
+    @Override
+    public boolean upload(final TextureUpload upload, final TextureUpload.Slice slice) {
+      assertTrue(slice.getByteSize() <= _available);
+      if (upload.getTexture() == _missing) {
+        return false;
+      }
+      _available -= slice.getByteSize();
+      _slices.add(slice);
+      final ByteBuffer staged = ByteBuffer.allocate(slice.getByteSize());
+      upload.copySlice(slice, staged);
+      assertEquals(slice.getByteSize(), staged.position());
+      staged.flip();
+      final int rowBytes = slice.getWidth() * _bpp;
+      for (int z = 0; z < slice.getDepth(); z++) {
+        for (int y = 0; y < slice.getHeight(); y++) {
+          final int dstZ = upload.getOffsetZ() + slice.getZ() + z;
+          final int dstY = upload.getOffsetY() + slice.getY() + y;
+          final int dstX = upload.getOffsetX() + slice.getX();
+          staged.get(_texels, ((dstZ * _height + dstY) * _width + dstX) * _bpp, rowBytes);
+        }
+      }
+      return true;
+    }
+  }
+
+  private static ByteBuffer pattern(final int size) {
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    for (int i = 0; i < size; i++) {
+      buffer.put(i, (byte) (i * 31 + 7));
+    }
+    return buffer;
+  }
+
+  @Test
+  public void testWholeImageInOneSlice() {
+    final ByteBuffer source = pattern(16 * 8 * 4);
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    final TextureUpload upload = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 16, 8, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, source));
+    assertEquals(512, scheduler.getPendingBytes());
+
+    final RecordingUploader uploader = new RecordingUploader(16, 8, 1, 4);
+    assertEquals(512, scheduler.update(uploader));
+    assertEquals(1, uploader._slices.size());
+    assertTrue(upload.isDone());
+    assertEquals(0, scheduler.getPendingCount());
+    assertEquals(0, scheduler.getPendingBytes());
+    assertArrayEquals(source.array(), uploader._texels);
+  }
+
+  @Test
+  public void testSlicingAndBudget() {
+    // 64x64 RGBA rows are 256 bytes; 1000 byte slices hold 3 rows
+    final ByteBuffer source = pattern(64 * 64 * 4);
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    scheduler.setMaxSliceBytes(1000);
+    scheduler.setFrameBudget(4096);
+    final TextureUpload upload = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 64, 64, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, source));
+
+    final RecordingUploader uploader = new RecordingUploader(64, 64, 1, 4);
+    int frames = 0;
+    while (!upload.isDone()) {
+      final long sent = scheduler.update(uploader);
+      assertTrue(sent <= 4096);
+      assertTrue(sent > 0);
+      frames++;
+    }
+    // 21 slices of 3 rows and one of 1 row, 5 slices of 768 bytes fit a frame
+    assertEquals(22, uploader._slices.size());
+    assertEquals(5, frames);
+    for (final TextureUpload.Slice slice : uploader._slices) {
+      assertTrue(slice.getByteSize() <= 1000);
+      assertEquals(64, slice.getWidth());
+    }
+    assertArrayEquals(source.array(), uploader._texels);
+    assertEquals(0, scheduler.getPendingBytes());
+  }
+
+  @Test
+  public void testSplitRows() {
+    // rows of 100 bytes, slices of at most 40 bytes
+    final ByteBuffer source = pattern(25 * 3 * 4);
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    scheduler.setMaxSliceBytes(40);
+    scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 25, 3, 1, ImageDataFormat.RGBA,
+        PixelDataType.UnsignedByte, source));
+
+    final RecordingUploader uploader = new RecordingUploader(25, 3, 1, 4);
+    scheduler.update(uploader);
+    // each row in slices of 10, 10 and 5 pixels
+    assertEquals(9, uploader._slices.size());
+    assertEquals(5, uploader._slices.get(2).getWidth());
+    assertEquals(20, uploader._slices.get(2).getX());
+    assertEquals(1, uploader._slices.get(3).getY());
+    assertArrayEquals(source.array(), uploader._texels);
+  }
+
+  @Test
+  public void testSubRegionAndSourceLayout() {
+    // update a 5x4 box at 3, 2 from a 10 pixel wide source, starting at pixel 2, 1
+    final int bpp = 3;
+    final ByteBuffer source = pattern(10 * 6 * bpp);
+    source.position((1 * 10 + 2) * bpp);
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    scheduler.setMaxSliceBytes(2 * 5 * bpp);
+    scheduler.add(new TextureUpload(new Texture2D(), null, 0, 3, 2, 0, 5, 4, 1, ImageDataFormat.RGB,
+        PixelDataType.UnsignedByte, source, 10, 6));
+
+    final RecordingUploader uploader = new RecordingUploader(8, 6, 1, bpp);
+    scheduler.update(uploader);
+    assertEquals(2, uploader._slices.size());
+
+    for (int y = 0; y < 6; y++) {
+      for (int x = 0; x < 8; x++) {
+        for (int c = 0; c < bpp; c++) {
+          final byte actual = uploader._texels[(y * 8 + x) * bpp + c];
+          if (x >= 3 && y >= 2) {
+            final int srcX = x - 3 + 2, srcY = y - 2 + 1;
+            assertEquals(source.get((srcY * 10 + srcX) * bpp + c), actual);
+          } else {
+            assertEquals(0, actual);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLayers() {
+    // 4 layers of 8x8 single channel texels, 2 layers per slice
+    final ByteBuffer source = pattern(8 * 8 * 4);
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    scheduler.setMaxSliceBytes(150);
+    scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 8, 8, 4, ImageDataFormat.Red,
+        PixelDataType.UnsignedByte, source));
+
+    final RecordingUploader uploader = new RecordingUploader(8, 8, 4, 1);
+    scheduler.update(uploader);
+    assertEquals(2, uploader._slices.size());
+    assertEquals(2, uploader._slices.get(0).getDepth());
+    assertEquals(2, uploader._slices.get(1).getZ());
+    assertArrayEquals(source.array(), uploader._texels);
+  }
+
+  @Test
+  public void testStagingSpaceAndOrder() {
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    final TextureUpload a = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 32, 32, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, pattern(32 * 32 * 4)));
+    final TextureUpload b = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 32, 32, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, pattern(32 * 32 * 4)));
+
+    // the uploader stages at most 1024 bytes at once, with 1536 bytes of room this frame
+    final RecordingUploader uploader = new RecordingUploader(32, 32, 1, 4);
+    uploader._maxSliceBytes = 1024;
+    uploader._available = 1536;
+    assertEquals(1024, scheduler.update(uploader));
+    assertFalse(a.isDone());
+
+    // no room: nothing is sent, not even a first slice
+    uploader._available = 512;
+    assertEquals(0, scheduler.update(uploader));
+    assertEquals(8192 - 1024, scheduler.getPendingBytes());
+
+    uploader._available = Long.MAX_VALUE;
+    scheduler.update(uploader);
+    assertTrue(a.isDone());
+    assertTrue(b.isDone());
+    assertEquals(0, scheduler.getPendingBytes());
+  }
+
+  @Test
+  public void testRefusedUploadStaysQueued() {
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    final Texture missing = new Texture2D();
+    final TextureUpload a = scheduler.add(new TextureUpload(missing, null, 0, 0, 0, 0, 16, 16, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, pattern(1024)));
+    final ByteBuffer source = pattern(1024);
+    final TextureUpload b = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 16, 16, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, source));
+
+    // the refused upload is neither dropped nor counted, and does not hold up the next
+    final RecordingUploader uploader = new RecordingUploader(16, 16, 1, 4);
+    uploader._missing = missing;
+    assertEquals(1024, scheduler.update(uploader));
+    assertFalse(a.isDone());
+    assertTrue(b.isDone());
+    assertArrayEquals(source.array(), uploader._texels);
+    assertEquals(1, scheduler.getPendingCount());
+    assertEquals(1024, scheduler.getPendingBytes());
+    assertEquals(0, scheduler.update(uploader));
+    assertFalse(a.isDone());
+
+    // sent once its texture is on the card
+    uploader._missing = null;
+    assertEquals(1024, scheduler.update(uploader));
+    assertTrue(a.isDone());
+    assertEquals(0, scheduler.getPendingCount());
+    assertEquals(0, scheduler.getPendingBytes());
+  }
+
+  @Test
+  public void testRemoveAndClear() {
+    final TextureUploadScheduler scheduler = new TextureUploadScheduler();
+    scheduler.setMaxSliceBytes(256);
+    scheduler.setFrameBudget(256);
+    final TextureUpload a = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 16, 16, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, pattern(1024)));
+    final TextureUpload b = scheduler.add(new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 16, 16, 1,
+        ImageDataFormat.RGBA, PixelDataType.UnsignedByte, pattern(1024)));
+    final RecordingUploader uploader = new RecordingUploader(16, 16, 1, 4);
+    scheduler.update(uploader);
+    assertEquals(2048 - 256, scheduler.getPendingBytes());
+
+    assertTrue(scheduler.remove(a));
+    assertFalse(scheduler.remove(a));
+    assertEquals(1024, scheduler.getPendingBytes());
+    assertEquals(1, scheduler.getPendingCount());
+
+    scheduler.clear();
+    assertEquals(0, scheduler.getPendingBytes());
+    assertEquals(0, scheduler.getPendingCount());
+    assertFalse(b.isDone());
+    assertEquals(0, scheduler.update(uploader));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSourceTooSmall() {
+    new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 16, 16, 1, ImageDataFormat.RGBA, PixelDataType.UnsignedByte,
+        ByteBuffer.allocate(1023));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompressedRejected() {
+    new TextureUpload(new Texture2D(), null, 0, 0, 0, 0, 16, 16, 1, ImageDataFormat.PrecompressedDXT1,
+        PixelDataType.UnsignedByte, ByteBuffer.allocate(1024));
+  }
+}
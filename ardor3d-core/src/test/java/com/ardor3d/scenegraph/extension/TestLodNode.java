@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.scenegraph.extension;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.ardor3d.bounding.BoundingSphere;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.scenegraph.shape.Box;
+
+public class TestLodNode {
+
+  @Test
+  public void testSelectLevel() {
+    final LodNode node = new LodNode("lod", 100, 50, 10);
+    node.setHysteresis(0.1);
+
+    assertEquals(0, node.selectLevel(200));
+    assertEquals(0, node.selectLevel(95)); // within hysteresis of 100
+    assertEquals(1, node.selectLevel(89));
+    assertEquals(1, node.selectLevel(105)); // must pass 110 to refine
+    assertEquals(0, node.selectLevel(111));
+    assertEquals(2, node.selectLevel(20));
+    assertEquals(3, node.selectLevel(5)); // below all thresholds - nothing drawn
+    assertEquals(3, node.selectLevel(10.5));
+    assertEquals(2, node.selectLevel(11.5));
+
+    node.setCurrentLevel(LodNode.NO_LEVEL);
+    assertEquals(1, node.selectLevel(95));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadThresholds() {
+    new LodNode("lod", 10, 50);
+  }
+
+  @Test
+  public void testProjectedSize() {
+    final Camera camera = new Camera(800, 600);
+    camera.setFrustumPerspective(90, 800 / 600.0, 1, 1000);
+    camera.setLocation(0, 0, 0);
+    camera.lookAt(new Vector3(0, 0, -1), Vector3.UNIT_Y);
+    camera.update();
+
+    final LodNode node = new LodNode("lod", 0);
+    final Box box = new Box("box", Vector3.ZERO, 1, 1, 1);
+    box.setModelBound(new BoundingSphere());
+    node.attachChild(box);
+    node.setTranslation(0, 0, -10);
+    node.updateGeometricState(0);
+
+    // view volume is 20 units tall at distance 10, bound diameter is 2 * sqrt(3)
+    assertEquals(2 * Math.sqrt(3) / 20.0 * 600, node.getProjectedSize(camera), 0.01);
+  }
+}
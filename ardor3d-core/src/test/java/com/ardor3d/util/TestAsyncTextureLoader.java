@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.TextureStoreFormat;
+import com.ardor3d.renderer.texture.ITextureUtils;
+import com.ardor3d.util.resource.StringResourceSource;
+
+public class TestAsyncTextureLoader {
+
+  /** Decodes a 4x4 RGBA image for any source, after the first decode is let through by the gate. */
+  private static class TestLoader extends AsyncTextureLoader {
+    final CountDownLatch _gate = new CountDownLatch(1);
+    final List<String> _decoded = Collections.synchronizedList(new ArrayList<>());
+
+    TestLoader(final Object key) {
+      super(key, 1);
+    }
+
+    @Override
+    protected Image decode(final TextureKey key) {
+      try {
+        _gate.await(5, TimeUnit.SECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      final String name = ((StringResourceSource) key.getSource()).getType();
+      _decoded.add(name);
+      return new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, 4, 4, BufferUtils.createByteBuffer(64),
+          null);
+    }
+
+    Request load(final String name, final float priority) {
+      return load(new StringResourceSource("", name), Texture.MinificationFilter.BilinearNoMipMaps,
+          TextureStoreFormat.RGBA8, false, priority);
+    }
+
+    void awaitDecoded(final int count) throws InterruptedException {
+      final long end = System.currentTimeMillis() + 5000;
+      while (_decoded.size() < count && System.currentTimeMillis() < end) {
+        Thread.sleep(5);
+      }
+      assertEquals(count, _decoded.size());
+    }
+  }
+
+  private static ITextureUtils recordingUtils(final List<Texture> uploads) {
+    return (ITextureUtils) Proxy.newProxyInstance(ITextureUtils.class.getClassLoader(),
+        new Class<?>[] {ITextureUtils.class}, (proxy, method, args) -> {
+          if (method.getName().equals("loadTexture")) {
+            uploads.add((Texture) args[0]);
+          }
+          return null;
+        });
+  }
+
+  @Test
+  public void testDecodeAndUploadByPriority() throws Exception {
+    final Object queueKey = new Object();
+    final TestLoader loader = new TestLoader(queueKey);
+    try {
+      // the first request occupies the only decode thread until the gate opens
+      final AsyncTextureLoader.Request first = loader.load("first", 0);
+      Thread.sleep(50);
+      final AsyncTextureLoader.Request low = loader.load("low", 1);
+      final AsyncTextureLoader.Request high = loader.load("high", 5);
+      final AsyncTextureLoader.Request mid = loader.load("mid", 3);
+      low.setPriority(10);
+      assertFalse(low.isDone());
+      final Texture placeholder = high.getTexture();
+
+      loader._gate.countDown();
+      loader.awaitDecoded(4);
+      assertEquals(Arrays.asList("first", "low", "high", "mid"), loader._decoded);
+      assertTrue(GameTaskQueueManager.getManager(queueKey).getQueue(GameTaskQueue.RENDER).size() > 0);
+
+      // each image is 64 bytes, so two fit in a budget of 100
+      loader.setUploadBudget(100);
+      final List<Texture> uploads = new ArrayList<>();
+      assertEquals(128, loader.uploadPending(recordingUtils(uploads)));
+      assertEquals(Arrays.asList(low.getTexture(), high.getTexture()), uploads);
+      assertTrue(high.isDone());
+      assertFalse(mid.isDone());
+      assertSame(placeholder, high.getTexture());
+      assertEquals(4, high.getTexture().getImage().getWidth());
+      assertSame(high.getKey(), high.getTexture().getTextureKey());
+
+      loader.uploadPending(recordingUtils(uploads));
+      assertEquals(Arrays.asList(low.getTexture(), high.getTexture(), mid.getTexture(), first.getTexture()), uploads);
+      assertEquals(0, loader.getPendingCount());
+    } finally {
+      loader.shutdown();
+      GameTaskQueueManager.clearManager(queueKey);
+    }
+  }
+
+  @Test
+  public void testSameKeySharesRequest() throws Exception {
+    final TestLoader loader = new TestLoader(new Object());
+    try {
+      final StringResourceSource source = new StringResourceSource("", "shared");
+      final AsyncTextureLoader.Request a =
+          loader.load(source, Texture.MinificationFilter.BilinearNoMipMaps, TextureStoreFormat.RGBA8, false, 1);
+      final AsyncTextureLoader.Request b =
+          loader.load(source, Texture.MinificationFilter.BilinearNoMipMaps, TextureStoreFormat.RGBA8, false, 2);
+      assertSame(a, b);
+      assertEquals(2, a.getPriority(), 0);
+      loader._gate.countDown();
+      loader.awaitDecoded(1);
+    } finally {
+      loader.shutdown();
+    }
+  }
+}
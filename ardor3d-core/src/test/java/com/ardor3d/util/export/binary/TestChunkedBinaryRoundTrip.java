@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+
+/**
+ * Tests {@link ChunkedBinaryExporter}/{@link ChunkedBinaryImporter} and the chunk codecs.
+ */
+public class TestChunkedBinaryRoundTrip {
+
+  private static Node createScene(final int meshes, final int floats) {
+    final Node root = new Node("root");
+    final RefHolder shared = new RefHolder(5);
+    for (int i = 0; i < meshes; i++) {
+      final Mesh mesh = new Mesh("mesh" + i);
+      final MeshData data = new MeshData();
+      final FloatBuffer vertices = BufferUtils.createFloatBuffer(floats);
+      for (int j = 0; j < floats; j++) {
+        vertices.put(j, i + j * 0.25f);
+      }
+      data.setVertexBuffer(vertices);
+      mesh.setMeshData(data);
+      mesh.setProperty("shared", shared);
+      root.attachChild(mesh);
+    }
+    return root;
+  }
+
+  private static void assertScene(final Node r, final int meshes, final int floats) {
+    assertEquals(meshes, r.getNumberOfChildren());
+    for (int i = 0; i < meshes; i++) {
+      final Mesh mesh = (Mesh) r.getChild(i);
+      assertEquals("mesh" + i, mesh.getName());
+      final FloatBuffer vertices = mesh.getMeshData().getVertexBuffer();
+      assertEquals(floats, vertices.limit());
+      assertEquals(i + (floats - 1) * 0.25f, vertices.get(floats - 1), 0f);
+      assertSame(r.getChild(0).getLocalProperty("shared", null), mesh.getLocalProperty("shared", null));
+    }
+    assertEquals(5, r.getChild(0).<RefHolder> getLocalProperty("shared", null).tag);
+  }
+
+  @Test
+  public void testCodecsRoundTrip() throws Exception {
+    for (final ChunkCodec codec : ChunkCodec.values()) {
+      final ChunkedBinaryExporter exporter = new ChunkedBinaryExporter(codec);
+      // force many chunks
+      exporter.setChunkSize(4096);
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      exporter.save(createScene(20, 500), out);
+
+      final Node r = (Node) new ChunkedBinaryImporter().load(out.toByteArray());
+      assertScene(r, 20, 500);
+    }
+  }
+
+  @Test
+  public void testSerialLeafReads() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ChunkedBinaryExporter(ChunkCodec.DEFLATE).save(createScene(8, 64), out);
+
+    final ChunkedBinaryImporter importer = new ChunkedBinaryImporter();
+    importer.setParallelLeafReads(false);
+    importer.setPool(new ForkJoinPool(2));
+    try {
+      assertScene((Node) importer.load(out.toByteArray()), 8, 64);
+    } finally {
+      importer.getPool().shutdown();
+    }
+  }
+
+  @Test
+  public void testLz4Block() throws Exception {
+    final Random random = new Random(42);
+    final byte[][] inputs = new byte[5][];
+    inputs[0] = new byte[0];
+    inputs[1] = new byte[] {1, 2, 3};
+    inputs[2] = new byte[100_000];
+    random.nextBytes(inputs[2]);
+    // runs, overlapping matches and long literal / match lengths
+    inputs[3] = new byte[70_000];
+    for (int i = 0; i < inputs[3].length; i++) {
+      inputs[3][i] = (byte) (i < 1000 ? random.nextInt() : (i / 300) % 7);
+    }
+    inputs[4] = "the quick brown fox jumps over the lazy dog. the quick brown fox!".repeat(50).getBytes();
+
+    for (final byte[] input : inputs) {
+      final byte[] compressed = ChunkCodec.LZ4.compress(input, 0, input.length, 0);
+      assertTrue(compressed.length <= Lz4Block.maxCompressedLength(input.length));
+      final byte[] output = new byte[input.length];
+      ChunkCodec.LZ4.decompress(compressed, 0, compressed.length, output, 0, output.length);
+      assertArrayEquals(input, output);
+    }
+    assertTrue(ChunkCodec.LZ4.compress(inputs[4], 0, inputs[4].length, 0).length < inputs[4].length / 10);
+  }
+
+  @Test
+  public void testCorruptInputRejected() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new ChunkedBinaryExporter().save(createScene(2, 16), out);
+    final byte[] bytes = out.toByteArray();
+    // damage the first chunk
+    for (int i = 28; i < 60; i++) {
+      bytes[i] = (byte) 0xFF;
+    }
+    try {
+      new ChunkedBinaryImporter().load(bytes);
+      fail("expected IOException");
+    } catch (final IOException e) {
+      // expected
+    }
+
+    try {
+      final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+      new BinaryExporter().save(createScene(1, 4), gzip);
+      new ChunkedBinaryImporter().load(gzip.toByteArray());
+      fail("expected IOException");
+    } catch (final IOException e) {
+      // expected
+    }
+  }
+}
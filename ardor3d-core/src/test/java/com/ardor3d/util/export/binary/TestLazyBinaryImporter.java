@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.FloatBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.Spatial;
+
+/**
+ * Tests browsing and partially loading files through {@link LazyBinaryImporter}.
+ */
+public class TestLazyBinaryImporter {
+
+  private static Node createScene(final FloatBuffer shared) {
+    final Node root = new Node("root");
+    for (int i = 0; i < 3; i++) {
+      final Node group = new Node("group" + i);
+      final Mesh mesh = new Mesh("mesh" + i);
+      final MeshData data = new MeshData();
+      data.setVertexBuffer(i == 2 ? shared : BufferUtils.createFloatBuffer(30 * (i + 1)));
+      mesh.setMeshData(data);
+      group.attachChild(mesh);
+      root.attachChild(group);
+    }
+    final Mesh sharing = new Mesh("sharing");
+    sharing.setMeshData(new MeshData());
+    sharing.getMeshData().setVertexBuffer(shared);
+    ((Node) root.getChild(2)).attachChild(sharing);
+    return root;
+  }
+
+  @Test
+  public void testBrowseWithoutLoading() throws Exception {
+    final FloatBuffer shared = BufferUtils.createFloatBuffer(300);
+    shared.put(7, 3.5f);
+    final File file = File.createTempFile("ardor3d", ".a3db");
+    file.deleteOnExit();
+    new MappedBinaryExporter().save(createScene(shared), file);
+
+    try (LazyBinaryImporter importer = new LazyBinaryImporter()) {
+      final SavableHandle root = importer.open(file);
+      assertTrue(root.isInstanceOf(Node.class));
+      assertEquals("root", root.getName());
+
+      final List<SavableHandle> groups = root.getChildren();
+      assertEquals(3, groups.size());
+      assertEquals("group1", groups.get(1).getName());
+      assertEquals(2, groups.get(2).getChildren().size());
+
+      // group1 holds 60 floats; the two meshes of group2 share 300 floats, counted once
+      assertEquals(60 * 4, groups.get(1).getTotalBufferBytes());
+      assertEquals(300 * 4, groups.get(2).getTotalBufferBytes());
+      assertEquals((30 + 60 + 300) * 4, root.getTotalBufferBytes());
+
+      // nothing has been created by browsing
+      assertFalse(root.isLoaded());
+      assertFalse(groups.get(0).isLoaded());
+
+      // load one subtree only
+      final Node group2 = (Node) groups.get(2).load();
+      assertTrue(groups.get(2).isLoaded());
+      assertFalse(groups.get(1).isLoaded());
+      assertFalse(root.isLoaded());
+      final Mesh mesh2 = (Mesh) group2.getChild(0);
+      assertEquals(3.5f, mesh2.getMeshData().getVertexBuffer().get(7), 0f);
+
+      // loading the root afterwards reuses the loaded subtree
+      final Node r = (Node) root.load();
+      assertSame(group2, r.getChild(2));
+      assertSame(r, group2.getParent());
+    }
+  }
+
+  @Test
+  public void testBufferContentsWithoutLoading() throws Exception {
+    final FloatBuffer shared = BufferUtils.createFloatBuffer(300);
+    shared.put(7, 3.5f);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new StreamingBinaryExporter().save(createScene(shared), out);
+
+    try (LazyBinaryImporter importer = new LazyBinaryImporter()) {
+      final SavableHandle mesh = importer.open(out.toByteArray()).getChildren().get(2).getChildren().get(0);
+      assertTrue(mesh.isInstanceOf(Spatial.class));
+      final SavableHandle meshData = mesh.getReferences("meshData").get(0);
+      final SavableHandle vertices = meshData.getReferences("vertexDataItems").get(0);
+      final List<SavableHandle.BufferInfo> buffers = vertices.getBuffers();
+      assertEquals(1, buffers.size());
+      assertEquals("buffer", buffers.get(0).field());
+      assertEquals(300, buffers.get(0).elements());
+      assertEquals(3.5f, vertices.getBufferContents(buffers.get(0)).asFloatBuffer().get(7), 0f);
+      assertFalse(mesh.isLoaded());
+    }
+  }
+
+  @Test
+  public void testEagerLoadRequiresClose() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new MappedBinaryExporter().save(new Node("n"), out);
+    final LazyBinaryImporter importer = new LazyBinaryImporter();
+    importer.open(out.toByteArray());
+    assertEquals("n", importer.getRoot().getName());
+    assertTrue(importer.getObjectCount() > 1);
+    try {
+      importer.load(out.toByteArray());
+      fail("expected IllegalStateException");
+    } catch (final IllegalStateException e) {
+      // expected
+    }
+    importer.close();
+    assertFalse(importer.isOpen());
+    assertEquals("n", ((Node) importer.load(out.toByteArray())).getName());
+  }
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.math.Vector3;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.shape.Box;
+
+/**
+ * Round-trips graphs through {@link MappedBinaryExporter}/{@link MappedBinaryImporter}, from both a
+ * mapped file and a stream, and checks direct buffers come back as views of the mapping.
+ */
+public class TestMappedBinaryRoundTrip {
+
+  private static float[] toArray(final FloatBuffer b) {
+    final FloatBuffer dup = b.duplicate();
+    dup.rewind();
+    final float[] a = new float[dup.remaining()];
+    dup.get(a);
+    return a;
+  }
+
+  private static AllTypesHolder createHolder() {
+    final AllTypesHolder holder = new AllTypesHolder();
+    holder.i = 7;
+    holder.str = "after buffers";
+    holder.floatBuf = BufferUtils.createFloatBuffer(1.5f, -2.5f, 3.25f);
+    holder.intBuf = BufferUtils.createIntBuffer(new int[] {1, -2, 1 << 20});
+    holder.shortBuf = BufferUtils.createShortBuffer(new short[] {5, -6, 7, 8, 9});
+    holder.byteBuf = BufferUtils.createByteBufferOnHeap(3).put(new byte[] {10, 20, 30}).rewind();
+    return holder;
+  }
+
+  private static void assertHolder(final AllTypesHolder r) {
+    assertEquals(7, r.i);
+    assertEquals("after buffers", r.str);
+    assertArrayEquals(new float[] {1.5f, -2.5f, 3.25f}, toArray(r.floatBuf), 0f);
+    assertEquals(1 << 20, r.intBuf.get(2));
+    assertEquals(-6, r.shortBuf.get(1));
+    assertEquals(5, r.shortBuf.limit());
+    assertEquals(30, r.byteBuf.get(2));
+    assertEquals(3, r.byteBuf.limit());
+  }
+
+  @Test
+  public void testStreamRoundTrip() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new MappedBinaryExporter().save(createHolder(), out);
+    final AllTypesHolder r =
+        (AllTypesHolder) new MappedBinaryImporter().load(new ByteArrayInputStream(out.toByteArray()));
+    assertHolder(r);
+    // heap buffers stay on the heap
+    assertFalse(r.byteBuf.isDirect());
+    assertTrue(r.floatBuf.isDirect());
+  }
+
+  @Test
+  public void testMappedFile() throws Exception {
+    final File file = File.createTempFile("ardor3d", ".a3db");
+    file.deleteOnExit();
+    new MappedBinaryExporter().save(createHolder(), file);
+
+    final MappedBinaryImporter readOnly = new MappedBinaryImporter();
+    readOnly.setMapMode(MapMode.READ_ONLY);
+    final AllTypesHolder r = (AllTypesHolder) readOnly.load(file);
+    assertHolder(r);
+
+    if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
+      // views of the read only mapping, not copies
+      assertTrue(r.floatBuf.isDirect());
+      assertTrue(r.floatBuf.isReadOnly());
+      assertTrue(r.intBuf.isReadOnly());
+      assertTrue(r.shortBuf.isReadOnly());
+    }
+
+    // copy on write by default
+    final AllTypesHolder w = (AllTypesHolder) new MappedBinaryImporter().load(file);
+    assertTrue(w.floatBuf.isDirect());
+    assertFalse(w.floatBuf.isReadOnly());
+    w.floatBuf.put(0, 99f);
+    w.intBuf.put(0, 99);
+    w.shortBuf.put(0, (short) 99);
+    assertEquals(99f, w.floatBuf.get(0), 0f);
+
+    // the file itself is untouched
+    assertHolder((AllTypesHolder) new MappedBinaryImporter().load(file));
+  }
+
+  @Test
+  public void testLoadedMeshIsWritable() throws Exception {
+    final File file = File.createTempFile("ardor3d", ".a3db");
+    file.deleteOnExit();
+    final Box box = new Box("box", Vector3.ZERO, 1, 1, 1);
+    new MappedBinaryExporter().save(box, file);
+
+    final Box loaded = (Box) new MappedBinaryImporter().load(file);
+    assertMutable(loaded, box);
+
+    // a file we may not write to is copied out of a read only mapping instead
+    assertTrue(file.setWritable(false));
+    try {
+      assertMutable((Box) new MappedBinaryImporter().load(file), box);
+    } finally {
+      file.setWritable(true);
+    }
+
+    // and the file is untouched
+    final Box reloaded = (Box) new MappedBinaryImporter().load(file);
+    assertEquals(box.getMeshData().getVertexBuffer(), reloaded.getMeshData().getVertexBuffer().rewind());
+    assertEquals(box.getMeshData().getIndices().get(0), reloaded.getMeshData().getIndices().get(0));
+  }
+
+  private static void assertMutable(final Box loaded, final Box original) {
+    final MeshData data = loaded.getMeshData();
+    data.translatePoints(1, 0, 0);
+    data.getNormalBuffer().put(0, 5f);
+    data.getTextureBuffer(0).put(0, 5f);
+    data.getIndices().put(0, 3);
+    final FloatBuffer expected = original.getMeshData().getVertexBuffer();
+    for (int i = 0; i < expected.limit(); i++) {
+      assertEquals(expected.get(i) + (i % 3 == 0 ? 1 : 0), data.getVertexBuffer().get(i), 1e-6);
+    }
+    assertEquals(5f, data.getNormalBuffer().get(0), 0f);
+    assertEquals(5f, data.getTextureBuffer(0).get(0), 0f);
+    assertEquals(3, data.getIndices().get(0));
+  }
+
+  @Test
+  public void testSharedBufferStoredOnce() throws Exception {
+    final FloatBuffer shared = BufferUtils.createFloatBuffer(1024);
+    final Node root = new Node("root");
+    for (int i = 0; i < 4; i++) {
+      final Mesh mesh = new Mesh("mesh" + i);
+      final MeshData data = new MeshData();
+      data.setVertexBuffer(shared);
+      mesh.setMeshData(data);
+      root.attachChild(mesh);
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new MappedBinaryExporter().save(root, out);
+    final byte[] bytes = out.toByteArray();
+
+    // one copy of the buffer plus the header and metadata
+    final long sectionLength = ByteBuffer.wrap(bytes, 56, 8).getLong();
+    assertEquals(1024 * 4, sectionLength);
+    assertTrue(bytes.length < 2 * 1024 * 4);
+
+    final Node r = (Node) new MappedBinaryImporter().load(bytes);
+    assertEquals(4, r.getNumberOfChildren());
+    assertEquals(1024, ((Mesh) r.getChild(3)).getMeshData().getVertexBuffer().limit());
+  }
+
+  @Test
+  public void testAlignment() throws Exception {
+    final IntBuffer odd = BufferUtils.createIntBuffer(new int[] {1, 2, 3});
+    final ShortBuffer shorts = BufferUtils.createShortBuffer(new short[] {4});
+    final AllTypesHolder holder = new AllTypesHolder();
+    holder.intBuf = odd;
+    holder.shortBuf = shorts;
+
+    final File file = File.createTempFile("ardor3d", ".a3db");
+    file.deleteOnExit();
+    new MappedBinaryExporter().save(holder, file);
+    final byte[] bytes = Files.readAllBytes(file.toPath());
+    final long sectionOffset = ByteBuffer.wrap(bytes, 48, 8).getLong();
+    assertEquals(0, sectionOffset % MappedBinaryExporter.BUFFER_ALIGNMENT);
+    // second buffer starts on the next aligned offset
+    assertEquals(4, ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getShort(
+        (int) sectionOffset + MappedBinaryExporter.BUFFER_ALIGNMENT));
+  }
+
+  @Test
+  public void testRejectsVersion1() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryExporter().save(createHolder(), out);
+    try {
+      new MappedBinaryImporter().load(out.toByteArray());
+      fail("expected IOException");
+    } catch (final IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testSharedInstanceSurvives() throws Exception {
+    final RefHolder holder = new RefHolder(1);
+    final RefHolder leaf = new RefHolder(2);
+    holder.left = leaf;
+    holder.right = leaf;
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new MappedBinaryExporter().save(holder, out);
+    final RefHolder r = (RefHolder) new MappedBinaryImporter().load(out.toByteArray());
+    assertSame(r.left, r.right);
+    assertEquals(2, ((RefHolder) r.left).tag);
+  }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import com.ardor3d.annotation.SavableFactory;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.scenegraph.Spatial;
+import com.ardor3d.util.export.InputCapsule;
+import com.ardor3d.util.export.OutputCapsule;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Tests {@link SavableClassInfo} and the alias indexed field storage of {@link BinaryInputCapsule}.
+ */
+public class TestSavableClassInfo {
+
+  @SavableFactory(factoryMethod = "create")
+  public static class FactoryMade implements Savable {
+    static int _created;
+
+    public int value;
+
+    private FactoryMade() {}
+
+    public static FactoryMade create() {
+      _created++;
+      return new FactoryMade();
+    }
+
+    @Override
+    public Class<? extends FactoryMade> getClassTag() { return getClass(); }
+
+    @Override
+    public void write(final OutputCapsule capsule) throws IOException {
+      capsule.write(value, "value", 0);
+    }
+
+    @Override
+    public void read(final InputCapsule capsule) throws IOException {
+      value = capsule.readInt("value", 0);
+    }
+  }
+
+  @Test
+  public void testCached() throws Exception {
+    final SavableClassInfo info = SavableClassInfo.forName(Node.class.getName());
+    assertSame(info, SavableClassInfo.forName(Node.class.getName()));
+    assertSame(Node.class, info.getType());
+    assertFalse(info.isFactoryCreated());
+
+    final Savable a = info.newInstance();
+    final Savable b = info.newInstance();
+    assertTrue(a instanceof Node);
+    assertNotSame(a, b);
+  }
+
+  @Test
+  public void testFactory() throws Exception {
+    final SavableClassInfo info = SavableClassInfo.forName(FactoryMade.class.getName());
+    assertTrue(info.isFactoryCreated());
+    final int before = FactoryMade._created;
+    assertTrue(info.newInstance() instanceof FactoryMade);
+    assertEquals(before + 1, FactoryMade._created);
+
+    final FactoryMade saved = FactoryMade.create();
+    saved.value = 12;
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryExporter().save(saved, out);
+    final FactoryMade loaded = (FactoryMade) new BinaryImporter().load(out.toByteArray());
+    assertEquals(12, loaded.value);
+  }
+
+  @Test
+  public void testPerClassLoader() throws Exception {
+    // define a second SavableLeaf class in its own loader
+    final byte[] bytes;
+    try (InputStream in = SavableLeaf.class.getResourceAsStream("SavableLeaf.class")) {
+      bytes = in.readAllBytes();
+    }
+    final ClassLoader loader = new ClassLoader(getClass().getClassLoader()) {
+      {
+        defineClass(SavableLeaf.class.getName(), bytes, 0, bytes.length);
+      }
+    };
+    final Class<?> other = Class.forName(SavableLeaf.class.getName(), false, loader);
+    assertNotSame(SavableLeaf.class, other);
+
+    final SavableClassInfo info = SavableClassInfo.forClass(other);
+    assertSame(info, SavableClassInfo.forClass(other));
+    assertSame(other, info.getType());
+    assertSame(other, info.newInstance().getClass());
+    assertSame(SavableLeaf.class, SavableClassInfo.forName(SavableLeaf.class.getName()).getType());
+  }
+
+  @Test
+  public void testUnusableClasses() throws Exception {
+    try {
+      SavableClassInfo.forName(Spatial.class.getName());
+      fail("expected InstantiationException");
+    } catch (final InstantiationException e) {
+      // expected - abstract
+    }
+    try {
+      SavableClassInfo.forName("com.ardor3d.NoSuchClass");
+      fail("expected ClassNotFoundException");
+    } catch (final ClassNotFoundException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testNullAndMissingFields() throws Exception {
+    final RefHolder holder = new RefHolder(3);
+    holder.right = new RefHolder(4);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryExporter().save(holder, out);
+    final RefHolder loaded = (RefHolder) new BinaryImporter().load(out.toByteArray());
+    // null reference written, present reference resolved
+    assertNull(loaded.left);
+    assertEquals(4, ((RefHolder) loaded.right).tag);
+    assertEquals(3, loaded.tag);
+  }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.util.export.Savable;
+
+/**
+ * Tests the direct deep copies of {@link SavableCloner}.
+ */
+public class TestSavableCloner {
+
+  @Test
+  public void testAllTypes() {
+    final AllTypesHolder src = new AllTypesHolder();
+    src.i = 7;
+    src.d = 2.5;
+    src.str = "text";
+    src.en = AllTypesHolder.Flavor.values()[0];
+    src.iArr = new int[] {1, 2, 3};
+    src.fArr2 = new float[][] {{1f}, {2f, 3f}};
+    src.strArr = new String[] {"a", null, "c"};
+    src.enArr = AllTypesHolder.Flavor.values();
+    src.floatBuf = BufferUtils.createFloatBuffer(1f, 2f, 3f);
+    src.byteBuf = BufferUtils.createByteBufferOnHeap(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 0x01020304);
+    src.bits = new BitSet();
+    src.bits.set(5);
+
+    final AllTypesHolder copy = new SavableCloner().copy(src);
+
+    assertEquals(7, copy.i);
+    assertEquals(2.5, copy.d, 0);
+    assertEquals("text", copy.str);
+    assertSame(src.en, copy.en);
+    assertArrayEquals(src.iArr, copy.iArr);
+    assertNotSame(src.iArr, copy.iArr);
+    assertNotSame(src.fArr2[1], copy.fArr2[1]);
+    assertArrayEquals(src.fArr2[1], copy.fArr2[1], 0f);
+    assertArrayEquals(src.strArr, copy.strArr);
+    assertArrayEquals(src.enArr, copy.enArr);
+
+    assertNotSame(src.floatBuf, copy.floatBuf);
+    assertTrue(copy.floatBuf.isDirect());
+    assertEquals(3f, copy.floatBuf.get(2), 0f);
+    assertFalse(copy.byteBuf.isDirect());
+    assertEquals(ByteOrder.LITTLE_ENDIAN, copy.byteBuf.order());
+    assertEquals(0x01020304, copy.byteBuf.getInt(0));
+
+    assertEquals(src.bits, copy.bits);
+    assertNotSame(src.bits, copy.bits);
+
+    // unset fields come back as the reader's defaults
+    assertEquals(src.lArr, copy.lArr);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testCollections() {
+    final CollectionsHolder src = new CollectionsHolder();
+    final SavableLeaf shared = new SavableLeaf(1, "shared");
+    src.savArr = new SavableLeaf[] {shared, new SavableLeaf(2, "two")};
+    src.savList = Arrays.asList(shared, new SavableLeaf(3, "three"));
+    src.savListArr = (List<Savable>[]) new List<?>[] {Arrays.asList(new SavableLeaf(4, "four"))};
+    src.savMap = new HashMap<>();
+    src.savMap.put(new SavableLeaf(5, "key"), new SavableLeaf(6, "value"));
+    src.strObjMap = new HashMap<>();
+    src.strObjMap.put("ints", new int[] {9});
+    src.strObjMap.put("leaf", shared);
+
+    final CollectionsHolder copy = new SavableCloner().copy(src);
+
+    assertTrue(copy.savArr instanceof SavableLeaf[]);
+    assertEquals(shared, copy.savArr[0]);
+    assertNotSame(shared, copy.savArr[0]);
+    assertSame(copy.savArr[0], copy.savList.get(0));
+    assertSame(copy.savArr[0], copy.strObjMap.get("leaf"));
+    assertEquals(src.savList, copy.savList);
+    assertEquals(src.savListArr[0], copy.savListArr[0]);
+    assertEquals(new SavableLeaf(6, "value"), copy.savMap.get(new SavableLeaf(5, "key")));
+    assertArrayEquals(new int[] {9}, (int[]) copy.strObjMap.get("ints"));
+    assertNotSame(src.strObjMap.get("ints"), copy.strObjMap.get("ints"));
+  }
+
+  @Test
+  public void testSceneBuffers() {
+    final Node root = new Node("root");
+    final FloatBuffer vertices = BufferUtils.createFloatBuffer(0f, 1f, 2f, 3f, 4f, 5f);
+    for (int i = 0; i < 2; i++) {
+      final Mesh mesh = new Mesh("mesh" + i);
+      final MeshData data = new MeshData();
+      data.setVertexBuffer(vertices);
+      mesh.setMeshData(data);
+      root.attachChild(mesh);
+    }
+
+    final Node copy = new SavableCloner().copy(root);
+    assertEquals("root", copy.getName());
+    final FloatBuffer copied = ((Mesh) copy.getChild(0)).getMeshData().getVertexBuffer();
+    assertNotSame(vertices, copied);
+    assertEquals(vertices, copied);
+    assertSame(copy, copy.getChild(1).getParent());
+    // a buffer used twice is copied once
+    assertSame(copied, ((Mesh) copy.getChild(1)).getMeshData().getVertexBuffer());
+
+    final SavableCloner sharing = new SavableCloner();
+    sharing.setShareBuffers(true);
+    final Node shared = sharing.copy(root);
+    assertNotSame(root.getChild(0), shared.getChild(0));
+    assertSame(vertices, ((Mesh) shared.getChild(0)).getMeshData().getVertexBuffer());
+  }
+
+  @Test
+  public void testMatchesBinaryCopy() throws Exception {
+    final RefHolder src = new RefHolder(3);
+    src.left = new SavableLeaf(1, "left");
+    src.right = new RefHolder(4);
+    ((RefHolder) src.right).left = src;
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryExporter().save(src, out);
+    final RefHolder viaBinary = (RefHolder) new BinaryImporter().load(out.toByteArray());
+    final RefHolder direct = new SavableCloner().copy(src);
+
+    assertEquals(viaBinary.tag, direct.tag);
+    assertEquals(viaBinary.left, direct.left);
+    assertEquals(((RefHolder) viaBinary.right).tag, ((RefHolder) direct.right).tag);
+    assertSame(direct, ((RefHolder) direct.right).left);
+  }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+
+/**
+ * Round-trips graphs written by {@link StreamingBinaryExporter} through {@link MappedBinaryImporter},
+ * to both a file (header patched in place) and a stream (header appended).
+ */
+public class TestStreamingBinaryRoundTrip {
+
+  private static AllTypesHolder createHolder() {
+    final AllTypesHolder holder = new AllTypesHolder();
+    holder.i = 11;
+    holder.str = "streamed";
+    holder.floatBuf = BufferUtils.createFloatBuffer(1f, 2f, 3f, 4f);
+    holder.intBuf = BufferUtils.createIntBufferOnHeap(2).put(new int[] {-1, 1 << 24}).rewind();
+    holder.byteBuf = BufferUtils.createByteBufferOnHeap(2).put(new byte[] {7, 8}).rewind();
+    return holder;
+  }
+
+  private static void assertHolder(final AllTypesHolder r) {
+    assertEquals(11, r.i);
+    assertEquals("streamed", r.str);
+    final FloatBuffer floats = r.floatBuf.duplicate().rewind();
+    final float[] f = new float[floats.remaining()];
+    floats.get(f);
+    assertArrayEquals(new float[] {1f, 2f, 3f, 4f}, f, 0f);
+    assertEquals(1 << 24, r.intBuf.get(1));
+    assertEquals(8, r.byteBuf.get(1));
+  }
+
+  @Test
+  public void testFileHeaderPatched() throws Exception {
+    final File file = File.createTempFile("ardor3d", ".a3db");
+    file.deleteOnExit();
+    new StreamingBinaryExporter().save(createHolder(), file);
+
+    final byte[] bytes = Files.readAllBytes(file.toPath());
+    final ByteBuffer header = ByteBuffer.wrap(bytes);
+    assertEquals(MappedBinaryExporter.MAGIC, header.getInt(0));
+    assertEquals(0, header.getInt(8) & MappedBinaryExporter.FLAG_HEADER_AT_END);
+    assertEquals(StreamingBinaryExporter.ALIAS_WIDTH, header.getInt(12));
+    // tables come last
+    assertEquals(bytes.length, header.getLong(16) + header.getLong(24));
+
+    assertHolder((AllTypesHolder) new MappedBinaryImporter().load(file));
+  }
+
+  @Test
+  public void testStreamHeaderAtEnd() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new StreamingBinaryExporter().save(createHolder(), out);
+    final byte[] bytes = out.toByteArray();
+
+    final ByteBuffer header = ByteBuffer.wrap(bytes);
+    assertTrue((header.getInt(8) & MappedBinaryExporter.FLAG_HEADER_AT_END) != 0);
+    assertEquals(MappedBinaryExporter.MAGIC, header.getInt(bytes.length - MappedBinaryExporter.HEADER_SIZE));
+
+    assertHolder((AllTypesHolder) new MappedBinaryImporter().load(bytes));
+  }
+
+  @Test
+  public void testSharedReferences() throws Exception {
+    final FloatBuffer shared = BufferUtils.createFloatBuffer(256);
+    shared.put(255, 42f);
+    final Node root = new Node("root");
+    for (int i = 0; i < 3; i++) {
+      final Mesh mesh = new Mesh("mesh" + i);
+      final MeshData data = new MeshData();
+      data.setVertexBuffer(shared);
+      mesh.setMeshData(data);
+      root.attachChild(mesh);
+    }
+    final RefHolder holder = new RefHolder(1);
+    final RefHolder leaf = new RefHolder(2);
+    leaf.left = root;
+    holder.left = leaf;
+    holder.right = leaf;
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new StreamingBinaryExporter().save(holder, out);
+    final byte[] bytes = out.toByteArray();
+    final ByteBuffer header = ByteBuffer.wrap(bytes, bytes.length - MappedBinaryExporter.HEADER_SIZE,
+        MappedBinaryExporter.HEADER_SIZE).slice();
+    assertEquals(256 * 4, header.getLong(56));
+
+    final RefHolder rh = (RefHolder) new MappedBinaryImporter().load(bytes);
+    assertSame(rh.left, rh.right);
+    assertEquals(2, ((RefHolder) rh.left).tag);
+    final Node r = (Node) ((RefHolder) rh.left).left;
+    assertEquals(3, r.getNumberOfChildren());
+    assertEquals(42f, ((Mesh) r.getChild(2)).getMeshData().getVertexBuffer().get(255), 0f);
+  }
+
+  @Test
+  public void testExporterReusable() throws Exception {
+    final StreamingBinaryExporter exporter = new StreamingBinaryExporter();
+    final ByteArrayOutputStream first = new ByteArrayOutputStream();
+    exporter.save(createHolder(), first);
+    final ByteArrayOutputStream second = new ByteArrayOutputStream();
+    exporter.save(createHolder(), second);
+    assertArrayEquals(first.toByteArray(), second.toByteArray());
+  }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.export.xml;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.Node;
+import com.ardor3d.util.export.Ardor3dExporter;
+import com.ardor3d.util.export.Ardor3dImporter;
+import com.ardor3d.util.export.Savable;
+import com.ardor3d.util.export.binary.AllTypesHolder;
+import com.ardor3d.util.export.binary.CollectionsHolder;
+import com.ardor3d.util.export.binary.RefHolder;
+import com.ardor3d.util.export.binary.SavableLeaf;
+
+/**
+ * Tests {@link StreamingXMLExporter} and {@link StreamingXMLImporter}, alone and against the DOM based
+ * {@link XMLExporter} and {@link XMLImporter}.
+ */
+public class TestStreamingXML {
+
+  private static Savable roundTrip(final Savable source, final Ardor3dExporter exporter, final Ardor3dImporter importer)
+      throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.save(source, out);
+    return importer.load(out.toByteArray());
+  }
+
+  private static AllTypesHolder allTypes() {
+    final AllTypesHolder src = new AllTypesHolder();
+    src.z = true;
+    src.b = -3;
+    src.i = 7;
+    src.l = 1L << 40;
+    src.f = 0.1f;
+    src.d = 2.5e-7;
+    src.str = "a \"quoted\" <tag> & more";
+    src.en = AllTypesHolder.Flavor.values()[0];
+    src.iArr = new int[] {1, -2, 3};
+    src.fArr = new float[] {0.3f, -1e-20f, Float.MAX_VALUE};
+    src.dArr = new double[] {Math.PI, -0.0};
+    src.strArr = new String[] {"a", null, "c"};
+    src.enArr = AllTypesHolder.Flavor.values();
+    src.iArr2 = new int[][] {{1}, {2, 3}};
+    src.fArr2 = new float[][] {{1f, 2f}, {3f, 4f}};
+    src.floatBuf = BufferUtils.createFloatBuffer(1f, 2.75f, 3f);
+    src.shortBuf = BufferUtils.createShortBuffer(new short[] {5, -6});
+    src.bits = new BitSet();
+    src.bits.set(2);
+    src.bits.set(9);
+    return src;
+  }
+
+  private static void assertAllTypes(final AllTypesHolder src, final AllTypesHolder copy) {
+    assertEquals(src.z, copy.z);
+    assertEquals(src.b, copy.b);
+    assertEquals(src.i, copy.i);
+    assertEquals(src.l, copy.l);
+    assertEquals(src.f, copy.f, 0f);
+    assertEquals(src.d, copy.d, 0);
+    assertEquals(src.str, copy.str);
+    assertSame(src.en, copy.en);
+    assertArrayEquals(src.iArr, copy.iArr);
+    assertArrayEquals(src.fArr, copy.fArr, 0f);
+    assertArrayEquals(src.dArr, copy.dArr, 0);
+    assertArrayEquals(src.strArr, copy.strArr);
+    assertArrayEquals(src.enArr, copy.enArr);
+    assertArrayEquals(src.iArr2[1], copy.iArr2[1]);
+    assertArrayEquals(src.fArr2[1], copy.fArr2[1], 0f);
+    assertEquals(src.floatBuf, copy.floatBuf);
+    assertEquals(src.shortBuf, copy.shortBuf);
+  }
+
+  @Test
+  public void testAllTypes() throws Exception {
+    final AllTypesHolder src = allTypes();
+    final AllTypesHolder copy =
+        (AllTypesHolder) roundTrip(src, new StreamingXMLExporter(), new StreamingXMLImporter());
+    assertAllTypes(src, copy);
+    assertEquals(src.bits, copy.bits);
+  }
+
+  @Test
+  public void testDomReadsStreamedDocuments() throws Exception {
+    final Node copy = (Node) roundTrip(scene(), new StreamingXMLExporter(), new XMLImporter());
+    assertScene(copy);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testCollectionsAndReferences() throws Exception {
+    final CollectionsHolder src = new CollectionsHolder();
+    final SavableLeaf shared = new SavableLeaf(1, "shared");
+    src.savArr = new SavableLeaf[] {shared, null, new SavableLeaf(2, "two")};
+    src.savList = Arrays.asList(shared, new SavableLeaf(3, "three"));
+    src.savListArr = (List<Savable>[]) new List<?>[] {Arrays.asList(new SavableLeaf(4, "four"))};
+    src.savMap = new HashMap<>();
+    src.savMap.put(new SavableLeaf(5, "key"), new SavableLeaf(6, "value"));
+    src.strSavMap = new HashMap<>();
+    src.strSavMap.put("leaf", shared);
+    src.strObjMap = new HashMap<>();
+    src.strObjMap.put("ints", new int[] {9});
+    src.strObjMap.put("leaf", shared);
+    src.strObjMap.put("float", 1.5f);
+
+    final CollectionsHolder copy =
+        (CollectionsHolder) roundTrip(src, new StreamingXMLExporter(), new StreamingXMLImporter());
+    assertEquals(shared, copy.savArr[0]);
+    assertEquals(null, copy.savArr[1]);
+    assertSame(copy.savArr[0], copy.savList.get(0));
+    assertSame(copy.savArr[0], copy.strSavMap.get("leaf"));
+    assertSame(copy.savArr[0], copy.strObjMap.get("leaf"));
+    assertEquals(src.savList, copy.savList);
+    assertEquals(src.savListArr[0], copy.savListArr[0]);
+    assertEquals(new SavableLeaf(6, "value"), copy.savMap.get(new SavableLeaf(5, "key")));
+    assertArrayEquals(new int[] {9}, (int[]) copy.strObjMap.get("ints"));
+    assertEquals(1.5f, copy.strObjMap.get("float"));
+  }
+
+  @Test
+  public void testCycles() throws Exception {
+    final RefHolder src = new RefHolder(3);
+    src.left = new SavableLeaf(1, "left");
+    src.right = new RefHolder(4);
+    ((RefHolder) src.right).left = src;
+
+    for (final Ardor3dExporter exporter : new Ardor3dExporter[] {new XMLExporter(), new StreamingXMLExporter()}) {
+      final RefHolder copy = (RefHolder) roundTrip(src, exporter, new StreamingXMLImporter());
+      assertEquals(3, copy.tag);
+      assertEquals(src.left, copy.left);
+      assertSame(copy, ((RefHolder) copy.right).left);
+    }
+  }
+
+  private static Node scene() {
+    final Node root = new Node("root");
+    final FloatBuffer vertices = BufferUtils.createFloatBuffer(0f, 1f, 2f, 3f, 4f, 5f);
+    for (int i = 0; i < 2; i++) {
+      final Mesh mesh = new Mesh("mesh" + i);
+      final MeshData data = new MeshData();
+      data.setVertexBuffer(vertices);
+      mesh.setMeshData(data);
+      root.attachChild(mesh);
+    }
+    return root;
+  }
+
+  private static void assertScene(final Node copy) {
+    assertEquals("root", copy.getName());
+    assertEquals(2, copy.getNumberOfChildren());
+    assertEquals("mesh1", copy.getChild(1).getName());
+    assertSame(copy, copy.getChild(1).getParent());
+    final FloatBuffer copied = ((Mesh) copy.getChild(0)).getMeshData().getVertexBuffer();
+    assertNotNull(copied);
+    assertEquals(BufferUtils.createFloatBuffer(0f, 1f, 2f, 3f, 4f, 5f), copied);
+  }
+
+  @Test
+  public void testScene() throws Exception {
+    assertScene((Node) roundTrip(scene(), new StreamingXMLExporter(), new StreamingXMLImporter()));
+    assertScene((Node) roundTrip(scene(), new XMLExporter(), new StreamingXMLImporter()));
+  }
+
+  @Test
+  public void testNumberTokenizer() throws Exception {
+    final Random random = new Random(42);
+    final StringBuilder text = new StringBuilder();
+    final float[] floats = new float[2000];
+    for (int i = 0; i < floats.length; i++) {
+      floats[i] = switch (i % 4) {
+        case 0 -> random.nextFloat();
+        case 1 -> (float) random.nextGaussian() * 1000f;
+        case 2 -> Float.intBitsToFloat(random.nextInt());
+        default -> random.nextInt(100) / 8f;
+      };
+      text.append(floats[i]).append(i % 7 == 0 ? "\n\t" : " ");
+    }
+    final NumberTokenizer tokenizer = new NumberTokenizer(text.toString());
+    for (final float f : floats) {
+      assertEquals(Float.floatToIntBits(f), Float.floatToIntBits(tokenizer.nextFloat()));
+    }
+
+    final NumberTokenizer decimals = new NumberTokenizer("0.1 -2.5e-3 1E10 123456789012345678 -7");
+    assertEquals(0.1, decimals.nextDouble(), 0);
+    assertEquals(-2.5e-3, decimals.nextDouble(), 0);
+    assertEquals(1e10f, decimals.nextFloat(), 0f);
+    assertEquals(123456789012345678L, decimals.nextLong());
+    assertEquals(-7, decimals.nextInt());
+    assertTrue(!decimals.hasNext());
+  }
+}
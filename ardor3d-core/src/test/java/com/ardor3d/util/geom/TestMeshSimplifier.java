@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.geom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.FloatBuffer;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.renderer.IndexMode;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.scenegraph.extension.LodNode;
+
+public class TestMeshSimplifier {
+
+  /**
+   * @return a flat grid of size x size quads on the XY plane, each with its own 4 (duplicate)
+   *         vertices.
+   */
+  private static MeshData createGrid(final int size) {
+    final FloatBuffer verts = BufferUtils.createVector3Buffer(size * size * 4);
+    final FloatBuffer normals = BufferUtils.createVector3Buffer(size * size * 4);
+    final int[] indices = new int[size * size * 6];
+    int v = 0, i = 0;
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        verts.put(x).put(y).put(0).put(x + 1).put(y).put(0).put(x + 1).put(y + 1).put(0).put(x).put(y + 1).put(0);
+        for (int n = 0; n < 4; n++) {
+          normals.put(0).put(0).put(1);
+        }
+        indices[i++] = v;
+        indices[i++] = v + 1;
+        indices[i++] = v + 2;
+        indices[i++] = v;
+        indices[i++] = v + 2;
+        indices[i++] = v + 3;
+        v += 4;
+      }
+    }
+    final MeshData data = new MeshData();
+    data.setVertexBuffer(verts);
+    data.setNormalBuffer(normals);
+    data.setIndices(BufferUtils.createIndexBufferData(indices, v - 1));
+    data.setIndexMode(IndexMode.Triangles);
+    return data;
+  }
+
+  @Test
+  public void testSimplifyPlane() {
+    final MeshData source = createGrid(16);
+    assertEquals(512, source.getTotalPrimitiveCount());
+
+    final MeshData result = new MeshSimplifier().simplify(source, 0.1);
+    final int triangles = result.getTotalPrimitiveCount();
+    assertTrue("too many triangles: " + triangles, triangles <= 52);
+    assertTrue(triangles > 0);
+    assertEquals(IndexMode.Triangles, result.getIndexMode(0));
+    assertNotNull(result.getNormalBuffer());
+    assertEquals(result.getVertexCount() * 3, result.getNormalBuffer().limit());
+
+    // all faces must still face +Z and the corners must survive
+    final FloatBuffer verts = result.getVertexBuffer();
+    final int[] tri = new int[3];
+    double area = 0;
+    for (int t = 0; t < triangles; t++) {
+      result.getPrimitiveIndices(t, 0, tri);
+      final double ax = verts.get(tri[0] * 3), ay = verts.get(tri[0] * 3 + 1);
+      final double bx = verts.get(tri[1] * 3), by = verts.get(tri[1] * 3 + 1);
+      final double cx = verts.get(tri[2] * 3), cy = verts.get(tri[2] * 3 + 1);
+      final double cross = (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+      assertTrue(cross > 0);
+      area += cross * 0.5;
+    }
+    assertEquals(256, area, 1e-4);
+    assertTrue(source.getVertexCount() == 1024);
+  }
+
+  @Test
+  public void testMaxError() {
+    final MeshSimplifier simplifier = new MeshSimplifier();
+    simplifier.setMaxError(0);
+    simplifier.setBoundaryWeight(1);
+
+    // planar interior collapses are free, so we can still reduce, but never past the boundary
+    final MeshData result = simplifier.simplify(createGrid(8), 0);
+    assertTrue(result.getTotalPrimitiveCount() > 0);
+    assertTrue(result.getTotalPrimitiveCount() < 128);
+  }
+
+  @Test
+  public void testLodNode() {
+    final Mesh mesh = new Mesh("grid");
+    mesh.setMeshData(createGrid(8));
+    mesh.updateModelBound();
+
+    final LodNode node = new MeshSimplifier().createLodNode(mesh, new double[] {0.5, 0.25}, new double[] {100, 50, 0});
+    assertEquals(3, node.getNumberOfChildren());
+    assertEquals(128, ((Mesh) node.getChild(0)).getMeshData().getTotalPrimitiveCount());
+    assertTrue(((Mesh) node.getChild(1)).getMeshData().getTotalPrimitiveCount() <= 64);
+    assertTrue(((Mesh) node.getChild(2)).getMeshData().getTotalPrimitiveCount() <= 32);
+  }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ardor3d.scenegraph.Node;
+
+public class TestImportCache {
+
+  private final AtomicInteger _imports = new AtomicInteger();
+  private File _directory;
+
+  @Before
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("ardor3d-import-cache").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    for (final File file : _directory.listFiles()) {
+      file.delete();
+    }
+    _directory.delete();
+  }
+
+  /** Stands in for a model importer: a Node named after the source contents. */
+  private Node importNode(final ResourceSource source) throws IOException {
+    _imports.incrementAndGet();
+    try (InputStream in = source.openStream()) {
+      return new Node(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testHitAndInvalidate() throws Exception {
+    final ImportCache cache = new ImportCache(_directory, 1024 * 1024);
+
+    final Node first = cache.load(new StringResourceSource("model a", ".obj"), "flip", this::importNode);
+    final Node second = cache.load(new StringResourceSource("model a", ".obj"), "flip", this::importNode);
+    assertEquals(1, _imports.get());
+    assertEquals("model a", second.getName());
+    assertNotSame(first, second);
+
+    // other settings are another entry
+    cache.load(new StringResourceSource("model a", ".obj"), "noflip", this::importNode);
+    assertEquals(2, _imports.get());
+
+    // changed contents are imported again
+    final Node changed = cache.load(new StringResourceSource("model b", ".obj"), "flip", this::importNode);
+    assertEquals(3, _imports.get());
+    assertEquals("model b", changed.getName());
+  }
+
+  @Test
+  public void testCorruptEntryIsReimported() throws Exception {
+    final ImportCache cache = new ImportCache(_directory, 1024 * 1024);
+    cache.load(new StringResourceSource("model", ".obj"), null, this::importNode);
+    for (final File entry : cache.getDirectory().listFiles()) {
+      Files.write(entry.toPath(), new byte[] {1, 2, 3});
+    }
+    final Node node = cache.load(new StringResourceSource("model", ".obj"), null, this::importNode);
+    assertEquals("model", node.getName());
+    assertEquals(2, _imports.get());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEviction() throws Exception {
+    final ImportCache cache = new ImportCache(_directory, 1024 * 1024);
+    for (int i = 0; i < 4; i++) {
+      cache.load(new StringResourceSource("model", ".obj"), "variant" + i, this::importNode);
+    }
+    final File[] entries = cache.getDirectory().listFiles();
+    final long entrySize = entries[0].length();
+    long time = System.currentTimeMillis() - 100_000;
+    for (int i = 0; i < 4; i++) {
+      // variant 0 is the oldest
+      final String name = cache.entryName(new StringResourceSource("model", ".obj"), "variant" + i);
+      assertTrue(new File(cache.getDirectory(), name).setLastModified(time + i * 1000));
+    }
+
+    cache.setMaxSize(entrySize * 2);
+    cache.trim();
+    assertTrue(cache.getSize() <= entrySize * 2);
+    cache.load(new StringResourceSource("model", ".obj"), "variant3", this::importNode);
+    cache.load(new StringResourceSource("model", ".obj"), "variant0", this::importNode);
+    assertEquals(5, _imports.get());
+  }
+
+  @Test
+  public void testConcurrentLoadsImportOnce() throws Exception {
+    final ImportCache cache = new ImportCache(_directory, 1024 * 1024);
+    final List<CompletableFuture<Node>> futures = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      futures.add(cache.loadAsync(new StringResourceSource("model" + i % 4, ".obj"), null, source -> {
+        LockSupport.parkNanos(20_000_000L);
+        return importNode(source);
+      }));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      assertEquals("model" + i % 4, futures.get(i).join().getName());
+    }
+    assertEquals(4, _imports.get());
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.util.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ardor3d.scenegraph.Node;
+
+public class TestSavableFileStore {
+
+  private File _directory;
+
+  @Before
+  public void setUp() throws IOException {
+    _directory = Files.createTempDirectory("ardor3d-file-store").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    final File[] files = _directory.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+    _directory.delete();
+  }
+
+  @Test
+  public void testWriteAndRead() throws Exception {
+    // the directory is made on the first write
+    final SavableFileStore store = new SavableFileStore(new File(_directory, "entries"), ".abi");
+    assertNull(store.read("a.abi"));
+    assertTrue(store.write("a.abi", new Node("a"), 1_000_000_000_000L));
+    assertEquals("a", ((Node) store.read("a.abi")).getName());
+    assertEquals(1_000_000_000_000L, store.getFile("a.abi").lastModified());
+    assertEquals(store.getFile("a.abi").length(), store.getSize());
+
+    // no temporary files left behind
+    assertEquals(1, store.getDirectory().listFiles().length);
+    assertTrue(store.delete("a.abi"));
+    assertFalse(store.delete("a.abi"));
+    store.getDirectory().delete();
+  }
+
+  @Test
+  public void testUnreadableEntryIsDeleted() throws Exception {
+    final SavableFileStore store = new SavableFileStore(_directory, ".abi");
+    Files.write(store.getFile("bad.abi").toPath(), new byte[] {1, 2, 3});
+    assertNull(store.read("bad.abi"));
+    assertFalse(store.getFile("bad.abi").exists());
+  }
+
+  @Test
+  public void testTrimOldestFirst() throws Exception {
+    final SavableFileStore store = new SavableFileStore(_directory, ".abi");
+    final long time = System.currentTimeMillis() - 100_000;
+    for (int i = 0; i < 4; i++) {
+      store.write(i + ".abi", new Node("node"), time + i * 1000);
+    }
+    // files of other extensions are not entries
+    Files.write(new File(_directory, "other.txt").toPath(), new byte[] {1, 2, 3});
+
+    final long entrySize = store.getFile("0.abi").length();
+    store.trim(entrySize * 2);
+    assertEquals(entrySize * 2, store.getSize());
+    assertFalse(store.getFile("0.abi").exists());
+    assertFalse(store.getFile("1.abi").exists());
+    assertTrue(store.getFile("3.abi").exists());
+
+    store.clear();
+    assertEquals(0, store.getSize());
+    assertTrue(new File(_directory, "other.txt").exists());
+  }
+
+  @Test
+  public void testHex() {
+    assertEquals("00FF7F", SavableFileStore.toHex(new byte[] {0, -1, 127}));
+  }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.atlas;
+
+import com.ardor3d.math.Rectangle2;
+
+/**
+ * The place of one sub-image in a {@link DynamicAtlas}. Its position changes when the atlas is
+ * defragmented, so read it again rather than keeping the values around.
+ */
+public class AtlasRegion {
+  private final DynamicAtlas _atlas;
+  private final int _width;
+  private final int _height;
+  private Rectangle2 _allocated;
+
+  AtlasRegion(final DynamicAtlas atlas, final int width, final int height, final Rectangle2 allocated) {
+    _atlas = atlas;
+    _width = width;
+    _height = height;
+    _allocated = allocated;
+  }
+
+  /**
+   * @return the space reserved for us in the atlas, including the padding around our image, or null
+   *         once removed.
+   */
+  Rectangle2 getAllocated() { return _allocated; }
+
+  void setAllocated(final Rectangle2 allocated) { _allocated = allocated; }
+
+  public DynamicAtlas getAtlas() { return _atlas; }
+
+  public boolean isRemoved() { return _allocated == null; }
+
+  /**
+   * @return the x offset of our image in the atlas, in texels.
+   */
+  public int getX() { return _allocated.getX() + DynamicAtlas.PADDING; }
+
+  /**
+   * @return the y offset of our image in the atlas, in texels.
+   */
+  public int getY() { return _allocated.getY() + DynamicAtlas.PADDING; }
+
+  public int getWidth() { return _width; }
+
+  public int getHeight() { return _height; }
+
+  public float getOffsetU() { return (float) getX() / _atlas.getWidth(); }
+
+  public float getOffsetV() { return (float) getY() / _atlas.getHeight(); }
+
+  public float getScaleU() { return (float) _width / _atlas.getWidth(); }
+
+  public float getScaleV() { return (float) _height / _atlas.getHeight(); }
+
+  @Override
+  public String toString() {
+    return "AtlasRegion [" + (isRemoved() ? "removed" : getX() + ", " + getY()) + ", " + _width + "x" + _height + "]";
+  }
+}
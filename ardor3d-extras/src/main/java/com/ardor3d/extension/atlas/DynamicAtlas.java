@@ -0,0 +1,468 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.atlas;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.buffer.FloatBufferData;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.Texture.MagnificationFilter;
+import com.ardor3d.image.Texture.MinificationFilter;
+import com.ardor3d.image.Texture2D;
+import com.ardor3d.math.Rectangle2;
+import com.ardor3d.renderer.ContextManager;
+import com.ardor3d.renderer.Renderer;
+import com.ardor3d.renderer.state.RenderState.StateType;
+import com.ardor3d.renderer.state.TextureState;
+import com.ardor3d.renderer.texture.ITextureUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.MeshData;
+import com.ardor3d.util.TextureKey;
+import com.ardor3d.util.geom.MeshCombiner;
+
+/**
+ * A texture atlas that sub-images can be added to and removed from while it is in use, for things
+ * spawned at runtime such as decals, icons and signs. Where {@link TexturePacker} builds its atlases
+ * once, here each image is copied into a single RGBA texture as it comes, and only the changed
+ * texels are sent to the card in {@link #update(Renderer)}.
+ * <p>
+ * Meshes {@link #attach(Mesh, AtlasRegion) attached} to a region have their texture coordinates
+ * remapped into it, and kept remapped when {@link #defragment()} moves it. Attached meshes share one
+ * texture state, so they can be merged into a single draw with {@link #combine(Collection)}.
+ * <p>
+ * The atlas has no mipmaps, since those would have to be made again for every change.
+ */
+public class DynamicAtlas {
+  /** Texels of edge color kept around each image, so bilinear filtering does not bleed in. */
+  public static final int PADDING = 1;
+
+  private final int _width;
+  private final int _height;
+  private GuillotinePacker _packer;
+  private final ByteBuffer _data;
+  private final Texture2D _texture;
+  private final TextureState _textureState;
+
+  private final Set<AtlasRegion> _regions = new LinkedHashSet<>();
+  private final Map<Mesh, Binding> _bindings = new HashMap<>();
+  private final List<Rectangle2> _dirty = new ArrayList<>();
+
+  private boolean _defragmentWhenFull = true;
+  private int _generation;
+
+  private static class Binding {
+    final AtlasRegion _region;
+    final int _unit;
+    final float[] _original;
+
+    Binding(final AtlasRegion region, final int unit, final float[] original) {
+      _region = region;
+      _unit = unit;
+      _original = original;
+    }
+  }
+
+  /**
+   * Construct a new DynamicAtlas with bilinear filtering.
+   *
+   * @param width
+   *          the width of our texture.
+   * @param height
+   *          the height of our texture.
+   */
+  public DynamicAtlas(final int width, final int height) {
+    this(width, height, MinificationFilter.BilinearNoMipMaps, MagnificationFilter.Bilinear);
+  }
+
+  /**
+   * Construct a new DynamicAtlas.
+   *
+   * @param width
+   *          the width of our texture.
+   * @param height
+   *          the height of our texture.
+   * @param minFilter
+   *          our minification filter, which must not use mipmaps.
+   * @param magFilter
+   *          our magnification filter.
+   */
+  public DynamicAtlas(final int width, final int height, final MinificationFilter minFilter,
+      final MagnificationFilter magFilter) {
+    if (minFilter.usesMipMapLevels()) {
+      throw new IllegalArgumentException("Dynamic atlases have no mipmaps, can not use " + minFilter);
+    }
+    _width = width;
+    _height = height;
+    _packer = new GuillotinePacker(width, height);
+    _data = BufferUtils.createByteBuffer(width * height * 4);
+
+    _texture = new Texture2D();
+    _texture.setMinificationFilter(minFilter);
+    _texture.setMagnificationFilter(magFilter);
+    _texture.setWrap(Texture.WrapMode.EdgeClamp);
+    // the content changes after loading, so this can not be shared or reloaded by key
+    _texture.setTextureKey(TextureKey.getRTTKey(minFilter));
+    _texture.setImage(new Image(ImageDataFormat.RGBA, PixelDataType.UnsignedByte, width, height, _data, null));
+
+    _textureState = new TextureState();
+    _textureState.setTexture(_texture);
+  }
+
+  /**
+   * Copy an image into the atlas.
+   *
+   * @param image
+   *          an RGB or RGBA unsigned byte image.
+   * @return where the image was put, or null if there was no room for it.
+   * @throws IllegalArgumentException
+   *           if the image is not RGB or RGBA unsigned bytes.
+   */
+  public AtlasRegion insert(final Image image) {
+    final ImageDataFormat format = image.getDataFormat();
+    if (image.getDataType() != PixelDataType.UnsignedByte
+        || format != ImageDataFormat.RGB && format != ImageDataFormat.RGBA) {
+      throw new IllegalArgumentException(
+          "Unsupported image format " + format + " " + image.getDataType() + ", must be RGB or RGBA unsigned bytes");
+    }
+    final int width = image.getWidth(), height = image.getHeight();
+    final int paddedWidth = width + 2 * PADDING, paddedHeight = height + 2 * PADDING;
+    if (paddedWidth > _width || paddedHeight > _height) {
+      return null;
+    }
+
+    Rectangle2 allocated = _packer.insert(paddedWidth, paddedHeight);
+    if (allocated == null && _defragmentWhenFull && _packer.getFreeArea() >= paddedWidth * paddedHeight
+        && defragment()) {
+      allocated = _packer.insert(paddedWidth, paddedHeight);
+    }
+    if (allocated == null) {
+      return null;
+    }
+
+    final AtlasRegion region = new AtlasRegion(this, width, height, allocated);
+    _regions.add(region);
+    copyImage(image, allocated);
+    _dirty.add(allocated.clone());
+    return region;
+  }
+
+  private void copyImage(final Image image, final Rectangle2 target) {
+    final ByteBuffer source = image.getData(0);
+    final int components = image.getDataFormat().getComponents();
+    final int width = image.getWidth(), height = image.getHeight();
+    for (int y = 0; y < target.getHeight(); y++) {
+      final int srcY = Math.min(Math.max(y - PADDING, 0), height - 1);
+      int dst = ((target.getY() + y) * _width + target.getX()) * 4;
+      for (int x = 0; x < target.getWidth(); x++, dst += 4) {
+        final int src = (srcY * width + Math.min(Math.max(x - PADDING, 0), width - 1)) * components;
+        _data.put(dst, source.get(src));
+        _data.put(dst + 1, source.get(src + 1));
+        _data.put(dst + 2, source.get(src + 2));
+        _data.put(dst + 3, components == 4 ? source.get(src + 3) : (byte) 0xFF);
+      }
+    }
+  }
+
+  /**
+   * Free the space of a region. Meshes still attached to it are detached.
+   *
+   * @param region
+   *          the region to remove.
+   */
+  public void remove(final AtlasRegion region) {
+    if (region.getAtlas() != this || !_regions.remove(region)) {
+      return;
+    }
+    for (final Iterator<Map.Entry<Mesh, Binding>> it = _bindings.entrySet().iterator(); it.hasNext();) {
+      final Map.Entry<Mesh, Binding> entry = it.next();
+      if (entry.getValue()._region == region) {
+        restore(entry.getKey(), entry.getValue());
+        it.remove();
+      }
+    }
+    _packer.remove(region.getAllocated());
+    region.setAllocated(null);
+  }
+
+  /**
+   * Pack all regions again from scratch, so space freed by removals can be used in one piece. Moved
+   * regions have their texels copied and their attached meshes remapped; meshes made earlier with
+   * {@link #combine(Collection)} have to be combined again, which {@link #getGeneration()} tells.
+   *
+   * @return true if all regions fit again and were moved, false if the atlas was left as it was.
+   */
+  public boolean defragment() {
+    final List<AtlasRegion> regions = new ArrayList<>(_regions);
+    // tall ones first packs tightest
+    regions.sort((a, b) -> b.getAllocated().getHeight() != a.getAllocated().getHeight()
+        ? b.getAllocated().getHeight() - a.getAllocated().getHeight()
+        : b.getAllocated().getWidth() - a.getAllocated().getWidth());
+
+    final GuillotinePacker packer = new GuillotinePacker(_width, _height);
+    final Rectangle2[] moved = new Rectangle2[regions.size()];
+    for (int i = 0; i < moved.length; i++) {
+      final Rectangle2 old = regions.get(i).getAllocated();
+      moved[i] = packer.insert(old.getWidth(), old.getHeight());
+      if (moved[i] == null) {
+        return false;
+      }
+    }
+
+    final ByteBuffer old = BufferUtils.createByteBufferOnHeap(_data.capacity());
+    old.put(0, _data, 0, _data.capacity());
+    final int rowOffset = 4 * _width;
+    for (int i = 0; i < moved.length; i++) {
+      final Rectangle2 from = regions.get(i).getAllocated();
+      final int rowBytes = from.getWidth() * 4;
+      for (int y = 0; y < from.getHeight(); y++) {
+        _data.put((moved[i].getY() + y) * rowOffset + moved[i].getX() * 4, old,
+            (from.getY() + y) * rowOffset + from.getX() * 4, rowBytes);
+      }
+      regions.get(i).setAllocated(moved[i]);
+    }
+
+    _packer = packer;
+    _dirty.clear();
+    _dirty.add(new Rectangle2(0, 0, _width, _height));
+    _bindings.forEach(this::remap);
+    _generation++;
+    return true;
+  }
+
+  /**
+   * Remap the first texture coordinates of a mesh into a region, and have it draw with our texture.
+   *
+   * @param mesh
+   *          the mesh, with texture coordinates in [0, 1] over the image of the region.
+   * @param region
+   *          the region to use.
+   */
+  public void attach(final Mesh mesh, final AtlasRegion region) {
+    attach(mesh, region, 0);
+  }
+
+  /**
+   * Remap texture coordinates of a mesh into a region, and have it draw with our texture on the same
+   * unit. Meshes without a texture state of their own get our shared one.
+   * <p>
+   * Texture coordinates shared with another attached mesh are only captured once. A mesh sharing just
+   * the buffer gets coordinates of its own to remap; meshes sharing their whole mesh data, such as
+   * {@link Mesh#makeCopy(boolean) shared copies}, draw the same coordinates, so all of them show the
+   * region last attached.
+   * </p>
+   *
+   * @param mesh
+   *          the mesh, with texture coordinates in [0, 1] over the image of the region.
+   * @param region
+   *          the region to use.
+   * @param unit
+   *          the texture unit and texture coordinates to use.
+   * @throws IllegalArgumentException
+   *           if the region is not in this atlas, or the mesh has no such texture coordinates.
+   */
+  public void attach(final Mesh mesh, final AtlasRegion region, final int unit) {
+    if (region.getAtlas() != this || region.isRemoved()) {
+      throw new IllegalArgumentException("Region is not in this atlas: " + region);
+    }
+    final FloatBufferData coords = mesh.getMeshData().getTextureCoords(unit);
+    if (coords == null) {
+      throw new IllegalArgumentException("No texture coords at index " + unit + " for mesh: " + mesh);
+    }
+
+    Binding binding = _bindings.get(mesh);
+    if (binding != null && binding._unit == unit) {
+      binding = new Binding(region, unit, binding._original);
+    } else {
+      if (binding != null) {
+        restore(mesh, binding);
+      }
+      final FloatBuffer buffer = coords.getBuffer();
+      final Mesh sharing = findSharing(buffer, mesh);
+      final float[] original;
+      if (sharing == null) {
+        original = new float[buffer.limit()];
+        buffer.get(0, original);
+      } else {
+        // the buffer was already remapped for another mesh, so start from that mesh's original
+        original = _bindings.get(sharing)._original;
+        if (sharing.getMeshData() != mesh.getMeshData()) {
+          // and give this mesh coords of its own to remap
+          mesh.getMeshData().setTextureCoords(
+              new FloatBufferData(BufferUtils.createFloatBuffer(buffer.limit()), coords.getValuesPerTuple()), unit);
+        }
+      }
+      binding = new Binding(region, unit, original);
+    }
+    _bindings.put(mesh, binding);
+    remap(mesh, binding);
+
+    final TextureState ts = (TextureState) mesh.getLocalRenderState(StateType.Texture);
+    if (ts == null) {
+      mesh.setRenderState(unit == 0 ? _textureState : createTextureState(unit));
+    } else if (ts.getTexture(unit) != _texture) {
+      ts.setTexture(_texture, unit);
+      ts.setNeedsRefresh(true);
+    }
+  }
+
+  private TextureState createTextureState(final int unit) {
+    final TextureState ts = new TextureState();
+    ts.setTexture(_texture, unit);
+    return ts;
+  }
+
+  /**
+   * Give a mesh back its own texture coordinates. Its texture state is left alone.
+   *
+   * @param mesh
+   *          the mesh to detach.
+   */
+  public void detach(final Mesh mesh) {
+    final Binding binding = _bindings.remove(mesh);
+    if (binding != null) {
+      restore(mesh, binding);
+    }
+  }
+
+  /**
+   * @return another attached mesh whose bound texture coordinates are in the given buffer, or null.
+   */
+  private Mesh findSharing(final FloatBuffer buffer, final Mesh mesh) {
+    for (final Map.Entry<Mesh, Binding> entry : _bindings.entrySet()) {
+      final Mesh other = entry.getKey();
+      if (other != mesh) {
+        final FloatBufferData coords = other.getMeshData().getTextureCoords(entry.getValue()._unit);
+        if (coords != null && coords.getBuffer() == buffer) {
+          return other;
+        }
+      }
+    }
+    return null;
+  }
+
+  private void remap(final Mesh mesh, final Binding binding) {
+    final FloatBufferData coords = mesh.getMeshData().getTextureCoords(binding._unit);
+    final FloatBuffer buffer = coords.getBuffer();
+    final int tuple = coords.getValuesPerTuple();
+    final AtlasRegion region = binding._region;
+    final float scaleU = region.getScaleU(), scaleV = region.getScaleV();
+    final float offsetU = region.getOffsetU(), offsetV = region.getOffsetV();
+    for (int i = 0; i + 1 < binding._original.length; i += tuple) {
+      buffer.put(i, binding._original[i] * scaleU + offsetU);
+      buffer.put(i + 1, binding._original[i + 1] * scaleV + offsetV);
+    }
+    mesh.getMeshData().markBufferDirty(MeshData.KEY_TextureCoordsPrefix + binding._unit);
+  }
+
+  private void restore(final Mesh mesh, final Binding binding) {
+    final FloatBufferData coords = mesh.getMeshData().getTextureCoords(binding._unit);
+    // coords still bound for another mesh stay remapped
+    if (coords != null && coords.getBuffer().limit() == binding._original.length
+        && findSharing(coords.getBuffer(), mesh) == null) {
+      coords.getBuffer().put(0, binding._original);
+      mesh.getMeshData().markBufferDirty(MeshData.KEY_TextureCoordsPrefix + binding._unit);
+    }
+  }
+
+  /**
+   * Merge attached meshes into one, drawn with our texture in a single call. The result holds the
+   * texture coordinates as they are now, so combine again after the {@link #getGeneration()
+   * generation} changes.
+   *
+   * @param meshes
+   *          meshes attached to this atlas, all with the same other render states.
+   * @return the combined mesh, or null if there were no meshes.
+   * @throws IllegalArgumentException
+   *           if a mesh is not attached to this atlas.
+   */
+  public Mesh combine(final Collection<Mesh> meshes) {
+    for (final Mesh mesh : meshes) {
+      if (!_bindings.containsKey(mesh)) {
+        throw new IllegalArgumentException("Mesh is not attached to this atlas: " + mesh);
+      }
+    }
+    return MeshCombiner.combine(meshes);
+  }
+
+  /**
+   * Send changed texels to the card. Until our texture is first drawn, there is nothing to update,
+   * as all our texels go with it then.
+   *
+   * @param renderer
+   *          the renderer to use.
+   */
+  public void update(final Renderer renderer) {
+    if (_texture.getTextureIdForContext(ContextManager.getCurrentContext()) == 0) {
+      _dirty.clear();
+      return;
+    }
+    update(renderer.getTextureUtils());
+  }
+
+  void update(final ITextureUtils textureUtils) {
+    for (final Rectangle2 rect : _dirty) {
+      textureUtils.updateTexture2DSubImage(_texture, rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight(),
+          _data, rect.getX(), rect.getY(), _width);
+    }
+    _dirty.clear();
+  }
+
+  /**
+   * @param defragmentWhenFull
+   *          if true (the default), an insert that only fails for fragmentation calls
+   *          {@link #defragment()} and tries again.
+   */
+  public void setDefragmentWhenFull(final boolean defragmentWhenFull) { _defragmentWhenFull = defragmentWhenFull; }
+
+  public boolean isDefragmentWhenFull() { return _defragmentWhenFull; }
+
+  /**
+   * @return a count of the defragmentations so far, which moved regions around.
+   */
+  public int getGeneration() { return _generation; }
+
+  public int getWidth() { return _width; }
+
+  public int getHeight() { return _height; }
+
+  public Texture2D getTexture() { return _texture; }
+
+  /**
+   * @return the texture state given to attached meshes that had none.
+   */
+  public TextureState getTextureState() { return _textureState; }
+
+  public Collection<AtlasRegion> getRegions() { return Collections.unmodifiableSet(_regions); }
+
+  /**
+   * @return the part of our texels in use, padding included.
+   */
+  public float getUsage() { return (float) _packer.getUsedArea() / (_width * _height); }
+
+  /**
+   * @return the number of dirty rectangles waiting for {@link #update(Renderer)}.
+   */
+  int getDirtyCount() { return _dirty.size(); }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.atlas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ardor3d.math.Rectangle2;
+import com.ardor3d.math.type.ReadOnlyRectangle2;
+
+/**
+ * A rectangle packer that, unlike {@link AtlasPacker}, can also give space back. Free space is kept
+ * as a list of rectangles; an insert takes the free rectangle it fits best and splits what is left
+ * along the shorter side, and a removal returns its rectangle to the list, merged with free
+ * neighbours sharing a whole edge. Space freed in odd shapes may not be reusable until everything is
+ * packed again from scratch, which {@link #getFreeArea()} against a failed insert tells apart.
+ */
+public class GuillotinePacker {
+  private final int _width;
+  private final int _height;
+  private final List<Rectangle2> _free = new ArrayList<>();
+  private int _usedArea;
+
+  public GuillotinePacker(final int width, final int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid packer size " + width + "x" + height);
+    }
+    _width = width;
+    _height = height;
+    clear();
+  }
+
+  /**
+   * Find room for a rectangle of the given size.
+   *
+   * @param width
+   *          the width needed.
+   * @param height
+   *          the height needed.
+   * @return the rectangle reserved, or null if there is no free rectangle large enough.
+   */
+  public Rectangle2 insert(final int width, final int height) {
+    if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Invalid rectangle size " + width + "x" + height);
+    }
+    int best = -1;
+    long bestArea = Long.MAX_VALUE;
+    int bestSide = Integer.MAX_VALUE;
+    for (int i = 0; i < _free.size(); i++) {
+      final Rectangle2 free = _free.get(i);
+      if (free.getWidth() < width || free.getHeight() < height) {
+        continue;
+      }
+      final long area = (long) free.getWidth() * free.getHeight() - (long) width * height;
+      final int side = Math.min(free.getWidth() - width, free.getHeight() - height);
+      if (area < bestArea || area == bestArea && side < bestSide) {
+        best = i;
+        bestArea = area;
+        bestSide = side;
+      }
+    }
+    if (best < 0) {
+      return null;
+    }
+
+    final Rectangle2 free = _free.remove(best);
+    final int restWidth = free.getWidth() - width;
+    final int restHeight = free.getHeight() - height;
+    // keep the larger of the two leftovers in one piece, on a tie the full width strip below
+    if (restWidth <= restHeight) {
+      addFree(free.getX() + width, free.getY(), restWidth, height);
+      addFree(free.getX(), free.getY() + height, free.getWidth(), restHeight);
+    } else {
+      addFree(free.getX() + width, free.getY(), restWidth, free.getHeight());
+      addFree(free.getX(), free.getY() + height, width, restHeight);
+    }
+    _usedArea += width * height;
+    return new Rectangle2(free.getX(), free.getY(), width, height);
+  }
+
+  /**
+   * Give back a rectangle returned from {@link #insert(int, int)}.
+   *
+   * @param rectangle
+   *          the rectangle to free.
+   */
+  public void remove(final ReadOnlyRectangle2 rectangle) {
+    _usedArea -= rectangle.getWidth() * rectangle.getHeight();
+    final Rectangle2 merged = new Rectangle2(rectangle);
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int i = 0; i < _free.size(); i++) {
+        final Rectangle2 other = _free.get(i);
+        if (merge(merged, other)) {
+          _free.remove(i);
+          changed = true;
+          break;
+        }
+      }
+    }
+    _free.add(merged);
+  }
+
+  private static boolean merge(final Rectangle2 store, final Rectangle2 other) {
+    if (store.getX() == other.getX() && store.getWidth() == other.getWidth()) {
+      if (store.getY() + store.getHeight() == other.getY() || other.getY() + other.getHeight() == store.getY()) {
+        store.set(store.getX(), Math.min(store.getY(), other.getY()), store.getWidth(),
+            store.getHeight() + other.getHeight());
+        return true;
+      }
+    } else if (store.getY() == other.getY() && store.getHeight() == other.getHeight()) {
+      if (store.getX() + store.getWidth() == other.getX() || other.getX() + other.getWidth() == store.getX()) {
+        store.set(Math.min(store.getX(), other.getX()), store.getY(), store.getWidth() + other.getWidth(),
+            store.getHeight());
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void addFree(final int x, final int y, final int width, final int height) {
+    if (width > 0 && height > 0) {
+      _free.add(new Rectangle2(x, y, width, height));
+    }
+  }
+
+  /**
+   * Free all space.
+   */
+  public void clear() {
+    _free.clear();
+    _free.add(new Rectangle2(0, 0, _width, _height));
+    _usedArea = 0;
+  }
+
+  public int getWidth() { return _width; }
+
+  public int getHeight() { return _height; }
+
+  public int getUsedArea() { return _usedArea; }
+
+  public int getFreeArea() { return _width * _height - _usedArea; }
+
+  /**
+   * @return the number of separate free rectangles, a measure of how fragmented our space is.
+   */
+  public int getFreeRectangleCount() { return _free.size(); }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.atlas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.math.Rectangle2;
+import com.ardor3d.renderer.state.RenderState.StateType;
+import com.ardor3d.renderer.texture.ITextureUtils;
+import com.ardor3d.scenegraph.Mesh;
+import com.ardor3d.scenegraph.shape.Quad;
+
+public class TestDynamicAtlas {
+
+  private static Image image(final int width, final int height, final int value) {
+    final ByteBuffer data = BufferUtils.createByteBuffer(width * height * 3);
+    for (int i = 0; i < data.capacity(); i++) {
+      data.put(i, (byte) value);
+    }
+    return new Image(ImageDataFormat.RGB, PixelDataType.UnsignedByte, width, height, data, null);
+  }
+
+  private static int texel(final DynamicAtlas atlas, final int x, final int y) {
+    return atlas.getTexture().getImage().getData(0).get((y * atlas.getWidth() + x) * 4) & 0xFF;
+  }
+
+  @Test
+  public void testPackerReusesFreedSpace() {
+    final GuillotinePacker packer = new GuillotinePacker(64, 64);
+    final Rectangle2 a = packer.insert(32, 64);
+    final Rectangle2 b = packer.insert(32, 32);
+    final Rectangle2 c = packer.insert(32, 32);
+    assertNotNull(c);
+    assertNull(packer.insert(1, 1));
+
+    packer.remove(b);
+    packer.remove(c);
+    // the two halves merge back into one
+    assertEquals(1, packer.getFreeRectangleCount());
+    assertEquals(new Rectangle2(32, 0, 32, 64), packer.insert(32, 64));
+    packer.remove(a);
+    assertEquals(32 * 64, packer.getUsedArea());
+  }
+
+  @Test
+  public void testInsertCopiesWithPadding() {
+    final DynamicAtlas atlas = new DynamicAtlas(64, 64);
+    final AtlasRegion region = atlas.insert(image(4, 4, 200));
+    assertEquals(4, region.getWidth());
+    final int x = region.getX(), y = region.getY();
+    assertEquals(200, texel(atlas, x, y));
+    assertEquals(200, texel(atlas, x - 1, y - 1));
+    assertEquals(200, texel(atlas, x + 4, y + 4));
+    // alpha filled in for RGB
+    assertEquals(0xFF, atlas.getTexture().getImage().getData(0).get((y * 64 + x) * 4 + 3) & 0xFF);
+    assertEquals(x / 64f, region.getOffsetU(), 0f);
+    assertEquals(4 / 64f, region.getScaleV(), 0f);
+
+    assertNull(atlas.insert(image(64, 1, 0)));
+  }
+
+  @Test
+  public void testAttachRemapsAndDetachRestores() {
+    final DynamicAtlas atlas = new DynamicAtlas(64, 64);
+    atlas.insert(image(10, 10, 1));
+    final AtlasRegion region = atlas.insert(image(8, 8, 2));
+    final Quad quad = new Quad("quad", 1, 1);
+    atlas.attach(quad, region);
+
+    assertEquals(region.getOffsetU() + region.getScaleU(), quad.getMeshData().getTextureBuffer(0).get(4), 0f);
+    assertEquals(region.getOffsetV(), quad.getMeshData().getTextureBuffer(0).get(3), 0f);
+    assertSame(atlas.getTextureState(), quad.getLocalRenderState(StateType.Texture));
+
+    atlas.detach(quad);
+    assertEquals(1f, quad.getMeshData().getTextureBuffer(0).get(4), 0f);
+
+    // removing a region detaches its meshes too
+    atlas.attach(quad, region);
+    atlas.remove(region);
+    assertTrue(region.isRemoved());
+    assertEquals(1f, quad.getMeshData().getTextureBuffer(0).get(1), 0f);
+  }
+
+  @Test
+  public void testAttachSharedCoords() {
+    final DynamicAtlas atlas = new DynamicAtlas(64, 64);
+    final AtlasRegion a = atlas.insert(image(10, 10, 1));
+    final AtlasRegion b = atlas.insert(image(8, 8, 2));
+    final Quad quad = new Quad("quad", 1, 1);
+    final Mesh copy = quad.makeCopy(true);
+    final Quad other = new Quad("other", 1, 1);
+    other.getMeshData().setTextureCoords(quad.getMeshData().getTextureCoords(0), 0);
+
+    // a shared copy is remapped from the original coords, not the remapped ones
+    atlas.attach(quad, a);
+    atlas.attach(copy, a);
+    assertEquals(a.getOffsetU() + a.getScaleU(), quad.getMeshData().getTextureBuffer(0).get(4), 0f);
+
+    // a mesh sharing only the buffer gets its own coords
+    atlas.attach(other, b);
+    assertNotSame(quad.getMeshData().getTextureBuffer(0), other.getMeshData().getTextureBuffer(0));
+    assertEquals(b.getOffsetU() + b.getScaleU(), other.getMeshData().getTextureBuffer(0).get(4), 0f);
+    assertEquals(a.getOffsetU() + a.getScaleU(), quad.getMeshData().getTextureBuffer(0).get(4), 0f);
+
+    // coords stay remapped until the last mesh drawing them is detached
+    atlas.detach(quad);
+    assertEquals(a.getOffsetU() + a.getScaleU(), copy.getMeshData().getTextureBuffer(0).get(4), 0f);
+    atlas.detach(copy);
+    assertEquals(1f, quad.getMeshData().getTextureBuffer(0).get(4), 0f);
+    atlas.detach(other);
+    assertEquals(1f, other.getMeshData().getTextureBuffer(0).get(4), 0f);
+  }
+
+  @Test
+  public void testDefragmentMovesRegionsAndMeshes() {
+    final DynamicAtlas atlas = new DynamicAtlas(32, 32);
+    atlas.setDefragmentWhenFull(false);
+    final List<AtlasRegion> regions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      regions.add(atlas.insert(image(14, 14, i)));
+    }
+    // free two opposite corners; a region twice as wide does not fit in either
+    atlas.remove(regions.get(0));
+    atlas.remove(regions.get(3));
+    assertNull(atlas.insert(image(30, 14, 9)));
+
+    final AtlasRegion kept = regions.get(1);
+    final Quad quad = new Quad("quad", 1, 1);
+    atlas.attach(quad, kept);
+    atlas.setDefragmentWhenFull(true);
+    final AtlasRegion wide = atlas.insert(image(30, 14, 9));
+    assertNotNull(wide);
+    assertEquals(1, atlas.getGeneration());
+
+    // texels and texture coordinates followed the move
+    assertEquals(1, texel(atlas, kept.getX(), kept.getY()));
+    assertEquals(2, texel(atlas, regions.get(2).getX(), regions.get(2).getY()));
+    assertEquals(9, texel(atlas, wide.getX() + 29, wide.getY()));
+    assertEquals(kept.getOffsetV(), quad.getMeshData().getTextureBuffer(0).get(3), 0f);
+  }
+
+  @Test
+  public void testUpdateSendsDirtyRectangles() {
+    final List<Object[]> updates = new ArrayList<>();
+    final ITextureUtils utils = (ITextureUtils) Proxy.newProxyInstance(ITextureUtils.class.getClassLoader(),
+        new Class<?>[] {ITextureUtils.class}, (proxy, method, args) -> {
+          if (method.getName().equals("updateTexture2DSubImage")) {
+            updates.add(args);
+          }
+          return null;
+        });
+    final DynamicAtlas atlas = new DynamicAtlas(64, 64);
+    final AtlasRegion region = atlas.insert(image(4, 4, 5));
+    atlas.insert(image(6, 6, 6));
+    atlas.update(utils);
+    assertEquals(2, updates.size());
+    assertEquals(region.getX() - 1, updates.get(0)[1]);
+    assertEquals(6, updates.get(0)[3]);
+    assertEquals(64, updates.get(0)[8]);
+
+    atlas.update(utils);
+    assertEquals(2, updates.size());
+  }
+
+  @Test
+  public void testCombineAttachedMeshes() {
+    final DynamicAtlas atlas = new DynamicAtlas(64, 64);
+    final Quad a = new Quad("a", 1, 1);
+    final Quad b = new Quad("b", 1, 1);
+    atlas.attach(a, atlas.insert(image(4, 4, 1)));
+    atlas.attach(b, atlas.insert(image(4, 4, 2)));
+    final Mesh combined = atlas.combine(List.of(a, b));
+    assertEquals(8, combined.getMeshData().getVertexCount());
+    assertSame(atlas.getTextureState(), combined.getLocalRenderState(StateType.Texture));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCombineRejectsUnattached() {
+    new DynamicAtlas(64, 64).combine(List.of(new Quad("q", 1, 1)));
+  }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -41,6 +41,7 @@ import com.ardor3d.renderer.state.TextureState;
 import com.ardor3d.renderer.state.record.TextureRecord;
 import com.ardor3d.renderer.state.record.TextureStateRecord;
 import com.ardor3d.renderer.state.record.TextureUnitRecord;
+import com.ardor3d.renderer.texture.TextureResidencyManager;
 import com.ardor3d.scene.state.lwjgl3.util.TextureConstants;
 import com.ardor3d.scene.state.lwjgl3.util.TextureToCard;
 import com.ardor3d.util.Constants;
@@ -109,8 +110,9 @@ public abstract class Lwjgl3TextureStateUtil {
     // bind our texture id to this unit.
     doTextureBind(texture, unit, false);
 
-    // grab our texture image data for sending to the card
-    final Image image = texture.getImage();
+    // grab our texture image data for sending to the card, less any levels dropped to save memory
+    final TextureResidencyManager residency = TextureManager.getResidencyManager();
+    final Image image = residency != null ? residency.getUploadImage(texture) : texture.getImage();
     if (image == null) {
       if (logger.isLoggable(Level.FINE)) {
         logger.fine("Image data for texture is null.");
@@ -135,7 +137,7 @@ public abstract class Lwjgl3TextureStateUtil {
     // Time to push our image data to the card...
     // ...handle textures that don't contain mipmaps:
     if (!image.hasMipmaps()) {
-      TextureToCard.sendNonMipMappedTexture(texture);
+      TextureToCard.sendNonMipMappedTexture(texture, image);
 
       // generate mipmaps, if we are uncompressed and our filter makes use of them.
       if (!texture.getTextureStoreFormat().isCompressed() && texture.getMinificationFilter().usesMipMapLevels()) {
@@ -152,7 +154,7 @@ public abstract class Lwjgl3TextureStateUtil {
     }
 
     // ...handle textures that have embedded mipmaps:
-    TextureToCard.sendMipMappedTexture(texture);
+    TextureToCard.sendMipMappedTexture(texture, image);
   }
 
   public static void apply(final TextureState state) {
@@ -161,6 +163,7 @@ public abstract class Lwjgl3TextureStateUtil {
     final ContextCapabilities caps = context.getCapabilities();
     final TextureStateRecord record = (TextureStateRecord) context.getStateRecord(StateType.Texture);
     context.setCurrentState(StateType.Texture, state);
+    final TextureResidencyManager residency = TextureManager.getResidencyManager();
 
     if (state.isEnabled()) {
       Texture texture;
@@ -227,6 +230,11 @@ public abstract class Lwjgl3TextureStateUtil {
         // data.
         state._keyCache[i] = texture.getTextureKey();
 
+        // record the use for the memory budget
+        if (residency != null) {
+          residency.touch(texture);
+        }
+
         // Other items only apply to textures below the frag unit limit
         if (i < caps.getNumberOfFragmentTextureUnits()) {
 
@@ -513,6 +521,11 @@ public abstract class Lwjgl3TextureStateUtil {
     GL11C.glDeleteTextures(id.intValue());
     record.removeTextureRecord(id);
     texture.removeFromIdCache(context);
+
+    final TextureResidencyManager residency = TextureManager.getResidencyManager();
+    if (residency != null) {
+      residency.forget(texture);
+    }
   }
 
   public static void deleteTextureIds(final Collection<Integer> ids) {
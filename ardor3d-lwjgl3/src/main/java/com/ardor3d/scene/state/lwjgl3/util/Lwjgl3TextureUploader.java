@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.scene.state.lwjgl3.util;
+
+import java.nio.ByteBuffer;
+import java.util.logging.Logger;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11C;
+import org.lwjgl.opengl.GL12C;
+import org.lwjgl.opengl.GL15C;
+import org.lwjgl.opengl.GL21C;
+import org.lwjgl.opengl.GL30C;
+import org.lwjgl.opengl.GL32C;
+import org.lwjgl.opengl.GL44C;
+import org.lwjgl.opengl.GLCapabilities;
+
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.Texture.Type;
+import com.ardor3d.renderer.ContextManager;
+import com.ardor3d.renderer.texture.ITextureUploader;
+import com.ardor3d.renderer.texture.TextureUpload;
+import com.ardor3d.renderer.texture.TextureUploadScheduler;
+import com.ardor3d.scene.state.lwjgl3.Lwjgl3TextureStateUtil;
+import com.ardor3d.util.Ardor3dException;
+
+/**
+ * Sends texture upload slices for a {@link TextureUploadScheduler} through a ring of persistently
+ * mapped pixel unpack buffer segments. Each frame's slices are copied into the next free segment and
+ * sent with glTexSubImage calls reading from it, so the driver copies them to the texture
+ * asynchronously instead of stalling on client memory. A fence is placed after each frame's uploads; a
+ * segment is only written again once the card has passed its fence, and a frame whose segment is still
+ * in use sends nothing.
+ * <p>
+ * Typical use, once per frame on the render thread:
+ * </p>
+ *
+ * <pre>
+ * scheduler.update(uploader);
+ * </pre>
+ * <p>
+ * An uploader belongs to the GL context it was first used in, and needs OpenGL 4.4 or
+ * ARB_buffer_storage. Call {@link #dispose()} in that context to release its buffer.
+ * </p>
+ */
+public class Lwjgl3TextureUploader implements ITextureUploader {
+  private static final Logger logger = Logger.getLogger(Lwjgl3TextureUploader.class.getName());
+
+  /** The default segment size, matching the scheduler's default frame budget. */
+  public static final int DEFAULT_SEGMENT_BYTES = (int) TextureUploadScheduler.DEFAULT_FRAME_BUDGET;
+
+  /** The default number of segments: enough for the card to lag two frames behind. */
+  public static final int DEFAULT_SEGMENT_COUNT = 3;
+
+  /**
+   * The alignment of each staged slice in the buffer, the size of the widest pixel component type, so
+   * the card never reads a component from a misaligned offset.
+   */
+  public static final int SLICE_ALIGNMENT = 4;
+
+  private final int _segmentBytes;
+  private final long[] _fences;
+
+  private int _bufferId;
+  private ByteBuffer _mapped;
+
+  /** The segment the current frame writes to, and how much of it is used. */
+  private int _segment;
+  private int _used;
+  private boolean _segmentFree;
+  private boolean _bound;
+  private int _origAlignment;
+
+  public Lwjgl3TextureUploader() {
+    this(DEFAULT_SEGMENT_BYTES, DEFAULT_SEGMENT_COUNT);
+  }
+
+  /**
+   * @param segmentBytes
+   *          the size of a ring segment, which is the most that can be sent per frame. Rounded up to a
+   *          multiple of {@link #SLICE_ALIGNMENT}.
+   * @param segmentCount
+   *          the number of segments, at least 2.
+   */
+  public Lwjgl3TextureUploader(final int segmentBytes, final int segmentCount) {
+    if (segmentBytes <= 0) {
+      throw new IllegalArgumentException("segmentBytes must be positive: " + segmentBytes);
+    }
+    if (segmentCount < 2) {
+      throw new IllegalArgumentException("segmentCount must be at least 2: " + segmentCount);
+    }
+    _segmentBytes = align(segmentBytes);
+    _fences = new long[segmentCount];
+  }
+
+  public int getSegmentBytes() { return _segmentBytes; }
+
+  public int getSegmentCount() { return _fences.length; }
+
+  private void init() {
+    final GLCapabilities caps = GL.getCapabilities();
+    if (!caps.OpenGL44 && !caps.GL_ARB_buffer_storage) {
+      throw new Ardor3dException("Persistently mapped buffers need OpenGL 4.4 or ARB_buffer_storage.");
+    }
+    final long size = (long) _segmentBytes * _fences.length;
+    final int flags = GL30C.GL_MAP_WRITE_BIT | GL44C.GL_MAP_PERSISTENT_BIT | GL44C.GL_MAP_COHERENT_BIT;
+
+    _bufferId = GL15C.glGenBuffers();
+    GL15C.glBindBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER, _bufferId);
+    GL44C.glBufferStorage(GL21C.GL_PIXEL_UNPACK_BUFFER, size, flags);
+    _mapped = GL30C.glMapBufferRange(GL21C.GL_PIXEL_UNPACK_BUFFER, 0, size, flags);
+    GL15C.glBindBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER, 0);
+    if (_mapped == null) {
+      GL15C.glDeleteBuffers(_bufferId);
+      _bufferId = 0;
+      throw new Ardor3dException("Unable to map pixel unpack buffer of " + size + " bytes.");
+    }
+  }
+
+  @Override
+  public void beginFrame() {
+    if (_bufferId == 0) {
+      init();
+    }
+    _used = 0;
+    _segmentFree = true;
+    final long fence = _fences[_segment];
+    if (fence != 0) {
+      // do not wait: if the card is still reading this segment, skip uploads this frame
+      final int status = GL32C.glClientWaitSync(fence, 0, 0);
+      if (status == GL32C.GL_ALREADY_SIGNALED || status == GL32C.GL_CONDITION_SATISFIED) {
+        GL32C.glDeleteSync(fence);
+        _fences[_segment] = 0;
+      } else {
+        _segmentFree = false;
+      }
+    }
+  }
+
+  @Override
+  public int getMaxSliceBytes() { return _segmentBytes; }
+
+  @Override
+  public long getAvailableBytes() { return _segmentFree ? Math.max(0, _segmentBytes - align(_used)) : 0; }
+
+  private static int align(final int bytes) {
+    return (bytes + SLICE_ALIGNMENT - 1) & -SLICE_ALIGNMENT;
+  }
+
+  @Override
+  public boolean upload(final TextureUpload upload, final TextureUpload.Slice slice) {
+    final Texture texture = upload.getTexture();
+    if (texture.getTextureIdForContext(ContextManager.getCurrentContext()) == 0) {
+      logger.fine("Texture is not on the card yet, keeping its upload for a later frame: " + texture);
+      return false;
+    }
+    if (!_bound) {
+      GL15C.glBindBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER, _bufferId);
+      // staged slices are tightly packed
+      _origAlignment = GL11C.glGetInteger(GL11C.GL_UNPACK_ALIGNMENT);
+      if (_origAlignment != 1) {
+        GL11C.glPixelStorei(GL11C.GL_UNPACK_ALIGNMENT, 1);
+      }
+      _bound = true;
+    }
+
+    // start each slice aligned for its component type; segments are aligned as their size is
+    _used = align(_used);
+    final int offset = _segment * _segmentBytes + _used;
+    final ByteBuffer staging = _mapped.duplicate();
+    staging.position(offset);
+    upload.copySlice(slice, staging);
+    _used += slice.getByteSize();
+
+    Lwjgl3TextureStateUtil.doTextureBind(texture, 0, false);
+
+    final Type type = texture.getType();
+    final int glType = TextureConstants.getGLType(type);
+    final int level = upload.getLevel();
+    final int x = upload.getOffsetX() + slice.getX();
+    final int y = upload.getOffsetY() + slice.getY();
+    final int z = upload.getOffsetZ() + slice.getZ();
+    final int pixelFormat = TextureConstants.getGLPixelFormat(upload.getDataFormat());
+    final int dataType = TextureConstants.getGLPixelDataType(upload.getDataType());
+
+    switch (type) {
+      case OneDimensional: {
+        GL11C.glTexSubImage1D(glType, level, x, slice.getWidth(), pixelFormat, dataType, offset);
+        break;
+      }
+
+      case TwoDimensional:
+      case OneDimensionalArray:
+      case CubeMap: {
+        final int target2D = type == Type.CubeMap ? TextureConstants.getGLCubeMapFace(upload.getFace()) : glType;
+        GL11C.glTexSubImage2D(target2D, level, x, y, slice.getWidth(), slice.getHeight(), pixelFormat, dataType,
+            offset);
+        break;
+      }
+
+      case ThreeDimensional:
+      case TwoDimensionalArray:
+      case CubeMapArray: {
+        GL12C.glTexSubImage3D(glType, level, x, y, z, slice.getWidth(), slice.getHeight(), slice.getDepth(),
+            pixelFormat, dataType, offset);
+        break;
+      }
+
+      default:
+        throw new Ardor3dException("Unsupported texture type: " + type);
+    }
+    return true;
+  }
+
+  @Override
+  public void endFrame() {
+    if (_bound) {
+      if (_origAlignment != 1) {
+        GL11C.glPixelStorei(GL11C.GL_UNPACK_ALIGNMENT, _origAlignment);
+      }
+      GL15C.glBindBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER, 0);
+      _bound = false;
+    }
+    if (_used > 0) {
+      _fences[_segment] = GL32C.glFenceSync(GL32C.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+      _segment = (_segment + 1) % _fences.length;
+    }
+    _used = 0;
+  }
+
+  /**
+   * Release the buffer and fences. Must be called in the context this uploader was used in.
+   */
+  public void dispose() {
+    for (int i = 0; i < _fences.length; i++) {
+      if (_fences[i] != 0) {
+        GL32C.glDeleteSync(_fences[i]);
+        _fences[i] = 0;
+      }
+    }
+    if (_bufferId != 0) {
+      GL15C.glBindBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER, _bufferId);
+      GL15C.glUnmapBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER);
+      GL15C.glBindBuffer(GL21C.GL_PIXEL_UNPACK_BUFFER, 0);
+      GL15C.glDeleteBuffers(_bufferId);
+      _bufferId = 0;
+      _mapped = null;
+    }
+  }
+}
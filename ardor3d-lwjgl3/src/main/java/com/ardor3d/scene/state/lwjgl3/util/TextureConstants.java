@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -20,6 +20,7 @@ import org.lwjgl.opengl.GL13C;
 import org.lwjgl.opengl.GL14C;
 import org.lwjgl.opengl.GL30C;
 import org.lwjgl.opengl.GL40C;
+import org.lwjgl.opengl.GL42C;
 import org.lwjgl.opengl.GL44C;
 
 import com.ardor3d.image.ImageDataFormat;
@@ -89,6 +90,7 @@ public final class TextureConstants {
       case NativeDXT5 -> EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT;
       case NativeLATC_L -> EXTTextureCompressionLATC.GL_COMPRESSED_LUMINANCE_LATC1_EXT;
       case NativeLATC_LA -> EXTTextureCompressionLATC.GL_COMPRESSED_LUMINANCE_ALPHA_LATC2_EXT;
+      case NativeBPTC -> GL42C.GL_COMPRESSED_RGBA_BPTC_UNORM;
 
       // The rest...
       case R3G3B2 -> GL11C.GL_R3_G3_B2;
@@ -181,7 +183,7 @@ public final class TextureConstants {
 
   public static ImageDataFormat getImageDataFormatFromStoreFormat(final TextureStoreFormat format) {
     return switch (format) {
-      case RGBA2, RGBA4, RGBA8, RGB5A1, RGB10A2, RGBA12, RGBA16, CompressedRGBA, NativeDXT1A, NativeDXT3, NativeDXT5, RGBA16F, RGBA32F ->
+      case RGBA2, RGBA4, RGBA8, RGB5A1, RGB10A2, RGBA12, RGBA16, CompressedRGBA, NativeDXT1A, NativeDXT3, NativeDXT5, NativeBPTC, RGBA16F, RGBA32F ->
           ImageDataFormat.RGBA;
       case R3G3B2, RGB4, RGB5, RGB8, RGB10, RGB12, RGB16, CompressedRGB, NativeDXT1, RGB16F, RGB32F ->
           ImageDataFormat.RGB;
@@ -195,7 +197,7 @@ public final class TextureConstants {
 
   public static int getGLPixelFormatFromStoreFormat(final TextureStoreFormat format) {
     return switch (format) {
-      case RGBA2, RGBA4, RGBA8, RGB5A1, RGB10A2, RGBA12, RGBA16, CompressedRGBA, NativeDXT1A, NativeDXT3, NativeDXT5, RGBA16F, RGBA32F ->
+      case RGBA2, RGBA4, RGBA8, RGB5A1, RGB10A2, RGBA12, RGBA16, CompressedRGBA, NativeDXT1A, NativeDXT3, NativeDXT5, NativeBPTC, RGBA16F, RGBA32F ->
           GL11C.GL_RGBA;
       case R3G3B2, RGB4, RGB5, RGB8, RGB10, RGB12, RGB16, CompressedRGB, NativeDXT1, RGB16F, RGB32F -> GL11C.GL_RGB;
       case NativeLATC_L -> GL11.GL_LUMINANCE; // XXX: Not sure about this in core
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2008-2024 Bird Dog Games, Inc.
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
  *
  * This file is part of Ardor3D.
  *
@@ -40,7 +40,19 @@ public abstract class TextureToCard {
    *          the Texture to send.
    */
   public static void sendNonMipMappedTexture(final Texture texture) {
-    final var image = texture.getImage();
+    sendNonMipMappedTexture(texture, texture.getImage());
+  }
+
+  /**
+   * Send a texture to the graphics card from an image other than the Texture's own, for example one
+   * with fewer levels.
+   *
+   * @param texture
+   *          the Texture to send.
+   * @param image
+   *          the image to read the data from.
+   */
+  public static void sendNonMipMappedTexture(final Texture texture, final Image image) {
     final var hasBorder = texture.hasBorder();
     final var imageWidth = image.getWidth();
     final var imageHeight = image.getHeight();
@@ -73,8 +85,20 @@ public abstract class TextureToCard {
   }
 
   public static void sendMipMappedTexture(final Texture texture) {
+    sendMipMappedTexture(texture, texture.getImage());
+  }
+
+  /**
+   * Send a texture and the mipmaps held in an image other than the Texture's own, for example one with
+   * fewer levels.
+   *
+   * @param texture
+   *          the Texture to send.
+   * @param image
+   *          the image to read the data from.
+   */
+  public static void sendMipMappedTexture(final Texture texture, final Image image) {
     final Texture.Type type = texture.getType();
-    final Image image = texture.getImage();
     if (type == Type.CubeMap) {
       // walk through each face...
       for (final TextureCubeMap.Face face : TextureCubeMap.Face.values()) {
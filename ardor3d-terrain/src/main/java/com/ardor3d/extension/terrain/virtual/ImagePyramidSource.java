@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.terrain.virtual;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.extension.terrain.client.TextureConfiguration;
+import com.ardor3d.extension.terrain.client.TextureSource;
+import com.ardor3d.extension.terrain.util.Tile;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.TextureStoreFormat;
+import com.ardor3d.image.util.MipMapGenerator;
+import com.ardor3d.math.ColorRGBA;
+import com.ardor3d.math.type.ReadOnlyColorRGBA;
+
+/**
+ * A TextureSource cutting an image into a pyramid of tiles, for use with a {@link VirtualTexture}.
+ * <p>
+ * The image is padded, by repeating its last column and row, to a square of a power of two tiles
+ * across, and its mipmaps are generated down to a single tile. Scale texture coordinates by
+ * {@link #getUvScaleU()} and {@link #getUvScaleV()} to address just the image, for example with
+ * {@link VirtualTexture#setUvScale(double, double)}.
+ */
+public class ImagePyramidSource implements TextureSource {
+  private final int _tileSize;
+  private final int _levels;
+  private final int _size;
+  private final int _width, _height;
+  private final int _components;
+  private final ByteBuffer _mips;
+  private final int[] _mipOffsets;
+
+  private final ThreadLocal<ByteBuffer> _tileDataPool = new ThreadLocal<>() {
+    @Override
+    protected ByteBuffer initialValue() {
+      return BufferUtils.createByteBufferOnHeap(_tileSize * _tileSize * _components);
+    }
+  };
+
+  /**
+   * Construct a new ImagePyramidSource, with mipmaps from a default {@link MipMapGenerator}.
+   *
+   * @param image
+   *          an RGB or RGBA unsigned byte image.
+   * @param tileSize
+   *          the size of our tiles, in texels.
+   */
+  public ImagePyramidSource(final Image image, final int tileSize) {
+    this(image, tileSize, new MipMapGenerator());
+  }
+
+  /**
+   * Construct a new ImagePyramidSource.
+   *
+   * @param image
+   *          an RGB or RGBA unsigned byte image.
+   * @param tileSize
+   *          the size of our tiles, in texels.
+   * @param generator
+   *          makes the coarser levels of our pyramid.
+   * @throws IllegalArgumentException
+   *           if the image is not RGB or RGBA unsigned bytes.
+   */
+  public ImagePyramidSource(final Image image, final int tileSize, final MipMapGenerator generator) {
+    final ImageDataFormat format = image.getDataFormat();
+    if (image.getDataType() != PixelDataType.UnsignedByte
+        || format != ImageDataFormat.RGB && format != ImageDataFormat.RGBA) {
+      throw new IllegalArgumentException(
+          "Unsupported image format " + format + " " + image.getDataType() + ", must be RGB or RGBA unsigned bytes");
+    }
+    _tileSize = tileSize;
+    _components = format.getComponents();
+    _width = image.getWidth();
+    _height = image.getHeight();
+    int size = tileSize, levels = 1;
+    while (size < Math.max(_width, _height)) {
+      size *= 2;
+      levels++;
+    }
+    _size = size;
+    _levels = levels;
+
+    final Image mipmapped = generator.generate(pad(image));
+    _mips = mipmapped.getData(0);
+    final int[] mipSizes = mipmapped.getMipMapByteSizes();
+    _mipOffsets = new int[levels];
+    for (int m = 1; m < levels; m++) {
+      _mipOffsets[m] = _mipOffsets[m - 1] + mipSizes[m - 1];
+    }
+  }
+
+  private Image pad(final Image image) {
+    final ByteBuffer source = image.getData(0);
+    final ByteBuffer padded = BufferUtils.createByteBuffer(_size * _size * _components);
+    final int rowBytes = _width * _components;
+    for (int y = 0; y < _size; y++) {
+      final int srcRow = Math.min(y, _height - 1) * rowBytes;
+      final int dstRow = y * _size * _components;
+      padded.put(dstRow, source, srcRow, rowBytes);
+      for (int x = _width; x < _size; x++) {
+        padded.put(dstRow + x * _components, source, srcRow + rowBytes - _components, _components);
+      }
+    }
+    return new Image(image.getDataFormat(), PixelDataType.UnsignedByte, _size, _size, padded, null);
+  }
+
+  /**
+   * @return the part of the padded texture covered by the image across.
+   */
+  public double getUvScaleU() { return (double) _width / _size; }
+
+  /**
+   * @return the part of the padded texture covered by the image down.
+   */
+  public double getUvScaleV() { return (double) _height / _size; }
+
+  @Override
+  public TextureConfiguration getConfiguration() {
+    final Map<Integer, TextureStoreFormat> textureStoreFormat = new HashMap<>();
+    textureStoreFormat.put(0, _components == 4 ? TextureStoreFormat.RGBA8 : TextureStoreFormat.RGB8);
+
+    return new TextureConfiguration(_levels, textureStoreFormat, _tileSize, 1f, true, _components == 4);
+  }
+
+  @Override
+  public Set<Tile> getValidTiles(final int clipmapLevel, final int tileX, final int tileY, final int numTilesX,
+      final int numTilesY) throws Exception {
+    final Set<Tile> validTiles = new HashSet<>();
+    final int shift = _levels - 1 - clipmapLevel;
+    final int tileSpan = _tileSize << shift;
+    for (int y = Math.max(0, tileY); y < tileY + numTilesY; y++) {
+      for (int x = Math.max(0, tileX); x < tileX + numTilesX; x++) {
+        if (x * tileSpan < _width && y * tileSpan < _height) {
+          validTiles.add(new Tile(x, y));
+        }
+      }
+    }
+    return validTiles;
+  }
+
+  @Override
+  public ByteBuffer getTile(final int clipmapLevel, final Tile tile) throws Exception {
+    final int mip = _levels - 1 - clipmapLevel;
+    final int mipSize = _size >> mip;
+    final int tilesAcross = mipSize / _tileSize;
+    if (tile.getX() < 0 || tile.getY() < 0 || tile.getX() >= tilesAcross || tile.getY() >= tilesAcross) {
+      throw new IllegalArgumentException("No " + tile + " at level " + clipmapLevel);
+    }
+
+    final ByteBuffer data = _tileDataPool.get();
+    final int rowBytes = _tileSize * _components;
+    for (int y = 0; y < _tileSize; y++) {
+      final int srcRow = (tile.getY() * _tileSize + y) * mipSize + tile.getX() * _tileSize;
+      data.put(y * rowBytes, _mips, _mipOffsets[mip] + srcRow * _components, rowBytes);
+    }
+    return data.clear();
+  }
+
+  protected String name;
+
+  @Override
+  public String getName() { return name; }
+
+  @Override
+  public void setName(final String value) { name = value; }
+
+  protected ColorRGBA tint = new ColorRGBA(ColorRGBA.WHITE);
+
+  @Override
+  public ReadOnlyColorRGBA getTintColor() { return tint; }
+
+  @Override
+  public void setTintColor(final ReadOnlyColorRGBA value) {
+    tint.set(value);
+  }
+}
@@ -0,0 +1,712 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.terrain.virtual;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ardor3d.bounding.BoundingVolume;
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.extension.terrain.client.TextureConfiguration;
+import com.ardor3d.extension.terrain.client.TextureSource;
+import com.ardor3d.extension.terrain.client.functions.CacheFunctionUtil;
+import com.ardor3d.extension.terrain.util.PriorityExecutors.PriorityRunnable;
+import com.ardor3d.extension.terrain.util.Tile;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.Texture;
+import com.ardor3d.image.Texture.MagnificationFilter;
+import com.ardor3d.image.Texture.MinificationFilter;
+import com.ardor3d.image.Texture2D;
+import com.ardor3d.math.Vector2;
+import com.ardor3d.math.Vector4;
+import com.ardor3d.renderer.Camera;
+import com.ardor3d.renderer.Camera.ProjectionMode;
+import com.ardor3d.renderer.ContextManager;
+import com.ardor3d.renderer.Renderer;
+import com.ardor3d.renderer.state.TextureState;
+import com.ardor3d.renderer.texture.ITextureUtils;
+import com.ardor3d.scenegraph.Spatial;
+import com.ardor3d.util.TextureKey;
+
+/**
+ * A sparse virtual texture over the tile pyramid of a {@link TextureSource}, for imagery too large to
+ * fit in a single texture, drawn on any mesh.
+ * <p>
+ * Only the pages (tiles) currently needed are kept on the card, in the slots of a fixed size cache
+ * texture. A page table texture maps each page of each mip level to the slot holding it, or to the
+ * slot of its closest resident ancestor, so a missing page shows blurry instead of black while it
+ * streams in. Needed pages are reported either from a feedback pass (see {@link #processFeedback})
+ * or from a CPU estimate (see {@link #requestRegion} and {@link #requestVisible}), then loaded on the
+ * given executor and installed in {@link #update(Renderer)}, evicting the least recently used pages
+ * when the cache is full.
+ * <p>
+ * Mip 0 is the finest level, which is source clipmap level {@code levels - 1}; the coarsest mip is a
+ * single page and stays resident. The virtual texture is square, {@code tilesAcross * tileSize}
+ * texels on each side, and addressed by texture coordinates from 0 to 1 scaled by
+ * {@link #getUvScale()}.
+ * <p>
+ * The material virtual/virtual_textured.yaml (found through
+ * {@link com.ardor3d.extension.terrain.client.Terrain#addDefaultResourceLocators()}) samples the
+ * texture, and virtual/virtual_feedback.yaml writes the pages a view needs for
+ * {@link #processFeedback}.
+ */
+public class VirtualTexture {
+  private static final Logger logger = Logger.getLogger(VirtualTexture.class.getName());
+
+  /**
+   * Texels of edge padding around each page in the cache, holding the edges of the neighbouring pages
+   * so bilinear filtering across a page edge matches the full texture.
+   */
+  public static final int BORDER = 1;
+
+  /** Largest number of pages across the finest mip level. */
+  public static final int MAX_TILES_ACROSS = 4096;
+
+  private final TextureSource _source;
+  private final Executor _loader;
+  private final boolean _useAlpha;
+  private final int _components;
+  private final int _tileSize;
+  private final int _levels;
+  private final int _tilesAcross;
+  private final int _slotsX, _slotsY;
+  private final int _slotSize;
+
+  private final Texture2D _cacheTexture;
+  private final Texture2D _tableTexture;
+  private final ByteBuffer _tableData;
+  private final int _tableWidth;
+  private final ByteBuffer _uploadBuffer;
+
+  /** Resident pages by key, and the page held by each cache slot. */
+  private final Map<Long, Page> _pages = new HashMap<>();
+  private final Page[] _slots;
+
+  /** Pages requested since the last update. */
+  private final Set<Long> _requested = new HashSet<>();
+
+  /** Pages being loaded, pages whose load failed and loaded pages waiting for upload. */
+  private final Set<Long> _loading = ConcurrentHashMap.newKeySet();
+  private final Set<Long> _failed = ConcurrentHashMap.newKeySet();
+  private final Queue<LoadedPage> _loaded = new ConcurrentLinkedQueue<>();
+
+  /** Per mip, the region of the page table changed since the last upload as minX, minY, maxX, maxY. */
+  private final int[][] _dirty;
+
+  private final Vector2 _uvScale = new Vector2(1, 1);
+  private float _mipBias = 0;
+  private int _maxUploadsPerFrame = 8;
+  private long _frame;
+
+  private static final class Page {
+    private final int _mip, _x, _y, _slot;
+    private long _lastUsed;
+
+    private Page(final int mip, final int x, final int y, final int slot) {
+      _mip = mip;
+      _x = x;
+      _y = y;
+      _slot = slot;
+    }
+  }
+
+  private record LoadedPage(long key, byte[] data) {}
+
+  /**
+   * Construct a new VirtualTexture.
+   *
+   * @param source
+   *          the source of our pages. Its clipmap levels make up our mip levels and its cache grid
+   *          size is our page size.
+   * @param cacheSlotsX
+   *          the number of pages across the cache texture, 1 to 255.
+   * @param cacheSlotsY
+   *          the number of pages down the cache texture, 1 to 255.
+   * @param loader
+   *          runs the page loads. A PriorityExecutors pool loads coarser pages first.
+   * @throws IllegalArgumentException
+   *           if the source has more levels than we can address, or the cache can not hold a page of
+   *           each level.
+   */
+  public VirtualTexture(final TextureSource source, final int cacheSlotsX, final int cacheSlotsY,
+    final Executor loader) {
+    final TextureConfiguration config = source.getConfiguration();
+    _source = source;
+    _loader = loader;
+    _tileSize = config.getCacheGridSize();
+    _levels = config.getTotalNrClipmapLevels();
+    if (_levels < 1 || _levels > Integer.numberOfTrailingZeros(MAX_TILES_ACROSS) + 1) {
+      throw new IllegalArgumentException("Unsupported number of levels: " + _levels);
+    }
+    if (cacheSlotsX < 1 || cacheSlotsX > 255 || cacheSlotsY < 1 || cacheSlotsY > 255
+        || cacheSlotsX * cacheSlotsY < _levels) {
+      throw new IllegalArgumentException("Cache of " + cacheSlotsX + "x" + cacheSlotsY
+          + " pages can not hold a page of each of " + _levels + " levels");
+    }
+    _tilesAcross = 1 << _levels - 1;
+    _slotsX = cacheSlotsX;
+    _slotsY = cacheSlotsY;
+    _slotSize = _tileSize + 2 * BORDER;
+    _slots = new Page[cacheSlotsX * cacheSlotsY];
+    _useAlpha = config.isUseAlpha();
+    _components = _useAlpha ? 4 : 3;
+    _uploadBuffer = BufferUtils.createByteBuffer(_slotSize * _slotSize * _components);
+
+    _tableWidth = 2 * _tilesAcross - 1;
+    // entries are written as ints, red in the low byte
+    _tableData = BufferUtils.createByteBuffer(_tableWidth * _tilesAcross * 4).order(ByteOrder.LITTLE_ENDIAN);
+    _dirty = new int[_levels][];
+
+    _cacheTexture = createTexture(_slotsX * _slotSize, _slotsY * _slotSize,
+        _useAlpha ? ImageDataFormat.RGBA : ImageDataFormat.RGB,
+        BufferUtils.createByteBuffer(_slotsX * _slotSize * _slotsY * _slotSize * _components),
+        MinificationFilter.BilinearNoMipMaps, MagnificationFilter.Bilinear);
+    _tableTexture = createTexture(_tableWidth, _tilesAcross, ImageDataFormat.RGBA, _tableData,
+        MinificationFilter.NearestNeighborNoMipMaps, MagnificationFilter.NearestNeighbor);
+  }
+
+  private static Texture2D createTexture(final int width, final int height, final ImageDataFormat format,
+      final ByteBuffer data, final MinificationFilter minFilter, final MagnificationFilter magFilter) {
+    final Texture2D texture = new Texture2D();
+    texture.setMinificationFilter(minFilter);
+    texture.setMagnificationFilter(magFilter);
+    texture.setWrap(Texture.WrapMode.EdgeClamp);
+    texture.setTextureKey(TextureKey.getRTTKey(minFilter));
+    texture.setImage(new Image(format, PixelDataType.UnsignedByte, width, height, data, null));
+    return texture;
+  }
+
+  private static long key(final int mip, final int x, final int y) {
+    return (long) mip << 40 | (long) x << 20 | y;
+  }
+
+  private static int keyMip(final long key) {
+    return (int) (key >>> 40);
+  }
+
+  private static int keyX(final long key) {
+    return (int) (key >>> 20) & 0xFFFFF;
+  }
+
+  private static int keyY(final long key) {
+    return (int) key & 0xFFFFF;
+  }
+
+  /**
+   * @return the number of pages across the given mip level.
+   */
+  public int getTilesAcross(final int mip) {
+    return _tilesAcross >> mip;
+  }
+
+  /**
+   * @return the x offset of the given mip level in the page table texture. The levels sit side by
+   *         side, finest first.
+   */
+  public int getTableOffset(final int mip) {
+    return 2 * (_tilesAcross - (_tilesAcross >> mip));
+  }
+
+  /**
+   * Mark a page, and the pages above it, as needed this frame.
+   *
+   * @param mip
+   *          the mip level, 0 being the finest.
+   * @param x
+   *          the page column at that level
+   * @param y
+   *          the page row at that level
+   * @throws IllegalArgumentException
+   *           if the page is outside the virtual texture.
+   */
+  public void requestPage(final int mip, final int x, final int y) {
+    if (mip < 0 || mip >= _levels || x < 0 || y < 0 || x >= getTilesAcross(mip) || y >= getTilesAcross(mip)) {
+      throw new IllegalArgumentException("No page " + x + ", " + y + " at mip " + mip);
+    }
+    for (int m = mip; m < _levels; m++) {
+      if (!_requested.add(key(m, x >> m - mip, y >> m - mip))) {
+        // the ancestors are already in
+        return;
+      }
+    }
+  }
+
+  /**
+   * Mark the pages covering a region of the texture as needed this frame.
+   *
+   * @param u0
+   *          the low u of the region, in the mesh's texture coordinates
+   * @param v0
+   *          the low v of the region
+   * @param u1
+   *          the high u of the region
+   * @param v1
+   *          the high v of the region
+   * @param mip
+   *          the mip level wanted, clamped to our levels.
+   */
+  public void requestRegion(final double u0, final double v0, final double u1, final double v1, final int mip) {
+    final int m = Math.max(0, Math.min(_levels - 1, mip));
+    final int tiles = getTilesAcross(m);
+    final double su = _uvScale.getX() * tiles, sv = _uvScale.getY() * tiles;
+    // a region ending on a page edge does not need the page after it
+    final int x0 = clampPage(Math.floor(Math.min(u0, u1) * su), tiles);
+    final int x1 = Math.max(x0, clampPage(Math.ceil(Math.max(u0, u1) * su) - 1, tiles));
+    final int y0 = clampPage(Math.floor(Math.min(v0, v1) * sv), tiles);
+    final int y1 = Math.max(y0, clampPage(Math.ceil(Math.max(v0, v1) * sv) - 1, tiles));
+    for (int y = y0; y <= y1; y++) {
+      for (int x = x0; x <= x1; x++) {
+        requestPage(m, x, y);
+      }
+    }
+  }
+
+  private static int clampPage(final double page, final int tiles) {
+    return (int) Math.max(0, Math.min(tiles - 1, page));
+  }
+
+  /**
+   * @param uvExtent
+   *          the part of the texture seen across the screen, in the mesh's texture coordinates.
+   * @param screenPixels
+   *          the number of pixels that part covers on screen.
+   * @return the mip level with about one texel per pixel.
+   */
+  public int selectMip(final double uvExtent, final double screenPixels) {
+    final double texels = uvExtent * Math.max(_uvScale.getX(), _uvScale.getY()) * _tilesAcross * _tileSize;
+    if (screenPixels <= 0) {
+      return _levels - 1;
+    }
+    final int mip = (int) Math.floor(Math.log(texels / screenPixels) / Math.log(2) + _mipBias);
+    return Math.max(0, Math.min(_levels - 1, mip));
+  }
+
+  /**
+   * A CPU estimate of the pages needed to draw a spatial textured over its full texture coordinate
+   * range, from the size of its world bound on screen. The level picked is coarsened until its pages
+   * fit in the cache.
+   *
+   * @param spatial
+   *          the spatial drawn with this texture.
+   * @param camera
+   *          the camera it is seen through.
+   */
+  public void requestVisible(final Spatial spatial, final Camera camera) {
+    final BoundingVolume bound = spatial.getWorldBound();
+    if (bound == null || !bound.isValid()) {
+      requestPage(_levels - 1, 0, 0);
+      return;
+    }
+    final double frustumHeight = camera.getFrustumTop() - camera.getFrustumBottom();
+    double pixels = 2 * bound.getRadius() / frustumHeight * camera.getHeight();
+    if (camera.getProjectionMode() != ProjectionMode.Orthographic) {
+      final double distance = Math.max(camera.getFrustumNear(),
+          camera.getLocation().distance(bound.getCenter()) - bound.getRadius());
+      pixels *= camera.getFrustumNear() / distance;
+    }
+    int mip = selectMip(1, pixels);
+    while (mip < _levels - 1 && pageCount(mip) > _slots.length) {
+      mip++;
+    }
+    requestRegion(0, 0, 1, 1, mip);
+  }
+
+  private int pageCount(final int mip) {
+    final int across = (int) Math.ceil(getTilesAcross(mip) * Math.max(_uvScale.getX(), _uvScale.getY()));
+    // the page and its ancestors
+    return across * across + _levels - 1 - mip;
+  }
+
+  /**
+   * Request the pages found by the feedback material. Each texel encodes the page coordinates in red,
+   * green and the two nibbles of blue, and the mip level plus one in alpha, zero marking texels not
+   * covered by the texture.
+   *
+   * @param feedback
+   *          RGBA unsigned byte texels read back from the feedback pass, from position to limit.
+   */
+  public void processFeedback(final ByteBuffer feedback) {
+    int lastTexel = 0;
+    for (int i = feedback.position(); i + 3 < feedback.limit(); i += 4) {
+      final int texel = feedback.getInt(i);
+      if (texel == lastTexel) {
+        // neighbouring pixels mostly want the same page
+        continue;
+      }
+      lastTexel = texel;
+      final int alpha = feedback.get(i + 3) & 0xFF;
+      if (alpha == 0) {
+        continue;
+      }
+      final int blue = feedback.get(i + 2) & 0xFF;
+      final int x = feedback.get(i) & 0xFF | (blue & 0xF) << 8;
+      final int y = feedback.get(i + 1) & 0xFF | (blue >> 4) << 8;
+      final int mip = alpha - 1;
+      if (mip < _levels && x < getTilesAcross(mip) && y < getTilesAcross(mip)) {
+        requestPage(mip, x, y);
+      }
+    }
+  }
+
+  /**
+   * Start loading the pages requested since the last update, and move finished pages to the cache.
+   * Must be called from the render thread.
+   *
+   * @param renderer
+   *          the renderer to upload with.
+   */
+  public void update(final Renderer renderer) {
+    if (_cacheTexture.getTextureIdForContext(ContextManager.getCurrentContext()) == 0
+        || _tableTexture.getTextureIdForContext(ContextManager.getCurrentContext()) == 0) {
+      // not sent to the card yet; that happens the first time something is drawn with our texture state
+      return;
+    }
+    update(renderer.getTextureUtils());
+  }
+
+  void update(final ITextureUtils textureUtils) {
+    _frame++;
+    requestPage(_levels - 1, 0, 0);
+    for (final long key : _requested) {
+      final Page page = _pages.get(key);
+      if (page != null) {
+        page._lastUsed = _frame;
+      } else if (!_failed.contains(key) && _loading.add(key)) {
+        // coarser pages first, since they stand in for everything below them
+        _loader.execute(PriorityRunnable.of(() -> load(key), keyMip(key)));
+      }
+    }
+    _requested.clear();
+
+    int uploads = 0;
+    LoadedPage loaded;
+    while (uploads < _maxUploadsPerFrame && (loaded = _loaded.poll()) != null) {
+      _loading.remove(loaded.key());
+      if (_pages.containsKey(loaded.key())) {
+        continue;
+      }
+      final int slot = allocateSlot();
+      if (slot < 0) {
+        // all pages are in use this frame; it is loaded again if still needed
+        continue;
+      }
+      _uploadBuffer.clear();
+      _uploadBuffer.put(loaded.data()).flip();
+      textureUtils.updateTexture2DSubImage(_cacheTexture, slot % _slotsX * _slotSize, slot / _slotsX * _slotSize,
+          _slotSize, _slotSize, _uploadBuffer, 0, 0, _slotSize);
+
+      final long key = loaded.key();
+      final Page page = new Page(keyMip(key), keyX(key), keyY(key), slot);
+      page._lastUsed = _frame;
+      _pages.put(key, page);
+      _slots[slot] = page;
+      updateTable(page._mip, page._x, page._y);
+      uploads++;
+    }
+
+    uploadTable(textureUtils);
+  }
+
+  /**
+   * @return a free slot, or the slot of the least recently used page that is not the coarsest and
+   *         was not used this frame, or -1 if none.
+   */
+  private int allocateSlot() {
+    int lru = -1;
+    for (int i = 0; i < _slots.length; i++) {
+      final Page page = _slots[i];
+      if (page == null) {
+        return i;
+      }
+      if (page._mip != _levels - 1 && page._lastUsed < _frame
+          && (lru < 0 || page._lastUsed < _slots[lru]._lastUsed)) {
+        lru = i;
+      }
+    }
+    if (lru >= 0) {
+      final Page evicted = _slots[lru];
+      _pages.remove(key(evicted._mip, evicted._x, evicted._y));
+      _slots[lru] = null;
+      updateTable(evicted._mip, evicted._x, evicted._y);
+    }
+    return lru;
+  }
+
+  /**
+   * Load a page on the loader thread, into the texel layout of a cache slot. The border is read from
+   * the neighbouring tiles, so the page is only loaded once those are available too.
+   */
+  private void load(final long key) {
+    final int mip = keyMip(key);
+    final Tile tile = new Tile(keyX(key), keyY(key));
+    final int clipmapLevel = _levels - 1 - mip;
+    final byte[][] around = new byte[9][];
+    try {
+      around[4] = loadTile(clipmapLevel, tile);
+      if (around[4] == null) {
+        // not available yet, try again when next requested
+        _loading.remove(key);
+        return;
+      }
+    } catch (final Exception e) {
+      logger.log(Level.WARNING, "Exception loading page " + tile + " of mip " + mip, e);
+      _failed.add(key);
+      _loading.remove(key);
+      return;
+    }
+
+    final int tiles = getTilesAcross(mip);
+    for (int dy = -1; dy <= 1; dy++) {
+      for (int dx = -1; dx <= 1; dx++) {
+        final int x = tile.getX() + dx, y = tile.getY() + dy;
+        if (dx == 0 && dy == 0 || x < 0 || y < 0 || x >= tiles || y >= tiles) {
+          // past the edge of the texture the border repeats the page's own edge
+          continue;
+        }
+        final Tile neighbour = new Tile(x, y);
+        try {
+          around[(dy + 1) * 3 + dx + 1] = loadTile(clipmapLevel, neighbour);
+        } catch (final Exception e) {
+          logger.log(Level.FINE, "Exception loading border " + neighbour + " of mip " + mip, e);
+          continue;
+        }
+        if (around[(dy + 1) * 3 + dx + 1] == null) {
+          // not available yet; a border copied from our own edge would show as a seam
+          _loading.remove(key);
+          return;
+        }
+      }
+    }
+    _loaded.add(new LoadedPage(key, addBorder(around)));
+  }
+
+  /**
+   * @return the texels of a tile, or null if not available yet.
+   */
+  private byte[] loadTile(final int clipmapLevel, final Tile tile) throws Exception {
+    final ByteBuffer data = _source.getTile(clipmapLevel, tile);
+    if (data == null) {
+      return null;
+    }
+    final byte[] tileData = new byte[_tileSize * _tileSize * _components];
+    CacheFunctionUtil.applyFunction(_useAlpha, null, data, tileData, 0, 0,
+        _source.getConfiguration().getTextureDataType(_source.getContributorId(clipmapLevel, tile)), _tileSize,
+        _tileSize);
+    return tileData;
+  }
+
+  /**
+   * @param around
+   *          the texels of the page's tile and its 8 neighbours, row by row, null for those past the
+   *          edge of the texture or failing to load.
+   * @return the page's texels surrounded by the edges of its neighbours, or copies of its own edge
+   *         where there is no neighbour.
+   */
+  private byte[] addBorder(final byte[][] around) {
+    final byte[] tile = around[4];
+    final int rowBytes = _tileSize * _components;
+    final int slotRowBytes = _slotSize * _components;
+    final byte[] slot = new byte[_slotSize * slotRowBytes];
+    for (int y = 0; y < _slotSize; y++) {
+      final int ty = y - BORDER;
+      final int dy = Math.floorDiv(ty, _tileSize);
+      final int dstRow = y * slotRowBytes;
+
+      // the row inside the page's columns, from the page or the neighbour above or below
+      final byte[] rowSource = around[(dy + 1) * 3 + 1];
+      if (rowSource != null) {
+        System.arraycopy(rowSource, (ty - dy * _tileSize) * rowBytes, slot, dstRow + BORDER * _components, rowBytes);
+      } else {
+        System.arraycopy(tile, clampTexel(ty) * rowBytes, slot, dstRow + BORDER * _components, rowBytes);
+      }
+
+      // the border columns, from the neighbours to the sides
+      for (int b = 0; b < 2 * BORDER; b++) {
+        final int x = b < BORDER ? b : _tileSize + b;
+        final int tx = x - BORDER;
+        final int dx = Math.floorDiv(tx, _tileSize);
+        final byte[] source = around[(dy + 1) * 3 + dx + 1];
+        final int src = source != null ? ((ty - dy * _tileSize) * _tileSize + tx - dx * _tileSize) * _components
+            : (clampTexel(ty) * _tileSize + clampTexel(tx)) * _components;
+        System.arraycopy(source != null ? source : tile, src, slot, dstRow + x * _components, _components);
+      }
+    }
+    return slot;
+  }
+
+  private int clampTexel(final int texel) {
+    return Math.max(0, Math.min(_tileSize - 1, texel));
+  }
+
+  /**
+   * Rewrite the page table entries of a page and all the pages below it, after the page came or went.
+   * A resident page points at its own slot, any other at the slot its parent's entry points at.
+   */
+  private void updateTable(final int mip, final int x, final int y) {
+    for (int m = mip; m >= 0; m--) {
+      final int size = 1 << mip - m;
+      final int x0 = x * size, y0 = y * size;
+      for (int py = y0; py < y0 + size; py++) {
+        for (int px = x0; px < x0 + size; px++) {
+          final Page page = _pages.get(key(m, px, py));
+          final int entry;
+          if (page != null) {
+            entry = page._slot % _slotsX | page._slot / _slotsX << 8 | m << 16 | 0xFF << 24;
+          } else if (m + 1 < _levels) {
+            entry = _tableData.getInt(tableIndex(m + 1, px >> 1, py >> 1));
+          } else {
+            entry = 0;
+          }
+          _tableData.putInt(tableIndex(m, px, py), entry);
+        }
+      }
+      final int[] dirty = _dirty[m];
+      if (dirty == null) {
+        _dirty[m] = new int[] {x0, y0, x0 + size - 1, y0 + size - 1};
+      } else {
+        dirty[0] = Math.min(dirty[0], x0);
+        dirty[1] = Math.min(dirty[1], y0);
+        dirty[2] = Math.max(dirty[2], x0 + size - 1);
+        dirty[3] = Math.max(dirty[3], y0 + size - 1);
+      }
+    }
+  }
+
+  private int tableIndex(final int mip, final int x, final int y) {
+    return (y * _tableWidth + getTableOffset(mip) + x) * 4;
+  }
+
+  private void uploadTable(final ITextureUtils textureUtils) {
+    for (int m = 0; m < _levels; m++) {
+      final int[] dirty = _dirty[m];
+      if (dirty != null) {
+        final int x = getTableOffset(m) + dirty[0];
+        textureUtils.updateTexture2DSubImage(_tableTexture, x, dirty[1], dirty[2] - dirty[0] + 1,
+            dirty[3] - dirty[1] + 1, _tableData, x, dirty[1], _tableWidth);
+        _dirty[m] = null;
+      }
+    }
+  }
+
+  /**
+   * Set up a spatial to be drawn with this texture: our textures on units 0 (cache) and 1 (page table)
+   * and the properties read by our materials. The material itself is set separately, usually to
+   * virtual/virtual_textured.yaml.
+   *
+   * @param spatial
+   *          the spatial to set up.
+   */
+  public void applyTo(final Spatial spatial) {
+    final TextureState ts = new TextureState();
+    ts.setTexture(_cacheTexture, 0);
+    ts.setTexture(_tableTexture, 1);
+    spatial.setRenderState(ts);
+    updateProperties(spatial);
+  }
+
+  /**
+   * Refresh the properties set by {@link #applyTo(Spatial)}, after changing the uv scale or mip bias.
+   *
+   * @param spatial
+   *          the spatial to update.
+   */
+  public void updateProperties(final Spatial spatial) {
+    spatial.setProperty("vtPages", new Vector4(_tilesAcross, _levels, _mipBias, 0));
+    spatial.setProperty("vtCache", new Vector4(_slotsX, _slotsY, _tileSize, BORDER));
+    spatial.setProperty("vtUvScale", new Vector2(_uvScale));
+  }
+
+  /**
+   * @return the page table entry of a page as red (slot column), green (slot row), blue (mip of the
+   *         resident page used) and alpha (255 if any page is used), packed in that byte order.
+   */
+  int getTableEntry(final int mip, final int x, final int y) {
+    return _tableData.getInt(tableIndex(mip, x, y));
+  }
+
+  /**
+   * @return true if the given page is in the cache.
+   */
+  public boolean isResident(final int mip, final int x, final int y) {
+    return _pages.containsKey(key(mip, x, y));
+  }
+
+  /**
+   * @return the number of pages in the cache.
+   */
+  public int getResidentCount() { return _pages.size(); }
+
+  /**
+   * @return the number of pages being loaded or waiting for upload.
+   */
+  public int getPendingCount() { return _loading.size(); }
+
+  /**
+   * Forget pages whose load failed, so they are tried again when next requested.
+   */
+  public void clearFailed() {
+    _failed.clear();
+  }
+
+  public TextureSource getSource() { return _source; }
+
+  public Texture2D getCacheTexture() { return _cacheTexture; }
+
+  public Texture2D getTableTexture() { return _tableTexture; }
+
+  public int getTileSize() { return _tileSize; }
+
+  public int getLevels() { return _levels; }
+
+  public int getCacheSlots() { return _slots.length; }
+
+  /**
+   * @return the scale from the mesh's texture coordinates to the virtual texture's, for sources whose
+   *         imagery does not fill the whole page grid.
+   */
+  public Vector2 getUvScale() { return _uvScale; }
+
+  public void setUvScale(final double u, final double v) {
+    _uvScale.set(u, v);
+  }
+
+  /**
+   * @return a bias added to the mip level picked, positive to use coarser pages.
+   */
+  public float getMipBias() { return _mipBias; }
+
+  public void setMipBias(final float bias) { _mipBias = bias; }
+
+  /**
+   * @return the most pages moved to the cache texture in one update.
+   */
+  public int getMaxUploadsPerFrame() { return _maxUploadsPerFrame; }
+
+  public void setMaxUploadsPerFrame(final int max) { _maxUploadsPerFrame = max; }
+
+  @Override
+  public String toString() {
+    return "VirtualTexture [levels=" + _levels + ", tileSize=" + _tileSize + ", slots=" + _slotsX + "x" + _slotsY
+        + ", resident=" + _pages.size() + "]";
+  }
+}
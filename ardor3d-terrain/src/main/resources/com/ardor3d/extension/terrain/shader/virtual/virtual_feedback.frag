@@ -0,0 +1,15 @@
+#version 330 core
+
+@import virtual/virtual_texture_inc.glsl
+
+out vec4 FragColor;
+
+in vec3 WorldPos;
+in vec4 ViewPos;
+in vec4 DiffuseColor;
+in vec2 TexCoords0;
+
+void main()
+{
+    FragColor = vtFeedback(TexCoords0);
+}
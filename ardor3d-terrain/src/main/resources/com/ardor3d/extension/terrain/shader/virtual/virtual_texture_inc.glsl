@@ -0,0 +1,78 @@
+#ifndef VIRTUAL_TEXTURE_INC
+#define VIRTUAL_TEXTURE_INC
+
+// physical page cache and page table, see VirtualTexture
+uniform sampler2D vtCacheMap;
+uniform sampler2D vtPageTable;
+
+// x: pages across mip 0, y: number of mips, z: mip bias
+uniform vec4 vtPages;
+// x, y: pages across and down the cache, z: page size in texels, w: border in texels
+uniform vec4 vtCache;
+// from mesh texture coordinates to virtual texture coordinates
+uniform vec2 vtUvScale;
+
+/**
+ * The mip level wanted at uv, from the screen space rate of change of the virtual texel position.
+ */
+float vtMip(const in vec2 uv)
+{
+	vec2 texels = uv * vtPages.x * vtCache.z;
+	vec2 dx = dFdx(texels);
+	vec2 dy = dFdy(texels);
+	float rho = max(dot(dx, dx), dot(dy, dy));
+	return clamp(0.5 * log2(max(rho, 1e-8)) + vtPages.z, 0.0, vtPages.y - 1.0);
+}
+
+/**
+ * The page holding uv at the given mip.
+ */
+ivec2 vtPage(const in vec2 uv, const in int mip)
+{
+	int tiles = max(1, int(vtPages.x) >> mip);
+	return clamp(ivec2(floor(uv * float(tiles))), ivec2(0), ivec2(tiles - 1));
+}
+
+/**
+ * Sample the virtual texture at the given mesh texture coordinates. Pages not in the cache fall back
+ * to the closest resident level above them.
+ */
+vec4 vtSample(const in vec2 texCoords)
+{
+	vec2 uv = clamp(texCoords * vtUvScale, 0.0, 1.0);
+	int mip = int(vtMip(uv));
+	ivec2 page = vtPage(uv, mip);
+
+	// mips sit side by side in the page table, finest first
+	int tiles = int(vtPages.x);
+	int offset = 2 * (tiles - (tiles >> mip));
+	vec4 entry = floor(texelFetch(vtPageTable, ivec2(offset + page.x, page.y), 0) * 255.0 + 0.5);
+	if (entry.a == 0.0) {
+		return vec4(0.0);
+	}
+
+	// position inside the resident page, which may be coarser than the one asked for
+	float residentTiles = float(max(1, tiles >> int(entry.b)));
+	vec2 inPage = fract(uv * residentTiles);
+	if (uv.x >= 1.0) inPage.x = 1.0;
+	if (uv.y >= 1.0) inPage.y = 1.0;
+
+	float slotSize = vtCache.z + 2.0 * vtCache.w;
+	vec2 texel = entry.rg * slotSize + vtCache.w + inPage * vtCache.z;
+	return textureLod(vtCacheMap, texel / (vtCache.xy * slotSize), 0.0);
+}
+
+/**
+ * The feedback texel for the given mesh texture coordinates: the wanted page in red, green and the
+ * nibbles of blue, and the mip plus one in alpha. See VirtualTexture.processFeedback.
+ */
+vec4 vtFeedback(const in vec2 texCoords)
+{
+	vec2 uv = clamp(texCoords * vtUvScale, 0.0, 1.0);
+	int mip = int(vtMip(uv));
+	ivec2 page = vtPage(uv, mip);
+	int high = (page.x >> 8) | ((page.y >> 8) << 4);
+	return vec4(page.x & 255, page.y & 255, high, mip + 1) / 255.0;
+}
+
+#endif
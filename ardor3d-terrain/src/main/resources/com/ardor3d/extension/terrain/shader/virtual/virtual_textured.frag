@@ -0,0 +1,30 @@
+#version 330 core
+
+@import include/alpha_test.glsl
+
+#ifdef USE_FOG
+@import include/fog.glsl
+#endif
+
+@import virtual/virtual_texture_inc.glsl
+
+out vec4 FragColor;
+
+in vec3 WorldPos;
+in vec4 ViewPos;
+in vec4 DiffuseColor;
+in vec2 TexCoords0;
+
+void main()
+{
+	vec4 color = DiffuseColor * vtSample(TexCoords0);
+
+    if (!applyAlphaTest(color)) discard;
+
+#ifdef USE_FOG
+    float fogAmount = calcFogAmount(abs(ViewPos.z/ViewPos.w));
+    FragColor = mix(color, fogParams.color, fogAmount);
+#else
+    FragColor = color;
+#endif
+}
@@ -0,0 +1,349 @@
+/**
+ * Copyright (c) 2008-2026 Bird Dog Games, Inc.
+ *
+ * This file is part of Ardor3D.
+ *
+ * Ardor3D is free software: you can redistribute it and/or modify it
+ * under the terms of its license which may be found in the accompanying
+ * LICENSE file or at <https://git.io/fjRmv>.
+ */
+
+package com.ardor3d.extension.terrain.virtual;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+import com.ardor3d.buffer.BufferUtils;
+import com.ardor3d.extension.terrain.client.TextureConfiguration;
+import com.ardor3d.extension.terrain.client.TextureSource;
+import com.ardor3d.extension.terrain.util.Tile;
+import com.ardor3d.image.Image;
+import com.ardor3d.image.ImageDataFormat;
+import com.ardor3d.image.PixelDataType;
+import com.ardor3d.image.TextureStoreFormat;
+import com.ardor3d.math.ColorRGBA;
+import com.ardor3d.math.type.ReadOnlyColorRGBA;
+import com.ardor3d.renderer.texture.ITextureUtils;
+
+public class TestVirtualTexture {
+
+  /** RGBA tiles filled with (clipmap level, x, y, 255), which can be told to be late or to fail. */
+  private static class StubSource implements TextureSource {
+    private final int _levels;
+    private final Set<Tile> _late = new HashSet<>();
+    private final Set<Tile> _broken = new HashSet<>();
+    private int _loads;
+
+    StubSource(final int levels) {
+      _levels = levels;
+    }
+
+    @Override
+    public TextureConfiguration getConfiguration() {
+      return new TextureConfiguration(_levels, Map.of(0, TextureStoreFormat.RGBA8), 4, 1f, true, true);
+    }
+
+    @Override
+    public ByteBuffer getTile(final int clipmapLevel, final Tile tile) throws Exception {
+      _loads++;
+      if (_late.remove(tile)) {
+        return null;
+      }
+      if (_broken.contains(tile)) {
+        throw new Exception("broken " + tile);
+      }
+      final ByteBuffer data = ByteBuffer.allocate(4 * 4 * 4);
+      for (int i = 0; i < 16; i++) {
+        data.put((byte) clipmapLevel).put((byte) tile.getX()).put((byte) tile.getY()).put((byte) (i == 0 ? 7 : 255));
+      }
+      return data.flip();
+    }
+
+    @Override
+    public String getName() { return "stub"; }
+
+    @Override
+    public void setName(final String value) {}
+
+    @Override
+    public ReadOnlyColorRGBA getTintColor() { return ColorRGBA.WHITE; }
+
+    @Override
+    public void setTintColor(final ReadOnlyColorRGBA value) {}
+  }
+
+  /** Records the sub image uploads, as destination x, y, width and height, plus the source data. */
+  private static final List<int[]> uploads = new ArrayList<>();
+  private static final List<ByteBuffer> uploadData = new ArrayList<>();
+
+  private static ITextureUtils textureUtils() {
+    uploads.clear();
+    uploadData.clear();
+    return (ITextureUtils) Proxy.newProxyInstance(ITextureUtils.class.getClassLoader(),
+        new Class<?>[] {ITextureUtils.class}, (proxy, method, args) -> {
+          if (method.getName().equals("updateTexture2DSubImage")) {
+            uploads.add(new int[] {(Integer) args[1], (Integer) args[2], (Integer) args[3], (Integer) args[4]});
+            final ByteBuffer data = (ByteBuffer) args[5];
+            uploadData.add(ByteBuffer.allocate(data.limit()).put(0, data, 0, data.limit()));
+          }
+          return null;
+        });
+  }
+
+  private static final Executor direct = Runnable::run;
+
+  private static void assertEntry(final VirtualTexture vt, final int mip, final int x, final int y,
+      final int residentMip) {
+    final int entry = vt.getTableEntry(mip, x, y);
+    assertEquals("alpha of " + mip + "/" + x + "/" + y, 0xFF, entry >>> 24);
+    assertEquals("mip of " + mip + "/" + x + "/" + y, residentMip, entry >> 16 & 0xFF);
+  }
+
+  @Test
+  public void testFallbackToAncestor() {
+    final VirtualTexture vt = new VirtualTexture(new StubSource(3), 2, 2, direct);
+    final ITextureUtils utils = textureUtils();
+    assertEquals(0, vt.getTableEntry(0, 0, 0));
+
+    // the coarsest page is always loaded, and stands in for everything
+    vt.update(utils);
+    assertTrue(vt.isResident(2, 0, 0));
+    for (int y = 0; y < 4; y++) {
+      for (int x = 0; x < 4; x++) {
+        assertEntry(vt, 0, x, y, 2);
+      }
+    }
+
+    vt.requestPage(0, 3, 1);
+    vt.update(utils);
+    assertTrue(vt.isResident(0, 3, 1));
+    assertTrue(vt.isResident(1, 1, 0));
+    assertEquals(3, vt.getResidentCount());
+    assertEntry(vt, 0, 3, 1, 0);
+    assertEntry(vt, 0, 2, 1, 1);
+    assertEntry(vt, 0, 3, 0, 1);
+    assertEntry(vt, 0, 0, 0, 2);
+    assertEntry(vt, 1, 0, 1, 2);
+
+    // entries point at the slot the page was uploaded to
+    final int entry = vt.getTableEntry(0, 3, 1);
+    final int slotSize = 4 + 2 * VirtualTexture.BORDER;
+    boolean found = false;
+    for (int i = 0; i < uploads.size(); i++) {
+      final int[] upload = uploads.get(i);
+      if (upload[2] == slotSize && upload[0] == (entry & 0xFF) * slotSize
+          && upload[1] == (entry >> 8 & 0xFF) * slotSize) {
+        // level 2, x 3, y 1 in every texel, bordered by the edges of its neighbours
+        final ByteBuffer data = uploadData.get(i);
+        assertTexel(data, slotSize, 1, 1, 3, 1, 7);
+        assertTexel(data, slotSize, 2, 1, 3, 1, -1);
+        assertTexel(data, slotSize, 0, 0, 2, 0, -1);
+        assertTexel(data, slotSize, 1, 0, 3, 0, -1);
+        assertTexel(data, slotSize, 0, 1, 2, 1, -1);
+        assertTexel(data, slotSize, 1, 5, 3, 2, 7);
+        // past the right edge of the texture, the page's own edge is repeated
+        assertTexel(data, slotSize, 5, 1, 3, 1, -1);
+        assertTexel(data, slotSize, 5, 5, 3, 1, -1);
+        found = true;
+      }
+    }
+    assertTrue(found);
+  }
+
+  private static void assertTexel(final ByteBuffer data, final int slotSize, final int x, final int y,
+      final int tileX, final int tileY, final int alpha) {
+    final int i = (y * slotSize + x) * 4;
+    assertEquals("level at " + x + ", " + y, 2, data.get(i));
+    assertEquals("tile x at " + x + ", " + y, tileX, data.get(i + 1));
+    assertEquals("tile y at " + x + ", " + y, tileY, data.get(i + 2));
+    assertEquals("alpha at " + x + ", " + y, alpha, data.get(i + 3));
+  }
+
+  @Test
+  public void testLruEviction() {
+    // 4 slots: the coarsest page and 3 more
+    final VirtualTexture vt = new VirtualTexture(new StubSource(3), 2, 2, direct);
+    final ITextureUtils utils = textureUtils();
+    vt.requestPage(1, 0, 0);
+    vt.requestPage(1, 1, 0);
+    vt.requestPage(1, 0, 1);
+    vt.update(utils);
+    assertEquals(4, vt.getResidentCount());
+
+    vt.requestPage(1, 0, 0);
+    vt.requestPage(1, 1, 0);
+    vt.update(utils);
+
+    vt.requestPage(1, 1, 1);
+    vt.update(utils);
+    assertTrue(vt.isResident(1, 1, 1));
+    assertFalse(vt.isResident(1, 0, 1));
+    assertTrue(vt.isResident(1, 0, 0));
+    assertTrue(vt.isResident(2, 0, 0));
+    assertEntry(vt, 1, 0, 1, 2);
+    assertEntry(vt, 0, 1, 3, 2);
+    assertEntry(vt, 0, 3, 3, 1);
+
+    // pages used this frame are never evicted, so what does not fit waits
+    vt.requestPage(0, 0, 0);
+    vt.requestPage(0, 3, 0);
+    vt.requestPage(0, 3, 3);
+    vt.update(utils);
+    assertEquals(4, vt.getResidentCount());
+    assertTrue(vt.isResident(1, 0, 0));
+    assertTrue(vt.isResident(1, 1, 0));
+    assertTrue(vt.isResident(1, 1, 1));
+    assertEquals(0, vt.getPendingCount());
+  }
+
+  @Test
+  public void testUploadLimit() {
+    final List<Runnable> queued = new ArrayList<>();
+    final VirtualTexture vt = new VirtualTexture(new StubSource(3), 4, 4, queued::add);
+    vt.setMaxUploadsPerFrame(2);
+    final ITextureUtils utils = textureUtils();
+    vt.requestRegion(0, 0, 1, 1, 1);
+    vt.update(utils);
+    assertEquals(0, vt.getResidentCount());
+    assertEquals(5, vt.getPendingCount());
+    assertEquals(5, queued.size());
+
+    // requesting again does not load again
+    vt.requestRegion(0, 0, 1, 1, 1);
+    queued.forEach(Runnable::run);
+    vt.update(utils);
+    assertEquals(5, queued.size());
+    assertEquals(2, vt.getResidentCount());
+    vt.update(utils);
+    vt.update(utils);
+    assertEquals(5, vt.getResidentCount());
+    assertEquals(0, vt.getPendingCount());
+  }
+
+  @Test
+  public void testLateAndBrokenTiles() {
+    final StubSource source = new StubSource(2);
+    final VirtualTexture vt = new VirtualTexture(source, 4, 4, direct);
+    final ITextureUtils utils = textureUtils();
+    source._late.add(new Tile(1, 0));
+    source._broken.add(new Tile(0, 1));
+    vt.requestPage(0, 1, 0);
+    vt.requestPage(0, 0, 1);
+    vt.update(utils);
+    assertFalse(vt.isResident(0, 1, 0));
+    assertFalse(vt.isResident(0, 0, 1));
+    assertEquals(0, vt.getPendingCount());
+    assertEquals(3, source._loads);
+
+    // late tiles are tried again, broken ones once cleared
+    vt.requestPage(0, 1, 0);
+    vt.requestPage(0, 0, 1);
+    vt.update(utils);
+    assertTrue(vt.isResident(0, 1, 0));
+    assertFalse(vt.isResident(0, 0, 1));
+    source._broken.clear();
+    vt.clearFailed();
+    vt.requestPage(0, 0, 1);
+    vt.update(utils);
+    assertTrue(vt.isResident(0, 0, 1));
+  }
+
+  @Test
+  public void testLateNeighbour() {
+    final StubSource source = new StubSource(2);
+    final VirtualTexture vt = new VirtualTexture(source, 4, 4, direct);
+    final ITextureUtils utils = textureUtils();
+
+    // the border can not be filled yet, so the page waits for its neighbour
+    source._late.add(new Tile(1, 1));
+    vt.requestPage(0, 0, 0);
+    vt.update(utils);
+    assertFalse(vt.isResident(0, 0, 0));
+    assertEquals(0, vt.getPendingCount());
+
+    vt.requestPage(0, 0, 0);
+    vt.update(utils);
+    assertTrue(vt.isResident(0, 0, 0));
+  }
+
+  @Test
+  public void testFeedback() {
+    final List<Runnable> queued = new ArrayList<>();
+    final VirtualTexture vt = new VirtualTexture(new StubSource(10), 16, 16, queued::add);
+    final ByteBuffer feedback = BufferUtils.createByteBuffer(4 * 5);
+    // page 300, 257 of mip 0, twice, an empty texel, a page out of range, and page 0, 1 of mip 8
+    feedback.put((byte) 44).put((byte) 1).put((byte) 0x11).put((byte) 1);
+    feedback.put((byte) 44).put((byte) 1).put((byte) 0x11).put((byte) 1);
+    feedback.put((byte) 0).put((byte) 0).put((byte) 0).put((byte) 0);
+    feedback.put((byte) 9).put((byte) 0).put((byte) 0).put((byte) 9);
+    feedback.put((byte) 0).put((byte) 1).put((byte) 0).put((byte) 9);
+    vt.processFeedback(feedback.flip());
+    vt.update(textureUtils());
+    // the 10 pages down to 300, 257 at mip 0, and 0, 1 at mip 8
+    assertEquals(11, queued.size());
+    assertEquals(11, vt.getPendingCount());
+  }
+
+  @Test
+  public void testRequestRegion() {
+    final VirtualTexture vt = new VirtualTexture(new StubSource(3), 4, 4, direct);
+    vt.setUvScale(0.5, 0.5);
+    vt.requestRegion(0, 0, 1, 0.9, 0);
+    vt.update(textureUtils());
+    assertTrue(vt.isResident(0, 0, 0));
+    assertTrue(vt.isResident(0, 1, 1));
+    assertFalse(vt.isResident(0, 2, 0));
+    assertFalse(vt.isResident(0, 0, 2));
+    assertEquals(6, vt.getResidentCount());
+
+    assertEquals(0, vt.selectMip(1, 8));
+    assertEquals(1, vt.selectMip(1, 4));
+    assertEquals(2, vt.selectMip(1, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCacheTooSmall() {
+    new VirtualTexture(new StubSource(5), 2, 2, direct);
+  }
+
+  @Test
+  public void testImagePyramidSource() throws Exception {
+    final ByteBuffer data = BufferUtils.createByteBuffer(10 * 6 * 3);
+    for (int i = 0; i < 60; i++) {
+      data.put((byte) (i % 10)).put((byte) (i / 10)).put((byte) 100);
+    }
+    final ImagePyramidSource source = new ImagePyramidSource(
+        new Image(ImageDataFormat.RGB, PixelDataType.UnsignedByte, 10, 6, data.flip(), null), 4);
+    final TextureConfiguration config = source.getConfiguration();
+    assertEquals(3, config.getTotalNrClipmapLevels());
+    assertEquals(TextureStoreFormat.RGB8, config.getTextureDataType(0));
+    assertEquals(10 / 16.0, source.getUvScaleU(), 0);
+    assertEquals(6 / 16.0, source.getUvScaleV(), 0);
+    assertEquals(6, source.getValidTiles(2, 0, 0, 4, 4).size());
+    assertEquals(1, source.getValidTiles(0, 0, 0, 4, 4).size());
+
+    // finest tile 2, 1 holds texels 8 to 11 across and 4 to 7 down, padded by the last column and row
+    final ByteBuffer tile = source.getTile(2, new Tile(2, 1));
+    for (int y = 0; y < 4; y++) {
+      for (int x = 0; x < 4; x++) {
+        assertEquals(Math.min(9, 8 + x), tile.get((y * 4 + x) * 3));
+        assertEquals(Math.min(5, 4 + y), tile.get((y * 4 + x) * 3 + 1));
+        assertEquals(100, tile.get((y * 4 + x) * 3 + 2));
+      }
+    }
+    // the coarsest tile is the whole padded image at a quarter of the size
+    assertEquals(100, source.getTile(0, new Tile(0, 0)).get(2));
+  }
+}